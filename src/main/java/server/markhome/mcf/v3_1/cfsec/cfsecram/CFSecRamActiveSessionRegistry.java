@@ -0,0 +1,106 @@
+
+// Description: Java 25 active session registry for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import server.markhome.mcf.v3_1.cflib.dbutil.*;
+
+/*
+ *	CFSecRamActiveSessionRegistry counts the open sessions, those whose
+ *	Finish is null, in total, per SecUser and per device.
+ *
+ *	The SecSession table reports every session that opens or closes while
+ *	it holds its write lock, so the counts are maintained incrementally and
+ *	read in constant time with no lock and no scan.  A reader running
+ *	alongside a writer may see the counts of a change applied one at a time.
+ */
+public class CFSecRamActiveSessionRegistry
+{
+	private final ConcurrentHashMap< CFLibDbKeyHash256, Integer > openByUser
+		= new ConcurrentHashMap< CFLibDbKeyHash256, Integer >();
+	private final ConcurrentHashMap< Object, Integer > openByDevice
+		= new ConcurrentHashMap< Object, Integer >();
+	private final AtomicInteger openCount = new AtomicInteger();
+
+	public CFSecRamActiveSessionRegistry() {
+	}
+
+	public void clear() {
+		openByUser.clear();
+		openByDevice.clear();
+		openCount.set( 0 );
+	}
+
+	/**
+	 *	Count a session that opened.
+	 *
+	 *	@param	secUserId	The SecUser owning the session.
+	 *
+	 *	@param	deviceKey	The SecDevIdx key of the session, which is retained.
+	 */
+	public void opened( CFLibDbKeyHash256 secUserId, Object deviceKey ) {
+		openByUser.merge( secUserId, 1, Integer::sum );
+		openByDevice.merge( deviceKey, 1, Integer::sum );
+		openCount.incrementAndGet();
+	}
+
+	/**
+	 *	Stop counting a session that closed or was deleted.
+	 *
+	 *	@param	secUserId	The SecUser owning the session.
+	 *
+	 *	@param	deviceKey	The SecDevIdx key of the session.
+	 */
+	public void closed( CFLibDbKeyHash256 secUserId, Object deviceKey ) {
+		openByUser.computeIfPresent( secUserId, ( key, count ) -> ( count > 1 ) ? count - 1 : null );
+		openByDevice.computeIfPresent( deviceKey, ( key, count ) -> ( count > 1 ) ? count - 1 : null );
+		openCount.decrementAndGet();
+	}
+
+	public int getOpenCount() {
+		return( openCount.get() );
+	}
+
+	public int getOpenCountByUser( CFLibDbKeyHash256 secUserId ) {
+		return( openByUser.getOrDefault( secUserId, 0 ) );
+	}
+
+	public int getOpenCountByDevice( Object deviceKey ) {
+		return( openByDevice.getOrDefault( deviceKey, 0 ) );
+	}
+
+	/**
+	 *	@return	A copy of the open session count of every SecUser with any open session.
+	 */
+	public Map< CFLibDbKeyHash256, Integer > getOpenCountsByUser() {
+		return( new HashMap< CFLibDbKeyHash256, Integer >( openByUser ) );
+	}
+}
@@ -0,0 +1,93 @@
+
+// Description: Java 25 Bloom filter for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+/*
+ *	CFSecRamBloomFilter answers whether a key may have been added, with no
+ *	false negatives and a bounded rate of false positives, in a fixed
+ *	number of bits per key.
+ *
+ *	The keys are expected to be cryptographic hashes such as the bytes of
+ *	a CFLibDbKeyHash256, so their leading bytes are used directly as the
+ *	two base hashes of the double hashing scheme.  The filter is not
+ *	thread safe.
+ */
+public class CFSecRamBloomFilter
+{
+	private final long[] words;
+	private final long bitCount;
+	private final int hashCount;
+
+	/**
+	 *	@param	expectedKeys	The number of keys the filter is sized for.
+	 *
+	 *	@param	falsePositiveRate	The false positive rate wanted at that size.
+	 */
+	public CFSecRamBloomFilter( int expectedKeys, double falsePositiveRate ) {
+		int keys = Math.max( 1, expectedKeys );
+		double ln2 = Math.log( 2.0 );
+		long bits = (long)Math.ceil( -keys * Math.log( falsePositiveRate ) / ( ln2 * ln2 ) );
+		bits = Math.max( 64L, ( bits + 63L ) & ~63L );
+		words = new long[ (int)( bits >>> 6 ) ];
+		bitCount = bits;
+		hashCount = Math.max( 1, (int)Math.round( ( (double)bits / keys ) * ln2 ) );
+	}
+
+	public void add( byte[] key ) {
+		long h1 = word( key, 0 );
+		long h2 = word( key, 8 ) | 1L;
+		for( int i = 0; i < hashCount; i++ ) {
+			long bit = Long.remainderUnsigned( h1 + i * h2, bitCount );
+			words[ (int)( bit >>> 6 ) ] |= 1L << bit;
+		}
+	}
+
+	/**
+	 *	@return	False if the key was certainly never added, true if it may have been.
+	 */
+	public boolean mightContain( byte[] key ) {
+		long h1 = word( key, 0 );
+		long h2 = word( key, 8 ) | 1L;
+		for( int i = 0; i < hashCount; i++ ) {
+			long bit = Long.remainderUnsigned( h1 + i * h2, bitCount );
+			if( ( words[ (int)( bit >>> 6 ) ] & ( 1L << bit ) ) == 0L ) {
+				return( false );
+			}
+		}
+		return( true );
+	}
+
+	private static long word( byte[] key, int off ) {
+		long value = 0L;
+		for( int i = off; i < off + 8; i++ ) {
+			value = ( value << 8 ) | ( key[ i % key.length ] & 0xffL );
+		}
+		return( value );
+	}
+}
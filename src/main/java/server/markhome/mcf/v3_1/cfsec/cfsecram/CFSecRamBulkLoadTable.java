@@ -0,0 +1,65 @@
+
+// Description: Java 25 bulk load contract for the in-memory RAM CFSec tables.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+import server.markhome.mcf.v3_1.cfsec.cfsec.*;
+
+/*
+ *	CFSecRamBulkLoadTable is implemented by every CFSecRam table so the
+ *	schema can validate, keep or discard the rows created in bulk load mode.
+ *	<P>
+ *	While the schema is bulk loading, creates skip the foreign key lookups
+ *	and the unique index probes, and a row that collides on a unique index
+ *	is left out of that index.  The table remembers the primary key of every
+ *	row it created so the deferred checks only have to visit those rows.
+ */
+public interface CFSecRamBulkLoadTable
+{
+	/**
+	 *	Check the rows created since bulk loading began against the unique
+	 *	indexes and foreign keys of the table.
+	 *
+	 *	@param	Authorization	The authorization used to probe referenced tables.
+	 *
+	 *	@param	violations	Receives one message for each violation found.
+	 */
+	void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations );
+
+	/**
+	 *	Remove every row created since bulk loading began and rebuild the indexes.
+	 */
+	void discardBulkLoad();
+
+	/**
+	 *	Keep the rows created since bulk loading began and stop tracking them.
+	 */
+	void endBulkLoad();
+}
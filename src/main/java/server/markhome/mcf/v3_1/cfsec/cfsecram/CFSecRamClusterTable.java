@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,12 +48,13 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for Cluster.
  */
 public class CFSecRamClusterTable
-	implements ICFSecClusterTable
+	implements ICFSecClusterTable,
+		CFSecRamBulkLoadTable
 {
 	private ICFSecSchema schema;
-	private Map< CFLibDbKeyHash256,
+	private NavigableMap< CFLibDbKeyHash256,
 				CFSecBuffCluster > dictByPKey
-		= new HashMap< CFLibDbKeyHash256,
+		= new TreeMap< CFLibDbKeyHash256,
 				CFSecBuffCluster >();
 	private Map< CFSecBuffClusterByUDomNameIdxKey,
 			CFSecBuffCluster > dictByUDomNameIdx
@@ -62,6 +65,18 @@ public class CFSecRamClusterTable
 		= new HashMap< CFSecBuffClusterByUDescrIdxKey,
 			CFSecBuffCluster >();
 
+	private final List< CFLibDbKeyHash256 > bulkPKeys = new ArrayList< CFLibDbKeyHash256 >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffClusterByUDomNameIdxKey > probeUDomNameIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffClusterByUDomNameIdxKey)schema.getFactoryCluster().newByUDomNameIdxKey() );
+	private final ThreadLocal< CFSecBuffClusterByUDescrIdxKey > probeUDescrIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffClusterByUDescrIdxKey)schema.getFactoryCluster().newByUDescrIdxKey() );
+
 	public CFSecRamClusterTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
@@ -81,11 +96,166 @@ public class CFSecRamClusterTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffCluster > recs ) {
+		dictByPKey.clear();
+		for( CFSecBuffCluster Buff : recs ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			dictByPKey.put( pkey, Buff );
+		}
+		rebuildIndexes();
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffCluster > snapshotRecs() {
+		return( new ArrayList< CFSecBuffCluster >( dictByPKey.values() ) );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffCluster lookupRec( Object pkey ) {
+		return( dictByPKey.get( pkey ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffCluster before ) {
+		long lsn = 0L;
+		CFSecBuffCluster current;
+		if( before == null ) {
+			current = dictByPKey.remove( pkey );
+		}
+		else {
+			current = dictByPKey.put( (CFLibDbKeyHash256)pkey, before );
+		}
+		if( current != null ) {
+			unindexRec( current );
+		}
+		if( before != null ) {
+			indexRec( before );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+		}
+		else if( current != null ) {
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffCluster Buff ) {
+		CFSecBuffClusterByUDomNameIdxKey keyUDomNameIdx = (CFSecBuffClusterByUDomNameIdxKey)schema.getFactoryCluster().newByUDomNameIdxKey();
+		keyUDomNameIdx.setRequiredFullDomName( Buff.getRequiredFullDomName() );
+		dictByUDomNameIdx.put( keyUDomNameIdx, Buff );
+
+		CFSecBuffClusterByUDescrIdxKey keyUDescrIdx = (CFSecBuffClusterByUDescrIdxKey)schema.getFactoryCluster().newByUDescrIdxKey();
+		keyUDescrIdx.setRequiredDescription( Buff.getRequiredDescription() );
+		dictByUDescrIdx.put( keyUDescrIdx, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffCluster Buff ) {
+		CFSecBuffClusterByUDomNameIdxKey keyUDomNameIdx = (CFSecBuffClusterByUDomNameIdxKey)schema.getFactoryCluster().newByUDomNameIdxKey();
+		keyUDomNameIdx.setRequiredFullDomName( Buff.getRequiredFullDomName() );
+		dictByUDomNameIdx.remove( keyUDomNameIdx );
+
+		CFSecBuffClusterByUDescrIdxKey keyUDescrIdx = (CFSecBuffClusterByUDescrIdxKey)schema.getFactoryCluster().newByUDescrIdxKey();
+		keyUDescrIdx.setRequiredDescription( Buff.getRequiredDescription() );
+		dictByUDescrIdx.remove( keyUDescrIdx );
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildUDomNameIdx,
+			this::rebuildUDescrIdx );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	protected void rebuildUDomNameIdx() {
+		dictByUDomNameIdx.clear();
+		for( CFSecBuffCluster Buff : dictByPKey.values() ) {
+			CFSecBuffClusterByUDomNameIdxKey keyUDomNameIdx = (CFSecBuffClusterByUDomNameIdxKey)schema.getFactoryCluster().newByUDomNameIdxKey();
+			keyUDomNameIdx.setRequiredFullDomName( Buff.getRequiredFullDomName() );
+			dictByUDomNameIdx.put( keyUDomNameIdx, Buff );
+		}
+	}
+
+	protected void rebuildUDescrIdx() {
+		dictByUDescrIdx.clear();
+		for( CFSecBuffCluster Buff : dictByPKey.values() ) {
+			CFSecBuffClusterByUDescrIdxKey keyUDescrIdx = (CFSecBuffClusterByUDescrIdxKey)schema.getFactoryCluster().newByUDescrIdxKey();
+			keyUDescrIdx.setRequiredDescription( Buff.getRequiredDescription() );
+			dictByUDescrIdx.put( keyUDescrIdx, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffCluster Buff = dictByPKey.get( pkey );
+			if( Buff == null ) {
+				continue;
+			}
+			CFSecBuffClusterByUDomNameIdxKey keyUDomNameIdx = (CFSecBuffClusterByUDomNameIdxKey)schema.getFactoryCluster().newByUDomNameIdxKey();
+			keyUDomNameIdx.setRequiredFullDomName( Buff.getRequiredFullDomName() );
+			if( dictByUDomNameIdx.get( keyUDomNameIdx ) != Buff ) {
+				violations.add( "Cluster " + Buff.getPKey() + " duplicates the ClusterUDomNameIdx key " + keyUDomNameIdx );
+			}
+			CFSecBuffClusterByUDescrIdxKey keyUDescrIdx = (CFSecBuffClusterByUDescrIdxKey)schema.getFactoryCluster().newByUDescrIdxKey();
+			keyUDescrIdx.setRequiredDescription( Buff.getRequiredDescription() );
+			if( dictByUDescrIdx.get( keyUDescrIdx ) != Buff ) {
+				violations.add( "Cluster " + Buff.getPKey() + " duplicates the ClusterUDescrNameIdx key " + keyUDescrIdx );
+			}
+		}
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffCluster Buff = dictByPKey.remove( pkey );
+			if( Buff != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+			}
+		}
+		bulkPKeys.clear();
+		rebuildIndexes();
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		bulkPKeys.clear();
+	}
+
 	@Override
 	public ICFSecCluster createCluster( ICFSecAuthorization Authorization,
 		ICFSecCluster iBuff )
 	{
 		final String S_ProcName = "createCluster";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffCluster Buff = (CFSecBuffCluster)ensureRec(iBuff);
 		CFLibDbKeyHash256 pkey;
@@ -103,7 +273,7 @@ public class CFSecRamClusterTable
 			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
 		}
 
-		if( dictByUDomNameIdx.containsKey( keyUDomNameIdx ) ) {
+		if( ( ! bulkLoad ) && dictByUDomNameIdx.containsKey( keyUDomNameIdx ) ) {
 			throw new CFLibUniqueIndexViolationException( getClass(),
 				S_ProcName,
 				"ClusterUDomNameIdx",
@@ -111,7 +281,7 @@ public class CFSecRamClusterTable
 				keyUDomNameIdx );
 		}
 
-		if( dictByUDescrIdx.containsKey( keyUDescrIdx ) ) {
+		if( ( ! bulkLoad ) && dictByUDescrIdx.containsKey( keyUDescrIdx ) ) {
 			throw new CFLibUniqueIndexViolationException( getClass(),
 				S_ProcName,
 				"ClusterUDescrNameIdx",
@@ -124,10 +294,17 @@ public class CFSecRamClusterTable
 		// Proceed with adding the new record
 
 		dictByPKey.put( pkey, Buff );
+		if( bulkLoad ) {
+			bulkPKeys.add( pkey );
+		}
 
-		dictByUDomNameIdx.put( keyUDomNameIdx, Buff );
+		dictByUDomNameIdx.putIfAbsent( keyUDomNameIdx, Buff );
 
-		dictByUDescrIdx.put( keyUDescrIdx, Buff );
+		dictByUDescrIdx.putIfAbsent( keyUDescrIdx, Buff );
+
+		CFSecRamTransaction.record( schema, null, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 
 		if (Buff == null) {
 			return( null );
@@ -195,16 +372,11 @@ public class CFSecRamClusterTable
 		String FullDomName )
 	{
 		final String S_ProcName = "CFSecRamCluster.readDerivedByUDomNameIdx";
-		CFSecBuffClusterByUDomNameIdxKey key = (CFSecBuffClusterByUDomNameIdxKey)schema.getFactoryCluster().newByUDomNameIdxKey();
+		CFSecBuffClusterByUDomNameIdxKey key = probeUDomNameIdx.get();
 
 		key.setRequiredFullDomName( FullDomName );
 		ICFSecCluster buff;
-		if( dictByUDomNameIdx.containsKey( key ) ) {
-			buff = dictByUDomNameIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByUDomNameIdx.get( key );
 		return( buff );
 	}
 
@@ -213,16 +385,11 @@ public class CFSecRamClusterTable
 		String Description )
 	{
 		final String S_ProcName = "CFSecRamCluster.readDerivedByUDescrIdx";
-		CFSecBuffClusterByUDescrIdxKey key = (CFSecBuffClusterByUDescrIdxKey)schema.getFactoryCluster().newByUDescrIdxKey();
+		CFSecBuffClusterByUDescrIdxKey key = probeUDescrIdx.get();
 
 		key.setRequiredDescription( Description );
 		ICFSecCluster buff;
-		if( dictByUDescrIdx.containsKey( key ) ) {
-			buff = dictByUDescrIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByUDescrIdx.get( key );
 		return( buff );
 	}
 
@@ -241,6 +408,47 @@ public class CFSecRamClusterTable
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every Cluster instance in the table,
+	 *	without copying the table into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecCluster > viewAll( ICFSecAuthorization Authorization ) {
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every Cluster instance in the table, iterating
+	 *	the table in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecCluster > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every Cluster instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecCluster > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
 	@Override
 	public ICFSecCluster readRec( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 PKey )
@@ -265,20 +473,43 @@ public class CFSecRamClusterTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecCluster.CLASS_CODE.
+	 */
+	protected ICFSecCluster[] filterRecs( ICFSecCluster[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecCluster buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecCluster.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecCluster[] recArray = new ICFSecCluster[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecCluster buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecCluster.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecCluster[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamCluster.readAllRec";
-		ICFSecCluster buff;
-		ArrayList<ICFSecCluster> filteredList = new ArrayList<ICFSecCluster>();
 		ICFSecCluster[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecCluster.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecCluster[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	/**
@@ -286,6 +517,8 @@ public class CFSecRamClusterTable
 	 *
 	 *	@param	Authorization	The session authorization information.
 	 *
+	 *	@param	priorId	The Id of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return All the specific Cluster instances in the database accessible for the Authorization.
 	 */
 	@Override
@@ -293,7 +526,9 @@ public class CFSecRamClusterTable
 		CFLibDbKeyHash256 priorId )
 	{
 		final String S_ProcName = "pageAllRec";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		List< CFSecBuffCluster > page = CFSecRamPager.page( dictByPKey, priorId, pageSize );
+		return( page.toArray( new ICFSecCluster[ page.size() ] ) );
 	}
 
 	@Override
@@ -400,23 +635,39 @@ public class CFSecRamClusterTable
 
 		// Update is valid
 
-		Map< CFLibDbKeyHash256, CFSecBuffCluster > subdict;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffCluster > subdict;
 
-		dictByPKey.remove( pkey );
 		dictByPKey.put( pkey, Buff );
 
-		dictByUDomNameIdx.remove( existingKeyUDomNameIdx );
+		if( ! existingKeyUDomNameIdx.equals( newKeyUDomNameIdx ) ) {
+			dictByUDomNameIdx.remove( existingKeyUDomNameIdx );
+		}
 		dictByUDomNameIdx.put( newKeyUDomNameIdx, Buff );
 
-		dictByUDescrIdx.remove( existingKeyUDescrIdx );
+		if( ! existingKeyUDescrIdx.equals( newKeyUDescrIdx ) ) {
+			dictByUDescrIdx.remove( existingKeyUDescrIdx );
+		}
 		dictByUDescrIdx.put( newKeyUDescrIdx, Buff );
 
+		CFSecRamTransaction.record( schema, existing, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
 	@Override
 	public void deleteCluster( ICFSecAuthorization Authorization,
 		ICFSecCluster iBuff )
+	{
+		CFSecRamTransaction.atomically( schema, () -> deleteClusterCascade( Authorization, iBuff ) );
+	}
+
+	/**
+	 *	Delete the Cluster and every row that depends on it.  deleteCluster() runs
+	 *	this as one transaction so a failure partway through changes nothing.
+	 */
+	protected void deleteClusterCascade( ICFSecAuthorization Authorization,
+		ICFSecCluster iBuff )
 	{
 		final String S_ProcName = "CFSecRamClusterTable.deleteCluster() ";
 		CFSecBuffCluster Buff = (CFSecBuffCluster)ensureRec(iBuff);
@@ -471,7 +722,7 @@ public class CFSecRamClusterTable
 		// Validate reverse foreign keys
 
 		// Delete is valid
-		Map< CFLibDbKeyHash256, CFSecBuffCluster > subdict;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffCluster > subdict;
 
 		dictByPKey.remove( pkey );
 
@@ -479,30 +730,23 @@ public class CFSecRamClusterTable
 
 		dictByUDescrIdx.remove( keyUDescrIdx );
 
+		CFSecRamTransaction.record( schema, existing, null );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteClusterByIdIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffCluster cur;
 		LinkedList<CFSecBuffCluster> matchSet = new LinkedList<CFSecBuffCluster>();
-		Iterator<CFSecBuffCluster> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByPKey.get( argKey );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffCluster> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffCluster)(schema.getTableCluster().readDerivedByIdIdx( Authorization,
-				cur.getRequiredId() ));
 			deleteCluster( Authorization, cur );
 		}
 	}
@@ -521,24 +765,22 @@ public class CFSecRamClusterTable
 		ICFSecClusterByUDomNameIdxKey argKey )
 	{
 		CFSecBuffCluster cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffClusterByUDomNameIdxKey key;
+		if( argKey instanceof CFSecBuffClusterByUDomNameIdxKey ) {
+			key = (CFSecBuffClusterByUDomNameIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffClusterByUDomNameIdxKey)schema.getFactoryCluster().newByUDomNameIdxKey();
+			key.setRequiredFullDomName( argKey.getRequiredFullDomName() );
 		}
 		LinkedList<CFSecBuffCluster> matchSet = new LinkedList<CFSecBuffCluster>();
-		Iterator<CFSecBuffCluster> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByUDomNameIdx.get( key );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffCluster> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffCluster)(schema.getTableCluster().readDerivedByIdIdx( Authorization,
-				cur.getRequiredId() ));
 			deleteCluster( Authorization, cur );
 		}
 	}
@@ -557,24 +799,22 @@ public class CFSecRamClusterTable
 		ICFSecClusterByUDescrIdxKey argKey )
 	{
 		CFSecBuffCluster cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffClusterByUDescrIdxKey key;
+		if( argKey instanceof CFSecBuffClusterByUDescrIdxKey ) {
+			key = (CFSecBuffClusterByUDescrIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffClusterByUDescrIdxKey)schema.getFactoryCluster().newByUDescrIdxKey();
+			key.setRequiredDescription( argKey.getRequiredDescription() );
 		}
 		LinkedList<CFSecBuffCluster> matchSet = new LinkedList<CFSecBuffCluster>();
-		Iterator<CFSecBuffCluster> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByUDescrIdx.get( key );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffCluster> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffCluster)(schema.getTableCluster().readDerivedByIdIdx( Authorization,
-				cur.getRequiredId() ));
 			deleteCluster( Authorization, cur );
 		}
 	}
@@ -0,0 +1,88 @@
+
+// Description: Java 25 fork/join support for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/*
+ *	CFSecRamForkJoin runs the independent steps of a bulk load, such as
+ *	the restore of each table and the rebuild of each of its indexes, as
+ *	separate fork/join tasks.
+ */
+public class CFSecRamForkJoin
+{
+	private CFSecRamForkJoin() {
+	}
+
+	/**
+	 *	Run a set of independent steps.  When called from a fork/join worker
+	 *	the steps are forked so idle workers can take them; otherwise they
+	 *	run one after another on the calling thread.
+	 *
+	 *	@param	steps	The steps to run, none of which may depend on another.
+	 */
+	public static void runAll( List< Runnable > steps ) {
+		if( ( steps.size() > 1 ) && ForkJoinTask.inForkJoinPool() ) {
+			ArrayList< ForkJoinTask<?> > tasks = new ArrayList< ForkJoinTask<?> >( steps.size() );
+			for( Runnable step : steps ) {
+				tasks.add( ForkJoinTask.adapt( step ) );
+			}
+			ForkJoinTask.invokeAll( tasks );
+		}
+		else {
+			for( Runnable step : steps ) {
+				step.run();
+			}
+		}
+	}
+
+	/**
+	 *	Wait for submitted tasks to complete.  Every task is waited for even
+	 *	when one fails, after which the first failure is rethrown.
+	 *
+	 *	@param	tasks	The tasks to wait for.
+	 */
+	public static void joinAll( List< ForkJoinTask<?> > tasks ) {
+		RuntimeException failure = null;
+		for( ForkJoinTask<?> task : tasks ) {
+			try {
+				task.join();
+			}
+			catch( RuntimeException e ) {
+				if( failure == null ) {
+					failure = e;
+				}
+			}
+		}
+		if( failure != null ) {
+			throw failure;
+		}
+	}
+}
@@ -0,0 +1,368 @@
+
+// Description: Java 25 persistent hash array mapped trie for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+import java.util.function.*;
+
+/*
+ *	CFSecRamHamt is an immutable hash array mapped trie.
+ *
+ *	plus() and minus() return a new trie that shares every node not on
+ *	the path to the changed key with the original, so an update copies at
+ *	most seven small arrays while readers of the original carry on
+ *	undisturbed.  Each level consumes five bits of the key's hash; keys
+ *	whose hashes are identical end up together in a collision node.
+ */
+public final class CFSecRamHamt< K, V >
+{
+	private static final int BITS = 5;
+	private static final int MASK = ( 1 << BITS ) - 1;
+	private static final Object[] NO_SLOTS = new Object[0];
+
+	private static final class Entry {
+		final int hash;
+		final Object key;
+		final Object value;
+
+		Entry( int argHash, Object argKey, Object argValue ) {
+			hash = argHash;
+			key = argKey;
+			value = argValue;
+		}
+	}
+
+	private static abstract class Node {
+		abstract Object find( Object key, int hash, int shift );
+		abstract Node put( Entry entry, int shift, int[] sizeDelta );
+		abstract Node remove( Object key, int hash, int shift, int[] sizeDelta );
+		abstract void forEach( Consumer< Object > action );
+		/** @return	The only entry of the node, or null if it holds anything else. */
+		abstract Entry singleEntry();
+		abstract boolean isEmpty();
+	}
+
+	private static final class BitmapNode
+		extends Node
+	{
+		static final BitmapNode EMPTY = new BitmapNode( 0, NO_SLOTS );
+
+		final int bitmap;
+		final Object[] slots;
+
+		BitmapNode( int argBitmap, Object[] argSlots ) {
+			bitmap = argBitmap;
+			slots = argSlots;
+		}
+
+		@Override
+		Object find( Object key, int hash, int shift ) {
+			int bit = 1 << ( ( hash >>> shift ) & MASK );
+			if( ( bitmap & bit ) == 0 ) {
+				return( null );
+			}
+			Object slot = slots[ Integer.bitCount( bitmap & ( bit - 1 ) ) ];
+			if( slot instanceof Entry ) {
+				Entry entry = (Entry)slot;
+				return( ( ( entry.hash == hash ) && entry.key.equals( key ) ) ? entry.value : null );
+			}
+			return( ((Node)slot).find( key, hash, shift + BITS ) );
+		}
+
+		@Override
+		Node put( Entry entry, int shift, int[] sizeDelta ) {
+			int bit = 1 << ( ( entry.hash >>> shift ) & MASK );
+			int idx = Integer.bitCount( bitmap & ( bit - 1 ) );
+			if( ( bitmap & bit ) == 0 ) {
+				Object[] grown = new Object[ slots.length + 1 ];
+				System.arraycopy( slots, 0, grown, 0, idx );
+				grown[ idx ] = entry;
+				System.arraycopy( slots, idx, grown, idx + 1, slots.length - idx );
+				sizeDelta[0] = 1;
+				return( new BitmapNode( bitmap | bit, grown ) );
+			}
+			Object slot = slots[ idx ];
+			Object replacement;
+			if( slot instanceof Entry ) {
+				Entry existing = (Entry)slot;
+				if( ( existing.hash == entry.hash ) && existing.key.equals( entry.key ) ) {
+					if( existing.value == entry.value ) {
+						return( this );
+					}
+					replacement = entry;
+				}
+				else {
+					replacement = merge( existing, entry, shift + BITS );
+					sizeDelta[0] = 1;
+				}
+			}
+			else {
+				Node child = (Node)slot;
+				Node changed = child.put( entry, shift + BITS, sizeDelta );
+				if( changed == child ) {
+					return( this );
+				}
+				replacement = changed;
+			}
+			Object[] copy = slots.clone();
+			copy[ idx ] = replacement;
+			return( new BitmapNode( bitmap, copy ) );
+		}
+
+		@Override
+		Node remove( Object key, int hash, int shift, int[] sizeDelta ) {
+			int bit = 1 << ( ( hash >>> shift ) & MASK );
+			if( ( bitmap & bit ) == 0 ) {
+				return( this );
+			}
+			int idx = Integer.bitCount( bitmap & ( bit - 1 ) );
+			Object slot = slots[ idx ];
+			Object replacement;
+			if( slot instanceof Entry ) {
+				Entry existing = (Entry)slot;
+				if( ( existing.hash != hash ) || ! existing.key.equals( key ) ) {
+					return( this );
+				}
+				replacement = null;
+				sizeDelta[0] = -1;
+			}
+			else {
+				Node child = (Node)slot;
+				Node changed = child.remove( key, hash, shift + BITS, sizeDelta );
+				if( changed == child ) {
+					return( this );
+				}
+				if( changed.isEmpty() ) {
+					replacement = null;
+				}
+				else {
+					Entry single = changed.singleEntry();
+					replacement = ( single != null ) ? single : changed;
+				}
+			}
+			if( replacement != null ) {
+				Object[] copy = slots.clone();
+				copy[ idx ] = replacement;
+				return( new BitmapNode( bitmap, copy ) );
+			}
+			if( slots.length == 1 ) {
+				return( EMPTY );
+			}
+			Object[] shrunk = new Object[ slots.length - 1 ];
+			System.arraycopy( slots, 0, shrunk, 0, idx );
+			System.arraycopy( slots, idx + 1, shrunk, idx, slots.length - idx - 1 );
+			return( new BitmapNode( bitmap & ~bit, shrunk ) );
+		}
+
+		@Override
+		void forEach( Consumer< Object > action ) {
+			for( Object slot : slots ) {
+				if( slot instanceof Entry ) {
+					action.accept( ((Entry)slot).value );
+				}
+				else {
+					((Node)slot).forEach( action );
+				}
+			}
+		}
+
+		@Override
+		Entry singleEntry() {
+			if( ( slots.length == 1 ) && ( slots[0] instanceof Entry ) ) {
+				return( (Entry)slots[0] );
+			}
+			return( null );
+		}
+
+		@Override
+		boolean isEmpty() {
+			return( slots.length == 0 );
+		}
+	}
+
+	private static final class CollisionNode
+		extends Node
+	{
+		final int hash;
+		final Entry[] entries;
+
+		CollisionNode( int argHash, Entry[] argEntries ) {
+			hash = argHash;
+			entries = argEntries;
+		}
+
+		private int indexOf( Object key ) {
+			for( int idx = 0; idx < entries.length; idx++ ) {
+				if( entries[ idx ].key.equals( key ) ) {
+					return( idx );
+				}
+			}
+			return( -1 );
+		}
+
+		@Override
+		Object find( Object key, int argHash, int shift ) {
+			if( argHash != hash ) {
+				return( null );
+			}
+			int idx = indexOf( key );
+			return( ( idx < 0 ) ? null : entries[ idx ].value );
+		}
+
+		@Override
+		Node put( Entry entry, int shift, int[] sizeDelta ) {
+			int idx = indexOf( entry.key );
+			if( idx >= 0 ) {
+				if( entries[ idx ].value == entry.value ) {
+					return( this );
+				}
+				Entry[] copy = entries.clone();
+				copy[ idx ] = entry;
+				return( new CollisionNode( hash, copy ) );
+			}
+			Entry[] grown = Arrays.copyOf( entries, entries.length + 1 );
+			grown[ entries.length ] = entry;
+			sizeDelta[0] = 1;
+			return( new CollisionNode( hash, grown ) );
+		}
+
+		@Override
+		Node remove( Object key, int argHash, int shift, int[] sizeDelta ) {
+			int idx = ( argHash == hash ) ? indexOf( key ) : -1;
+			if( idx < 0 ) {
+				return( this );
+			}
+			sizeDelta[0] = -1;
+			Entry[] shrunk = new Entry[ entries.length - 1 ];
+			System.arraycopy( entries, 0, shrunk, 0, idx );
+			System.arraycopy( entries, idx + 1, shrunk, idx, entries.length - idx - 1 );
+			return( new CollisionNode( hash, shrunk ) );
+		}
+
+		@Override
+		void forEach( Consumer< Object > action ) {
+			for( Entry entry : entries ) {
+				action.accept( entry.value );
+			}
+		}
+
+		@Override
+		Entry singleEntry() {
+			return( ( entries.length == 1 ) ? entries[0] : null );
+		}
+
+		@Override
+		boolean isEmpty() {
+			return( entries.length == 0 );
+		}
+	}
+
+	private static Node merge( Entry first, Entry second, int shift ) {
+		if( shift >= Integer.SIZE ) {
+			return( new CollisionNode( first.hash, new Entry[] { first, second } ) );
+		}
+		int firstIdx = ( first.hash >>> shift ) & MASK;
+		int secondIdx = ( second.hash >>> shift ) & MASK;
+		if( firstIdx == secondIdx ) {
+			return( new BitmapNode( 1 << firstIdx, new Object[] { merge( first, second, shift + BITS ) } ) );
+		}
+		Object[] slots = ( firstIdx < secondIdx )
+			? new Object[] { first, second }
+			: new Object[] { second, first };
+		return( new BitmapNode( ( 1 << firstIdx ) | ( 1 << secondIdx ), slots ) );
+	}
+
+	private static int hashOf( Object key ) {
+		int hash = key.hashCode();
+		return( hash ^ ( hash >>> 16 ) );
+	}
+
+	private static final CFSecRamHamt< Object, Object > EMPTY = new CFSecRamHamt< Object, Object >( BitmapNode.EMPTY, 0 );
+
+	private final Node root;
+	private final int size;
+
+	private CFSecRamHamt( Node argRoot, int argSize ) {
+		root = argRoot;
+		size = argSize;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static < K, V > CFSecRamHamt< K, V > empty() {
+		return( (CFSecRamHamt< K, V >)(Object)EMPTY );
+	}
+
+	public int size() {
+		return( size );
+	}
+
+	public boolean isEmpty() {
+		return( size == 0 );
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get( Object key ) {
+		return( (V)root.find( key, hashOf( key ), 0 ) );
+	}
+
+	/**
+	 *	@return	A trie that maps the key to the value and is otherwise the same as this one.
+	 */
+	public CFSecRamHamt< K, V > plus( K key, V value ) {
+		int[] sizeDelta = new int[1];
+		Node changed = root.put( new Entry( hashOf( key ), key, value ), 0, sizeDelta );
+		if( changed == root ) {
+			return( this );
+		}
+		return( new CFSecRamHamt< K, V >( changed, size + sizeDelta[0] ) );
+	}
+
+	/**
+	 *	@return	A trie without the key that is otherwise the same as this one.
+	 */
+	public CFSecRamHamt< K, V > minus( Object key ) {
+		int[] sizeDelta = new int[1];
+		Node changed = root.remove( key, hashOf( key ), 0, sizeDelta );
+		if( changed == root ) {
+			return( this );
+		}
+		return( new CFSecRamHamt< K, V >( changed, size + sizeDelta[0] ) );
+	}
+
+	@SuppressWarnings("unchecked")
+	public void forEachValue( Consumer< ? super V > action ) {
+		root.forEach( ( value ) -> action.accept( (V)value ) );
+	}
+
+	public List< V > values() {
+		ArrayList< V > values = new ArrayList< V >( size );
+		forEachValue( values::add );
+		return( values );
+	}
+}
@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,18 +48,21 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for HostNode.
  */
 public class CFSecRamHostNodeTable
-	implements ICFSecHostNodeTable
+	implements ICFSecHostNodeTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecHostNode[] EMPTY_REC_ARRAY = new ICFSecHostNode[0];
+
 	private ICFSecSchema schema;
-	private Map< CFLibDbKeyHash256,
+	private NavigableMap< CFLibDbKeyHash256,
 				CFSecBuffHostNode > dictByPKey
-		= new HashMap< CFLibDbKeyHash256,
+		= new TreeMap< CFLibDbKeyHash256,
 				CFSecBuffHostNode >();
 	private Map< CFSecBuffHostNodeByClusterIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffHostNode >> dictByClusterIdx
 		= new HashMap< CFSecBuffHostNodeByClusterIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffHostNode >>();
 	private Map< CFSecBuffHostNodeByUDescrIdxKey,
 			CFSecBuffHostNode > dictByUDescrIdx
@@ -68,6 +73,20 @@ public class CFSecRamHostNodeTable
 		= new HashMap< CFSecBuffHostNodeByHostNameIdxKey,
 			CFSecBuffHostNode >();
 
+	private final List< CFLibDbKeyHash256 > bulkPKeys = new ArrayList< CFLibDbKeyHash256 >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffHostNodeByClusterIdxKey > probeClusterIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffHostNodeByClusterIdxKey)schema.getFactoryHostNode().newByClusterIdxKey() );
+	private final ThreadLocal< CFSecBuffHostNodeByUDescrIdxKey > probeUDescrIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffHostNodeByUDescrIdxKey)schema.getFactoryHostNode().newByUDescrIdxKey() );
+	private final ThreadLocal< CFSecBuffHostNodeByHostNameIdxKey > probeHostNameIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffHostNodeByHostNameIdxKey)schema.getFactoryHostNode().newByHostNameIdxKey() );
+
 	public CFSecRamHostNodeTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
@@ -87,11 +106,231 @@ public class CFSecRamHostNodeTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffHostNode > recs ) {
+		dictByPKey.clear();
+		for( CFSecBuffHostNode Buff : recs ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			dictByPKey.put( pkey, Buff );
+		}
+		rebuildIndexes();
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffHostNode > snapshotRecs() {
+		return( new ArrayList< CFSecBuffHostNode >( dictByPKey.values() ) );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffHostNode lookupRec( Object pkey ) {
+		return( dictByPKey.get( pkey ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffHostNode before ) {
+		long lsn = 0L;
+		CFSecBuffHostNode current;
+		if( before == null ) {
+			current = dictByPKey.remove( pkey );
+		}
+		else {
+			current = dictByPKey.put( (CFLibDbKeyHash256)pkey, before );
+		}
+		if( current != null ) {
+			unindexRec( current );
+		}
+		if( before != null ) {
+			indexRec( before );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+		}
+		else if( current != null ) {
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffHostNode Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffHostNodeByClusterIdxKey keyClusterIdx = (CFSecBuffHostNodeByClusterIdxKey)schema.getFactoryHostNode().newByClusterIdxKey();
+		keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffHostNode > subdictClusterIdx;
+		if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
+			subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+		}
+		else {
+			subdictClusterIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffHostNode >();
+			dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
+		}
+		subdictClusterIdx.put( pkey, Buff );
+
+		CFSecBuffHostNodeByUDescrIdxKey keyUDescrIdx = (CFSecBuffHostNodeByUDescrIdxKey)schema.getFactoryHostNode().newByUDescrIdxKey();
+		keyUDescrIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyUDescrIdx.setRequiredDescription( Buff.getRequiredDescription() );
+		dictByUDescrIdx.put( keyUDescrIdx, Buff );
+
+		CFSecBuffHostNodeByHostNameIdxKey keyHostNameIdx = (CFSecBuffHostNodeByHostNameIdxKey)schema.getFactoryHostNode().newByHostNameIdxKey();
+		keyHostNameIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyHostNameIdx.setRequiredHostName( Buff.getRequiredHostName() );
+		dictByHostNameIdx.put( keyHostNameIdx, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffHostNode Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffHostNodeByClusterIdxKey keyClusterIdx = (CFSecBuffHostNodeByClusterIdxKey)schema.getFactoryHostNode().newByClusterIdxKey();
+		keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffHostNode > subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+		if( subdictClusterIdx != null ) {
+			subdictClusterIdx.remove( pkey );
+			if( subdictClusterIdx.isEmpty() ) {
+				dictByClusterIdx.remove( keyClusterIdx );
+			}
+		}
+
+		CFSecBuffHostNodeByUDescrIdxKey keyUDescrIdx = (CFSecBuffHostNodeByUDescrIdxKey)schema.getFactoryHostNode().newByUDescrIdxKey();
+		keyUDescrIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyUDescrIdx.setRequiredDescription( Buff.getRequiredDescription() );
+		dictByUDescrIdx.remove( keyUDescrIdx );
+
+		CFSecBuffHostNodeByHostNameIdxKey keyHostNameIdx = (CFSecBuffHostNodeByHostNameIdxKey)schema.getFactoryHostNode().newByHostNameIdxKey();
+		keyHostNameIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyHostNameIdx.setRequiredHostName( Buff.getRequiredHostName() );
+		dictByHostNameIdx.remove( keyHostNameIdx );
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildClusterIdx,
+			this::rebuildUDescrIdx,
+			this::rebuildHostNameIdx );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	protected void rebuildClusterIdx() {
+		dictByClusterIdx.clear();
+		for( CFSecBuffHostNode Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffHostNodeByClusterIdxKey keyClusterIdx = (CFSecBuffHostNodeByClusterIdxKey)schema.getFactoryHostNode().newByClusterIdxKey();
+			keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffHostNode > subdictClusterIdx;
+			if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
+				subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+			}
+			else {
+				subdictClusterIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffHostNode >();
+				dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
+			}
+			subdictClusterIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildUDescrIdx() {
+		dictByUDescrIdx.clear();
+		for( CFSecBuffHostNode Buff : dictByPKey.values() ) {
+			CFSecBuffHostNodeByUDescrIdxKey keyUDescrIdx = (CFSecBuffHostNodeByUDescrIdxKey)schema.getFactoryHostNode().newByUDescrIdxKey();
+			keyUDescrIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			keyUDescrIdx.setRequiredDescription( Buff.getRequiredDescription() );
+			dictByUDescrIdx.put( keyUDescrIdx, Buff );
+		}
+	}
+
+	protected void rebuildHostNameIdx() {
+		dictByHostNameIdx.clear();
+		for( CFSecBuffHostNode Buff : dictByPKey.values() ) {
+			CFSecBuffHostNodeByHostNameIdxKey keyHostNameIdx = (CFSecBuffHostNodeByHostNameIdxKey)schema.getFactoryHostNode().newByHostNameIdxKey();
+			keyHostNameIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			keyHostNameIdx.setRequiredHostName( Buff.getRequiredHostName() );
+			dictByHostNameIdx.put( keyHostNameIdx, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< CFSecBuffHostNode > staged = new ArrayList< CFSecBuffHostNode >();
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffHostNode Buff = dictByPKey.get( pkey );
+			if( Buff == null ) {
+				continue;
+			}
+			staged.add( Buff );
+			CFSecBuffHostNodeByUDescrIdxKey keyUDescrIdx = (CFSecBuffHostNodeByUDescrIdxKey)schema.getFactoryHostNode().newByUDescrIdxKey();
+			keyUDescrIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			keyUDescrIdx.setRequiredDescription( Buff.getRequiredDescription() );
+			if( dictByUDescrIdx.get( keyUDescrIdx ) != Buff ) {
+				violations.add( "HostNode " + Buff.getPKey() + " duplicates the HostNodeUDescrIdx key " + keyUDescrIdx );
+			}
+			CFSecBuffHostNodeByHostNameIdxKey keyHostNameIdx = (CFSecBuffHostNodeByHostNameIdxKey)schema.getFactoryHostNode().newByHostNameIdxKey();
+			keyHostNameIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			keyHostNameIdx.setRequiredHostName( Buff.getRequiredHostName() );
+			if( dictByHostNameIdx.get( keyHostNameIdx ) != Buff ) {
+				violations.add( "HostNode " + Buff.getPKey() + " duplicates the HostNodeUHostNameIdx key " + keyHostNameIdx );
+			}
+		}
+
+		Map< CFLibDbKeyHash256, List< CFSecBuffHostNode > > byHostNodeCluster = new HashMap< CFLibDbKeyHash256, List< CFSecBuffHostNode > >();
+		for( CFSecBuffHostNode Buff : staged ) {
+			byHostNodeCluster.computeIfAbsent( Buff.getRequiredClusterId(), ( k ) -> new ArrayList< CFSecBuffHostNode >() ).add( Buff );
+		}
+		for( Map.Entry< CFLibDbKeyHash256, List< CFSecBuffHostNode > > entry : byHostNodeCluster.entrySet() ) {
+			if( null == schema.getTableCluster().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffHostNode Buff : entry.getValue() ) {
+					violations.add( "HostNode " + Buff.getPKey() + " references the missing Cluster " + entry.getKey() + " through HostNodeCluster" );
+				}
+			}
+		}
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffHostNode Buff = dictByPKey.remove( pkey );
+			if( Buff != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+			}
+		}
+		bulkPKeys.clear();
+		rebuildIndexes();
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		bulkPKeys.clear();
+	}
+
 	@Override
 	public ICFSecHostNode createHostNode( ICFSecAuthorization Authorization,
 		ICFSecHostNode iBuff )
 	{
 		final String S_ProcName = "createHostNode";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffHostNode Buff = (CFSecBuffHostNode)ensureRec(iBuff);
 		CFLibDbKeyHash256 pkey;
@@ -114,7 +353,7 @@ public class CFSecRamHostNodeTable
 			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
 		}
 
-		if( dictByUDescrIdx.containsKey( keyUDescrIdx ) ) {
+		if( ( ! bulkLoad ) && dictByUDescrIdx.containsKey( keyUDescrIdx ) ) {
 			throw new CFLibUniqueIndexViolationException( getClass(),
 				S_ProcName,
 				"HostNodeUDescrIdx",
@@ -122,7 +361,7 @@ public class CFSecRamHostNodeTable
 				keyUDescrIdx );
 		}
 
-		if( dictByHostNameIdx.containsKey( keyHostNameIdx ) ) {
+		if( ( ! bulkLoad ) && dictByHostNameIdx.containsKey( keyHostNameIdx ) ) {
 			throw new CFLibUniqueIndexViolationException( getClass(),
 				S_ProcName,
 				"HostNodeUHostNameIdx",
@@ -135,7 +374,7 @@ public class CFSecRamHostNodeTable
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableCluster().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredClusterId() ) )
 				{
@@ -155,20 +394,27 @@ public class CFSecRamHostNodeTable
 		// Proceed with adding the new record
 
 		dictByPKey.put( pkey, Buff );
+		if( bulkLoad ) {
+			bulkPKeys.add( pkey );
+		}
 
-		Map< CFLibDbKeyHash256, CFSecBuffHostNode > subdictClusterIdx;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffHostNode > subdictClusterIdx;
 		if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
 			subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
 		}
 		else {
-			subdictClusterIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffHostNode >();
+			subdictClusterIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffHostNode >();
 			dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
 		}
 		subdictClusterIdx.put( pkey, Buff );
 
-		dictByUDescrIdx.put( keyUDescrIdx, Buff );
+		dictByUDescrIdx.putIfAbsent( keyUDescrIdx, Buff );
 
-		dictByHostNameIdx.put( keyHostNameIdx, Buff );
+		dictByHostNameIdx.putIfAbsent( keyHostNameIdx, Buff );
+
+		CFSecRamTransaction.record( schema, null, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 
 		if (Buff == null) {
 			return( null );
@@ -236,25 +482,19 @@ public class CFSecRamHostNodeTable
 		CFLibDbKeyHash256 ClusterId )
 	{
 		final String S_ProcName = "CFSecRamHostNode.readDerivedByClusterIdx";
-		CFSecBuffHostNodeByClusterIdxKey key = (CFSecBuffHostNodeByClusterIdxKey)schema.getFactoryHostNode().newByClusterIdxKey();
+		CFSecBuffHostNodeByClusterIdxKey key = probeClusterIdx.get();
 
 		key.setRequiredClusterId( ClusterId );
-		ICFSecHostNode[] recArray;
-		if( dictByClusterIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffHostNode > subdictClusterIdx
-				= dictByClusterIdx.get( key );
-			recArray = new ICFSecHostNode[ subdictClusterIdx.size() ];
-			Iterator< CFSecBuffHostNode > iter = subdictClusterIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffHostNode > subdictClusterIdx
+			= dictByClusterIdx.get( key );
+		if( ( subdictClusterIdx == null ) || subdictClusterIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffHostNode > subdictClusterIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffHostNode >();
-			dictByClusterIdx.put( key, subdictClusterIdx );
-			recArray = new ICFSecHostNode[0];
+		ICFSecHostNode[] recArray = new ICFSecHostNode[ subdictClusterIdx.size() ];
+		Iterator< CFSecBuffHostNode > iter = subdictClusterIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -265,17 +505,12 @@ public class CFSecRamHostNodeTable
 		String Description )
 	{
 		final String S_ProcName = "CFSecRamHostNode.readDerivedByUDescrIdx";
-		CFSecBuffHostNodeByUDescrIdxKey key = (CFSecBuffHostNodeByUDescrIdxKey)schema.getFactoryHostNode().newByUDescrIdxKey();
+		CFSecBuffHostNodeByUDescrIdxKey key = probeUDescrIdx.get();
 
 		key.setRequiredClusterId( ClusterId );
 		key.setRequiredDescription( Description );
 		ICFSecHostNode buff;
-		if( dictByUDescrIdx.containsKey( key ) ) {
-			buff = dictByUDescrIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByUDescrIdx.get( key );
 		return( buff );
 	}
 
@@ -285,17 +520,12 @@ public class CFSecRamHostNodeTable
 		String HostName )
 	{
 		final String S_ProcName = "CFSecRamHostNode.readDerivedByHostNameIdx";
-		CFSecBuffHostNodeByHostNameIdxKey key = (CFSecBuffHostNodeByHostNameIdxKey)schema.getFactoryHostNode().newByHostNameIdxKey();
+		CFSecBuffHostNodeByHostNameIdxKey key = probeHostNameIdx.get();
 
 		key.setRequiredClusterId( ClusterId );
 		key.setRequiredHostName( HostName );
 		ICFSecHostNode buff;
-		if( dictByHostNameIdx.containsKey( key ) ) {
-			buff = dictByHostNameIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByHostNameIdx.get( key );
 		return( buff );
 	}
 
@@ -314,6 +544,103 @@ public class CFSecRamHostNodeTable
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every HostNode instance in the table,
+	 *	without copying the table into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecHostNode > viewAll( ICFSecAuthorization Authorization ) {
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every HostNode instance in the table, iterating
+	 *	the table in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecHostNode > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every HostNode instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecHostNode > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the HostNode instances identified by the duplicate key ClusterIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The HostNode key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecHostNode > viewByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId )
+	{
+		CFSecBuffHostNodeByClusterIdxKey key = probeClusterIdx.get();
+		key.setRequiredClusterId( ClusterId );
+		return( CFSecRamViews.of( dictByClusterIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each HostNode instance identified by the duplicate key ClusterIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The HostNode key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId,
+		Consumer< ? super ICFSecHostNode > action )
+	{
+		viewByClusterIdx( Authorization,
+			ClusterId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the HostNode instances identified by the duplicate key ClusterIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The HostNode key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecHostNode > streamByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId )
+	{
+		return( viewByClusterIdx( Authorization,
+			ClusterId ).stream() );
+	}
+
 	@Override
 	public ICFSecHostNode readRec( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 PKey )
@@ -338,20 +665,43 @@ public class CFSecRamHostNodeTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecHostNode.CLASS_CODE.
+	 */
+	protected ICFSecHostNode[] filterRecs( ICFSecHostNode[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecHostNode buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecHostNode.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecHostNode[] recArray = new ICFSecHostNode[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecHostNode buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecHostNode.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecHostNode[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamHostNode.readAllRec";
-		ICFSecHostNode buff;
-		ArrayList<ICFSecHostNode> filteredList = new ArrayList<ICFSecHostNode>();
 		ICFSecHostNode[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecHostNode.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecHostNode[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	/**
@@ -359,6 +709,8 @@ public class CFSecRamHostNodeTable
 	 *
 	 *	@param	Authorization	The session authorization information.
 	 *
+	 *	@param	priorHostNodeId	The HostNodeId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return All the specific HostNode instances in the database accessible for the Authorization.
 	 */
 	@Override
@@ -366,7 +718,9 @@ public class CFSecRamHostNodeTable
 		CFLibDbKeyHash256 priorHostNodeId )
 	{
 		final String S_ProcName = "pageAllRec";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		List< CFSecBuffHostNode > page = CFSecRamPager.page( dictByPKey, priorHostNodeId, pageSize );
+		return( page.toArray( new ICFSecHostNode[ page.size() ] ) );
 	}
 
 	@Override
@@ -389,17 +743,12 @@ public class CFSecRamHostNodeTable
 		CFLibDbKeyHash256 ClusterId )
 	{
 		final String S_ProcName = "CFSecRamHostNode.readRecByClusterIdx() ";
-		ICFSecHostNode buff;
-		ArrayList<ICFSecHostNode> filteredList = new ArrayList<ICFSecHostNode>();
 		ICFSecHostNode[] buffList = readDerivedByClusterIdx( Authorization,
 			ClusterId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecHostNode.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecHostNode)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecHostNode[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -443,6 +792,8 @@ public class CFSecRamHostNodeTable
 	 *
 	 *	@param	ClusterId	The HostNode key attribute of the instance generating the id.
 	 *
+	 *	@param	priorHostNodeId	The HostNodeId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -453,7 +804,11 @@ public class CFSecRamHostNodeTable
 		CFLibDbKeyHash256 priorHostNodeId )
 	{
 		final String S_ProcName = "pageRecByClusterIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffHostNodeByClusterIdxKey key = probeClusterIdx.get();
+		key.setRequiredClusterId( ClusterId );
+		List< CFSecBuffHostNode > page = CFSecRamPager.page( dictByClusterIdx.get( key ), priorHostNodeId, pageSize );
+		return( page.toArray( new ICFSecHostNode[ page.size() ] ) );
 	}
 
 	public ICFSecHostNode updateHostNode( ICFSecAuthorization Authorization,
@@ -545,36 +900,57 @@ public class CFSecRamHostNodeTable
 
 		// Update is valid
 
-		Map< CFLibDbKeyHash256, CFSecBuffHostNode > subdict;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffHostNode > subdict;
 
-		dictByPKey.remove( pkey );
 		dictByPKey.put( pkey, Buff );
 
-		subdict = dictByClusterIdx.get( existingKeyClusterIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyClusterIdx.equals( newKeyClusterIdx ) ) {
+			subdict = dictByClusterIdx.get( existingKeyClusterIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByClusterIdx.remove( existingKeyClusterIdx );
+				}
+			}
 		}
 		if( dictByClusterIdx.containsKey( newKeyClusterIdx ) ) {
 			subdict = dictByClusterIdx.get( newKeyClusterIdx );
 		}
 		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffHostNode >();
+			subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffHostNode >();
 			dictByClusterIdx.put( newKeyClusterIdx, subdict );
 		}
 		subdict.put( pkey, Buff );
 
-		dictByUDescrIdx.remove( existingKeyUDescrIdx );
+		if( ! existingKeyUDescrIdx.equals( newKeyUDescrIdx ) ) {
+			dictByUDescrIdx.remove( existingKeyUDescrIdx );
+		}
 		dictByUDescrIdx.put( newKeyUDescrIdx, Buff );
 
-		dictByHostNameIdx.remove( existingKeyHostNameIdx );
+		if( ! existingKeyHostNameIdx.equals( newKeyHostNameIdx ) ) {
+			dictByHostNameIdx.remove( existingKeyHostNameIdx );
+		}
 		dictByHostNameIdx.put( newKeyHostNameIdx, Buff );
 
+		CFSecRamTransaction.record( schema, existing, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
 	@Override
 	public void deleteHostNode( ICFSecAuthorization Authorization,
 		ICFSecHostNode iBuff )
+	{
+		CFSecRamTransaction.atomically( schema, () -> deleteHostNodeCascade( Authorization, iBuff ) );
+	}
+
+	/**
+	 *	Delete the HostNode and every row that depends on it.  deleteHostNode() runs
+	 *	this as one transaction so a failure partway through changes nothing.
+	 */
+	protected void deleteHostNodeCascade( ICFSecAuthorization Authorization,
+		ICFSecHostNode iBuff )
 	{
 		final String S_ProcName = "CFSecRamHostNodeTable.deleteHostNode() ";
 		CFSecBuffHostNode Buff = (CFSecBuffHostNode)ensureRec(iBuff);
@@ -606,41 +982,39 @@ public class CFSecRamHostNodeTable
 		// Validate reverse foreign keys
 
 		// Delete is valid
-		Map< CFLibDbKeyHash256, CFSecBuffHostNode > subdict;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffHostNode > subdict;
 
 		dictByPKey.remove( pkey );
 
 		subdict = dictByClusterIdx.get( keyClusterIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByClusterIdx.remove( keyClusterIdx );
+			}
+		}
 
 		dictByUDescrIdx.remove( keyUDescrIdx );
 
 		dictByHostNameIdx.remove( keyHostNameIdx );
 
+		CFSecRamTransaction.record( schema, existing, null );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteHostNodeByIdIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffHostNode cur;
 		LinkedList<CFSecBuffHostNode> matchSet = new LinkedList<CFSecBuffHostNode>();
-		Iterator<CFSecBuffHostNode> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByPKey.get( argKey );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffHostNode> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffHostNode)(schema.getTableHostNode().readDerivedByIdIdx( Authorization,
-				cur.getRequiredHostNodeId() ));
 			deleteHostNode( Authorization, cur );
 		}
 	}
@@ -659,24 +1033,22 @@ public class CFSecRamHostNodeTable
 		ICFSecHostNodeByClusterIdxKey argKey )
 	{
 		CFSecBuffHostNode cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffHostNodeByClusterIdxKey key;
+		if( argKey instanceof CFSecBuffHostNodeByClusterIdxKey ) {
+			key = (CFSecBuffHostNodeByClusterIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffHostNodeByClusterIdxKey)schema.getFactoryHostNode().newByClusterIdxKey();
+			key.setRequiredClusterId( argKey.getRequiredClusterId() );
 		}
 		LinkedList<CFSecBuffHostNode> matchSet = new LinkedList<CFSecBuffHostNode>();
-		Iterator<CFSecBuffHostNode> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffHostNode > subdictClusterIdx = dictByClusterIdx.get( key );
+		if( subdictClusterIdx != null ) {
+			matchSet.addAll( subdictClusterIdx.values() );
 		}
 		Iterator<CFSecBuffHostNode> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffHostNode)(schema.getTableHostNode().readDerivedByIdIdx( Authorization,
-				cur.getRequiredHostNodeId() ));
 			deleteHostNode( Authorization, cur );
 		}
 	}
@@ -697,25 +1069,23 @@ public class CFSecRamHostNodeTable
 		ICFSecHostNodeByUDescrIdxKey argKey )
 	{
 		CFSecBuffHostNode cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffHostNodeByUDescrIdxKey key;
+		if( argKey instanceof CFSecBuffHostNodeByUDescrIdxKey ) {
+			key = (CFSecBuffHostNodeByUDescrIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffHostNodeByUDescrIdxKey)schema.getFactoryHostNode().newByUDescrIdxKey();
+			key.setRequiredClusterId( argKey.getRequiredClusterId() );
+			key.setRequiredDescription( argKey.getRequiredDescription() );
 		}
 		LinkedList<CFSecBuffHostNode> matchSet = new LinkedList<CFSecBuffHostNode>();
-		Iterator<CFSecBuffHostNode> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByUDescrIdx.get( key );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffHostNode> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffHostNode)(schema.getTableHostNode().readDerivedByIdIdx( Authorization,
-				cur.getRequiredHostNodeId() ));
 			deleteHostNode( Authorization, cur );
 		}
 	}
@@ -736,25 +1106,23 @@ public class CFSecRamHostNodeTable
 		ICFSecHostNodeByHostNameIdxKey argKey )
 	{
 		CFSecBuffHostNode cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffHostNodeByHostNameIdxKey key;
+		if( argKey instanceof CFSecBuffHostNodeByHostNameIdxKey ) {
+			key = (CFSecBuffHostNodeByHostNameIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffHostNodeByHostNameIdxKey)schema.getFactoryHostNode().newByHostNameIdxKey();
+			key.setRequiredClusterId( argKey.getRequiredClusterId() );
+			key.setRequiredHostName( argKey.getRequiredHostName() );
 		}
 		LinkedList<CFSecBuffHostNode> matchSet = new LinkedList<CFSecBuffHostNode>();
-		Iterator<CFSecBuffHostNode> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByHostNameIdx.get( key );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffHostNode> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffHostNode)(schema.getTableHostNode().readDerivedByIdIdx( Authorization,
-				cur.getRequiredHostNodeId() ));
 			deleteHostNode( Authorization, cur );
 		}
 	}
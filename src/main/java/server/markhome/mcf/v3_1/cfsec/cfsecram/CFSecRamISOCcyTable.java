@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,7 +48,8 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for ISOCcy.
  */
 public class CFSecRamISOCcyTable
-	implements ICFSecISOCcyTable
+	implements ICFSecISOCcyTable,
+		CFSecRamBulkLoadTable
 {
 	private ICFSecSchema schema;
 	private Map< Short,
@@ -62,10 +65,28 @@ public class CFSecRamISOCcyTable
 		= new HashMap< CFSecBuffISOCcyByCcyNmIdxKey,
 			CFSecBuffISOCcy >();
 
+	private final CFSecRamTableLock tableLock = new CFSecRamTableLock();
+
+	private final List< Short > bulkPKeys = new ArrayList< Short >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffISOCcyByCcyCdIdxKey > probeCcyCdIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffISOCcyByCcyCdIdxKey)schema.getFactoryISOCcy().newByCcyCdIdxKey() );
+	private final ThreadLocal< CFSecBuffISOCcyByCcyNmIdxKey > probeCcyNmIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffISOCcyByCcyNmIdxKey)schema.getFactoryISOCcy().newByCcyNmIdxKey() );
+
 	public CFSecRamISOCcyTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
 
+	public CFSecRamTableLock getTableLock() {
+		return( tableLock );
+	}
+
 	public CFSecBuffISOCcy ensureRec(ICFSecISOCcy rec) {
 		if (rec == null) {
 			return( null );
@@ -81,11 +102,196 @@ public class CFSecRamISOCcyTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffISOCcy > recs ) {
+		long stamp = tableLock.writeLock();
+		try {
+			dictByPKey.clear();
+			for( CFSecBuffISOCcy Buff : recs ) {
+				Short pkey = (Short)(Buff.getPKey());
+				dictByPKey.put( pkey, Buff );
+			}
+			rebuildIndexes();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffISOCcy > snapshotRecs() {
+		List< CFSecBuffISOCcy > recs = tableLock.read( () -> new ArrayList< CFSecBuffISOCcy >( dictByPKey.values() ) );
+		return( recs );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffISOCcy lookupRec( Object pkey ) {
+		return( tableLock.readOptimistic( () -> dictByPKey.get( pkey ) ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffISOCcy before ) {
+		long lsn = 0L;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecBuffISOCcy current;
+			if( before == null ) {
+				current = dictByPKey.remove( pkey );
+			}
+			else {
+				current = dictByPKey.put( (Short)pkey, before );
+			}
+			if( current != null ) {
+				unindexRec( current );
+			}
+			if( before != null ) {
+				indexRec( before );
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+			}
+			else if( current != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+			}
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffISOCcy Buff ) {
+		CFSecBuffISOCcyByCcyCdIdxKey keyCcyCdIdx = (CFSecBuffISOCcyByCcyCdIdxKey)schema.getFactoryISOCcy().newByCcyCdIdxKey();
+		keyCcyCdIdx.setRequiredISOCode( Buff.getRequiredISOCode() );
+		dictByCcyCdIdx.put( keyCcyCdIdx, Buff );
+
+		CFSecBuffISOCcyByCcyNmIdxKey keyCcyNmIdx = (CFSecBuffISOCcyByCcyNmIdxKey)schema.getFactoryISOCcy().newByCcyNmIdxKey();
+		keyCcyNmIdx.setRequiredName( Buff.getRequiredName() );
+		dictByCcyNmIdx.put( keyCcyNmIdx, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffISOCcy Buff ) {
+		CFSecBuffISOCcyByCcyCdIdxKey keyCcyCdIdx = (CFSecBuffISOCcyByCcyCdIdxKey)schema.getFactoryISOCcy().newByCcyCdIdxKey();
+		keyCcyCdIdx.setRequiredISOCode( Buff.getRequiredISOCode() );
+		dictByCcyCdIdx.remove( keyCcyCdIdx );
+
+		CFSecBuffISOCcyByCcyNmIdxKey keyCcyNmIdx = (CFSecBuffISOCcyByCcyNmIdxKey)schema.getFactoryISOCcy().newByCcyNmIdxKey();
+		keyCcyNmIdx.setRequiredName( Buff.getRequiredName() );
+		dictByCcyNmIdx.remove( keyCcyNmIdx );
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildCcyCdIdx,
+			this::rebuildCcyNmIdx );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	protected void rebuildCcyCdIdx() {
+		dictByCcyCdIdx.clear();
+		for( CFSecBuffISOCcy Buff : dictByPKey.values() ) {
+			CFSecBuffISOCcyByCcyCdIdxKey keyCcyCdIdx = (CFSecBuffISOCcyByCcyCdIdxKey)schema.getFactoryISOCcy().newByCcyCdIdxKey();
+			keyCcyCdIdx.setRequiredISOCode( Buff.getRequiredISOCode() );
+			dictByCcyCdIdx.put( keyCcyCdIdx, Buff );
+		}
+	}
+
+	protected void rebuildCcyNmIdx() {
+		dictByCcyNmIdx.clear();
+		for( CFSecBuffISOCcy Buff : dictByPKey.values() ) {
+			CFSecBuffISOCcyByCcyNmIdxKey keyCcyNmIdx = (CFSecBuffISOCcyByCcyNmIdxKey)schema.getFactoryISOCcy().newByCcyNmIdxKey();
+			keyCcyNmIdx.setRequiredName( Buff.getRequiredName() );
+			dictByCcyNmIdx.put( keyCcyNmIdx, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< String > duplicates = tableLock.read( () -> {
+			List< String > found = new ArrayList< String >();
+			for( Short pkey : bulkPKeys ) {
+				CFSecBuffISOCcy Buff = dictByPKey.get( pkey );
+				if( Buff == null ) {
+					continue;
+				}
+				CFSecBuffISOCcyByCcyCdIdxKey keyCcyCdIdx = (CFSecBuffISOCcyByCcyCdIdxKey)schema.getFactoryISOCcy().newByCcyCdIdxKey();
+				keyCcyCdIdx.setRequiredISOCode( Buff.getRequiredISOCode() );
+				if( dictByCcyCdIdx.get( keyCcyCdIdx ) != Buff ) {
+					found.add( "ISOCcy " + Buff.getPKey() + " duplicates the ISOCcyCodeIdx key " + keyCcyCdIdx );
+				}
+				CFSecBuffISOCcyByCcyNmIdxKey keyCcyNmIdx = (CFSecBuffISOCcyByCcyNmIdxKey)schema.getFactoryISOCcy().newByCcyNmIdxKey();
+				keyCcyNmIdx.setRequiredName( Buff.getRequiredName() );
+				if( dictByCcyNmIdx.get( keyCcyNmIdx ) != Buff ) {
+					found.add( "ISOCcy " + Buff.getPKey() + " duplicates the ISOCcyNameIdx key " + keyCcyNmIdx );
+				}
+			}
+			return( found );
+		} );
+		violations.addAll( duplicates );
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		long stamp = tableLock.writeLock();
+		try {
+			for( Short pkey : bulkPKeys ) {
+				CFSecBuffISOCcy Buff = dictByPKey.remove( pkey );
+				if( Buff != null ) {
+					lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+				}
+			}
+			bulkPKeys.clear();
+			rebuildIndexes();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		long stamp = tableLock.writeLock();
+		try {
+			bulkPKeys.clear();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
 	@Override
 	public ICFSecISOCcy createISOCcy( ICFSecAuthorization Authorization,
 		ICFSecISOCcy iBuff )
 	{
 		final String S_ProcName = "createISOCcy";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffISOCcy Buff = (CFSecBuffISOCcy)ensureRec(iBuff);
 		Short pkey;
@@ -97,37 +303,51 @@ public class CFSecRamISOCcyTable
 		CFSecBuffISOCcyByCcyNmIdxKey keyCcyNmIdx = (CFSecBuffISOCcyByCcyNmIdxKey)schema.getFactoryISOCcy().newByCcyNmIdxKey();
 		keyCcyNmIdx.setRequiredName( Buff.getRequiredName() );
 
-		// Validate unique indexes
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			// Validate unique indexes
 
-		if( dictByPKey.containsKey( pkey ) ) {
-			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
-		}
+			if( dictByPKey.containsKey( pkey ) ) {
+				throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
+			}
 
-		if( dictByCcyCdIdx.containsKey( keyCcyCdIdx ) ) {
-			throw new CFLibUniqueIndexViolationException( getClass(),
-				S_ProcName,
-				"ISOCcyCodeIdx",
-				"ISOCcyCodeIdx",
-				keyCcyCdIdx );
-		}
+			if( ( ! bulkLoad ) && dictByCcyCdIdx.containsKey( keyCcyCdIdx ) ) {
+				throw new CFLibUniqueIndexViolationException( getClass(),
+					S_ProcName,
+					"ISOCcyCodeIdx",
+					"ISOCcyCodeIdx",
+					keyCcyCdIdx );
+			}
 
-		if( dictByCcyNmIdx.containsKey( keyCcyNmIdx ) ) {
-			throw new CFLibUniqueIndexViolationException( getClass(),
-				S_ProcName,
-				"ISOCcyNameIdx",
-				"ISOCcyNameIdx",
-				keyCcyNmIdx );
-		}
+			if( ( ! bulkLoad ) && dictByCcyNmIdx.containsKey( keyCcyNmIdx ) ) {
+				throw new CFLibUniqueIndexViolationException( getClass(),
+					S_ProcName,
+					"ISOCcyNameIdx",
+					"ISOCcyNameIdx",
+					keyCcyNmIdx );
+			}
 
-		// Validate foreign keys
+			// Validate foreign keys
 
-		// Proceed with adding the new record
+			// Proceed with adding the new record
 
-		dictByPKey.put( pkey, Buff );
+			dictByPKey.put( pkey, Buff );
+			if( bulkLoad ) {
+				bulkPKeys.add( pkey );
+			}
 
-		dictByCcyCdIdx.put( keyCcyCdIdx, Buff );
+			dictByCcyCdIdx.putIfAbsent( keyCcyCdIdx, Buff );
 
-		dictByCcyNmIdx.put( keyCcyNmIdx, Buff );
+			dictByCcyNmIdx.putIfAbsent( keyCcyNmIdx, Buff );
+
+			CFSecRamTransaction.record( schema, null, Buff );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
 
 		if (Buff == null) {
 			return( null );
@@ -154,12 +374,7 @@ public class CFSecRamISOCcyTable
 		if( PKey == null ) {
 			return( null );
 		}
-		if( dictByPKey.containsKey( PKey ) ) {
-			buff = dictByPKey.get( PKey );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByPKey.get( PKey ) );
 		return( buff );
 	}
 
@@ -169,24 +384,22 @@ public class CFSecRamISOCcyTable
 	{
 		final String S_ProcName = "CFSecRamISOCcy.lockDerived";
 		ICFSecISOCcy buff;
-		if( dictByPKey.containsKey( PKey ) ) {
-			buff = dictByPKey.get( PKey );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByPKey.get( PKey ) );
 		return( buff );
 	}
 
 	@Override
 	public ICFSecISOCcy[] readAllDerived( ICFSecAuthorization Authorization ) {
 		final String S_ProcName = "CFSecRamISOCcy.readAllDerived";
-		ICFSecISOCcy[] retList = new ICFSecISOCcy[ dictByPKey.values().size() ];
-		Iterator< CFSecBuffISOCcy > iter = dictByPKey.values().iterator();
-		int idx = 0;
-		while( iter.hasNext() ) {
-			retList[ idx++ ] = iter.next();
-		}
+		ICFSecISOCcy[] retList = tableLock.read( () -> {
+			ICFSecISOCcy[] arr = new ICFSecISOCcy[ dictByPKey.size() ];
+			Iterator< CFSecBuffISOCcy > iter = dictByPKey.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
 		return( retList );
 	}
 
@@ -195,16 +408,11 @@ public class CFSecRamISOCcyTable
 		String ISOCode )
 	{
 		final String S_ProcName = "CFSecRamISOCcy.readDerivedByCcyCdIdx";
-		CFSecBuffISOCcyByCcyCdIdxKey key = (CFSecBuffISOCcyByCcyCdIdxKey)schema.getFactoryISOCcy().newByCcyCdIdxKey();
+		CFSecBuffISOCcyByCcyCdIdxKey key = probeCcyCdIdx.get();
 
 		key.setRequiredISOCode( ISOCode );
 		ICFSecISOCcy buff;
-		if( dictByCcyCdIdx.containsKey( key ) ) {
-			buff = dictByCcyCdIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByCcyCdIdx.get( key ) );
 		return( buff );
 	}
 
@@ -213,16 +421,11 @@ public class CFSecRamISOCcyTable
 		String Name )
 	{
 		final String S_ProcName = "CFSecRamISOCcy.readDerivedByCcyNmIdx";
-		CFSecBuffISOCcyByCcyNmIdxKey key = (CFSecBuffISOCcyByCcyNmIdxKey)schema.getFactoryISOCcy().newByCcyNmIdxKey();
+		CFSecBuffISOCcyByCcyNmIdxKey key = probeCcyNmIdx.get();
 
 		key.setRequiredName( Name );
 		ICFSecISOCcy buff;
-		if( dictByCcyNmIdx.containsKey( key ) ) {
-			buff = dictByCcyNmIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByCcyNmIdx.get( key ) );
 		return( buff );
 	}
 
@@ -232,15 +435,62 @@ public class CFSecRamISOCcyTable
 	{
 		final String S_ProcName = "CFSecRamISOCcy.readDerivedByIdIdx() ";
 		ICFSecISOCcy buff;
-		if( dictByPKey.containsKey( ISOCcyId ) ) {
-			buff = dictByPKey.get( ISOCcyId );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByPKey.get( ISOCcyId ) );
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every ISOCcy instance in the table.
+	 *	<P>
+	 *	With the table lock enabled, the view is a copy of the table taken under
+	 *	the read lock.  Otherwise it wraps the live dictionary, which the table
+	 *	must not modify while the view is in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecISOCcy > viewAll( ICFSecAuthorization Authorization ) {
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( dictByPKey ) ) );
+		}
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every ISOCcy instance in the table.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	With the table lock enabled, the action runs over a copy of the table
+	 *	taken under the read lock, so the lock is not held while it runs.
+	 *	Otherwise it iterates the live dictionary in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecISOCcy > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every ISOCcy instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from a copy when the table lock is enabled,
+	 *	so it tolerates concurrent writers; otherwise the table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecISOCcy > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
 	@Override
 	public ICFSecISOCcy readRec( ICFSecAuthorization Authorization,
 		Short PKey )
@@ -265,20 +515,43 @@ public class CFSecRamISOCcyTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecISOCcy.CLASS_CODE.
+	 */
+	protected ICFSecISOCcy[] filterRecs( ICFSecISOCcy[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecISOCcy buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOCcy.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecISOCcy[] recArray = new ICFSecISOCcy[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecISOCcy buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOCcy.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecISOCcy[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamISOCcy.readAllRec";
-		ICFSecISOCcy buff;
-		ArrayList<ICFSecISOCcy> filteredList = new ArrayList<ICFSecISOCcy>();
 		ICFSecISOCcy[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOCcy.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecISOCcy[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -331,83 +604,106 @@ public class CFSecRamISOCcyTable
 	{
 		CFSecBuffISOCcy Buff = (CFSecBuffISOCcy)ensureRec(iBuff);
 		Short pkey = Buff.getPKey();
-		CFSecBuffISOCcy existing = dictByPKey.get( pkey );
-		if( existing == null ) {
-			throw new CFLibStaleCacheDetectedException( getClass(),
-				"updateISOCcy",
-				"Existing record not found",
-				"Existing record not found",
-				"ISOCcy",
-				"ISOCcy",
-				pkey );
-		}
-		if( existing.getRequiredRevision() != Buff.getRequiredRevision() ) {
-			throw new CFLibCollisionDetectedException( getClass(),
-				"updateISOCcy",
-				pkey );
-		}
-		Buff.setRequiredRevision( Buff.getRequiredRevision() + 1 );
-		CFSecBuffISOCcyByCcyCdIdxKey existingKeyCcyCdIdx = (CFSecBuffISOCcyByCcyCdIdxKey)schema.getFactoryISOCcy().newByCcyCdIdxKey();
-		existingKeyCcyCdIdx.setRequiredISOCode( existing.getRequiredISOCode() );
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecBuffISOCcy existing = dictByPKey.get( pkey );
+			if( existing == null ) {
+				throw new CFLibStaleCacheDetectedException( getClass(),
+					"updateISOCcy",
+					"Existing record not found",
+					"Existing record not found",
+					"ISOCcy",
+					"ISOCcy",
+					pkey );
+			}
+			if( existing.getRequiredRevision() != Buff.getRequiredRevision() ) {
+				throw new CFLibCollisionDetectedException( getClass(),
+					"updateISOCcy",
+					pkey );
+			}
+			Buff.setRequiredRevision( Buff.getRequiredRevision() + 1 );
+			CFSecBuffISOCcyByCcyCdIdxKey existingKeyCcyCdIdx = (CFSecBuffISOCcyByCcyCdIdxKey)schema.getFactoryISOCcy().newByCcyCdIdxKey();
+			existingKeyCcyCdIdx.setRequiredISOCode( existing.getRequiredISOCode() );
 
-		CFSecBuffISOCcyByCcyCdIdxKey newKeyCcyCdIdx = (CFSecBuffISOCcyByCcyCdIdxKey)schema.getFactoryISOCcy().newByCcyCdIdxKey();
-		newKeyCcyCdIdx.setRequiredISOCode( Buff.getRequiredISOCode() );
+			CFSecBuffISOCcyByCcyCdIdxKey newKeyCcyCdIdx = (CFSecBuffISOCcyByCcyCdIdxKey)schema.getFactoryISOCcy().newByCcyCdIdxKey();
+			newKeyCcyCdIdx.setRequiredISOCode( Buff.getRequiredISOCode() );
 
-		CFSecBuffISOCcyByCcyNmIdxKey existingKeyCcyNmIdx = (CFSecBuffISOCcyByCcyNmIdxKey)schema.getFactoryISOCcy().newByCcyNmIdxKey();
-		existingKeyCcyNmIdx.setRequiredName( existing.getRequiredName() );
+			CFSecBuffISOCcyByCcyNmIdxKey existingKeyCcyNmIdx = (CFSecBuffISOCcyByCcyNmIdxKey)schema.getFactoryISOCcy().newByCcyNmIdxKey();
+			existingKeyCcyNmIdx.setRequiredName( existing.getRequiredName() );
 
-		CFSecBuffISOCcyByCcyNmIdxKey newKeyCcyNmIdx = (CFSecBuffISOCcyByCcyNmIdxKey)schema.getFactoryISOCcy().newByCcyNmIdxKey();
-		newKeyCcyNmIdx.setRequiredName( Buff.getRequiredName() );
+			CFSecBuffISOCcyByCcyNmIdxKey newKeyCcyNmIdx = (CFSecBuffISOCcyByCcyNmIdxKey)schema.getFactoryISOCcy().newByCcyNmIdxKey();
+			newKeyCcyNmIdx.setRequiredName( Buff.getRequiredName() );
 
-		// Check unique indexes
+			// Check unique indexes
 
-		if( ! existingKeyCcyCdIdx.equals( newKeyCcyCdIdx ) ) {
-			if( dictByCcyCdIdx.containsKey( newKeyCcyCdIdx ) ) {
-				throw new CFLibUniqueIndexViolationException( getClass(),
-					"updateISOCcy",
-					"ISOCcyCodeIdx",
-					"ISOCcyCodeIdx",
-					newKeyCcyCdIdx );
+			if( ! existingKeyCcyCdIdx.equals( newKeyCcyCdIdx ) ) {
+				if( dictByCcyCdIdx.containsKey( newKeyCcyCdIdx ) ) {
+					throw new CFLibUniqueIndexViolationException( getClass(),
+						"updateISOCcy",
+						"ISOCcyCodeIdx",
+						"ISOCcyCodeIdx",
+						newKeyCcyCdIdx );
+				}
 			}
-		}
 
-		if( ! existingKeyCcyNmIdx.equals( newKeyCcyNmIdx ) ) {
-			if( dictByCcyNmIdx.containsKey( newKeyCcyNmIdx ) ) {
-				throw new CFLibUniqueIndexViolationException( getClass(),
-					"updateISOCcy",
-					"ISOCcyNameIdx",
-					"ISOCcyNameIdx",
-					newKeyCcyNmIdx );
+			if( ! existingKeyCcyNmIdx.equals( newKeyCcyNmIdx ) ) {
+				if( dictByCcyNmIdx.containsKey( newKeyCcyNmIdx ) ) {
+					throw new CFLibUniqueIndexViolationException( getClass(),
+						"updateISOCcy",
+						"ISOCcyNameIdx",
+						"ISOCcyNameIdx",
+						newKeyCcyNmIdx );
+				}
 			}
-		}
 
-		// Validate foreign keys
+			// Validate foreign keys
 
-		// Update is valid
+			// Update is valid
 
-		Map< Short, CFSecBuffISOCcy > subdict;
+			Map< Short, CFSecBuffISOCcy > subdict;
 
-		dictByPKey.remove( pkey );
-		dictByPKey.put( pkey, Buff );
+			dictByPKey.put( pkey, Buff );
 
-		dictByCcyCdIdx.remove( existingKeyCcyCdIdx );
-		dictByCcyCdIdx.put( newKeyCcyCdIdx, Buff );
+			if( ! existingKeyCcyCdIdx.equals( newKeyCcyCdIdx ) ) {
+				dictByCcyCdIdx.remove( existingKeyCcyCdIdx );
+			}
+			dictByCcyCdIdx.put( newKeyCcyCdIdx, Buff );
 
-		dictByCcyNmIdx.remove( existingKeyCcyNmIdx );
-		dictByCcyNmIdx.put( newKeyCcyNmIdx, Buff );
+			if( ! existingKeyCcyNmIdx.equals( newKeyCcyNmIdx ) ) {
+				dictByCcyNmIdx.remove( existingKeyCcyNmIdx );
+			}
+			dictByCcyNmIdx.put( newKeyCcyNmIdx, Buff );
 
+			CFSecRamTransaction.record( schema, existing, Buff );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
 	@Override
 	public void deleteISOCcy( ICFSecAuthorization Authorization,
 		ICFSecISOCcy iBuff )
+	{
+		CFSecRamTransaction.atomically( schema, () -> deleteISOCcyCascade( Authorization, iBuff ) );
+	}
+
+	/**
+	 *	Delete the ISOCcy and every row that depends on it.  deleteISOCcy() runs
+	 *	this as one transaction so a failure partway through changes nothing.
+	 */
+	protected void deleteISOCcyCascade( ICFSecAuthorization Authorization,
+		ICFSecISOCcy iBuff )
 	{
 		final String S_ProcName = "CFSecRamISOCcyTable.deleteISOCcy() ";
 		CFSecBuffISOCcy Buff = (CFSecBuffISOCcy)ensureRec(iBuff);
 		int classCode;
 		Short pkey = (Short)(Buff.getPKey());
-		CFSecBuffISOCcy existing = dictByPKey.get( pkey );
+		CFSecBuffISOCcy existing = tableLock.readOptimistic( () -> dictByPKey.get( pkey ) );
 		if( existing == null ) {
 			return;
 		}
@@ -424,47 +720,53 @@ public class CFSecRamISOCcyTable
 			schema.getTableISOCtryCcy().deleteISOCtryCcyByCcyIdx( Authorization,
 						existing.getRequiredISOCcyId() );
 		}
-		CFSecBuffISOCcyByCcyCdIdxKey keyCcyCdIdx = (CFSecBuffISOCcyByCcyCdIdxKey)schema.getFactoryISOCcy().newByCcyCdIdxKey();
-		keyCcyCdIdx.setRequiredISOCode( existing.getRequiredISOCode() );
+		// The cascades above re-enter this and other tables, so the own
+		// dictionaries are only locked once they have all completed.
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			existing = dictByPKey.get( pkey );
+			if( existing == null ) {
+				return;
+			}
+			CFSecBuffISOCcyByCcyCdIdxKey keyCcyCdIdx = (CFSecBuffISOCcyByCcyCdIdxKey)schema.getFactoryISOCcy().newByCcyCdIdxKey();
+			keyCcyCdIdx.setRequiredISOCode( existing.getRequiredISOCode() );
 
-		CFSecBuffISOCcyByCcyNmIdxKey keyCcyNmIdx = (CFSecBuffISOCcyByCcyNmIdxKey)schema.getFactoryISOCcy().newByCcyNmIdxKey();
-		keyCcyNmIdx.setRequiredName( existing.getRequiredName() );
+			CFSecBuffISOCcyByCcyNmIdxKey keyCcyNmIdx = (CFSecBuffISOCcyByCcyNmIdxKey)schema.getFactoryISOCcy().newByCcyNmIdxKey();
+			keyCcyNmIdx.setRequiredName( existing.getRequiredName() );
 
-		// Validate reverse foreign keys
+			// Validate reverse foreign keys
 
-		// Delete is valid
-		Map< Short, CFSecBuffISOCcy > subdict;
+			// Delete is valid
+			Map< Short, CFSecBuffISOCcy > subdict;
 
-		dictByPKey.remove( pkey );
+			dictByPKey.remove( pkey );
 
-		dictByCcyCdIdx.remove( keyCcyCdIdx );
+			dictByCcyCdIdx.remove( keyCcyCdIdx );
 
-		dictByCcyNmIdx.remove( keyCcyNmIdx );
+			dictByCcyNmIdx.remove( keyCcyNmIdx );
 
+			CFSecRamTransaction.record( schema, existing, null );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteISOCcyByIdIdx( ICFSecAuthorization Authorization,
 		Short argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffISOCcy cur;
 		LinkedList<CFSecBuffISOCcy> matchSet = new LinkedList<CFSecBuffISOCcy>();
-		Iterator<CFSecBuffISOCcy> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = tableLock.readOptimistic( () -> dictByPKey.get( argKey ) );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffISOCcy> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOCcy)(schema.getTableISOCcy().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOCcyId() ));
 			deleteISOCcy( Authorization, cur );
 		}
 	}
@@ -483,24 +785,22 @@ public class CFSecRamISOCcyTable
 		ICFSecISOCcyByCcyCdIdxKey argKey )
 	{
 		CFSecBuffISOCcy cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		final CFSecBuffISOCcyByCcyCdIdxKey key;
+		if( argKey instanceof CFSecBuffISOCcyByCcyCdIdxKey ) {
+			key = (CFSecBuffISOCcyByCcyCdIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffISOCcyByCcyCdIdxKey)schema.getFactoryISOCcy().newByCcyCdIdxKey();
+			key.setRequiredISOCode( argKey.getRequiredISOCode() );
 		}
 		LinkedList<CFSecBuffISOCcy> matchSet = new LinkedList<CFSecBuffISOCcy>();
-		Iterator<CFSecBuffISOCcy> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = tableLock.readOptimistic( () -> dictByCcyCdIdx.get( key ) );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffISOCcy> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOCcy)(schema.getTableISOCcy().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOCcyId() ));
 			deleteISOCcy( Authorization, cur );
 		}
 	}
@@ -519,24 +819,22 @@ public class CFSecRamISOCcyTable
 		ICFSecISOCcyByCcyNmIdxKey argKey )
 	{
 		CFSecBuffISOCcy cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		final CFSecBuffISOCcyByCcyNmIdxKey key;
+		if( argKey instanceof CFSecBuffISOCcyByCcyNmIdxKey ) {
+			key = (CFSecBuffISOCcyByCcyNmIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffISOCcyByCcyNmIdxKey)schema.getFactoryISOCcy().newByCcyNmIdxKey();
+			key.setRequiredName( argKey.getRequiredName() );
 		}
 		LinkedList<CFSecBuffISOCcy> matchSet = new LinkedList<CFSecBuffISOCcy>();
-		Iterator<CFSecBuffISOCcy> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = tableLock.readOptimistic( () -> dictByCcyNmIdx.get( key ) );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffISOCcy> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOCcy)(schema.getTableISOCcy().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOCcyId() ));
 			deleteISOCcy( Authorization, cur );
 		}
 	}
@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,8 +48,11 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for ISOCtryCcy.
  */
 public class CFSecRamISOCtryCcyTable
-	implements ICFSecISOCtryCcyTable
+	implements ICFSecISOCtryCcyTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecISOCtryCcy[] EMPTY_REC_ARRAY = new ICFSecISOCtryCcy[0];
+
 	private ICFSecSchema schema;
 	private Map< ICFSecISOCtryCcyPKey,
 				CFSecBuffISOCtryCcy > dictByPKey
@@ -66,6 +71,20 @@ public class CFSecRamISOCtryCcyTable
 				Map< CFSecBuffISOCtryCcyPKey,
 					CFSecBuffISOCtryCcy >>();
 
+	private final List< ICFSecISOCtryCcyPKey > bulkPKeys = new ArrayList< ICFSecISOCtryCcyPKey >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffISOCtryCcyPKey > probePKey
+		= ThreadLocal.withInitial( () -> (CFSecBuffISOCtryCcyPKey)(schema.getFactoryISOCtryCcy().newPKey()) );
+	private final ThreadLocal< CFSecBuffISOCtryCcyByCtryIdxKey > probeCtryIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffISOCtryCcyByCtryIdxKey)schema.getFactoryISOCtryCcy().newByCtryIdxKey() );
+	private final ThreadLocal< CFSecBuffISOCtryCcyByCcyIdxKey > probeCcyIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffISOCtryCcyByCcyIdxKey)schema.getFactoryISOCtryCcy().newByCcyIdxKey() );
+
 	public CFSecRamISOCtryCcyTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
@@ -85,11 +104,228 @@ public class CFSecRamISOCtryCcyTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffISOCtryCcy > recs ) {
+		dictByPKey.clear();
+		for( CFSecBuffISOCtryCcy Buff : recs ) {
+			CFSecBuffISOCtryCcyPKey pkey = (CFSecBuffISOCtryCcyPKey)(schema.getFactoryISOCtryCcy().newPKey());
+			pkey.setRequiredContainerCtry( Buff.getRequiredISOCtryId() );
+			pkey.setRequiredParentCcy( Buff.getRequiredISOCcyId() );
+			dictByPKey.put( pkey, Buff );
+		}
+		rebuildIndexes();
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffISOCtryCcy > snapshotRecs() {
+		return( new ArrayList< CFSecBuffISOCtryCcy >( dictByPKey.values() ) );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffISOCtryCcy lookupRec( Object pkey ) {
+		return( dictByPKey.get( pkey ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffISOCtryCcy before ) {
+		long lsn = 0L;
+		CFSecBuffISOCtryCcy current;
+		if( before == null ) {
+			current = dictByPKey.remove( pkey );
+		}
+		else {
+			current = dictByPKey.put( (ICFSecISOCtryCcyPKey)pkey, before );
+		}
+		if( current != null ) {
+			unindexRec( current );
+		}
+		if( before != null ) {
+			indexRec( before );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+		}
+		else if( current != null ) {
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffISOCtryCcy Buff ) {
+		CFSecBuffISOCtryCcyPKey pkey = (CFSecBuffISOCtryCcyPKey)(schema.getFactoryISOCtryCcy().newPKey());
+		pkey.setRequiredContainerCtry( Buff.getRequiredISOCtryId() );
+		pkey.setRequiredParentCcy( Buff.getRequiredISOCcyId() );
+		CFSecBuffISOCtryCcyByCtryIdxKey keyCtryIdx = (CFSecBuffISOCtryCcyByCtryIdxKey)schema.getFactoryISOCtryCcy().newByCtryIdxKey();
+		keyCtryIdx.setRequiredISOCtryId( Buff.getRequiredISOCtryId() );
+		Map< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy > subdictCtryIdx;
+		if( dictByCtryIdx.containsKey( keyCtryIdx ) ) {
+			subdictCtryIdx = dictByCtryIdx.get( keyCtryIdx );
+		}
+		else {
+			subdictCtryIdx = new HashMap< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy >();
+			dictByCtryIdx.put( keyCtryIdx, subdictCtryIdx );
+		}
+		subdictCtryIdx.put( pkey, Buff );
+
+		CFSecBuffISOCtryCcyByCcyIdxKey keyCcyIdx = (CFSecBuffISOCtryCcyByCcyIdxKey)schema.getFactoryISOCtryCcy().newByCcyIdxKey();
+		keyCcyIdx.setRequiredISOCcyId( Buff.getRequiredISOCcyId() );
+		Map< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy > subdictCcyIdx;
+		if( dictByCcyIdx.containsKey( keyCcyIdx ) ) {
+			subdictCcyIdx = dictByCcyIdx.get( keyCcyIdx );
+		}
+		else {
+			subdictCcyIdx = new HashMap< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy >();
+			dictByCcyIdx.put( keyCcyIdx, subdictCcyIdx );
+		}
+		subdictCcyIdx.put( pkey, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffISOCtryCcy Buff ) {
+		CFSecBuffISOCtryCcyPKey pkey = (CFSecBuffISOCtryCcyPKey)(schema.getFactoryISOCtryCcy().newPKey());
+		pkey.setRequiredContainerCtry( Buff.getRequiredISOCtryId() );
+		pkey.setRequiredParentCcy( Buff.getRequiredISOCcyId() );
+		CFSecBuffISOCtryCcyByCtryIdxKey keyCtryIdx = (CFSecBuffISOCtryCcyByCtryIdxKey)schema.getFactoryISOCtryCcy().newByCtryIdxKey();
+		keyCtryIdx.setRequiredISOCtryId( Buff.getRequiredISOCtryId() );
+		Map< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy > subdictCtryIdx = dictByCtryIdx.get( keyCtryIdx );
+		if( subdictCtryIdx != null ) {
+			subdictCtryIdx.remove( pkey );
+			if( subdictCtryIdx.isEmpty() ) {
+				dictByCtryIdx.remove( keyCtryIdx );
+			}
+		}
+
+		CFSecBuffISOCtryCcyByCcyIdxKey keyCcyIdx = (CFSecBuffISOCtryCcyByCcyIdxKey)schema.getFactoryISOCtryCcy().newByCcyIdxKey();
+		keyCcyIdx.setRequiredISOCcyId( Buff.getRequiredISOCcyId() );
+		Map< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy > subdictCcyIdx = dictByCcyIdx.get( keyCcyIdx );
+		if( subdictCcyIdx != null ) {
+			subdictCcyIdx.remove( pkey );
+			if( subdictCcyIdx.isEmpty() ) {
+				dictByCcyIdx.remove( keyCcyIdx );
+			}
+		}
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildCtryIdx,
+			this::rebuildCcyIdx );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	protected void rebuildCtryIdx() {
+		dictByCtryIdx.clear();
+		for( CFSecBuffISOCtryCcy Buff : dictByPKey.values() ) {
+			CFSecBuffISOCtryCcyPKey pkey = (CFSecBuffISOCtryCcyPKey)(schema.getFactoryISOCtryCcy().newPKey());
+			pkey.setRequiredContainerCtry( Buff.getRequiredISOCtryId() );
+			pkey.setRequiredParentCcy( Buff.getRequiredISOCcyId() );
+			CFSecBuffISOCtryCcyByCtryIdxKey keyCtryIdx = (CFSecBuffISOCtryCcyByCtryIdxKey)schema.getFactoryISOCtryCcy().newByCtryIdxKey();
+			keyCtryIdx.setRequiredISOCtryId( Buff.getRequiredISOCtryId() );
+			Map< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy > subdictCtryIdx;
+			if( dictByCtryIdx.containsKey( keyCtryIdx ) ) {
+				subdictCtryIdx = dictByCtryIdx.get( keyCtryIdx );
+			}
+			else {
+				subdictCtryIdx = new HashMap< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy >();
+				dictByCtryIdx.put( keyCtryIdx, subdictCtryIdx );
+			}
+			subdictCtryIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildCcyIdx() {
+		dictByCcyIdx.clear();
+		for( CFSecBuffISOCtryCcy Buff : dictByPKey.values() ) {
+			CFSecBuffISOCtryCcyPKey pkey = (CFSecBuffISOCtryCcyPKey)(schema.getFactoryISOCtryCcy().newPKey());
+			pkey.setRequiredContainerCtry( Buff.getRequiredISOCtryId() );
+			pkey.setRequiredParentCcy( Buff.getRequiredISOCcyId() );
+			CFSecBuffISOCtryCcyByCcyIdxKey keyCcyIdx = (CFSecBuffISOCtryCcyByCcyIdxKey)schema.getFactoryISOCtryCcy().newByCcyIdxKey();
+			keyCcyIdx.setRequiredISOCcyId( Buff.getRequiredISOCcyId() );
+			Map< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy > subdictCcyIdx;
+			if( dictByCcyIdx.containsKey( keyCcyIdx ) ) {
+				subdictCcyIdx = dictByCcyIdx.get( keyCcyIdx );
+			}
+			else {
+				subdictCcyIdx = new HashMap< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy >();
+				dictByCcyIdx.put( keyCcyIdx, subdictCcyIdx );
+			}
+			subdictCcyIdx.put( pkey, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< CFSecBuffISOCtryCcy > staged = new ArrayList< CFSecBuffISOCtryCcy >();
+		for( ICFSecISOCtryCcyPKey pkey : bulkPKeys ) {
+			CFSecBuffISOCtryCcy Buff = dictByPKey.get( pkey );
+			if( Buff == null ) {
+				continue;
+			}
+			staged.add( Buff );
+		}
+
+		Map< Short, List< CFSecBuffISOCtryCcy > > byISOCtryCcyCtry = new HashMap< Short, List< CFSecBuffISOCtryCcy > >();
+		for( CFSecBuffISOCtryCcy Buff : staged ) {
+			byISOCtryCcyCtry.computeIfAbsent( Buff.getRequiredISOCtryId(), ( k ) -> new ArrayList< CFSecBuffISOCtryCcy >() ).add( Buff );
+		}
+		for( Map.Entry< Short, List< CFSecBuffISOCtryCcy > > entry : byISOCtryCcyCtry.entrySet() ) {
+			if( null == schema.getTableISOCtry().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffISOCtryCcy Buff : entry.getValue() ) {
+					violations.add( "ISOCtryCcy " + Buff.getPKey() + " references the missing ISOCtry " + entry.getKey() + " through ISOCtryCcyCtry" );
+				}
+			}
+		}
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		for( ICFSecISOCtryCcyPKey pkey : bulkPKeys ) {
+			CFSecBuffISOCtryCcy Buff = dictByPKey.remove( pkey );
+			if( Buff != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+			}
+		}
+		bulkPKeys.clear();
+		rebuildIndexes();
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		bulkPKeys.clear();
+	}
+
 	@Override
 	public ICFSecISOCtryCcy createISOCtryCcy( ICFSecAuthorization Authorization,
 		ICFSecISOCtryCcy iBuff )
 	{
 		final String S_ProcName = "createISOCtryCcy";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffISOCtryCcy Buff = (CFSecBuffISOCtryCcy)ensureRec(iBuff);
 		CFSecBuffISOCtryCcyPKey pkey = (CFSecBuffISOCtryCcyPKey)(schema.getFactoryISOCtryCcy().newPKey());
@@ -114,7 +350,7 @@ public class CFSecRamISOCtryCcyTable
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableISOCtry().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredISOCtryId() ) )
 				{
@@ -134,6 +370,9 @@ public class CFSecRamISOCtryCcyTable
 		// Proceed with adding the new record
 
 		dictByPKey.put( pkey, Buff );
+		if( bulkLoad ) {
+			bulkPKeys.add( pkey );
+		}
 
 		Map< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy > subdictCtryIdx;
 		if( dictByCtryIdx.containsKey( keyCtryIdx ) ) {
@@ -155,6 +394,10 @@ public class CFSecRamISOCtryCcyTable
 		}
 		subdictCcyIdx.put( pkey, Buff );
 
+		CFSecRamTransaction.record( schema, null, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
+
 		if (Buff == null) {
 			return( null );
 		}
@@ -186,26 +429,21 @@ public class CFSecRamISOCtryCcyTable
 				return( null );
 			}
 		}
-		CFSecBuffISOCtryCcyPKey key = (CFSecBuffISOCtryCcyPKey)(schema.getFactoryISOCtryCcy().newPKey());
+		CFSecBuffISOCtryCcyPKey key = probePKey.get();
 		key.setRequiredContainerCtry( ISOCtryId );
 		key.setRequiredParentCcy( ISOCcyId );
-		return( readDerived( Authorization, key ) );
+		return( dictByPKey.get( key ) );
 	}
 
 	public ICFSecISOCtryCcy readDerived( ICFSecAuthorization Authorization,
 		ICFSecISOCtryCcyPKey PKey )
 	{
 		final String S_ProcName = "CFSecRamISOCtryCcy.readDerived";
-		CFSecBuffISOCtryCcyPKey key = (CFSecBuffISOCtryCcyPKey)(schema.getFactoryISOCtryCcy().newPKey());
+		CFSecBuffISOCtryCcyPKey key = probePKey.get();
 		key.setRequiredContainerCtry( PKey.getRequiredISOCtryId() );
 		key.setRequiredParentCcy( PKey.getRequiredISOCcyId() );
 		ICFSecISOCtryCcy buff;
-		if( dictByPKey.containsKey( key ) ) {
-			buff = dictByPKey.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByPKey.get( key );
 		return( buff );
 	}
 
@@ -214,16 +452,11 @@ public class CFSecRamISOCtryCcyTable
 		ICFSecISOCtryCcyPKey PKey )
 	{
 		final String S_ProcName = "CFSecRamISOCtryCcy.lockDerived";
-		CFSecBuffISOCtryCcyPKey key = (CFSecBuffISOCtryCcyPKey)(schema.getFactoryISOCtryCcy().newPKey());
+		CFSecBuffISOCtryCcyPKey key = probePKey.get();
 		key.setRequiredContainerCtry( PKey.getRequiredISOCtryId() );
 		key.setRequiredParentCcy( PKey.getRequiredISOCcyId() );
 		ICFSecISOCtryCcy buff;
-		if( dictByPKey.containsKey( key ) ) {
-			buff = dictByPKey.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByPKey.get( key );
 		return( buff );
 	}
 
@@ -244,25 +477,19 @@ public class CFSecRamISOCtryCcyTable
 		short ISOCtryId )
 	{
 		final String S_ProcName = "CFSecRamISOCtryCcy.readDerivedByCtryIdx";
-		CFSecBuffISOCtryCcyByCtryIdxKey key = (CFSecBuffISOCtryCcyByCtryIdxKey)schema.getFactoryISOCtryCcy().newByCtryIdxKey();
+		CFSecBuffISOCtryCcyByCtryIdxKey key = probeCtryIdx.get();
 
 		key.setRequiredISOCtryId( ISOCtryId );
-		ICFSecISOCtryCcy[] recArray;
-		if( dictByCtryIdx.containsKey( key ) ) {
-			Map< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy > subdictCtryIdx
-				= dictByCtryIdx.get( key );
-			recArray = new ICFSecISOCtryCcy[ subdictCtryIdx.size() ];
-			Iterator< CFSecBuffISOCtryCcy > iter = subdictCtryIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		Map< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy > subdictCtryIdx
+			= dictByCtryIdx.get( key );
+		if( ( subdictCtryIdx == null ) || subdictCtryIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy > subdictCtryIdx
-				= new HashMap< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy >();
-			dictByCtryIdx.put( key, subdictCtryIdx );
-			recArray = new ICFSecISOCtryCcy[0];
+		ICFSecISOCtryCcy[] recArray = new ICFSecISOCtryCcy[ subdictCtryIdx.size() ];
+		Iterator< CFSecBuffISOCtryCcy > iter = subdictCtryIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -272,25 +499,19 @@ public class CFSecRamISOCtryCcyTable
 		short ISOCcyId )
 	{
 		final String S_ProcName = "CFSecRamISOCtryCcy.readDerivedByCcyIdx";
-		CFSecBuffISOCtryCcyByCcyIdxKey key = (CFSecBuffISOCtryCcyByCcyIdxKey)schema.getFactoryISOCtryCcy().newByCcyIdxKey();
+		CFSecBuffISOCtryCcyByCcyIdxKey key = probeCcyIdx.get();
 
 		key.setRequiredISOCcyId( ISOCcyId );
-		ICFSecISOCtryCcy[] recArray;
-		if( dictByCcyIdx.containsKey( key ) ) {
-			Map< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy > subdictCcyIdx
-				= dictByCcyIdx.get( key );
-			recArray = new ICFSecISOCtryCcy[ subdictCcyIdx.size() ];
-			Iterator< CFSecBuffISOCtryCcy > iter = subdictCcyIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		Map< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy > subdictCcyIdx
+			= dictByCcyIdx.get( key );
+		if( ( subdictCcyIdx == null ) || subdictCcyIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy > subdictCcyIdx
-				= new HashMap< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy >();
-			dictByCcyIdx.put( key, subdictCcyIdx );
-			recArray = new ICFSecISOCtryCcy[0];
+		ICFSecISOCtryCcy[] recArray = new ICFSecISOCtryCcy[ subdictCcyIdx.size() ];
+		Iterator< CFSecBuffISOCtryCcy > iter = subdictCcyIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -301,19 +522,167 @@ public class CFSecRamISOCtryCcyTable
 		short ISOCcyId )
 	{
 		final String S_ProcName = "CFSecRamISOCtryCcy.readDerivedByIdIdx() ";
-		CFSecBuffISOCtryCcyPKey key = (CFSecBuffISOCtryCcyPKey)(schema.getFactoryISOCtryCcy().newPKey());
+		CFSecBuffISOCtryCcyPKey key = probePKey.get();
 		key.setRequiredContainerCtry( ISOCtryId );
 		key.setRequiredParentCcy( ISOCcyId );
 		ICFSecISOCtryCcy buff;
-		if( dictByPKey.containsKey( key ) ) {
-			buff = dictByPKey.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByPKey.get( key );
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every ISOCtryCcy instance in the table,
+	 *	without copying the table into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecISOCtryCcy > viewAll( ICFSecAuthorization Authorization ) {
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every ISOCtryCcy instance in the table, iterating
+	 *	the table in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecISOCtryCcy > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every ISOCtryCcy instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecISOCtryCcy > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the ISOCtryCcy instances identified by the duplicate key CtryIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ISOCtryId	The ISOCtryCcy key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecISOCtryCcy > viewByCtryIdx( ICFSecAuthorization Authorization,
+		short ISOCtryId )
+	{
+		CFSecBuffISOCtryCcyByCtryIdxKey key = probeCtryIdx.get();
+		key.setRequiredISOCtryId( ISOCtryId );
+		return( CFSecRamViews.of( dictByCtryIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each ISOCtryCcy instance identified by the duplicate key CtryIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ISOCtryId	The ISOCtryCcy key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByCtryIdx( ICFSecAuthorization Authorization,
+		short ISOCtryId,
+		Consumer< ? super ICFSecISOCtryCcy > action )
+	{
+		viewByCtryIdx( Authorization,
+			ISOCtryId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the ISOCtryCcy instances identified by the duplicate key CtryIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ISOCtryId	The ISOCtryCcy key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecISOCtryCcy > streamByCtryIdx( ICFSecAuthorization Authorization,
+		short ISOCtryId )
+	{
+		return( viewByCtryIdx( Authorization,
+			ISOCtryId ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the ISOCtryCcy instances identified by the duplicate key CcyIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ISOCcyId	The ISOCtryCcy key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecISOCtryCcy > viewByCcyIdx( ICFSecAuthorization Authorization,
+		short ISOCcyId )
+	{
+		CFSecBuffISOCtryCcyByCcyIdxKey key = probeCcyIdx.get();
+		key.setRequiredISOCcyId( ISOCcyId );
+		return( CFSecRamViews.of( dictByCcyIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each ISOCtryCcy instance identified by the duplicate key CcyIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ISOCcyId	The ISOCtryCcy key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByCcyIdx( ICFSecAuthorization Authorization,
+		short ISOCcyId,
+		Consumer< ? super ICFSecISOCtryCcy > action )
+	{
+		viewByCcyIdx( Authorization,
+			ISOCcyId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the ISOCtryCcy instances identified by the duplicate key CcyIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ISOCcyId	The ISOCtryCcy key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecISOCtryCcy > streamByCcyIdx( ICFSecAuthorization Authorization,
+		short ISOCcyId )
+	{
+		return( viewByCcyIdx( Authorization,
+			ISOCcyId ).stream() );
+	}
+
 	@Override
 	public ICFSecISOCtryCcy readRec( ICFSecAuthorization Authorization,
 		short ISOCtryId,
@@ -349,20 +718,43 @@ public class CFSecRamISOCtryCcyTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecISOCtryCcy.CLASS_CODE.
+	 */
+	protected ICFSecISOCtryCcy[] filterRecs( ICFSecISOCtryCcy[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecISOCtryCcy buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOCtryCcy.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecISOCtryCcy[] recArray = new ICFSecISOCtryCcy[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecISOCtryCcy buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOCtryCcy.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecISOCtryCcy[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamISOCtryCcy.readAllRec";
-		ICFSecISOCtryCcy buff;
-		ArrayList<ICFSecISOCtryCcy> filteredList = new ArrayList<ICFSecISOCtryCcy>();
 		ICFSecISOCtryCcy[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOCtryCcy.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecISOCtryCcy[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -387,17 +779,12 @@ public class CFSecRamISOCtryCcyTable
 		short ISOCtryId )
 	{
 		final String S_ProcName = "CFSecRamISOCtryCcy.readRecByCtryIdx() ";
-		ICFSecISOCtryCcy buff;
-		ArrayList<ICFSecISOCtryCcy> filteredList = new ArrayList<ICFSecISOCtryCcy>();
 		ICFSecISOCtryCcy[] buffList = readDerivedByCtryIdx( Authorization,
 			ISOCtryId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOCtryCcy.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecISOCtryCcy)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecISOCtryCcy[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -405,17 +792,12 @@ public class CFSecRamISOCtryCcyTable
 		short ISOCcyId )
 	{
 		final String S_ProcName = "CFSecRamISOCtryCcy.readRecByCcyIdx() ";
-		ICFSecISOCtryCcy buff;
-		ArrayList<ICFSecISOCtryCcy> filteredList = new ArrayList<ICFSecISOCtryCcy>();
 		ICFSecISOCtryCcy[] buffList = readDerivedByCcyIdx( Authorization,
 			ISOCcyId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOCtryCcy.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecISOCtryCcy)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecISOCtryCcy[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -482,12 +864,16 @@ public class CFSecRamISOCtryCcyTable
 
 		Map< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy > subdict;
 
-		dictByPKey.remove( pkey );
 		dictByPKey.put( pkey, Buff );
 
-		subdict = dictByCtryIdx.get( existingKeyCtryIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyCtryIdx.equals( newKeyCtryIdx ) ) {
+			subdict = dictByCtryIdx.get( existingKeyCtryIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByCtryIdx.remove( existingKeyCtryIdx );
+				}
+			}
 		}
 		if( dictByCtryIdx.containsKey( newKeyCtryIdx ) ) {
 			subdict = dictByCtryIdx.get( newKeyCtryIdx );
@@ -498,9 +884,14 @@ public class CFSecRamISOCtryCcyTable
 		}
 		subdict.put( pkey, Buff );
 
-		subdict = dictByCcyIdx.get( existingKeyCcyIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyCcyIdx.equals( newKeyCcyIdx ) ) {
+			subdict = dictByCcyIdx.get( existingKeyCcyIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByCcyIdx.remove( existingKeyCcyIdx );
+				}
+			}
 		}
 		if( dictByCcyIdx.containsKey( newKeyCcyIdx ) ) {
 			subdict = dictByCcyIdx.get( newKeyCcyIdx );
@@ -511,6 +902,9 @@ public class CFSecRamISOCtryCcyTable
 		}
 		subdict.put( pkey, Buff );
 
+		CFSecRamTransaction.record( schema, existing, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
@@ -546,11 +940,24 @@ public class CFSecRamISOCtryCcyTable
 		dictByPKey.remove( pkey );
 
 		subdict = dictByCtryIdx.get( keyCtryIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByCtryIdx.remove( keyCtryIdx );
+			}
+		}
 
 		subdict = dictByCcyIdx.get( keyCcyIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByCcyIdx.remove( keyCcyIdx );
+			}
+		}
 
+		CFSecRamTransaction.record( schema, existing, null );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteISOCtryCcyByIdIdx( ICFSecAuthorization Authorization,
@@ -571,27 +978,15 @@ public class CFSecRamISOCtryCcyTable
 		key.setRequiredContainerCtry( PKey.getRequiredISOCtryId() );
 		key.setRequiredParentCcy( PKey.getRequiredISOCcyId() );
 		CFSecBuffISOCtryCcyPKey argKey = key;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffISOCtryCcy cur;
 		LinkedList<CFSecBuffISOCtryCcy> matchSet = new LinkedList<CFSecBuffISOCtryCcy>();
-		Iterator<CFSecBuffISOCtryCcy> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByPKey.get( argKey );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffISOCtryCcy> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOCtryCcy)(schema.getTableISOCtryCcy().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOCtryId(),
-				cur.getRequiredISOCcyId() ));
 			deleteISOCtryCcy( Authorization, cur );
 		}
 	}
@@ -610,25 +1005,22 @@ public class CFSecRamISOCtryCcyTable
 		ICFSecISOCtryCcyByCtryIdxKey argKey )
 	{
 		CFSecBuffISOCtryCcy cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffISOCtryCcyByCtryIdxKey key;
+		if( argKey instanceof CFSecBuffISOCtryCcyByCtryIdxKey ) {
+			key = (CFSecBuffISOCtryCcyByCtryIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffISOCtryCcyByCtryIdxKey)schema.getFactoryISOCtryCcy().newByCtryIdxKey();
+			key.setRequiredISOCtryId( argKey.getRequiredISOCtryId() );
 		}
 		LinkedList<CFSecBuffISOCtryCcy> matchSet = new LinkedList<CFSecBuffISOCtryCcy>();
-		Iterator<CFSecBuffISOCtryCcy> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		Map< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy > subdictCtryIdx = dictByCtryIdx.get( key );
+		if( subdictCtryIdx != null ) {
+			matchSet.addAll( subdictCtryIdx.values() );
 		}
 		Iterator<CFSecBuffISOCtryCcy> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOCtryCcy)(schema.getTableISOCtryCcy().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOCtryId(),
-				cur.getRequiredISOCcyId() ));
 			deleteISOCtryCcy( Authorization, cur );
 		}
 	}
@@ -647,25 +1039,22 @@ public class CFSecRamISOCtryCcyTable
 		ICFSecISOCtryCcyByCcyIdxKey argKey )
 	{
 		CFSecBuffISOCtryCcy cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffISOCtryCcyByCcyIdxKey key;
+		if( argKey instanceof CFSecBuffISOCtryCcyByCcyIdxKey ) {
+			key = (CFSecBuffISOCtryCcyByCcyIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffISOCtryCcyByCcyIdxKey)schema.getFactoryISOCtryCcy().newByCcyIdxKey();
+			key.setRequiredISOCcyId( argKey.getRequiredISOCcyId() );
 		}
 		LinkedList<CFSecBuffISOCtryCcy> matchSet = new LinkedList<CFSecBuffISOCtryCcy>();
-		Iterator<CFSecBuffISOCtryCcy> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		Map< CFSecBuffISOCtryCcyPKey, CFSecBuffISOCtryCcy > subdictCcyIdx = dictByCcyIdx.get( key );
+		if( subdictCcyIdx != null ) {
+			matchSet.addAll( subdictCcyIdx.values() );
 		}
 		Iterator<CFSecBuffISOCtryCcy> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOCtryCcy)(schema.getTableISOCtryCcy().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOCtryId(),
-				cur.getRequiredISOCcyId() ));
 			deleteISOCtryCcy( Authorization, cur );
 		}
 	}
@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,8 +48,11 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for ISOCtryLang.
  */
 public class CFSecRamISOCtryLangTable
-	implements ICFSecISOCtryLangTable
+	implements ICFSecISOCtryLangTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecISOCtryLang[] EMPTY_REC_ARRAY = new ICFSecISOCtryLang[0];
+
 	private ICFSecSchema schema;
 	private Map< ICFSecISOCtryLangPKey,
 				CFSecBuffISOCtryLang > dictByPKey
@@ -66,6 +71,20 @@ public class CFSecRamISOCtryLangTable
 				Map< CFSecBuffISOCtryLangPKey,
 					CFSecBuffISOCtryLang >>();
 
+	private final List< ICFSecISOCtryLangPKey > bulkPKeys = new ArrayList< ICFSecISOCtryLangPKey >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffISOCtryLangPKey > probePKey
+		= ThreadLocal.withInitial( () -> (CFSecBuffISOCtryLangPKey)(schema.getFactoryISOCtryLang().newPKey()) );
+	private final ThreadLocal< CFSecBuffISOCtryLangByCtryIdxKey > probeCtryIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffISOCtryLangByCtryIdxKey)schema.getFactoryISOCtryLang().newByCtryIdxKey() );
+	private final ThreadLocal< CFSecBuffISOCtryLangByLangIdxKey > probeLangIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffISOCtryLangByLangIdxKey)schema.getFactoryISOCtryLang().newByLangIdxKey() );
+
 	public CFSecRamISOCtryLangTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
@@ -85,11 +104,228 @@ public class CFSecRamISOCtryLangTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffISOCtryLang > recs ) {
+		dictByPKey.clear();
+		for( CFSecBuffISOCtryLang Buff : recs ) {
+			CFSecBuffISOCtryLangPKey pkey = (CFSecBuffISOCtryLangPKey)(schema.getFactoryISOCtryLang().newPKey());
+			pkey.setRequiredContainerCtry( Buff.getRequiredISOCtryId() );
+			pkey.setRequiredParentLang( Buff.getRequiredISOLangId() );
+			dictByPKey.put( pkey, Buff );
+		}
+		rebuildIndexes();
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffISOCtryLang > snapshotRecs() {
+		return( new ArrayList< CFSecBuffISOCtryLang >( dictByPKey.values() ) );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffISOCtryLang lookupRec( Object pkey ) {
+		return( dictByPKey.get( pkey ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffISOCtryLang before ) {
+		long lsn = 0L;
+		CFSecBuffISOCtryLang current;
+		if( before == null ) {
+			current = dictByPKey.remove( pkey );
+		}
+		else {
+			current = dictByPKey.put( (ICFSecISOCtryLangPKey)pkey, before );
+		}
+		if( current != null ) {
+			unindexRec( current );
+		}
+		if( before != null ) {
+			indexRec( before );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+		}
+		else if( current != null ) {
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffISOCtryLang Buff ) {
+		CFSecBuffISOCtryLangPKey pkey = (CFSecBuffISOCtryLangPKey)(schema.getFactoryISOCtryLang().newPKey());
+		pkey.setRequiredContainerCtry( Buff.getRequiredISOCtryId() );
+		pkey.setRequiredParentLang( Buff.getRequiredISOLangId() );
+		CFSecBuffISOCtryLangByCtryIdxKey keyCtryIdx = (CFSecBuffISOCtryLangByCtryIdxKey)schema.getFactoryISOCtryLang().newByCtryIdxKey();
+		keyCtryIdx.setRequiredISOCtryId( Buff.getRequiredISOCtryId() );
+		Map< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang > subdictCtryIdx;
+		if( dictByCtryIdx.containsKey( keyCtryIdx ) ) {
+			subdictCtryIdx = dictByCtryIdx.get( keyCtryIdx );
+		}
+		else {
+			subdictCtryIdx = new HashMap< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang >();
+			dictByCtryIdx.put( keyCtryIdx, subdictCtryIdx );
+		}
+		subdictCtryIdx.put( pkey, Buff );
+
+		CFSecBuffISOCtryLangByLangIdxKey keyLangIdx = (CFSecBuffISOCtryLangByLangIdxKey)schema.getFactoryISOCtryLang().newByLangIdxKey();
+		keyLangIdx.setRequiredISOLangId( Buff.getRequiredISOLangId() );
+		Map< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang > subdictLangIdx;
+		if( dictByLangIdx.containsKey( keyLangIdx ) ) {
+			subdictLangIdx = dictByLangIdx.get( keyLangIdx );
+		}
+		else {
+			subdictLangIdx = new HashMap< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang >();
+			dictByLangIdx.put( keyLangIdx, subdictLangIdx );
+		}
+		subdictLangIdx.put( pkey, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffISOCtryLang Buff ) {
+		CFSecBuffISOCtryLangPKey pkey = (CFSecBuffISOCtryLangPKey)(schema.getFactoryISOCtryLang().newPKey());
+		pkey.setRequiredContainerCtry( Buff.getRequiredISOCtryId() );
+		pkey.setRequiredParentLang( Buff.getRequiredISOLangId() );
+		CFSecBuffISOCtryLangByCtryIdxKey keyCtryIdx = (CFSecBuffISOCtryLangByCtryIdxKey)schema.getFactoryISOCtryLang().newByCtryIdxKey();
+		keyCtryIdx.setRequiredISOCtryId( Buff.getRequiredISOCtryId() );
+		Map< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang > subdictCtryIdx = dictByCtryIdx.get( keyCtryIdx );
+		if( subdictCtryIdx != null ) {
+			subdictCtryIdx.remove( pkey );
+			if( subdictCtryIdx.isEmpty() ) {
+				dictByCtryIdx.remove( keyCtryIdx );
+			}
+		}
+
+		CFSecBuffISOCtryLangByLangIdxKey keyLangIdx = (CFSecBuffISOCtryLangByLangIdxKey)schema.getFactoryISOCtryLang().newByLangIdxKey();
+		keyLangIdx.setRequiredISOLangId( Buff.getRequiredISOLangId() );
+		Map< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang > subdictLangIdx = dictByLangIdx.get( keyLangIdx );
+		if( subdictLangIdx != null ) {
+			subdictLangIdx.remove( pkey );
+			if( subdictLangIdx.isEmpty() ) {
+				dictByLangIdx.remove( keyLangIdx );
+			}
+		}
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildCtryIdx,
+			this::rebuildLangIdx );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	protected void rebuildCtryIdx() {
+		dictByCtryIdx.clear();
+		for( CFSecBuffISOCtryLang Buff : dictByPKey.values() ) {
+			CFSecBuffISOCtryLangPKey pkey = (CFSecBuffISOCtryLangPKey)(schema.getFactoryISOCtryLang().newPKey());
+			pkey.setRequiredContainerCtry( Buff.getRequiredISOCtryId() );
+			pkey.setRequiredParentLang( Buff.getRequiredISOLangId() );
+			CFSecBuffISOCtryLangByCtryIdxKey keyCtryIdx = (CFSecBuffISOCtryLangByCtryIdxKey)schema.getFactoryISOCtryLang().newByCtryIdxKey();
+			keyCtryIdx.setRequiredISOCtryId( Buff.getRequiredISOCtryId() );
+			Map< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang > subdictCtryIdx;
+			if( dictByCtryIdx.containsKey( keyCtryIdx ) ) {
+				subdictCtryIdx = dictByCtryIdx.get( keyCtryIdx );
+			}
+			else {
+				subdictCtryIdx = new HashMap< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang >();
+				dictByCtryIdx.put( keyCtryIdx, subdictCtryIdx );
+			}
+			subdictCtryIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildLangIdx() {
+		dictByLangIdx.clear();
+		for( CFSecBuffISOCtryLang Buff : dictByPKey.values() ) {
+			CFSecBuffISOCtryLangPKey pkey = (CFSecBuffISOCtryLangPKey)(schema.getFactoryISOCtryLang().newPKey());
+			pkey.setRequiredContainerCtry( Buff.getRequiredISOCtryId() );
+			pkey.setRequiredParentLang( Buff.getRequiredISOLangId() );
+			CFSecBuffISOCtryLangByLangIdxKey keyLangIdx = (CFSecBuffISOCtryLangByLangIdxKey)schema.getFactoryISOCtryLang().newByLangIdxKey();
+			keyLangIdx.setRequiredISOLangId( Buff.getRequiredISOLangId() );
+			Map< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang > subdictLangIdx;
+			if( dictByLangIdx.containsKey( keyLangIdx ) ) {
+				subdictLangIdx = dictByLangIdx.get( keyLangIdx );
+			}
+			else {
+				subdictLangIdx = new HashMap< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang >();
+				dictByLangIdx.put( keyLangIdx, subdictLangIdx );
+			}
+			subdictLangIdx.put( pkey, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< CFSecBuffISOCtryLang > staged = new ArrayList< CFSecBuffISOCtryLang >();
+		for( ICFSecISOCtryLangPKey pkey : bulkPKeys ) {
+			CFSecBuffISOCtryLang Buff = dictByPKey.get( pkey );
+			if( Buff == null ) {
+				continue;
+			}
+			staged.add( Buff );
+		}
+
+		Map< Short, List< CFSecBuffISOCtryLang > > byISOCtryLangCtry = new HashMap< Short, List< CFSecBuffISOCtryLang > >();
+		for( CFSecBuffISOCtryLang Buff : staged ) {
+			byISOCtryLangCtry.computeIfAbsent( Buff.getRequiredISOCtryId(), ( k ) -> new ArrayList< CFSecBuffISOCtryLang >() ).add( Buff );
+		}
+		for( Map.Entry< Short, List< CFSecBuffISOCtryLang > > entry : byISOCtryLangCtry.entrySet() ) {
+			if( null == schema.getTableISOCtry().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffISOCtryLang Buff : entry.getValue() ) {
+					violations.add( "ISOCtryLang " + Buff.getPKey() + " references the missing ISOCtry " + entry.getKey() + " through ISOCtryLangCtry" );
+				}
+			}
+		}
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		for( ICFSecISOCtryLangPKey pkey : bulkPKeys ) {
+			CFSecBuffISOCtryLang Buff = dictByPKey.remove( pkey );
+			if( Buff != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+			}
+		}
+		bulkPKeys.clear();
+		rebuildIndexes();
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		bulkPKeys.clear();
+	}
+
 	@Override
 	public ICFSecISOCtryLang createISOCtryLang( ICFSecAuthorization Authorization,
 		ICFSecISOCtryLang iBuff )
 	{
 		final String S_ProcName = "createISOCtryLang";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffISOCtryLang Buff = (CFSecBuffISOCtryLang)ensureRec(iBuff);
 		CFSecBuffISOCtryLangPKey pkey = (CFSecBuffISOCtryLangPKey)(schema.getFactoryISOCtryLang().newPKey());
@@ -114,7 +350,7 @@ public class CFSecRamISOCtryLangTable
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableISOCtry().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredISOCtryId() ) )
 				{
@@ -134,6 +370,9 @@ public class CFSecRamISOCtryLangTable
 		// Proceed with adding the new record
 
 		dictByPKey.put( pkey, Buff );
+		if( bulkLoad ) {
+			bulkPKeys.add( pkey );
+		}
 
 		Map< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang > subdictCtryIdx;
 		if( dictByCtryIdx.containsKey( keyCtryIdx ) ) {
@@ -155,6 +394,10 @@ public class CFSecRamISOCtryLangTable
 		}
 		subdictLangIdx.put( pkey, Buff );
 
+		CFSecRamTransaction.record( schema, null, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
+
 		if (Buff == null) {
 			return( null );
 		}
@@ -186,26 +429,21 @@ public class CFSecRamISOCtryLangTable
 				return( null );
 			}
 		}
-		CFSecBuffISOCtryLangPKey key = (CFSecBuffISOCtryLangPKey)(schema.getFactoryISOCtryLang().newPKey());
+		CFSecBuffISOCtryLangPKey key = probePKey.get();
 		key.setRequiredContainerCtry( ISOCtryId );
 		key.setRequiredParentLang( ISOLangId );
-		return( readDerived( Authorization, key ) );
+		return( dictByPKey.get( key ) );
 	}
 
 	public ICFSecISOCtryLang readDerived( ICFSecAuthorization Authorization,
 		ICFSecISOCtryLangPKey PKey )
 	{
 		final String S_ProcName = "CFSecRamISOCtryLang.readDerived";
-		CFSecBuffISOCtryLangPKey key = (CFSecBuffISOCtryLangPKey)(schema.getFactoryISOCtryLang().newPKey());
+		CFSecBuffISOCtryLangPKey key = probePKey.get();
 		key.setRequiredContainerCtry( PKey.getRequiredISOCtryId() );
 		key.setRequiredParentLang( PKey.getRequiredISOLangId() );
 		ICFSecISOCtryLang buff;
-		if( dictByPKey.containsKey( key ) ) {
-			buff = dictByPKey.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByPKey.get( key );
 		return( buff );
 	}
 
@@ -214,16 +452,11 @@ public class CFSecRamISOCtryLangTable
 		ICFSecISOCtryLangPKey PKey )
 	{
 		final String S_ProcName = "CFSecRamISOCtryLang.lockDerived";
-		CFSecBuffISOCtryLangPKey key = (CFSecBuffISOCtryLangPKey)(schema.getFactoryISOCtryLang().newPKey());
+		CFSecBuffISOCtryLangPKey key = probePKey.get();
 		key.setRequiredContainerCtry( PKey.getRequiredISOCtryId() );
 		key.setRequiredParentLang( PKey.getRequiredISOLangId() );
 		ICFSecISOCtryLang buff;
-		if( dictByPKey.containsKey( key ) ) {
-			buff = dictByPKey.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByPKey.get( key );
 		return( buff );
 	}
 
@@ -244,25 +477,19 @@ public class CFSecRamISOCtryLangTable
 		short ISOCtryId )
 	{
 		final String S_ProcName = "CFSecRamISOCtryLang.readDerivedByCtryIdx";
-		CFSecBuffISOCtryLangByCtryIdxKey key = (CFSecBuffISOCtryLangByCtryIdxKey)schema.getFactoryISOCtryLang().newByCtryIdxKey();
+		CFSecBuffISOCtryLangByCtryIdxKey key = probeCtryIdx.get();
 
 		key.setRequiredISOCtryId( ISOCtryId );
-		ICFSecISOCtryLang[] recArray;
-		if( dictByCtryIdx.containsKey( key ) ) {
-			Map< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang > subdictCtryIdx
-				= dictByCtryIdx.get( key );
-			recArray = new ICFSecISOCtryLang[ subdictCtryIdx.size() ];
-			Iterator< CFSecBuffISOCtryLang > iter = subdictCtryIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		Map< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang > subdictCtryIdx
+			= dictByCtryIdx.get( key );
+		if( ( subdictCtryIdx == null ) || subdictCtryIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang > subdictCtryIdx
-				= new HashMap< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang >();
-			dictByCtryIdx.put( key, subdictCtryIdx );
-			recArray = new ICFSecISOCtryLang[0];
+		ICFSecISOCtryLang[] recArray = new ICFSecISOCtryLang[ subdictCtryIdx.size() ];
+		Iterator< CFSecBuffISOCtryLang > iter = subdictCtryIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -272,25 +499,19 @@ public class CFSecRamISOCtryLangTable
 		short ISOLangId )
 	{
 		final String S_ProcName = "CFSecRamISOCtryLang.readDerivedByLangIdx";
-		CFSecBuffISOCtryLangByLangIdxKey key = (CFSecBuffISOCtryLangByLangIdxKey)schema.getFactoryISOCtryLang().newByLangIdxKey();
+		CFSecBuffISOCtryLangByLangIdxKey key = probeLangIdx.get();
 
 		key.setRequiredISOLangId( ISOLangId );
-		ICFSecISOCtryLang[] recArray;
-		if( dictByLangIdx.containsKey( key ) ) {
-			Map< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang > subdictLangIdx
-				= dictByLangIdx.get( key );
-			recArray = new ICFSecISOCtryLang[ subdictLangIdx.size() ];
-			Iterator< CFSecBuffISOCtryLang > iter = subdictLangIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		Map< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang > subdictLangIdx
+			= dictByLangIdx.get( key );
+		if( ( subdictLangIdx == null ) || subdictLangIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang > subdictLangIdx
-				= new HashMap< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang >();
-			dictByLangIdx.put( key, subdictLangIdx );
-			recArray = new ICFSecISOCtryLang[0];
+		ICFSecISOCtryLang[] recArray = new ICFSecISOCtryLang[ subdictLangIdx.size() ];
+		Iterator< CFSecBuffISOCtryLang > iter = subdictLangIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -301,19 +522,167 @@ public class CFSecRamISOCtryLangTable
 		short ISOLangId )
 	{
 		final String S_ProcName = "CFSecRamISOCtryLang.readDerivedByIdIdx() ";
-		CFSecBuffISOCtryLangPKey key = (CFSecBuffISOCtryLangPKey)(schema.getFactoryISOCtryLang().newPKey());
+		CFSecBuffISOCtryLangPKey key = probePKey.get();
 		key.setRequiredContainerCtry( ISOCtryId );
 		key.setRequiredParentLang( ISOLangId );
 		ICFSecISOCtryLang buff;
-		if( dictByPKey.containsKey( key ) ) {
-			buff = dictByPKey.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByPKey.get( key );
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every ISOCtryLang instance in the table,
+	 *	without copying the table into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecISOCtryLang > viewAll( ICFSecAuthorization Authorization ) {
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every ISOCtryLang instance in the table, iterating
+	 *	the table in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecISOCtryLang > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every ISOCtryLang instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecISOCtryLang > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the ISOCtryLang instances identified by the duplicate key CtryIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ISOCtryId	The ISOCtryLang key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecISOCtryLang > viewByCtryIdx( ICFSecAuthorization Authorization,
+		short ISOCtryId )
+	{
+		CFSecBuffISOCtryLangByCtryIdxKey key = probeCtryIdx.get();
+		key.setRequiredISOCtryId( ISOCtryId );
+		return( CFSecRamViews.of( dictByCtryIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each ISOCtryLang instance identified by the duplicate key CtryIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ISOCtryId	The ISOCtryLang key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByCtryIdx( ICFSecAuthorization Authorization,
+		short ISOCtryId,
+		Consumer< ? super ICFSecISOCtryLang > action )
+	{
+		viewByCtryIdx( Authorization,
+			ISOCtryId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the ISOCtryLang instances identified by the duplicate key CtryIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ISOCtryId	The ISOCtryLang key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecISOCtryLang > streamByCtryIdx( ICFSecAuthorization Authorization,
+		short ISOCtryId )
+	{
+		return( viewByCtryIdx( Authorization,
+			ISOCtryId ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the ISOCtryLang instances identified by the duplicate key LangIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ISOLangId	The ISOCtryLang key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecISOCtryLang > viewByLangIdx( ICFSecAuthorization Authorization,
+		short ISOLangId )
+	{
+		CFSecBuffISOCtryLangByLangIdxKey key = probeLangIdx.get();
+		key.setRequiredISOLangId( ISOLangId );
+		return( CFSecRamViews.of( dictByLangIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each ISOCtryLang instance identified by the duplicate key LangIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ISOLangId	The ISOCtryLang key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByLangIdx( ICFSecAuthorization Authorization,
+		short ISOLangId,
+		Consumer< ? super ICFSecISOCtryLang > action )
+	{
+		viewByLangIdx( Authorization,
+			ISOLangId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the ISOCtryLang instances identified by the duplicate key LangIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ISOLangId	The ISOCtryLang key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecISOCtryLang > streamByLangIdx( ICFSecAuthorization Authorization,
+		short ISOLangId )
+	{
+		return( viewByLangIdx( Authorization,
+			ISOLangId ).stream() );
+	}
+
 	@Override
 	public ICFSecISOCtryLang readRec( ICFSecAuthorization Authorization,
 		short ISOCtryId,
@@ -349,20 +718,43 @@ public class CFSecRamISOCtryLangTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecISOCtryLang.CLASS_CODE.
+	 */
+	protected ICFSecISOCtryLang[] filterRecs( ICFSecISOCtryLang[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecISOCtryLang buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOCtryLang.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecISOCtryLang[] recArray = new ICFSecISOCtryLang[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecISOCtryLang buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOCtryLang.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecISOCtryLang[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamISOCtryLang.readAllRec";
-		ICFSecISOCtryLang buff;
-		ArrayList<ICFSecISOCtryLang> filteredList = new ArrayList<ICFSecISOCtryLang>();
 		ICFSecISOCtryLang[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOCtryLang.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecISOCtryLang[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -387,17 +779,12 @@ public class CFSecRamISOCtryLangTable
 		short ISOCtryId )
 	{
 		final String S_ProcName = "CFSecRamISOCtryLang.readRecByCtryIdx() ";
-		ICFSecISOCtryLang buff;
-		ArrayList<ICFSecISOCtryLang> filteredList = new ArrayList<ICFSecISOCtryLang>();
 		ICFSecISOCtryLang[] buffList = readDerivedByCtryIdx( Authorization,
 			ISOCtryId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOCtryLang.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecISOCtryLang)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecISOCtryLang[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -405,17 +792,12 @@ public class CFSecRamISOCtryLangTable
 		short ISOLangId )
 	{
 		final String S_ProcName = "CFSecRamISOCtryLang.readRecByLangIdx() ";
-		ICFSecISOCtryLang buff;
-		ArrayList<ICFSecISOCtryLang> filteredList = new ArrayList<ICFSecISOCtryLang>();
 		ICFSecISOCtryLang[] buffList = readDerivedByLangIdx( Authorization,
 			ISOLangId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOCtryLang.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecISOCtryLang)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecISOCtryLang[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -482,12 +864,16 @@ public class CFSecRamISOCtryLangTable
 
 		Map< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang > subdict;
 
-		dictByPKey.remove( pkey );
 		dictByPKey.put( pkey, Buff );
 
-		subdict = dictByCtryIdx.get( existingKeyCtryIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyCtryIdx.equals( newKeyCtryIdx ) ) {
+			subdict = dictByCtryIdx.get( existingKeyCtryIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByCtryIdx.remove( existingKeyCtryIdx );
+				}
+			}
 		}
 		if( dictByCtryIdx.containsKey( newKeyCtryIdx ) ) {
 			subdict = dictByCtryIdx.get( newKeyCtryIdx );
@@ -498,9 +884,14 @@ public class CFSecRamISOCtryLangTable
 		}
 		subdict.put( pkey, Buff );
 
-		subdict = dictByLangIdx.get( existingKeyLangIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyLangIdx.equals( newKeyLangIdx ) ) {
+			subdict = dictByLangIdx.get( existingKeyLangIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByLangIdx.remove( existingKeyLangIdx );
+				}
+			}
 		}
 		if( dictByLangIdx.containsKey( newKeyLangIdx ) ) {
 			subdict = dictByLangIdx.get( newKeyLangIdx );
@@ -511,6 +902,9 @@ public class CFSecRamISOCtryLangTable
 		}
 		subdict.put( pkey, Buff );
 
+		CFSecRamTransaction.record( schema, existing, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
@@ -546,11 +940,24 @@ public class CFSecRamISOCtryLangTable
 		dictByPKey.remove( pkey );
 
 		subdict = dictByCtryIdx.get( keyCtryIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByCtryIdx.remove( keyCtryIdx );
+			}
+		}
 
 		subdict = dictByLangIdx.get( keyLangIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByLangIdx.remove( keyLangIdx );
+			}
+		}
 
+		CFSecRamTransaction.record( schema, existing, null );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteISOCtryLangByIdIdx( ICFSecAuthorization Authorization,
@@ -571,27 +978,15 @@ public class CFSecRamISOCtryLangTable
 		key.setRequiredContainerCtry( PKey.getRequiredISOCtryId() );
 		key.setRequiredParentLang( PKey.getRequiredISOLangId() );
 		CFSecBuffISOCtryLangPKey argKey = key;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffISOCtryLang cur;
 		LinkedList<CFSecBuffISOCtryLang> matchSet = new LinkedList<CFSecBuffISOCtryLang>();
-		Iterator<CFSecBuffISOCtryLang> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByPKey.get( argKey );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffISOCtryLang> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOCtryLang)(schema.getTableISOCtryLang().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOCtryId(),
-				cur.getRequiredISOLangId() ));
 			deleteISOCtryLang( Authorization, cur );
 		}
 	}
@@ -610,25 +1005,22 @@ public class CFSecRamISOCtryLangTable
 		ICFSecISOCtryLangByCtryIdxKey argKey )
 	{
 		CFSecBuffISOCtryLang cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffISOCtryLangByCtryIdxKey key;
+		if( argKey instanceof CFSecBuffISOCtryLangByCtryIdxKey ) {
+			key = (CFSecBuffISOCtryLangByCtryIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffISOCtryLangByCtryIdxKey)schema.getFactoryISOCtryLang().newByCtryIdxKey();
+			key.setRequiredISOCtryId( argKey.getRequiredISOCtryId() );
 		}
 		LinkedList<CFSecBuffISOCtryLang> matchSet = new LinkedList<CFSecBuffISOCtryLang>();
-		Iterator<CFSecBuffISOCtryLang> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		Map< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang > subdictCtryIdx = dictByCtryIdx.get( key );
+		if( subdictCtryIdx != null ) {
+			matchSet.addAll( subdictCtryIdx.values() );
 		}
 		Iterator<CFSecBuffISOCtryLang> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOCtryLang)(schema.getTableISOCtryLang().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOCtryId(),
-				cur.getRequiredISOLangId() ));
 			deleteISOCtryLang( Authorization, cur );
 		}
 	}
@@ -647,25 +1039,22 @@ public class CFSecRamISOCtryLangTable
 		ICFSecISOCtryLangByLangIdxKey argKey )
 	{
 		CFSecBuffISOCtryLang cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffISOCtryLangByLangIdxKey key;
+		if( argKey instanceof CFSecBuffISOCtryLangByLangIdxKey ) {
+			key = (CFSecBuffISOCtryLangByLangIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffISOCtryLangByLangIdxKey)schema.getFactoryISOCtryLang().newByLangIdxKey();
+			key.setRequiredISOLangId( argKey.getRequiredISOLangId() );
 		}
 		LinkedList<CFSecBuffISOCtryLang> matchSet = new LinkedList<CFSecBuffISOCtryLang>();
-		Iterator<CFSecBuffISOCtryLang> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		Map< CFSecBuffISOCtryLangPKey, CFSecBuffISOCtryLang > subdictLangIdx = dictByLangIdx.get( key );
+		if( subdictLangIdx != null ) {
+			matchSet.addAll( subdictLangIdx.values() );
 		}
 		Iterator<CFSecBuffISOCtryLang> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOCtryLang)(schema.getTableISOCtryLang().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOCtryId(),
-				cur.getRequiredISOLangId() ));
 			deleteISOCtryLang( Authorization, cur );
 		}
 	}
@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,7 +48,8 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for ISOCtry.
  */
 public class CFSecRamISOCtryTable
-	implements ICFSecISOCtryTable
+	implements ICFSecISOCtryTable,
+		CFSecRamBulkLoadTable
 {
 	private ICFSecSchema schema;
 	private Map< Short,
@@ -62,10 +65,28 @@ public class CFSecRamISOCtryTable
 		= new HashMap< CFSecBuffISOCtryByNameIdxKey,
 			CFSecBuffISOCtry >();
 
+	private final CFSecRamTableLock tableLock = new CFSecRamTableLock();
+
+	private final List< Short > bulkPKeys = new ArrayList< Short >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffISOCtryByISOCodeIdxKey > probeISOCodeIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffISOCtryByISOCodeIdxKey)schema.getFactoryISOCtry().newByISOCodeIdxKey() );
+	private final ThreadLocal< CFSecBuffISOCtryByNameIdxKey > probeNameIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffISOCtryByNameIdxKey)schema.getFactoryISOCtry().newByNameIdxKey() );
+
 	public CFSecRamISOCtryTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
 
+	public CFSecRamTableLock getTableLock() {
+		return( tableLock );
+	}
+
 	public CFSecBuffISOCtry ensureRec(ICFSecISOCtry rec) {
 		if (rec == null) {
 			return( null );
@@ -81,11 +102,196 @@ public class CFSecRamISOCtryTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffISOCtry > recs ) {
+		long stamp = tableLock.writeLock();
+		try {
+			dictByPKey.clear();
+			for( CFSecBuffISOCtry Buff : recs ) {
+				Short pkey = (Short)(Buff.getPKey());
+				dictByPKey.put( pkey, Buff );
+			}
+			rebuildIndexes();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffISOCtry > snapshotRecs() {
+		List< CFSecBuffISOCtry > recs = tableLock.read( () -> new ArrayList< CFSecBuffISOCtry >( dictByPKey.values() ) );
+		return( recs );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffISOCtry lookupRec( Object pkey ) {
+		return( tableLock.readOptimistic( () -> dictByPKey.get( pkey ) ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffISOCtry before ) {
+		long lsn = 0L;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecBuffISOCtry current;
+			if( before == null ) {
+				current = dictByPKey.remove( pkey );
+			}
+			else {
+				current = dictByPKey.put( (Short)pkey, before );
+			}
+			if( current != null ) {
+				unindexRec( current );
+			}
+			if( before != null ) {
+				indexRec( before );
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+			}
+			else if( current != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+			}
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffISOCtry Buff ) {
+		CFSecBuffISOCtryByISOCodeIdxKey keyISOCodeIdx = (CFSecBuffISOCtryByISOCodeIdxKey)schema.getFactoryISOCtry().newByISOCodeIdxKey();
+		keyISOCodeIdx.setRequiredISOCode( Buff.getRequiredISOCode() );
+		dictByISOCodeIdx.put( keyISOCodeIdx, Buff );
+
+		CFSecBuffISOCtryByNameIdxKey keyNameIdx = (CFSecBuffISOCtryByNameIdxKey)schema.getFactoryISOCtry().newByNameIdxKey();
+		keyNameIdx.setRequiredName( Buff.getRequiredName() );
+		dictByNameIdx.put( keyNameIdx, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffISOCtry Buff ) {
+		CFSecBuffISOCtryByISOCodeIdxKey keyISOCodeIdx = (CFSecBuffISOCtryByISOCodeIdxKey)schema.getFactoryISOCtry().newByISOCodeIdxKey();
+		keyISOCodeIdx.setRequiredISOCode( Buff.getRequiredISOCode() );
+		dictByISOCodeIdx.remove( keyISOCodeIdx );
+
+		CFSecBuffISOCtryByNameIdxKey keyNameIdx = (CFSecBuffISOCtryByNameIdxKey)schema.getFactoryISOCtry().newByNameIdxKey();
+		keyNameIdx.setRequiredName( Buff.getRequiredName() );
+		dictByNameIdx.remove( keyNameIdx );
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildISOCodeIdx,
+			this::rebuildNameIdx );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	protected void rebuildISOCodeIdx() {
+		dictByISOCodeIdx.clear();
+		for( CFSecBuffISOCtry Buff : dictByPKey.values() ) {
+			CFSecBuffISOCtryByISOCodeIdxKey keyISOCodeIdx = (CFSecBuffISOCtryByISOCodeIdxKey)schema.getFactoryISOCtry().newByISOCodeIdxKey();
+			keyISOCodeIdx.setRequiredISOCode( Buff.getRequiredISOCode() );
+			dictByISOCodeIdx.put( keyISOCodeIdx, Buff );
+		}
+	}
+
+	protected void rebuildNameIdx() {
+		dictByNameIdx.clear();
+		for( CFSecBuffISOCtry Buff : dictByPKey.values() ) {
+			CFSecBuffISOCtryByNameIdxKey keyNameIdx = (CFSecBuffISOCtryByNameIdxKey)schema.getFactoryISOCtry().newByNameIdxKey();
+			keyNameIdx.setRequiredName( Buff.getRequiredName() );
+			dictByNameIdx.put( keyNameIdx, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< String > duplicates = tableLock.read( () -> {
+			List< String > found = new ArrayList< String >();
+			for( Short pkey : bulkPKeys ) {
+				CFSecBuffISOCtry Buff = dictByPKey.get( pkey );
+				if( Buff == null ) {
+					continue;
+				}
+				CFSecBuffISOCtryByISOCodeIdxKey keyISOCodeIdx = (CFSecBuffISOCtryByISOCodeIdxKey)schema.getFactoryISOCtry().newByISOCodeIdxKey();
+				keyISOCodeIdx.setRequiredISOCode( Buff.getRequiredISOCode() );
+				if( dictByISOCodeIdx.get( keyISOCodeIdx ) != Buff ) {
+					found.add( "ISOCtry " + Buff.getPKey() + " duplicates the ISOCtryCodeIdx key " + keyISOCodeIdx );
+				}
+				CFSecBuffISOCtryByNameIdxKey keyNameIdx = (CFSecBuffISOCtryByNameIdxKey)schema.getFactoryISOCtry().newByNameIdxKey();
+				keyNameIdx.setRequiredName( Buff.getRequiredName() );
+				if( dictByNameIdx.get( keyNameIdx ) != Buff ) {
+					found.add( "ISOCtry " + Buff.getPKey() + " duplicates the ISOCtryNameIdx key " + keyNameIdx );
+				}
+			}
+			return( found );
+		} );
+		violations.addAll( duplicates );
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		long stamp = tableLock.writeLock();
+		try {
+			for( Short pkey : bulkPKeys ) {
+				CFSecBuffISOCtry Buff = dictByPKey.remove( pkey );
+				if( Buff != null ) {
+					lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+				}
+			}
+			bulkPKeys.clear();
+			rebuildIndexes();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		long stamp = tableLock.writeLock();
+		try {
+			bulkPKeys.clear();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
 	@Override
 	public ICFSecISOCtry createISOCtry( ICFSecAuthorization Authorization,
 		ICFSecISOCtry iBuff )
 	{
 		final String S_ProcName = "createISOCtry";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffISOCtry Buff = (CFSecBuffISOCtry)ensureRec(iBuff);
 		Short pkey;
@@ -97,37 +303,51 @@ public class CFSecRamISOCtryTable
 		CFSecBuffISOCtryByNameIdxKey keyNameIdx = (CFSecBuffISOCtryByNameIdxKey)schema.getFactoryISOCtry().newByNameIdxKey();
 		keyNameIdx.setRequiredName( Buff.getRequiredName() );
 
-		// Validate unique indexes
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			// Validate unique indexes
 
-		if( dictByPKey.containsKey( pkey ) ) {
-			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
-		}
+			if( dictByPKey.containsKey( pkey ) ) {
+				throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
+			}
 
-		if( dictByISOCodeIdx.containsKey( keyISOCodeIdx ) ) {
-			throw new CFLibUniqueIndexViolationException( getClass(),
-				S_ProcName,
-				"ISOCtryCodeIdx",
-				"ISOCtryCodeIdx",
-				keyISOCodeIdx );
-		}
+			if( ( ! bulkLoad ) && dictByISOCodeIdx.containsKey( keyISOCodeIdx ) ) {
+				throw new CFLibUniqueIndexViolationException( getClass(),
+					S_ProcName,
+					"ISOCtryCodeIdx",
+					"ISOCtryCodeIdx",
+					keyISOCodeIdx );
+			}
 
-		if( dictByNameIdx.containsKey( keyNameIdx ) ) {
-			throw new CFLibUniqueIndexViolationException( getClass(),
-				S_ProcName,
-				"ISOCtryNameIdx",
-				"ISOCtryNameIdx",
-				keyNameIdx );
-		}
+			if( ( ! bulkLoad ) && dictByNameIdx.containsKey( keyNameIdx ) ) {
+				throw new CFLibUniqueIndexViolationException( getClass(),
+					S_ProcName,
+					"ISOCtryNameIdx",
+					"ISOCtryNameIdx",
+					keyNameIdx );
+			}
 
-		// Validate foreign keys
+			// Validate foreign keys
 
-		// Proceed with adding the new record
+			// Proceed with adding the new record
 
-		dictByPKey.put( pkey, Buff );
+			dictByPKey.put( pkey, Buff );
+			if( bulkLoad ) {
+				bulkPKeys.add( pkey );
+			}
 
-		dictByISOCodeIdx.put( keyISOCodeIdx, Buff );
+			dictByISOCodeIdx.putIfAbsent( keyISOCodeIdx, Buff );
 
-		dictByNameIdx.put( keyNameIdx, Buff );
+			dictByNameIdx.putIfAbsent( keyNameIdx, Buff );
+
+			CFSecRamTransaction.record( schema, null, Buff );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
 
 		if (Buff == null) {
 			return( null );
@@ -154,12 +374,7 @@ public class CFSecRamISOCtryTable
 		if( PKey == null ) {
 			return( null );
 		}
-		if( dictByPKey.containsKey( PKey ) ) {
-			buff = dictByPKey.get( PKey );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByPKey.get( PKey ) );
 		return( buff );
 	}
 
@@ -169,24 +384,22 @@ public class CFSecRamISOCtryTable
 	{
 		final String S_ProcName = "CFSecRamISOCtry.lockDerived";
 		ICFSecISOCtry buff;
-		if( dictByPKey.containsKey( PKey ) ) {
-			buff = dictByPKey.get( PKey );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByPKey.get( PKey ) );
 		return( buff );
 	}
 
 	@Override
 	public ICFSecISOCtry[] readAllDerived( ICFSecAuthorization Authorization ) {
 		final String S_ProcName = "CFSecRamISOCtry.readAllDerived";
-		ICFSecISOCtry[] retList = new ICFSecISOCtry[ dictByPKey.values().size() ];
-		Iterator< CFSecBuffISOCtry > iter = dictByPKey.values().iterator();
-		int idx = 0;
-		while( iter.hasNext() ) {
-			retList[ idx++ ] = iter.next();
-		}
+		ICFSecISOCtry[] retList = tableLock.read( () -> {
+			ICFSecISOCtry[] arr = new ICFSecISOCtry[ dictByPKey.size() ];
+			Iterator< CFSecBuffISOCtry > iter = dictByPKey.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
 		return( retList );
 	}
 
@@ -195,16 +408,11 @@ public class CFSecRamISOCtryTable
 		String ISOCode )
 	{
 		final String S_ProcName = "CFSecRamISOCtry.readDerivedByISOCodeIdx";
-		CFSecBuffISOCtryByISOCodeIdxKey key = (CFSecBuffISOCtryByISOCodeIdxKey)schema.getFactoryISOCtry().newByISOCodeIdxKey();
+		CFSecBuffISOCtryByISOCodeIdxKey key = probeISOCodeIdx.get();
 
 		key.setRequiredISOCode( ISOCode );
 		ICFSecISOCtry buff;
-		if( dictByISOCodeIdx.containsKey( key ) ) {
-			buff = dictByISOCodeIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByISOCodeIdx.get( key ) );
 		return( buff );
 	}
 
@@ -213,16 +421,11 @@ public class CFSecRamISOCtryTable
 		String Name )
 	{
 		final String S_ProcName = "CFSecRamISOCtry.readDerivedByNameIdx";
-		CFSecBuffISOCtryByNameIdxKey key = (CFSecBuffISOCtryByNameIdxKey)schema.getFactoryISOCtry().newByNameIdxKey();
+		CFSecBuffISOCtryByNameIdxKey key = probeNameIdx.get();
 
 		key.setRequiredName( Name );
 		ICFSecISOCtry buff;
-		if( dictByNameIdx.containsKey( key ) ) {
-			buff = dictByNameIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByNameIdx.get( key ) );
 		return( buff );
 	}
 
@@ -232,15 +435,62 @@ public class CFSecRamISOCtryTable
 	{
 		final String S_ProcName = "CFSecRamISOCtry.readDerivedByIdIdx() ";
 		ICFSecISOCtry buff;
-		if( dictByPKey.containsKey( ISOCtryId ) ) {
-			buff = dictByPKey.get( ISOCtryId );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByPKey.get( ISOCtryId ) );
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every ISOCtry instance in the table.
+	 *	<P>
+	 *	With the table lock enabled, the view is a copy of the table taken under
+	 *	the read lock.  Otherwise it wraps the live dictionary, which the table
+	 *	must not modify while the view is in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecISOCtry > viewAll( ICFSecAuthorization Authorization ) {
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( dictByPKey ) ) );
+		}
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every ISOCtry instance in the table.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	With the table lock enabled, the action runs over a copy of the table
+	 *	taken under the read lock, so the lock is not held while it runs.
+	 *	Otherwise it iterates the live dictionary in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecISOCtry > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every ISOCtry instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from a copy when the table lock is enabled,
+	 *	so it tolerates concurrent writers; otherwise the table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecISOCtry > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
 	@Override
 	public ICFSecISOCtry readRec( ICFSecAuthorization Authorization,
 		Short PKey )
@@ -265,20 +515,43 @@ public class CFSecRamISOCtryTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecISOCtry.CLASS_CODE.
+	 */
+	protected ICFSecISOCtry[] filterRecs( ICFSecISOCtry[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecISOCtry buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOCtry.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecISOCtry[] recArray = new ICFSecISOCtry[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecISOCtry buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOCtry.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecISOCtry[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamISOCtry.readAllRec";
-		ICFSecISOCtry buff;
-		ArrayList<ICFSecISOCtry> filteredList = new ArrayList<ICFSecISOCtry>();
 		ICFSecISOCtry[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOCtry.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecISOCtry[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -331,83 +604,106 @@ public class CFSecRamISOCtryTable
 	{
 		CFSecBuffISOCtry Buff = (CFSecBuffISOCtry)ensureRec(iBuff);
 		Short pkey = Buff.getPKey();
-		CFSecBuffISOCtry existing = dictByPKey.get( pkey );
-		if( existing == null ) {
-			throw new CFLibStaleCacheDetectedException( getClass(),
-				"updateISOCtry",
-				"Existing record not found",
-				"Existing record not found",
-				"ISOCtry",
-				"ISOCtry",
-				pkey );
-		}
-		if( existing.getRequiredRevision() != Buff.getRequiredRevision() ) {
-			throw new CFLibCollisionDetectedException( getClass(),
-				"updateISOCtry",
-				pkey );
-		}
-		Buff.setRequiredRevision( Buff.getRequiredRevision() + 1 );
-		CFSecBuffISOCtryByISOCodeIdxKey existingKeyISOCodeIdx = (CFSecBuffISOCtryByISOCodeIdxKey)schema.getFactoryISOCtry().newByISOCodeIdxKey();
-		existingKeyISOCodeIdx.setRequiredISOCode( existing.getRequiredISOCode() );
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecBuffISOCtry existing = dictByPKey.get( pkey );
+			if( existing == null ) {
+				throw new CFLibStaleCacheDetectedException( getClass(),
+					"updateISOCtry",
+					"Existing record not found",
+					"Existing record not found",
+					"ISOCtry",
+					"ISOCtry",
+					pkey );
+			}
+			if( existing.getRequiredRevision() != Buff.getRequiredRevision() ) {
+				throw new CFLibCollisionDetectedException( getClass(),
+					"updateISOCtry",
+					pkey );
+			}
+			Buff.setRequiredRevision( Buff.getRequiredRevision() + 1 );
+			CFSecBuffISOCtryByISOCodeIdxKey existingKeyISOCodeIdx = (CFSecBuffISOCtryByISOCodeIdxKey)schema.getFactoryISOCtry().newByISOCodeIdxKey();
+			existingKeyISOCodeIdx.setRequiredISOCode( existing.getRequiredISOCode() );
 
-		CFSecBuffISOCtryByISOCodeIdxKey newKeyISOCodeIdx = (CFSecBuffISOCtryByISOCodeIdxKey)schema.getFactoryISOCtry().newByISOCodeIdxKey();
-		newKeyISOCodeIdx.setRequiredISOCode( Buff.getRequiredISOCode() );
+			CFSecBuffISOCtryByISOCodeIdxKey newKeyISOCodeIdx = (CFSecBuffISOCtryByISOCodeIdxKey)schema.getFactoryISOCtry().newByISOCodeIdxKey();
+			newKeyISOCodeIdx.setRequiredISOCode( Buff.getRequiredISOCode() );
 
-		CFSecBuffISOCtryByNameIdxKey existingKeyNameIdx = (CFSecBuffISOCtryByNameIdxKey)schema.getFactoryISOCtry().newByNameIdxKey();
-		existingKeyNameIdx.setRequiredName( existing.getRequiredName() );
+			CFSecBuffISOCtryByNameIdxKey existingKeyNameIdx = (CFSecBuffISOCtryByNameIdxKey)schema.getFactoryISOCtry().newByNameIdxKey();
+			existingKeyNameIdx.setRequiredName( existing.getRequiredName() );
 
-		CFSecBuffISOCtryByNameIdxKey newKeyNameIdx = (CFSecBuffISOCtryByNameIdxKey)schema.getFactoryISOCtry().newByNameIdxKey();
-		newKeyNameIdx.setRequiredName( Buff.getRequiredName() );
+			CFSecBuffISOCtryByNameIdxKey newKeyNameIdx = (CFSecBuffISOCtryByNameIdxKey)schema.getFactoryISOCtry().newByNameIdxKey();
+			newKeyNameIdx.setRequiredName( Buff.getRequiredName() );
 
-		// Check unique indexes
+			// Check unique indexes
 
-		if( ! existingKeyISOCodeIdx.equals( newKeyISOCodeIdx ) ) {
-			if( dictByISOCodeIdx.containsKey( newKeyISOCodeIdx ) ) {
-				throw new CFLibUniqueIndexViolationException( getClass(),
-					"updateISOCtry",
-					"ISOCtryCodeIdx",
-					"ISOCtryCodeIdx",
-					newKeyISOCodeIdx );
+			if( ! existingKeyISOCodeIdx.equals( newKeyISOCodeIdx ) ) {
+				if( dictByISOCodeIdx.containsKey( newKeyISOCodeIdx ) ) {
+					throw new CFLibUniqueIndexViolationException( getClass(),
+						"updateISOCtry",
+						"ISOCtryCodeIdx",
+						"ISOCtryCodeIdx",
+						newKeyISOCodeIdx );
+				}
 			}
-		}
 
-		if( ! existingKeyNameIdx.equals( newKeyNameIdx ) ) {
-			if( dictByNameIdx.containsKey( newKeyNameIdx ) ) {
-				throw new CFLibUniqueIndexViolationException( getClass(),
-					"updateISOCtry",
-					"ISOCtryNameIdx",
-					"ISOCtryNameIdx",
-					newKeyNameIdx );
+			if( ! existingKeyNameIdx.equals( newKeyNameIdx ) ) {
+				if( dictByNameIdx.containsKey( newKeyNameIdx ) ) {
+					throw new CFLibUniqueIndexViolationException( getClass(),
+						"updateISOCtry",
+						"ISOCtryNameIdx",
+						"ISOCtryNameIdx",
+						newKeyNameIdx );
+				}
 			}
-		}
 
-		// Validate foreign keys
+			// Validate foreign keys
 
-		// Update is valid
+			// Update is valid
 
-		Map< Short, CFSecBuffISOCtry > subdict;
+			Map< Short, CFSecBuffISOCtry > subdict;
 
-		dictByPKey.remove( pkey );
-		dictByPKey.put( pkey, Buff );
+			dictByPKey.put( pkey, Buff );
 
-		dictByISOCodeIdx.remove( existingKeyISOCodeIdx );
-		dictByISOCodeIdx.put( newKeyISOCodeIdx, Buff );
+			if( ! existingKeyISOCodeIdx.equals( newKeyISOCodeIdx ) ) {
+				dictByISOCodeIdx.remove( existingKeyISOCodeIdx );
+			}
+			dictByISOCodeIdx.put( newKeyISOCodeIdx, Buff );
 
-		dictByNameIdx.remove( existingKeyNameIdx );
-		dictByNameIdx.put( newKeyNameIdx, Buff );
+			if( ! existingKeyNameIdx.equals( newKeyNameIdx ) ) {
+				dictByNameIdx.remove( existingKeyNameIdx );
+			}
+			dictByNameIdx.put( newKeyNameIdx, Buff );
 
+			CFSecRamTransaction.record( schema, existing, Buff );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
 	@Override
 	public void deleteISOCtry( ICFSecAuthorization Authorization,
 		ICFSecISOCtry iBuff )
+	{
+		CFSecRamTransaction.atomically( schema, () -> deleteISOCtryCascade( Authorization, iBuff ) );
+	}
+
+	/**
+	 *	Delete the ISOCtry and every row that depends on it.  deleteISOCtry() runs
+	 *	this as one transaction so a failure partway through changes nothing.
+	 */
+	protected void deleteISOCtryCascade( ICFSecAuthorization Authorization,
+		ICFSecISOCtry iBuff )
 	{
 		final String S_ProcName = "CFSecRamISOCtryTable.deleteISOCtry() ";
 		CFSecBuffISOCtry Buff = (CFSecBuffISOCtry)ensureRec(iBuff);
 		int classCode;
 		Short pkey = (Short)(Buff.getPKey());
-		CFSecBuffISOCtry existing = dictByPKey.get( pkey );
+		CFSecBuffISOCtry existing = tableLock.readOptimistic( () -> dictByPKey.get( pkey ) );
 		if( existing == null ) {
 			return;
 		}
@@ -421,47 +717,53 @@ public class CFSecRamISOCtryTable
 						existing.getRequiredISOCtryId() );
 					schema.getTableISOCtryCcy().deleteISOCtryCcyByCtryIdx( Authorization,
 						existing.getRequiredISOCtryId() );
-		CFSecBuffISOCtryByISOCodeIdxKey keyISOCodeIdx = (CFSecBuffISOCtryByISOCodeIdxKey)schema.getFactoryISOCtry().newByISOCodeIdxKey();
-		keyISOCodeIdx.setRequiredISOCode( existing.getRequiredISOCode() );
+		// The cascades above re-enter this and other tables, so the own
+		// dictionaries are only locked once they have all completed.
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			existing = dictByPKey.get( pkey );
+			if( existing == null ) {
+				return;
+			}
+			CFSecBuffISOCtryByISOCodeIdxKey keyISOCodeIdx = (CFSecBuffISOCtryByISOCodeIdxKey)schema.getFactoryISOCtry().newByISOCodeIdxKey();
+			keyISOCodeIdx.setRequiredISOCode( existing.getRequiredISOCode() );
 
-		CFSecBuffISOCtryByNameIdxKey keyNameIdx = (CFSecBuffISOCtryByNameIdxKey)schema.getFactoryISOCtry().newByNameIdxKey();
-		keyNameIdx.setRequiredName( existing.getRequiredName() );
+			CFSecBuffISOCtryByNameIdxKey keyNameIdx = (CFSecBuffISOCtryByNameIdxKey)schema.getFactoryISOCtry().newByNameIdxKey();
+			keyNameIdx.setRequiredName( existing.getRequiredName() );
 
-		// Validate reverse foreign keys
+			// Validate reverse foreign keys
 
-		// Delete is valid
-		Map< Short, CFSecBuffISOCtry > subdict;
+			// Delete is valid
+			Map< Short, CFSecBuffISOCtry > subdict;
 
-		dictByPKey.remove( pkey );
+			dictByPKey.remove( pkey );
 
-		dictByISOCodeIdx.remove( keyISOCodeIdx );
+			dictByISOCodeIdx.remove( keyISOCodeIdx );
 
-		dictByNameIdx.remove( keyNameIdx );
+			dictByNameIdx.remove( keyNameIdx );
 
+			CFSecRamTransaction.record( schema, existing, null );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteISOCtryByIdIdx( ICFSecAuthorization Authorization,
 		Short argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffISOCtry cur;
 		LinkedList<CFSecBuffISOCtry> matchSet = new LinkedList<CFSecBuffISOCtry>();
-		Iterator<CFSecBuffISOCtry> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = tableLock.readOptimistic( () -> dictByPKey.get( argKey ) );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffISOCtry> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOCtry)(schema.getTableISOCtry().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOCtryId() ));
 			deleteISOCtry( Authorization, cur );
 		}
 	}
@@ -480,24 +782,22 @@ public class CFSecRamISOCtryTable
 		ICFSecISOCtryByISOCodeIdxKey argKey )
 	{
 		CFSecBuffISOCtry cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		final CFSecBuffISOCtryByISOCodeIdxKey key;
+		if( argKey instanceof CFSecBuffISOCtryByISOCodeIdxKey ) {
+			key = (CFSecBuffISOCtryByISOCodeIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffISOCtryByISOCodeIdxKey)schema.getFactoryISOCtry().newByISOCodeIdxKey();
+			key.setRequiredISOCode( argKey.getRequiredISOCode() );
 		}
 		LinkedList<CFSecBuffISOCtry> matchSet = new LinkedList<CFSecBuffISOCtry>();
-		Iterator<CFSecBuffISOCtry> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = tableLock.readOptimistic( () -> dictByISOCodeIdx.get( key ) );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffISOCtry> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOCtry)(schema.getTableISOCtry().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOCtryId() ));
 			deleteISOCtry( Authorization, cur );
 		}
 	}
@@ -516,24 +816,22 @@ public class CFSecRamISOCtryTable
 		ICFSecISOCtryByNameIdxKey argKey )
 	{
 		CFSecBuffISOCtry cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		final CFSecBuffISOCtryByNameIdxKey key;
+		if( argKey instanceof CFSecBuffISOCtryByNameIdxKey ) {
+			key = (CFSecBuffISOCtryByNameIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffISOCtryByNameIdxKey)schema.getFactoryISOCtry().newByNameIdxKey();
+			key.setRequiredName( argKey.getRequiredName() );
 		}
 		LinkedList<CFSecBuffISOCtry> matchSet = new LinkedList<CFSecBuffISOCtry>();
-		Iterator<CFSecBuffISOCtry> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = tableLock.readOptimistic( () -> dictByNameIdx.get( key ) );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffISOCtry> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOCtry)(schema.getTableISOCtry().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOCtryId() ));
 			deleteISOCtry( Authorization, cur );
 		}
 	}
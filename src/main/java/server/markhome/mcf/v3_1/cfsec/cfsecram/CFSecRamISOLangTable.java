@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,8 +48,11 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for ISOLang.
  */
 public class CFSecRamISOLangTable
-	implements ICFSecISOLangTable
+	implements ICFSecISOLangTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecISOLang[] EMPTY_REC_ARRAY = new ICFSecISOLang[0];
+
 	private ICFSecSchema schema;
 	private Map< Short,
 				CFSecBuffISOLang > dictByPKey
@@ -64,10 +69,28 @@ public class CFSecRamISOLangTable
 				Map< Short,
 					CFSecBuffISOLang >>();
 
+	private final CFSecRamTableLock tableLock = new CFSecRamTableLock();
+
+	private final List< Short > bulkPKeys = new ArrayList< Short >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffISOLangByCode3IdxKey > probeCode3Idx
+		= ThreadLocal.withInitial( () -> (CFSecBuffISOLangByCode3IdxKey)schema.getFactoryISOLang().newByCode3IdxKey() );
+	private final ThreadLocal< CFSecBuffISOLangByCode2IdxKey > probeCode2Idx
+		= ThreadLocal.withInitial( () -> (CFSecBuffISOLangByCode2IdxKey)schema.getFactoryISOLang().newByCode2IdxKey() );
+
 	public CFSecRamISOLangTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
 
+	public CFSecRamTableLock getTableLock() {
+		return( tableLock );
+	}
+
 	public CFSecBuffISOLang ensureRec(ICFSecISOLang rec) {
 		if (rec == null) {
 			return( null );
@@ -83,11 +106,216 @@ public class CFSecRamISOLangTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffISOLang > recs ) {
+		long stamp = tableLock.writeLock();
+		try {
+			dictByPKey.clear();
+			for( CFSecBuffISOLang Buff : recs ) {
+				Short pkey = (Short)(Buff.getPKey());
+				dictByPKey.put( pkey, Buff );
+			}
+			rebuildIndexes();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffISOLang > snapshotRecs() {
+		List< CFSecBuffISOLang > recs = tableLock.read( () -> new ArrayList< CFSecBuffISOLang >( dictByPKey.values() ) );
+		return( recs );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffISOLang lookupRec( Object pkey ) {
+		return( tableLock.readOptimistic( () -> dictByPKey.get( pkey ) ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffISOLang before ) {
+		long lsn = 0L;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecBuffISOLang current;
+			if( before == null ) {
+				current = dictByPKey.remove( pkey );
+			}
+			else {
+				current = dictByPKey.put( (Short)pkey, before );
+			}
+			if( current != null ) {
+				unindexRec( current );
+			}
+			if( before != null ) {
+				indexRec( before );
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+			}
+			else if( current != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+			}
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffISOLang Buff ) {
+		CFSecBuffISOLangByCode3IdxKey keyCode3Idx = (CFSecBuffISOLangByCode3IdxKey)schema.getFactoryISOLang().newByCode3IdxKey();
+		keyCode3Idx.setRequiredISO6392Code( Buff.getRequiredISO6392Code() );
+		dictByCode3Idx.put( keyCode3Idx, Buff );
+
+		Short pkey = (Short)(Buff.getPKey());
+		CFSecBuffISOLangByCode2IdxKey keyCode2Idx = (CFSecBuffISOLangByCode2IdxKey)schema.getFactoryISOLang().newByCode2IdxKey();
+		keyCode2Idx.setOptionalISO6391Code( Buff.getOptionalISO6391Code() );
+		Map< Short, CFSecBuffISOLang > subdictCode2Idx;
+		if( dictByCode2Idx.containsKey( keyCode2Idx ) ) {
+			subdictCode2Idx = dictByCode2Idx.get( keyCode2Idx );
+		}
+		else {
+			subdictCode2Idx = new HashMap< Short, CFSecBuffISOLang >();
+			dictByCode2Idx.put( keyCode2Idx, subdictCode2Idx );
+		}
+		subdictCode2Idx.put( pkey, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffISOLang Buff ) {
+		CFSecBuffISOLangByCode3IdxKey keyCode3Idx = (CFSecBuffISOLangByCode3IdxKey)schema.getFactoryISOLang().newByCode3IdxKey();
+		keyCode3Idx.setRequiredISO6392Code( Buff.getRequiredISO6392Code() );
+		dictByCode3Idx.remove( keyCode3Idx );
+
+		Short pkey = (Short)(Buff.getPKey());
+		CFSecBuffISOLangByCode2IdxKey keyCode2Idx = (CFSecBuffISOLangByCode2IdxKey)schema.getFactoryISOLang().newByCode2IdxKey();
+		keyCode2Idx.setOptionalISO6391Code( Buff.getOptionalISO6391Code() );
+		Map< Short, CFSecBuffISOLang > subdictCode2Idx = dictByCode2Idx.get( keyCode2Idx );
+		if( subdictCode2Idx != null ) {
+			subdictCode2Idx.remove( pkey );
+			if( subdictCode2Idx.isEmpty() ) {
+				dictByCode2Idx.remove( keyCode2Idx );
+			}
+		}
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildCode3Idx,
+			this::rebuildCode2Idx );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	protected void rebuildCode3Idx() {
+		dictByCode3Idx.clear();
+		for( CFSecBuffISOLang Buff : dictByPKey.values() ) {
+			CFSecBuffISOLangByCode3IdxKey keyCode3Idx = (CFSecBuffISOLangByCode3IdxKey)schema.getFactoryISOLang().newByCode3IdxKey();
+			keyCode3Idx.setRequiredISO6392Code( Buff.getRequiredISO6392Code() );
+			dictByCode3Idx.put( keyCode3Idx, Buff );
+		}
+	}
+
+	protected void rebuildCode2Idx() {
+		dictByCode2Idx.clear();
+		for( CFSecBuffISOLang Buff : dictByPKey.values() ) {
+			Short pkey = (Short)(Buff.getPKey());
+			CFSecBuffISOLangByCode2IdxKey keyCode2Idx = (CFSecBuffISOLangByCode2IdxKey)schema.getFactoryISOLang().newByCode2IdxKey();
+			keyCode2Idx.setOptionalISO6391Code( Buff.getOptionalISO6391Code() );
+			Map< Short, CFSecBuffISOLang > subdictCode2Idx;
+			if( dictByCode2Idx.containsKey( keyCode2Idx ) ) {
+				subdictCode2Idx = dictByCode2Idx.get( keyCode2Idx );
+			}
+			else {
+				subdictCode2Idx = new HashMap< Short, CFSecBuffISOLang >();
+				dictByCode2Idx.put( keyCode2Idx, subdictCode2Idx );
+			}
+			subdictCode2Idx.put( pkey, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< String > duplicates = tableLock.read( () -> {
+			List< String > found = new ArrayList< String >();
+			for( Short pkey : bulkPKeys ) {
+				CFSecBuffISOLang Buff = dictByPKey.get( pkey );
+				if( Buff == null ) {
+					continue;
+				}
+				CFSecBuffISOLangByCode3IdxKey keyCode3Idx = (CFSecBuffISOLangByCode3IdxKey)schema.getFactoryISOLang().newByCode3IdxKey();
+				keyCode3Idx.setRequiredISO6392Code( Buff.getRequiredISO6392Code() );
+				if( dictByCode3Idx.get( keyCode3Idx ) != Buff ) {
+					found.add( "ISOLang " + Buff.getPKey() + " duplicates the ISOLang6392Idx key " + keyCode3Idx );
+				}
+			}
+			return( found );
+		} );
+		violations.addAll( duplicates );
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		long stamp = tableLock.writeLock();
+		try {
+			for( Short pkey : bulkPKeys ) {
+				CFSecBuffISOLang Buff = dictByPKey.remove( pkey );
+				if( Buff != null ) {
+					lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+				}
+			}
+			bulkPKeys.clear();
+			rebuildIndexes();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		long stamp = tableLock.writeLock();
+		try {
+			bulkPKeys.clear();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
 	@Override
 	public ICFSecISOLang createISOLang( ICFSecAuthorization Authorization,
 		ICFSecISOLang iBuff )
 	{
 		final String S_ProcName = "createISOLang";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffISOLang Buff = (CFSecBuffISOLang)ensureRec(iBuff);
 		Short pkey;
@@ -99,37 +327,51 @@ public class CFSecRamISOLangTable
 		CFSecBuffISOLangByCode2IdxKey keyCode2Idx = (CFSecBuffISOLangByCode2IdxKey)schema.getFactoryISOLang().newByCode2IdxKey();
 		keyCode2Idx.setOptionalISO6391Code( Buff.getOptionalISO6391Code() );
 
-		// Validate unique indexes
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			// Validate unique indexes
 
-		if( dictByPKey.containsKey( pkey ) ) {
-			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
-		}
+			if( dictByPKey.containsKey( pkey ) ) {
+				throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
+			}
 
-		if( dictByCode3Idx.containsKey( keyCode3Idx ) ) {
-			throw new CFLibUniqueIndexViolationException( getClass(),
-				S_ProcName,
-				"ISOLang6392Idx",
-				"ISOLang6392Idx",
-				keyCode3Idx );
-		}
+			if( ( ! bulkLoad ) && dictByCode3Idx.containsKey( keyCode3Idx ) ) {
+				throw new CFLibUniqueIndexViolationException( getClass(),
+					S_ProcName,
+					"ISOLang6392Idx",
+					"ISOLang6392Idx",
+					keyCode3Idx );
+			}
 
-		// Validate foreign keys
+			// Validate foreign keys
 
-		// Proceed with adding the new record
+			// Proceed with adding the new record
 
-		dictByPKey.put( pkey, Buff );
+			dictByPKey.put( pkey, Buff );
+			if( bulkLoad ) {
+				bulkPKeys.add( pkey );
+			}
 
-		dictByCode3Idx.put( keyCode3Idx, Buff );
+			dictByCode3Idx.putIfAbsent( keyCode3Idx, Buff );
 
-		Map< Short, CFSecBuffISOLang > subdictCode2Idx;
-		if( dictByCode2Idx.containsKey( keyCode2Idx ) ) {
-			subdictCode2Idx = dictByCode2Idx.get( keyCode2Idx );
+			Map< Short, CFSecBuffISOLang > subdictCode2Idx;
+			if( dictByCode2Idx.containsKey( keyCode2Idx ) ) {
+				subdictCode2Idx = dictByCode2Idx.get( keyCode2Idx );
+			}
+			else {
+				subdictCode2Idx = new HashMap< Short, CFSecBuffISOLang >();
+				dictByCode2Idx.put( keyCode2Idx, subdictCode2Idx );
+			}
+			subdictCode2Idx.put( pkey, Buff );
+
+			CFSecRamTransaction.record( schema, null, Buff );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
 		}
-		else {
-			subdictCode2Idx = new HashMap< Short, CFSecBuffISOLang >();
-			dictByCode2Idx.put( keyCode2Idx, subdictCode2Idx );
+		finally {
+			tableLock.unlockWrite( stamp );
 		}
-		subdictCode2Idx.put( pkey, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 
 		if (Buff == null) {
 			return( null );
@@ -156,12 +398,7 @@ public class CFSecRamISOLangTable
 		if( PKey == null ) {
 			return( null );
 		}
-		if( dictByPKey.containsKey( PKey ) ) {
-			buff = dictByPKey.get( PKey );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByPKey.get( PKey ) );
 		return( buff );
 	}
 
@@ -171,24 +408,22 @@ public class CFSecRamISOLangTable
 	{
 		final String S_ProcName = "CFSecRamISOLang.lockDerived";
 		ICFSecISOLang buff;
-		if( dictByPKey.containsKey( PKey ) ) {
-			buff = dictByPKey.get( PKey );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByPKey.get( PKey ) );
 		return( buff );
 	}
 
 	@Override
 	public ICFSecISOLang[] readAllDerived( ICFSecAuthorization Authorization ) {
 		final String S_ProcName = "CFSecRamISOLang.readAllDerived";
-		ICFSecISOLang[] retList = new ICFSecISOLang[ dictByPKey.values().size() ];
-		Iterator< CFSecBuffISOLang > iter = dictByPKey.values().iterator();
-		int idx = 0;
-		while( iter.hasNext() ) {
-			retList[ idx++ ] = iter.next();
-		}
+		ICFSecISOLang[] retList = tableLock.read( () -> {
+			ICFSecISOLang[] arr = new ICFSecISOLang[ dictByPKey.size() ];
+			Iterator< CFSecBuffISOLang > iter = dictByPKey.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
 		return( retList );
 	}
 
@@ -197,16 +432,11 @@ public class CFSecRamISOLangTable
 		String ISO6392Code )
 	{
 		final String S_ProcName = "CFSecRamISOLang.readDerivedByCode3Idx";
-		CFSecBuffISOLangByCode3IdxKey key = (CFSecBuffISOLangByCode3IdxKey)schema.getFactoryISOLang().newByCode3IdxKey();
+		CFSecBuffISOLangByCode3IdxKey key = probeCode3Idx.get();
 
 		key.setRequiredISO6392Code( ISO6392Code );
 		ICFSecISOLang buff;
-		if( dictByCode3Idx.containsKey( key ) ) {
-			buff = dictByCode3Idx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByCode3Idx.get( key ) );
 		return( buff );
 	}
 
@@ -215,26 +445,23 @@ public class CFSecRamISOLangTable
 		String ISO6391Code )
 	{
 		final String S_ProcName = "CFSecRamISOLang.readDerivedByCode2Idx";
-		CFSecBuffISOLangByCode2IdxKey key = (CFSecBuffISOLangByCode2IdxKey)schema.getFactoryISOLang().newByCode2IdxKey();
+		CFSecBuffISOLangByCode2IdxKey key = probeCode2Idx.get();
 
 		key.setOptionalISO6391Code( ISO6391Code );
-		ICFSecISOLang[] recArray;
-		if( dictByCode2Idx.containsKey( key ) ) {
+		ICFSecISOLang[] recArray = tableLock.read( () -> {
 			Map< Short, CFSecBuffISOLang > subdictCode2Idx
 				= dictByCode2Idx.get( key );
-			recArray = new ICFSecISOLang[ subdictCode2Idx.size() ];
+			if( ( subdictCode2Idx == null ) || subdictCode2Idx.isEmpty() ) {
+				return( EMPTY_REC_ARRAY );
+			}
+			ICFSecISOLang[] arr = new ICFSecISOLang[ subdictCode2Idx.size() ];
 			Iterator< CFSecBuffISOLang > iter = subdictCode2Idx.values().iterator();
 			int idx = 0;
 			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
+				arr[ idx++ ] = iter.next();
 			}
-		}
-		else {
-			Map< Short, CFSecBuffISOLang > subdictCode2Idx
-				= new HashMap< Short, CFSecBuffISOLang >();
-			dictByCode2Idx.put( key, subdictCode2Idx );
-			recArray = new ICFSecISOLang[0];
-		}
+			return( arr );
+		} );
 		return( recArray );
 	}
 
@@ -244,15 +471,129 @@ public class CFSecRamISOLangTable
 	{
 		final String S_ProcName = "CFSecRamISOLang.readDerivedByIdIdx() ";
 		ICFSecISOLang buff;
-		if( dictByPKey.containsKey( ISOLangId ) ) {
-			buff = dictByPKey.get( ISOLangId );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByPKey.get( ISOLangId ) );
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every ISOLang instance in the table.
+	 *	<P>
+	 *	With the table lock enabled, the view is a copy of the table taken under
+	 *	the read lock.  Otherwise it wraps the live dictionary, which the table
+	 *	must not modify while the view is in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecISOLang > viewAll( ICFSecAuthorization Authorization ) {
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( dictByPKey ) ) );
+		}
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every ISOLang instance in the table.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	With the table lock enabled, the action runs over a copy of the table
+	 *	taken under the read lock, so the lock is not held while it runs.
+	 *	Otherwise it iterates the live dictionary in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecISOLang > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every ISOLang instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from a copy when the table lock is enabled,
+	 *	so it tolerates concurrent writers; otherwise the table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecISOLang > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the ISOLang instances identified by the duplicate key Code2Idx.
+	 *	<P>
+	 *	With the table lock enabled, the view is a copy of the index bucket
+	 *	taken under the read lock.  Otherwise it wraps the live bucket, which
+	 *	the table must not modify while the view is in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ISO6391Code	The ISOLang key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecISOLang > viewByCode2Idx( ICFSecAuthorization Authorization,
+		String ISO6391Code )
+	{
+		CFSecBuffISOLangByCode2IdxKey key = probeCode2Idx.get();
+		key.setOptionalISO6391Code( ISO6391Code );
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( dictByCode2Idx.get( key ) ) ) );
+		}
+		return( CFSecRamViews.of( dictByCode2Idx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each ISOLang instance identified by the duplicate key Code2Idx.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	With the table lock enabled, the action runs over a copy of the index
+	 *	bucket taken under the read lock, so the lock is not held while it runs.
+	 *	Otherwise it iterates the live bucket in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ISO6391Code	The ISOLang key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByCode2Idx( ICFSecAuthorization Authorization,
+		String ISO6391Code,
+		Consumer< ? super ICFSecISOLang > action )
+	{
+		viewByCode2Idx( Authorization,
+			ISO6391Code ).forEach( action );
+	}
+
+	/**
+	 *	Stream the ISOLang instances identified by the duplicate key Code2Idx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from a copy when the table lock is enabled,
+	 *	so it tolerates concurrent writers; otherwise the table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ISO6391Code	The ISOLang key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecISOLang > streamByCode2Idx( ICFSecAuthorization Authorization,
+		String ISO6391Code )
+	{
+		return( viewByCode2Idx( Authorization,
+			ISO6391Code ).stream() );
+	}
+
 	@Override
 	public ICFSecISOLang readRec( ICFSecAuthorization Authorization,
 		Short PKey )
@@ -277,20 +618,43 @@ public class CFSecRamISOLangTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecISOLang.CLASS_CODE.
+	 */
+	protected ICFSecISOLang[] filterRecs( ICFSecISOLang[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecISOLang buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOLang.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecISOLang[] recArray = new ICFSecISOLang[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecISOLang buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOLang.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecISOLang[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamISOLang.readAllRec";
-		ICFSecISOLang buff;
-		ArrayList<ICFSecISOLang> filteredList = new ArrayList<ICFSecISOLang>();
 		ICFSecISOLang[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOLang.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecISOLang[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -328,17 +692,12 @@ public class CFSecRamISOLangTable
 		String ISO6391Code )
 	{
 		final String S_ProcName = "CFSecRamISOLang.readRecByCode2Idx() ";
-		ICFSecISOLang buff;
-		ArrayList<ICFSecISOLang> filteredList = new ArrayList<ICFSecISOLang>();
 		ICFSecISOLang[] buffList = readDerivedByCode2Idx( Authorization,
 			ISO6391Code );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOLang.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecISOLang)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecISOLang[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	public ICFSecISOLang updateISOLang( ICFSecAuthorization Authorization,
@@ -346,83 +705,109 @@ public class CFSecRamISOLangTable
 	{
 		CFSecBuffISOLang Buff = (CFSecBuffISOLang)ensureRec(iBuff);
 		Short pkey = Buff.getPKey();
-		CFSecBuffISOLang existing = dictByPKey.get( pkey );
-		if( existing == null ) {
-			throw new CFLibStaleCacheDetectedException( getClass(),
-				"updateISOLang",
-				"Existing record not found",
-				"Existing record not found",
-				"ISOLang",
-				"ISOLang",
-				pkey );
-		}
-		if( existing.getRequiredRevision() != Buff.getRequiredRevision() ) {
-			throw new CFLibCollisionDetectedException( getClass(),
-				"updateISOLang",
-				pkey );
-		}
-		Buff.setRequiredRevision( Buff.getRequiredRevision() + 1 );
-		CFSecBuffISOLangByCode3IdxKey existingKeyCode3Idx = (CFSecBuffISOLangByCode3IdxKey)schema.getFactoryISOLang().newByCode3IdxKey();
-		existingKeyCode3Idx.setRequiredISO6392Code( existing.getRequiredISO6392Code() );
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecBuffISOLang existing = dictByPKey.get( pkey );
+			if( existing == null ) {
+				throw new CFLibStaleCacheDetectedException( getClass(),
+					"updateISOLang",
+					"Existing record not found",
+					"Existing record not found",
+					"ISOLang",
+					"ISOLang",
+					pkey );
+			}
+			if( existing.getRequiredRevision() != Buff.getRequiredRevision() ) {
+				throw new CFLibCollisionDetectedException( getClass(),
+					"updateISOLang",
+					pkey );
+			}
+			Buff.setRequiredRevision( Buff.getRequiredRevision() + 1 );
+			CFSecBuffISOLangByCode3IdxKey existingKeyCode3Idx = (CFSecBuffISOLangByCode3IdxKey)schema.getFactoryISOLang().newByCode3IdxKey();
+			existingKeyCode3Idx.setRequiredISO6392Code( existing.getRequiredISO6392Code() );
 
-		CFSecBuffISOLangByCode3IdxKey newKeyCode3Idx = (CFSecBuffISOLangByCode3IdxKey)schema.getFactoryISOLang().newByCode3IdxKey();
-		newKeyCode3Idx.setRequiredISO6392Code( Buff.getRequiredISO6392Code() );
+			CFSecBuffISOLangByCode3IdxKey newKeyCode3Idx = (CFSecBuffISOLangByCode3IdxKey)schema.getFactoryISOLang().newByCode3IdxKey();
+			newKeyCode3Idx.setRequiredISO6392Code( Buff.getRequiredISO6392Code() );
 
-		CFSecBuffISOLangByCode2IdxKey existingKeyCode2Idx = (CFSecBuffISOLangByCode2IdxKey)schema.getFactoryISOLang().newByCode2IdxKey();
-		existingKeyCode2Idx.setOptionalISO6391Code( existing.getOptionalISO6391Code() );
+			CFSecBuffISOLangByCode2IdxKey existingKeyCode2Idx = (CFSecBuffISOLangByCode2IdxKey)schema.getFactoryISOLang().newByCode2IdxKey();
+			existingKeyCode2Idx.setOptionalISO6391Code( existing.getOptionalISO6391Code() );
 
-		CFSecBuffISOLangByCode2IdxKey newKeyCode2Idx = (CFSecBuffISOLangByCode2IdxKey)schema.getFactoryISOLang().newByCode2IdxKey();
-		newKeyCode2Idx.setOptionalISO6391Code( Buff.getOptionalISO6391Code() );
+			CFSecBuffISOLangByCode2IdxKey newKeyCode2Idx = (CFSecBuffISOLangByCode2IdxKey)schema.getFactoryISOLang().newByCode2IdxKey();
+			newKeyCode2Idx.setOptionalISO6391Code( Buff.getOptionalISO6391Code() );
 
-		// Check unique indexes
+			// Check unique indexes
 
-		if( ! existingKeyCode3Idx.equals( newKeyCode3Idx ) ) {
-			if( dictByCode3Idx.containsKey( newKeyCode3Idx ) ) {
-				throw new CFLibUniqueIndexViolationException( getClass(),
-					"updateISOLang",
-					"ISOLang6392Idx",
-					"ISOLang6392Idx",
-					newKeyCode3Idx );
+			if( ! existingKeyCode3Idx.equals( newKeyCode3Idx ) ) {
+				if( dictByCode3Idx.containsKey( newKeyCode3Idx ) ) {
+					throw new CFLibUniqueIndexViolationException( getClass(),
+						"updateISOLang",
+						"ISOLang6392Idx",
+						"ISOLang6392Idx",
+						newKeyCode3Idx );
+				}
 			}
-		}
 
-		// Validate foreign keys
+			// Validate foreign keys
 
-		// Update is valid
+			// Update is valid
 
-		Map< Short, CFSecBuffISOLang > subdict;
+			Map< Short, CFSecBuffISOLang > subdict;
 
-		dictByPKey.remove( pkey );
-		dictByPKey.put( pkey, Buff );
+			dictByPKey.put( pkey, Buff );
 
-		dictByCode3Idx.remove( existingKeyCode3Idx );
-		dictByCode3Idx.put( newKeyCode3Idx, Buff );
+			if( ! existingKeyCode3Idx.equals( newKeyCode3Idx ) ) {
+				dictByCode3Idx.remove( existingKeyCode3Idx );
+			}
+			dictByCode3Idx.put( newKeyCode3Idx, Buff );
+
+			if( ! existingKeyCode2Idx.equals( newKeyCode2Idx ) ) {
+				subdict = dictByCode2Idx.get( existingKeyCode2Idx );
+				if( subdict != null ) {
+					subdict.remove( pkey );
+					if( subdict.isEmpty() ) {
+						dictByCode2Idx.remove( existingKeyCode2Idx );
+					}
+				}
+			}
+			if( dictByCode2Idx.containsKey( newKeyCode2Idx ) ) {
+				subdict = dictByCode2Idx.get( newKeyCode2Idx );
+			}
+			else {
+				subdict = new HashMap< Short, CFSecBuffISOLang >();
+				dictByCode2Idx.put( newKeyCode2Idx, subdict );
+			}
+			subdict.put( pkey, Buff );
 
-		subdict = dictByCode2Idx.get( existingKeyCode2Idx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+			CFSecRamTransaction.record( schema, existing, Buff );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
 		}
-		if( dictByCode2Idx.containsKey( newKeyCode2Idx ) ) {
-			subdict = dictByCode2Idx.get( newKeyCode2Idx );
+		finally {
+			tableLock.unlockWrite( stamp );
 		}
-		else {
-			subdict = new HashMap< Short, CFSecBuffISOLang >();
-			dictByCode2Idx.put( newKeyCode2Idx, subdict );
-		}
-		subdict.put( pkey, Buff );
-
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
 	@Override
 	public void deleteISOLang( ICFSecAuthorization Authorization,
 		ICFSecISOLang iBuff )
+	{
+		CFSecRamTransaction.atomically( schema, () -> deleteISOLangCascade( Authorization, iBuff ) );
+	}
+
+	/**
+	 *	Delete the ISOLang and every row that depends on it.  deleteISOLang() runs
+	 *	this as one transaction so a failure partway through changes nothing.
+	 */
+	protected void deleteISOLangCascade( ICFSecAuthorization Authorization,
+		ICFSecISOLang iBuff )
 	{
 		final String S_ProcName = "CFSecRamISOLangTable.deleteISOLang() ";
 		CFSecBuffISOLang Buff = (CFSecBuffISOLang)ensureRec(iBuff);
 		int classCode;
 		Short pkey = (Short)(Buff.getPKey());
-		CFSecBuffISOLang existing = dictByPKey.get( pkey );
+		CFSecBuffISOLang existing = tableLock.readOptimistic( () -> dictByPKey.get( pkey ) );
 		if( existing == null ) {
 			return;
 		}
@@ -439,48 +824,59 @@ public class CFSecRamISOLangTable
 			schema.getTableISOCtryLang().deleteISOCtryLangByLangIdx( Authorization,
 						existing.getRequiredISOLangId() );
 		}
-		CFSecBuffISOLangByCode3IdxKey keyCode3Idx = (CFSecBuffISOLangByCode3IdxKey)schema.getFactoryISOLang().newByCode3IdxKey();
-		keyCode3Idx.setRequiredISO6392Code( existing.getRequiredISO6392Code() );
+		// The cascades above re-enter this and other tables, so the own
+		// dictionaries are only locked once they have all completed.
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			existing = dictByPKey.get( pkey );
+			if( existing == null ) {
+				return;
+			}
+			CFSecBuffISOLangByCode3IdxKey keyCode3Idx = (CFSecBuffISOLangByCode3IdxKey)schema.getFactoryISOLang().newByCode3IdxKey();
+			keyCode3Idx.setRequiredISO6392Code( existing.getRequiredISO6392Code() );
 
-		CFSecBuffISOLangByCode2IdxKey keyCode2Idx = (CFSecBuffISOLangByCode2IdxKey)schema.getFactoryISOLang().newByCode2IdxKey();
-		keyCode2Idx.setOptionalISO6391Code( existing.getOptionalISO6391Code() );
+			CFSecBuffISOLangByCode2IdxKey keyCode2Idx = (CFSecBuffISOLangByCode2IdxKey)schema.getFactoryISOLang().newByCode2IdxKey();
+			keyCode2Idx.setOptionalISO6391Code( existing.getOptionalISO6391Code() );
 
-		// Validate reverse foreign keys
+			// Validate reverse foreign keys
 
-		// Delete is valid
-		Map< Short, CFSecBuffISOLang > subdict;
+			// Delete is valid
+			Map< Short, CFSecBuffISOLang > subdict;
 
-		dictByPKey.remove( pkey );
+			dictByPKey.remove( pkey );
 
-		dictByCode3Idx.remove( keyCode3Idx );
+			dictByCode3Idx.remove( keyCode3Idx );
 
-		subdict = dictByCode2Idx.get( keyCode2Idx );
-		subdict.remove( pkey );
+			subdict = dictByCode2Idx.get( keyCode2Idx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByCode2Idx.remove( keyCode2Idx );
+				}
+			}
 
+			CFSecRamTransaction.record( schema, existing, null );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteISOLangByIdIdx( ICFSecAuthorization Authorization,
 		Short argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffISOLang cur;
 		LinkedList<CFSecBuffISOLang> matchSet = new LinkedList<CFSecBuffISOLang>();
-		Iterator<CFSecBuffISOLang> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = tableLock.readOptimistic( () -> dictByPKey.get( argKey ) );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffISOLang> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOLang)(schema.getTableISOLang().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOLangId() ));
 			deleteISOLang( Authorization, cur );
 		}
 	}
@@ -499,24 +895,22 @@ public class CFSecRamISOLangTable
 		ICFSecISOLangByCode3IdxKey argKey )
 	{
 		CFSecBuffISOLang cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		final CFSecBuffISOLangByCode3IdxKey key;
+		if( argKey instanceof CFSecBuffISOLangByCode3IdxKey ) {
+			key = (CFSecBuffISOLangByCode3IdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffISOLangByCode3IdxKey)schema.getFactoryISOLang().newByCode3IdxKey();
+			key.setRequiredISO6392Code( argKey.getRequiredISO6392Code() );
 		}
 		LinkedList<CFSecBuffISOLang> matchSet = new LinkedList<CFSecBuffISOLang>();
-		Iterator<CFSecBuffISOLang> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = tableLock.readOptimistic( () -> dictByCode3Idx.get( key ) );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffISOLang> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOLang)(schema.getTableISOLang().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOLangId() ));
 			deleteISOLang( Authorization, cur );
 		}
 	}
@@ -535,26 +929,28 @@ public class CFSecRamISOLangTable
 		ICFSecISOLangByCode2IdxKey argKey )
 	{
 		CFSecBuffISOLang cur;
-		boolean anyNotNull = false;
-		if( argKey.getOptionalISO6391Code() != null ) {
-			anyNotNull = true;
-		}
-		if( ! anyNotNull ) {
+		if( argKey.getOptionalISO6391Code() == null ) {
 			return;
 		}
-		LinkedList<CFSecBuffISOLang> matchSet = new LinkedList<CFSecBuffISOLang>();
-		Iterator<CFSecBuffISOLang> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		final CFSecBuffISOLangByCode2IdxKey key;
+		if( argKey instanceof CFSecBuffISOLangByCode2IdxKey ) {
+			key = (CFSecBuffISOLangByCode2IdxKey)argKey;
 		}
+		else {
+			key = (CFSecBuffISOLangByCode2IdxKey)schema.getFactoryISOLang().newByCode2IdxKey();
+			key.setOptionalISO6391Code( argKey.getOptionalISO6391Code() );
+		}
+		LinkedList<CFSecBuffISOLang> matchSet = tableLock.read( () -> {
+			LinkedList<CFSecBuffISOLang> matches = new LinkedList<CFSecBuffISOLang>();
+			Map< Short, CFSecBuffISOLang > subdictCode2Idx = dictByCode2Idx.get( key );
+			if( subdictCode2Idx != null ) {
+				matches.addAll( subdictCode2Idx.values() );
+			}
+			return( matches );
+		} );
 		Iterator<CFSecBuffISOLang> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOLang)(schema.getTableISOLang().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOLangId() ));
 			deleteISOLang( Authorization, cur );
 		}
 	}
@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,8 +48,11 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for ISOTZone.
  */
 public class CFSecRamISOTZoneTable
-	implements ICFSecISOTZoneTable
+	implements ICFSecISOTZoneTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecISOTZone[] EMPTY_REC_ARRAY = new ICFSecISOTZone[0];
+
 	private ICFSecSchema schema;
 	private Map< Short,
 				CFSecBuffISOTZone > dictByPKey
@@ -70,10 +75,30 @@ public class CFSecRamISOTZoneTable
 				Map< Short,
 					CFSecBuffISOTZone >>();
 
+	private final CFSecRamTableLock tableLock = new CFSecRamTableLock();
+
+	private final List< Short > bulkPKeys = new ArrayList< Short >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffISOTZoneByOffsetIdxKey > probeOffsetIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffISOTZoneByOffsetIdxKey)schema.getFactoryISOTZone().newByOffsetIdxKey() );
+	private final ThreadLocal< CFSecBuffISOTZoneByUTZNameIdxKey > probeUTZNameIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffISOTZoneByUTZNameIdxKey)schema.getFactoryISOTZone().newByUTZNameIdxKey() );
+	private final ThreadLocal< CFSecBuffISOTZoneByIso8601IdxKey > probeIso8601Idx
+		= ThreadLocal.withInitial( () -> (CFSecBuffISOTZoneByIso8601IdxKey)schema.getFactoryISOTZone().newByIso8601IdxKey() );
+
 	public CFSecRamISOTZoneTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
 
+	public CFSecRamTableLock getTableLock() {
+		return( tableLock );
+	}
+
 	public CFSecBuffISOTZone ensureRec(ICFSecISOTZone rec) {
 		if (rec == null) {
 			return( null );
@@ -89,11 +114,260 @@ public class CFSecRamISOTZoneTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffISOTZone > recs ) {
+		long stamp = tableLock.writeLock();
+		try {
+			dictByPKey.clear();
+			for( CFSecBuffISOTZone Buff : recs ) {
+				Short pkey = (Short)(Buff.getPKey());
+				dictByPKey.put( pkey, Buff );
+			}
+			rebuildIndexes();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffISOTZone > snapshotRecs() {
+		List< CFSecBuffISOTZone > recs = tableLock.read( () -> new ArrayList< CFSecBuffISOTZone >( dictByPKey.values() ) );
+		return( recs );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffISOTZone lookupRec( Object pkey ) {
+		return( tableLock.readOptimistic( () -> dictByPKey.get( pkey ) ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffISOTZone before ) {
+		long lsn = 0L;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecBuffISOTZone current;
+			if( before == null ) {
+				current = dictByPKey.remove( pkey );
+			}
+			else {
+				current = dictByPKey.put( (Short)pkey, before );
+			}
+			if( current != null ) {
+				unindexRec( current );
+			}
+			if( before != null ) {
+				indexRec( before );
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+			}
+			else if( current != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+			}
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffISOTZone Buff ) {
+		Short pkey = (Short)(Buff.getPKey());
+		CFSecBuffISOTZoneByOffsetIdxKey keyOffsetIdx = (CFSecBuffISOTZoneByOffsetIdxKey)schema.getFactoryISOTZone().newByOffsetIdxKey();
+		keyOffsetIdx.setRequiredTZHourOffset( Buff.getRequiredTZHourOffset() );
+		keyOffsetIdx.setRequiredTZMinOffset( Buff.getRequiredTZMinOffset() );
+		Map< Short, CFSecBuffISOTZone > subdictOffsetIdx;
+		if( dictByOffsetIdx.containsKey( keyOffsetIdx ) ) {
+			subdictOffsetIdx = dictByOffsetIdx.get( keyOffsetIdx );
+		}
+		else {
+			subdictOffsetIdx = new HashMap< Short, CFSecBuffISOTZone >();
+			dictByOffsetIdx.put( keyOffsetIdx, subdictOffsetIdx );
+		}
+		subdictOffsetIdx.put( pkey, Buff );
+
+		CFSecBuffISOTZoneByUTZNameIdxKey keyUTZNameIdx = (CFSecBuffISOTZoneByUTZNameIdxKey)schema.getFactoryISOTZone().newByUTZNameIdxKey();
+		keyUTZNameIdx.setRequiredTZName( Buff.getRequiredTZName() );
+		dictByUTZNameIdx.put( keyUTZNameIdx, Buff );
+
+		CFSecBuffISOTZoneByIso8601IdxKey keyIso8601Idx = (CFSecBuffISOTZoneByIso8601IdxKey)schema.getFactoryISOTZone().newByIso8601IdxKey();
+		keyIso8601Idx.setRequiredIso8601( Buff.getRequiredIso8601() );
+		Map< Short, CFSecBuffISOTZone > subdictIso8601Idx;
+		if( dictByIso8601Idx.containsKey( keyIso8601Idx ) ) {
+			subdictIso8601Idx = dictByIso8601Idx.get( keyIso8601Idx );
+		}
+		else {
+			subdictIso8601Idx = new HashMap< Short, CFSecBuffISOTZone >();
+			dictByIso8601Idx.put( keyIso8601Idx, subdictIso8601Idx );
+		}
+		subdictIso8601Idx.put( pkey, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffISOTZone Buff ) {
+		Short pkey = (Short)(Buff.getPKey());
+		CFSecBuffISOTZoneByOffsetIdxKey keyOffsetIdx = (CFSecBuffISOTZoneByOffsetIdxKey)schema.getFactoryISOTZone().newByOffsetIdxKey();
+		keyOffsetIdx.setRequiredTZHourOffset( Buff.getRequiredTZHourOffset() );
+		keyOffsetIdx.setRequiredTZMinOffset( Buff.getRequiredTZMinOffset() );
+		Map< Short, CFSecBuffISOTZone > subdictOffsetIdx = dictByOffsetIdx.get( keyOffsetIdx );
+		if( subdictOffsetIdx != null ) {
+			subdictOffsetIdx.remove( pkey );
+			if( subdictOffsetIdx.isEmpty() ) {
+				dictByOffsetIdx.remove( keyOffsetIdx );
+			}
+		}
+
+		CFSecBuffISOTZoneByUTZNameIdxKey keyUTZNameIdx = (CFSecBuffISOTZoneByUTZNameIdxKey)schema.getFactoryISOTZone().newByUTZNameIdxKey();
+		keyUTZNameIdx.setRequiredTZName( Buff.getRequiredTZName() );
+		dictByUTZNameIdx.remove( keyUTZNameIdx );
+
+		CFSecBuffISOTZoneByIso8601IdxKey keyIso8601Idx = (CFSecBuffISOTZoneByIso8601IdxKey)schema.getFactoryISOTZone().newByIso8601IdxKey();
+		keyIso8601Idx.setRequiredIso8601( Buff.getRequiredIso8601() );
+		Map< Short, CFSecBuffISOTZone > subdictIso8601Idx = dictByIso8601Idx.get( keyIso8601Idx );
+		if( subdictIso8601Idx != null ) {
+			subdictIso8601Idx.remove( pkey );
+			if( subdictIso8601Idx.isEmpty() ) {
+				dictByIso8601Idx.remove( keyIso8601Idx );
+			}
+		}
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildOffsetIdx,
+			this::rebuildUTZNameIdx,
+			this::rebuildIso8601Idx );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	protected void rebuildOffsetIdx() {
+		dictByOffsetIdx.clear();
+		for( CFSecBuffISOTZone Buff : dictByPKey.values() ) {
+			Short pkey = (Short)(Buff.getPKey());
+			CFSecBuffISOTZoneByOffsetIdxKey keyOffsetIdx = (CFSecBuffISOTZoneByOffsetIdxKey)schema.getFactoryISOTZone().newByOffsetIdxKey();
+			keyOffsetIdx.setRequiredTZHourOffset( Buff.getRequiredTZHourOffset() );
+			keyOffsetIdx.setRequiredTZMinOffset( Buff.getRequiredTZMinOffset() );
+			Map< Short, CFSecBuffISOTZone > subdictOffsetIdx;
+			if( dictByOffsetIdx.containsKey( keyOffsetIdx ) ) {
+				subdictOffsetIdx = dictByOffsetIdx.get( keyOffsetIdx );
+			}
+			else {
+				subdictOffsetIdx = new HashMap< Short, CFSecBuffISOTZone >();
+				dictByOffsetIdx.put( keyOffsetIdx, subdictOffsetIdx );
+			}
+			subdictOffsetIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildUTZNameIdx() {
+		dictByUTZNameIdx.clear();
+		for( CFSecBuffISOTZone Buff : dictByPKey.values() ) {
+			CFSecBuffISOTZoneByUTZNameIdxKey keyUTZNameIdx = (CFSecBuffISOTZoneByUTZNameIdxKey)schema.getFactoryISOTZone().newByUTZNameIdxKey();
+			keyUTZNameIdx.setRequiredTZName( Buff.getRequiredTZName() );
+			dictByUTZNameIdx.put( keyUTZNameIdx, Buff );
+		}
+	}
+
+	protected void rebuildIso8601Idx() {
+		dictByIso8601Idx.clear();
+		for( CFSecBuffISOTZone Buff : dictByPKey.values() ) {
+			Short pkey = (Short)(Buff.getPKey());
+			CFSecBuffISOTZoneByIso8601IdxKey keyIso8601Idx = (CFSecBuffISOTZoneByIso8601IdxKey)schema.getFactoryISOTZone().newByIso8601IdxKey();
+			keyIso8601Idx.setRequiredIso8601( Buff.getRequiredIso8601() );
+			Map< Short, CFSecBuffISOTZone > subdictIso8601Idx;
+			if( dictByIso8601Idx.containsKey( keyIso8601Idx ) ) {
+				subdictIso8601Idx = dictByIso8601Idx.get( keyIso8601Idx );
+			}
+			else {
+				subdictIso8601Idx = new HashMap< Short, CFSecBuffISOTZone >();
+				dictByIso8601Idx.put( keyIso8601Idx, subdictIso8601Idx );
+			}
+			subdictIso8601Idx.put( pkey, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< String > duplicates = tableLock.read( () -> {
+			List< String > found = new ArrayList< String >();
+			for( Short pkey : bulkPKeys ) {
+				CFSecBuffISOTZone Buff = dictByPKey.get( pkey );
+				if( Buff == null ) {
+					continue;
+				}
+				CFSecBuffISOTZoneByUTZNameIdxKey keyUTZNameIdx = (CFSecBuffISOTZoneByUTZNameIdxKey)schema.getFactoryISOTZone().newByUTZNameIdxKey();
+				keyUTZNameIdx.setRequiredTZName( Buff.getRequiredTZName() );
+				if( dictByUTZNameIdx.get( keyUTZNameIdx ) != Buff ) {
+					found.add( "ISOTZone " + Buff.getPKey() + " duplicates the ISOTZoneUTZNameIdx key " + keyUTZNameIdx );
+				}
+			}
+			return( found );
+		} );
+		violations.addAll( duplicates );
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		long stamp = tableLock.writeLock();
+		try {
+			for( Short pkey : bulkPKeys ) {
+				CFSecBuffISOTZone Buff = dictByPKey.remove( pkey );
+				if( Buff != null ) {
+					lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+				}
+			}
+			bulkPKeys.clear();
+			rebuildIndexes();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		long stamp = tableLock.writeLock();
+		try {
+			bulkPKeys.clear();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
 	@Override
 	public ICFSecISOTZone createISOTZone( ICFSecAuthorization Authorization,
 		ICFSecISOTZone iBuff )
 	{
 		final String S_ProcName = "createISOTZone";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffISOTZone Buff = (CFSecBuffISOTZone)ensureRec(iBuff);
 		Short pkey;
@@ -109,47 +383,61 @@ public class CFSecRamISOTZoneTable
 		CFSecBuffISOTZoneByIso8601IdxKey keyIso8601Idx = (CFSecBuffISOTZoneByIso8601IdxKey)schema.getFactoryISOTZone().newByIso8601IdxKey();
 		keyIso8601Idx.setRequiredIso8601( Buff.getRequiredIso8601() );
 
-		// Validate unique indexes
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			// Validate unique indexes
 
-		if( dictByPKey.containsKey( pkey ) ) {
-			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
-		}
+			if( dictByPKey.containsKey( pkey ) ) {
+				throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
+			}
 
-		if( dictByUTZNameIdx.containsKey( keyUTZNameIdx ) ) {
-			throw new CFLibUniqueIndexViolationException( getClass(),
-				S_ProcName,
-				"ISOTZoneUTZNameIdx",
-				"ISOTZoneUTZNameIdx",
-				keyUTZNameIdx );
-		}
+			if( ( ! bulkLoad ) && dictByUTZNameIdx.containsKey( keyUTZNameIdx ) ) {
+				throw new CFLibUniqueIndexViolationException( getClass(),
+					S_ProcName,
+					"ISOTZoneUTZNameIdx",
+					"ISOTZoneUTZNameIdx",
+					keyUTZNameIdx );
+			}
 
-		// Validate foreign keys
+			// Validate foreign keys
 
-		// Proceed with adding the new record
+			// Proceed with adding the new record
 
-		dictByPKey.put( pkey, Buff );
+			dictByPKey.put( pkey, Buff );
+			if( bulkLoad ) {
+				bulkPKeys.add( pkey );
+			}
 
-		Map< Short, CFSecBuffISOTZone > subdictOffsetIdx;
-		if( dictByOffsetIdx.containsKey( keyOffsetIdx ) ) {
-			subdictOffsetIdx = dictByOffsetIdx.get( keyOffsetIdx );
-		}
-		else {
-			subdictOffsetIdx = new HashMap< Short, CFSecBuffISOTZone >();
-			dictByOffsetIdx.put( keyOffsetIdx, subdictOffsetIdx );
-		}
-		subdictOffsetIdx.put( pkey, Buff );
+			Map< Short, CFSecBuffISOTZone > subdictOffsetIdx;
+			if( dictByOffsetIdx.containsKey( keyOffsetIdx ) ) {
+				subdictOffsetIdx = dictByOffsetIdx.get( keyOffsetIdx );
+			}
+			else {
+				subdictOffsetIdx = new HashMap< Short, CFSecBuffISOTZone >();
+				dictByOffsetIdx.put( keyOffsetIdx, subdictOffsetIdx );
+			}
+			subdictOffsetIdx.put( pkey, Buff );
 
-		dictByUTZNameIdx.put( keyUTZNameIdx, Buff );
+			dictByUTZNameIdx.putIfAbsent( keyUTZNameIdx, Buff );
 
-		Map< Short, CFSecBuffISOTZone > subdictIso8601Idx;
-		if( dictByIso8601Idx.containsKey( keyIso8601Idx ) ) {
-			subdictIso8601Idx = dictByIso8601Idx.get( keyIso8601Idx );
+			Map< Short, CFSecBuffISOTZone > subdictIso8601Idx;
+			if( dictByIso8601Idx.containsKey( keyIso8601Idx ) ) {
+				subdictIso8601Idx = dictByIso8601Idx.get( keyIso8601Idx );
+			}
+			else {
+				subdictIso8601Idx = new HashMap< Short, CFSecBuffISOTZone >();
+				dictByIso8601Idx.put( keyIso8601Idx, subdictIso8601Idx );
+			}
+			subdictIso8601Idx.put( pkey, Buff );
+
+			CFSecRamTransaction.record( schema, null, Buff );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
 		}
-		else {
-			subdictIso8601Idx = new HashMap< Short, CFSecBuffISOTZone >();
-			dictByIso8601Idx.put( keyIso8601Idx, subdictIso8601Idx );
+		finally {
+			tableLock.unlockWrite( stamp );
 		}
-		subdictIso8601Idx.put( pkey, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 
 		if (Buff == null) {
 			return( null );
@@ -176,12 +464,7 @@ public class CFSecRamISOTZoneTable
 		if( PKey == null ) {
 			return( null );
 		}
-		if( dictByPKey.containsKey( PKey ) ) {
-			buff = dictByPKey.get( PKey );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByPKey.get( PKey ) );
 		return( buff );
 	}
 
@@ -191,24 +474,22 @@ public class CFSecRamISOTZoneTable
 	{
 		final String S_ProcName = "CFSecRamISOTZone.lockDerived";
 		ICFSecISOTZone buff;
-		if( dictByPKey.containsKey( PKey ) ) {
-			buff = dictByPKey.get( PKey );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByPKey.get( PKey ) );
 		return( buff );
 	}
 
 	@Override
 	public ICFSecISOTZone[] readAllDerived( ICFSecAuthorization Authorization ) {
 		final String S_ProcName = "CFSecRamISOTZone.readAllDerived";
-		ICFSecISOTZone[] retList = new ICFSecISOTZone[ dictByPKey.values().size() ];
-		Iterator< CFSecBuffISOTZone > iter = dictByPKey.values().iterator();
-		int idx = 0;
-		while( iter.hasNext() ) {
-			retList[ idx++ ] = iter.next();
-		}
+		ICFSecISOTZone[] retList = tableLock.read( () -> {
+			ICFSecISOTZone[] arr = new ICFSecISOTZone[ dictByPKey.size() ];
+			Iterator< CFSecBuffISOTZone > iter = dictByPKey.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
 		return( retList );
 	}
 
@@ -218,27 +499,24 @@ public class CFSecRamISOTZoneTable
 		short TZMinOffset )
 	{
 		final String S_ProcName = "CFSecRamISOTZone.readDerivedByOffsetIdx";
-		CFSecBuffISOTZoneByOffsetIdxKey key = (CFSecBuffISOTZoneByOffsetIdxKey)schema.getFactoryISOTZone().newByOffsetIdxKey();
+		CFSecBuffISOTZoneByOffsetIdxKey key = probeOffsetIdx.get();
 
 		key.setRequiredTZHourOffset( TZHourOffset );
 		key.setRequiredTZMinOffset( TZMinOffset );
-		ICFSecISOTZone[] recArray;
-		if( dictByOffsetIdx.containsKey( key ) ) {
+		ICFSecISOTZone[] recArray = tableLock.read( () -> {
 			Map< Short, CFSecBuffISOTZone > subdictOffsetIdx
 				= dictByOffsetIdx.get( key );
-			recArray = new ICFSecISOTZone[ subdictOffsetIdx.size() ];
+			if( ( subdictOffsetIdx == null ) || subdictOffsetIdx.isEmpty() ) {
+				return( EMPTY_REC_ARRAY );
+			}
+			ICFSecISOTZone[] arr = new ICFSecISOTZone[ subdictOffsetIdx.size() ];
 			Iterator< CFSecBuffISOTZone > iter = subdictOffsetIdx.values().iterator();
 			int idx = 0;
 			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
+				arr[ idx++ ] = iter.next();
 			}
-		}
-		else {
-			Map< Short, CFSecBuffISOTZone > subdictOffsetIdx
-				= new HashMap< Short, CFSecBuffISOTZone >();
-			dictByOffsetIdx.put( key, subdictOffsetIdx );
-			recArray = new ICFSecISOTZone[0];
-		}
+			return( arr );
+		} );
 		return( recArray );
 	}
 
@@ -247,16 +525,11 @@ public class CFSecRamISOTZoneTable
 		String TZName )
 	{
 		final String S_ProcName = "CFSecRamISOTZone.readDerivedByUTZNameIdx";
-		CFSecBuffISOTZoneByUTZNameIdxKey key = (CFSecBuffISOTZoneByUTZNameIdxKey)schema.getFactoryISOTZone().newByUTZNameIdxKey();
+		CFSecBuffISOTZoneByUTZNameIdxKey key = probeUTZNameIdx.get();
 
 		key.setRequiredTZName( TZName );
 		ICFSecISOTZone buff;
-		if( dictByUTZNameIdx.containsKey( key ) ) {
-			buff = dictByUTZNameIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.readOptimistic( () -> dictByUTZNameIdx.get( key ) );
 		return( buff );
 	}
 
@@ -265,26 +538,23 @@ public class CFSecRamISOTZoneTable
 		String Iso8601 )
 	{
 		final String S_ProcName = "CFSecRamISOTZone.readDerivedByIso8601Idx";
-		CFSecBuffISOTZoneByIso8601IdxKey key = (CFSecBuffISOTZoneByIso8601IdxKey)schema.getFactoryISOTZone().newByIso8601IdxKey();
+		CFSecBuffISOTZoneByIso8601IdxKey key = probeIso8601Idx.get();
 
 		key.setRequiredIso8601( Iso8601 );
-		ICFSecISOTZone[] recArray;
-		if( dictByIso8601Idx.containsKey( key ) ) {
+		ICFSecISOTZone[] recArray = tableLock.read( () -> {
 			Map< Short, CFSecBuffISOTZone > subdictIso8601Idx
 				= dictByIso8601Idx.get( key );
-			recArray = new ICFSecISOTZone[ subdictIso8601Idx.size() ];
+			if( ( subdictIso8601Idx == null ) || subdictIso8601Idx.isEmpty() ) {
+				return( EMPTY_REC_ARRAY );
+			}
+			ICFSecISOTZone[] arr = new ICFSecISOTZone[ subdictIso8601Idx.size() ];
 			Iterator< CFSecBuffISOTZone > iter = subdictIso8601Idx.values().iterator();
 			int idx = 0;
 			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
+				arr[ idx++ ] = iter.next();
 			}
-		}
-		else {
-			Map< Short, CFSecBuffISOTZone > subdictIso8601Idx
-				= new HashMap< Short, CFSecBuffISOTZone >();
-			dictByIso8601Idx.put( key, subdictIso8601Idx );
-			recArray = new ICFSecISOTZone[0];
-		}
+			return( arr );
+		} );
 		return( recArray );
 	}
 
@@ -294,13 +564,206 @@ public class CFSecRamISOTZoneTable
 	{
 		final String S_ProcName = "CFSecRamISOTZone.readDerivedByIdIdx() ";
 		ICFSecISOTZone buff;
-		if( dictByPKey.containsKey( ISOTZoneId ) ) {
-			buff = dictByPKey.get( ISOTZoneId );
+		buff = tableLock.readOptimistic( () -> dictByPKey.get( ISOTZoneId ) );
+		return( buff );
+	}
+
+	/**
+	 *	Get a read-only view of every ISOTZone instance in the table.
+	 *	<P>
+	 *	With the table lock enabled, the view is a copy of the table taken under
+	 *	the read lock.  Otherwise it wraps the live dictionary, which the table
+	 *	must not modify while the view is in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecISOTZone > viewAll( ICFSecAuthorization Authorization ) {
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( dictByPKey ) ) );
 		}
-		else {
-			buff = null;
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every ISOTZone instance in the table.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	With the table lock enabled, the action runs over a copy of the table
+	 *	taken under the read lock, so the lock is not held while it runs.
+	 *	Otherwise it iterates the live dictionary in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecISOTZone > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every ISOTZone instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from a copy when the table lock is enabled,
+	 *	so it tolerates concurrent writers; otherwise the table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecISOTZone > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the ISOTZone instances identified by the duplicate key OffsetIdx.
+	 *	<P>
+	 *	With the table lock enabled, the view is a copy of the index bucket
+	 *	taken under the read lock.  Otherwise it wraps the live bucket, which
+	 *	the table must not modify while the view is in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TZHourOffset	The ISOTZone key attribute of the instance generating the id.
+	 *
+	 *	@param	TZMinOffset	The ISOTZone key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecISOTZone > viewByOffsetIdx( ICFSecAuthorization Authorization,
+		short TZHourOffset,
+		short TZMinOffset )
+	{
+		CFSecBuffISOTZoneByOffsetIdxKey key = probeOffsetIdx.get();
+		key.setRequiredTZHourOffset( TZHourOffset );
+		key.setRequiredTZMinOffset( TZMinOffset );
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( dictByOffsetIdx.get( key ) ) ) );
 		}
-		return( buff );
+		return( CFSecRamViews.of( dictByOffsetIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each ISOTZone instance identified by the duplicate key OffsetIdx.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	With the table lock enabled, the action runs over a copy of the index
+	 *	bucket taken under the read lock, so the lock is not held while it runs.
+	 *	Otherwise it iterates the live bucket in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TZHourOffset	The ISOTZone key attribute of the instance generating the id.
+	 *
+	 *	@param	TZMinOffset	The ISOTZone key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByOffsetIdx( ICFSecAuthorization Authorization,
+		short TZHourOffset,
+		short TZMinOffset,
+		Consumer< ? super ICFSecISOTZone > action )
+	{
+		viewByOffsetIdx( Authorization,
+			TZHourOffset,
+			TZMinOffset ).forEach( action );
+	}
+
+	/**
+	 *	Stream the ISOTZone instances identified by the duplicate key OffsetIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from a copy when the table lock is enabled,
+	 *	so it tolerates concurrent writers; otherwise the table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TZHourOffset	The ISOTZone key attribute of the instance generating the id.
+	 *
+	 *	@param	TZMinOffset	The ISOTZone key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecISOTZone > streamByOffsetIdx( ICFSecAuthorization Authorization,
+		short TZHourOffset,
+		short TZMinOffset )
+	{
+		return( viewByOffsetIdx( Authorization,
+			TZHourOffset,
+			TZMinOffset ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the ISOTZone instances identified by the duplicate key Iso8601Idx.
+	 *	<P>
+	 *	With the table lock enabled, the view is a copy of the index bucket
+	 *	taken under the read lock.  Otherwise it wraps the live bucket, which
+	 *	the table must not modify while the view is in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	Iso8601	The ISOTZone key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecISOTZone > viewByIso8601Idx( ICFSecAuthorization Authorization,
+		String Iso8601 )
+	{
+		CFSecBuffISOTZoneByIso8601IdxKey key = probeIso8601Idx.get();
+		key.setRequiredIso8601( Iso8601 );
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( dictByIso8601Idx.get( key ) ) ) );
+		}
+		return( CFSecRamViews.of( dictByIso8601Idx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each ISOTZone instance identified by the duplicate key Iso8601Idx.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	With the table lock enabled, the action runs over a copy of the index
+	 *	bucket taken under the read lock, so the lock is not held while it runs.
+	 *	Otherwise it iterates the live bucket in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	Iso8601	The ISOTZone key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByIso8601Idx( ICFSecAuthorization Authorization,
+		String Iso8601,
+		Consumer< ? super ICFSecISOTZone > action )
+	{
+		viewByIso8601Idx( Authorization,
+			Iso8601 ).forEach( action );
+	}
+
+	/**
+	 *	Stream the ISOTZone instances identified by the duplicate key Iso8601Idx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from a copy when the table lock is enabled,
+	 *	so it tolerates concurrent writers; otherwise the table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	Iso8601	The ISOTZone key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecISOTZone > streamByIso8601Idx( ICFSecAuthorization Authorization,
+		String Iso8601 )
+	{
+		return( viewByIso8601Idx( Authorization,
+			Iso8601 ).stream() );
 	}
 
 	@Override
@@ -327,20 +790,43 @@ public class CFSecRamISOTZoneTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecISOTZone.CLASS_CODE.
+	 */
+	protected ICFSecISOTZone[] filterRecs( ICFSecISOTZone[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecISOTZone buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOTZone.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecISOTZone[] recArray = new ICFSecISOTZone[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecISOTZone buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOTZone.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecISOTZone[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamISOTZone.readAllRec";
-		ICFSecISOTZone buff;
-		ArrayList<ICFSecISOTZone> filteredList = new ArrayList<ICFSecISOTZone>();
 		ICFSecISOTZone[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOTZone.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecISOTZone[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -364,18 +850,13 @@ public class CFSecRamISOTZoneTable
 		short TZMinOffset )
 	{
 		final String S_ProcName = "CFSecRamISOTZone.readRecByOffsetIdx() ";
-		ICFSecISOTZone buff;
-		ArrayList<ICFSecISOTZone> filteredList = new ArrayList<ICFSecISOTZone>();
 		ICFSecISOTZone[] buffList = readDerivedByOffsetIdx( Authorization,
 			TZHourOffset,
 			TZMinOffset );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOTZone.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecISOTZone)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecISOTZone[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -398,17 +879,12 @@ public class CFSecRamISOTZoneTable
 		String Iso8601 )
 	{
 		final String S_ProcName = "CFSecRamISOTZone.readRecByIso8601Idx() ";
-		ICFSecISOTZone buff;
-		ArrayList<ICFSecISOTZone> filteredList = new ArrayList<ICFSecISOTZone>();
 		ICFSecISOTZone[] buffList = readDerivedByIso8601Idx( Authorization,
 			Iso8601 );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecISOTZone.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecISOTZone)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecISOTZone[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	public ICFSecISOTZone updateISOTZone( ICFSecAuthorization Authorization,
@@ -416,92 +892,113 @@ public class CFSecRamISOTZoneTable
 	{
 		CFSecBuffISOTZone Buff = (CFSecBuffISOTZone)ensureRec(iBuff);
 		Short pkey = Buff.getPKey();
-		CFSecBuffISOTZone existing = dictByPKey.get( pkey );
-		if( existing == null ) {
-			throw new CFLibStaleCacheDetectedException( getClass(),
-				"updateISOTZone",
-				"Existing record not found",
-				"Existing record not found",
-				"ISOTZone",
-				"ISOTZone",
-				pkey );
-		}
-		if( existing.getRequiredRevision() != Buff.getRequiredRevision() ) {
-			throw new CFLibCollisionDetectedException( getClass(),
-				"updateISOTZone",
-				pkey );
-		}
-		Buff.setRequiredRevision( Buff.getRequiredRevision() + 1 );
-		CFSecBuffISOTZoneByOffsetIdxKey existingKeyOffsetIdx = (CFSecBuffISOTZoneByOffsetIdxKey)schema.getFactoryISOTZone().newByOffsetIdxKey();
-		existingKeyOffsetIdx.setRequiredTZHourOffset( existing.getRequiredTZHourOffset() );
-		existingKeyOffsetIdx.setRequiredTZMinOffset( existing.getRequiredTZMinOffset() );
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecBuffISOTZone existing = dictByPKey.get( pkey );
+			if( existing == null ) {
+				throw new CFLibStaleCacheDetectedException( getClass(),
+					"updateISOTZone",
+					"Existing record not found",
+					"Existing record not found",
+					"ISOTZone",
+					"ISOTZone",
+					pkey );
+			}
+			if( existing.getRequiredRevision() != Buff.getRequiredRevision() ) {
+				throw new CFLibCollisionDetectedException( getClass(),
+					"updateISOTZone",
+					pkey );
+			}
+			Buff.setRequiredRevision( Buff.getRequiredRevision() + 1 );
+			CFSecBuffISOTZoneByOffsetIdxKey existingKeyOffsetIdx = (CFSecBuffISOTZoneByOffsetIdxKey)schema.getFactoryISOTZone().newByOffsetIdxKey();
+			existingKeyOffsetIdx.setRequiredTZHourOffset( existing.getRequiredTZHourOffset() );
+			existingKeyOffsetIdx.setRequiredTZMinOffset( existing.getRequiredTZMinOffset() );
 
-		CFSecBuffISOTZoneByOffsetIdxKey newKeyOffsetIdx = (CFSecBuffISOTZoneByOffsetIdxKey)schema.getFactoryISOTZone().newByOffsetIdxKey();
-		newKeyOffsetIdx.setRequiredTZHourOffset( Buff.getRequiredTZHourOffset() );
-		newKeyOffsetIdx.setRequiredTZMinOffset( Buff.getRequiredTZMinOffset() );
+			CFSecBuffISOTZoneByOffsetIdxKey newKeyOffsetIdx = (CFSecBuffISOTZoneByOffsetIdxKey)schema.getFactoryISOTZone().newByOffsetIdxKey();
+			newKeyOffsetIdx.setRequiredTZHourOffset( Buff.getRequiredTZHourOffset() );
+			newKeyOffsetIdx.setRequiredTZMinOffset( Buff.getRequiredTZMinOffset() );
 
-		CFSecBuffISOTZoneByUTZNameIdxKey existingKeyUTZNameIdx = (CFSecBuffISOTZoneByUTZNameIdxKey)schema.getFactoryISOTZone().newByUTZNameIdxKey();
-		existingKeyUTZNameIdx.setRequiredTZName( existing.getRequiredTZName() );
+			CFSecBuffISOTZoneByUTZNameIdxKey existingKeyUTZNameIdx = (CFSecBuffISOTZoneByUTZNameIdxKey)schema.getFactoryISOTZone().newByUTZNameIdxKey();
+			existingKeyUTZNameIdx.setRequiredTZName( existing.getRequiredTZName() );
 
-		CFSecBuffISOTZoneByUTZNameIdxKey newKeyUTZNameIdx = (CFSecBuffISOTZoneByUTZNameIdxKey)schema.getFactoryISOTZone().newByUTZNameIdxKey();
-		newKeyUTZNameIdx.setRequiredTZName( Buff.getRequiredTZName() );
+			CFSecBuffISOTZoneByUTZNameIdxKey newKeyUTZNameIdx = (CFSecBuffISOTZoneByUTZNameIdxKey)schema.getFactoryISOTZone().newByUTZNameIdxKey();
+			newKeyUTZNameIdx.setRequiredTZName( Buff.getRequiredTZName() );
 
-		CFSecBuffISOTZoneByIso8601IdxKey existingKeyIso8601Idx = (CFSecBuffISOTZoneByIso8601IdxKey)schema.getFactoryISOTZone().newByIso8601IdxKey();
-		existingKeyIso8601Idx.setRequiredIso8601( existing.getRequiredIso8601() );
+			CFSecBuffISOTZoneByIso8601IdxKey existingKeyIso8601Idx = (CFSecBuffISOTZoneByIso8601IdxKey)schema.getFactoryISOTZone().newByIso8601IdxKey();
+			existingKeyIso8601Idx.setRequiredIso8601( existing.getRequiredIso8601() );
 
-		CFSecBuffISOTZoneByIso8601IdxKey newKeyIso8601Idx = (CFSecBuffISOTZoneByIso8601IdxKey)schema.getFactoryISOTZone().newByIso8601IdxKey();
-		newKeyIso8601Idx.setRequiredIso8601( Buff.getRequiredIso8601() );
+			CFSecBuffISOTZoneByIso8601IdxKey newKeyIso8601Idx = (CFSecBuffISOTZoneByIso8601IdxKey)schema.getFactoryISOTZone().newByIso8601IdxKey();
+			newKeyIso8601Idx.setRequiredIso8601( Buff.getRequiredIso8601() );
 
-		// Check unique indexes
+			// Check unique indexes
 
-		if( ! existingKeyUTZNameIdx.equals( newKeyUTZNameIdx ) ) {
-			if( dictByUTZNameIdx.containsKey( newKeyUTZNameIdx ) ) {
-				throw new CFLibUniqueIndexViolationException( getClass(),
-					"updateISOTZone",
-					"ISOTZoneUTZNameIdx",
-					"ISOTZoneUTZNameIdx",
-					newKeyUTZNameIdx );
+			if( ! existingKeyUTZNameIdx.equals( newKeyUTZNameIdx ) ) {
+				if( dictByUTZNameIdx.containsKey( newKeyUTZNameIdx ) ) {
+					throw new CFLibUniqueIndexViolationException( getClass(),
+						"updateISOTZone",
+						"ISOTZoneUTZNameIdx",
+						"ISOTZoneUTZNameIdx",
+						newKeyUTZNameIdx );
+				}
 			}
-		}
 
-		// Validate foreign keys
+			// Validate foreign keys
 
-		// Update is valid
+			// Update is valid
 
-		Map< Short, CFSecBuffISOTZone > subdict;
+			Map< Short, CFSecBuffISOTZone > subdict;
 
-		dictByPKey.remove( pkey );
-		dictByPKey.put( pkey, Buff );
+			dictByPKey.put( pkey, Buff );
 
-		subdict = dictByOffsetIdx.get( existingKeyOffsetIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
-		}
-		if( dictByOffsetIdx.containsKey( newKeyOffsetIdx ) ) {
-			subdict = dictByOffsetIdx.get( newKeyOffsetIdx );
-		}
-		else {
-			subdict = new HashMap< Short, CFSecBuffISOTZone >();
-			dictByOffsetIdx.put( newKeyOffsetIdx, subdict );
-		}
-		subdict.put( pkey, Buff );
+			if( ! existingKeyOffsetIdx.equals( newKeyOffsetIdx ) ) {
+				subdict = dictByOffsetIdx.get( existingKeyOffsetIdx );
+				if( subdict != null ) {
+					subdict.remove( pkey );
+					if( subdict.isEmpty() ) {
+						dictByOffsetIdx.remove( existingKeyOffsetIdx );
+					}
+				}
+			}
+			if( dictByOffsetIdx.containsKey( newKeyOffsetIdx ) ) {
+				subdict = dictByOffsetIdx.get( newKeyOffsetIdx );
+			}
+			else {
+				subdict = new HashMap< Short, CFSecBuffISOTZone >();
+				dictByOffsetIdx.put( newKeyOffsetIdx, subdict );
+			}
+			subdict.put( pkey, Buff );
 
-		dictByUTZNameIdx.remove( existingKeyUTZNameIdx );
-		dictByUTZNameIdx.put( newKeyUTZNameIdx, Buff );
+			if( ! existingKeyUTZNameIdx.equals( newKeyUTZNameIdx ) ) {
+				dictByUTZNameIdx.remove( existingKeyUTZNameIdx );
+			}
+			dictByUTZNameIdx.put( newKeyUTZNameIdx, Buff );
+
+			if( ! existingKeyIso8601Idx.equals( newKeyIso8601Idx ) ) {
+				subdict = dictByIso8601Idx.get( existingKeyIso8601Idx );
+				if( subdict != null ) {
+					subdict.remove( pkey );
+					if( subdict.isEmpty() ) {
+						dictByIso8601Idx.remove( existingKeyIso8601Idx );
+					}
+				}
+			}
+			if( dictByIso8601Idx.containsKey( newKeyIso8601Idx ) ) {
+				subdict = dictByIso8601Idx.get( newKeyIso8601Idx );
+			}
+			else {
+				subdict = new HashMap< Short, CFSecBuffISOTZone >();
+				dictByIso8601Idx.put( newKeyIso8601Idx, subdict );
+			}
+			subdict.put( pkey, Buff );
 
-		subdict = dictByIso8601Idx.get( existingKeyIso8601Idx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+			CFSecRamTransaction.record( schema, existing, Buff );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
 		}
-		if( dictByIso8601Idx.containsKey( newKeyIso8601Idx ) ) {
-			subdict = dictByIso8601Idx.get( newKeyIso8601Idx );
-		}
-		else {
-			subdict = new HashMap< Short, CFSecBuffISOTZone >();
-			dictByIso8601Idx.put( newKeyIso8601Idx, subdict );
+		finally {
+			tableLock.unlockWrite( stamp );
 		}
-		subdict.put( pkey, Buff );
-
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
@@ -513,7 +1010,7 @@ public class CFSecRamISOTZoneTable
 		CFSecBuffISOTZone Buff = (CFSecBuffISOTZone)ensureRec(iBuff);
 		int classCode;
 		Short pkey = (Short)(Buff.getPKey());
-		CFSecBuffISOTZone existing = dictByPKey.get( pkey );
+		CFSecBuffISOTZone existing = tableLock.readOptimistic( () -> dictByPKey.get( pkey ) );
 		if( existing == null ) {
 			return;
 		}
@@ -523,55 +1020,69 @@ public class CFSecRamISOTZoneTable
 				"deleteISOTZone",
 				pkey );
 		}
-		CFSecBuffISOTZoneByOffsetIdxKey keyOffsetIdx = (CFSecBuffISOTZoneByOffsetIdxKey)schema.getFactoryISOTZone().newByOffsetIdxKey();
-		keyOffsetIdx.setRequiredTZHourOffset( existing.getRequiredTZHourOffset() );
-		keyOffsetIdx.setRequiredTZMinOffset( existing.getRequiredTZMinOffset() );
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			existing = dictByPKey.get( pkey );
+			if( existing == null ) {
+				return;
+			}
+			CFSecBuffISOTZoneByOffsetIdxKey keyOffsetIdx = (CFSecBuffISOTZoneByOffsetIdxKey)schema.getFactoryISOTZone().newByOffsetIdxKey();
+			keyOffsetIdx.setRequiredTZHourOffset( existing.getRequiredTZHourOffset() );
+			keyOffsetIdx.setRequiredTZMinOffset( existing.getRequiredTZMinOffset() );
 
-		CFSecBuffISOTZoneByUTZNameIdxKey keyUTZNameIdx = (CFSecBuffISOTZoneByUTZNameIdxKey)schema.getFactoryISOTZone().newByUTZNameIdxKey();
-		keyUTZNameIdx.setRequiredTZName( existing.getRequiredTZName() );
+			CFSecBuffISOTZoneByUTZNameIdxKey keyUTZNameIdx = (CFSecBuffISOTZoneByUTZNameIdxKey)schema.getFactoryISOTZone().newByUTZNameIdxKey();
+			keyUTZNameIdx.setRequiredTZName( existing.getRequiredTZName() );
 
-		CFSecBuffISOTZoneByIso8601IdxKey keyIso8601Idx = (CFSecBuffISOTZoneByIso8601IdxKey)schema.getFactoryISOTZone().newByIso8601IdxKey();
-		keyIso8601Idx.setRequiredIso8601( existing.getRequiredIso8601() );
+			CFSecBuffISOTZoneByIso8601IdxKey keyIso8601Idx = (CFSecBuffISOTZoneByIso8601IdxKey)schema.getFactoryISOTZone().newByIso8601IdxKey();
+			keyIso8601Idx.setRequiredIso8601( existing.getRequiredIso8601() );
 
-		// Validate reverse foreign keys
+			// Validate reverse foreign keys
 
-		// Delete is valid
-		Map< Short, CFSecBuffISOTZone > subdict;
+			// Delete is valid
+			Map< Short, CFSecBuffISOTZone > subdict;
 
-		dictByPKey.remove( pkey );
+			dictByPKey.remove( pkey );
 
-		subdict = dictByOffsetIdx.get( keyOffsetIdx );
-		subdict.remove( pkey );
+			subdict = dictByOffsetIdx.get( keyOffsetIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByOffsetIdx.remove( keyOffsetIdx );
+				}
+			}
 
-		dictByUTZNameIdx.remove( keyUTZNameIdx );
+			dictByUTZNameIdx.remove( keyUTZNameIdx );
 
-		subdict = dictByIso8601Idx.get( keyIso8601Idx );
-		subdict.remove( pkey );
+			subdict = dictByIso8601Idx.get( keyIso8601Idx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByIso8601Idx.remove( keyIso8601Idx );
+				}
+			}
 
+			CFSecRamTransaction.record( schema, existing, null );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteISOTZoneByIdIdx( ICFSecAuthorization Authorization,
 		Short argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffISOTZone cur;
 		LinkedList<CFSecBuffISOTZone> matchSet = new LinkedList<CFSecBuffISOTZone>();
-		Iterator<CFSecBuffISOTZone> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = tableLock.readOptimistic( () -> dictByPKey.get( argKey ) );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffISOTZone> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOTZone)(schema.getTableISOTZone().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOTZoneId() ));
 			deleteISOTZone( Authorization, cur );
 		}
 	}
@@ -592,25 +1103,26 @@ public class CFSecRamISOTZoneTable
 		ICFSecISOTZoneByOffsetIdxKey argKey )
 	{
 		CFSecBuffISOTZone cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		final CFSecBuffISOTZoneByOffsetIdxKey key;
+		if( argKey instanceof CFSecBuffISOTZoneByOffsetIdxKey ) {
+			key = (CFSecBuffISOTZoneByOffsetIdxKey)argKey;
 		}
-		LinkedList<CFSecBuffISOTZone> matchSet = new LinkedList<CFSecBuffISOTZone>();
-		Iterator<CFSecBuffISOTZone> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		else {
+			key = (CFSecBuffISOTZoneByOffsetIdxKey)schema.getFactoryISOTZone().newByOffsetIdxKey();
+			key.setRequiredTZHourOffset( argKey.getRequiredTZHourOffset() );
+			key.setRequiredTZMinOffset( argKey.getRequiredTZMinOffset() );
 		}
+		LinkedList<CFSecBuffISOTZone> matchSet = tableLock.read( () -> {
+			LinkedList<CFSecBuffISOTZone> matches = new LinkedList<CFSecBuffISOTZone>();
+			Map< Short, CFSecBuffISOTZone > subdictOffsetIdx = dictByOffsetIdx.get( key );
+			if( subdictOffsetIdx != null ) {
+				matches.addAll( subdictOffsetIdx.values() );
+			}
+			return( matches );
+		} );
 		Iterator<CFSecBuffISOTZone> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOTZone)(schema.getTableISOTZone().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOTZoneId() ));
 			deleteISOTZone( Authorization, cur );
 		}
 	}
@@ -629,24 +1141,22 @@ public class CFSecRamISOTZoneTable
 		ICFSecISOTZoneByUTZNameIdxKey argKey )
 	{
 		CFSecBuffISOTZone cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		final CFSecBuffISOTZoneByUTZNameIdxKey key;
+		if( argKey instanceof CFSecBuffISOTZoneByUTZNameIdxKey ) {
+			key = (CFSecBuffISOTZoneByUTZNameIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffISOTZoneByUTZNameIdxKey)schema.getFactoryISOTZone().newByUTZNameIdxKey();
+			key.setRequiredTZName( argKey.getRequiredTZName() );
 		}
 		LinkedList<CFSecBuffISOTZone> matchSet = new LinkedList<CFSecBuffISOTZone>();
-		Iterator<CFSecBuffISOTZone> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = tableLock.readOptimistic( () -> dictByUTZNameIdx.get( key ) );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffISOTZone> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOTZone)(schema.getTableISOTZone().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOTZoneId() ));
 			deleteISOTZone( Authorization, cur );
 		}
 	}
@@ -665,24 +1175,25 @@ public class CFSecRamISOTZoneTable
 		ICFSecISOTZoneByIso8601IdxKey argKey )
 	{
 		CFSecBuffISOTZone cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		final CFSecBuffISOTZoneByIso8601IdxKey key;
+		if( argKey instanceof CFSecBuffISOTZoneByIso8601IdxKey ) {
+			key = (CFSecBuffISOTZoneByIso8601IdxKey)argKey;
 		}
-		LinkedList<CFSecBuffISOTZone> matchSet = new LinkedList<CFSecBuffISOTZone>();
-		Iterator<CFSecBuffISOTZone> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		else {
+			key = (CFSecBuffISOTZoneByIso8601IdxKey)schema.getFactoryISOTZone().newByIso8601IdxKey();
+			key.setRequiredIso8601( argKey.getRequiredIso8601() );
 		}
+		LinkedList<CFSecBuffISOTZone> matchSet = tableLock.read( () -> {
+			LinkedList<CFSecBuffISOTZone> matches = new LinkedList<CFSecBuffISOTZone>();
+			Map< Short, CFSecBuffISOTZone > subdictIso8601Idx = dictByIso8601Idx.get( key );
+			if( subdictIso8601Idx != null ) {
+				matches.addAll( subdictIso8601Idx.values() );
+			}
+			return( matches );
+		} );
 		Iterator<CFSecBuffISOTZone> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffISOTZone)(schema.getTableISOTZone().readDerivedByIdIdx( Authorization,
-				cur.getRequiredISOTZoneId() ));
 			deleteISOTZone( Authorization, cur );
 		}
 	}
@@ -0,0 +1,133 @@
+
+// Description: Java 25 hash key generator for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.security.*;
+import java.util.concurrent.atomic.*;
+import server.markhome.mcf.v3_1.cflib.dbutil.*;
+
+/*
+ *	CFSecRamKeyHashGenerator hands out unique CFLibDbKeyHash256 ids
+ *	without contention between threads.
+ *
+ *	Each thread reserves a block of sequence numbers from a shared
+ *	counter and then allocates from its block with no further
+ *	synchronization, so the shared counter is touched once per
+ *	BLOCK_SIZE ids.  The 256 bits of an id are laid out as
+ *
+ *		[ mixed sequence ][ node id ][ epoch ][ sequence ]
+ *
+ *	where the node id is a random 64 bit value and the epoch the
+ *	wall clock time at which the generator was created.  The raw
+ *	sequence keeps the ids of one generator distinct, while the node
+ *	id and epoch keep them distinct from the ids persisted by earlier
+ *	runs or issued by other nodes.  The leading word is a bijective
+ *	mix of the sequence so that hash codes and ordering comparisons
+ *	over the key bytes are well spread.
+ */
+public class CFSecRamKeyHashGenerator
+{
+	public static final int BLOCK_SIZE = 1024;
+
+	private static final class Block {
+		long next = 0L;
+		long limit = 0L;
+	}
+
+	private final long nodeId;
+	private final long epoch;
+	private final AtomicLong nextBlockStart = new AtomicLong( 0L );
+	private final ThreadLocal< Block > threadBlock = ThreadLocal.withInitial( Block::new );
+
+	public CFSecRamKeyHashGenerator() {
+		this( new SecureRandom().nextLong(), System.currentTimeMillis() );
+	}
+
+	/**
+	 *	Construct a generator with an explicit node id and epoch.
+	 *	<P>
+	 *	Two generators only issue overlapping ids when both their node id
+	 *	and epoch are equal, so a node which persists its state should
+	 *	never reuse an epoch it has issued ids under.
+	 *
+	 *	@param	argNodeId	The identifier of this node.
+	 *
+	 *	@param	argEpoch	The epoch, normally the start time in milliseconds.
+	 */
+	public CFSecRamKeyHashGenerator( long argNodeId, long argEpoch ) {
+		nodeId = argNodeId;
+		epoch = argEpoch;
+	}
+
+	public long getNodeId() {
+		return( nodeId );
+	}
+
+	public long getEpoch() {
+		return( epoch );
+	}
+
+	/**
+	 *	Allocate the next id.
+	 *
+	 *	@return	A CFLibDbKeyHash256 not previously issued by any generator
+	 *		with the same node id and epoch.
+	 */
+	public CFLibDbKeyHash256 next() {
+		Block block = threadBlock.get();
+		if( block.next >= block.limit ) {
+			block.next = nextBlockStart.getAndAdd( BLOCK_SIZE );
+			block.limit = block.next + BLOCK_SIZE;
+		}
+		long seq = block.next++;
+		byte[] bytes = new byte[32];
+		putLong( bytes, 0, mix( seq ^ nodeId ^ epoch ) );
+		putLong( bytes, 8, nodeId );
+		putLong( bytes, 16, epoch );
+		putLong( bytes, 24, seq );
+		return( new CFLibDbKeyHash256( bytes ) );
+	}
+
+	/*
+	 *	The 64 bit finalizer of SplitMix64, a bijection on longs.
+	 */
+	private static long mix( long value ) {
+		long z = value + 0x9e3779b97f4a7c15L;
+		z = ( z ^ ( z >>> 30 ) ) * 0xbf58476d1ce4e5b9L;
+		z = ( z ^ ( z >>> 27 ) ) * 0x94d049bb133111ebL;
+		return( z ^ ( z >>> 31 ) );
+	}
+
+	private static void putLong( byte[] bytes, int offset, long value ) {
+		for( int idx = 7; idx >= 0; idx-- ) {
+			bytes[ offset + idx ] = (byte)value;
+			value >>>= 8;
+		}
+	}
+}
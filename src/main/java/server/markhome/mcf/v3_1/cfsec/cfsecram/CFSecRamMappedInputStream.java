@@ -0,0 +1,89 @@
+
+// Description: Java 25 memory-mapped input stream for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+
+/*
+ *	CFSecRamMappedInputStream streams a file through read-only mappings
+ *	of at most MAX_SEGMENT_SIZE bytes each, so files beyond the 2GB limit
+ *	of a single mapped buffer can be read without copying them onto the heap.
+ */
+public class CFSecRamMappedInputStream
+	extends InputStream
+{
+	private static final long MAX_SEGMENT_SIZE = 1L << 30;
+
+	private final FileChannel channel;
+	private final long size;
+	private long segmentStart = 0L;
+	private MappedByteBuffer segment = null;
+
+	public CFSecRamMappedInputStream( FileChannel argChannel ) throws IOException {
+		channel = argChannel;
+		size = channel.size();
+	}
+
+	private boolean ensureSegment() throws IOException {
+		if( ( segment != null ) && segment.hasRemaining() ) {
+			return( true );
+		}
+		if( segment != null ) {
+			segmentStart += segment.capacity();
+		}
+		if( segmentStart >= size ) {
+			return( false );
+		}
+		segment = channel.map( FileChannel.MapMode.READ_ONLY, segmentStart, Math.min( MAX_SEGMENT_SIZE, size - segmentStart ) );
+		return( true );
+	}
+
+	@Override
+	public int read() throws IOException {
+		if( ! ensureSegment() ) {
+			return( -1 );
+		}
+		return( segment.get() & 0xff );
+	}
+
+	@Override
+	public int read( byte[] bytes, int off, int len ) throws IOException {
+		if( len == 0 ) {
+			return( 0 );
+		}
+		if( ! ensureSegment() ) {
+			return( -1 );
+		}
+		int count = Math.min( len, segment.remaining() );
+		segment.get( bytes, off, count );
+		return( count );
+	}
+}
@@ -0,0 +1,95 @@
+
+// Description: Java 25 keyset pager for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+import server.markhome.mcf.v3_1.cfsec.cfsec.*;
+
+/*
+ *	CFSecRamPager implements keyset pagination over the ordered
+ *	dictionaries of the CFSecRam tables.
+ *
+ *	A page is the run of values whose keys sort strictly after the
+ *	prior key of the previous page, so each page costs a single
+ *	O(log n) descent plus the page itself.  Because the cursor is a
+ *	key rather than an offset, rows inserted or deleted by concurrent
+ *	writers never cause a later page to skip or repeat a surviving row.
+ */
+public class CFSecRamPager
+{
+	public static final int DEFAULT_PAGE_SIZE = 100;
+
+	private CFSecRamPager() {
+	}
+
+	/**
+	 *	Get the page size configured for a schema.
+	 *
+	 *	@param	schema	The schema the paging table belongs to.
+	 *
+	 *	@return	The schema's page size, or DEFAULT_PAGE_SIZE for schemas
+	 *		which are not CFSecRamSchema instances.
+	 */
+	public static int getPageSize( ICFSecSchema schema ) {
+		if( schema instanceof CFSecRamSchema ) {
+			return( ((CFSecRamSchema)schema).getPageSize() );
+		}
+		return( DEFAULT_PAGE_SIZE );
+	}
+
+	/**
+	 *	Collect the page of values following a prior key.
+	 *
+	 *	@param	dict	The ordered dictionary to page through, which may be null.
+	 *
+	 *	@param	priorKey	The last key of the previous page, or null for the first page.
+	 *
+	 *	@param	pageSize	The maximum number of values to return.
+	 *
+	 *	@return	The values of the page in key order, possibly empty.
+	 */
+	public static <K,V> List<V> page( NavigableMap<K,V> dict, K priorKey, int pageSize ) {
+		if( ( dict == null ) || ( pageSize <= 0 ) ) {
+			return( Collections.emptyList() );
+		}
+		NavigableMap<K,V> tail;
+		if( priorKey == null ) {
+			tail = dict;
+		}
+		else {
+			tail = dict.tailMap( priorKey, false );
+		}
+		ArrayList<V> page = new ArrayList<V>( Math.min( pageSize, 64 ) );
+		Iterator<V> iter = tail.values().iterator();
+		while( iter.hasNext() && ( page.size() < pageSize ) ) {
+			page.add( iter.next() );
+		}
+		return( page );
+	}
+}
@@ -0,0 +1,214 @@
+
+// Description: Java 25 persistent table indexes for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/*
+ *	CFSecRamPersistentIndex mirrors the primary key dictionary and the
+ *	indexes of one CFSecRam table in CFSecRamHamt tries, published
+ *	through a single atomic reference.
+ *
+ *	Readers load the current root and probe it without any lock or
+ *	validation; a root never changes once published, so they can never
+ *	observe a torn update.  The table's writers, which are serialized by
+ *	its write lock, apply each change to the current root and publish the
+ *	result.  Rows are returned in trie order, not primary key order.
+ */
+public class CFSecRamPersistentIndex< B >
+{
+	private static final class Root< B > {
+		final CFSecRamHamt< Object, B > byPKey;
+		final CFSecRamHamt< Object, B >[] unique;
+		final CFSecRamHamt< Object, CFSecRamHamt< Object, B > >[] duplicate;
+
+		Root( CFSecRamHamt< Object, B > argByPKey,
+			CFSecRamHamt< Object, B >[] argUnique,
+			CFSecRamHamt< Object, CFSecRamHamt< Object, B > >[] argDuplicate )
+		{
+			byPKey = argByPKey;
+			unique = argUnique;
+			duplicate = argDuplicate;
+		}
+	}
+
+	private final Function< B, Object > pkeyOf;
+	private final List< Function< B, Object > > uniqueKeyOf;
+	private final List< Function< B, Object > > duplicateKeyOf;
+	private final AtomicReference< Root< B > > root = new AtomicReference< Root< B > >();
+
+	/**
+	 *	@param	argPKeyOf	Extracts the primary key of a record.
+	 *
+	 *	@param	argUniqueKeyOf	Builds the key of each unique index for a record.
+	 *
+	 *	@param	argDuplicateKeyOf	Builds the key of each duplicate index for a record.
+	 */
+	public CFSecRamPersistentIndex( Function< B, Object > argPKeyOf,
+		List< Function< B, Object > > argUniqueKeyOf,
+		List< Function< B, Object > > argDuplicateKeyOf )
+	{
+		pkeyOf = argPKeyOf;
+		uniqueKeyOf = argUniqueKeyOf;
+		duplicateKeyOf = argDuplicateKeyOf;
+		rebuild( Collections.< B >emptyList() );
+	}
+
+	@SuppressWarnings("unchecked")
+	private Root< B > emptyRoot() {
+		CFSecRamHamt< Object, B >[] unique = new CFSecRamHamt[ uniqueKeyOf.size() ];
+		Arrays.fill( unique, CFSecRamHamt.empty() );
+		CFSecRamHamt< Object, CFSecRamHamt< Object, B > >[] duplicate = new CFSecRamHamt[ duplicateKeyOf.size() ];
+		Arrays.fill( duplicate, CFSecRamHamt.empty() );
+		return( new Root< B >( CFSecRamHamt.empty(), unique, duplicate ) );
+	}
+
+	/**
+	 *	Replace the whole index with the specified records.
+	 */
+	public void rebuild( Collection< B > recs ) {
+		Root< B > built = emptyRoot();
+		for( B rec : recs ) {
+			built = applyTo( built, null, rec );
+		}
+		root.set( built );
+	}
+
+	/**
+	 *	Apply one change and publish the result.  Only one writer may call
+	 *	this at a time.
+	 *
+	 *	@param	before	The record replaced, or null for a create.
+	 *
+	 *	@param	after	The record written, or null for a delete.
+	 */
+	public void apply( B before, B after ) {
+		root.set( applyTo( root.get(), before, after ) );
+	}
+
+	private Root< B > applyTo( Root< B > current, B before, B after ) {
+		Object pkey = pkeyOf.apply( ( after != null ) ? after : before );
+		CFSecRamHamt< Object, B > byPKey = ( after != null )
+			? current.byPKey.plus( pkey, after )
+			: current.byPKey.minus( pkey );
+		CFSecRamHamt< Object, B >[] unique = current.unique.clone();
+		for( int idx = 0; idx < unique.length; idx++ ) {
+			Function< B, Object > keyOf = uniqueKeyOf.get( idx );
+			Object oldKey = ( before != null ) ? keyOf.apply( before ) : null;
+			Object newKey = ( after != null ) ? keyOf.apply( after ) : null;
+			CFSecRamHamt< Object, B > dict = unique[ idx ];
+			if( ( oldKey != null ) && ! oldKey.equals( newKey ) ) {
+				B owner = dict.get( oldKey );
+				if( ( owner != null ) && pkey.equals( pkeyOf.apply( owner ) ) ) {
+					dict = dict.minus( oldKey );
+				}
+			}
+			if( newKey != null ) {
+				B owner = dict.get( newKey );
+				if( ( owner == null ) || pkey.equals( pkeyOf.apply( owner ) ) ) {
+					dict = dict.plus( newKey, after );
+				}
+			}
+			unique[ idx ] = dict;
+		}
+		CFSecRamHamt< Object, CFSecRamHamt< Object, B > >[] duplicate = current.duplicate.clone();
+		for( int idx = 0; idx < duplicate.length; idx++ ) {
+			Function< B, Object > keyOf = duplicateKeyOf.get( idx );
+			Object oldKey = ( before != null ) ? keyOf.apply( before ) : null;
+			Object newKey = ( after != null ) ? keyOf.apply( after ) : null;
+			CFSecRamHamt< Object, CFSecRamHamt< Object, B > > dict = duplicate[ idx ];
+			if( ( oldKey != null ) && ! oldKey.equals( newKey ) ) {
+				CFSecRamHamt< Object, B > bucket = dict.get( oldKey );
+				if( bucket != null ) {
+					bucket = bucket.minus( pkey );
+					dict = bucket.isEmpty() ? dict.minus( oldKey ) : dict.plus( oldKey, bucket );
+				}
+			}
+			if( newKey != null ) {
+				CFSecRamHamt< Object, B > bucket = dict.get( newKey );
+				if( bucket == null ) {
+					bucket = CFSecRamHamt.empty();
+				}
+				dict = dict.plus( newKey, bucket.plus( pkey, after ) );
+			}
+			duplicate[ idx ] = dict;
+		}
+		return( new Root< B >( byPKey, unique, duplicate ) );
+	}
+
+	public int size() {
+		return( root.get().byPKey.size() );
+	}
+
+	public B get( Object pkey ) {
+		return( root.get().byPKey.get( pkey ) );
+	}
+
+	public List< B > values() {
+		return( root.get().byPKey.values() );
+	}
+
+	/**
+	 *	Apply an action to every record of the current root, without copying.
+	 */
+	public void forEachValue( Consumer< ? super B > action ) {
+		root.get().byPKey.forEachValue( action );
+	}
+
+	/**
+	 *	@return	The record holding the key of a unique index, or null if there is none.
+	 */
+	public B getUnique( int index, Object key ) {
+		return( root.get().unique[ index ].get( key ) );
+	}
+
+	/**
+	 *	@return	The records holding the key of a duplicate index.
+	 */
+	public List< B > getDuplicates( int index, Object key ) {
+		CFSecRamHamt< Object, B > bucket = root.get().duplicate[ index ].get( key );
+		if( bucket == null ) {
+			return( Collections.< B >emptyList() );
+		}
+		return( bucket.values() );
+	}
+
+	/**
+	 *	Apply an action to the records holding the key of a duplicate index,
+	 *	without copying them.
+	 */
+	public void forEachDuplicate( int index, Object key, Consumer< ? super B > action ) {
+		CFSecRamHamt< Object, B > bucket = root.get().duplicate[ index ].get( key );
+		if( bucket != null ) {
+			bucket.forEachValue( action );
+		}
+	}
+}
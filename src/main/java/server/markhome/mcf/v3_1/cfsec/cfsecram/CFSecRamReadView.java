@@ -0,0 +1,136 @@
+
+// Description: Java 25 snapshot read view for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+
+/*
+ *	CFSecRamReadView reads every table of a CFSecRamSchema as it was at
+ *	one point of the commit sequence, however long it stays open, without
+ *	holding any lock between calls.  Changes committed after the view was
+ *	opened, and changes of transactions still open, are not seen.
+ *
+ *	The records returned are the images held by the tables and the
+ *	version store, and must not be modified.  Views must be closed so the
+ *	versions they pin can be reclaimed.
+ */
+public class CFSecRamReadView
+	implements AutoCloseable
+{
+	private final CFSecRamSchema schema;
+	private final CFSecRamVersionStore store;
+	private final long seq;
+	private boolean closed = false;
+
+	public CFSecRamReadView( CFSecRamSchema argSchema, CFSecRamVersionStore argStore ) {
+		schema = argSchema;
+		store = argStore;
+		seq = store.openView();
+	}
+
+	/**
+	 *	@return	The commit sequence number the view reads at.
+	 */
+	public long getCommitSeq() {
+		return( seq );
+	}
+
+	/**
+	 *	Read every record of a table as of the view.
+	 *
+	 *	@param	buffClass	The buffer class stored by the table.
+	 *
+	 *	@return	The records, in no particular order.
+	 */
+	public < B > List< B > readAllRecs( Class< B > buffClass ) {
+		checkOpen();
+		int tableIndex = schema.getTableBindingIndexOf( buffClass );
+		CFSecRamTableBinding<?> binding = schema.getTableBindings().get( tableIndex );
+		List<?> current = binding.snapshotRecs();
+		List< CFSecRamVersionStore.Version > invisible = store.getInvisibleVersions( tableIndex, seq );
+		ArrayList< B > recs = new ArrayList< B >( current.size() );
+		if( invisible.isEmpty() ) {
+			for( Object rec : current ) {
+				recs.add( buffClass.cast( rec ) );
+			}
+			return( recs );
+		}
+		LinkedHashMap< Object, Object > byPKey = new LinkedHashMap< Object, Object >();
+		for( Object rec : current ) {
+			byPKey.put( binding.getPKey( rec ), rec );
+		}
+		for( int idx = invisible.size() - 1; idx >= 0; idx-- ) {
+			CFSecRamVersionStore.Version version = invisible.get( idx );
+			if( version.getBefore() == null ) {
+				byPKey.remove( version.getPKey() );
+			}
+			else {
+				byPKey.put( version.getPKey(), version.getBefore() );
+			}
+		}
+		for( Object rec : byPKey.values() ) {
+			recs.add( buffClass.cast( rec ) );
+		}
+		return( recs );
+	}
+
+	/**
+	 *	Read one record of a table as of the view.
+	 *
+	 *	@param	buffClass	The buffer class stored by the table.
+	 *
+	 *	@param	pkey	The primary key of the record.
+	 *
+	 *	@return	The record, or null if it did not exist.
+	 */
+	public < B > B readRec( Class< B > buffClass, Object pkey ) {
+		checkOpen();
+		int tableIndex = schema.getTableBindingIndexOf( buffClass );
+		Object rec = schema.getTableBindings().get( tableIndex ).lookupRec( pkey );
+		CFSecRamVersionStore.Version version = store.getOldestInvisibleVersion( tableIndex, pkey, seq );
+		if( version != null ) {
+			rec = version.getBefore();
+		}
+		return( buffClass.cast( rec ) );
+	}
+
+	private void checkOpen() {
+		if( closed ) {
+			throw new IllegalStateException( "The read view is closed" );
+		}
+	}
+
+	@Override
+	public void close() {
+		if( ! closed ) {
+			closed = true;
+			store.closeView( seq );
+		}
+	}
+}
@@ -0,0 +1,424 @@
+
+// Description: Java 25 binary record codec for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.io.*;
+import java.lang.reflect.*;
+import java.math.*;
+import java.nio.charset.*;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.*;
+import server.markhome.mcf.v3_1.cflib.dbutil.*;
+
+/*
+ *	CFSecRamRecordCodec encodes CFSecBuff records in a compact binary
+ *	form for the write-ahead log and snapshots of the RAM schema.
+ *
+ *	A record is encoded as the values of the public properties of its
+ *	class, in property name order, with no names or type information.
+ *	A property is a public getX() or isX() accessor with a matching
+ *	public setX() mutator of the same type, so only the state a buffer
+ *	exposes through its own accessors is written and restored.
+ *
+ *	The property layout of each class is computed once and can be written
+ *	to a stream header with writeLayout(), so a reader can refuse a file
+ *	written by an incompatible build with checkLayout().  A class with a
+ *	property of a type the codec cannot encode is rejected by checkClass(),
+ *	which the table bindings call as soon as the schema binds its tables.
+ */
+public class CFSecRamRecordCodec
+{
+	private static final byte T_BOOLEAN = 1;
+	private static final byte T_BYTE = 2;
+	private static final byte T_SHORT = 3;
+	private static final byte T_INT = 4;
+	private static final byte T_LONG = 5;
+	private static final byte T_FLOAT = 6;
+	private static final byte T_DOUBLE = 7;
+	private static final byte T_CHAR = 8;
+	private static final byte T_BOXED_BOOLEAN = 11;
+	private static final byte T_BOXED_BYTE = 12;
+	private static final byte T_BOXED_SHORT = 13;
+	private static final byte T_BOXED_INT = 14;
+	private static final byte T_BOXED_LONG = 15;
+	private static final byte T_BOXED_FLOAT = 16;
+	private static final byte T_BOXED_DOUBLE = 17;
+	private static final byte T_BOXED_CHAR = 18;
+	private static final byte T_STRING = 20;
+	private static final byte T_BYTES = 21;
+	private static final byte T_KEYHASH256 = 22;
+	private static final byte T_LOCALDATE = 23;
+	private static final byte T_LOCALTIME = 24;
+	private static final byte T_LOCALDATETIME = 25;
+	private static final byte T_BIGDECIMAL = 26;
+	private static final byte T_UUID = 27;
+
+	/*
+	 *	Properties derived from the other properties of a buffer, which
+	 *	are restored by restoring the properties they are derived from.
+	 */
+	private static final Set< String > DERIVED_PROPERTIES = Set.of( "PKey" );
+
+	private static final class Slot {
+		final String name;
+		final Method getter;
+		final Method setter;
+		final byte tag;
+
+		Slot( String argName, Method argGetter, Method argSetter, byte argTag ) {
+			name = argName;
+			getter = argGetter;
+			setter = argSetter;
+			tag = argTag;
+		}
+	}
+
+	private static final ConcurrentHashMap< Class<?>, Slot[] > layouts = new ConcurrentHashMap< Class<?>, Slot[] >();
+
+	private CFSecRamRecordCodec() {
+	}
+
+	/**
+	 *	Verify that every property of a class can be encoded.
+	 *
+	 *	@throws	IllegalArgumentException	if a property has a type the codec does not support.
+	 */
+	public static void checkClass( Class<?> recClass ) {
+		getLayout( recClass );
+	}
+
+	/**
+	 *	Write the values of a record.
+	 *
+	 *	@param	out	The stream to write to.
+	 *
+	 *	@param	rec	The record to encode, which must not be null.
+	 */
+	public static void writeRec( DataOutput out, Object rec ) throws IOException {
+		Slot[] slots = getLayout( rec.getClass() );
+		for( Slot slot : slots ) {
+			writeValue( out, slot, invoke( slot.getter, rec ) );
+		}
+	}
+
+	/**
+	 *	Read the values of a record written by writeRec() into a new instance.
+	 *
+	 *	@param	in	The stream to read from.
+	 *
+	 *	@param	rec	The record to populate, of the same class as the one written.
+	 */
+	public static void readRec( DataInput in, Object rec ) throws IOException {
+		Slot[] slots = getLayout( rec.getClass() );
+		for( Slot slot : slots ) {
+			invoke( slot.setter, rec, readValue( in, slot ) );
+		}
+	}
+
+	/**
+	 *	Write a description of the property layout of a class.
+	 */
+	public static void writeLayout( DataOutput out, Class<?> recClass ) throws IOException {
+		Slot[] slots = getLayout( recClass );
+		out.writeUTF( recClass.getName() );
+		out.writeShort( slots.length );
+		for( Slot slot : slots ) {
+			out.writeUTF( slot.name );
+			out.writeByte( slot.tag );
+		}
+	}
+
+	/**
+	 *	Read a layout written by writeLayout() and verify that it matches the
+	 *	layout of the class in this build.
+	 *
+	 *	@throws	IOException	if the layouts differ.
+	 */
+	public static void checkLayout( DataInput in, Class<?> recClass ) throws IOException {
+		Slot[] slots = getLayout( recClass );
+		String className = in.readUTF();
+		boolean matches = className.equals( recClass.getName() );
+		int count = in.readShort();
+		if( count != slots.length ) {
+			matches = false;
+		}
+		for( int idx = 0; idx < count; idx++ ) {
+			String propName = in.readUTF();
+			byte tag = in.readByte();
+			if( matches ) {
+				Slot slot = slots[idx];
+				matches = ( tag == slot.tag ) && propName.equals( slot.name );
+			}
+		}
+		if( ! matches ) {
+			throw new IOException( "Stored layout of " + className + " does not match " + recClass.getName() + " in this build" );
+		}
+	}
+
+	private static Object invoke( Method method, Object rec, Object... args ) throws IOException {
+		try {
+			return( method.invoke( rec, args ) );
+		}
+		catch( IllegalAccessException e ) {
+			throw new IOException( "Cannot call " + method.getName() + " of " + rec.getClass().getName(), e );
+		}
+		catch( InvocationTargetException e ) {
+			Throwable cause = e.getCause();
+			if( cause instanceof RuntimeException ) {
+				throw (RuntimeException)cause;
+			}
+			if( cause instanceof Error ) {
+				throw (Error)cause;
+			}
+			throw new IOException( method.getName() + " of " + rec.getClass().getName() + " failed", cause );
+		}
+	}
+
+	private static Slot[] getLayout( Class<?> recClass ) {
+		Slot[] slots = layouts.get( recClass );
+		if( slots == null ) {
+			slots = buildLayout( recClass );
+			Slot[] prior = layouts.putIfAbsent( recClass, slots );
+			if( prior != null ) {
+				slots = prior;
+			}
+		}
+		return( slots );
+	}
+
+	private static Slot[] buildLayout( Class<?> recClass ) {
+		if( ! Modifier.isPublic( recClass.getModifiers() ) ) {
+			throw new IllegalArgumentException( "Class " + recClass.getName() + " is not public and cannot be encoded" );
+		}
+		TreeMap< String, Slot > slots = new TreeMap< String, Slot >();
+		for( Method getter : recClass.getMethods() ) {
+			if( Modifier.isStatic( getter.getModifiers() )
+				|| ( getter.getParameterCount() != 0 )
+				|| ( getter.getDeclaringClass() == Object.class ) )
+			{
+				continue;
+			}
+			String getterName = getter.getName();
+			Class<?> type = getter.getReturnType();
+			String propName;
+			if( getterName.startsWith( "get" ) && ( getterName.length() > 3 ) ) {
+				propName = getterName.substring( 3 );
+			}
+			else if( getterName.startsWith( "is" ) && ( getterName.length() > 2 ) && ( type == boolean.class ) ) {
+				propName = getterName.substring( 2 );
+			}
+			else {
+				continue;
+			}
+			if( DERIVED_PROPERTIES.contains( propName ) ) {
+				continue;
+			}
+			Method setter;
+			try {
+				setter = recClass.getMethod( "set" + propName, type );
+			}
+			catch( NoSuchMethodException e ) {
+				continue;
+			}
+			if( Modifier.isStatic( setter.getModifiers() ) ) {
+				continue;
+			}
+			slots.put( propName, new Slot( propName, getter, setter, tagOf( recClass, propName, type ) ) );
+		}
+		return( slots.values().toArray( new Slot[ slots.size() ] ) );
+	}
+
+	private static byte tagOf( Class<?> recClass, String propName, Class<?> type ) {
+		if( type == boolean.class ) return( T_BOOLEAN );
+		if( type == byte.class ) return( T_BYTE );
+		if( type == short.class ) return( T_SHORT );
+		if( type == int.class ) return( T_INT );
+		if( type == long.class ) return( T_LONG );
+		if( type == float.class ) return( T_FLOAT );
+		if( type == double.class ) return( T_DOUBLE );
+		if( type == char.class ) return( T_CHAR );
+		if( type == Boolean.class ) return( T_BOXED_BOOLEAN );
+		if( type == Byte.class ) return( T_BOXED_BYTE );
+		if( type == Short.class ) return( T_BOXED_SHORT );
+		if( type == Integer.class ) return( T_BOXED_INT );
+		if( type == Long.class ) return( T_BOXED_LONG );
+		if( type == Float.class ) return( T_BOXED_FLOAT );
+		if( type == Double.class ) return( T_BOXED_DOUBLE );
+		if( type == Character.class ) return( T_BOXED_CHAR );
+		if( type == String.class ) return( T_STRING );
+		if( type == byte[].class ) return( T_BYTES );
+		if( type == CFLibDbKeyHash256.class ) return( T_KEYHASH256 );
+		if( type == LocalDate.class ) return( T_LOCALDATE );
+		if( type == LocalTime.class ) return( T_LOCALTIME );
+		if( type == LocalDateTime.class ) return( T_LOCALDATETIME );
+		if( type == BigDecimal.class ) return( T_BIGDECIMAL );
+		if( type == UUID.class ) return( T_UUID );
+		throw new IllegalArgumentException( "Property " + recClass.getName() + "." + propName
+			+ " of type " + type.getName() + " cannot be encoded" );
+	}
+
+	private static void writeValue( DataOutput out, Slot slot, Object value ) throws IOException {
+		switch( slot.tag ) {
+			case T_BOOLEAN: out.writeBoolean( (Boolean)value ); return;
+			case T_BYTE: out.writeByte( (Byte)value ); return;
+			case T_SHORT: out.writeShort( (Short)value ); return;
+			case T_INT: out.writeInt( (Integer)value ); return;
+			case T_LONG: out.writeLong( (Long)value ); return;
+			case T_FLOAT: out.writeFloat( (Float)value ); return;
+			case T_DOUBLE: out.writeDouble( (Double)value ); return;
+			case T_CHAR: out.writeChar( (Character)value ); return;
+			default:
+				break;
+		}
+		if( slot.tag == T_STRING ) {
+			writeBytes( out, ( value == null ) ? null : ((String)value).getBytes( StandardCharsets.UTF_8 ) );
+			return;
+		}
+		if( slot.tag == T_BYTES ) {
+			writeBytes( out, (byte[])value );
+			return;
+		}
+		if( slot.tag == T_KEYHASH256 ) {
+			writeBytes( out, ( value == null ) ? null : ((CFLibDbKeyHash256)value).getBytes() );
+			return;
+		}
+		out.writeBoolean( value != null );
+		if( value == null ) {
+			return;
+		}
+		switch( slot.tag ) {
+			case T_BOXED_BOOLEAN: out.writeBoolean( (Boolean)value ); break;
+			case T_BOXED_BYTE: out.writeByte( (Byte)value ); break;
+			case T_BOXED_SHORT: out.writeShort( (Short)value ); break;
+			case T_BOXED_INT: out.writeInt( (Integer)value ); break;
+			case T_BOXED_LONG: out.writeLong( (Long)value ); break;
+			case T_BOXED_FLOAT: out.writeFloat( (Float)value ); break;
+			case T_BOXED_DOUBLE: out.writeDouble( (Double)value ); break;
+			case T_BOXED_CHAR: out.writeChar( (Character)value ); break;
+			case T_LOCALDATE:
+				out.writeLong( ((LocalDate)value).toEpochDay() );
+				break;
+			case T_LOCALTIME:
+				out.writeLong( ((LocalTime)value).toNanoOfDay() );
+				break;
+			case T_LOCALDATETIME:
+				out.writeLong( ((LocalDateTime)value).toLocalDate().toEpochDay() );
+				out.writeLong( ((LocalDateTime)value).toLocalTime().toNanoOfDay() );
+				break;
+			case T_BIGDECIMAL:
+				out.writeInt( ((BigDecimal)value).scale() );
+				writeBytes( out, ((BigDecimal)value).unscaledValue().toByteArray() );
+				break;
+			case T_UUID:
+				out.writeLong( ((UUID)value).getMostSignificantBits() );
+				out.writeLong( ((UUID)value).getLeastSignificantBits() );
+				break;
+			default:
+				throw new IOException( "Unrecognized property tag " + slot.tag );
+		}
+	}
+
+	private static Object readValue( DataInput in, Slot slot ) throws IOException {
+		switch( slot.tag ) {
+			case T_BOOLEAN: return( in.readBoolean() );
+			case T_BYTE: return( in.readByte() );
+			case T_SHORT: return( in.readShort() );
+			case T_INT: return( in.readInt() );
+			case T_LONG: return( in.readLong() );
+			case T_FLOAT: return( in.readFloat() );
+			case T_DOUBLE: return( in.readDouble() );
+			case T_CHAR: return( in.readChar() );
+			default:
+				break;
+		}
+		if( slot.tag == T_STRING ) {
+			byte[] bytes = readBytes( in );
+			return( ( bytes == null ) ? null : new String( bytes, StandardCharsets.UTF_8 ) );
+		}
+		if( slot.tag == T_BYTES ) {
+			return( readBytes( in ) );
+		}
+		if( slot.tag == T_KEYHASH256 ) {
+			byte[] bytes = readBytes( in );
+			return( ( bytes == null ) ? null : new CFLibDbKeyHash256( bytes ) );
+		}
+		if( ! in.readBoolean() ) {
+			return( null );
+		}
+		switch( slot.tag ) {
+			case T_BOXED_BOOLEAN: return( in.readBoolean() );
+			case T_BOXED_BYTE: return( in.readByte() );
+			case T_BOXED_SHORT: return( in.readShort() );
+			case T_BOXED_INT: return( in.readInt() );
+			case T_BOXED_LONG: return( in.readLong() );
+			case T_BOXED_FLOAT: return( in.readFloat() );
+			case T_BOXED_DOUBLE: return( in.readDouble() );
+			case T_BOXED_CHAR: return( in.readChar() );
+			case T_LOCALDATE:
+				return( LocalDate.ofEpochDay( in.readLong() ) );
+			case T_LOCALTIME:
+				return( LocalTime.ofNanoOfDay( in.readLong() ) );
+			case T_LOCALDATETIME: {
+				LocalDate date = LocalDate.ofEpochDay( in.readLong() );
+				return( LocalDateTime.of( date, LocalTime.ofNanoOfDay( in.readLong() ) ) );
+			}
+			case T_BIGDECIMAL: {
+				int scale = in.readInt();
+				return( new BigDecimal( new BigInteger( readBytes( in ) ), scale ) );
+			}
+			case T_UUID: {
+				long msb = in.readLong();
+				return( new UUID( msb, in.readLong() ) );
+			}
+			default:
+				throw new IOException( "Unrecognized property tag " + slot.tag );
+		}
+	}
+
+	private static void writeBytes( DataOutput out, byte[] bytes ) throws IOException {
+		if( bytes == null ) {
+			out.writeInt( -1 );
+		}
+		else {
+			out.writeInt( bytes.length );
+			out.write( bytes );
+		}
+	}
+
+	private static byte[] readBytes( DataInput in ) throws IOException {
+		int len = in.readInt();
+		if( len < 0 ) {
+			return( null );
+		}
+		byte[] bytes = new byte[ len ];
+		in.readFully( bytes );
+		return( bytes );
+	}
+}
@@ -27,11 +27,17 @@
 
 package server.markhome.mcf.v3_1.cfsec.cfsecram;
 
+import java.io.*;
 import java.lang.reflect.*;
 import java.net.*;
+import java.nio.file.*;
 import java.sql.*;
 import java.text.*;
+import java.time.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
 
@@ -44,11 +50,24 @@ public class CFSecRamSchema
 	extends CFSecBuffSchema
 	implements ICFSecSchema
 {
-	protected short nextISOCcyIdGenValue = 1;
-	protected short nextISOCtryIdGenValue = 1;
-	protected short nextISOLangIdGenValue = 1;
-	protected short nextISOTZoneIdGenValue = 1;
-
+	protected final CFSecRamShortIdGenerator isoCcyIdGenerator = new CFSecRamShortIdGenerator( "ISOCcyId" );
+	protected final CFSecRamShortIdGenerator isoCtryIdGenerator = new CFSecRamShortIdGenerator( "ISOCtryId" );
+	protected final CFSecRamShortIdGenerator isoLangIdGenerator = new CFSecRamShortIdGenerator( "ISOLangId" );
+	protected final CFSecRamShortIdGenerator isoTZoneIdGenerator = new CFSecRamShortIdGenerator( "ISOTZoneId" );
+	protected boolean concurrentMode = false;
+	protected boolean persistentIndexes = false;
+	protected int pageSize = CFSecRamPager.DEFAULT_PAGE_SIZE;
+	protected CFSecRamKeyHashGenerator keyHashGenerator = new CFSecRamKeyHashGenerator();
+	protected List< CFSecRamTableBinding<?> > tableBindings = null;
+	protected Map< Class<?>, Integer > tableBindingIndexes = null;
+	protected volatile CFSecRamWriteAheadLog writeAheadLog = null;
+	protected ForkJoinPool restorePool = null;
+	protected volatile boolean bulkLoadMode = false;
+	protected final ThreadLocal< CFSecRamTransaction > transactions = new ThreadLocal< CFSecRamTransaction >();
+	protected final AtomicInteger openTransactions = new AtomicInteger();
+	protected volatile CFSecRamVersionStore versionStore = null;
+	protected CFSecRamSessionReaper sessionReaper = null;
+	protected CFSecRamSessionArchive sessionArchive = null;
 
 	public CFSecRamSchema() {
 		super();
@@ -75,116 +94,1120 @@ public class CFSecRamSchema
 		tableTenant = new CFSecRamTenantTable( this );
 	}
 
+	public boolean isConcurrentMode() {
+		return( concurrentMode );
+	}
+
+	/**
+	 *	Enable or disable concurrent mode.
+	 *	<P>
+	 *	In concurrent mode the SecSession, SecUser and SecGrpMemb tables, and
+	 *	the ISOCcy, ISOCtry, ISOLang and ISOTZone reference tables, guard their
+	 *	dictionaries with a per-table CFSecRamTableLock, so many threads can
+	 *	read them at once while writers are serialized per table.  The
+	 *	mode should be switched before the schema is shared between threads.
+	 *
+	 *	@param	value	True to enable per-table locking.
+	 */
+	public void setConcurrentMode( boolean value ) {
+		concurrentMode = value;
+		applyConcurrentMode();
+	}
+
+	protected void applyConcurrentMode() {
+		if( tableSecSession instanceof CFSecRamSecSessionTable ) {
+			((CFSecRamSecSessionTable)tableSecSession).getTableLock().setEnabled( concurrentMode );
+		}
+		if( tableSecUser instanceof CFSecRamSecUserTable ) {
+			((CFSecRamSecUserTable)tableSecUser).getTableLock().setEnabled( concurrentMode );
+		}
+		if( tableSecGrpMemb instanceof CFSecRamSecGrpMembTable ) {
+			((CFSecRamSecGrpMembTable)tableSecGrpMemb).getTableLock().setEnabled( concurrentMode );
+		}
+		if( tableISOCcy instanceof CFSecRamISOCcyTable ) {
+			((CFSecRamISOCcyTable)tableISOCcy).getTableLock().setEnabled( concurrentMode );
+		}
+		if( tableISOCtry instanceof CFSecRamISOCtryTable ) {
+			((CFSecRamISOCtryTable)tableISOCtry).getTableLock().setEnabled( concurrentMode );
+		}
+		if( tableISOLang instanceof CFSecRamISOLangTable ) {
+			((CFSecRamISOLangTable)tableISOLang).getTableLock().setEnabled( concurrentMode );
+		}
+		if( tableISOTZone instanceof CFSecRamISOTZoneTable ) {
+			((CFSecRamISOTZoneTable)tableISOTZone).getTableLock().setEnabled( concurrentMode );
+		}
+	}
+
+	public boolean isPersistentIndexesEnabled() {
+		return( persistentIndexes );
+	}
+
+	/**
+	 *	Enable or disable the persistent HAMT indexes of the SecSession, SecUser
+	 *	and SecGrpMemb tables.  With them enabled, the point and index reads of
+	 *	those tables take no lock at all; each write additionally publishes a
+	 *	new trie root that shares all unchanged nodes with the previous one.
+	 *
+	 *	@param	value	True to maintain and read from the persistent indexes.
+	 */
+	public void setPersistentIndexesEnabled( boolean value ) {
+		persistentIndexes = value;
+		applyPersistentIndexes();
+	}
+
+	protected void applyPersistentIndexes() {
+		if( tableSecSession instanceof CFSecRamSecSessionTable ) {
+			((CFSecRamSecSessionTable)tableSecSession).setPersistentIndexEnabled( persistentIndexes );
+		}
+		if( tableSecUser instanceof CFSecRamSecUserTable ) {
+			((CFSecRamSecUserTable)tableSecUser).setPersistentIndexEnabled( persistentIndexes );
+		}
+		if( tableSecGrpMemb instanceof CFSecRamSecGrpMembTable ) {
+			((CFSecRamSecGrpMembTable)tableSecGrpMemb).setPersistentIndexEnabled( persistentIndexes );
+		}
+	}
+
+	public int getPageSize() {
+		return( pageSize );
+	}
+
+	/**
+	 *	Set the number of rows returned by each pageAllRec() and
+	 *	pageRecBy*Idx() call of the RAM tables.
+	 *
+	 *	@param	value	The page size, which must be positive.
+	 */
+	public void setPageSize( int value ) {
+		if( value <= 0 ) {
+			throw new CFLibArgumentUnderflowException( getClass(),
+				"setPageSize",
+				1,
+				"value",
+				value,
+				1 );
+		}
+		pageSize = value;
+	}
+
+	public CFSecRamKeyHashGenerator getKeyHashGenerator() {
+		return( keyHashGenerator );
+	}
+
+	/**
+	 *	Replace the generator used for all the CFLibDbKeyHash256 ids of the schema.
+	 *	<P>
+	 *	A node restoring persisted state can install a generator with its own
+	 *	node id and a fresh epoch, so new ids can never collide with restored ones.
+	 *
+	 *	@param	value	The generator to use.
+	 */
+	public void setKeyHashGenerator( CFSecRamKeyHashGenerator value ) {
+		if( value == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				"setKeyHashGenerator",
+				1,
+				"value" );
+		}
+		keyHashGenerator = value;
+	}
+
+	/**
+	 *	Get the bindings of the RAM tables to the persistence machinery, in the
+	 *	fixed table order used by write-ahead logs and snapshots.
+	 *
+	 *	@return	The table bindings.
+	 */
+	public synchronized List< CFSecRamTableBinding<?> > getTableBindings() {
+		if( tableBindings == null ) {
+			ArrayList< CFSecRamTableBinding<?> > bindings = new ArrayList< CFSecRamTableBinding<?> >();
+			bindings.add( new CFSecRamTableBinding< CFSecBuffCluster >( "Cluster",
+				() -> (CFSecBuffCluster)getFactoryCluster().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamClusterTable)getTableCluster()).snapshotRecs(),
+				( recs ) -> ((CFSecRamClusterTable)getTableCluster()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamClusterTable)getTableCluster()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamClusterTable)getTableCluster()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffHostNode >( "HostNode",
+				() -> (CFSecBuffHostNode)getFactoryHostNode().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamHostNodeTable)getTableHostNode()).snapshotRecs(),
+				( recs ) -> ((CFSecRamHostNodeTable)getTableHostNode()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamHostNodeTable)getTableHostNode()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamHostNodeTable)getTableHostNode()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffISOCcy >( "ISOCcy",
+				() -> (CFSecBuffISOCcy)getFactoryISOCcy().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamISOCcyTable)getTableISOCcy()).snapshotRecs(),
+				( recs ) -> ((CFSecRamISOCcyTable)getTableISOCcy()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamISOCcyTable)getTableISOCcy()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamISOCcyTable)getTableISOCcy()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffISOCtry >( "ISOCtry",
+				() -> (CFSecBuffISOCtry)getFactoryISOCtry().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamISOCtryTable)getTableISOCtry()).snapshotRecs(),
+				( recs ) -> ((CFSecRamISOCtryTable)getTableISOCtry()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamISOCtryTable)getTableISOCtry()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamISOCtryTable)getTableISOCtry()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffISOCtryCcy >( "ISOCtryCcy",
+				() -> (CFSecBuffISOCtryCcy)getFactoryISOCtryCcy().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamISOCtryCcyTable)getTableISOCtryCcy()).snapshotRecs(),
+				( recs ) -> ((CFSecRamISOCtryCcyTable)getTableISOCtryCcy()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamISOCtryCcyTable)getTableISOCtryCcy()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamISOCtryCcyTable)getTableISOCtryCcy()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffISOCtryLang >( "ISOCtryLang",
+				() -> (CFSecBuffISOCtryLang)getFactoryISOCtryLang().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamISOCtryLangTable)getTableISOCtryLang()).snapshotRecs(),
+				( recs ) -> ((CFSecRamISOCtryLangTable)getTableISOCtryLang()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamISOCtryLangTable)getTableISOCtryLang()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamISOCtryLangTable)getTableISOCtryLang()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffISOLang >( "ISOLang",
+				() -> (CFSecBuffISOLang)getFactoryISOLang().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamISOLangTable)getTableISOLang()).snapshotRecs(),
+				( recs ) -> ((CFSecRamISOLangTable)getTableISOLang()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamISOLangTable)getTableISOLang()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamISOLangTable)getTableISOLang()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffISOTZone >( "ISOTZone",
+				() -> (CFSecBuffISOTZone)getFactoryISOTZone().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamISOTZoneTable)getTableISOTZone()).snapshotRecs(),
+				( recs ) -> ((CFSecRamISOTZoneTable)getTableISOTZone()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamISOTZoneTable)getTableISOTZone()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamISOTZoneTable)getTableISOTZone()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffSecDevice >( "SecDevice",
+				() -> (CFSecBuffSecDevice)getFactorySecDevice().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamSecDeviceTable)getTableSecDevice()).snapshotRecs(),
+				( recs ) -> ((CFSecRamSecDeviceTable)getTableSecDevice()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamSecDeviceTable)getTableSecDevice()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamSecDeviceTable)getTableSecDevice()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffSecGroup >( "SecGroup",
+				() -> (CFSecBuffSecGroup)getFactorySecGroup().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamSecGroupTable)getTableSecGroup()).snapshotRecs(),
+				( recs ) -> ((CFSecRamSecGroupTable)getTableSecGroup()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamSecGroupTable)getTableSecGroup()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamSecGroupTable)getTableSecGroup()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffSecGrpInc >( "SecGrpInc",
+				() -> (CFSecBuffSecGrpInc)getFactorySecGrpInc().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamSecGrpIncTable)getTableSecGrpInc()).snapshotRecs(),
+				( recs ) -> ((CFSecRamSecGrpIncTable)getTableSecGrpInc()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamSecGrpIncTable)getTableSecGrpInc()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamSecGrpIncTable)getTableSecGrpInc()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffSecGrpMemb >( "SecGrpMemb",
+				() -> (CFSecBuffSecGrpMemb)getFactorySecGrpMemb().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamSecGrpMembTable)getTableSecGrpMemb()).snapshotRecs(),
+				( recs ) -> ((CFSecRamSecGrpMembTable)getTableSecGrpMemb()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamSecGrpMembTable)getTableSecGrpMemb()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamSecGrpMembTable)getTableSecGrpMemb()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffSecSession >( "SecSession",
+				() -> (CFSecBuffSecSession)getFactorySecSession().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamSecSessionTable)getTableSecSession()).snapshotRecs(),
+				( recs ) -> ((CFSecRamSecSessionTable)getTableSecSession()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamSecSessionTable)getTableSecSession()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamSecSessionTable)getTableSecSession()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffSecUser >( "SecUser",
+				() -> (CFSecBuffSecUser)getFactorySecUser().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamSecUserTable)getTableSecUser()).snapshotRecs(),
+				( recs ) -> ((CFSecRamSecUserTable)getTableSecUser()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamSecUserTable)getTableSecUser()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamSecUserTable)getTableSecUser()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffService >( "Service",
+				() -> (CFSecBuffService)getFactoryService().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamServiceTable)getTableService()).snapshotRecs(),
+				( recs ) -> ((CFSecRamServiceTable)getTableService()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamServiceTable)getTableService()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamServiceTable)getTableService()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffServiceType >( "ServiceType",
+				() -> (CFSecBuffServiceType)getFactoryServiceType().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamServiceTypeTable)getTableServiceType()).snapshotRecs(),
+				( recs ) -> ((CFSecRamServiceTypeTable)getTableServiceType()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamServiceTypeTable)getTableServiceType()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamServiceTypeTable)getTableServiceType()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffSysCluster >( "SysCluster",
+				() -> (CFSecBuffSysCluster)getFactorySysCluster().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamSysClusterTable)getTableSysCluster()).snapshotRecs(),
+				( recs ) -> ((CFSecRamSysClusterTable)getTableSysCluster()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamSysClusterTable)getTableSysCluster()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamSysClusterTable)getTableSysCluster()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffTSecGroup >( "TSecGroup",
+				() -> (CFSecBuffTSecGroup)getFactoryTSecGroup().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamTSecGroupTable)getTableTSecGroup()).snapshotRecs(),
+				( recs ) -> ((CFSecRamTSecGroupTable)getTableTSecGroup()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamTSecGroupTable)getTableTSecGroup()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamTSecGroupTable)getTableTSecGroup()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffTSecGrpInc >( "TSecGrpInc",
+				() -> (CFSecBuffTSecGrpInc)getFactoryTSecGrpInc().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamTSecGrpIncTable)getTableTSecGrpInc()).snapshotRecs(),
+				( recs ) -> ((CFSecRamTSecGrpIncTable)getTableTSecGrpInc()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamTSecGrpIncTable)getTableTSecGrpInc()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamTSecGrpIncTable)getTableTSecGrpInc()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffTSecGrpMemb >( "TSecGrpMemb",
+				() -> (CFSecBuffTSecGrpMemb)getFactoryTSecGrpMemb().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamTSecGrpMembTable)getTableTSecGrpMemb()).snapshotRecs(),
+				( recs ) -> ((CFSecRamTSecGrpMembTable)getTableTSecGrpMemb()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamTSecGrpMembTable)getTableTSecGrpMemb()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamTSecGrpMembTable)getTableTSecGrpMemb()).undoRec( pkey, before ) ) );
+			bindings.add( new CFSecRamTableBinding< CFSecBuffTenant >( "Tenant",
+				() -> (CFSecBuffTenant)getFactoryTenant().newRec(),
+				( rec ) -> rec.getPKey(),
+				() -> ((CFSecRamTenantTable)getTableTenant()).snapshotRecs(),
+				( recs ) -> ((CFSecRamTenantTable)getTableTenant()).restoreRecs( recs ),
+				( pkey ) -> ((CFSecRamTenantTable)getTableTenant()).lookupRec( pkey ),
+				( pkey, before ) -> ((CFSecRamTenantTable)getTableTenant()).undoRec( pkey, before ) ) );
+			HashMap< Class<?>, Integer > indexes = new HashMap< Class<?>, Integer >();
+			for( int idx = 0; idx < bindings.size(); idx++ ) {
+				indexes.put( bindings.get( idx ).getBuffClass(), idx );
+			}
+			tableBindings = Collections.unmodifiableList( bindings );
+			tableBindingIndexes = indexes;
+		}
+		return( tableBindings );
+	}
+
+	/**
+	 *	Get the index of the table binding for a record.
+	 *
+	 *	@param	rec	A buffer record of one of the RAM tables.
+	 *
+	 *	@return	The index of the record's table in getTableBindings().
+	 */
+	public int getTableBindingIndex( Object rec ) {
+		return( getTableBindingIndexOf( rec.getClass() ) );
+	}
+
+	public int getTableBindingIndexOf( Class<?> buffClass ) {
+		getTableBindings();
+		Integer idx = tableBindingIndexes.get( buffClass );
+		if( idx == null ) {
+			throw new CFLibUnsupportedClassException( getClass(),
+				"getTableBindingIndexOf",
+				"buffClass",
+				buffClass,
+				"No RAM table stores " + buffClass.getName() );
+		}
+		return( idx );
+	}
+
+	public CFSecRamWriteAheadLog getWriteAheadLog() {
+		return( writeAheadLog );
+	}
+
+	/**
+	 *	Attach an append-only write-ahead log to the schema.
+	 *	<P>
+	 *	Any changes already recorded in the log are replayed over the current
+	 *	contents of the tables first, so opening the log of a previous run
+	 *	brings the schema back to the state it had when that run ended.  From
+	 *	then on every create, update and delete is recorded in the log before
+	 *	it returns, as durably as the durability setting requires.
+	 *	<P>
+	 *	The log must be opened before the schema is shared between threads.
+	 *
+	 *	@param	path	The log file, which is created if it does not exist.
+	 *
+	 *	@param	durability	How commits wait for the disk.
+	 *
+	 *	@param	groupCommitMicros	How long a GROUP commit lingers to gather other writers.
+	 *
+	 *	@return	The number of records replayed from the log.
+	 */
+	public synchronized long openWriteAheadLog( Path path,
+		CFSecRamWriteAheadLog.Durability durability,
+		long groupCommitMicros )
+		throws IOException
+	{
+		if( writeAheadLog != null ) {
+			throw new IOException( "A write-ahead log is already open on " + writeAheadLog.getPath() );
+		}
+		final List< CFSecRamTableBinding<?> > bindings = getTableBindings();
+		ArrayList< Class<?> > layouts = new ArrayList< Class<?> >();
+		for( CFSecRamTableBinding<?> binding : bindings ) {
+			layouts.add( binding.getBuffClass() );
+		}
+		CFSecRamWriteAheadLog log = new CFSecRamWriteAheadLog( path, durability, groupCommitMicros, layouts );
+		final ArrayList< LinkedHashMap< Object, Object > > staged = new ArrayList< LinkedHashMap< Object, Object > >();
+		for( int idx = 0; idx < bindings.size(); idx++ ) {
+			staged.add( null );
+		}
+		long count = log.replay( ( op, tableIndex, payload ) -> {
+			CFSecRamTableBinding<?> binding = bindings.get( tableIndex );
+			LinkedHashMap< Object, Object > recs = staged.get( tableIndex );
+			if( recs == null ) {
+				recs = new LinkedHashMap< Object, Object >();
+				for( Object rec : binding.snapshotRecs() ) {
+					recs.put( binding.getPKey( rec ), rec );
+				}
+				staged.set( tableIndex, recs );
+			}
+			Object rec = binding.newRec();
+			CFSecRamRecordCodec.readRec( payload, rec );
+			// An archived row is still held by its archive, so only the resident image drops it
+			if( ( op == CFSecRamWriteAheadLog.OP_DELETE ) || ( op == CFSecRamWriteAheadLog.OP_ARCHIVE ) ) {
+				recs.remove( binding.getPKey( rec ) );
+			}
+			else {
+				recs.put( binding.getPKey( rec ), rec );
+			}
+		} );
+		restoreStaged( staged );
+		if( count > 0L ) {
+			reseedShortIdGenerators();
+		}
+		writeAheadLog = log;
+		return( count );
+	}
+
+	/**
+	 *	Restore each table that has a staged image, in parallel on the restore pool.
+	 *
+	 *	@param	staged	The image of each table by table binding index, or null
+	 *		for the tables that are to be left alone.
+	 */
+	protected void restoreStaged( List< LinkedHashMap< Object, Object > > staged ) {
+		List< CFSecRamTableBinding<?> > bindings = getTableBindings();
+		ForkJoinPool pool = getRestorePool();
+		ArrayList< ForkJoinTask<?> > restores = new ArrayList< ForkJoinTask<?> >();
+		for( int idx = 0; idx < bindings.size(); idx++ ) {
+			final CFSecRamTableBinding<?> binding = bindings.get( idx );
+			final LinkedHashMap< Object, Object > recs = staged.get( idx );
+			if( recs != null ) {
+				restores.add( pool.submit( () -> binding.restoreRecs( recs.values() ) ) );
+			}
+		}
+		CFSecRamForkJoin.joinAll( restores );
+	}
+
+	/**
+	 *	Flush and detach the write-ahead log, if one is open.
+	 */
+	public synchronized void closeWriteAheadLog() throws IOException {
+		CFSecRamWriteAheadLog log = writeAheadLog;
+		writeAheadLog = null;
+		if( log != null ) {
+			log.close();
+		}
+	}
+
+	/**
+	 *	Record a change in the write-ahead log, if one is open.
+	 *
+	 *	@return	The log sequence number to pass to awaitJournal(), or 0.
+	 */
+	public long journalRec( byte op, Object rec ) {
+		CFSecRamWriteAheadLog log = writeAheadLog;
+		if( log == null ) {
+			return( 0L );
+		}
+		return( log.append( op, getTableBindingIndex( rec ), rec ) );
+	}
+
+	public void awaitJournal( long lsn ) {
+		CFSecRamWriteAheadLog log = writeAheadLog;
+		if( ( log != null ) && ( lsn > 0L ) ) {
+			log.await( lsn );
+		}
+	}
+
+	/**
+	 *	Get the pool used to restore the tables and rebuild their indexes in
+	 *	parallel when a snapshot is read or a write-ahead log is replayed.
+	 *
+	 *	@return	The restore pool, by default the common fork/join pool.
+	 */
+	public ForkJoinPool getRestorePool() {
+		if( restorePool == null ) {
+			return( ForkJoinPool.commonPool() );
+		}
+		return( restorePool );
+	}
+
+	public void setRestorePool( ForkJoinPool value ) {
+		restorePool = value;
+	}
+
+	/**
+	 *	Write a binary snapshot of every table.  If a write-ahead log is open
+	 *	it is reset afterwards, as the snapshot now holds everything it recorded.
+	 *	No changes may be made to the schema while the snapshot is written.
+	 *
+	 *	@param	path	The snapshot file to write.
+	 *
+	 *	@return	The number of records written.
+	 */
+	public synchronized long writeSnapshot( Path path ) throws IOException {
+		long count = CFSecRamSnapshot.write( this, path );
+		CFSecRamWriteAheadLog log = writeAheadLog;
+		if( log != null ) {
+			log.reset();
+		}
+		return( count );
+	}
+
+	/**
+	 *	Replace the contents of every table with a snapshot written by
+	 *	writeSnapshot().  To recover the state of a previous run, read its last
+	 *	snapshot first and then open its write-ahead log.
+	 *
+	 *	@param	path	The snapshot file to read.
+	 *
+	 *	@return	The number of records read.
+	 */
+	public synchronized long readSnapshot( Path path ) throws IOException {
+		if( writeAheadLog != null ) {
+			throw new IOException( "Snapshots cannot be read while a write-ahead log is open" );
+		}
+		return( CFSecRamSnapshot.read( this, path ) );
+	}
+
+	/**
+	 *	@return	True if the calling thread has a transaction open.
+	 */
+	public boolean isInTransaction() {
+		return( ( openTransactions.get() > 0 ) && ( transactions.get() != null ) );
+	}
+
+	/**
+	 *	Begin a transaction on the calling thread.  If one is already open the
+	 *	new transaction is nested in it, and its commit or rollback only
+	 *	affects the changes made since it began.
+	 *	<P>
+	 *	Transactions give atomicity, not isolation: other threads see each
+	 *	change as soon as it is made.  A rollback puts back the rows the
+	 *	transaction changed one at a time, so other threads may go on writing
+	 *	other rows of the same tables while it runs.
+	 */
+	public void beginTransaction() {
+		CFSecRamTransaction txn = transactions.get();
+		if( txn == null ) {
+			transactions.set( new CFSecRamTransaction() );
+			openTransactions.incrementAndGet();
+		}
+		else {
+			txn.pushSavepoint();
+		}
+	}
+
+	/**
+	 *	Commit the innermost transaction of the calling thread.
+	 */
+	public void commitTransaction() {
+		CFSecRamTransaction txn = transactions.get();
+		if( txn == null ) {
+			throw new IllegalStateException( "No transaction is open" );
+		}
+		if( txn.getDepth() > 0 ) {
+			txn.releaseSavepoint();
+		}
+		else {
+			endTransaction();
+			publishVersions( txn.getChanges() );
+			for( CFSecRamTransaction.Change change : txn.getChanges() ) {
+				if( change.getAfter() == null ) {
+					releaseShortId( change.getBefore() );
+				}
+			}
+		}
+	}
+
+	/**
+	 *	Undo the changes made by the innermost transaction of the calling
+	 *	thread and end it.  Each change is undone in place by its table,
+	 *	newest first, and journalled to the write-ahead log, if one is open,
+	 *	as a compensating update or delete.
+	 */
+	public void rollbackTransaction() {
+		CFSecRamTransaction txn = transactions.get();
+		if( txn == null ) {
+			throw new IllegalStateException( "No transaction is open" );
+		}
+		boolean outermost = ( txn.getDepth() == 0 );
+		List< CFSecRamTransaction.Change > undone = txn.popChanges();
+		if( outermost ) {
+			endTransaction();
+		}
+		if( undone.isEmpty() ) {
+			return;
+		}
+		List< CFSecRamTableBinding<?> > bindings = getTableBindings();
+		long lsn = 0L;
+		for( CFSecRamTransaction.Change change : undone ) {
+			CFSecRamTableBinding<?> binding = bindings.get( change.getTableIndex() );
+			lsn = Math.max( lsn, binding.undoRec( change.getPKey(), change.getBefore() ) );
+		}
+		publishVersions( undone );
+		for( CFSecRamTransaction.Change change : undone ) {
+			if( change.getBefore() == null ) {
+				releaseShortId( change.getAfter() );
+			}
+		}
+		if( lsn > 0L ) {
+			awaitJournal( lsn );
+		}
+	}
+
+	protected void publishVersions( List< CFSecRamTransaction.Change > changes ) {
+		CFSecRamVersionStore store = versionStore;
+		if( store == null ) {
+			return;
+		}
+		ArrayList< CFSecRamVersionStore.Version > pending = new ArrayList< CFSecRamVersionStore.Version >( changes.size() );
+		for( CFSecRamTransaction.Change change : changes ) {
+			if( change.getVersion() != null ) {
+				pending.add( change.getVersion() );
+			}
+		}
+		store.publish( pending );
+	}
+
+	protected void endTransaction() {
+		transactions.remove();
+		openTransactions.decrementAndGet();
+	}
+
+	/**
+	 *	Run an action as a transaction on the calling thread, rolling back
+	 *	its changes if it throws.
+	 *
+	 *	@param	action	The action to run.
+	 */
+	public void runInTransaction( Runnable action ) {
+		beginTransaction();
+		boolean committed = false;
+		try {
+			action.run();
+			commitTransaction();
+			committed = true;
+		}
+		finally {
+			if( ! committed ) {
+				rollbackTransaction();
+			}
+		}
+	}
+
+	/**
+	 *	Add a change to the undo log of the calling thread's transaction and,
+	 *	when snapshot reads are enabled, to the version store.  Called by the
+	 *	tables for every create, update and delete, while they still hold
+	 *	their table lock.
+	 *
+	 *	@param	before	The row image replaced, or null for a create.
+	 *
+	 *	@param	after	The row image written, or null for a delete.
+	 */
+	public void recordChange( Object before, Object after ) {
+		CFSecRamVersionStore store = versionStore;
+		CFSecRamTransaction txn = ( openTransactions.get() == 0 ) ? null : transactions.get();
+		if( ( txn == null ) && ( after == null ) ) {
+			releaseShortId( before );
+		}
+		if( ( store == null ) && ( txn == null ) ) {
+			return;
+		}
+		Object rec = ( before != null ) ? before : after;
+		int tableIndex = getTableBindingIndex( rec );
+		Object pkey = getTableBindings().get( tableIndex ).getPKey( rec );
+		if( txn == null ) {
+			store.addCommitted( tableIndex, pkey, before );
+		}
+		else {
+			CFSecRamVersionStore.Version version = null;
+			if( store != null ) {
+				version = store.addPending( tableIndex, pkey, before );
+			}
+			txn.add( new CFSecRamTransaction.Change( tableIndex, pkey, before, after, version ) );
+		}
+	}
+
+	public boolean isSnapshotReadsEnabled() {
+		return( versionStore != null );
+	}
+
+	/**
+	 *	Enable or disable snapshot reads.  While they are enabled every change
+	 *	is stamped with a global commit sequence number and the images it
+	 *	replaces are kept for as long as an open read view may need them.
+	 *	Disabling them invalidates the views still open.
+	 *	<P>
+	 *	Views are consistent across the tables guarded by table locks in
+	 *	concurrent mode, and across all tables when writes are single threaded.
+	 *	Restoring a snapshot or write-ahead log, and discarding a bulk load,
+	 *	replace rows without versions and must not overlap open views.
+	 */
+	public synchronized void setSnapshotReadsEnabled( boolean value ) {
+		if( value && ( versionStore == null ) ) {
+			versionStore = new CFSecRamVersionStore( getTableBindings().size(), CFSecRamVersionStore.DEFAULT_RECLAIM_MILLIS );
+		}
+		else if( ( ! value ) && ( versionStore != null ) ) {
+			versionStore.close();
+			versionStore = null;
+		}
+	}
+
+	/**
+	 *	Open a read view of every table as of the latest commit.  The view
+	 *	never blocks writers and must be closed when no longer needed.
+	 *
+	 *	@return	The read view.
+	 */
+	public CFSecRamReadView openReadView() {
+		CFSecRamVersionStore store = versionStore;
+		if( store == null ) {
+			throw new IllegalStateException( "Snapshot reads are not enabled" );
+		}
+		return( new CFSecRamReadView( this, store ) );
+	}
+
+	public synchronized CFSecRamSessionReaper getSessionReaper() {
+		return( sessionReaper );
+	}
+
+	/**
+	 *	Start expiring idle sessions in the background, replacing any reaper
+	 *	already running.  A session expires once the timeout has passed since
+	 *	its Start or since its last CFSecRamSessionReaper.touch(), whichever
+	 *	is later.
+	 *
+	 *	@param	Authorization	The authorization used to close or purge sessions.
+	 *
+	 *	@param	idleTimeout	How long a session may stay idle.
+	 *
+	 *	@param	purge	True to delete expired sessions, false to close them by
+	 *		setting their Finish.
+	 *
+	 *	@return	The running reaper.
+	 */
+	public synchronized CFSecRamSessionReaper startSessionReaper( ICFSecAuthorization Authorization,
+		Duration idleTimeout,
+		boolean purge )
+	{
+		stopSessionReaper();
+		if( ! ( tableSecSession instanceof CFSecRamSecSessionTable ) ) {
+			return( null );
+		}
+		CFSecRamSessionReaper reaper = new CFSecRamSessionReaper( this,
+			Authorization,
+			idleTimeout,
+			purge,
+			Clock.systemDefaultZone(),
+			CFSecRamSessionReaper.DEFAULT_TICK_MILLIS,
+			CFSecRamSessionReaper.DEFAULT_BATCH_SIZE );
+		((CFSecRamSecSessionTable)tableSecSession).setSessionReaper( reaper );
+		reaper.start();
+		sessionReaper = reaper;
+		return( reaper );
+	}
+
+	public synchronized void stopSessionReaper() {
+		if( sessionReaper == null ) {
+			return;
+		}
+		if( tableSecSession instanceof CFSecRamSecSessionTable ) {
+			((CFSecRamSecSessionTable)tableSecSession).setSessionReaper( null );
+		}
+		sessionReaper.close();
+		sessionReaper = null;
+	}
+
+	public synchronized CFSecRamSessionArchive getSessionArchive() {
+		return( sessionArchive );
+	}
+
+	/**
+	 *	Open a session archive and attach it to the SecSession table, so
+	 *	finished sessions can be migrated to it with
+	 *	CFSecRamSecSessionTable.archiveFinishedBefore() and are still found
+	 *	by id and by SecUser afterwards.
+	 *
+	 *	@param	path	The archive file, which is created if it does not exist.
+	 *
+	 *	@return	The number of sessions already in the archive.
+	 */
+	public synchronized int openSessionArchive( Path path ) throws IOException {
+		if( sessionArchive != null ) {
+			throw new IOException( "A session archive is already open on " + sessionArchive.getPath() );
+		}
+		if( ! ( tableSecSession instanceof CFSecRamSecSessionTable ) ) {
+			return( 0 );
+		}
+		CFSecRamSessionArchive archive = new CFSecRamSessionArchive( path,
+			() -> (CFSecBuffSecSession)getFactorySecSession().newRec() );
+		int count = archive.open();
+		((CFSecRamSecSessionTable)tableSecSession).setSessionArchive( archive );
+		sessionArchive = archive;
+		return( count );
+	}
+
+	/**
+	 *	Detach and close the session archive, if one is open.
+	 */
+	public synchronized void closeSessionArchive() throws IOException {
+		CFSecRamSessionArchive archive = sessionArchive;
+		sessionArchive = null;
+		if( archive != null ) {
+			if( tableSecSession instanceof CFSecRamSecSessionTable ) {
+				((CFSecRamSecSessionTable)tableSecSession).setSessionArchive( null );
+			}
+			archive.close();
+		}
+	}
+
+	public boolean isBulkLoadMode() {
+		return( bulkLoadMode );
+	}
+
+	/**
+	 *	@return	True if the schema is a CFSecRamSchema that is bulk loading.
+	 */
+	public static boolean isBulkLoading( ICFSecSchema schema ) {
+		return( ( schema instanceof CFSecRamSchema ) && ((CFSecRamSchema)schema).bulkLoadMode );
+	}
+
+	/**
+	 *	@return	The tables in the fixed table order of getTableBindings().
+	 */
+	protected List< CFSecRamBulkLoadTable > getBulkLoadTables() {
+		return( Arrays.asList(
+			(CFSecRamBulkLoadTable)getTableCluster(),
+			(CFSecRamBulkLoadTable)getTableHostNode(),
+			(CFSecRamBulkLoadTable)getTableISOCcy(),
+			(CFSecRamBulkLoadTable)getTableISOCtry(),
+			(CFSecRamBulkLoadTable)getTableISOCtryCcy(),
+			(CFSecRamBulkLoadTable)getTableISOCtryLang(),
+			(CFSecRamBulkLoadTable)getTableISOLang(),
+			(CFSecRamBulkLoadTable)getTableISOTZone(),
+			(CFSecRamBulkLoadTable)getTableSecDevice(),
+			(CFSecRamBulkLoadTable)getTableSecGroup(),
+			(CFSecRamBulkLoadTable)getTableSecGrpInc(),
+			(CFSecRamBulkLoadTable)getTableSecGrpMemb(),
+			(CFSecRamBulkLoadTable)getTableSecSession(),
+			(CFSecRamBulkLoadTable)getTableSecUser(),
+			(CFSecRamBulkLoadTable)getTableService(),
+			(CFSecRamBulkLoadTable)getTableServiceType(),
+			(CFSecRamBulkLoadTable)getTableSysCluster(),
+			(CFSecRamBulkLoadTable)getTableTSecGroup(),
+			(CFSecRamBulkLoadTable)getTableTSecGrpInc(),
+			(CFSecRamBulkLoadTable)getTableTSecGrpMemb(),
+			(CFSecRamBulkLoadTable)getTableTenant() ) );
+	}
+
+	/**
+	 *	Enter bulk load mode.
+	 *	<P>
+	 *	Until endBulkLoad() or abortBulkLoad() is called, creates skip their
+	 *	foreign key lookups and unique index probes.  Those checks are made once
+	 *	for all the new rows by endBulkLoad(), so parents may also be loaded after
+	 *	their children.  The schema must not be used by other writers meanwhile,
+	 *	as their rows would become part of the load.
+	 */
+	public synchronized void beginBulkLoad() {
+		if( bulkLoadMode ) {
+			throw new IllegalStateException( "A bulk load is already in progress" );
+		}
+		bulkLoadMode = true;
+	}
+
+	/**
+	 *	Leave bulk load mode, checking every row created since beginBulkLoad()
+	 *	against the unique indexes and foreign keys of its table.  If any check
+	 *	fails, all of those rows are removed again.
+	 *
+	 *	@param	Authorization	The authorization used to probe referenced tables.
+	 *
+	 *	@return	A message for every violation found, or an empty list if the
+	 *		loaded rows were kept.
+	 */
+	public synchronized List< String > endBulkLoad( ICFSecAuthorization Authorization ) {
+		if( ! bulkLoadMode ) {
+			throw new IllegalStateException( "No bulk load is in progress" );
+		}
+		List< CFSecRamBulkLoadTable > tables = getBulkLoadTables();
+		ArrayList< String > violations = new ArrayList< String >();
+		for( CFSecRamBulkLoadTable table : tables ) {
+			table.collectBulkLoadViolations( Authorization, violations );
+		}
+		if( violations.isEmpty() ) {
+			for( CFSecRamBulkLoadTable table : tables ) {
+				table.endBulkLoad();
+			}
+			bulkLoadMode = false;
+		}
+		else {
+			abortBulkLoad();
+		}
+		return( violations );
+	}
+
+	/**
+	 *	Leave bulk load mode, removing every row created since beginBulkLoad().
+	 */
+	public synchronized void abortBulkLoad() {
+		if( ! bulkLoadMode ) {
+			throw new IllegalStateException( "No bulk load is in progress" );
+		}
+		for( CFSecRamBulkLoadTable table : getBulkLoadTables() ) {
+			table.discardBulkLoad();
+		}
+		reseedShortIdGenerators();
+		bulkLoadMode = false;
+	}
+
 	@Override
 	public ICFSecSchema newSchema() {
 		throw new CFLibMustOverrideException( getClass(), "newSchema" );
 	}
 
+	/**
+	 *	Reseed the ISOCcy, ISOCtry, ISOLang and ISOTZone id generators from the
+	 *	rows currently held by their tables.  Call this after the reference data
+	 *	has been reloaded and before any further rows are created.
+	 */
+	public void reseedShortIdGenerators() {
+		ArrayList< Short > ids = new ArrayList< Short >();
+		for( ICFSecISOCcy rec : tableISOCcy.readAllDerived( null ) ) {
+			ids.add( rec.getRequiredISOCcyId() );
+		}
+		isoCcyIdGenerator.reseed( ids );
+		ids.clear();
+		for( ICFSecISOCtry rec : tableISOCtry.readAllDerived( null ) ) {
+			ids.add( rec.getRequiredISOCtryId() );
+		}
+		isoCtryIdGenerator.reseed( ids );
+		ids.clear();
+		for( ICFSecISOLang rec : tableISOLang.readAllDerived( null ) ) {
+			ids.add( rec.getRequiredISOLangId() );
+		}
+		isoLangIdGenerator.reseed( ids );
+		ids.clear();
+		for( ICFSecISOTZone rec : tableISOTZone.readAllDerived( null ) ) {
+			ids.add( rec.getRequiredISOTZoneId() );
+		}
+		isoTZoneIdGenerator.reseed( ids );
+	}
+
+	/**
+	 *	Return the id of a deleted ISOCcy, ISOCtry, ISOLang or ISOTZone row to
+	 *	its generator.  Ids are only released once the delete has committed, or
+	 *	when the create that allocated them is rolled back, so a rollback can
+	 *	never restore a row whose id has since been handed out again.
+	 *
+	 *	@param	rec	The deleted row image.  Rows of other tables are ignored.
+	 */
+	protected void releaseShortId( Object rec ) {
+		if( rec instanceof ICFSecISOCcy ) {
+			isoCcyIdGenerator.release( ((ICFSecISOCcy)rec).getRequiredISOCcyId() );
+		}
+		else if( rec instanceof ICFSecISOCtry ) {
+			isoCtryIdGenerator.release( ((ICFSecISOCtry)rec).getRequiredISOCtryId() );
+		}
+		else if( rec instanceof ICFSecISOLang ) {
+			isoLangIdGenerator.release( ((ICFSecISOLang)rec).getRequiredISOLangId() );
+		}
+		else if( rec instanceof ICFSecISOTZone ) {
+			isoTZoneIdGenerator.release( ((ICFSecISOTZone)rec).getRequiredISOTZoneId() );
+		}
+	}
+
 	@Override
 	public short nextISOCcyIdGen() {
-		short next = nextISOCcyIdGenValue++;
+		short next = isoCcyIdGenerator.next();
 		return( next );
 	}
 
 	@Override
 	public short nextISOCtryIdGen() {
-		short next = nextISOCtryIdGenValue++;
+		short next = isoCtryIdGenerator.next();
 		return( next );
 	}
 
 	@Override
 	public short nextISOLangIdGen() {
-		short next = nextISOLangIdGenValue++;
+		short next = isoLangIdGenerator.next();
 		return( next );
 	}
 
 	@Override
 	public short nextISOTZoneIdGen() {
-		short next = nextISOTZoneIdGenValue++;
+		short next = isoTZoneIdGenerator.next();
 		return( next );
 	}
 
 	@Override
 	public CFLibDbKeyHash256 nextClusterIdGen() {
-		CFLibDbKeyHash256 retval = new CFLibDbKeyHash256(0);
+		CFLibDbKeyHash256 retval = keyHashGenerator.next();
 		return( retval );
 	}
 
 	@Override
 	public CFLibDbKeyHash256 nextSecSessionIdGen() {
-		CFLibDbKeyHash256 retval = new CFLibDbKeyHash256(0);
+		CFLibDbKeyHash256 retval = keyHashGenerator.next();
 		return( retval );
 	}
 
 	@Override
 	public CFLibDbKeyHash256 nextSecUserIdGen() {
-		CFLibDbKeyHash256 retval = new CFLibDbKeyHash256(0);
+		CFLibDbKeyHash256 retval = keyHashGenerator.next();
 		return( retval );
 	}
 
 	@Override
 	public CFLibDbKeyHash256 nextServiceTypeIdGen() {
-		CFLibDbKeyHash256 retval = new CFLibDbKeyHash256(0);
+		CFLibDbKeyHash256 retval = keyHashGenerator.next();
 		return( retval );
 	}
 
 	@Override
 	public CFLibDbKeyHash256 nextTenantIdGen() {
-		CFLibDbKeyHash256 retval = new CFLibDbKeyHash256(0);
+		CFLibDbKeyHash256 retval = keyHashGenerator.next();
 		return( retval );
 	}
 
 	@Override
 	public CFLibDbKeyHash256 nextHostNodeIdGen() {
-		CFLibDbKeyHash256 retval = new CFLibDbKeyHash256(0);
+		CFLibDbKeyHash256 retval = keyHashGenerator.next();
 		return( retval );
 	}
 
 	@Override
 	public CFLibDbKeyHash256 nextSecGroupIdGen() {
-		CFLibDbKeyHash256 retval = new CFLibDbKeyHash256(0);
+		CFLibDbKeyHash256 retval = keyHashGenerator.next();
 		return( retval );
 	}
 
 	@Override
 	public CFLibDbKeyHash256 nextSecGrpIncIdGen() {
-		CFLibDbKeyHash256 retval = new CFLibDbKeyHash256(0);
+		CFLibDbKeyHash256 retval = keyHashGenerator.next();
 		return( retval );
 	}
 
 	@Override
 	public CFLibDbKeyHash256 nextSecGrpMembIdGen() {
-		CFLibDbKeyHash256 retval = new CFLibDbKeyHash256(0);
+		CFLibDbKeyHash256 retval = keyHashGenerator.next();
 		return( retval );
 	}
 
 	@Override
 	public CFLibDbKeyHash256 nextServiceIdGen() {
-		CFLibDbKeyHash256 retval = new CFLibDbKeyHash256(0);
+		CFLibDbKeyHash256 retval = keyHashGenerator.next();
 		return( retval );
 	}
 
 	@Override
 	public CFLibDbKeyHash256 nextTSecGroupIdGen() {
-		CFLibDbKeyHash256 retval = new CFLibDbKeyHash256(0);
+		CFLibDbKeyHash256 retval = keyHashGenerator.next();
 		return( retval );
 	}
 
 	@Override
 	public CFLibDbKeyHash256 nextTSecGrpIncIdGen() {
-		CFLibDbKeyHash256 retval = new CFLibDbKeyHash256(0);
+		CFLibDbKeyHash256 retval = keyHashGenerator.next();
 		return( retval );
 	}
 
 	@Override
 	public CFLibDbKeyHash256 nextTSecGrpMembIdGen() {
-		CFLibDbKeyHash256 retval = new CFLibDbKeyHash256(0);
+		CFLibDbKeyHash256 retval = keyHashGenerator.next();
 		return( retval );
 	}
 
+	/**
+	 *	Import an XML document in bulk load mode.  The document is only kept
+	 *	if every row it creates satisfies the unique indexes and foreign keys
+	 *	of its table; otherwise each violation is passed to the log sink and
+	 *	none of the rows are kept.
+	 *
+	 *	@param	Authorization	The authorization of the importing session.
+	 *
+	 *	@param	fileName	The name of the document, used in messages.
+	 *
+	 *	@param	fileContent	The XML document to import.
+	 *
+	 *	@param	logSink	Receives the import log lines and then the violations,
+	 *		or null to discard them.
+	 *
+	 *	@return	The violations found, or an empty list if the document was imported.
+	 */
+	public List< String > bulkImport( CFSecAuthorization Authorization,
+		String fileName,
+		String fileContent,
+		Consumer< String > logSink )
+	{
+		beginBulkLoad();
+		String logFileContent;
+		boolean parsed = false;
+		try {
+			logFileContent = fileImport( Authorization, fileName, fileContent, false );
+			parsed = true;
+		}
+		finally {
+			if( ! parsed ) {
+				abortBulkLoad();
+			}
+		}
+		List< String > violations = endBulkLoad( Authorization );
+		if( logSink != null ) {
+			logFileContent.lines().forEach( logSink );
+			for( String violation : violations ) {
+				logSink.accept( violation );
+			}
+		}
+		return( violations );
+	}
+
+	protected CFSecSaxLoader newImportLoader( CFSecAuthorization Authorization,
+		CFLibCachedMessageLog runlog )
+	{
+		CFSecSaxLoader saxLoader = new CFSecSaxLoader();
+		ICFSecSchemaObj schemaObj = new CFSecSchemaObj();
+		schemaObj.setCFSecBackingStore( this );
+		saxLoader.setSchemaObj( schemaObj );
+		ICFSecClusterObj useCluster = schemaObj.getClusterTableObj().readClusterByIdIdx( Authorization.getSecClusterId() );
+		ICFSecTenantObj useTenant = schemaObj.getTenantTableObj().readTenantByIdIdx( Authorization.getSecTenantId() );
+		saxLoader.setLog( runlog );
+		saxLoader.setUseCluster( useCluster );
+		saxLoader.setUseTenant( useTenant );
+		return( saxLoader );
+	}
+
 	public String fileImport( CFSecAuthorization Authorization,
 		String fileName,
 		String fileContent )
+	{
+		return( fileImport( Authorization, fileName, fileContent, false ) );
+	}
+
+	/**
+	 *	Import an XML document, optionally as one transaction.
+	 *
+	 *	@param	Authorization	The authorization of the importing session.
+	 *
+	 *	@param	fileName	The name of the document, used in messages.
+	 *
+	 *	@param	fileContent	The XML document to import.
+	 *
+	 *	@param	atomic	True to import the document as one transaction, so a
+	 *		failure keeps none of it.  The undo log then holds every row the
+	 *		document creates until the import ends.
+	 *
+	 *	@return	The import log.
+	 */
+	public String fileImport( CFSecAuthorization Authorization,
+		String fileName,
+		String fileContent,
+		boolean atomic )
 	{
 		final String S_ProcName = "fileImport";
 		if( ( fileName == null ) || ( fileName.length() <= 0 ) ) {
@@ -200,17 +1223,14 @@ public class CFSecRamSchema
 				"fileContent" );
 		}
 
-		CFSecSaxLoader saxLoader = new CFSecSaxLoader();
-		ICFSecSchemaObj schemaObj = new CFSecSchemaObj();
-		schemaObj.setCFSecBackingStore( this );
-		saxLoader.setSchemaObj( schemaObj );
-		ICFSecClusterObj useCluster = schemaObj.getClusterTableObj().readClusterByIdIdx( Authorization.getSecClusterId() );
-		ICFSecTenantObj useTenant = schemaObj.getTenantTableObj().readTenantByIdIdx( Authorization.getSecTenantId() );
 		CFLibCachedMessageLog runlog = new CFLibCachedMessageLog();
-		saxLoader.setLog( runlog );
-		saxLoader.setUseCluster( useCluster );
-		saxLoader.setUseTenant( useTenant );
-		saxLoader.parseStringContents( fileContent );
+		CFSecSaxLoader saxLoader = newImportLoader( Authorization, runlog );
+		if( atomic ) {
+			runInTransaction( () -> saxLoader.parseStringContents( fileContent ) );
+		}
+		else {
+			saxLoader.parseStringContents( fileContent );
+		}
 		String logFileContent = runlog.getCacheContents();
 		if( logFileContent == null ) {
 			logFileContent = "";
@@ -285,5 +1305,7 @@ public class CFSecRamSchema
 		if (tableTSecGrpMemb == null || !(tableTSecGrpMemb instanceof CFSecRamTSecGrpMembTable)) {
 			tableTSecGrpMemb = new CFSecRamTSecGrpMembTable(this);
 		}
+		applyConcurrentMode();
+		applyPersistentIndexes();
 	}
 }
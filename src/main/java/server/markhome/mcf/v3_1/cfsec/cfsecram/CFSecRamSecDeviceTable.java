@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,24 +48,68 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for SecDevice.
  */
 public class CFSecRamSecDeviceTable
-	implements ICFSecSecDeviceTable
+	implements ICFSecSecDeviceTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecSecDevice[] EMPTY_REC_ARRAY = new ICFSecSecDevice[0];
+
+	/**
+	 *	Orders SecDevice primary keys by SecUserId and then DevName, with a null
+	 *	DevName sorting before every named device of the same user so that a
+	 *	prior key of just a SecUserId positions at the start of that user's devices.
+	 */
+	private static final Comparator< ICFSecSecDevicePKey > PKEY_COMPARATOR
+		= new Comparator< ICFSecSecDevicePKey >() {
+			@Override
+			public int compare( ICFSecSecDevicePKey lhs, ICFSecSecDevicePKey rhs ) {
+				int cmp = compareNullsFirst( lhs.getRequiredSecUserId(), rhs.getRequiredSecUserId() );
+				if( cmp != 0 ) {
+					return( cmp );
+				}
+				return( compareNullsFirst( lhs.getRequiredDevName(), rhs.getRequiredDevName() ) );
+			}
+		};
+
+	private static <T extends Comparable<? super T>> int compareNullsFirst( T lhs, T rhs ) {
+		if( lhs == null ) {
+			return( ( rhs == null ) ? 0 : -1 );
+		}
+		else if( rhs == null ) {
+			return( 1 );
+		}
+		return( lhs.compareTo( rhs ) );
+	}
+
 	private ICFSecSchema schema;
-	private Map< ICFSecSecDevicePKey,
+	private NavigableMap< ICFSecSecDevicePKey,
 				CFSecBuffSecDevice > dictByPKey
-		= new HashMap< ICFSecSecDevicePKey,
-				CFSecBuffSecDevice >();
+		= new TreeMap< ICFSecSecDevicePKey,
+				CFSecBuffSecDevice >( PKEY_COMPARATOR );
 	private Map< CFSecBuffSecDeviceByNameIdxKey,
 			CFSecBuffSecDevice > dictByNameIdx
 		= new HashMap< CFSecBuffSecDeviceByNameIdxKey,
 			CFSecBuffSecDevice >();
 	private Map< CFSecBuffSecDeviceByUserIdxKey,
-				Map< CFSecBuffSecDevicePKey,
+				NavigableMap< CFSecBuffSecDevicePKey,
 					CFSecBuffSecDevice >> dictByUserIdx
 		= new HashMap< CFSecBuffSecDeviceByUserIdxKey,
-				Map< CFSecBuffSecDevicePKey,
+				NavigableMap< CFSecBuffSecDevicePKey,
 					CFSecBuffSecDevice >>();
 
+	private final List< ICFSecSecDevicePKey > bulkPKeys = new ArrayList< ICFSecSecDevicePKey >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffSecDevicePKey > probePKey
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecDevicePKey)(schema.getFactorySecDevice().newPKey()) );
+	private final ThreadLocal< CFSecBuffSecDeviceByNameIdxKey > probeNameIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecDeviceByNameIdxKey)schema.getFactorySecDevice().newByNameIdxKey() );
+	private final ThreadLocal< CFSecBuffSecDeviceByUserIdxKey > probeUserIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecDeviceByUserIdxKey)schema.getFactorySecDevice().newByUserIdxKey() );
+
 	public CFSecRamSecDeviceTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
@@ -83,11 +129,212 @@ public class CFSecRamSecDeviceTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffSecDevice > recs ) {
+		dictByPKey.clear();
+		for( CFSecBuffSecDevice Buff : recs ) {
+			CFSecBuffSecDevicePKey pkey = (CFSecBuffSecDevicePKey)(schema.getFactorySecDevice().newPKey());
+			pkey.setRequiredContainerSecUser( Buff.getRequiredSecUserId() );
+			pkey.setRequiredDevName( Buff.getRequiredDevName() );
+			dictByPKey.put( pkey, Buff );
+		}
+		rebuildIndexes();
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffSecDevice > snapshotRecs() {
+		return( new ArrayList< CFSecBuffSecDevice >( dictByPKey.values() ) );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffSecDevice lookupRec( Object pkey ) {
+		return( dictByPKey.get( pkey ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffSecDevice before ) {
+		long lsn = 0L;
+		CFSecBuffSecDevice current;
+		if( before == null ) {
+			current = dictByPKey.remove( pkey );
+		}
+		else {
+			current = dictByPKey.put( (ICFSecSecDevicePKey)pkey, before );
+		}
+		if( current != null ) {
+			unindexRec( current );
+		}
+		if( before != null ) {
+			indexRec( before );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+		}
+		else if( current != null ) {
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffSecDevice Buff ) {
+		CFSecBuffSecDeviceByNameIdxKey keyNameIdx = (CFSecBuffSecDeviceByNameIdxKey)schema.getFactorySecDevice().newByNameIdxKey();
+		keyNameIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		keyNameIdx.setRequiredDevName( Buff.getRequiredDevName() );
+		dictByNameIdx.put( keyNameIdx, Buff );
+
+		CFSecBuffSecDevicePKey pkey = (CFSecBuffSecDevicePKey)(schema.getFactorySecDevice().newPKey());
+		pkey.setRequiredContainerSecUser( Buff.getRequiredSecUserId() );
+		pkey.setRequiredDevName( Buff.getRequiredDevName() );
+		CFSecBuffSecDeviceByUserIdxKey keyUserIdx = (CFSecBuffSecDeviceByUserIdxKey)schema.getFactorySecDevice().newByUserIdxKey();
+		keyUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		NavigableMap< CFSecBuffSecDevicePKey, CFSecBuffSecDevice > subdictUserIdx;
+		if( dictByUserIdx.containsKey( keyUserIdx ) ) {
+			subdictUserIdx = dictByUserIdx.get( keyUserIdx );
+		}
+		else {
+			subdictUserIdx = new TreeMap< CFSecBuffSecDevicePKey, CFSecBuffSecDevice >( PKEY_COMPARATOR );
+			dictByUserIdx.put( keyUserIdx, subdictUserIdx );
+		}
+		subdictUserIdx.put( pkey, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffSecDevice Buff ) {
+		CFSecBuffSecDeviceByNameIdxKey keyNameIdx = (CFSecBuffSecDeviceByNameIdxKey)schema.getFactorySecDevice().newByNameIdxKey();
+		keyNameIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		keyNameIdx.setRequiredDevName( Buff.getRequiredDevName() );
+		dictByNameIdx.remove( keyNameIdx );
+
+		CFSecBuffSecDevicePKey pkey = (CFSecBuffSecDevicePKey)(schema.getFactorySecDevice().newPKey());
+		pkey.setRequiredContainerSecUser( Buff.getRequiredSecUserId() );
+		pkey.setRequiredDevName( Buff.getRequiredDevName() );
+		CFSecBuffSecDeviceByUserIdxKey keyUserIdx = (CFSecBuffSecDeviceByUserIdxKey)schema.getFactorySecDevice().newByUserIdxKey();
+		keyUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		NavigableMap< CFSecBuffSecDevicePKey, CFSecBuffSecDevice > subdictUserIdx = dictByUserIdx.get( keyUserIdx );
+		if( subdictUserIdx != null ) {
+			subdictUserIdx.remove( pkey );
+			if( subdictUserIdx.isEmpty() ) {
+				dictByUserIdx.remove( keyUserIdx );
+			}
+		}
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildNameIdx,
+			this::rebuildUserIdx );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	protected void rebuildNameIdx() {
+		dictByNameIdx.clear();
+		for( CFSecBuffSecDevice Buff : dictByPKey.values() ) {
+			CFSecBuffSecDeviceByNameIdxKey keyNameIdx = (CFSecBuffSecDeviceByNameIdxKey)schema.getFactorySecDevice().newByNameIdxKey();
+			keyNameIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+			keyNameIdx.setRequiredDevName( Buff.getRequiredDevName() );
+			dictByNameIdx.put( keyNameIdx, Buff );
+		}
+	}
+
+	protected void rebuildUserIdx() {
+		dictByUserIdx.clear();
+		for( CFSecBuffSecDevice Buff : dictByPKey.values() ) {
+			CFSecBuffSecDevicePKey pkey = (CFSecBuffSecDevicePKey)(schema.getFactorySecDevice().newPKey());
+			pkey.setRequiredContainerSecUser( Buff.getRequiredSecUserId() );
+			pkey.setRequiredDevName( Buff.getRequiredDevName() );
+			CFSecBuffSecDeviceByUserIdxKey keyUserIdx = (CFSecBuffSecDeviceByUserIdxKey)schema.getFactorySecDevice().newByUserIdxKey();
+			keyUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+			NavigableMap< CFSecBuffSecDevicePKey, CFSecBuffSecDevice > subdictUserIdx;
+			if( dictByUserIdx.containsKey( keyUserIdx ) ) {
+				subdictUserIdx = dictByUserIdx.get( keyUserIdx );
+			}
+			else {
+				subdictUserIdx = new TreeMap< CFSecBuffSecDevicePKey, CFSecBuffSecDevice >( PKEY_COMPARATOR );
+				dictByUserIdx.put( keyUserIdx, subdictUserIdx );
+			}
+			subdictUserIdx.put( pkey, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< CFSecBuffSecDevice > staged = new ArrayList< CFSecBuffSecDevice >();
+		for( ICFSecSecDevicePKey pkey : bulkPKeys ) {
+			CFSecBuffSecDevice Buff = dictByPKey.get( pkey );
+			if( Buff == null ) {
+				continue;
+			}
+			staged.add( Buff );
+			CFSecBuffSecDeviceByNameIdxKey keyNameIdx = (CFSecBuffSecDeviceByNameIdxKey)schema.getFactorySecDevice().newByNameIdxKey();
+			keyNameIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+			keyNameIdx.setRequiredDevName( Buff.getRequiredDevName() );
+			if( dictByNameIdx.get( keyNameIdx ) != Buff ) {
+				violations.add( "SecDevice " + Buff.getPKey() + " duplicates the SecDeviceNameIdx key " + keyNameIdx );
+			}
+		}
+
+		Map< CFLibDbKeyHash256, List< CFSecBuffSecDevice > > bySecDeviceSecUser = new HashMap< CFLibDbKeyHash256, List< CFSecBuffSecDevice > >();
+		for( CFSecBuffSecDevice Buff : staged ) {
+			bySecDeviceSecUser.computeIfAbsent( Buff.getRequiredSecUserId(), ( k ) -> new ArrayList< CFSecBuffSecDevice >() ).add( Buff );
+		}
+		for( Map.Entry< CFLibDbKeyHash256, List< CFSecBuffSecDevice > > entry : bySecDeviceSecUser.entrySet() ) {
+			if( null == schema.getTableSecUser().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffSecDevice Buff : entry.getValue() ) {
+					violations.add( "SecDevice " + Buff.getPKey() + " references the missing SecUser " + entry.getKey() + " through SecDeviceSecUser" );
+				}
+			}
+		}
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		for( ICFSecSecDevicePKey pkey : bulkPKeys ) {
+			CFSecBuffSecDevice Buff = dictByPKey.remove( pkey );
+			if( Buff != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+			}
+		}
+		bulkPKeys.clear();
+		rebuildIndexes();
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		bulkPKeys.clear();
+	}
+
 	@Override
 	public ICFSecSecDevice createSecDevice( ICFSecAuthorization Authorization,
 		ICFSecSecDevice iBuff )
 	{
 		final String S_ProcName = "createSecDevice";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffSecDevice Buff = (CFSecBuffSecDevice)ensureRec(iBuff);
 		CFSecBuffSecDevicePKey pkey = (CFSecBuffSecDevicePKey)(schema.getFactorySecDevice().newPKey());
@@ -108,7 +355,7 @@ public class CFSecRamSecDeviceTable
 			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
 		}
 
-		if( dictByNameIdx.containsKey( keyNameIdx ) ) {
+		if( ( ! bulkLoad ) && dictByNameIdx.containsKey( keyNameIdx ) ) {
 			throw new CFLibUniqueIndexViolationException( getClass(),
 				S_ProcName,
 				"SecDeviceNameIdx",
@@ -121,7 +368,7 @@ public class CFSecRamSecDeviceTable
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableSecUser().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredSecUserId() ) )
 				{
@@ -141,19 +388,26 @@ public class CFSecRamSecDeviceTable
 		// Proceed with adding the new record
 
 		dictByPKey.put( pkey, Buff );
+		if( bulkLoad ) {
+			bulkPKeys.add( pkey );
+		}
 
-		dictByNameIdx.put( keyNameIdx, Buff );
+		dictByNameIdx.putIfAbsent( keyNameIdx, Buff );
 
-		Map< CFSecBuffSecDevicePKey, CFSecBuffSecDevice > subdictUserIdx;
+		NavigableMap< CFSecBuffSecDevicePKey, CFSecBuffSecDevice > subdictUserIdx;
 		if( dictByUserIdx.containsKey( keyUserIdx ) ) {
 			subdictUserIdx = dictByUserIdx.get( keyUserIdx );
 		}
 		else {
-			subdictUserIdx = new HashMap< CFSecBuffSecDevicePKey, CFSecBuffSecDevice >();
+			subdictUserIdx = new TreeMap< CFSecBuffSecDevicePKey, CFSecBuffSecDevice >( PKEY_COMPARATOR );
 			dictByUserIdx.put( keyUserIdx, subdictUserIdx );
 		}
 		subdictUserIdx.put( pkey, Buff );
 
+		CFSecRamTransaction.record( schema, null, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
+
 		if (Buff == null) {
 			return( null );
 		}
@@ -185,26 +439,21 @@ public class CFSecRamSecDeviceTable
 				return( null );
 			}
 		}
-		CFSecBuffSecDevicePKey key = (CFSecBuffSecDevicePKey)(schema.getFactorySecDevice().newPKey());
+		CFSecBuffSecDevicePKey key = probePKey.get();
 		key.setRequiredContainerSecUser( SecUserId );
 		key.setRequiredDevName( DevName );
-		return( readDerived( Authorization, key ) );
+		return( dictByPKey.get( key ) );
 	}
 
 	public ICFSecSecDevice readDerived( ICFSecAuthorization Authorization,
 		ICFSecSecDevicePKey PKey )
 	{
 		final String S_ProcName = "CFSecRamSecDevice.readDerived";
-		CFSecBuffSecDevicePKey key = (CFSecBuffSecDevicePKey)(schema.getFactorySecDevice().newPKey());
+		CFSecBuffSecDevicePKey key = probePKey.get();
 		key.setRequiredContainerSecUser( PKey.getRequiredSecUserId() );
 		key.setRequiredDevName( PKey.getRequiredDevName() );
 		ICFSecSecDevice buff;
-		if( dictByPKey.containsKey( key ) ) {
-			buff = dictByPKey.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByPKey.get( key );
 		return( buff );
 	}
 
@@ -213,16 +462,11 @@ public class CFSecRamSecDeviceTable
 		ICFSecSecDevicePKey PKey )
 	{
 		final String S_ProcName = "CFSecRamSecDevice.lockDerived";
-		CFSecBuffSecDevicePKey key = (CFSecBuffSecDevicePKey)(schema.getFactorySecDevice().newPKey());
+		CFSecBuffSecDevicePKey key = probePKey.get();
 		key.setRequiredContainerSecUser( PKey.getRequiredSecUserId() );
 		key.setRequiredDevName( PKey.getRequiredDevName() );
 		ICFSecSecDevice buff;
-		if( dictByPKey.containsKey( key ) ) {
-			buff = dictByPKey.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByPKey.get( key );
 		return( buff );
 	}
 
@@ -244,17 +488,12 @@ public class CFSecRamSecDeviceTable
 		String DevName )
 	{
 		final String S_ProcName = "CFSecRamSecDevice.readDerivedByNameIdx";
-		CFSecBuffSecDeviceByNameIdxKey key = (CFSecBuffSecDeviceByNameIdxKey)schema.getFactorySecDevice().newByNameIdxKey();
+		CFSecBuffSecDeviceByNameIdxKey key = probeNameIdx.get();
 
 		key.setRequiredSecUserId( SecUserId );
 		key.setRequiredDevName( DevName );
 		ICFSecSecDevice buff;
-		if( dictByNameIdx.containsKey( key ) ) {
-			buff = dictByNameIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByNameIdx.get( key );
 		return( buff );
 	}
 
@@ -263,25 +502,19 @@ public class CFSecRamSecDeviceTable
 		CFLibDbKeyHash256 SecUserId )
 	{
 		final String S_ProcName = "CFSecRamSecDevice.readDerivedByUserIdx";
-		CFSecBuffSecDeviceByUserIdxKey key = (CFSecBuffSecDeviceByUserIdxKey)schema.getFactorySecDevice().newByUserIdxKey();
+		CFSecBuffSecDeviceByUserIdxKey key = probeUserIdx.get();
 
 		key.setRequiredSecUserId( SecUserId );
-		ICFSecSecDevice[] recArray;
-		if( dictByUserIdx.containsKey( key ) ) {
-			Map< CFSecBuffSecDevicePKey, CFSecBuffSecDevice > subdictUserIdx
-				= dictByUserIdx.get( key );
-			recArray = new ICFSecSecDevice[ subdictUserIdx.size() ];
-			Iterator< CFSecBuffSecDevice > iter = subdictUserIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		NavigableMap< CFSecBuffSecDevicePKey, CFSecBuffSecDevice > subdictUserIdx
+			= dictByUserIdx.get( key );
+		if( ( subdictUserIdx == null ) || subdictUserIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFSecBuffSecDevicePKey, CFSecBuffSecDevice > subdictUserIdx
-				= new HashMap< CFSecBuffSecDevicePKey, CFSecBuffSecDevice >();
-			dictByUserIdx.put( key, subdictUserIdx );
-			recArray = new ICFSecSecDevice[0];
+		ICFSecSecDevice[] recArray = new ICFSecSecDevice[ subdictUserIdx.size() ];
+		Iterator< CFSecBuffSecDevice > iter = subdictUserIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -292,19 +525,111 @@ public class CFSecRamSecDeviceTable
 		String DevName )
 	{
 		final String S_ProcName = "CFSecRamSecDevice.readDerivedByIdIdx() ";
-		CFSecBuffSecDevicePKey key = (CFSecBuffSecDevicePKey)(schema.getFactorySecDevice().newPKey());
+		CFSecBuffSecDevicePKey key = probePKey.get();
 		key.setRequiredContainerSecUser( SecUserId );
 		key.setRequiredDevName( DevName );
 		ICFSecSecDevice buff;
-		if( dictByPKey.containsKey( key ) ) {
-			buff = dictByPKey.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByPKey.get( key );
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every SecDevice instance in the table,
+	 *	without copying the table into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecSecDevice > viewAll( ICFSecAuthorization Authorization ) {
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every SecDevice instance in the table, iterating
+	 *	the table in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecSecDevice > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every SecDevice instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecSecDevice > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the SecDevice instances identified by the duplicate key UserIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecDevice key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSecDevice > viewByUserIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId )
+	{
+		CFSecBuffSecDeviceByUserIdxKey key = probeUserIdx.get();
+		key.setRequiredSecUserId( SecUserId );
+		return( CFSecRamViews.of( dictByUserIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each SecDevice instance identified by the duplicate key UserIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecDevice key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByUserIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId,
+		Consumer< ? super ICFSecSecDevice > action )
+	{
+		viewByUserIdx( Authorization,
+			SecUserId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the SecDevice instances identified by the duplicate key UserIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecDevice key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSecDevice > streamByUserIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId )
+	{
+		return( viewByUserIdx( Authorization,
+			SecUserId ).stream() );
+	}
+
 	@Override
 	public ICFSecSecDevice readRec( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 SecUserId,
@@ -340,20 +665,43 @@ public class CFSecRamSecDeviceTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecSecDevice.CLASS_CODE.
+	 */
+	protected ICFSecSecDevice[] filterRecs( ICFSecSecDevice[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecSecDevice buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecDevice.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecSecDevice[] recArray = new ICFSecSecDevice[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecSecDevice buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecDevice.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecSecDevice[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamSecDevice.readAllRec";
-		ICFSecSecDevice buff;
-		ArrayList<ICFSecSecDevice> filteredList = new ArrayList<ICFSecSecDevice>();
 		ICFSecSecDevice[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecDevice.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecSecDevice[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	/**
@@ -361,6 +709,10 @@ public class CFSecRamSecDeviceTable
 	 *
 	 *	@param	Authorization	The session authorization information.
 	 *
+	 *	@param	priorSecUserId	The SecUserId of the last instance on the previous page, or null to read the first page.
+	 *
+	 *	@param	priorDevName	The DevName of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return All the specific SecDevice instances in the database accessible for the Authorization.
 	 */
 	@Override
@@ -369,7 +721,18 @@ public class CFSecRamSecDeviceTable
 		String priorDevName )
 	{
 		final String S_ProcName = "pageAllRec";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final CFSecBuffSecDevicePKey priorKey;
+		if( priorSecUserId == null ) {
+			priorKey = null;
+		}
+		else {
+			priorKey = (CFSecBuffSecDevicePKey)(schema.getFactorySecDevice().newPKey());
+			priorKey.setRequiredContainerSecUser( priorSecUserId );
+			priorKey.setRequiredDevName( priorDevName );
+		}
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		List< CFSecBuffSecDevice > page = CFSecRamPager.page( dictByPKey, priorKey, pageSize );
+		return( page.toArray( new ICFSecSecDevice[ page.size() ] ) );
 	}
 
 	@Override
@@ -411,17 +774,12 @@ public class CFSecRamSecDeviceTable
 		CFLibDbKeyHash256 SecUserId )
 	{
 		final String S_ProcName = "CFSecRamSecDevice.readRecByUserIdx() ";
-		ICFSecSecDevice buff;
-		ArrayList<ICFSecSecDevice> filteredList = new ArrayList<ICFSecSecDevice>();
 		ICFSecSecDevice[] buffList = readDerivedByUserIdx( Authorization,
 			SecUserId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecDevice.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSecDevice)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSecDevice[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	/**
@@ -431,6 +789,10 @@ public class CFSecRamSecDeviceTable
 	 *
 	 *	@param	SecUserId	The SecDevice key attribute of the instance generating the id.
 	 *
+	 *	@param	priorSecUserId	The SecUserId of the last instance on the previous page, or null to read the first page.
+	 *
+	 *	@param	priorDevName	The DevName of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -442,7 +804,20 @@ public class CFSecRamSecDeviceTable
 		String priorDevName )
 	{
 		final String S_ProcName = "pageRecByUserIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final CFSecBuffSecDevicePKey priorKey;
+		if( priorSecUserId == null ) {
+			priorKey = null;
+		}
+		else {
+			priorKey = (CFSecBuffSecDevicePKey)(schema.getFactorySecDevice().newPKey());
+			priorKey.setRequiredContainerSecUser( priorSecUserId );
+			priorKey.setRequiredDevName( priorDevName );
+		}
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffSecDeviceByUserIdxKey key = probeUserIdx.get();
+		key.setRequiredSecUserId( SecUserId );
+		List< CFSecBuffSecDevice > page = CFSecRamPager.page( dictByUserIdx.get( key ), priorKey, pageSize );
+		return( page.toArray( new ICFSecSecDevice[ page.size() ] ) );
 	}
 
 	@Override
@@ -519,27 +894,36 @@ public class CFSecRamSecDeviceTable
 
 		// Update is valid
 
-		Map< CFSecBuffSecDevicePKey, CFSecBuffSecDevice > subdict;
+		NavigableMap< CFSecBuffSecDevicePKey, CFSecBuffSecDevice > subdict;
 
-		dictByPKey.remove( pkey );
 		dictByPKey.put( pkey, Buff );
 
-		dictByNameIdx.remove( existingKeyNameIdx );
+		if( ! existingKeyNameIdx.equals( newKeyNameIdx ) ) {
+			dictByNameIdx.remove( existingKeyNameIdx );
+		}
 		dictByNameIdx.put( newKeyNameIdx, Buff );
 
-		subdict = dictByUserIdx.get( existingKeyUserIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyUserIdx.equals( newKeyUserIdx ) ) {
+			subdict = dictByUserIdx.get( existingKeyUserIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByUserIdx.remove( existingKeyUserIdx );
+				}
+			}
 		}
 		if( dictByUserIdx.containsKey( newKeyUserIdx ) ) {
 			subdict = dictByUserIdx.get( newKeyUserIdx );
 		}
 		else {
-			subdict = new HashMap< CFSecBuffSecDevicePKey, CFSecBuffSecDevice >();
+			subdict = new TreeMap< CFSecBuffSecDevicePKey, CFSecBuffSecDevice >( PKEY_COMPARATOR );
 			dictByUserIdx.put( newKeyUserIdx, subdict );
 		}
 		subdict.put( pkey, Buff );
 
+		CFSecRamTransaction.record( schema, existing, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
@@ -571,15 +955,23 @@ public class CFSecRamSecDeviceTable
 		// Validate reverse foreign keys
 
 		// Delete is valid
-		Map< CFSecBuffSecDevicePKey, CFSecBuffSecDevice > subdict;
+		NavigableMap< CFSecBuffSecDevicePKey, CFSecBuffSecDevice > subdict;
 
 		dictByPKey.remove( pkey );
 
 		dictByNameIdx.remove( keyNameIdx );
 
 		subdict = dictByUserIdx.get( keyUserIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByUserIdx.remove( keyUserIdx );
+			}
+		}
 
+		CFSecRamTransaction.record( schema, existing, null );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteSecDeviceByIdIdx( ICFSecAuthorization Authorization,
@@ -600,27 +992,15 @@ public class CFSecRamSecDeviceTable
 		key.setRequiredContainerSecUser( PKey.getRequiredSecUserId() );
 		key.setRequiredDevName( PKey.getRequiredDevName() );
 		CFSecBuffSecDevicePKey argKey = key;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffSecDevice cur;
 		LinkedList<CFSecBuffSecDevice> matchSet = new LinkedList<CFSecBuffSecDevice>();
-		Iterator<CFSecBuffSecDevice> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByPKey.get( argKey );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffSecDevice> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecDevice)(schema.getTableSecDevice().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecUserId(),
-				cur.getRequiredDevName() ));
 			deleteSecDevice( Authorization, cur );
 		}
 	}
@@ -641,26 +1021,23 @@ public class CFSecRamSecDeviceTable
 		ICFSecSecDeviceByNameIdxKey argKey )
 	{
 		CFSecBuffSecDevice cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffSecDeviceByNameIdxKey key;
+		if( argKey instanceof CFSecBuffSecDeviceByNameIdxKey ) {
+			key = (CFSecBuffSecDeviceByNameIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffSecDeviceByNameIdxKey)schema.getFactorySecDevice().newByNameIdxKey();
+			key.setRequiredSecUserId( argKey.getRequiredSecUserId() );
+			key.setRequiredDevName( argKey.getRequiredDevName() );
 		}
 		LinkedList<CFSecBuffSecDevice> matchSet = new LinkedList<CFSecBuffSecDevice>();
-		Iterator<CFSecBuffSecDevice> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByNameIdx.get( key );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffSecDevice> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecDevice)(schema.getTableSecDevice().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecUserId(),
-				cur.getRequiredDevName() ));
 			deleteSecDevice( Authorization, cur );
 		}
 	}
@@ -679,25 +1056,22 @@ public class CFSecRamSecDeviceTable
 		ICFSecSecDeviceByUserIdxKey argKey )
 	{
 		CFSecBuffSecDevice cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffSecDeviceByUserIdxKey key;
+		if( argKey instanceof CFSecBuffSecDeviceByUserIdxKey ) {
+			key = (CFSecBuffSecDeviceByUserIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffSecDeviceByUserIdxKey)schema.getFactorySecDevice().newByUserIdxKey();
+			key.setRequiredSecUserId( argKey.getRequiredSecUserId() );
 		}
 		LinkedList<CFSecBuffSecDevice> matchSet = new LinkedList<CFSecBuffSecDevice>();
-		Iterator<CFSecBuffSecDevice> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		NavigableMap< CFSecBuffSecDevicePKey, CFSecBuffSecDevice > subdictUserIdx = dictByUserIdx.get( key );
+		if( subdictUserIdx != null ) {
+			matchSet.addAll( subdictUserIdx.values() );
 		}
 		Iterator<CFSecBuffSecDevice> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecDevice)(schema.getTableSecDevice().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecUserId(),
-				cur.getRequiredDevName() ));
 			deleteSecDevice( Authorization, cur );
 		}
 	}
@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,8 +48,11 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for SecGroup.
  */
 public class CFSecRamSecGroupTable
-	implements ICFSecSecGroupTable
+	implements ICFSecSecGroupTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecSecGroup[] EMPTY_REC_ARRAY = new ICFSecSecGroup[0];
+
 	private ICFSecSchema schema;
 	private Map< CFLibDbKeyHash256,
 				CFSecBuffSecGroup > dictByPKey
@@ -70,6 +75,20 @@ public class CFSecRamSecGroupTable
 		= new HashMap< CFSecBuffSecGroupByUNameIdxKey,
 			CFSecBuffSecGroup >();
 
+	private final List< CFLibDbKeyHash256 > bulkPKeys = new ArrayList< CFLibDbKeyHash256 >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffSecGroupByClusterIdxKey > probeClusterIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecGroupByClusterIdxKey)schema.getFactorySecGroup().newByClusterIdxKey() );
+	private final ThreadLocal< CFSecBuffSecGroupByClusterVisIdxKey > probeClusterVisIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecGroupByClusterVisIdxKey)schema.getFactorySecGroup().newByClusterVisIdxKey() );
+	private final ThreadLocal< CFSecBuffSecGroupByUNameIdxKey > probeUNameIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecGroupByUNameIdxKey)schema.getFactorySecGroup().newByUNameIdxKey() );
+
 	public CFSecRamSecGroupTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
@@ -89,11 +108,248 @@ public class CFSecRamSecGroupTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffSecGroup > recs ) {
+		dictByPKey.clear();
+		for( CFSecBuffSecGroup Buff : recs ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			dictByPKey.put( pkey, Buff );
+		}
+		rebuildIndexes();
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffSecGroup > snapshotRecs() {
+		return( new ArrayList< CFSecBuffSecGroup >( dictByPKey.values() ) );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffSecGroup lookupRec( Object pkey ) {
+		return( dictByPKey.get( pkey ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffSecGroup before ) {
+		long lsn = 0L;
+		CFSecBuffSecGroup current;
+		if( before == null ) {
+			current = dictByPKey.remove( pkey );
+		}
+		else {
+			current = dictByPKey.put( (CFLibDbKeyHash256)pkey, before );
+		}
+		if( current != null ) {
+			unindexRec( current );
+		}
+		if( before != null ) {
+			indexRec( before );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+		}
+		else if( current != null ) {
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffSecGroup Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffSecGroupByClusterIdxKey keyClusterIdx = (CFSecBuffSecGroupByClusterIdxKey)schema.getFactorySecGroup().newByClusterIdxKey();
+		keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		Map< CFLibDbKeyHash256, CFSecBuffSecGroup > subdictClusterIdx;
+		if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
+			subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+		}
+		else {
+			subdictClusterIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecGroup >();
+			dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
+		}
+		subdictClusterIdx.put( pkey, Buff );
+
+		CFSecBuffSecGroupByClusterVisIdxKey keyClusterVisIdx = (CFSecBuffSecGroupByClusterVisIdxKey)schema.getFactorySecGroup().newByClusterVisIdxKey();
+		keyClusterVisIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyClusterVisIdx.setRequiredIsVisible( Buff.getRequiredIsVisible() );
+		Map< CFLibDbKeyHash256, CFSecBuffSecGroup > subdictClusterVisIdx;
+		if( dictByClusterVisIdx.containsKey( keyClusterVisIdx ) ) {
+			subdictClusterVisIdx = dictByClusterVisIdx.get( keyClusterVisIdx );
+		}
+		else {
+			subdictClusterVisIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecGroup >();
+			dictByClusterVisIdx.put( keyClusterVisIdx, subdictClusterVisIdx );
+		}
+		subdictClusterVisIdx.put( pkey, Buff );
+
+		CFSecBuffSecGroupByUNameIdxKey keyUNameIdx = (CFSecBuffSecGroupByUNameIdxKey)schema.getFactorySecGroup().newByUNameIdxKey();
+		keyUNameIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyUNameIdx.setRequiredName( Buff.getRequiredName() );
+		dictByUNameIdx.put( keyUNameIdx, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffSecGroup Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffSecGroupByClusterIdxKey keyClusterIdx = (CFSecBuffSecGroupByClusterIdxKey)schema.getFactorySecGroup().newByClusterIdxKey();
+		keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		Map< CFLibDbKeyHash256, CFSecBuffSecGroup > subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+		if( subdictClusterIdx != null ) {
+			subdictClusterIdx.remove( pkey );
+			if( subdictClusterIdx.isEmpty() ) {
+				dictByClusterIdx.remove( keyClusterIdx );
+			}
+		}
+
+		CFSecBuffSecGroupByClusterVisIdxKey keyClusterVisIdx = (CFSecBuffSecGroupByClusterVisIdxKey)schema.getFactorySecGroup().newByClusterVisIdxKey();
+		keyClusterVisIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyClusterVisIdx.setRequiredIsVisible( Buff.getRequiredIsVisible() );
+		Map< CFLibDbKeyHash256, CFSecBuffSecGroup > subdictClusterVisIdx = dictByClusterVisIdx.get( keyClusterVisIdx );
+		if( subdictClusterVisIdx != null ) {
+			subdictClusterVisIdx.remove( pkey );
+			if( subdictClusterVisIdx.isEmpty() ) {
+				dictByClusterVisIdx.remove( keyClusterVisIdx );
+			}
+		}
+
+		CFSecBuffSecGroupByUNameIdxKey keyUNameIdx = (CFSecBuffSecGroupByUNameIdxKey)schema.getFactorySecGroup().newByUNameIdxKey();
+		keyUNameIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyUNameIdx.setRequiredName( Buff.getRequiredName() );
+		dictByUNameIdx.remove( keyUNameIdx );
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildClusterIdx,
+			this::rebuildClusterVisIdx,
+			this::rebuildUNameIdx );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	protected void rebuildClusterIdx() {
+		dictByClusterIdx.clear();
+		for( CFSecBuffSecGroup Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffSecGroupByClusterIdxKey keyClusterIdx = (CFSecBuffSecGroupByClusterIdxKey)schema.getFactorySecGroup().newByClusterIdxKey();
+			keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			Map< CFLibDbKeyHash256, CFSecBuffSecGroup > subdictClusterIdx;
+			if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
+				subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+			}
+			else {
+				subdictClusterIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecGroup >();
+				dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
+			}
+			subdictClusterIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildClusterVisIdx() {
+		dictByClusterVisIdx.clear();
+		for( CFSecBuffSecGroup Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffSecGroupByClusterVisIdxKey keyClusterVisIdx = (CFSecBuffSecGroupByClusterVisIdxKey)schema.getFactorySecGroup().newByClusterVisIdxKey();
+			keyClusterVisIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			keyClusterVisIdx.setRequiredIsVisible( Buff.getRequiredIsVisible() );
+			Map< CFLibDbKeyHash256, CFSecBuffSecGroup > subdictClusterVisIdx;
+			if( dictByClusterVisIdx.containsKey( keyClusterVisIdx ) ) {
+				subdictClusterVisIdx = dictByClusterVisIdx.get( keyClusterVisIdx );
+			}
+			else {
+				subdictClusterVisIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecGroup >();
+				dictByClusterVisIdx.put( keyClusterVisIdx, subdictClusterVisIdx );
+			}
+			subdictClusterVisIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildUNameIdx() {
+		dictByUNameIdx.clear();
+		for( CFSecBuffSecGroup Buff : dictByPKey.values() ) {
+			CFSecBuffSecGroupByUNameIdxKey keyUNameIdx = (CFSecBuffSecGroupByUNameIdxKey)schema.getFactorySecGroup().newByUNameIdxKey();
+			keyUNameIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			keyUNameIdx.setRequiredName( Buff.getRequiredName() );
+			dictByUNameIdx.put( keyUNameIdx, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< CFSecBuffSecGroup > staged = new ArrayList< CFSecBuffSecGroup >();
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffSecGroup Buff = dictByPKey.get( pkey );
+			if( Buff == null ) {
+				continue;
+			}
+			staged.add( Buff );
+			CFSecBuffSecGroupByUNameIdxKey keyUNameIdx = (CFSecBuffSecGroupByUNameIdxKey)schema.getFactorySecGroup().newByUNameIdxKey();
+			keyUNameIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			keyUNameIdx.setRequiredName( Buff.getRequiredName() );
+			if( dictByUNameIdx.get( keyUNameIdx ) != Buff ) {
+				violations.add( "SecGroup " + Buff.getPKey() + " duplicates the SecGroupUNameIdx key " + keyUNameIdx );
+			}
+		}
+
+		Map< CFLibDbKeyHash256, List< CFSecBuffSecGroup > > bySecGroupCluster = new HashMap< CFLibDbKeyHash256, List< CFSecBuffSecGroup > >();
+		for( CFSecBuffSecGroup Buff : staged ) {
+			bySecGroupCluster.computeIfAbsent( Buff.getRequiredClusterId(), ( k ) -> new ArrayList< CFSecBuffSecGroup >() ).add( Buff );
+		}
+		for( Map.Entry< CFLibDbKeyHash256, List< CFSecBuffSecGroup > > entry : bySecGroupCluster.entrySet() ) {
+			if( null == schema.getTableCluster().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffSecGroup Buff : entry.getValue() ) {
+					violations.add( "SecGroup " + Buff.getPKey() + " references the missing Cluster " + entry.getKey() + " through SecGroupCluster" );
+				}
+			}
+		}
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffSecGroup Buff = dictByPKey.remove( pkey );
+			if( Buff != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+			}
+		}
+		bulkPKeys.clear();
+		rebuildIndexes();
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		bulkPKeys.clear();
+	}
+
 	@Override
 	public ICFSecSecGroup createSecGroup( ICFSecAuthorization Authorization,
 		ICFSecSecGroup iBuff )
 	{
 		final String S_ProcName = "createSecGroup";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffSecGroup Buff = (CFSecBuffSecGroup)ensureRec(iBuff);
 		CFLibDbKeyHash256 pkey;
@@ -116,7 +372,7 @@ public class CFSecRamSecGroupTable
 			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
 		}
 
-		if( dictByUNameIdx.containsKey( keyUNameIdx ) ) {
+		if( ( ! bulkLoad ) && dictByUNameIdx.containsKey( keyUNameIdx ) ) {
 			throw new CFLibUniqueIndexViolationException( getClass(),
 				S_ProcName,
 				"SecGroupUNameIdx",
@@ -129,7 +385,7 @@ public class CFSecRamSecGroupTable
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableCluster().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredClusterId() ) )
 				{
@@ -149,6 +405,9 @@ public class CFSecRamSecGroupTable
 		// Proceed with adding the new record
 
 		dictByPKey.put( pkey, Buff );
+		if( bulkLoad ) {
+			bulkPKeys.add( pkey );
+		}
 
 		Map< CFLibDbKeyHash256, CFSecBuffSecGroup > subdictClusterIdx;
 		if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
@@ -170,7 +429,11 @@ public class CFSecRamSecGroupTable
 		}
 		subdictClusterVisIdx.put( pkey, Buff );
 
-		dictByUNameIdx.put( keyUNameIdx, Buff );
+		dictByUNameIdx.putIfAbsent( keyUNameIdx, Buff );
+
+		CFSecRamTransaction.record( schema, null, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 
 		if (Buff == null) {
 			return( null );
@@ -238,25 +501,19 @@ public class CFSecRamSecGroupTable
 		CFLibDbKeyHash256 ClusterId )
 	{
 		final String S_ProcName = "CFSecRamSecGroup.readDerivedByClusterIdx";
-		CFSecBuffSecGroupByClusterIdxKey key = (CFSecBuffSecGroupByClusterIdxKey)schema.getFactorySecGroup().newByClusterIdxKey();
+		CFSecBuffSecGroupByClusterIdxKey key = probeClusterIdx.get();
 
 		key.setRequiredClusterId( ClusterId );
-		ICFSecSecGroup[] recArray;
-		if( dictByClusterIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffSecGroup > subdictClusterIdx
-				= dictByClusterIdx.get( key );
-			recArray = new ICFSecSecGroup[ subdictClusterIdx.size() ];
-			Iterator< CFSecBuffSecGroup > iter = subdictClusterIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		Map< CFLibDbKeyHash256, CFSecBuffSecGroup > subdictClusterIdx
+			= dictByClusterIdx.get( key );
+		if( ( subdictClusterIdx == null ) || subdictClusterIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffSecGroup > subdictClusterIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffSecGroup >();
-			dictByClusterIdx.put( key, subdictClusterIdx );
-			recArray = new ICFSecSecGroup[0];
+		ICFSecSecGroup[] recArray = new ICFSecSecGroup[ subdictClusterIdx.size() ];
+		Iterator< CFSecBuffSecGroup > iter = subdictClusterIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -267,26 +524,20 @@ public class CFSecRamSecGroupTable
 		boolean IsVisible )
 	{
 		final String S_ProcName = "CFSecRamSecGroup.readDerivedByClusterVisIdx";
-		CFSecBuffSecGroupByClusterVisIdxKey key = (CFSecBuffSecGroupByClusterVisIdxKey)schema.getFactorySecGroup().newByClusterVisIdxKey();
+		CFSecBuffSecGroupByClusterVisIdxKey key = probeClusterVisIdx.get();
 
 		key.setRequiredClusterId( ClusterId );
 		key.setRequiredIsVisible( IsVisible );
-		ICFSecSecGroup[] recArray;
-		if( dictByClusterVisIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffSecGroup > subdictClusterVisIdx
-				= dictByClusterVisIdx.get( key );
-			recArray = new ICFSecSecGroup[ subdictClusterVisIdx.size() ];
-			Iterator< CFSecBuffSecGroup > iter = subdictClusterVisIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		Map< CFLibDbKeyHash256, CFSecBuffSecGroup > subdictClusterVisIdx
+			= dictByClusterVisIdx.get( key );
+		if( ( subdictClusterVisIdx == null ) || subdictClusterVisIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffSecGroup > subdictClusterVisIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffSecGroup >();
-			dictByClusterVisIdx.put( key, subdictClusterVisIdx );
-			recArray = new ICFSecSecGroup[0];
+		ICFSecSecGroup[] recArray = new ICFSecSecGroup[ subdictClusterVisIdx.size() ];
+		Iterator< CFSecBuffSecGroup > iter = subdictClusterVisIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -297,17 +548,12 @@ public class CFSecRamSecGroupTable
 		String Name )
 	{
 		final String S_ProcName = "CFSecRamSecGroup.readDerivedByUNameIdx";
-		CFSecBuffSecGroupByUNameIdxKey key = (CFSecBuffSecGroupByUNameIdxKey)schema.getFactorySecGroup().newByUNameIdxKey();
+		CFSecBuffSecGroupByUNameIdxKey key = probeUNameIdx.get();
 
 		key.setRequiredClusterId( ClusterId );
 		key.setRequiredName( Name );
 		ICFSecSecGroup buff;
-		if( dictByUNameIdx.containsKey( key ) ) {
-			buff = dictByUNameIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByUNameIdx.get( key );
 		return( buff );
 	}
 
@@ -326,6 +572,171 @@ public class CFSecRamSecGroupTable
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every SecGroup instance in the table,
+	 *	without copying the table into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecSecGroup > viewAll( ICFSecAuthorization Authorization ) {
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every SecGroup instance in the table, iterating
+	 *	the table in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecSecGroup > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every SecGroup instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecSecGroup > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the SecGroup instances identified by the duplicate key ClusterIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The SecGroup key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSecGroup > viewByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId )
+	{
+		CFSecBuffSecGroupByClusterIdxKey key = probeClusterIdx.get();
+		key.setRequiredClusterId( ClusterId );
+		return( CFSecRamViews.of( dictByClusterIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each SecGroup instance identified by the duplicate key ClusterIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The SecGroup key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId,
+		Consumer< ? super ICFSecSecGroup > action )
+	{
+		viewByClusterIdx( Authorization,
+			ClusterId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the SecGroup instances identified by the duplicate key ClusterIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The SecGroup key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSecGroup > streamByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId )
+	{
+		return( viewByClusterIdx( Authorization,
+			ClusterId ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the SecGroup instances identified by the duplicate key ClusterVisIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The SecGroup key attribute of the instance generating the id.
+	 *
+	 *	@param	IsVisible	The SecGroup key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSecGroup > viewByClusterVisIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId,
+		boolean IsVisible )
+	{
+		CFSecBuffSecGroupByClusterVisIdxKey key = probeClusterVisIdx.get();
+		key.setRequiredClusterId( ClusterId );
+		key.setRequiredIsVisible( IsVisible );
+		return( CFSecRamViews.of( dictByClusterVisIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each SecGroup instance identified by the duplicate key ClusterVisIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The SecGroup key attribute of the instance generating the id.
+	 *
+	 *	@param	IsVisible	The SecGroup key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByClusterVisIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId,
+		boolean IsVisible,
+		Consumer< ? super ICFSecSecGroup > action )
+	{
+		viewByClusterVisIdx( Authorization,
+			ClusterId,
+			IsVisible ).forEach( action );
+	}
+
+	/**
+	 *	Stream the SecGroup instances identified by the duplicate key ClusterVisIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The SecGroup key attribute of the instance generating the id.
+	 *
+	 *	@param	IsVisible	The SecGroup key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSecGroup > streamByClusterVisIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId,
+		boolean IsVisible )
+	{
+		return( viewByClusterVisIdx( Authorization,
+			ClusterId,
+			IsVisible ).stream() );
+	}
+
 	@Override
 	public ICFSecSecGroup readRec( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 PKey )
@@ -350,20 +761,43 @@ public class CFSecRamSecGroupTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecSecGroup.CLASS_CODE.
+	 */
+	protected ICFSecSecGroup[] filterRecs( ICFSecSecGroup[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecSecGroup buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGroup.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecSecGroup[] recArray = new ICFSecSecGroup[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecSecGroup buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGroup.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecSecGroup[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamSecGroup.readAllRec";
-		ICFSecSecGroup buff;
-		ArrayList<ICFSecSecGroup> filteredList = new ArrayList<ICFSecSecGroup>();
 		ICFSecSecGroup[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGroup.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecSecGroup[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -386,17 +820,12 @@ public class CFSecRamSecGroupTable
 		CFLibDbKeyHash256 ClusterId )
 	{
 		final String S_ProcName = "CFSecRamSecGroup.readRecByClusterIdx() ";
-		ICFSecSecGroup buff;
-		ArrayList<ICFSecSecGroup> filteredList = new ArrayList<ICFSecSecGroup>();
 		ICFSecSecGroup[] buffList = readDerivedByClusterIdx( Authorization,
 			ClusterId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGroup.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSecGroup)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSecGroup[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -405,18 +834,13 @@ public class CFSecRamSecGroupTable
 		boolean IsVisible )
 	{
 		final String S_ProcName = "CFSecRamSecGroup.readRecByClusterVisIdx() ";
-		ICFSecSecGroup buff;
-		ArrayList<ICFSecSecGroup> filteredList = new ArrayList<ICFSecSecGroup>();
 		ICFSecSecGroup[] buffList = readDerivedByClusterVisIdx( Authorization,
 			ClusterId,
 			IsVisible );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGroup.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSecGroup)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSecGroup[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -517,12 +941,16 @@ public class CFSecRamSecGroupTable
 
 		Map< CFLibDbKeyHash256, CFSecBuffSecGroup > subdict;
 
-		dictByPKey.remove( pkey );
 		dictByPKey.put( pkey, Buff );
 
-		subdict = dictByClusterIdx.get( existingKeyClusterIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyClusterIdx.equals( newKeyClusterIdx ) ) {
+			subdict = dictByClusterIdx.get( existingKeyClusterIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByClusterIdx.remove( existingKeyClusterIdx );
+				}
+			}
 		}
 		if( dictByClusterIdx.containsKey( newKeyClusterIdx ) ) {
 			subdict = dictByClusterIdx.get( newKeyClusterIdx );
@@ -533,9 +961,14 @@ public class CFSecRamSecGroupTable
 		}
 		subdict.put( pkey, Buff );
 
-		subdict = dictByClusterVisIdx.get( existingKeyClusterVisIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyClusterVisIdx.equals( newKeyClusterVisIdx ) ) {
+			subdict = dictByClusterVisIdx.get( existingKeyClusterVisIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByClusterVisIdx.remove( existingKeyClusterVisIdx );
+				}
+			}
 		}
 		if( dictByClusterVisIdx.containsKey( newKeyClusterVisIdx ) ) {
 			subdict = dictByClusterVisIdx.get( newKeyClusterVisIdx );
@@ -546,15 +979,30 @@ public class CFSecRamSecGroupTable
 		}
 		subdict.put( pkey, Buff );
 
-		dictByUNameIdx.remove( existingKeyUNameIdx );
+		if( ! existingKeyUNameIdx.equals( newKeyUNameIdx ) ) {
+			dictByUNameIdx.remove( existingKeyUNameIdx );
+		}
 		dictByUNameIdx.put( newKeyUNameIdx, Buff );
 
+		CFSecRamTransaction.record( schema, existing, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
 	@Override
 	public void deleteSecGroup( ICFSecAuthorization Authorization,
 		ICFSecSecGroup iBuff )
+	{
+		CFSecRamTransaction.atomically( schema, () -> deleteSecGroupCascade( Authorization, iBuff ) );
+	}
+
+	/**
+	 *	Delete the SecGroup and every row that depends on it.  deleteSecGroup() runs
+	 *	this as one transaction so a failure partway through changes nothing.
+	 */
+	protected void deleteSecGroupCascade( ICFSecAuthorization Authorization,
+		ICFSecSecGroup iBuff )
 	{
 		final String S_ProcName = "CFSecRamSecGroupTable.deleteSecGroup() ";
 		CFSecBuffSecGroup Buff = (CFSecBuffSecGroup)ensureRec(iBuff);
@@ -595,37 +1043,40 @@ public class CFSecRamSecGroupTable
 		dictByPKey.remove( pkey );
 
 		subdict = dictByClusterIdx.get( keyClusterIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByClusterIdx.remove( keyClusterIdx );
+			}
+		}
 
 		subdict = dictByClusterVisIdx.get( keyClusterVisIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByClusterVisIdx.remove( keyClusterVisIdx );
+			}
+		}
 
 		dictByUNameIdx.remove( keyUNameIdx );
 
+		CFSecRamTransaction.record( schema, existing, null );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteSecGroupByIdIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffSecGroup cur;
 		LinkedList<CFSecBuffSecGroup> matchSet = new LinkedList<CFSecBuffSecGroup>();
-		Iterator<CFSecBuffSecGroup> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByPKey.get( argKey );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffSecGroup> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecGroup)(schema.getTableSecGroup().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecGroupId() ));
 			deleteSecGroup( Authorization, cur );
 		}
 	}
@@ -644,24 +1095,22 @@ public class CFSecRamSecGroupTable
 		ICFSecSecGroupByClusterIdxKey argKey )
 	{
 		CFSecBuffSecGroup cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffSecGroupByClusterIdxKey key;
+		if( argKey instanceof CFSecBuffSecGroupByClusterIdxKey ) {
+			key = (CFSecBuffSecGroupByClusterIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffSecGroupByClusterIdxKey)schema.getFactorySecGroup().newByClusterIdxKey();
+			key.setRequiredClusterId( argKey.getRequiredClusterId() );
 		}
 		LinkedList<CFSecBuffSecGroup> matchSet = new LinkedList<CFSecBuffSecGroup>();
-		Iterator<CFSecBuffSecGroup> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		Map< CFLibDbKeyHash256, CFSecBuffSecGroup > subdictClusterIdx = dictByClusterIdx.get( key );
+		if( subdictClusterIdx != null ) {
+			matchSet.addAll( subdictClusterIdx.values() );
 		}
 		Iterator<CFSecBuffSecGroup> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecGroup)(schema.getTableSecGroup().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecGroupId() ));
 			deleteSecGroup( Authorization, cur );
 		}
 	}
@@ -682,25 +1131,23 @@ public class CFSecRamSecGroupTable
 		ICFSecSecGroupByClusterVisIdxKey argKey )
 	{
 		CFSecBuffSecGroup cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffSecGroupByClusterVisIdxKey key;
+		if( argKey instanceof CFSecBuffSecGroupByClusterVisIdxKey ) {
+			key = (CFSecBuffSecGroupByClusterVisIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffSecGroupByClusterVisIdxKey)schema.getFactorySecGroup().newByClusterVisIdxKey();
+			key.setRequiredClusterId( argKey.getRequiredClusterId() );
+			key.setRequiredIsVisible( argKey.getRequiredIsVisible() );
 		}
 		LinkedList<CFSecBuffSecGroup> matchSet = new LinkedList<CFSecBuffSecGroup>();
-		Iterator<CFSecBuffSecGroup> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		Map< CFLibDbKeyHash256, CFSecBuffSecGroup > subdictClusterVisIdx = dictByClusterVisIdx.get( key );
+		if( subdictClusterVisIdx != null ) {
+			matchSet.addAll( subdictClusterVisIdx.values() );
 		}
 		Iterator<CFSecBuffSecGroup> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecGroup)(schema.getTableSecGroup().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecGroupId() ));
 			deleteSecGroup( Authorization, cur );
 		}
 	}
@@ -721,25 +1168,23 @@ public class CFSecRamSecGroupTable
 		ICFSecSecGroupByUNameIdxKey argKey )
 	{
 		CFSecBuffSecGroup cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffSecGroupByUNameIdxKey key;
+		if( argKey instanceof CFSecBuffSecGroupByUNameIdxKey ) {
+			key = (CFSecBuffSecGroupByUNameIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffSecGroupByUNameIdxKey)schema.getFactorySecGroup().newByUNameIdxKey();
+			key.setRequiredClusterId( argKey.getRequiredClusterId() );
+			key.setRequiredName( argKey.getRequiredName() );
 		}
 		LinkedList<CFSecBuffSecGroup> matchSet = new LinkedList<CFSecBuffSecGroup>();
-		Iterator<CFSecBuffSecGroup> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByUNameIdx.get( key );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffSecGroup> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecGroup)(schema.getTableSecGroup().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecGroupId() ));
 			deleteSecGroup( Authorization, cur );
 		}
 	}
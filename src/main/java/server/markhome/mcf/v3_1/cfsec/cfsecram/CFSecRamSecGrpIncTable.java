@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,36 +48,55 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for SecGrpInc.
  */
 public class CFSecRamSecGrpIncTable
-	implements ICFSecSecGrpIncTable
+	implements ICFSecSecGrpIncTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecSecGrpInc[] EMPTY_REC_ARRAY = new ICFSecSecGrpInc[0];
+
 	private ICFSecSchema schema;
-	private Map< CFLibDbKeyHash256,
+	private NavigableMap< CFLibDbKeyHash256,
 				CFSecBuffSecGrpInc > dictByPKey
-		= new HashMap< CFLibDbKeyHash256,
+		= new TreeMap< CFLibDbKeyHash256,
 				CFSecBuffSecGrpInc >();
 	private Map< CFSecBuffSecGrpIncByClusterIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecGrpInc >> dictByClusterIdx
 		= new HashMap< CFSecBuffSecGrpIncByClusterIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecGrpInc >>();
 	private Map< CFSecBuffSecGrpIncByGroupIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecGrpInc >> dictByGroupIdx
 		= new HashMap< CFSecBuffSecGrpIncByGroupIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecGrpInc >>();
 	private Map< CFSecBuffSecGrpIncByIncludeIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecGrpInc >> dictByIncludeIdx
 		= new HashMap< CFSecBuffSecGrpIncByIncludeIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecGrpInc >>();
 	private Map< CFSecBuffSecGrpIncByUIncludeIdxKey,
 			CFSecBuffSecGrpInc > dictByUIncludeIdx
 		= new HashMap< CFSecBuffSecGrpIncByUIncludeIdxKey,
 			CFSecBuffSecGrpInc >();
 
+	private final List< CFLibDbKeyHash256 > bulkPKeys = new ArrayList< CFLibDbKeyHash256 >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffSecGrpIncByClusterIdxKey > probeClusterIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecGrpIncByClusterIdxKey)schema.getFactorySecGrpInc().newByClusterIdxKey() );
+	private final ThreadLocal< CFSecBuffSecGrpIncByGroupIdxKey > probeGroupIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecGrpIncByGroupIdxKey)schema.getFactorySecGrpInc().newByGroupIdxKey() );
+	private final ThreadLocal< CFSecBuffSecGrpIncByIncludeIdxKey > probeIncludeIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecGrpIncByIncludeIdxKey)schema.getFactorySecGrpInc().newByIncludeIdxKey() );
+	private final ThreadLocal< CFSecBuffSecGrpIncByUIncludeIdxKey > probeUIncludeIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecGrpIncByUIncludeIdxKey)schema.getFactorySecGrpInc().newByUIncludeIdxKey() );
+
 	public CFSecRamSecGrpIncTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
@@ -95,11 +116,302 @@ public class CFSecRamSecGrpIncTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffSecGrpInc > recs ) {
+		dictByPKey.clear();
+		for( CFSecBuffSecGrpInc Buff : recs ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			dictByPKey.put( pkey, Buff );
+		}
+		rebuildIndexes();
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffSecGrpInc > snapshotRecs() {
+		return( new ArrayList< CFSecBuffSecGrpInc >( dictByPKey.values() ) );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffSecGrpInc lookupRec( Object pkey ) {
+		return( dictByPKey.get( pkey ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffSecGrpInc before ) {
+		long lsn = 0L;
+		CFSecBuffSecGrpInc current;
+		if( before == null ) {
+			current = dictByPKey.remove( pkey );
+		}
+		else {
+			current = dictByPKey.put( (CFLibDbKeyHash256)pkey, before );
+		}
+		if( current != null ) {
+			unindexRec( current );
+		}
+		if( before != null ) {
+			indexRec( before );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+		}
+		else if( current != null ) {
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffSecGrpInc Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffSecGrpIncByClusterIdxKey keyClusterIdx = (CFSecBuffSecGrpIncByClusterIdxKey)schema.getFactorySecGrpInc().newByClusterIdxKey();
+		keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictClusterIdx;
+		if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
+			subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+		}
+		else {
+			subdictClusterIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
+			dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
+		}
+		subdictClusterIdx.put( pkey, Buff );
+
+		CFSecBuffSecGrpIncByGroupIdxKey keyGroupIdx = (CFSecBuffSecGrpIncByGroupIdxKey)schema.getFactorySecGrpInc().newByGroupIdxKey();
+		keyGroupIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictGroupIdx;
+		if( dictByGroupIdx.containsKey( keyGroupIdx ) ) {
+			subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
+		}
+		else {
+			subdictGroupIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
+			dictByGroupIdx.put( keyGroupIdx, subdictGroupIdx );
+		}
+		subdictGroupIdx.put( pkey, Buff );
+
+		CFSecBuffSecGrpIncByIncludeIdxKey keyIncludeIdx = (CFSecBuffSecGrpIncByIncludeIdxKey)schema.getFactorySecGrpInc().newByIncludeIdxKey();
+		keyIncludeIdx.setRequiredIncludeGroupId( Buff.getRequiredIncludeGroupId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictIncludeIdx;
+		if( dictByIncludeIdx.containsKey( keyIncludeIdx ) ) {
+			subdictIncludeIdx = dictByIncludeIdx.get( keyIncludeIdx );
+		}
+		else {
+			subdictIncludeIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
+			dictByIncludeIdx.put( keyIncludeIdx, subdictIncludeIdx );
+		}
+		subdictIncludeIdx.put( pkey, Buff );
+
+		CFSecBuffSecGrpIncByUIncludeIdxKey keyUIncludeIdx = (CFSecBuffSecGrpIncByUIncludeIdxKey)schema.getFactorySecGrpInc().newByUIncludeIdxKey();
+		keyUIncludeIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyUIncludeIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+		keyUIncludeIdx.setRequiredIncludeGroupId( Buff.getRequiredIncludeGroupId() );
+		dictByUIncludeIdx.put( keyUIncludeIdx, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffSecGrpInc Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffSecGrpIncByClusterIdxKey keyClusterIdx = (CFSecBuffSecGrpIncByClusterIdxKey)schema.getFactorySecGrpInc().newByClusterIdxKey();
+		keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+		if( subdictClusterIdx != null ) {
+			subdictClusterIdx.remove( pkey );
+			if( subdictClusterIdx.isEmpty() ) {
+				dictByClusterIdx.remove( keyClusterIdx );
+			}
+		}
+
+		CFSecBuffSecGrpIncByGroupIdxKey keyGroupIdx = (CFSecBuffSecGrpIncByGroupIdxKey)schema.getFactorySecGrpInc().newByGroupIdxKey();
+		keyGroupIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
+		if( subdictGroupIdx != null ) {
+			subdictGroupIdx.remove( pkey );
+			if( subdictGroupIdx.isEmpty() ) {
+				dictByGroupIdx.remove( keyGroupIdx );
+			}
+		}
+
+		CFSecBuffSecGrpIncByIncludeIdxKey keyIncludeIdx = (CFSecBuffSecGrpIncByIncludeIdxKey)schema.getFactorySecGrpInc().newByIncludeIdxKey();
+		keyIncludeIdx.setRequiredIncludeGroupId( Buff.getRequiredIncludeGroupId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictIncludeIdx = dictByIncludeIdx.get( keyIncludeIdx );
+		if( subdictIncludeIdx != null ) {
+			subdictIncludeIdx.remove( pkey );
+			if( subdictIncludeIdx.isEmpty() ) {
+				dictByIncludeIdx.remove( keyIncludeIdx );
+			}
+		}
+
+		CFSecBuffSecGrpIncByUIncludeIdxKey keyUIncludeIdx = (CFSecBuffSecGrpIncByUIncludeIdxKey)schema.getFactorySecGrpInc().newByUIncludeIdxKey();
+		keyUIncludeIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyUIncludeIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+		keyUIncludeIdx.setRequiredIncludeGroupId( Buff.getRequiredIncludeGroupId() );
+		dictByUIncludeIdx.remove( keyUIncludeIdx );
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildClusterIdx,
+			this::rebuildGroupIdx,
+			this::rebuildIncludeIdx,
+			this::rebuildUIncludeIdx );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	protected void rebuildClusterIdx() {
+		dictByClusterIdx.clear();
+		for( CFSecBuffSecGrpInc Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffSecGrpIncByClusterIdxKey keyClusterIdx = (CFSecBuffSecGrpIncByClusterIdxKey)schema.getFactorySecGrpInc().newByClusterIdxKey();
+			keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictClusterIdx;
+			if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
+				subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+			}
+			else {
+				subdictClusterIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
+				dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
+			}
+			subdictClusterIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildGroupIdx() {
+		dictByGroupIdx.clear();
+		for( CFSecBuffSecGrpInc Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffSecGrpIncByGroupIdxKey keyGroupIdx = (CFSecBuffSecGrpIncByGroupIdxKey)schema.getFactorySecGrpInc().newByGroupIdxKey();
+			keyGroupIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictGroupIdx;
+			if( dictByGroupIdx.containsKey( keyGroupIdx ) ) {
+				subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
+			}
+			else {
+				subdictGroupIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
+				dictByGroupIdx.put( keyGroupIdx, subdictGroupIdx );
+			}
+			subdictGroupIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildIncludeIdx() {
+		dictByIncludeIdx.clear();
+		for( CFSecBuffSecGrpInc Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffSecGrpIncByIncludeIdxKey keyIncludeIdx = (CFSecBuffSecGrpIncByIncludeIdxKey)schema.getFactorySecGrpInc().newByIncludeIdxKey();
+			keyIncludeIdx.setRequiredIncludeGroupId( Buff.getRequiredIncludeGroupId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictIncludeIdx;
+			if( dictByIncludeIdx.containsKey( keyIncludeIdx ) ) {
+				subdictIncludeIdx = dictByIncludeIdx.get( keyIncludeIdx );
+			}
+			else {
+				subdictIncludeIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
+				dictByIncludeIdx.put( keyIncludeIdx, subdictIncludeIdx );
+			}
+			subdictIncludeIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildUIncludeIdx() {
+		dictByUIncludeIdx.clear();
+		for( CFSecBuffSecGrpInc Buff : dictByPKey.values() ) {
+			CFSecBuffSecGrpIncByUIncludeIdxKey keyUIncludeIdx = (CFSecBuffSecGrpIncByUIncludeIdxKey)schema.getFactorySecGrpInc().newByUIncludeIdxKey();
+			keyUIncludeIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			keyUIncludeIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+			keyUIncludeIdx.setRequiredIncludeGroupId( Buff.getRequiredIncludeGroupId() );
+			dictByUIncludeIdx.put( keyUIncludeIdx, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< CFSecBuffSecGrpInc > staged = new ArrayList< CFSecBuffSecGrpInc >();
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffSecGrpInc Buff = dictByPKey.get( pkey );
+			if( Buff == null ) {
+				continue;
+			}
+			staged.add( Buff );
+			CFSecBuffSecGrpIncByUIncludeIdxKey keyUIncludeIdx = (CFSecBuffSecGrpIncByUIncludeIdxKey)schema.getFactorySecGrpInc().newByUIncludeIdxKey();
+			keyUIncludeIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			keyUIncludeIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+			keyUIncludeIdx.setRequiredIncludeGroupId( Buff.getRequiredIncludeGroupId() );
+			if( dictByUIncludeIdx.get( keyUIncludeIdx ) != Buff ) {
+				violations.add( "SecGrpInc " + Buff.getPKey() + " duplicates the SecGrpIncUIncludeIdx key " + keyUIncludeIdx );
+			}
+		}
+
+		Map< CFLibDbKeyHash256, List< CFSecBuffSecGrpInc > > bySecGrpIncCluster = new HashMap< CFLibDbKeyHash256, List< CFSecBuffSecGrpInc > >();
+		for( CFSecBuffSecGrpInc Buff : staged ) {
+			bySecGrpIncCluster.computeIfAbsent( Buff.getRequiredClusterId(), ( k ) -> new ArrayList< CFSecBuffSecGrpInc >() ).add( Buff );
+		}
+		for( Map.Entry< CFLibDbKeyHash256, List< CFSecBuffSecGrpInc > > entry : bySecGrpIncCluster.entrySet() ) {
+			if( null == schema.getTableCluster().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffSecGrpInc Buff : entry.getValue() ) {
+					violations.add( "SecGrpInc " + Buff.getPKey() + " references the missing Cluster " + entry.getKey() + " through SecGrpIncCluster" );
+				}
+			}
+		}
+
+		Map< CFLibDbKeyHash256, List< CFSecBuffSecGrpInc > > bySecGrpIncGroup = new HashMap< CFLibDbKeyHash256, List< CFSecBuffSecGrpInc > >();
+		for( CFSecBuffSecGrpInc Buff : staged ) {
+			bySecGrpIncGroup.computeIfAbsent( Buff.getRequiredSecGroupId(), ( k ) -> new ArrayList< CFSecBuffSecGrpInc >() ).add( Buff );
+		}
+		for( Map.Entry< CFLibDbKeyHash256, List< CFSecBuffSecGrpInc > > entry : bySecGrpIncGroup.entrySet() ) {
+			if( null == schema.getTableSecGroup().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffSecGrpInc Buff : entry.getValue() ) {
+					violations.add( "SecGrpInc " + Buff.getPKey() + " references the missing SecGroup " + entry.getKey() + " through SecGrpIncGroup" );
+				}
+			}
+		}
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffSecGrpInc Buff = dictByPKey.remove( pkey );
+			if( Buff != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+			}
+		}
+		bulkPKeys.clear();
+		rebuildIndexes();
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		bulkPKeys.clear();
+	}
+
 	@Override
 	public ICFSecSecGrpInc createSecGrpInc( ICFSecAuthorization Authorization,
 		ICFSecSecGrpInc iBuff )
 	{
 		final String S_ProcName = "createSecGrpInc";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffSecGrpInc Buff = (CFSecBuffSecGrpInc)ensureRec(iBuff);
 		CFLibDbKeyHash256 pkey;
@@ -125,7 +437,7 @@ public class CFSecRamSecGrpIncTable
 			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
 		}
 
-		if( dictByUIncludeIdx.containsKey( keyUIncludeIdx ) ) {
+		if( ( ! bulkLoad ) && dictByUIncludeIdx.containsKey( keyUIncludeIdx ) ) {
 			throw new CFLibUniqueIndexViolationException( getClass(),
 				S_ProcName,
 				"SecGrpIncUIncludeIdx",
@@ -138,7 +450,7 @@ public class CFSecRamSecGrpIncTable
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableCluster().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredClusterId() ) )
 				{
@@ -158,7 +470,7 @@ public class CFSecRamSecGrpIncTable
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableSecGroup().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredSecGroupId() ) )
 				{
@@ -178,38 +490,45 @@ public class CFSecRamSecGrpIncTable
 		// Proceed with adding the new record
 
 		dictByPKey.put( pkey, Buff );
+		if( bulkLoad ) {
+			bulkPKeys.add( pkey );
+		}
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictClusterIdx;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictClusterIdx;
 		if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
 			subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
 		}
 		else {
-			subdictClusterIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
+			subdictClusterIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
 			dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
 		}
 		subdictClusterIdx.put( pkey, Buff );
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictGroupIdx;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictGroupIdx;
 		if( dictByGroupIdx.containsKey( keyGroupIdx ) ) {
 			subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
 		}
 		else {
-			subdictGroupIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
+			subdictGroupIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
 			dictByGroupIdx.put( keyGroupIdx, subdictGroupIdx );
 		}
 		subdictGroupIdx.put( pkey, Buff );
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictIncludeIdx;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictIncludeIdx;
 		if( dictByIncludeIdx.containsKey( keyIncludeIdx ) ) {
 			subdictIncludeIdx = dictByIncludeIdx.get( keyIncludeIdx );
 		}
 		else {
-			subdictIncludeIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
+			subdictIncludeIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
 			dictByIncludeIdx.put( keyIncludeIdx, subdictIncludeIdx );
 		}
 		subdictIncludeIdx.put( pkey, Buff );
 
-		dictByUIncludeIdx.put( keyUIncludeIdx, Buff );
+		dictByUIncludeIdx.putIfAbsent( keyUIncludeIdx, Buff );
+
+		CFSecRamTransaction.record( schema, null, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 
 		if (Buff == null) {
 			return( null );
@@ -277,25 +596,19 @@ public class CFSecRamSecGrpIncTable
 		CFLibDbKeyHash256 ClusterId )
 	{
 		final String S_ProcName = "CFSecRamSecGrpInc.readDerivedByClusterIdx";
-		CFSecBuffSecGrpIncByClusterIdxKey key = (CFSecBuffSecGrpIncByClusterIdxKey)schema.getFactorySecGrpInc().newByClusterIdxKey();
+		CFSecBuffSecGrpIncByClusterIdxKey key = probeClusterIdx.get();
 
 		key.setRequiredClusterId( ClusterId );
-		ICFSecSecGrpInc[] recArray;
-		if( dictByClusterIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictClusterIdx
-				= dictByClusterIdx.get( key );
-			recArray = new ICFSecSecGrpInc[ subdictClusterIdx.size() ];
-			Iterator< CFSecBuffSecGrpInc > iter = subdictClusterIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictClusterIdx
+			= dictByClusterIdx.get( key );
+		if( ( subdictClusterIdx == null ) || subdictClusterIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictClusterIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
-			dictByClusterIdx.put( key, subdictClusterIdx );
-			recArray = new ICFSecSecGrpInc[0];
+		ICFSecSecGrpInc[] recArray = new ICFSecSecGrpInc[ subdictClusterIdx.size() ];
+		Iterator< CFSecBuffSecGrpInc > iter = subdictClusterIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -305,25 +618,19 @@ public class CFSecRamSecGrpIncTable
 		CFLibDbKeyHash256 SecGroupId )
 	{
 		final String S_ProcName = "CFSecRamSecGrpInc.readDerivedByGroupIdx";
-		CFSecBuffSecGrpIncByGroupIdxKey key = (CFSecBuffSecGrpIncByGroupIdxKey)schema.getFactorySecGrpInc().newByGroupIdxKey();
+		CFSecBuffSecGrpIncByGroupIdxKey key = probeGroupIdx.get();
 
 		key.setRequiredSecGroupId( SecGroupId );
-		ICFSecSecGrpInc[] recArray;
-		if( dictByGroupIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictGroupIdx
-				= dictByGroupIdx.get( key );
-			recArray = new ICFSecSecGrpInc[ subdictGroupIdx.size() ];
-			Iterator< CFSecBuffSecGrpInc > iter = subdictGroupIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictGroupIdx
+			= dictByGroupIdx.get( key );
+		if( ( subdictGroupIdx == null ) || subdictGroupIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictGroupIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
-			dictByGroupIdx.put( key, subdictGroupIdx );
-			recArray = new ICFSecSecGrpInc[0];
+		ICFSecSecGrpInc[] recArray = new ICFSecSecGrpInc[ subdictGroupIdx.size() ];
+		Iterator< CFSecBuffSecGrpInc > iter = subdictGroupIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -333,25 +640,19 @@ public class CFSecRamSecGrpIncTable
 		CFLibDbKeyHash256 IncludeGroupId )
 	{
 		final String S_ProcName = "CFSecRamSecGrpInc.readDerivedByIncludeIdx";
-		CFSecBuffSecGrpIncByIncludeIdxKey key = (CFSecBuffSecGrpIncByIncludeIdxKey)schema.getFactorySecGrpInc().newByIncludeIdxKey();
+		CFSecBuffSecGrpIncByIncludeIdxKey key = probeIncludeIdx.get();
 
 		key.setRequiredIncludeGroupId( IncludeGroupId );
-		ICFSecSecGrpInc[] recArray;
-		if( dictByIncludeIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictIncludeIdx
-				= dictByIncludeIdx.get( key );
-			recArray = new ICFSecSecGrpInc[ subdictIncludeIdx.size() ];
-			Iterator< CFSecBuffSecGrpInc > iter = subdictIncludeIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictIncludeIdx
+			= dictByIncludeIdx.get( key );
+		if( ( subdictIncludeIdx == null ) || subdictIncludeIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictIncludeIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
-			dictByIncludeIdx.put( key, subdictIncludeIdx );
-			recArray = new ICFSecSecGrpInc[0];
+		ICFSecSecGrpInc[] recArray = new ICFSecSecGrpInc[ subdictIncludeIdx.size() ];
+		Iterator< CFSecBuffSecGrpInc > iter = subdictIncludeIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -363,18 +664,13 @@ public class CFSecRamSecGrpIncTable
 		CFLibDbKeyHash256 IncludeGroupId )
 	{
 		final String S_ProcName = "CFSecRamSecGrpInc.readDerivedByUIncludeIdx";
-		CFSecBuffSecGrpIncByUIncludeIdxKey key = (CFSecBuffSecGrpIncByUIncludeIdxKey)schema.getFactorySecGrpInc().newByUIncludeIdxKey();
+		CFSecBuffSecGrpIncByUIncludeIdxKey key = probeUIncludeIdx.get();
 
 		key.setRequiredClusterId( ClusterId );
 		key.setRequiredSecGroupId( SecGroupId );
 		key.setRequiredIncludeGroupId( IncludeGroupId );
 		ICFSecSecGrpInc buff;
-		if( dictByUIncludeIdx.containsKey( key ) ) {
-			buff = dictByUIncludeIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByUIncludeIdx.get( key );
 		return( buff );
 	}
 
@@ -393,6 +689,215 @@ public class CFSecRamSecGrpIncTable
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every SecGrpInc instance in the table,
+	 *	without copying the table into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecSecGrpInc > viewAll( ICFSecAuthorization Authorization ) {
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every SecGrpInc instance in the table, iterating
+	 *	the table in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecSecGrpInc > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every SecGrpInc instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecSecGrpInc > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the SecGrpInc instances identified by the duplicate key ClusterIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The SecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSecGrpInc > viewByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId )
+	{
+		CFSecBuffSecGrpIncByClusterIdxKey key = probeClusterIdx.get();
+		key.setRequiredClusterId( ClusterId );
+		return( CFSecRamViews.of( dictByClusterIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each SecGrpInc instance identified by the duplicate key ClusterIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The SecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId,
+		Consumer< ? super ICFSecSecGrpInc > action )
+	{
+		viewByClusterIdx( Authorization,
+			ClusterId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the SecGrpInc instances identified by the duplicate key ClusterIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The SecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSecGrpInc > streamByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId )
+	{
+		return( viewByClusterIdx( Authorization,
+			ClusterId ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the SecGrpInc instances identified by the duplicate key GroupIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecGroupId	The SecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSecGrpInc > viewByGroupIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecGroupId )
+	{
+		CFSecBuffSecGrpIncByGroupIdxKey key = probeGroupIdx.get();
+		key.setRequiredSecGroupId( SecGroupId );
+		return( CFSecRamViews.of( dictByGroupIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each SecGrpInc instance identified by the duplicate key GroupIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecGroupId	The SecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByGroupIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecGroupId,
+		Consumer< ? super ICFSecSecGrpInc > action )
+	{
+		viewByGroupIdx( Authorization,
+			SecGroupId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the SecGrpInc instances identified by the duplicate key GroupIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecGroupId	The SecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSecGrpInc > streamByGroupIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecGroupId )
+	{
+		return( viewByGroupIdx( Authorization,
+			SecGroupId ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the SecGrpInc instances identified by the duplicate key IncludeIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	IncludeGroupId	The SecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSecGrpInc > viewByIncludeIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 IncludeGroupId )
+	{
+		CFSecBuffSecGrpIncByIncludeIdxKey key = probeIncludeIdx.get();
+		key.setRequiredIncludeGroupId( IncludeGroupId );
+		return( CFSecRamViews.of( dictByIncludeIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each SecGrpInc instance identified by the duplicate key IncludeIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	IncludeGroupId	The SecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByIncludeIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 IncludeGroupId,
+		Consumer< ? super ICFSecSecGrpInc > action )
+	{
+		viewByIncludeIdx( Authorization,
+			IncludeGroupId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the SecGrpInc instances identified by the duplicate key IncludeIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	IncludeGroupId	The SecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSecGrpInc > streamByIncludeIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 IncludeGroupId )
+	{
+		return( viewByIncludeIdx( Authorization,
+			IncludeGroupId ).stream() );
+	}
+
 	@Override
 	public ICFSecSecGrpInc readRec( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 PKey )
@@ -417,20 +922,43 @@ public class CFSecRamSecGrpIncTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecSecGrpInc.CLASS_CODE.
+	 */
+	protected ICFSecSecGrpInc[] filterRecs( ICFSecSecGrpInc[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecSecGrpInc buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGrpInc.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecSecGrpInc[] recArray = new ICFSecSecGrpInc[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecSecGrpInc buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGrpInc.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecSecGrpInc[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamSecGrpInc.readAllRec";
-		ICFSecSecGrpInc buff;
-		ArrayList<ICFSecSecGrpInc> filteredList = new ArrayList<ICFSecSecGrpInc>();
 		ICFSecSecGrpInc[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGrpInc.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecSecGrpInc[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	/**
@@ -438,6 +966,8 @@ public class CFSecRamSecGrpIncTable
 	 *
 	 *	@param	Authorization	The session authorization information.
 	 *
+	 *	@param	priorSecGrpIncId	The SecGrpIncId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return All the specific SecGrpInc instances in the database accessible for the Authorization.
 	 */
 	@Override
@@ -445,7 +975,9 @@ public class CFSecRamSecGrpIncTable
 		CFLibDbKeyHash256 priorSecGrpIncId )
 	{
 		final String S_ProcName = "pageAllRec";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		List< CFSecBuffSecGrpInc > page = CFSecRamPager.page( dictByPKey, priorSecGrpIncId, pageSize );
+		return( page.toArray( new ICFSecSecGrpInc[ page.size() ] ) );
 	}
 
 	@Override
@@ -468,17 +1000,12 @@ public class CFSecRamSecGrpIncTable
 		CFLibDbKeyHash256 ClusterId )
 	{
 		final String S_ProcName = "CFSecRamSecGrpInc.readRecByClusterIdx() ";
-		ICFSecSecGrpInc buff;
-		ArrayList<ICFSecSecGrpInc> filteredList = new ArrayList<ICFSecSecGrpInc>();
 		ICFSecSecGrpInc[] buffList = readDerivedByClusterIdx( Authorization,
 			ClusterId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGrpInc.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSecGrpInc)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSecGrpInc[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -486,17 +1013,12 @@ public class CFSecRamSecGrpIncTable
 		CFLibDbKeyHash256 SecGroupId )
 	{
 		final String S_ProcName = "CFSecRamSecGrpInc.readRecByGroupIdx() ";
-		ICFSecSecGrpInc buff;
-		ArrayList<ICFSecSecGrpInc> filteredList = new ArrayList<ICFSecSecGrpInc>();
 		ICFSecSecGrpInc[] buffList = readDerivedByGroupIdx( Authorization,
 			SecGroupId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGrpInc.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSecGrpInc)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSecGrpInc[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -504,17 +1026,12 @@ public class CFSecRamSecGrpIncTable
 		CFLibDbKeyHash256 IncludeGroupId )
 	{
 		final String S_ProcName = "CFSecRamSecGrpInc.readRecByIncludeIdx() ";
-		ICFSecSecGrpInc buff;
-		ArrayList<ICFSecSecGrpInc> filteredList = new ArrayList<ICFSecSecGrpInc>();
 		ICFSecSecGrpInc[] buffList = readDerivedByIncludeIdx( Authorization,
 			IncludeGroupId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGrpInc.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSecGrpInc)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSecGrpInc[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -543,6 +1060,8 @@ public class CFSecRamSecGrpIncTable
 	 *
 	 *	@param	ClusterId	The SecGrpInc key attribute of the instance generating the id.
 	 *
+	 *	@param	priorSecGrpIncId	The SecGrpIncId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -553,7 +1072,11 @@ public class CFSecRamSecGrpIncTable
 		CFLibDbKeyHash256 priorSecGrpIncId )
 	{
 		final String S_ProcName = "pageRecByClusterIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffSecGrpIncByClusterIdxKey key = probeClusterIdx.get();
+		key.setRequiredClusterId( ClusterId );
+		List< CFSecBuffSecGrpInc > page = CFSecRamPager.page( dictByClusterIdx.get( key ), priorSecGrpIncId, pageSize );
+		return( page.toArray( new ICFSecSecGrpInc[ page.size() ] ) );
 	}
 
 	/**
@@ -563,6 +1086,8 @@ public class CFSecRamSecGrpIncTable
 	 *
 	 *	@param	SecGroupId	The SecGrpInc key attribute of the instance generating the id.
 	 *
+	 *	@param	priorSecGrpIncId	The SecGrpIncId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -573,7 +1098,11 @@ public class CFSecRamSecGrpIncTable
 		CFLibDbKeyHash256 priorSecGrpIncId )
 	{
 		final String S_ProcName = "pageRecByGroupIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffSecGrpIncByGroupIdxKey key = probeGroupIdx.get();
+		key.setRequiredSecGroupId( SecGroupId );
+		List< CFSecBuffSecGrpInc > page = CFSecRamPager.page( dictByGroupIdx.get( key ), priorSecGrpIncId, pageSize );
+		return( page.toArray( new ICFSecSecGrpInc[ page.size() ] ) );
 	}
 
 	/**
@@ -583,6 +1112,8 @@ public class CFSecRamSecGrpIncTable
 	 *
 	 *	@param	IncludeGroupId	The SecGrpInc key attribute of the instance generating the id.
 	 *
+	 *	@param	priorSecGrpIncId	The SecGrpIncId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -593,7 +1124,11 @@ public class CFSecRamSecGrpIncTable
 		CFLibDbKeyHash256 priorSecGrpIncId )
 	{
 		final String S_ProcName = "pageRecByIncludeIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffSecGrpIncByIncludeIdxKey key = probeIncludeIdx.get();
+		key.setRequiredIncludeGroupId( IncludeGroupId );
+		List< CFSecBuffSecGrpInc > page = CFSecRamPager.page( dictByIncludeIdx.get( key ), priorSecGrpIncId, pageSize );
+		return( page.toArray( new ICFSecSecGrpInc[ page.size() ] ) );
 	}
 
 	public ICFSecSecGrpInc updateSecGrpInc( ICFSecAuthorization Authorization,
@@ -701,53 +1236,72 @@ public class CFSecRamSecGrpIncTable
 
 		// Update is valid
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdict;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdict;
 
-		dictByPKey.remove( pkey );
 		dictByPKey.put( pkey, Buff );
 
-		subdict = dictByClusterIdx.get( existingKeyClusterIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyClusterIdx.equals( newKeyClusterIdx ) ) {
+			subdict = dictByClusterIdx.get( existingKeyClusterIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByClusterIdx.remove( existingKeyClusterIdx );
+				}
+			}
 		}
 		if( dictByClusterIdx.containsKey( newKeyClusterIdx ) ) {
 			subdict = dictByClusterIdx.get( newKeyClusterIdx );
 		}
 		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
+			subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
 			dictByClusterIdx.put( newKeyClusterIdx, subdict );
 		}
 		subdict.put( pkey, Buff );
 
-		subdict = dictByGroupIdx.get( existingKeyGroupIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyGroupIdx.equals( newKeyGroupIdx ) ) {
+			subdict = dictByGroupIdx.get( existingKeyGroupIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByGroupIdx.remove( existingKeyGroupIdx );
+				}
+			}
 		}
 		if( dictByGroupIdx.containsKey( newKeyGroupIdx ) ) {
 			subdict = dictByGroupIdx.get( newKeyGroupIdx );
 		}
 		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
+			subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
 			dictByGroupIdx.put( newKeyGroupIdx, subdict );
 		}
 		subdict.put( pkey, Buff );
 
-		subdict = dictByIncludeIdx.get( existingKeyIncludeIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyIncludeIdx.equals( newKeyIncludeIdx ) ) {
+			subdict = dictByIncludeIdx.get( existingKeyIncludeIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByIncludeIdx.remove( existingKeyIncludeIdx );
+				}
+			}
 		}
 		if( dictByIncludeIdx.containsKey( newKeyIncludeIdx ) ) {
 			subdict = dictByIncludeIdx.get( newKeyIncludeIdx );
 		}
 		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
+			subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc >();
 			dictByIncludeIdx.put( newKeyIncludeIdx, subdict );
 		}
 		subdict.put( pkey, Buff );
 
-		dictByUIncludeIdx.remove( existingKeyUIncludeIdx );
+		if( ! existingKeyUIncludeIdx.equals( newKeyUIncludeIdx ) ) {
+			dictByUIncludeIdx.remove( existingKeyUIncludeIdx );
+		}
 		dictByUIncludeIdx.put( newKeyUIncludeIdx, Buff );
 
+		CFSecRamTransaction.record( schema, existing, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
@@ -786,45 +1340,53 @@ public class CFSecRamSecGrpIncTable
 		// Validate reverse foreign keys
 
 		// Delete is valid
-		Map< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdict;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdict;
 
 		dictByPKey.remove( pkey );
 
 		subdict = dictByClusterIdx.get( keyClusterIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByClusterIdx.remove( keyClusterIdx );
+			}
+		}
 
 		subdict = dictByGroupIdx.get( keyGroupIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByGroupIdx.remove( keyGroupIdx );
+			}
+		}
 
 		subdict = dictByIncludeIdx.get( keyIncludeIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByIncludeIdx.remove( keyIncludeIdx );
+			}
+		}
 
 		dictByUIncludeIdx.remove( keyUIncludeIdx );
 
+		CFSecRamTransaction.record( schema, existing, null );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteSecGrpIncByIdIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffSecGrpInc cur;
 		LinkedList<CFSecBuffSecGrpInc> matchSet = new LinkedList<CFSecBuffSecGrpInc>();
-		Iterator<CFSecBuffSecGrpInc> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByPKey.get( argKey );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffSecGrpInc> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecGrpInc)(schema.getTableSecGrpInc().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecGrpIncId() ));
 			deleteSecGrpInc( Authorization, cur );
 		}
 	}
@@ -843,24 +1405,22 @@ public class CFSecRamSecGrpIncTable
 		ICFSecSecGrpIncByClusterIdxKey argKey )
 	{
 		CFSecBuffSecGrpInc cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffSecGrpIncByClusterIdxKey key;
+		if( argKey instanceof CFSecBuffSecGrpIncByClusterIdxKey ) {
+			key = (CFSecBuffSecGrpIncByClusterIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffSecGrpIncByClusterIdxKey)schema.getFactorySecGrpInc().newByClusterIdxKey();
+			key.setRequiredClusterId( argKey.getRequiredClusterId() );
 		}
 		LinkedList<CFSecBuffSecGrpInc> matchSet = new LinkedList<CFSecBuffSecGrpInc>();
-		Iterator<CFSecBuffSecGrpInc> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictClusterIdx = dictByClusterIdx.get( key );
+		if( subdictClusterIdx != null ) {
+			matchSet.addAll( subdictClusterIdx.values() );
 		}
 		Iterator<CFSecBuffSecGrpInc> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecGrpInc)(schema.getTableSecGrpInc().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecGrpIncId() ));
 			deleteSecGrpInc( Authorization, cur );
 		}
 	}
@@ -879,24 +1439,22 @@ public class CFSecRamSecGrpIncTable
 		ICFSecSecGrpIncByGroupIdxKey argKey )
 	{
 		CFSecBuffSecGrpInc cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffSecGrpIncByGroupIdxKey key;
+		if( argKey instanceof CFSecBuffSecGrpIncByGroupIdxKey ) {
+			key = (CFSecBuffSecGrpIncByGroupIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffSecGrpIncByGroupIdxKey)schema.getFactorySecGrpInc().newByGroupIdxKey();
+			key.setRequiredSecGroupId( argKey.getRequiredSecGroupId() );
 		}
 		LinkedList<CFSecBuffSecGrpInc> matchSet = new LinkedList<CFSecBuffSecGrpInc>();
-		Iterator<CFSecBuffSecGrpInc> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictGroupIdx = dictByGroupIdx.get( key );
+		if( subdictGroupIdx != null ) {
+			matchSet.addAll( subdictGroupIdx.values() );
 		}
 		Iterator<CFSecBuffSecGrpInc> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecGrpInc)(schema.getTableSecGrpInc().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecGrpIncId() ));
 			deleteSecGrpInc( Authorization, cur );
 		}
 	}
@@ -915,24 +1473,22 @@ public class CFSecRamSecGrpIncTable
 		ICFSecSecGrpIncByIncludeIdxKey argKey )
 	{
 		CFSecBuffSecGrpInc cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffSecGrpIncByIncludeIdxKey key;
+		if( argKey instanceof CFSecBuffSecGrpIncByIncludeIdxKey ) {
+			key = (CFSecBuffSecGrpIncByIncludeIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffSecGrpIncByIncludeIdxKey)schema.getFactorySecGrpInc().newByIncludeIdxKey();
+			key.setRequiredIncludeGroupId( argKey.getRequiredIncludeGroupId() );
 		}
 		LinkedList<CFSecBuffSecGrpInc> matchSet = new LinkedList<CFSecBuffSecGrpInc>();
-		Iterator<CFSecBuffSecGrpInc> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpInc > subdictIncludeIdx = dictByIncludeIdx.get( key );
+		if( subdictIncludeIdx != null ) {
+			matchSet.addAll( subdictIncludeIdx.values() );
 		}
 		Iterator<CFSecBuffSecGrpInc> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecGrpInc)(schema.getTableSecGrpInc().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecGrpIncId() ));
 			deleteSecGrpInc( Authorization, cur );
 		}
 	}
@@ -955,26 +1511,24 @@ public class CFSecRamSecGrpIncTable
 		ICFSecSecGrpIncByUIncludeIdxKey argKey )
 	{
 		CFSecBuffSecGrpInc cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffSecGrpIncByUIncludeIdxKey key;
+		if( argKey instanceof CFSecBuffSecGrpIncByUIncludeIdxKey ) {
+			key = (CFSecBuffSecGrpIncByUIncludeIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffSecGrpIncByUIncludeIdxKey)schema.getFactorySecGrpInc().newByUIncludeIdxKey();
+			key.setRequiredClusterId( argKey.getRequiredClusterId() );
+			key.setRequiredSecGroupId( argKey.getRequiredSecGroupId() );
+			key.setRequiredIncludeGroupId( argKey.getRequiredIncludeGroupId() );
 		}
 		LinkedList<CFSecBuffSecGrpInc> matchSet = new LinkedList<CFSecBuffSecGrpInc>();
-		Iterator<CFSecBuffSecGrpInc> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByUIncludeIdx.get( key );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffSecGrpInc> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecGrpInc)(schema.getTableSecGrpInc().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecGrpIncId() ));
 			deleteSecGrpInc( Authorization, cur );
 		}
 	}
@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,40 +48,74 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for SecGrpMemb.
  */
 public class CFSecRamSecGrpMembTable
-	implements ICFSecSecGrpMembTable
+	implements ICFSecSecGrpMembTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecSecGrpMemb[] EMPTY_REC_ARRAY = new ICFSecSecGrpMemb[0];
+
+	// Positions of the indexes in the persistent index, which numbers the
+	// unique and the duplicate indexes separately.
+	private static final int PIDX_UUSERIDX = 0;
+	private static final int PIDX_CLUSTERIDX = 0;
+	private static final int PIDX_GROUPIDX = 1;
+	private static final int PIDX_USERIDX = 2;
+
 	private ICFSecSchema schema;
-	private Map< CFLibDbKeyHash256,
+	private NavigableMap< CFLibDbKeyHash256,
 				CFSecBuffSecGrpMemb > dictByPKey
-		= new HashMap< CFLibDbKeyHash256,
+		= new TreeMap< CFLibDbKeyHash256,
 				CFSecBuffSecGrpMemb >();
 	private Map< CFSecBuffSecGrpMembByClusterIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecGrpMemb >> dictByClusterIdx
 		= new HashMap< CFSecBuffSecGrpMembByClusterIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecGrpMemb >>();
 	private Map< CFSecBuffSecGrpMembByGroupIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecGrpMemb >> dictByGroupIdx
 		= new HashMap< CFSecBuffSecGrpMembByGroupIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecGrpMemb >>();
 	private Map< CFSecBuffSecGrpMembByUserIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecGrpMemb >> dictByUserIdx
 		= new HashMap< CFSecBuffSecGrpMembByUserIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecGrpMemb >>();
 	private Map< CFSecBuffSecGrpMembByUUserIdxKey,
 			CFSecBuffSecGrpMemb > dictByUUserIdx
 		= new HashMap< CFSecBuffSecGrpMembByUUserIdxKey,
 			CFSecBuffSecGrpMemb >();
 
+	private final CFSecRamTableLock tableLock = new CFSecRamTableLock();
+
+	private volatile CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > persistentIndex = null;
+
+	private final List< CFLibDbKeyHash256 > bulkPKeys = new ArrayList< CFLibDbKeyHash256 >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffSecGrpMembByClusterIdxKey > probeClusterIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecGrpMembByClusterIdxKey)schema.getFactorySecGrpMemb().newByClusterIdxKey() );
+	private final ThreadLocal< CFSecBuffSecGrpMembByGroupIdxKey > probeGroupIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecGrpMembByGroupIdxKey)schema.getFactorySecGrpMemb().newByGroupIdxKey() );
+	private final ThreadLocal< CFSecBuffSecGrpMembByUserIdxKey > probeUserIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecGrpMembByUserIdxKey)schema.getFactorySecGrpMemb().newByUserIdxKey() );
+	private final ThreadLocal< CFSecBuffSecGrpMembByUUserIdxKey > probeUUserIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecGrpMembByUUserIdxKey)schema.getFactorySecGrpMemb().newByUUserIdxKey() );
+
 	public CFSecRamSecGrpMembTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
 
+	public CFSecRamTableLock getTableLock() {
+		return( tableLock );
+	}
+
 	public CFSecBuffSecGrpMemb ensureRec(ICFSecSecGrpMemb rec) {
 		if (rec == null) {
 			return( null );
@@ -95,11 +131,409 @@ public class CFSecRamSecGrpMembTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffSecGrpMemb > recs ) {
+		long stamp = tableLock.writeLock();
+		try {
+			dictByPKey.clear();
+			for( CFSecBuffSecGrpMemb Buff : recs ) {
+				CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+				dictByPKey.put( pkey, Buff );
+			}
+			rebuildIndexes();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffSecGrpMemb > snapshotRecs() {
+		List< CFSecBuffSecGrpMemb > recs = tableLock.read( () -> new ArrayList< CFSecBuffSecGrpMemb >( dictByPKey.values() ) );
+		return( recs );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffSecGrpMemb lookupRec( Object pkey ) {
+		return( tableLock.read( () -> dictByPKey.get( pkey ) ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffSecGrpMemb before ) {
+		long lsn = 0L;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecBuffSecGrpMemb current;
+			if( before == null ) {
+				current = dictByPKey.remove( pkey );
+			}
+			else {
+				current = dictByPKey.put( (CFLibDbKeyHash256)pkey, before );
+			}
+			if( current != null ) {
+				unindexRec( current );
+			}
+			if( before != null ) {
+				indexRec( before );
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+			}
+			else if( current != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+			}
+			if( ( current != null ) || ( before != null ) ) {
+				applyPersistentIndex( current, before );
+			}
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffSecGrpMemb Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffSecGrpMembByClusterIdxKey keyClusterIdx = (CFSecBuffSecGrpMembByClusterIdxKey)schema.getFactorySecGrpMemb().newByClusterIdxKey();
+		keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictClusterIdx;
+		if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
+			subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+		}
+		else {
+			subdictClusterIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
+			dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
+		}
+		subdictClusterIdx.put( pkey, Buff );
+
+		CFSecBuffSecGrpMembByGroupIdxKey keyGroupIdx = (CFSecBuffSecGrpMembByGroupIdxKey)schema.getFactorySecGrpMemb().newByGroupIdxKey();
+		keyGroupIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictGroupIdx;
+		if( dictByGroupIdx.containsKey( keyGroupIdx ) ) {
+			subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
+		}
+		else {
+			subdictGroupIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
+			dictByGroupIdx.put( keyGroupIdx, subdictGroupIdx );
+		}
+		subdictGroupIdx.put( pkey, Buff );
+
+		CFSecBuffSecGrpMembByUserIdxKey keyUserIdx = (CFSecBuffSecGrpMembByUserIdxKey)schema.getFactorySecGrpMemb().newByUserIdxKey();
+		keyUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictUserIdx;
+		if( dictByUserIdx.containsKey( keyUserIdx ) ) {
+			subdictUserIdx = dictByUserIdx.get( keyUserIdx );
+		}
+		else {
+			subdictUserIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
+			dictByUserIdx.put( keyUserIdx, subdictUserIdx );
+		}
+		subdictUserIdx.put( pkey, Buff );
+
+		CFSecBuffSecGrpMembByUUserIdxKey keyUUserIdx = (CFSecBuffSecGrpMembByUUserIdxKey)schema.getFactorySecGrpMemb().newByUUserIdxKey();
+		keyUUserIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyUUserIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+		keyUUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		dictByUUserIdx.put( keyUUserIdx, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffSecGrpMemb Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffSecGrpMembByClusterIdxKey keyClusterIdx = (CFSecBuffSecGrpMembByClusterIdxKey)schema.getFactorySecGrpMemb().newByClusterIdxKey();
+		keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+		if( subdictClusterIdx != null ) {
+			subdictClusterIdx.remove( pkey );
+			if( subdictClusterIdx.isEmpty() ) {
+				dictByClusterIdx.remove( keyClusterIdx );
+			}
+		}
+
+		CFSecBuffSecGrpMembByGroupIdxKey keyGroupIdx = (CFSecBuffSecGrpMembByGroupIdxKey)schema.getFactorySecGrpMemb().newByGroupIdxKey();
+		keyGroupIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
+		if( subdictGroupIdx != null ) {
+			subdictGroupIdx.remove( pkey );
+			if( subdictGroupIdx.isEmpty() ) {
+				dictByGroupIdx.remove( keyGroupIdx );
+			}
+		}
+
+		CFSecBuffSecGrpMembByUserIdxKey keyUserIdx = (CFSecBuffSecGrpMembByUserIdxKey)schema.getFactorySecGrpMemb().newByUserIdxKey();
+		keyUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictUserIdx = dictByUserIdx.get( keyUserIdx );
+		if( subdictUserIdx != null ) {
+			subdictUserIdx.remove( pkey );
+			if( subdictUserIdx.isEmpty() ) {
+				dictByUserIdx.remove( keyUserIdx );
+			}
+		}
+
+		CFSecBuffSecGrpMembByUUserIdxKey keyUUserIdx = (CFSecBuffSecGrpMembByUUserIdxKey)schema.getFactorySecGrpMemb().newByUUserIdxKey();
+		keyUUserIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyUUserIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+		keyUUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		dictByUUserIdx.remove( keyUUserIdx );
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildClusterIdx,
+			this::rebuildGroupIdx,
+			this::rebuildUserIdx,
+			this::rebuildUUserIdx,
+			this::rebuildPersistentIndex );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	public boolean isPersistentIndexEnabled() {
+		return( persistentIndex != null );
+	}
+
+	/**
+	 *	Enable or disable the persistent index.  While it is enabled, point
+	 *	reads, unique and duplicate index reads, and readAllDerived() are
+	 *	served from CFSecRamHamt tries published by the writers, with no
+	 *	reader-side locking at all.  Paged reads still use the dictionaries.
+	 *
+	 *	@param	value	True to maintain and read from the persistent index.
+	 */
+	public void setPersistentIndexEnabled( boolean value ) {
+		long stamp = tableLock.writeLock();
+		try {
+			if( ! value ) {
+				persistentIndex = null;
+			}
+			else if( persistentIndex == null ) {
+				CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = newPersistentIndex();
+				pindex.rebuild( dictByPKey.values() );
+				persistentIndex = pindex;
+			}
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
+	protected CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > newPersistentIndex() {
+		return( new CFSecRamPersistentIndex< CFSecBuffSecGrpMemb >(
+			( Buff ) -> Buff.getPKey(),
+			Arrays.< Function< CFSecBuffSecGrpMemb, Object > >asList(
+				( Buff ) -> {
+					CFSecBuffSecGrpMembByUUserIdxKey keyUUserIdx = (CFSecBuffSecGrpMembByUUserIdxKey)schema.getFactorySecGrpMemb().newByUUserIdxKey();
+					keyUUserIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+					keyUUserIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+					keyUUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+					return( keyUUserIdx );
+				} ),
+			Arrays.< Function< CFSecBuffSecGrpMemb, Object > >asList(
+				( Buff ) -> {
+					CFSecBuffSecGrpMembByClusterIdxKey keyClusterIdx = (CFSecBuffSecGrpMembByClusterIdxKey)schema.getFactorySecGrpMemb().newByClusterIdxKey();
+					keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+					return( keyClusterIdx );
+				},
+				( Buff ) -> {
+					CFSecBuffSecGrpMembByGroupIdxKey keyGroupIdx = (CFSecBuffSecGrpMembByGroupIdxKey)schema.getFactorySecGrpMemb().newByGroupIdxKey();
+					keyGroupIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+					return( keyGroupIdx );
+				},
+				( Buff ) -> {
+					CFSecBuffSecGrpMembByUserIdxKey keyUserIdx = (CFSecBuffSecGrpMembByUserIdxKey)schema.getFactorySecGrpMemb().newByUserIdxKey();
+					keyUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+					return( keyUserIdx );
+				} ) ) );
+	}
+
+	protected void rebuildPersistentIndex() {
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			pindex.rebuild( dictByPKey.values() );
+		}
+	}
+
+	private void applyPersistentIndex( CFSecBuffSecGrpMemb before, CFSecBuffSecGrpMemb after ) {
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			pindex.apply( before, after );
+		}
+	}
+
+	protected void rebuildClusterIdx() {
+		dictByClusterIdx.clear();
+		for( CFSecBuffSecGrpMemb Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffSecGrpMembByClusterIdxKey keyClusterIdx = (CFSecBuffSecGrpMembByClusterIdxKey)schema.getFactorySecGrpMemb().newByClusterIdxKey();
+			keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictClusterIdx;
+			if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
+				subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+			}
+			else {
+				subdictClusterIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
+				dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
+			}
+			subdictClusterIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildGroupIdx() {
+		dictByGroupIdx.clear();
+		for( CFSecBuffSecGrpMemb Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffSecGrpMembByGroupIdxKey keyGroupIdx = (CFSecBuffSecGrpMembByGroupIdxKey)schema.getFactorySecGrpMemb().newByGroupIdxKey();
+			keyGroupIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictGroupIdx;
+			if( dictByGroupIdx.containsKey( keyGroupIdx ) ) {
+				subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
+			}
+			else {
+				subdictGroupIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
+				dictByGroupIdx.put( keyGroupIdx, subdictGroupIdx );
+			}
+			subdictGroupIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildUserIdx() {
+		dictByUserIdx.clear();
+		for( CFSecBuffSecGrpMemb Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffSecGrpMembByUserIdxKey keyUserIdx = (CFSecBuffSecGrpMembByUserIdxKey)schema.getFactorySecGrpMemb().newByUserIdxKey();
+			keyUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictUserIdx;
+			if( dictByUserIdx.containsKey( keyUserIdx ) ) {
+				subdictUserIdx = dictByUserIdx.get( keyUserIdx );
+			}
+			else {
+				subdictUserIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
+				dictByUserIdx.put( keyUserIdx, subdictUserIdx );
+			}
+			subdictUserIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildUUserIdx() {
+		dictByUUserIdx.clear();
+		for( CFSecBuffSecGrpMemb Buff : dictByPKey.values() ) {
+			CFSecBuffSecGrpMembByUUserIdxKey keyUUserIdx = (CFSecBuffSecGrpMembByUUserIdxKey)schema.getFactorySecGrpMemb().newByUUserIdxKey();
+			keyUUserIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			keyUUserIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+			keyUUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+			dictByUUserIdx.put( keyUUserIdx, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		final List< CFSecBuffSecGrpMemb > staged = new ArrayList< CFSecBuffSecGrpMemb >();
+		List< String > duplicates = tableLock.read( () -> {
+			staged.clear();
+			List< String > found = new ArrayList< String >();
+			for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+				CFSecBuffSecGrpMemb Buff = dictByPKey.get( pkey );
+				if( Buff == null ) {
+					continue;
+				}
+				staged.add( Buff );
+				CFSecBuffSecGrpMembByUUserIdxKey keyUUserIdx = (CFSecBuffSecGrpMembByUUserIdxKey)schema.getFactorySecGrpMemb().newByUUserIdxKey();
+				keyUUserIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+				keyUUserIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+				keyUUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+				if( dictByUUserIdx.get( keyUUserIdx ) != Buff ) {
+					found.add( "SecGrpMemb " + Buff.getPKey() + " duplicates the SecGrpMembUUserIdx key " + keyUUserIdx );
+				}
+			}
+			return( found );
+		} );
+		violations.addAll( duplicates );
+
+		Map< CFLibDbKeyHash256, List< CFSecBuffSecGrpMemb > > bySecGrpMembCluster = new HashMap< CFLibDbKeyHash256, List< CFSecBuffSecGrpMemb > >();
+		for( CFSecBuffSecGrpMemb Buff : staged ) {
+			bySecGrpMembCluster.computeIfAbsent( Buff.getRequiredClusterId(), ( k ) -> new ArrayList< CFSecBuffSecGrpMemb >() ).add( Buff );
+		}
+		for( Map.Entry< CFLibDbKeyHash256, List< CFSecBuffSecGrpMemb > > entry : bySecGrpMembCluster.entrySet() ) {
+			if( null == schema.getTableCluster().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffSecGrpMemb Buff : entry.getValue() ) {
+					violations.add( "SecGrpMemb " + Buff.getPKey() + " references the missing Cluster " + entry.getKey() + " through SecGrpMembCluster" );
+				}
+			}
+		}
+
+		Map< CFLibDbKeyHash256, List< CFSecBuffSecGrpMemb > > bySecGrpMembGroup = new HashMap< CFLibDbKeyHash256, List< CFSecBuffSecGrpMemb > >();
+		for( CFSecBuffSecGrpMemb Buff : staged ) {
+			bySecGrpMembGroup.computeIfAbsent( Buff.getRequiredSecGroupId(), ( k ) -> new ArrayList< CFSecBuffSecGrpMemb >() ).add( Buff );
+		}
+		for( Map.Entry< CFLibDbKeyHash256, List< CFSecBuffSecGrpMemb > > entry : bySecGrpMembGroup.entrySet() ) {
+			if( null == schema.getTableSecGroup().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffSecGrpMemb Buff : entry.getValue() ) {
+					violations.add( "SecGrpMemb " + Buff.getPKey() + " references the missing SecGroup " + entry.getKey() + " through SecGrpMembGroup" );
+				}
+			}
+		}
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		long stamp = tableLock.writeLock();
+		try {
+			for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+				CFSecBuffSecGrpMemb Buff = dictByPKey.remove( pkey );
+				if( Buff != null ) {
+					lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+				}
+			}
+			bulkPKeys.clear();
+			rebuildIndexes();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		long stamp = tableLock.writeLock();
+		try {
+			bulkPKeys.clear();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
 	@Override
 	public ICFSecSecGrpMemb createSecGrpMemb( ICFSecAuthorization Authorization,
 		ICFSecSecGrpMemb iBuff )
 	{
 		final String S_ProcName = "createSecGrpMemb";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffSecGrpMemb Buff = (CFSecBuffSecGrpMemb)ensureRec(iBuff);
 		CFLibDbKeyHash256 pkey;
@@ -119,26 +553,12 @@ public class CFSecRamSecGrpMembTable
 		keyUUserIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
 		keyUUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
 
-		// Validate unique indexes
-
-		if( dictByPKey.containsKey( pkey ) ) {
-			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
-		}
-
-		if( dictByUUserIdx.containsKey( keyUUserIdx ) ) {
-			throw new CFLibUniqueIndexViolationException( getClass(),
-				S_ProcName,
-				"SecGrpMembUUserIdx",
-				"SecGrpMembUUserIdx",
-				keyUUserIdx );
-		}
-
 		// Validate foreign keys
 
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableCluster().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredClusterId() ) )
 				{
@@ -158,7 +578,7 @@ public class CFSecRamSecGrpMembTable
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableSecGroup().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredSecGroupId() ) )
 				{
@@ -175,41 +595,69 @@ public class CFSecRamSecGrpMembTable
 			}
 		}
 
-		// Proceed with adding the new record
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			// Validate unique indexes
 
-		dictByPKey.put( pkey, Buff );
+			if( dictByPKey.containsKey( pkey ) ) {
+				throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
+			}
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictClusterIdx;
-		if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
-			subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
-		}
-		else {
-			subdictClusterIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
-			dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
-		}
-		subdictClusterIdx.put( pkey, Buff );
+			if( ( ! bulkLoad ) && dictByUUserIdx.containsKey( keyUUserIdx ) ) {
+				throw new CFLibUniqueIndexViolationException( getClass(),
+					S_ProcName,
+					"SecGrpMembUUserIdx",
+					"SecGrpMembUUserIdx",
+					keyUUserIdx );
+			}
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictGroupIdx;
-		if( dictByGroupIdx.containsKey( keyGroupIdx ) ) {
-			subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
-		}
-		else {
-			subdictGroupIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
-			dictByGroupIdx.put( keyGroupIdx, subdictGroupIdx );
-		}
-		subdictGroupIdx.put( pkey, Buff );
+			// Proceed with adding the new record
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictUserIdx;
-		if( dictByUserIdx.containsKey( keyUserIdx ) ) {
-			subdictUserIdx = dictByUserIdx.get( keyUserIdx );
+			dictByPKey.put( pkey, Buff );
+			if( bulkLoad ) {
+				bulkPKeys.add( pkey );
+			}
+
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictClusterIdx;
+			if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
+				subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+			}
+			else {
+				subdictClusterIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
+				dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
+			}
+			subdictClusterIdx.put( pkey, Buff );
+
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictGroupIdx;
+			if( dictByGroupIdx.containsKey( keyGroupIdx ) ) {
+				subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
+			}
+			else {
+				subdictGroupIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
+				dictByGroupIdx.put( keyGroupIdx, subdictGroupIdx );
+			}
+			subdictGroupIdx.put( pkey, Buff );
+
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictUserIdx;
+			if( dictByUserIdx.containsKey( keyUserIdx ) ) {
+				subdictUserIdx = dictByUserIdx.get( keyUserIdx );
+			}
+			else {
+				subdictUserIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
+				dictByUserIdx.put( keyUserIdx, subdictUserIdx );
+			}
+			subdictUserIdx.put( pkey, Buff );
+
+			dictByUUserIdx.putIfAbsent( keyUUserIdx, Buff );
+			CFSecRamTransaction.record( schema, null, Buff );
+			applyPersistentIndex( null, Buff );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
 		}
-		else {
-			subdictUserIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
-			dictByUserIdx.put( keyUserIdx, subdictUserIdx );
+		finally {
+			tableLock.unlockWrite( stamp );
 		}
-		subdictUserIdx.put( pkey, Buff );
-
-		dictByUUserIdx.put( keyUUserIdx, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 
 		if (Buff == null) {
 			return( null );
@@ -236,12 +684,11 @@ public class CFSecRamSecGrpMembTable
 		if( PKey == null ) {
 			return( null );
 		}
-		if( dictByPKey.containsKey( PKey ) ) {
-			buff = dictByPKey.get( PKey );
-		}
-		else {
-			buff = null;
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( pindex.get( PKey ) );
 		}
+		buff = tableLock.read( () -> dictByPKey.get( PKey ) );
 		return( buff );
 	}
 
@@ -249,148 +696,454 @@ public class CFSecRamSecGrpMembTable
 	public ICFSecSecGrpMemb lockDerived( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 PKey )
 	{
-		final String S_ProcName = "CFSecRamSecGrpMemb.lockDerived";
-		ICFSecSecGrpMemb buff;
-		if( dictByPKey.containsKey( PKey ) ) {
-			buff = dictByPKey.get( PKey );
-		}
-		else {
-			buff = null;
+		final String S_ProcName = "CFSecRamSecGrpMemb.lockDerived";
+		ICFSecSecGrpMemb buff;
+		buff = tableLock.read( () -> dictByPKey.get( PKey ) );
+		return( buff );
+	}
+
+	@Override
+	public ICFSecSecGrpMemb[] readAllDerived( ICFSecAuthorization Authorization ) {
+		final String S_ProcName = "CFSecRamSecGrpMemb.readAllDerived";
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( pindex.values().toArray( EMPTY_REC_ARRAY ) );
+		}
+		ICFSecSecGrpMemb[] retList = tableLock.read( () -> {
+			ICFSecSecGrpMemb[] arr = new ICFSecSecGrpMemb[ dictByPKey.size() ];
+			Iterator< CFSecBuffSecGrpMemb > iter = dictByPKey.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
+		return( retList );
+	}
+
+	@Override
+	public ICFSecSecGrpMemb[] readDerivedByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId )
+	{
+		final String S_ProcName = "CFSecRamSecGrpMemb.readDerivedByClusterIdx";
+		CFSecBuffSecGrpMembByClusterIdxKey key = probeClusterIdx.get();
+
+		key.setRequiredClusterId( ClusterId );
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( pindex.getDuplicates( PIDX_CLUSTERIDX, key ).toArray( EMPTY_REC_ARRAY ) );
+		}
+		ICFSecSecGrpMemb[] recArray = tableLock.read( () -> {
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictClusterIdx
+				= dictByClusterIdx.get( key );
+			if( ( subdictClusterIdx == null ) || subdictClusterIdx.isEmpty() ) {
+				return( EMPTY_REC_ARRAY );
+			}
+			ICFSecSecGrpMemb[] arr = new ICFSecSecGrpMemb[ subdictClusterIdx.size() ];
+			Iterator< CFSecBuffSecGrpMemb > iter = subdictClusterIdx.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
+		return( recArray );
+	}
+
+	@Override
+	public ICFSecSecGrpMemb[] readDerivedByGroupIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecGroupId )
+	{
+		final String S_ProcName = "CFSecRamSecGrpMemb.readDerivedByGroupIdx";
+		CFSecBuffSecGrpMembByGroupIdxKey key = probeGroupIdx.get();
+
+		key.setRequiredSecGroupId( SecGroupId );
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( pindex.getDuplicates( PIDX_GROUPIDX, key ).toArray( EMPTY_REC_ARRAY ) );
+		}
+		ICFSecSecGrpMemb[] recArray = tableLock.read( () -> {
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictGroupIdx
+				= dictByGroupIdx.get( key );
+			if( ( subdictGroupIdx == null ) || subdictGroupIdx.isEmpty() ) {
+				return( EMPTY_REC_ARRAY );
+			}
+			ICFSecSecGrpMemb[] arr = new ICFSecSecGrpMemb[ subdictGroupIdx.size() ];
+			Iterator< CFSecBuffSecGrpMemb > iter = subdictGroupIdx.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
+		return( recArray );
+	}
+
+	@Override
+	public ICFSecSecGrpMemb[] readDerivedByUserIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId )
+	{
+		final String S_ProcName = "CFSecRamSecGrpMemb.readDerivedByUserIdx";
+		CFSecBuffSecGrpMembByUserIdxKey key = probeUserIdx.get();
+
+		key.setRequiredSecUserId( SecUserId );
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( pindex.getDuplicates( PIDX_USERIDX, key ).toArray( EMPTY_REC_ARRAY ) );
+		}
+		ICFSecSecGrpMemb[] recArray = tableLock.read( () -> {
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictUserIdx
+				= dictByUserIdx.get( key );
+			if( ( subdictUserIdx == null ) || subdictUserIdx.isEmpty() ) {
+				return( EMPTY_REC_ARRAY );
+			}
+			ICFSecSecGrpMemb[] arr = new ICFSecSecGrpMemb[ subdictUserIdx.size() ];
+			Iterator< CFSecBuffSecGrpMemb > iter = subdictUserIdx.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
+		return( recArray );
+	}
+
+	@Override
+	public ICFSecSecGrpMemb readDerivedByUUserIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId,
+		CFLibDbKeyHash256 SecGroupId,
+		CFLibDbKeyHash256 SecUserId )
+	{
+		final String S_ProcName = "CFSecRamSecGrpMemb.readDerivedByUUserIdx";
+		CFSecBuffSecGrpMembByUUserIdxKey key = probeUUserIdx.get();
+
+		key.setRequiredClusterId( ClusterId );
+		key.setRequiredSecGroupId( SecGroupId );
+		key.setRequiredSecUserId( SecUserId );
+		ICFSecSecGrpMemb buff;
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( pindex.getUnique( PIDX_UUSERIDX, key ) );
+		}
+		buff = tableLock.readOptimistic( () -> dictByUUserIdx.get( key ) );
+		return( buff );
+	}
+
+	@Override
+	public ICFSecSecGrpMemb readDerivedByIdIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecGrpMembId )
+	{
+		final String S_ProcName = "CFSecRamSecGrpMemb.readDerivedByIdIdx() ";
+		ICFSecSecGrpMemb buff;
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( pindex.get( SecGrpMembId ) );
+		}
+		buff = tableLock.read( () -> dictByPKey.get( SecGrpMembId ) );
+		return( buff );
+	}
+
+	/**
+	 *	Get a read-only view of every SecGrpMemb instance in the table.
+	 *	<P>
+	 *	The view is drawn from the persistent index when that is enabled.
+	 *	Otherwise, with the table lock enabled, it is a copy of the table taken
+	 *	under the read lock; with the lock disabled it wraps the live
+	 *	dictionary, which the table must not modify while the view is in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecSecGrpMemb > viewAll( ICFSecAuthorization Authorization ) {
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( Collections.< ICFSecSecGrpMemb >unmodifiableList( pindex.values() ) );
+		}
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( dictByPKey ) ) );
+		}
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every SecGrpMemb instance in the table.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	The action runs over the persistent index when that is enabled.
+	 *	Otherwise, with the table lock enabled, it runs over a copy of the table
+	 *	taken under the read lock, so the lock is not held while it runs; with
+	 *	the lock disabled it iterates the live dictionary in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecSecGrpMemb > action )
+	{
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			pindex.forEachValue( action );
+			return;
+		}
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every SecGrpMemb instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from the persistent index or, when the
+	 *	table lock is enabled, from a copy, so it tolerates concurrent
+	 *	writers; otherwise the table must not be modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecSecGrpMemb > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the SecGrpMemb instances identified by the duplicate key ClusterIdx.
+	 *	<P>
+	 *	The view is drawn from the persistent index when that is enabled.
+	 *	Otherwise, with the table lock enabled, it is a copy of the index bucket
+	 *	taken under the read lock; with the lock disabled it wraps the live
+	 *	bucket, which the table must not modify while the view is in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The SecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSecGrpMemb > viewByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId )
+	{
+		CFSecBuffSecGrpMembByClusterIdxKey key = probeClusterIdx.get();
+		key.setRequiredClusterId( ClusterId );
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( Collections.< ICFSecSecGrpMemb >unmodifiableList( pindex.getDuplicates( PIDX_CLUSTERIDX, key ) ) );
+		}
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( dictByClusterIdx.get( key ) ) ) );
+		}
+		return( CFSecRamViews.of( dictByClusterIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each SecGrpMemb instance identified by the duplicate key ClusterIdx.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	The action runs over the persistent index when that is enabled.
+	 *	Otherwise, with the table lock enabled, it runs over a copy of the index
+	 *	bucket taken under the read lock, so the lock is not held while it runs;
+	 *	with the lock disabled it iterates the live bucket in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The SecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId,
+		Consumer< ? super ICFSecSecGrpMemb > action )
+	{
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			CFSecBuffSecGrpMembByClusterIdxKey key = probeClusterIdx.get();
+			key.setRequiredClusterId( ClusterId );
+			pindex.forEachDuplicate( PIDX_CLUSTERIDX, key, action );
+			return;
+		}
+		viewByClusterIdx( Authorization,
+			ClusterId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the SecGrpMemb instances identified by the duplicate key ClusterIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from the persistent index or, when the
+	 *	table lock is enabled, from a copy, so it tolerates concurrent
+	 *	writers; otherwise the table must not be modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The SecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSecGrpMemb > streamByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId )
+	{
+		return( viewByClusterIdx( Authorization,
+			ClusterId ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the SecGrpMemb instances identified by the duplicate key GroupIdx.
+	 *	<P>
+	 *	The view is drawn from the persistent index when that is enabled.
+	 *	Otherwise, with the table lock enabled, it is a copy of the index bucket
+	 *	taken under the read lock; with the lock disabled it wraps the live
+	 *	bucket, which the table must not modify while the view is in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecGroupId	The SecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSecGrpMemb > viewByGroupIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecGroupId )
+	{
+		CFSecBuffSecGrpMembByGroupIdxKey key = probeGroupIdx.get();
+		key.setRequiredSecGroupId( SecGroupId );
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( Collections.< ICFSecSecGrpMemb >unmodifiableList( pindex.getDuplicates( PIDX_GROUPIDX, key ) ) );
 		}
-		return( buff );
-	}
-
-	@Override
-	public ICFSecSecGrpMemb[] readAllDerived( ICFSecAuthorization Authorization ) {
-		final String S_ProcName = "CFSecRamSecGrpMemb.readAllDerived";
-		ICFSecSecGrpMemb[] retList = new ICFSecSecGrpMemb[ dictByPKey.values().size() ];
-		Iterator< CFSecBuffSecGrpMemb > iter = dictByPKey.values().iterator();
-		int idx = 0;
-		while( iter.hasNext() ) {
-			retList[ idx++ ] = iter.next();
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( dictByGroupIdx.get( key ) ) ) );
 		}
-		return( retList );
+		return( CFSecRamViews.of( dictByGroupIdx.get( key ) ) );
 	}
 
-	@Override
-	public ICFSecSecGrpMemb[] readDerivedByClusterIdx( ICFSecAuthorization Authorization,
-		CFLibDbKeyHash256 ClusterId )
+	/**
+	 *	Apply an action to each SecGrpMemb instance identified by the duplicate key GroupIdx.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	The action runs over the persistent index when that is enabled.
+	 *	Otherwise, with the table lock enabled, it runs over a copy of the index
+	 *	bucket taken under the read lock, so the lock is not held while it runs;
+	 *	with the lock disabled it iterates the live bucket in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecGroupId	The SecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByGroupIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecGroupId,
+		Consumer< ? super ICFSecSecGrpMemb > action )
 	{
-		final String S_ProcName = "CFSecRamSecGrpMemb.readDerivedByClusterIdx";
-		CFSecBuffSecGrpMembByClusterIdxKey key = (CFSecBuffSecGrpMembByClusterIdxKey)schema.getFactorySecGrpMemb().newByClusterIdxKey();
-
-		key.setRequiredClusterId( ClusterId );
-		ICFSecSecGrpMemb[] recArray;
-		if( dictByClusterIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictClusterIdx
-				= dictByClusterIdx.get( key );
-			recArray = new ICFSecSecGrpMemb[ subdictClusterIdx.size() ];
-			Iterator< CFSecBuffSecGrpMemb > iter = subdictClusterIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
-		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictClusterIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
-			dictByClusterIdx.put( key, subdictClusterIdx );
-			recArray = new ICFSecSecGrpMemb[0];
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			CFSecBuffSecGrpMembByGroupIdxKey key = probeGroupIdx.get();
+			key.setRequiredSecGroupId( SecGroupId );
+			pindex.forEachDuplicate( PIDX_GROUPIDX, key, action );
+			return;
 		}
-		return( recArray );
+		viewByGroupIdx( Authorization,
+			SecGroupId ).forEach( action );
 	}
 
-	@Override
-	public ICFSecSecGrpMemb[] readDerivedByGroupIdx( ICFSecAuthorization Authorization,
+	/**
+	 *	Stream the SecGrpMemb instances identified by the duplicate key GroupIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from the persistent index or, when the
+	 *	table lock is enabled, from a copy, so it tolerates concurrent
+	 *	writers; otherwise the table must not be modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecGroupId	The SecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSecGrpMemb > streamByGroupIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 SecGroupId )
 	{
-		final String S_ProcName = "CFSecRamSecGrpMemb.readDerivedByGroupIdx";
-		CFSecBuffSecGrpMembByGroupIdxKey key = (CFSecBuffSecGrpMembByGroupIdxKey)schema.getFactorySecGrpMemb().newByGroupIdxKey();
-
-		key.setRequiredSecGroupId( SecGroupId );
-		ICFSecSecGrpMemb[] recArray;
-		if( dictByGroupIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictGroupIdx
-				= dictByGroupIdx.get( key );
-			recArray = new ICFSecSecGrpMemb[ subdictGroupIdx.size() ];
-			Iterator< CFSecBuffSecGrpMemb > iter = subdictGroupIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
-		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictGroupIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
-			dictByGroupIdx.put( key, subdictGroupIdx );
-			recArray = new ICFSecSecGrpMemb[0];
-		}
-		return( recArray );
+		return( viewByGroupIdx( Authorization,
+			SecGroupId ).stream() );
 	}
 
-	@Override
-	public ICFSecSecGrpMemb[] readDerivedByUserIdx( ICFSecAuthorization Authorization,
+	/**
+	 *	Get a read-only view of the SecGrpMemb instances identified by the duplicate key UserIdx.
+	 *	<P>
+	 *	The view is drawn from the persistent index when that is enabled.
+	 *	Otherwise, with the table lock enabled, it is a copy of the index bucket
+	 *	taken under the read lock; with the lock disabled it wraps the live
+	 *	bucket, which the table must not modify while the view is in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSecGrpMemb > viewByUserIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 SecUserId )
 	{
-		final String S_ProcName = "CFSecRamSecGrpMemb.readDerivedByUserIdx";
-		CFSecBuffSecGrpMembByUserIdxKey key = (CFSecBuffSecGrpMembByUserIdxKey)schema.getFactorySecGrpMemb().newByUserIdxKey();
-
+		CFSecBuffSecGrpMembByUserIdxKey key = probeUserIdx.get();
 		key.setRequiredSecUserId( SecUserId );
-		ICFSecSecGrpMemb[] recArray;
-		if( dictByUserIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictUserIdx
-				= dictByUserIdx.get( key );
-			recArray = new ICFSecSecGrpMemb[ subdictUserIdx.size() ];
-			Iterator< CFSecBuffSecGrpMemb > iter = subdictUserIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( Collections.< ICFSecSecGrpMemb >unmodifiableList( pindex.getDuplicates( PIDX_USERIDX, key ) ) );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictUserIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
-			dictByUserIdx.put( key, subdictUserIdx );
-			recArray = new ICFSecSecGrpMemb[0];
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( dictByUserIdx.get( key ) ) ) );
 		}
-		return( recArray );
+		return( CFSecRamViews.of( dictByUserIdx.get( key ) ) );
 	}
 
-	@Override
-	public ICFSecSecGrpMemb readDerivedByUUserIdx( ICFSecAuthorization Authorization,
-		CFLibDbKeyHash256 ClusterId,
-		CFLibDbKeyHash256 SecGroupId,
-		CFLibDbKeyHash256 SecUserId )
+	/**
+	 *	Apply an action to each SecGrpMemb instance identified by the duplicate key UserIdx.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	The action runs over the persistent index when that is enabled.
+	 *	Otherwise, with the table lock enabled, it runs over a copy of the index
+	 *	bucket taken under the read lock, so the lock is not held while it runs;
+	 *	with the lock disabled it iterates the live bucket in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByUserIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId,
+		Consumer< ? super ICFSecSecGrpMemb > action )
 	{
-		final String S_ProcName = "CFSecRamSecGrpMemb.readDerivedByUUserIdx";
-		CFSecBuffSecGrpMembByUUserIdxKey key = (CFSecBuffSecGrpMembByUUserIdxKey)schema.getFactorySecGrpMemb().newByUUserIdxKey();
-
-		key.setRequiredClusterId( ClusterId );
-		key.setRequiredSecGroupId( SecGroupId );
-		key.setRequiredSecUserId( SecUserId );
-		ICFSecSecGrpMemb buff;
-		if( dictByUUserIdx.containsKey( key ) ) {
-			buff = dictByUUserIdx.get( key );
-		}
-		else {
-			buff = null;
+		CFSecRamPersistentIndex< CFSecBuffSecGrpMemb > pindex = persistentIndex;
+		if( pindex != null ) {
+			CFSecBuffSecGrpMembByUserIdxKey key = probeUserIdx.get();
+			key.setRequiredSecUserId( SecUserId );
+			pindex.forEachDuplicate( PIDX_USERIDX, key, action );
+			return;
 		}
-		return( buff );
+		viewByUserIdx( Authorization,
+			SecUserId ).forEach( action );
 	}
 
-	@Override
-	public ICFSecSecGrpMemb readDerivedByIdIdx( ICFSecAuthorization Authorization,
-		CFLibDbKeyHash256 SecGrpMembId )
+	/**
+	 *	Stream the SecGrpMemb instances identified by the duplicate key UserIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from the persistent index or, when the
+	 *	table lock is enabled, from a copy, so it tolerates concurrent
+	 *	writers; otherwise the table must not be modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSecGrpMemb > streamByUserIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId )
 	{
-		final String S_ProcName = "CFSecRamSecGrpMemb.readDerivedByIdIdx() ";
-		ICFSecSecGrpMemb buff;
-		if( dictByPKey.containsKey( SecGrpMembId ) ) {
-			buff = dictByPKey.get( SecGrpMembId );
-		}
-		else {
-			buff = null;
-		}
-		return( buff );
+		return( viewByUserIdx( Authorization,
+			SecUserId ).stream() );
 	}
 
 	@Override
@@ -417,20 +1170,43 @@ public class CFSecRamSecGrpMembTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecSecGrpMemb.CLASS_CODE.
+	 */
+	protected ICFSecSecGrpMemb[] filterRecs( ICFSecSecGrpMemb[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecSecGrpMemb buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGrpMemb.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecSecGrpMemb[] recArray = new ICFSecSecGrpMemb[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecSecGrpMemb buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGrpMemb.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecSecGrpMemb[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamSecGrpMemb.readAllRec";
-		ICFSecSecGrpMemb buff;
-		ArrayList<ICFSecSecGrpMemb> filteredList = new ArrayList<ICFSecSecGrpMemb>();
 		ICFSecSecGrpMemb[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGrpMemb.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecSecGrpMemb[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	/**
@@ -438,6 +1214,8 @@ public class CFSecRamSecGrpMembTable
 	 *
 	 *	@param	Authorization	The session authorization information.
 	 *
+	 *	@param	priorSecGrpMembId	The SecGrpMembId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return All the specific SecGrpMemb instances in the database accessible for the Authorization.
 	 */
 	@Override
@@ -445,7 +1223,12 @@ public class CFSecRamSecGrpMembTable
 		CFLibDbKeyHash256 priorSecGrpMembId )
 	{
 		final String S_ProcName = "pageAllRec";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		ICFSecSecGrpMemb[] recArray = tableLock.read( () -> {
+			List< CFSecBuffSecGrpMemb > page = CFSecRamPager.page( dictByPKey, priorSecGrpMembId, pageSize );
+			return( page.toArray( new ICFSecSecGrpMemb[ page.size() ] ) );
+		} );
+		return( recArray );
 	}
 
 	@Override
@@ -468,17 +1251,12 @@ public class CFSecRamSecGrpMembTable
 		CFLibDbKeyHash256 ClusterId )
 	{
 		final String S_ProcName = "CFSecRamSecGrpMemb.readRecByClusterIdx() ";
-		ICFSecSecGrpMemb buff;
-		ArrayList<ICFSecSecGrpMemb> filteredList = new ArrayList<ICFSecSecGrpMemb>();
 		ICFSecSecGrpMemb[] buffList = readDerivedByClusterIdx( Authorization,
 			ClusterId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGrpMemb.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSecGrpMemb)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSecGrpMemb[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -486,17 +1264,12 @@ public class CFSecRamSecGrpMembTable
 		CFLibDbKeyHash256 SecGroupId )
 	{
 		final String S_ProcName = "CFSecRamSecGrpMemb.readRecByGroupIdx() ";
-		ICFSecSecGrpMemb buff;
-		ArrayList<ICFSecSecGrpMemb> filteredList = new ArrayList<ICFSecSecGrpMemb>();
 		ICFSecSecGrpMemb[] buffList = readDerivedByGroupIdx( Authorization,
 			SecGroupId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGrpMemb.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSecGrpMemb)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSecGrpMemb[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -504,17 +1277,12 @@ public class CFSecRamSecGrpMembTable
 		CFLibDbKeyHash256 SecUserId )
 	{
 		final String S_ProcName = "CFSecRamSecGrpMemb.readRecByUserIdx() ";
-		ICFSecSecGrpMemb buff;
-		ArrayList<ICFSecSecGrpMemb> filteredList = new ArrayList<ICFSecSecGrpMemb>();
 		ICFSecSecGrpMemb[] buffList = readDerivedByUserIdx( Authorization,
 			SecUserId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecGrpMemb.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSecGrpMemb)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSecGrpMemb[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -543,6 +1311,8 @@ public class CFSecRamSecGrpMembTable
 	 *
 	 *	@param	ClusterId	The SecGrpMemb key attribute of the instance generating the id.
 	 *
+	 *	@param	priorSecGrpMembId	The SecGrpMembId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -553,7 +1323,14 @@ public class CFSecRamSecGrpMembTable
 		CFLibDbKeyHash256 priorSecGrpMembId )
 	{
 		final String S_ProcName = "pageRecByClusterIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffSecGrpMembByClusterIdxKey key = probeClusterIdx.get();
+		key.setRequiredClusterId( ClusterId );
+		ICFSecSecGrpMemb[] recArray = tableLock.read( () -> {
+			List< CFSecBuffSecGrpMemb > page = CFSecRamPager.page( dictByClusterIdx.get( key ), priorSecGrpMembId, pageSize );
+			return( page.toArray( new ICFSecSecGrpMemb[ page.size() ] ) );
+		} );
+		return( recArray );
 	}
 
 	/**
@@ -563,6 +1340,8 @@ public class CFSecRamSecGrpMembTable
 	 *
 	 *	@param	SecGroupId	The SecGrpMemb key attribute of the instance generating the id.
 	 *
+	 *	@param	priorSecGrpMembId	The SecGrpMembId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -573,7 +1352,14 @@ public class CFSecRamSecGrpMembTable
 		CFLibDbKeyHash256 priorSecGrpMembId )
 	{
 		final String S_ProcName = "pageRecByGroupIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffSecGrpMembByGroupIdxKey key = probeGroupIdx.get();
+		key.setRequiredSecGroupId( SecGroupId );
+		ICFSecSecGrpMemb[] recArray = tableLock.read( () -> {
+			List< CFSecBuffSecGrpMemb > page = CFSecRamPager.page( dictByGroupIdx.get( key ), priorSecGrpMembId, pageSize );
+			return( page.toArray( new ICFSecSecGrpMemb[ page.size() ] ) );
+		} );
+		return( recArray );
 	}
 
 	/**
@@ -583,6 +1369,8 @@ public class CFSecRamSecGrpMembTable
 	 *
 	 *	@param	SecUserId	The SecGrpMemb key attribute of the instance generating the id.
 	 *
+	 *	@param	priorSecGrpMembId	The SecGrpMembId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -593,7 +1381,14 @@ public class CFSecRamSecGrpMembTable
 		CFLibDbKeyHash256 priorSecGrpMembId )
 	{
 		final String S_ProcName = "pageRecByUserIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffSecGrpMembByUserIdxKey key = probeUserIdx.get();
+		key.setRequiredSecUserId( SecUserId );
+		ICFSecSecGrpMemb[] recArray = tableLock.read( () -> {
+			List< CFSecBuffSecGrpMemb > page = CFSecRamPager.page( dictByUserIdx.get( key ), priorSecGrpMembId, pageSize );
+			return( page.toArray( new ICFSecSecGrpMemb[ page.size() ] ) );
+		} );
+		return( recArray );
 	}
 
 	public ICFSecSecGrpMemb updateSecGrpMemb( ICFSecAuthorization Authorization,
@@ -601,62 +1396,6 @@ public class CFSecRamSecGrpMembTable
 	{
 		CFSecBuffSecGrpMemb Buff = (CFSecBuffSecGrpMemb)ensureRec(iBuff);
 		CFLibDbKeyHash256 pkey = Buff.getPKey();
-		CFSecBuffSecGrpMemb existing = dictByPKey.get( pkey );
-		if( existing == null ) {
-			throw new CFLibStaleCacheDetectedException( getClass(),
-				"updateSecGrpMemb",
-				"Existing record not found",
-				"Existing record not found",
-				"SecGrpMemb",
-				"SecGrpMemb",
-				pkey );
-		}
-		if( existing.getRequiredRevision() != Buff.getRequiredRevision() ) {
-			throw new CFLibCollisionDetectedException( getClass(),
-				"updateSecGrpMemb",
-				pkey );
-		}
-		Buff.setRequiredRevision( Buff.getRequiredRevision() + 1 );
-		CFSecBuffSecGrpMembByClusterIdxKey existingKeyClusterIdx = (CFSecBuffSecGrpMembByClusterIdxKey)schema.getFactorySecGrpMemb().newByClusterIdxKey();
-		existingKeyClusterIdx.setRequiredClusterId( existing.getRequiredClusterId() );
-
-		CFSecBuffSecGrpMembByClusterIdxKey newKeyClusterIdx = (CFSecBuffSecGrpMembByClusterIdxKey)schema.getFactorySecGrpMemb().newByClusterIdxKey();
-		newKeyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
-
-		CFSecBuffSecGrpMembByGroupIdxKey existingKeyGroupIdx = (CFSecBuffSecGrpMembByGroupIdxKey)schema.getFactorySecGrpMemb().newByGroupIdxKey();
-		existingKeyGroupIdx.setRequiredSecGroupId( existing.getRequiredSecGroupId() );
-
-		CFSecBuffSecGrpMembByGroupIdxKey newKeyGroupIdx = (CFSecBuffSecGrpMembByGroupIdxKey)schema.getFactorySecGrpMemb().newByGroupIdxKey();
-		newKeyGroupIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
-
-		CFSecBuffSecGrpMembByUserIdxKey existingKeyUserIdx = (CFSecBuffSecGrpMembByUserIdxKey)schema.getFactorySecGrpMemb().newByUserIdxKey();
-		existingKeyUserIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
-
-		CFSecBuffSecGrpMembByUserIdxKey newKeyUserIdx = (CFSecBuffSecGrpMembByUserIdxKey)schema.getFactorySecGrpMemb().newByUserIdxKey();
-		newKeyUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
-
-		CFSecBuffSecGrpMembByUUserIdxKey existingKeyUUserIdx = (CFSecBuffSecGrpMembByUUserIdxKey)schema.getFactorySecGrpMemb().newByUUserIdxKey();
-		existingKeyUUserIdx.setRequiredClusterId( existing.getRequiredClusterId() );
-		existingKeyUUserIdx.setRequiredSecGroupId( existing.getRequiredSecGroupId() );
-		existingKeyUUserIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
-
-		CFSecBuffSecGrpMembByUUserIdxKey newKeyUUserIdx = (CFSecBuffSecGrpMembByUUserIdxKey)schema.getFactorySecGrpMemb().newByUUserIdxKey();
-		newKeyUUserIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
-		newKeyUUserIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
-		newKeyUUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
-
-		// Check unique indexes
-
-		if( ! existingKeyUUserIdx.equals( newKeyUUserIdx ) ) {
-			if( dictByUUserIdx.containsKey( newKeyUUserIdx ) ) {
-				throw new CFLibUniqueIndexViolationException( getClass(),
-					"updateSecGrpMemb",
-					"SecGrpMembUUserIdx",
-					"SecGrpMembUUserIdx",
-					newKeyUUserIdx );
-			}
-		}
-
 		// Validate foreign keys
 
 		{
@@ -699,55 +1438,138 @@ public class CFSecRamSecGrpMembTable
 			}
 		}
 
-		// Update is valid
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecBuffSecGrpMemb existing = dictByPKey.get( pkey );
+			if( existing == null ) {
+				throw new CFLibStaleCacheDetectedException( getClass(),
+					"updateSecGrpMemb",
+					"Existing record not found",
+					"Existing record not found",
+					"SecGrpMemb",
+					"SecGrpMemb",
+					pkey );
+			}
+			if( existing.getRequiredRevision() != Buff.getRequiredRevision() ) {
+				throw new CFLibCollisionDetectedException( getClass(),
+					"updateSecGrpMemb",
+					pkey );
+			}
+			Buff.setRequiredRevision( Buff.getRequiredRevision() + 1 );
+			CFSecBuffSecGrpMembByClusterIdxKey existingKeyClusterIdx = (CFSecBuffSecGrpMembByClusterIdxKey)schema.getFactorySecGrpMemb().newByClusterIdxKey();
+			existingKeyClusterIdx.setRequiredClusterId( existing.getRequiredClusterId() );
+
+			CFSecBuffSecGrpMembByClusterIdxKey newKeyClusterIdx = (CFSecBuffSecGrpMembByClusterIdxKey)schema.getFactorySecGrpMemb().newByClusterIdxKey();
+			newKeyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdict;
+			CFSecBuffSecGrpMembByGroupIdxKey existingKeyGroupIdx = (CFSecBuffSecGrpMembByGroupIdxKey)schema.getFactorySecGrpMemb().newByGroupIdxKey();
+			existingKeyGroupIdx.setRequiredSecGroupId( existing.getRequiredSecGroupId() );
 
-		dictByPKey.remove( pkey );
-		dictByPKey.put( pkey, Buff );
+			CFSecBuffSecGrpMembByGroupIdxKey newKeyGroupIdx = (CFSecBuffSecGrpMembByGroupIdxKey)schema.getFactorySecGrpMemb().newByGroupIdxKey();
+			newKeyGroupIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
 
-		subdict = dictByClusterIdx.get( existingKeyClusterIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
-		}
-		if( dictByClusterIdx.containsKey( newKeyClusterIdx ) ) {
-			subdict = dictByClusterIdx.get( newKeyClusterIdx );
-		}
-		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
-			dictByClusterIdx.put( newKeyClusterIdx, subdict );
-		}
-		subdict.put( pkey, Buff );
+			CFSecBuffSecGrpMembByUserIdxKey existingKeyUserIdx = (CFSecBuffSecGrpMembByUserIdxKey)schema.getFactorySecGrpMemb().newByUserIdxKey();
+			existingKeyUserIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
 
-		subdict = dictByGroupIdx.get( existingKeyGroupIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
-		}
-		if( dictByGroupIdx.containsKey( newKeyGroupIdx ) ) {
-			subdict = dictByGroupIdx.get( newKeyGroupIdx );
-		}
-		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
-			dictByGroupIdx.put( newKeyGroupIdx, subdict );
-		}
-		subdict.put( pkey, Buff );
+			CFSecBuffSecGrpMembByUserIdxKey newKeyUserIdx = (CFSecBuffSecGrpMembByUserIdxKey)schema.getFactorySecGrpMemb().newByUserIdxKey();
+			newKeyUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
 
-		subdict = dictByUserIdx.get( existingKeyUserIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
-		}
-		if( dictByUserIdx.containsKey( newKeyUserIdx ) ) {
-			subdict = dictByUserIdx.get( newKeyUserIdx );
-		}
-		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
-			dictByUserIdx.put( newKeyUserIdx, subdict );
-		}
-		subdict.put( pkey, Buff );
+			CFSecBuffSecGrpMembByUUserIdxKey existingKeyUUserIdx = (CFSecBuffSecGrpMembByUUserIdxKey)schema.getFactorySecGrpMemb().newByUUserIdxKey();
+			existingKeyUUserIdx.setRequiredClusterId( existing.getRequiredClusterId() );
+			existingKeyUUserIdx.setRequiredSecGroupId( existing.getRequiredSecGroupId() );
+			existingKeyUUserIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
+
+			CFSecBuffSecGrpMembByUUserIdxKey newKeyUUserIdx = (CFSecBuffSecGrpMembByUUserIdxKey)schema.getFactorySecGrpMemb().newByUUserIdxKey();
+			newKeyUUserIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			newKeyUUserIdx.setRequiredSecGroupId( Buff.getRequiredSecGroupId() );
+			newKeyUUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+
+			// Check unique indexes
+
+			if( ! existingKeyUUserIdx.equals( newKeyUUserIdx ) ) {
+				if( dictByUUserIdx.containsKey( newKeyUUserIdx ) ) {
+					throw new CFLibUniqueIndexViolationException( getClass(),
+						"updateSecGrpMemb",
+						"SecGrpMembUUserIdx",
+						"SecGrpMembUUserIdx",
+						newKeyUUserIdx );
+				}
+			}
+
+			// Update is valid
+
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdict;
+
+			dictByPKey.put( pkey, Buff );
+
+			if( ! existingKeyClusterIdx.equals( newKeyClusterIdx ) ) {
+				subdict = dictByClusterIdx.get( existingKeyClusterIdx );
+				if( subdict != null ) {
+					subdict.remove( pkey );
+					if( subdict.isEmpty() ) {
+						dictByClusterIdx.remove( existingKeyClusterIdx );
+					}
+				}
+			}
+			if( dictByClusterIdx.containsKey( newKeyClusterIdx ) ) {
+				subdict = dictByClusterIdx.get( newKeyClusterIdx );
+			}
+			else {
+				subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
+				dictByClusterIdx.put( newKeyClusterIdx, subdict );
+			}
+			subdict.put( pkey, Buff );
+
+			if( ! existingKeyGroupIdx.equals( newKeyGroupIdx ) ) {
+				subdict = dictByGroupIdx.get( existingKeyGroupIdx );
+				if( subdict != null ) {
+					subdict.remove( pkey );
+					if( subdict.isEmpty() ) {
+						dictByGroupIdx.remove( existingKeyGroupIdx );
+					}
+				}
+			}
+			if( dictByGroupIdx.containsKey( newKeyGroupIdx ) ) {
+				subdict = dictByGroupIdx.get( newKeyGroupIdx );
+			}
+			else {
+				subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
+				dictByGroupIdx.put( newKeyGroupIdx, subdict );
+			}
+			subdict.put( pkey, Buff );
+
+			if( ! existingKeyUserIdx.equals( newKeyUserIdx ) ) {
+				subdict = dictByUserIdx.get( existingKeyUserIdx );
+				if( subdict != null ) {
+					subdict.remove( pkey );
+					if( subdict.isEmpty() ) {
+						dictByUserIdx.remove( existingKeyUserIdx );
+					}
+				}
+			}
+			if( dictByUserIdx.containsKey( newKeyUserIdx ) ) {
+				subdict = dictByUserIdx.get( newKeyUserIdx );
+			}
+			else {
+				subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb >();
+				dictByUserIdx.put( newKeyUserIdx, subdict );
+			}
+			subdict.put( pkey, Buff );
 
-		dictByUUserIdx.remove( existingKeyUUserIdx );
-		dictByUUserIdx.put( newKeyUUserIdx, Buff );
+			if( ! existingKeyUUserIdx.equals( newKeyUUserIdx ) ) {
+				dictByUUserIdx.remove( existingKeyUUserIdx );
+			}
+			dictByUUserIdx.put( newKeyUUserIdx, Buff );
 
+			CFSecRamTransaction.record( schema, existing, Buff );
+			applyPersistentIndex( existing, Buff );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
@@ -759,72 +1581,87 @@ public class CFSecRamSecGrpMembTable
 		CFSecBuffSecGrpMemb Buff = (CFSecBuffSecGrpMemb)ensureRec(iBuff);
 		int classCode;
 		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
-		CFSecBuffSecGrpMemb existing = dictByPKey.get( pkey );
-		if( existing == null ) {
-			return;
-		}
-		if( existing.getRequiredRevision() != Buff.getRequiredRevision() )
-		{
-			throw new CFLibCollisionDetectedException( getClass(),
-				"deleteSecGrpMemb",
-				pkey );
-		}
-		CFSecBuffSecGrpMembByClusterIdxKey keyClusterIdx = (CFSecBuffSecGrpMembByClusterIdxKey)schema.getFactorySecGrpMemb().newByClusterIdxKey();
-		keyClusterIdx.setRequiredClusterId( existing.getRequiredClusterId() );
-
-		CFSecBuffSecGrpMembByGroupIdxKey keyGroupIdx = (CFSecBuffSecGrpMembByGroupIdxKey)schema.getFactorySecGrpMemb().newByGroupIdxKey();
-		keyGroupIdx.setRequiredSecGroupId( existing.getRequiredSecGroupId() );
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecBuffSecGrpMemb existing = dictByPKey.get( pkey );
+			if( existing == null ) {
+				return;
+			}
+			if( existing.getRequiredRevision() != Buff.getRequiredRevision() )
+			{
+				throw new CFLibCollisionDetectedException( getClass(),
+					"deleteSecGrpMemb",
+					pkey );
+			}
+			CFSecBuffSecGrpMembByClusterIdxKey keyClusterIdx = (CFSecBuffSecGrpMembByClusterIdxKey)schema.getFactorySecGrpMemb().newByClusterIdxKey();
+			keyClusterIdx.setRequiredClusterId( existing.getRequiredClusterId() );
 
-		CFSecBuffSecGrpMembByUserIdxKey keyUserIdx = (CFSecBuffSecGrpMembByUserIdxKey)schema.getFactorySecGrpMemb().newByUserIdxKey();
-		keyUserIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
+			CFSecBuffSecGrpMembByGroupIdxKey keyGroupIdx = (CFSecBuffSecGrpMembByGroupIdxKey)schema.getFactorySecGrpMemb().newByGroupIdxKey();
+			keyGroupIdx.setRequiredSecGroupId( existing.getRequiredSecGroupId() );
 
-		CFSecBuffSecGrpMembByUUserIdxKey keyUUserIdx = (CFSecBuffSecGrpMembByUUserIdxKey)schema.getFactorySecGrpMemb().newByUUserIdxKey();
-		keyUUserIdx.setRequiredClusterId( existing.getRequiredClusterId() );
-		keyUUserIdx.setRequiredSecGroupId( existing.getRequiredSecGroupId() );
-		keyUUserIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
+			CFSecBuffSecGrpMembByUserIdxKey keyUserIdx = (CFSecBuffSecGrpMembByUserIdxKey)schema.getFactorySecGrpMemb().newByUserIdxKey();
+			keyUserIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
 
-		// Validate reverse foreign keys
+			CFSecBuffSecGrpMembByUUserIdxKey keyUUserIdx = (CFSecBuffSecGrpMembByUUserIdxKey)schema.getFactorySecGrpMemb().newByUUserIdxKey();
+			keyUUserIdx.setRequiredClusterId( existing.getRequiredClusterId() );
+			keyUUserIdx.setRequiredSecGroupId( existing.getRequiredSecGroupId() );
+			keyUUserIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
 
-		// Delete is valid
-		Map< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdict;
+			// Validate reverse foreign keys
 
-		dictByPKey.remove( pkey );
+			// Delete is valid
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdict;
 
-		subdict = dictByClusterIdx.get( keyClusterIdx );
-		subdict.remove( pkey );
+			dictByPKey.remove( pkey );
 
-		subdict = dictByGroupIdx.get( keyGroupIdx );
-		subdict.remove( pkey );
+			subdict = dictByClusterIdx.get( keyClusterIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByClusterIdx.remove( keyClusterIdx );
+				}
+			}
 
-		subdict = dictByUserIdx.get( keyUserIdx );
-		subdict.remove( pkey );
+			subdict = dictByGroupIdx.get( keyGroupIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByGroupIdx.remove( keyGroupIdx );
+				}
+			}
 
-		dictByUUserIdx.remove( keyUUserIdx );
+			subdict = dictByUserIdx.get( keyUserIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByUserIdx.remove( keyUserIdx );
+				}
+			}
 
+			dictByUUserIdx.remove( keyUUserIdx );
+			CFSecRamTransaction.record( schema, existing, null );
+			applyPersistentIndex( existing, null );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteSecGrpMembByIdIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffSecGrpMemb cur;
 		LinkedList<CFSecBuffSecGrpMemb> matchSet = new LinkedList<CFSecBuffSecGrpMemb>();
-		Iterator<CFSecBuffSecGrpMemb> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = tableLock.read( () -> dictByPKey.get( argKey ) );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffSecGrpMemb> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecGrpMemb)(schema.getTableSecGrpMemb().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecGrpMembId() ));
 			deleteSecGrpMemb( Authorization, cur );
 		}
 	}
@@ -843,24 +1680,25 @@ public class CFSecRamSecGrpMembTable
 		ICFSecSecGrpMembByClusterIdxKey argKey )
 	{
 		CFSecBuffSecGrpMemb cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		final CFSecBuffSecGrpMembByClusterIdxKey key;
+		if( argKey instanceof CFSecBuffSecGrpMembByClusterIdxKey ) {
+			key = (CFSecBuffSecGrpMembByClusterIdxKey)argKey;
 		}
-		LinkedList<CFSecBuffSecGrpMemb> matchSet = new LinkedList<CFSecBuffSecGrpMemb>();
-		Iterator<CFSecBuffSecGrpMemb> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
+		else {
+			key = (CFSecBuffSecGrpMembByClusterIdxKey)schema.getFactorySecGrpMemb().newByClusterIdxKey();
+			key.setRequiredClusterId( argKey.getRequiredClusterId() );
+		}
+		LinkedList<CFSecBuffSecGrpMemb> matchSet = tableLock.read( () -> {
+			LinkedList<CFSecBuffSecGrpMemb> matches = new LinkedList<CFSecBuffSecGrpMemb>();
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictClusterIdx = dictByClusterIdx.get( key );
+			if( subdictClusterIdx != null ) {
+				matches.addAll( subdictClusterIdx.values() );
 			}
-		}
+			return( matches );
+		} );
 		Iterator<CFSecBuffSecGrpMemb> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecGrpMemb)(schema.getTableSecGrpMemb().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecGrpMembId() ));
 			deleteSecGrpMemb( Authorization, cur );
 		}
 	}
@@ -879,24 +1717,25 @@ public class CFSecRamSecGrpMembTable
 		ICFSecSecGrpMembByGroupIdxKey argKey )
 	{
 		CFSecBuffSecGrpMemb cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		final CFSecBuffSecGrpMembByGroupIdxKey key;
+		if( argKey instanceof CFSecBuffSecGrpMembByGroupIdxKey ) {
+			key = (CFSecBuffSecGrpMembByGroupIdxKey)argKey;
 		}
-		LinkedList<CFSecBuffSecGrpMemb> matchSet = new LinkedList<CFSecBuffSecGrpMemb>();
-		Iterator<CFSecBuffSecGrpMemb> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
+		else {
+			key = (CFSecBuffSecGrpMembByGroupIdxKey)schema.getFactorySecGrpMemb().newByGroupIdxKey();
+			key.setRequiredSecGroupId( argKey.getRequiredSecGroupId() );
+		}
+		LinkedList<CFSecBuffSecGrpMemb> matchSet = tableLock.read( () -> {
+			LinkedList<CFSecBuffSecGrpMemb> matches = new LinkedList<CFSecBuffSecGrpMemb>();
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictGroupIdx = dictByGroupIdx.get( key );
+			if( subdictGroupIdx != null ) {
+				matches.addAll( subdictGroupIdx.values() );
 			}
-		}
+			return( matches );
+		} );
 		Iterator<CFSecBuffSecGrpMemb> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecGrpMemb)(schema.getTableSecGrpMemb().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecGrpMembId() ));
 			deleteSecGrpMemb( Authorization, cur );
 		}
 	}
@@ -915,24 +1754,25 @@ public class CFSecRamSecGrpMembTable
 		ICFSecSecGrpMembByUserIdxKey argKey )
 	{
 		CFSecBuffSecGrpMemb cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		final CFSecBuffSecGrpMembByUserIdxKey key;
+		if( argKey instanceof CFSecBuffSecGrpMembByUserIdxKey ) {
+			key = (CFSecBuffSecGrpMembByUserIdxKey)argKey;
 		}
-		LinkedList<CFSecBuffSecGrpMemb> matchSet = new LinkedList<CFSecBuffSecGrpMemb>();
-		Iterator<CFSecBuffSecGrpMemb> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
+		else {
+			key = (CFSecBuffSecGrpMembByUserIdxKey)schema.getFactorySecGrpMemb().newByUserIdxKey();
+			key.setRequiredSecUserId( argKey.getRequiredSecUserId() );
+		}
+		LinkedList<CFSecBuffSecGrpMemb> matchSet = tableLock.read( () -> {
+			LinkedList<CFSecBuffSecGrpMemb> matches = new LinkedList<CFSecBuffSecGrpMemb>();
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecGrpMemb > subdictUserIdx = dictByUserIdx.get( key );
+			if( subdictUserIdx != null ) {
+				matches.addAll( subdictUserIdx.values() );
 			}
-		}
+			return( matches );
+		} );
 		Iterator<CFSecBuffSecGrpMemb> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecGrpMemb)(schema.getTableSecGrpMemb().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecGrpMembId() ));
 			deleteSecGrpMemb( Authorization, cur );
 		}
 	}
@@ -955,26 +1795,24 @@ public class CFSecRamSecGrpMembTable
 		ICFSecSecGrpMembByUUserIdxKey argKey )
 	{
 		CFSecBuffSecGrpMemb cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		final CFSecBuffSecGrpMembByUUserIdxKey key;
+		if( argKey instanceof CFSecBuffSecGrpMembByUUserIdxKey ) {
+			key = (CFSecBuffSecGrpMembByUUserIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffSecGrpMembByUUserIdxKey)schema.getFactorySecGrpMemb().newByUUserIdxKey();
+			key.setRequiredClusterId( argKey.getRequiredClusterId() );
+			key.setRequiredSecGroupId( argKey.getRequiredSecGroupId() );
+			key.setRequiredSecUserId( argKey.getRequiredSecUserId() );
 		}
 		LinkedList<CFSecBuffSecGrpMemb> matchSet = new LinkedList<CFSecBuffSecGrpMemb>();
-		Iterator<CFSecBuffSecGrpMemb> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = tableLock.readOptimistic( () -> dictByUUserIdx.get( key ) );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffSecGrpMemb> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecGrpMemb)(schema.getTableSecGrpMemb().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecGrpMembId() ));
 			deleteSecGrpMemb( Authorization, cur );
 		}
 	}
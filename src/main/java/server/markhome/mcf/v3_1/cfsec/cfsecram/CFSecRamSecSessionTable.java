@@ -28,11 +28,15 @@
 
 package server.markhome.mcf.v3_1.cfsec.cfsecram;
 
+import java.io.*;
 import java.math.*;
 import java.sql.*;
 import java.text.*;
 import java.time.*;
+import java.time.temporal.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,46 +50,101 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for SecSession.
  */
 public class CFSecRamSecSessionTable
-	implements ICFSecSecSessionTable
+	implements ICFSecSecSessionTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecSecSession[] EMPTY_REC_ARRAY = new ICFSecSecSession[0];
+
+	// Positions of the indexes in the persistent index, which numbers the
+	// unique and the duplicate indexes separately.
+	private static final int PIDX_STARTIDX = 0;
+	private static final int PIDX_SECUSERIDX = 0;
+	private static final int PIDX_SECDEVIDX = 1;
+	private static final int PIDX_FINISHIDX = 2;
+	private static final int PIDX_SECPROXYIDX = 3;
+
 	private ICFSecSchema schema;
-	private Map< CFLibDbKeyHash256,
+	private NavigableMap< CFLibDbKeyHash256,
 				CFSecBuffSecSession > dictByPKey
-		= new HashMap< CFLibDbKeyHash256,
+		= new TreeMap< CFLibDbKeyHash256,
 				CFSecBuffSecSession >();
 	private Map< CFSecBuffSecSessionBySecUserIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecSession >> dictBySecUserIdx
 		= new HashMap< CFSecBuffSecSessionBySecUserIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecSession >>();
 	private Map< CFSecBuffSecSessionBySecDevIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecSession >> dictBySecDevIdx
 		= new HashMap< CFSecBuffSecSessionBySecDevIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecSession >>();
 	private Map< CFSecBuffSecSessionByStartIdxKey,
 			CFSecBuffSecSession > dictByStartIdx
 		= new HashMap< CFSecBuffSecSessionByStartIdxKey,
 			CFSecBuffSecSession >();
 	private Map< CFSecBuffSecSessionByFinishIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecSession >> dictByFinishIdx
 		= new HashMap< CFSecBuffSecSessionByFinishIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecSession >>();
 	private Map< CFSecBuffSecSessionBySecProxyIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecSession >> dictBySecProxyIdx
 		= new HashMap< CFSecBuffSecSessionBySecProxyIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecSession >>();
 
+	private final CFSecRamTableLock tableLock = new CFSecRamTableLock();
+
+	private volatile CFSecRamPersistentIndex< CFSecBuffSecSession > persistentIndex = null;
+
+	// Sessions ordered by Start and by Finish, globally and per SecUser.
+	// Open sessions, whose Finish is null, are not in timeByFinish.
+	private final CFSecRamTimeIndex< CFLibDbKeyHash256, CFLibDbKeyHash256, CFSecBuffSecSession > timeByStart
+		= new CFSecRamTimeIndex< CFLibDbKeyHash256, CFLibDbKeyHash256, CFSecBuffSecSession >();
+	private final CFSecRamTimeIndex< CFLibDbKeyHash256, CFLibDbKeyHash256, CFSecBuffSecSession > timeByFinish
+		= new CFSecRamTimeIndex< CFLibDbKeyHash256, CFLibDbKeyHash256, CFSecBuffSecSession >();
+
+	// Closed sessions grouped by the day or hour of their Finish, or null
+	// when the table is not partitioned.
+	private volatile CFSecRamTimePartitions< CFLibDbKeyHash256, CFSecBuffSecSession > finishPartitions = null;
+
+	private volatile CFSecRamSessionReaper sessionReaper = null;
+
+	// The cold tier finished sessions are migrated to, or null for none.
+	private volatile CFSecRamSessionArchive sessionArchive = null;
+
+	private final CFSecRamActiveSessionRegistry activeSessions = new CFSecRamActiveSessionRegistry();
+
+	private final List< CFLibDbKeyHash256 > bulkPKeys = new ArrayList< CFLibDbKeyHash256 >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffSecSessionBySecUserIdxKey > probeSecUserIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecSessionBySecUserIdxKey)schema.getFactorySecSession().newBySecUserIdxKey() );
+	private final ThreadLocal< CFSecBuffSecSessionBySecDevIdxKey > probeSecDevIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecSessionBySecDevIdxKey)schema.getFactorySecSession().newBySecDevIdxKey() );
+	private final ThreadLocal< CFSecBuffSecSessionByStartIdxKey > probeStartIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecSessionByStartIdxKey)schema.getFactorySecSession().newByStartIdxKey() );
+	private final ThreadLocal< CFSecBuffSecSessionByFinishIdxKey > probeFinishIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecSessionByFinishIdxKey)schema.getFactorySecSession().newByFinishIdxKey() );
+	private final ThreadLocal< CFSecBuffSecSessionBySecProxyIdxKey > probeSecProxyIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecSessionBySecProxyIdxKey)schema.getFactorySecSession().newBySecProxyIdxKey() );
+
 	public CFSecRamSecSessionTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
 
+	public CFSecRamTableLock getTableLock() {
+		return( tableLock );
+	}
+
 	public CFSecBuffSecSession ensureRec(ICFSecSecSession rec) {
 		if (rec == null) {
 			return( null );
@@ -101,306 +160,1717 @@ public class CFSecRamSecSessionTable
 		}
 	}
 
-	@Override
-	public ICFSecSecSession createSecSession( ICFSecAuthorization Authorization,
-		ICFSecSecSession iBuff )
-	{
-		final String S_ProcName = "createSecSession";
-		
-		CFSecBuffSecSession Buff = (CFSecBuffSecSession)ensureRec(iBuff);
-		CFLibDbKeyHash256 pkey;
-		pkey = schema.nextSecSessionIdGen();
-		Buff.setRequiredSecSessionId( pkey );
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffSecSession > recs ) {
+		long stamp = tableLock.writeLock();
+		try {
+			dictByPKey.clear();
+			for( CFSecBuffSecSession Buff : recs ) {
+				CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+				dictByPKey.put( pkey, Buff );
+			}
+			rebuildIndexes();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffSecSession > snapshotRecs() {
+		List< CFSecBuffSecSession > recs = tableLock.read( () -> new ArrayList< CFSecBuffSecSession >( dictByPKey.values() ) );
+		return( recs );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffSecSession lookupRec( Object pkey ) {
+		return( tableLock.read( () -> dictByPKey.get( pkey ) ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffSecSession before ) {
+		long lsn = 0L;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecBuffSecSession current;
+			if( before == null ) {
+				current = dictByPKey.remove( pkey );
+			}
+			else {
+				current = dictByPKey.put( (CFLibDbKeyHash256)pkey, before );
+			}
+			if( current != null ) {
+				unindexRec( current );
+			}
+			if( before != null ) {
+				indexRec( before );
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+			}
+			else if( current != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+			}
+			if( ( current != null ) || ( before != null ) ) {
+				applyPersistentIndex( current, before );
+				applyTimeIndexes( current, before );
+				applyExpiry( current, before );
+				applyActiveSessions( current, before );
+				applyFinishPartitions( current, before );
+			}
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffSecSession Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
 		CFSecBuffSecSessionBySecUserIdxKey keySecUserIdx = (CFSecBuffSecSessionBySecUserIdxKey)schema.getFactorySecSession().newBySecUserIdxKey();
 		keySecUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecUserIdx;
+		if( dictBySecUserIdx.containsKey( keySecUserIdx ) ) {
+			subdictSecUserIdx = dictBySecUserIdx.get( keySecUserIdx );
+		}
+		else {
+			subdictSecUserIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+			dictBySecUserIdx.put( keySecUserIdx, subdictSecUserIdx );
+		}
+		subdictSecUserIdx.put( pkey, Buff );
 
 		CFSecBuffSecSessionBySecDevIdxKey keySecDevIdx = (CFSecBuffSecSessionBySecDevIdxKey)schema.getFactorySecSession().newBySecDevIdxKey();
 		keySecDevIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
 		keySecDevIdx.setOptionalSecDevName( Buff.getOptionalSecDevName() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecDevIdx;
+		if( dictBySecDevIdx.containsKey( keySecDevIdx ) ) {
+			subdictSecDevIdx = dictBySecDevIdx.get( keySecDevIdx );
+		}
+		else {
+			subdictSecDevIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+			dictBySecDevIdx.put( keySecDevIdx, subdictSecDevIdx );
+		}
+		subdictSecDevIdx.put( pkey, Buff );
 
 		CFSecBuffSecSessionByStartIdxKey keyStartIdx = (CFSecBuffSecSessionByStartIdxKey)schema.getFactorySecSession().newByStartIdxKey();
 		keyStartIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
 		keyStartIdx.setRequiredStart( Buff.getRequiredStart() );
+		dictByStartIdx.put( keyStartIdx, Buff );
 
 		CFSecBuffSecSessionByFinishIdxKey keyFinishIdx = (CFSecBuffSecSessionByFinishIdxKey)schema.getFactorySecSession().newByFinishIdxKey();
 		keyFinishIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
 		keyFinishIdx.setOptionalFinish( Buff.getOptionalFinish() );
+		if( isIndexedByFinishIdx( keyFinishIdx ) ) {
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictFinishIdx;
+			if( dictByFinishIdx.containsKey( keyFinishIdx ) ) {
+				subdictFinishIdx = dictByFinishIdx.get( keyFinishIdx );
+			}
+			else {
+				subdictFinishIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+				dictByFinishIdx.put( keyFinishIdx, subdictFinishIdx );
+			}
+			subdictFinishIdx.put( pkey, Buff );
+		}
 
 		CFSecBuffSecSessionBySecProxyIdxKey keySecProxyIdx = (CFSecBuffSecSessionBySecProxyIdxKey)schema.getFactorySecSession().newBySecProxyIdxKey();
 		keySecProxyIdx.setOptionalSecProxyId( Buff.getOptionalSecProxyId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecProxyIdx;
+		if( dictBySecProxyIdx.containsKey( keySecProxyIdx ) ) {
+			subdictSecProxyIdx = dictBySecProxyIdx.get( keySecProxyIdx );
+		}
+		else {
+			subdictSecProxyIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+			dictBySecProxyIdx.put( keySecProxyIdx, subdictSecProxyIdx );
+		}
+		subdictSecProxyIdx.put( pkey, Buff );
+	}
 
-		// Validate unique indexes
+	protected void unindexRec( CFSecBuffSecSession Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffSecSessionBySecUserIdxKey keySecUserIdx = (CFSecBuffSecSessionBySecUserIdxKey)schema.getFactorySecSession().newBySecUserIdxKey();
+		keySecUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecUserIdx = dictBySecUserIdx.get( keySecUserIdx );
+		if( subdictSecUserIdx != null ) {
+			subdictSecUserIdx.remove( pkey );
+			if( subdictSecUserIdx.isEmpty() ) {
+				dictBySecUserIdx.remove( keySecUserIdx );
+			}
+		}
 
-		if( dictByPKey.containsKey( pkey ) ) {
-			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
+		CFSecBuffSecSessionBySecDevIdxKey keySecDevIdx = (CFSecBuffSecSessionBySecDevIdxKey)schema.getFactorySecSession().newBySecDevIdxKey();
+		keySecDevIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		keySecDevIdx.setOptionalSecDevName( Buff.getOptionalSecDevName() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecDevIdx = dictBySecDevIdx.get( keySecDevIdx );
+		if( subdictSecDevIdx != null ) {
+			subdictSecDevIdx.remove( pkey );
+			if( subdictSecDevIdx.isEmpty() ) {
+				dictBySecDevIdx.remove( keySecDevIdx );
+			}
 		}
 
-		if( dictByStartIdx.containsKey( keyStartIdx ) ) {
-			throw new CFLibUniqueIndexViolationException( getClass(),
-				S_ProcName,
-				"SessionStartIdx",
-				"SessionStartIdx",
-				keyStartIdx );
+		CFSecBuffSecSessionByStartIdxKey keyStartIdx = (CFSecBuffSecSessionByStartIdxKey)schema.getFactorySecSession().newByStartIdxKey();
+		keyStartIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		keyStartIdx.setRequiredStart( Buff.getRequiredStart() );
+		dictByStartIdx.remove( keyStartIdx );
+
+		CFSecBuffSecSessionByFinishIdxKey keyFinishIdx = (CFSecBuffSecSessionByFinishIdxKey)schema.getFactorySecSession().newByFinishIdxKey();
+		keyFinishIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		keyFinishIdx.setOptionalFinish( Buff.getOptionalFinish() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictFinishIdx = dictByFinishIdx.get( keyFinishIdx );
+		if( subdictFinishIdx != null ) {
+			subdictFinishIdx.remove( pkey );
+			if( subdictFinishIdx.isEmpty() ) {
+				dictByFinishIdx.remove( keyFinishIdx );
+			}
 		}
 
-		// Validate foreign keys
+		CFSecBuffSecSessionBySecProxyIdxKey keySecProxyIdx = (CFSecBuffSecSessionBySecProxyIdxKey)schema.getFactorySecSession().newBySecProxyIdxKey();
+		keySecProxyIdx.setOptionalSecProxyId( Buff.getOptionalSecProxyId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecProxyIdx = dictBySecProxyIdx.get( keySecProxyIdx );
+		if( subdictSecProxyIdx != null ) {
+			subdictSecProxyIdx.remove( pkey );
+			if( subdictSecProxyIdx.isEmpty() ) {
+				dictBySecProxyIdx.remove( keySecProxyIdx );
+			}
+		}
+	}
 
-		// Proceed with adding the new record
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildSecUserIdx,
+			this::rebuildSecDevIdx,
+			this::rebuildStartIdx,
+			this::rebuildFinishIdx,
+			this::rebuildSecProxyIdx,
+			this::rebuildStartTime,
+			this::rebuildFinishTime,
+			this::rebuildFinishPartitions,
+			this::rebuildExpiry,
+			this::rebuildActiveSessions,
+			this::rebuildPersistentIndex );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
 
-		dictByPKey.put( pkey, Buff );
+	public boolean isPersistentIndexEnabled() {
+		return( persistentIndex != null );
+	}
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecUserIdx;
-		if( dictBySecUserIdx.containsKey( keySecUserIdx ) ) {
-			subdictSecUserIdx = dictBySecUserIdx.get( keySecUserIdx );
+	/**
+	 *	Enable or disable the persistent index.  While it is enabled, point
+	 *	reads, unique and duplicate index reads, and readAllDerived() are
+	 *	served from CFSecRamHamt tries published by the writers, with no
+	 *	reader-side locking at all.  Paged reads still use the dictionaries.
+	 *
+	 *	@param	value	True to maintain and read from the persistent index.
+	 */
+	public void setPersistentIndexEnabled( boolean value ) {
+		long stamp = tableLock.writeLock();
+		try {
+			if( ! value ) {
+				persistentIndex = null;
+			}
+			else if( persistentIndex == null ) {
+				CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = newPersistentIndex();
+				pindex.rebuild( dictByPKey.values() );
+				persistentIndex = pindex;
+			}
 		}
-		else {
-			subdictSecUserIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
-			dictBySecUserIdx.put( keySecUserIdx, subdictSecUserIdx );
+		finally {
+			tableLock.unlockWrite( stamp );
 		}
-		subdictSecUserIdx.put( pkey, Buff );
+	}
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecDevIdx;
-		if( dictBySecDevIdx.containsKey( keySecDevIdx ) ) {
-			subdictSecDevIdx = dictBySecDevIdx.get( keySecDevIdx );
+	protected CFSecRamPersistentIndex< CFSecBuffSecSession > newPersistentIndex() {
+		return( new CFSecRamPersistentIndex< CFSecBuffSecSession >(
+			( Buff ) -> Buff.getPKey(),
+			Arrays.< Function< CFSecBuffSecSession, Object > >asList(
+				( Buff ) -> {
+					CFSecBuffSecSessionByStartIdxKey keyStartIdx = (CFSecBuffSecSessionByStartIdxKey)schema.getFactorySecSession().newByStartIdxKey();
+					keyStartIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+					keyStartIdx.setRequiredStart( Buff.getRequiredStart() );
+					return( keyStartIdx );
+				} ),
+			Arrays.< Function< CFSecBuffSecSession, Object > >asList(
+				( Buff ) -> {
+					CFSecBuffSecSessionBySecUserIdxKey keySecUserIdx = (CFSecBuffSecSessionBySecUserIdxKey)schema.getFactorySecSession().newBySecUserIdxKey();
+					keySecUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+					return( keySecUserIdx );
+				},
+				( Buff ) -> {
+					CFSecBuffSecSessionBySecDevIdxKey keySecDevIdx = (CFSecBuffSecSessionBySecDevIdxKey)schema.getFactorySecSession().newBySecDevIdxKey();
+					keySecDevIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+					keySecDevIdx.setOptionalSecDevName( Buff.getOptionalSecDevName() );
+					return( keySecDevIdx );
+				},
+				( Buff ) -> {
+					CFSecBuffSecSessionByFinishIdxKey keyFinishIdx = (CFSecBuffSecSessionByFinishIdxKey)schema.getFactorySecSession().newByFinishIdxKey();
+					keyFinishIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+					keyFinishIdx.setOptionalFinish( Buff.getOptionalFinish() );
+					return( isIndexedByFinishIdx( keyFinishIdx ) ? keyFinishIdx : null );
+				},
+				( Buff ) -> {
+					CFSecBuffSecSessionBySecProxyIdxKey keySecProxyIdx = (CFSecBuffSecSessionBySecProxyIdxKey)schema.getFactorySecSession().newBySecProxyIdxKey();
+					keySecProxyIdx.setOptionalSecProxyId( Buff.getOptionalSecProxyId() );
+					return( isIndexedBySecProxyIdx( keySecProxyIdx ) ? keySecProxyIdx : null );
+				} ) ) );
+	}
+
+	protected void rebuildPersistentIndex() {
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( pindex != null ) {
+			pindex.rebuild( dictByPKey.values() );
 		}
-		else {
-			subdictSecDevIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
-			dictBySecDevIdx.put( keySecDevIdx, subdictSecDevIdx );
+	}
+
+	private void applyPersistentIndex( CFSecBuffSecSession before, CFSecBuffSecSession after ) {
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( pindex != null ) {
+			pindex.apply( before, after );
 		}
-		subdictSecDevIdx.put( pkey, Buff );
+	}
 
-		dictByStartIdx.put( keyStartIdx, Buff );
+	protected void rebuildStartTime() {
+		timeByStart.clear();
+		for( CFSecBuffSecSession Buff : dictByPKey.values() ) {
+			timeByStart.add( Buff.getRequiredSecUserId(), Buff.getRequiredStart(), (CFLibDbKeyHash256)(Buff.getPKey()), Buff );
+		}
+	}
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecSession > subdictFinishIdx;
-		if( dictByFinishIdx.containsKey( keyFinishIdx ) ) {
-			subdictFinishIdx = dictByFinishIdx.get( keyFinishIdx );
+	protected void rebuildFinishTime() {
+		timeByFinish.clear();
+		for( CFSecBuffSecSession Buff : dictByPKey.values() ) {
+			timeByFinish.add( Buff.getRequiredSecUserId(), Buff.getOptionalFinish(), (CFLibDbKeyHash256)(Buff.getPKey()), Buff );
 		}
-		else {
-			subdictFinishIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
-			dictByFinishIdx.put( keyFinishIdx, subdictFinishIdx );
+	}
+
+	/**
+	 *	@return	The width of the Finish partitions, or null when the table is not partitioned.
+	 */
+	public ChronoUnit getFinishPartitionUnit() {
+		CFSecRamTimePartitions< CFLibDbKeyHash256, CFSecBuffSecSession > partitions = finishPartitions;
+		return( ( partitions == null ) ? null : partitions.getUnit() );
+	}
+
+	/**
+	 *	Partition the closed sessions by the day or the hour of their Finish,
+	 *	so retention can drop a whole partition with dropFinishPartition().
+	 *	The sessions stay in every dictionary, so index queries such as
+	 *	readDerivedBySecUserIdx() span the partitions transparently.
+	 *
+	 *	@param	unit	ChronoUnit.DAYS or ChronoUnit.HOURS, or null to stop partitioning.
+	 */
+	public void setFinishPartitionUnit( ChronoUnit unit ) {
+		CFSecRamTimePartitions< CFLibDbKeyHash256, CFSecBuffSecSession > partitions
+			= ( unit == null ) ? null : new CFSecRamTimePartitions< CFLibDbKeyHash256, CFSecBuffSecSession >( unit );
+		long stamp = tableLock.writeLock();
+		try {
+			if( partitions != null ) {
+				for( CFSecBuffSecSession Buff : dictByPKey.values() ) {
+					partitions.add( Buff.getOptionalFinish(), (CFLibDbKeyHash256)(Buff.getPKey()), Buff );
+				}
+			}
+			finishPartitions = partitions;
 		}
-		subdictFinishIdx.put( pkey, Buff );
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecProxyIdx;
-		if( dictBySecProxyIdx.containsKey( keySecProxyIdx ) ) {
-			subdictSecProxyIdx = dictBySecProxyIdx.get( keySecProxyIdx );
+	protected void rebuildFinishPartitions() {
+		CFSecRamTimePartitions< CFLibDbKeyHash256, CFSecBuffSecSession > partitions = finishPartitions;
+		if( partitions != null ) {
+			partitions.clear();
+			for( CFSecBuffSecSession Buff : dictByPKey.values() ) {
+				partitions.add( Buff.getOptionalFinish(), (CFLibDbKeyHash256)(Buff.getPKey()), Buff );
+			}
+		}
+	}
+
+	private void applyFinishPartitions( CFSecBuffSecSession before, CFSecBuffSecSession after ) {
+		CFSecRamTimePartitions< CFLibDbKeyHash256, CFSecBuffSecSession > partitions = finishPartitions;
+		if( partitions == null ) {
+			return;
+		}
+		if( after == null ) {
+			partitions.remove( before.getOptionalFinish(), (CFLibDbKeyHash256)(before.getPKey()) );
+		}
+		else if( before == null ) {
+			partitions.add( after.getOptionalFinish(), (CFLibDbKeyHash256)(after.getPKey()), after );
 		}
 		else {
-			subdictSecProxyIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
-			dictBySecProxyIdx.put( keySecProxyIdx, subdictSecProxyIdx );
+			partitions.move( before.getOptionalFinish(), after.getOptionalFinish(), (CFLibDbKeyHash256)(after.getPKey()), after );
 		}
-		subdictSecProxyIdx.put( pkey, Buff );
+	}
 
-		if (Buff == null) {
+	public CFSecRamSessionArchive getSessionArchive() {
+		return( sessionArchive );
+	}
+
+	/**
+	 *	Attach or detach the archive finished sessions are migrated to by
+	 *	archiveFinishedBefore().  While one is attached, readDerived(),
+	 *	readDerivedByIdIdx() and the readDerived, view, forEach, stream and
+	 *	pageRec methods of SecUserIdx fall through to it for the sessions
+	 *	the table no longer holds.
+	 *
+	 *	@param	archive	The open archive, or null for none.
+	 */
+	public void setSessionArchive( CFSecRamSessionArchive archive ) {
+		long stamp = tableLock.writeLock();
+		try {
+			sessionArchive = archive;
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
+	private boolean removeArchived( CFLibDbKeyHash256 pkey ) {
+		CFSecRamSessionArchive archive = sessionArchive;
+		if( archive == null ) {
+			return( false );
+		}
+		try {
+			return( archive.remove( pkey ) );
+		}
+		catch( IOException e ) {
+			throw new UncheckedIOException( e );
+		}
+	}
+
+	private CFSecBuffSecSession readArchived( CFLibDbKeyHash256 pkey ) {
+		CFSecRamSessionArchive archive = sessionArchive;
+		if( archive == null ) {
 			return( null );
 		}
-		else {
-			int classCode = Buff.getClassCode();
-			if (classCode == ICFSecSecSession.CLASS_CODE) {
-				CFSecBuffSecSession retbuff = ((CFSecBuffSecSession)(schema.getFactorySecSession().newRec()));
-				retbuff.set(Buff);
-				return( retbuff );
+		try {
+			return( archive.read( pkey ) );
+		}
+		catch( IOException e ) {
+			throw new UncheckedIOException( e );
+		}
+	}
+
+	private ICFSecSecSession[] withArchived( CFLibDbKeyHash256 SecUserId, ICFSecSecSession[] recs ) {
+		CFSecRamSessionArchive archive = sessionArchive;
+		if( archive == null ) {
+			return( recs );
+		}
+		List< CFSecBuffSecSession > archived;
+		try {
+			archived = archive.readBySecUserId( SecUserId );
+		}
+		catch( IOException e ) {
+			throw new UncheckedIOException( e );
+		}
+		if( archived.isEmpty() ) {
+			return( recs );
+		}
+		Set< CFLibDbKeyHash256 > live = new HashSet< CFLibDbKeyHash256 >();
+		ArrayList< ICFSecSecSession > merged = new ArrayList< ICFSecSecSession >( recs.length + archived.size() );
+		for( ICFSecSecSession rec : recs ) {
+			live.add( rec.getRequiredSecSessionId() );
+			merged.add( rec );
+		}
+		for( CFSecBuffSecSession rec : archived ) {
+			if( ! live.contains( rec.getRequiredSecSessionId() ) ) {
+				merged.add( rec );
 			}
-			else {
-				throw new CFLibUnsupportedClassException(getClass(), S_ProcName, "-create-buff-cloning-", (Integer)classCode, "Classcode not recognized: " + Integer.toString(classCode));
+		}
+		return( merged.toArray( EMPTY_REC_ARRAY ) );
+	}
+
+	/**
+	 *	Merge the archived sessions of a user into a page of its resident
+	 *	sessions.  A full resident page holds every resident session keyed
+	 *	between the prior key and its last key, and a short one every resident
+	 *	session after the prior key, so the first pageSize sessions of the
+	 *	union within that range are the true next page.
+	 */
+	private ICFSecSecSession[] pageWithArchived( CFLibDbKeyHash256 SecUserId,
+		CFLibDbKeyHash256 priorSecSessionId,
+		int pageSize,
+		ICFSecSecSession[] recs )
+	{
+		List< CFSecBuffSecSession > archived = readArchivedBySecUserId( SecUserId );
+		if( archived.isEmpty() ) {
+			return( recs );
+		}
+		TreeMap< CFLibDbKeyHash256, ICFSecSecSession > merged = new TreeMap< CFLibDbKeyHash256, ICFSecSecSession >();
+		for( ICFSecSecSession rec : recs ) {
+			merged.put( rec.getRequiredSecSessionId(), rec );
+		}
+		CFLibDbKeyHash256 last = ( ( recs.length == 0 ) || ( recs.length < pageSize ) )
+			? null
+			: recs[ recs.length - 1 ].getRequiredSecSessionId();
+		for( CFSecBuffSecSession rec : archived ) {
+			CFLibDbKeyHash256 id = rec.getRequiredSecSessionId();
+			if( ( ( priorSecSessionId == null ) || ( id.compareTo( priorSecSessionId ) > 0 ) )
+				&& ( ( last == null ) || ( id.compareTo( last ) < 0 ) ) )
+			{
+				merged.putIfAbsent( id, rec );
 			}
 		}
+		List< ICFSecSecSession > page = CFSecRamPager.page( merged, null, pageSize );
+		return( page.toArray( new ICFSecSecSession[ page.size() ] ) );
 	}
 
-	@Override
-	public ICFSecSecSession readDerived( ICFSecAuthorization Authorization,
-		CFLibDbKeyHash256 PKey )
+	/**
+	 *	Add the archived sessions of a user to a delete cascade's matches,
+	 *	skipping any that are also still in the table.
+	 */
+	private void addArchived( List< CFSecBuffSecSession > matchSet,
+		CFLibDbKeyHash256 SecUserId,
+		String SecDevName,
+		boolean matchSecDevName )
 	{
-		final String S_ProcName = "CFSecRamSecSession.readDerived";
-		ICFSecSecSession buff;
-		if( PKey == null ) {
-			return( null );
+		List< CFSecBuffSecSession > archived = readArchivedBySecUserId( SecUserId );
+		if( archived.isEmpty() ) {
+			return;
 		}
-		if( dictByPKey.containsKey( PKey ) ) {
-			buff = dictByPKey.get( PKey );
+		Set< CFLibDbKeyHash256 > live = new HashSet< CFLibDbKeyHash256 >();
+		for( CFSecBuffSecSession rec : matchSet ) {
+			live.add( rec.getRequiredSecSessionId() );
 		}
-		else {
-			buff = null;
+		for( CFSecBuffSecSession rec : archived ) {
+			if( matchSecDevName && ! Objects.equals( rec.getOptionalSecDevName(), SecDevName ) ) {
+				continue;
+			}
+			if( ! live.contains( rec.getRequiredSecSessionId() ) ) {
+				matchSet.add( rec );
+			}
 		}
-		return( buff );
 	}
 
-	@Override
-	public ICFSecSecSession lockDerived( ICFSecAuthorization Authorization,
-		CFLibDbKeyHash256 PKey )
+	private List< CFSecBuffSecSession > readArchivedBySecUserId( CFLibDbKeyHash256 SecUserId ) {
+		CFSecRamSessionArchive archive = sessionArchive;
+		if( archive == null ) {
+			return( Collections.emptyList() );
+		}
+		try {
+			return( archive.readBySecUserId( SecUserId ) );
+		}
+		catch( IOException e ) {
+			throw new UncheckedIOException( e );
+		}
+	}
+
+	public CFSecRamSessionReaper getSessionReaper() {
+		return( sessionReaper );
+	}
+
+	/**
+	 *	Attach or detach the reaper that expires idle sessions.  An attached
+	 *	reaper is handed every open session at once, and then every change
+	 *	made to the table.
+	 *
+	 *	@param	reaper	The reaper to keep current, or null for none.
+	 */
+	public void setSessionReaper( CFSecRamSessionReaper reaper ) {
+		long stamp = tableLock.writeLock();
+		try {
+			if( reaper != null ) {
+				reaper.reset( dictByPKey.values() );
+			}
+			sessionReaper = reaper;
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
+	protected void rebuildExpiry() {
+		CFSecRamSessionReaper reaper = sessionReaper;
+		if( reaper != null ) {
+			reaper.reset( dictByPKey.values() );
+		}
+	}
+
+	private void applyExpiry( CFSecBuffSecSession before, CFSecBuffSecSession after ) {
+		CFSecRamSessionReaper reaper = sessionReaper;
+		if( reaper != null ) {
+			reaper.sessionChanged( before, after );
+		}
+	}
+
+	public CFSecRamActiveSessionRegistry getActiveSessions() {
+		return( activeSessions );
+	}
+
+	private CFSecBuffSecSessionBySecDevIdxKey deviceKeyOf( CFSecBuffSecSession Buff ) {
+		CFSecBuffSecSessionBySecDevIdxKey keySecDevIdx = (CFSecBuffSecSessionBySecDevIdxKey)schema.getFactorySecSession().newBySecDevIdxKey();
+		keySecDevIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		keySecDevIdx.setOptionalSecDevName( Buff.getOptionalSecDevName() );
+		return( keySecDevIdx );
+	}
+
+	protected void rebuildActiveSessions() {
+		activeSessions.clear();
+		for( CFSecBuffSecSession Buff : dictByPKey.values() ) {
+			if( Buff.getOptionalFinish() == null ) {
+				activeSessions.opened( Buff.getRequiredSecUserId(), deviceKeyOf( Buff ) );
+			}
+		}
+	}
+
+	private void applyActiveSessions( CFSecBuffSecSession before, CFSecBuffSecSession after ) {
+		boolean wasOpen = ( before != null ) && ( before.getOptionalFinish() == null );
+		boolean isOpen = ( after != null ) && ( after.getOptionalFinish() == null );
+		if( wasOpen && isOpen
+			&& before.getRequiredSecUserId().equals( after.getRequiredSecUserId() )
+			&& Objects.equals( before.getOptionalSecDevName(), after.getOptionalSecDevName() ) )
+		{
+			return;
+		}
+		if( wasOpen ) {
+			activeSessions.closed( before.getRequiredSecUserId(), deviceKeyOf( before ) );
+		}
+		if( isOpen ) {
+			activeSessions.opened( after.getRequiredSecUserId(), deviceKeyOf( after ) );
+		}
+	}
+
+	private void applyTimeIndexes( CFSecBuffSecSession before, CFSecBuffSecSession after ) {
+		if( after == null ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(before.getPKey());
+			timeByStart.remove( before.getRequiredSecUserId(), before.getRequiredStart(), pkey );
+			timeByFinish.remove( before.getRequiredSecUserId(), before.getOptionalFinish(), pkey );
+		}
+		else if( before == null ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(after.getPKey());
+			timeByStart.add( after.getRequiredSecUserId(), after.getRequiredStart(), pkey, after );
+			timeByFinish.add( after.getRequiredSecUserId(), after.getOptionalFinish(), pkey, after );
+		}
+		else {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(after.getPKey());
+			timeByStart.move( before.getRequiredSecUserId(), before.getRequiredStart(),
+				after.getRequiredSecUserId(), after.getRequiredStart(), pkey, after );
+			timeByFinish.move( before.getRequiredSecUserId(), before.getOptionalFinish(),
+				after.getRequiredSecUserId(), after.getOptionalFinish(), pkey, after );
+		}
+	}
+
+	protected void rebuildSecUserIdx() {
+		dictBySecUserIdx.clear();
+		for( CFSecBuffSecSession Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffSecSessionBySecUserIdxKey keySecUserIdx = (CFSecBuffSecSessionBySecUserIdxKey)schema.getFactorySecSession().newBySecUserIdxKey();
+			keySecUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecUserIdx;
+			if( dictBySecUserIdx.containsKey( keySecUserIdx ) ) {
+				subdictSecUserIdx = dictBySecUserIdx.get( keySecUserIdx );
+			}
+			else {
+				subdictSecUserIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+				dictBySecUserIdx.put( keySecUserIdx, subdictSecUserIdx );
+			}
+			subdictSecUserIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildSecDevIdx() {
+		dictBySecDevIdx.clear();
+		for( CFSecBuffSecSession Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffSecSessionBySecDevIdxKey keySecDevIdx = (CFSecBuffSecSessionBySecDevIdxKey)schema.getFactorySecSession().newBySecDevIdxKey();
+			keySecDevIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+			keySecDevIdx.setOptionalSecDevName( Buff.getOptionalSecDevName() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecDevIdx;
+			if( dictBySecDevIdx.containsKey( keySecDevIdx ) ) {
+				subdictSecDevIdx = dictBySecDevIdx.get( keySecDevIdx );
+			}
+			else {
+				subdictSecDevIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+				dictBySecDevIdx.put( keySecDevIdx, subdictSecDevIdx );
+			}
+			subdictSecDevIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildStartIdx() {
+		dictByStartIdx.clear();
+		for( CFSecBuffSecSession Buff : dictByPKey.values() ) {
+			CFSecBuffSecSessionByStartIdxKey keyStartIdx = (CFSecBuffSecSessionByStartIdxKey)schema.getFactorySecSession().newByStartIdxKey();
+			keyStartIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+			keyStartIdx.setRequiredStart( Buff.getRequiredStart() );
+			dictByStartIdx.put( keyStartIdx, Buff );
+		}
+	}
+
+	/**
+	 *	FinishIdx is sparse: open sessions, whose Finish is null, are left out
+	 *	of dictByFinishIdx and the persistent index.  A query for the open
+	 *	sessions of a user filters that user's SecUserIdx bucket instead.
+	 */
+	private static boolean isIndexedByFinishIdx( CFSecBuffSecSessionByFinishIdxKey key ) {
+		return( key.getOptionalFinish() != null );
+	}
+
+	/**
+	 *	@return	The records holding a FinishIdx key, whether or not the key is indexed.
+	 */
+	private NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > bucketByFinishIdx( CFSecBuffSecSessionByFinishIdxKey key ) {
+		if( isIndexedByFinishIdx( key ) ) {
+			return( dictByFinishIdx.get( key ) );
+		}
+		CFSecBuffSecSessionBySecUserIdxKey viaKey = probeSecUserIdx.get();
+		viaKey.setRequiredSecUserId( key.getRequiredSecUserId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > candidates = dictBySecUserIdx.get( viaKey );
+		if( candidates == null ) {
+			return( null );
+		}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > bucket = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+		for( CFSecBuffSecSession Buff : candidates.values() ) {
+			if( Buff.getOptionalFinish() == null ) {
+				bucket.put( (CFLibDbKeyHash256)(Buff.getPKey()), Buff );
+			}
+		}
+		return( bucket );
+	}
+
+	protected void rebuildFinishIdx() {
+		dictByFinishIdx.clear();
+		for( CFSecBuffSecSession Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffSecSessionByFinishIdxKey keyFinishIdx = (CFSecBuffSecSessionByFinishIdxKey)schema.getFactorySecSession().newByFinishIdxKey();
+			keyFinishIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+			keyFinishIdx.setOptionalFinish( Buff.getOptionalFinish() );
+			if( isIndexedByFinishIdx( keyFinishIdx ) ) {
+				NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictFinishIdx;
+				if( dictByFinishIdx.containsKey( keyFinishIdx ) ) {
+					subdictFinishIdx = dictByFinishIdx.get( keyFinishIdx );
+				}
+				else {
+					subdictFinishIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+					dictByFinishIdx.put( keyFinishIdx, subdictFinishIdx );
+				}
+				subdictFinishIdx.put( pkey, Buff );
+			}
+		}
+	}
+
+	/**
+	 *	SecProxyIdx is sparse in the persistent index only: sessions without a
+	 *	SecProxyId are left out of it, so creating and deleting unproxied
+	 *	sessions never copies one giant null-keyed duplicate list there.
+	 *	dictBySecProxyIdx does hold them, in its null bucket ordered by
+	 *	SecSessionId, where each create or delete costs one O(log n) TreeMap
+	 *	update and a query or page for a null SecProxyId is answered directly.
+	 */
+	private static boolean isIndexedBySecProxyIdx( CFSecBuffSecSessionBySecProxyIdxKey key ) {
+		return( key.getOptionalSecProxyId() != null );
+	}
+
+	/**
+	 *	@return	The records holding a SecProxyIdx key, including the null bucket.
+	 */
+	private NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > bucketBySecProxyIdx( CFSecBuffSecSessionBySecProxyIdxKey key ) {
+		return( dictBySecProxyIdx.get( key ) );
+	}
+
+	protected void rebuildSecProxyIdx() {
+		dictBySecProxyIdx.clear();
+		for( CFSecBuffSecSession Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffSecSessionBySecProxyIdxKey keySecProxyIdx = (CFSecBuffSecSessionBySecProxyIdxKey)schema.getFactorySecSession().newBySecProxyIdxKey();
+			keySecProxyIdx.setOptionalSecProxyId( Buff.getOptionalSecProxyId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecProxyIdx;
+			if( dictBySecProxyIdx.containsKey( keySecProxyIdx ) ) {
+				subdictSecProxyIdx = dictBySecProxyIdx.get( keySecProxyIdx );
+			}
+			else {
+				subdictSecProxyIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+				dictBySecProxyIdx.put( keySecProxyIdx, subdictSecProxyIdx );
+			}
+			subdictSecProxyIdx.put( pkey, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< String > duplicates = tableLock.read( () -> {
+			List< String > found = new ArrayList< String >();
+			for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+				CFSecBuffSecSession Buff = dictByPKey.get( pkey );
+				if( Buff == null ) {
+					continue;
+				}
+				CFSecBuffSecSessionByStartIdxKey keyStartIdx = (CFSecBuffSecSessionByStartIdxKey)schema.getFactorySecSession().newByStartIdxKey();
+				keyStartIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+				keyStartIdx.setRequiredStart( Buff.getRequiredStart() );
+				if( dictByStartIdx.get( keyStartIdx ) != Buff ) {
+					found.add( "SecSession " + Buff.getPKey() + " duplicates the SessionStartIdx key " + keyStartIdx );
+				}
+			}
+			return( found );
+		} );
+		violations.addAll( duplicates );
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		long stamp = tableLock.writeLock();
+		try {
+			for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+				CFSecBuffSecSession Buff = dictByPKey.remove( pkey );
+				if( Buff != null ) {
+					lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+				}
+			}
+			bulkPKeys.clear();
+			rebuildIndexes();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		long stamp = tableLock.writeLock();
+		try {
+			bulkPKeys.clear();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
+	@Override
+	public ICFSecSecSession createSecSession( ICFSecAuthorization Authorization,
+		ICFSecSecSession iBuff )
+	{
+		final String S_ProcName = "createSecSession";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
+		
+		CFSecBuffSecSession Buff = (CFSecBuffSecSession)ensureRec(iBuff);
+		CFLibDbKeyHash256 pkey;
+		pkey = schema.nextSecSessionIdGen();
+		Buff.setRequiredSecSessionId( pkey );
+		CFSecBuffSecSessionBySecUserIdxKey keySecUserIdx = (CFSecBuffSecSessionBySecUserIdxKey)schema.getFactorySecSession().newBySecUserIdxKey();
+		keySecUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+
+		CFSecBuffSecSessionBySecDevIdxKey keySecDevIdx = (CFSecBuffSecSessionBySecDevIdxKey)schema.getFactorySecSession().newBySecDevIdxKey();
+		keySecDevIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		keySecDevIdx.setOptionalSecDevName( Buff.getOptionalSecDevName() );
+
+		CFSecBuffSecSessionByStartIdxKey keyStartIdx = (CFSecBuffSecSessionByStartIdxKey)schema.getFactorySecSession().newByStartIdxKey();
+		keyStartIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		keyStartIdx.setRequiredStart( Buff.getRequiredStart() );
+
+		CFSecBuffSecSessionByFinishIdxKey keyFinishIdx = (CFSecBuffSecSessionByFinishIdxKey)schema.getFactorySecSession().newByFinishIdxKey();
+		keyFinishIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		keyFinishIdx.setOptionalFinish( Buff.getOptionalFinish() );
+
+		CFSecBuffSecSessionBySecProxyIdxKey keySecProxyIdx = (CFSecBuffSecSessionBySecProxyIdxKey)schema.getFactorySecSession().newBySecProxyIdxKey();
+		keySecProxyIdx.setOptionalSecProxyId( Buff.getOptionalSecProxyId() );
+
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			// Validate unique indexes
+
+			if( dictByPKey.containsKey( pkey ) ) {
+				throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
+			}
+
+			if( ( ! bulkLoad ) && dictByStartIdx.containsKey( keyStartIdx ) ) {
+				throw new CFLibUniqueIndexViolationException( getClass(),
+					S_ProcName,
+					"SessionStartIdx",
+					"SessionStartIdx",
+					keyStartIdx );
+			}
+
+			// Validate foreign keys
+
+			// Proceed with adding the new record
+
+			dictByPKey.put( pkey, Buff );
+			if( bulkLoad ) {
+				bulkPKeys.add( pkey );
+			}
+
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecUserIdx;
+			if( dictBySecUserIdx.containsKey( keySecUserIdx ) ) {
+				subdictSecUserIdx = dictBySecUserIdx.get( keySecUserIdx );
+			}
+			else {
+				subdictSecUserIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+				dictBySecUserIdx.put( keySecUserIdx, subdictSecUserIdx );
+			}
+			subdictSecUserIdx.put( pkey, Buff );
+
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecDevIdx;
+			if( dictBySecDevIdx.containsKey( keySecDevIdx ) ) {
+				subdictSecDevIdx = dictBySecDevIdx.get( keySecDevIdx );
+			}
+			else {
+				subdictSecDevIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+				dictBySecDevIdx.put( keySecDevIdx, subdictSecDevIdx );
+			}
+			subdictSecDevIdx.put( pkey, Buff );
+
+			dictByStartIdx.putIfAbsent( keyStartIdx, Buff );
+
+			if( isIndexedByFinishIdx( keyFinishIdx ) ) {
+				NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictFinishIdx;
+				if( dictByFinishIdx.containsKey( keyFinishIdx ) ) {
+					subdictFinishIdx = dictByFinishIdx.get( keyFinishIdx );
+				}
+				else {
+					subdictFinishIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+					dictByFinishIdx.put( keyFinishIdx, subdictFinishIdx );
+				}
+				subdictFinishIdx.put( pkey, Buff );
+			}
+
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecProxyIdx;
+			if( dictBySecProxyIdx.containsKey( keySecProxyIdx ) ) {
+				subdictSecProxyIdx = dictBySecProxyIdx.get( keySecProxyIdx );
+			}
+			else {
+				subdictSecProxyIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+				dictBySecProxyIdx.put( keySecProxyIdx, subdictSecProxyIdx );
+			}
+			subdictSecProxyIdx.put( pkey, Buff );
+			CFSecRamTransaction.record( schema, null, Buff );
+			applyPersistentIndex( null, Buff );
+			applyTimeIndexes( null, Buff );
+			applyExpiry( null, Buff );
+			applyActiveSessions( null, Buff );
+			applyFinishPartitions( null, Buff );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
+
+		if (Buff == null) {
+			return( null );
+		}
+		else {
+			int classCode = Buff.getClassCode();
+			if (classCode == ICFSecSecSession.CLASS_CODE) {
+				CFSecBuffSecSession retbuff = ((CFSecBuffSecSession)(schema.getFactorySecSession().newRec()));
+				retbuff.set(Buff);
+				return( retbuff );
+			}
+			else {
+				throw new CFLibUnsupportedClassException(getClass(), S_ProcName, "-create-buff-cloning-", (Integer)classCode, "Classcode not recognized: " + Integer.toString(classCode));
+			}
+		}
+	}
+
+	@Override
+	public ICFSecSecSession readDerived( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 PKey )
+	{
+		final String S_ProcName = "CFSecRamSecSession.readDerived";
+		ICFSecSecSession buff;
+		if( PKey == null ) {
+			return( null );
+		}
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( pindex != null ) {
+			buff = pindex.get( PKey );
+		}
+		else {
+			buff = tableLock.read( () -> dictByPKey.get( PKey ) );
+		}
+		if( buff == null ) {
+			buff = readArchived( PKey );
+		}
+		return( buff );
+	}
+
+	@Override
+	public ICFSecSecSession lockDerived( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 PKey )
+	{
+		final String S_ProcName = "CFSecRamSecSession.lockDerived";
+		ICFSecSecSession buff;
+		buff = tableLock.read( () -> dictByPKey.get( PKey ) );
+		return( buff );
+	}
+
+	@Override
+	public ICFSecSecSession[] readAllDerived( ICFSecAuthorization Authorization ) {
+		final String S_ProcName = "CFSecRamSecSession.readAllDerived";
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( pindex.values().toArray( EMPTY_REC_ARRAY ) );
+		}
+		ICFSecSecSession[] retList = tableLock.read( () -> {
+			ICFSecSecSession[] arr = new ICFSecSecSession[ dictByPKey.size() ];
+			Iterator< CFSecBuffSecSession > iter = dictByPKey.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
+		return( retList );
+	}
+
+	@Override
+	public ICFSecSecSession[] readDerivedBySecUserIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId )
+	{
+		final String S_ProcName = "CFSecRamSecSession.readDerivedBySecUserIdx";
+		CFSecBuffSecSessionBySecUserIdxKey key = probeSecUserIdx.get();
+
+		key.setRequiredSecUserId( SecUserId );
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( withArchived( SecUserId, pindex.getDuplicates( PIDX_SECUSERIDX, key ).toArray( EMPTY_REC_ARRAY ) ) );
+		}
+		ICFSecSecSession[] recArray = tableLock.read( () -> {
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecUserIdx
+				= dictBySecUserIdx.get( key );
+			if( ( subdictSecUserIdx == null ) || subdictSecUserIdx.isEmpty() ) {
+				return( EMPTY_REC_ARRAY );
+			}
+			ICFSecSecSession[] arr = new ICFSecSecSession[ subdictSecUserIdx.size() ];
+			Iterator< CFSecBuffSecSession > iter = subdictSecUserIdx.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
+		return( withArchived( SecUserId, recArray ) );
+	}
+
+	@Override
+	public ICFSecSecSession[] readDerivedBySecDevIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId,
+		String SecDevName )
+	{
+		final String S_ProcName = "CFSecRamSecSession.readDerivedBySecDevIdx";
+		CFSecBuffSecSessionBySecDevIdxKey key = probeSecDevIdx.get();
+
+		key.setRequiredSecUserId( SecUserId );
+		key.setOptionalSecDevName( SecDevName );
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( pindex.getDuplicates( PIDX_SECDEVIDX, key ).toArray( EMPTY_REC_ARRAY ) );
+		}
+		ICFSecSecSession[] recArray = tableLock.read( () -> {
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecDevIdx
+				= dictBySecDevIdx.get( key );
+			if( ( subdictSecDevIdx == null ) || subdictSecDevIdx.isEmpty() ) {
+				return( EMPTY_REC_ARRAY );
+			}
+			ICFSecSecSession[] arr = new ICFSecSecSession[ subdictSecDevIdx.size() ];
+			Iterator< CFSecBuffSecSession > iter = subdictSecDevIdx.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
+		return( recArray );
+	}
+
+	@Override
+	public ICFSecSecSession readDerivedByStartIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId,
+		LocalDateTime Start )
+	{
+		final String S_ProcName = "CFSecRamSecSession.readDerivedByStartIdx";
+		CFSecBuffSecSessionByStartIdxKey key = probeStartIdx.get();
+
+		key.setRequiredSecUserId( SecUserId );
+		key.setRequiredStart( Start );
+		ICFSecSecSession buff;
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( pindex.getUnique( PIDX_STARTIDX, key ) );
+		}
+		buff = tableLock.readOptimistic( () -> dictByStartIdx.get( key ) );
+		return( buff );
+	}
+
+	@Override
+	public ICFSecSecSession[] readDerivedByFinishIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId,
+		LocalDateTime Finish )
+	{
+		final String S_ProcName = "CFSecRamSecSession.readDerivedByFinishIdx";
+		CFSecBuffSecSessionByFinishIdxKey key = probeFinishIdx.get();
+
+		key.setRequiredSecUserId( SecUserId );
+		key.setOptionalFinish( Finish );
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( ( pindex != null ) && isIndexedByFinishIdx( key ) ) {
+			return( pindex.getDuplicates( PIDX_FINISHIDX, key ).toArray( EMPTY_REC_ARRAY ) );
+		}
+		ICFSecSecSession[] recArray = tableLock.read( () -> {
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictFinishIdx
+				= bucketByFinishIdx( key );
+			if( ( subdictFinishIdx == null ) || subdictFinishIdx.isEmpty() ) {
+				return( EMPTY_REC_ARRAY );
+			}
+			ICFSecSecSession[] arr = new ICFSecSecSession[ subdictFinishIdx.size() ];
+			Iterator< CFSecBuffSecSession > iter = subdictFinishIdx.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
+		return( recArray );
+	}
+
+	@Override
+	public ICFSecSecSession[] readDerivedBySecProxyIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecProxyId )
+	{
+		final String S_ProcName = "CFSecRamSecSession.readDerivedBySecProxyIdx";
+		CFSecBuffSecSessionBySecProxyIdxKey key = probeSecProxyIdx.get();
+
+		key.setOptionalSecProxyId( SecProxyId );
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( ( pindex != null ) && isIndexedBySecProxyIdx( key ) ) {
+			return( pindex.getDuplicates( PIDX_SECPROXYIDX, key ).toArray( EMPTY_REC_ARRAY ) );
+		}
+		ICFSecSecSession[] recArray = tableLock.read( () -> {
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecProxyIdx
+				= bucketBySecProxyIdx( key );
+			if( ( subdictSecProxyIdx == null ) || subdictSecProxyIdx.isEmpty() ) {
+				return( EMPTY_REC_ARRAY );
+			}
+			ICFSecSecSession[] arr = new ICFSecSecSession[ subdictSecProxyIdx.size() ];
+			Iterator< CFSecBuffSecSession > iter = subdictSecProxyIdx.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
+		return( recArray );
+	}
+
+	/**
+	 *	Read the SecSession instances whose Start lies within a half-open
+	 *	time range, in Start order.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	fromTime	The inclusive lower bound, or null for no lower bound.
+	 *
+	 *	@param	toTime	The exclusive upper bound, or null for no upper bound.
+	 *
+	 *	@return	An array of derived buffer instances, potentially with 0 elements in the set.
+	 */
+	public ICFSecSecSession[] readDerivedByStartRange( ICFSecAuthorization Authorization,
+		LocalDateTime fromTime,
+		LocalDateTime toTime )
+	{
+		ICFSecSecSession[] recArray = tableLock.read( () -> timeByStart.range( fromTime, toTime ).toArray( EMPTY_REC_ARRAY ) );
+		return( recArray );
+	}
+
+	/**
+	 *	Read the SecSession instances whose Start lies within a half-open
+	 *	time range, in Start order.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecUser owning the sessions.
+	 *
+	 *	@param	fromTime	The inclusive lower bound, or null for no lower bound.
+	 *
+	 *	@param	toTime	The exclusive upper bound, or null for no upper bound.
+	 *
+	 *	@return	An array of derived buffer instances, potentially with 0 elements in the set.
+	 */
+	public ICFSecSecSession[] readDerivedBySecUserStartRange( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId,
+		LocalDateTime fromTime,
+		LocalDateTime toTime )
+	{
+		ICFSecSecSession[] recArray = tableLock.read( () -> timeByStart.range( SecUserId, fromTime, toTime ).toArray( EMPTY_REC_ARRAY ) );
+		return( recArray );
+	}
+
+	/**
+	 *	Read the SecSession instances whose Finish lies within a half-open
+	 *	time range, in Finish order.  Open sessions are never included.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	fromTime	The inclusive lower bound, or null for no lower bound.
+	 *
+	 *	@param	toTime	The exclusive upper bound, or null for no upper bound.
+	 *
+	 *	@return	An array of derived buffer instances, potentially with 0 elements in the set.
+	 */
+	public ICFSecSecSession[] readDerivedByFinishRange( ICFSecAuthorization Authorization,
+		LocalDateTime fromTime,
+		LocalDateTime toTime )
+	{
+		ICFSecSecSession[] recArray = tableLock.read( () -> timeByFinish.range( fromTime, toTime ).toArray( EMPTY_REC_ARRAY ) );
+		return( recArray );
+	}
+
+	/**
+	 *	Read the SecSession instances whose Finish lies within a half-open
+	 *	time range, in Finish order.  Open sessions are never included.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecUser owning the sessions.
+	 *
+	 *	@param	fromTime	The inclusive lower bound, or null for no lower bound.
+	 *
+	 *	@param	toTime	The exclusive upper bound, or null for no upper bound.
+	 *
+	 *	@return	An array of derived buffer instances, potentially with 0 elements in the set.
+	 */
+	public ICFSecSecSession[] readDerivedBySecUserFinishRange( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId,
+		LocalDateTime fromTime,
+		LocalDateTime toTime )
+	{
+		ICFSecSecSession[] recArray = tableLock.read( () -> timeByFinish.range( SecUserId, fromTime, toTime ).toArray( EMPTY_REC_ARRAY ) );
+		return( recArray );
+	}
+
+	/**
+	 *	Read the SecSession instances that finished before a cutoff, in
+	 *	Finish order.  Open sessions are never included.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	cutoff	The exclusive upper bound on Finish.
+	 *
+	 *	@return	An array of derived buffer instances, potentially with 0 elements in the set.
+	 */
+	public ICFSecSecSession[] readDerivedByFinishedBefore( ICFSecAuthorization Authorization,
+		LocalDateTime cutoff )
+	{
+		return( readDerivedByFinishRange( Authorization, null, cutoff ) );
+	}
+
+	/**
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The number of open sessions, those whose Finish is null.
+	 */
+	public int getOpenSessionCount( ICFSecAuthorization Authorization ) {
+		return( activeSessions.getOpenCount() );
+	}
+
+	/**
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecUser owning the sessions.
+	 *
+	 *	@return	The number of open sessions of the user.
+	 */
+	public int getOpenSessionCountBySecUserIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId )
+	{
+		return( activeSessions.getOpenCountByUser( SecUserId ) );
+	}
+
+	/**
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecUser owning the sessions.
+	 *
+	 *	@param	SecDevName	The device of the sessions.
+	 *
+	 *	@return	The number of open sessions of the user on the device.
+	 */
+	public int getOpenSessionCountBySecDevIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId,
+		String SecDevName )
+	{
+		CFSecBuffSecSessionBySecDevIdxKey key = probeSecDevIdx.get();
+		key.setRequiredSecUserId( SecUserId );
+		key.setOptionalSecDevName( SecDevName );
+		return( activeSessions.getOpenCountByDevice( key ) );
+	}
+
+	@Override
+	public ICFSecSecSession readDerivedByIdIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecSessionId )
+	{
+		final String S_ProcName = "CFSecRamSecSession.readDerivedByIdIdx() ";
+		ICFSecSecSession buff;
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( pindex != null ) {
+			buff = pindex.get( SecSessionId );
+		}
+		else {
+			buff = tableLock.read( () -> dictByPKey.get( SecSessionId ) );
+		}
+		if( buff == null ) {
+			buff = readArchived( SecSessionId );
+		}
+		return( buff );
+	}
+
+	/**
+	 *	Get a read-only view of every SecSession instance in the table.
+	 *	<P>
+	 *	The view is drawn from the persistent index when that is enabled.
+	 *	Otherwise, with the table lock enabled, it is a copy of the table taken
+	 *	under the read lock; with the lock disabled it wraps the live
+	 *	dictionary, which the table must not modify while the view is in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecSecSession > viewAll( ICFSecAuthorization Authorization ) {
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( Collections.< ICFSecSecSession >unmodifiableList( pindex.values() ) );
+		}
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( dictByPKey ) ) );
+		}
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every SecSession instance in the table.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	The action runs over the persistent index when that is enabled.
+	 *	Otherwise, with the table lock enabled, it runs over a copy of the table
+	 *	taken under the read lock, so the lock is not held while it runs; with
+	 *	the lock disabled it iterates the live dictionary in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecSecSession > action )
+	{
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( pindex != null ) {
+			pindex.forEachValue( action );
+			return;
+		}
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every SecSession instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from the persistent index or, when the
+	 *	table lock is enabled, from a copy, so it tolerates concurrent
+	 *	writers; otherwise the table must not be modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecSecSession > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the SecSession instances identified by the duplicate key SecUserIdx.
+	 *	<P>
+	 *	The view is drawn from the persistent index when that is enabled.
+	 *	Otherwise, with the table lock enabled, it is a copy of the index bucket
+	 *	taken under the read lock; with the lock disabled it wraps the live
+	 *	bucket, which the table must not modify while the view is in use.
+	 *	<P>
+	 *	While a session archive is attached, the user's archived sessions
+	 *	are merged into a copy of the view, as readDerivedBySecUserIdx() does.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSecSession > viewBySecUserIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId )
 	{
-		final String S_ProcName = "CFSecRamSecSession.lockDerived";
-		ICFSecSecSession buff;
-		if( dictByPKey.containsKey( PKey ) ) {
-			buff = dictByPKey.get( PKey );
+		CFSecBuffSecSessionBySecUserIdxKey key = probeSecUserIdx.get();
+		key.setRequiredSecUserId( SecUserId );
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		Collection< ICFSecSecSession > resident;
+		if( pindex != null ) {
+			resident = Collections.< ICFSecSecSession >unmodifiableList( pindex.getDuplicates( PIDX_SECUSERIDX, key ) );
+		}
+		else if( tableLock.isEnabled() ) {
+			resident = tableLock.read( () -> CFSecRamViews.copyOf( dictBySecUserIdx.get( key ) ) );
 		}
 		else {
-			buff = null;
+			resident = CFSecRamViews.of( dictBySecUserIdx.get( key ) );
 		}
-		return( buff );
+		if( sessionArchive == null ) {
+			return( resident );
+		}
+		return( Collections.< ICFSecSecSession >unmodifiableList( Arrays.asList(
+			withArchived( SecUserId, resident.toArray( EMPTY_REC_ARRAY ) ) ) ) );
 	}
 
-	@Override
-	public ICFSecSecSession[] readAllDerived( ICFSecAuthorization Authorization ) {
-		final String S_ProcName = "CFSecRamSecSession.readAllDerived";
-		ICFSecSecSession[] retList = new ICFSecSecSession[ dictByPKey.values().size() ];
-		Iterator< CFSecBuffSecSession > iter = dictByPKey.values().iterator();
-		int idx = 0;
-		while( iter.hasNext() ) {
-			retList[ idx++ ] = iter.next();
+	/**
+	 *	Apply an action to each SecSession instance identified by the duplicate key SecUserIdx.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	The action runs over the persistent index when that is enabled.
+	 *	Otherwise, with the table lock enabled, it runs over a copy of the index
+	 *	bucket taken under the read lock, so the lock is not held while it runs;
+	 *	with the lock disabled it iterates the live bucket in place.
+	 *	<P>
+	 *	While a session archive is attached, the action runs over the merged
+	 *	copy returned by viewBySecUserIdx() instead.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachBySecUserIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId,
+		Consumer< ? super ICFSecSecSession > action )
+	{
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( ( pindex != null ) && ( sessionArchive == null ) ) {
+			CFSecBuffSecSessionBySecUserIdxKey key = probeSecUserIdx.get();
+			key.setRequiredSecUserId( SecUserId );
+			pindex.forEachDuplicate( PIDX_SECUSERIDX, key, action );
+			return;
 		}
-		return( retList );
+		viewBySecUserIdx( Authorization,
+			SecUserId ).forEach( action );
 	}
 
-	@Override
-	public ICFSecSecSession[] readDerivedBySecUserIdx( ICFSecAuthorization Authorization,
+	/**
+	 *	Stream the SecSession instances identified by the duplicate key SecUserIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from the persistent index or, when the
+	 *	table lock is enabled, from a copy, so it tolerates concurrent
+	 *	writers; otherwise the table must not be modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSecSession > streamBySecUserIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 SecUserId )
 	{
-		final String S_ProcName = "CFSecRamSecSession.readDerivedBySecUserIdx";
-		CFSecBuffSecSessionBySecUserIdxKey key = (CFSecBuffSecSessionBySecUserIdxKey)schema.getFactorySecSession().newBySecUserIdxKey();
-
-		key.setRequiredSecUserId( SecUserId );
-		ICFSecSecSession[] recArray;
-		if( dictBySecUserIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecUserIdx
-				= dictBySecUserIdx.get( key );
-			recArray = new ICFSecSecSession[ subdictSecUserIdx.size() ];
-			Iterator< CFSecBuffSecSession > iter = subdictSecUserIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
-		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecUserIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
-			dictBySecUserIdx.put( key, subdictSecUserIdx );
-			recArray = new ICFSecSecSession[0];
-		}
-		return( recArray );
+		return( viewBySecUserIdx( Authorization,
+			SecUserId ).stream() );
 	}
 
-	@Override
-	public ICFSecSecSession[] readDerivedBySecDevIdx( ICFSecAuthorization Authorization,
+	/**
+	 *	Get a read-only view of the SecSession instances identified by the duplicate key SecDevIdx.
+	 *	<P>
+	 *	The view is drawn from the persistent index when that is enabled.
+	 *	Otherwise, with the table lock enabled, it is a copy of the index bucket
+	 *	taken under the read lock; with the lock disabled it wraps the live
+	 *	bucket, which the table must not modify while the view is in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@param	SecDevName	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSecSession > viewBySecDevIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 SecUserId,
 		String SecDevName )
 	{
-		final String S_ProcName = "CFSecRamSecSession.readDerivedBySecDevIdx";
-		CFSecBuffSecSessionBySecDevIdxKey key = (CFSecBuffSecSessionBySecDevIdxKey)schema.getFactorySecSession().newBySecDevIdxKey();
-
+		CFSecBuffSecSessionBySecDevIdxKey key = probeSecDevIdx.get();
 		key.setRequiredSecUserId( SecUserId );
 		key.setOptionalSecDevName( SecDevName );
-		ICFSecSecSession[] recArray;
-		if( dictBySecDevIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecDevIdx
-				= dictBySecDevIdx.get( key );
-			recArray = new ICFSecSecSession[ subdictSecDevIdx.size() ];
-			Iterator< CFSecBuffSecSession > iter = subdictSecDevIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( Collections.< ICFSecSecSession >unmodifiableList( pindex.getDuplicates( PIDX_SECDEVIDX, key ) ) );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecDevIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
-			dictBySecDevIdx.put( key, subdictSecDevIdx );
-			recArray = new ICFSecSecSession[0];
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( dictBySecDevIdx.get( key ) ) ) );
 		}
-		return( recArray );
+		return( CFSecRamViews.of( dictBySecDevIdx.get( key ) ) );
 	}
 
-	@Override
-	public ICFSecSecSession readDerivedByStartIdx( ICFSecAuthorization Authorization,
+	/**
+	 *	Apply an action to each SecSession instance identified by the duplicate key SecDevIdx.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	The action runs over the persistent index when that is enabled.
+	 *	Otherwise, with the table lock enabled, it runs over a copy of the index
+	 *	bucket taken under the read lock, so the lock is not held while it runs;
+	 *	with the lock disabled it iterates the live bucket in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@param	SecDevName	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachBySecDevIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 SecUserId,
-		LocalDateTime Start )
+		String SecDevName,
+		Consumer< ? super ICFSecSecSession > action )
 	{
-		final String S_ProcName = "CFSecRamSecSession.readDerivedByStartIdx";
-		CFSecBuffSecSessionByStartIdxKey key = (CFSecBuffSecSessionByStartIdxKey)schema.getFactorySecSession().newByStartIdxKey();
-
-		key.setRequiredSecUserId( SecUserId );
-		key.setRequiredStart( Start );
-		ICFSecSecSession buff;
-		if( dictByStartIdx.containsKey( key ) ) {
-			buff = dictByStartIdx.get( key );
-		}
-		else {
-			buff = null;
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( pindex != null ) {
+			CFSecBuffSecSessionBySecDevIdxKey key = probeSecDevIdx.get();
+			key.setRequiredSecUserId( SecUserId );
+			key.setOptionalSecDevName( SecDevName );
+			pindex.forEachDuplicate( PIDX_SECDEVIDX, key, action );
+			return;
 		}
-		return( buff );
+		viewBySecDevIdx( Authorization,
+			SecUserId,
+			SecDevName ).forEach( action );
 	}
 
-	@Override
-	public ICFSecSecSession[] readDerivedByFinishIdx( ICFSecAuthorization Authorization,
+	/**
+	 *	Stream the SecSession instances identified by the duplicate key SecDevIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from the persistent index or, when the
+	 *	table lock is enabled, from a copy, so it tolerates concurrent
+	 *	writers; otherwise the table must not be modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@param	SecDevName	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSecSession > streamBySecDevIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 SecUserId,
-		LocalDateTime Finish )
+		String SecDevName )
 	{
-		final String S_ProcName = "CFSecRamSecSession.readDerivedByFinishIdx";
-		CFSecBuffSecSessionByFinishIdxKey key = (CFSecBuffSecSessionByFinishIdxKey)schema.getFactorySecSession().newByFinishIdxKey();
+		return( viewBySecDevIdx( Authorization,
+			SecUserId,
+			SecDevName ).stream() );
+	}
 
+	/**
+	 *	Get a read-only view of the SecSession instances identified by the duplicate key FinishIdx.
+	 *	<P>
+	 *	The view is drawn from the persistent index when that is enabled and
+	 *	indexes the key.  Otherwise, with the table lock enabled, it is a copy
+	 *	of the index bucket taken under the read lock; with the lock disabled it
+	 *	wraps the live bucket, which the table must not modify while the view is
+	 *	in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@param	Finish	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSecSession > viewByFinishIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId,
+		LocalDateTime Finish )
+	{
+		CFSecBuffSecSessionByFinishIdxKey key = probeFinishIdx.get();
 		key.setRequiredSecUserId( SecUserId );
 		key.setOptionalFinish( Finish );
-		ICFSecSecSession[] recArray;
-		if( dictByFinishIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffSecSession > subdictFinishIdx
-				= dictByFinishIdx.get( key );
-			recArray = new ICFSecSecSession[ subdictFinishIdx.size() ];
-			Iterator< CFSecBuffSecSession > iter = subdictFinishIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( ( pindex != null ) && isIndexedByFinishIdx( key ) ) {
+			return( Collections.< ICFSecSecSession >unmodifiableList( pindex.getDuplicates( PIDX_FINISHIDX, key ) ) );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffSecSession > subdictFinishIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
-			dictByFinishIdx.put( key, subdictFinishIdx );
-			recArray = new ICFSecSecSession[0];
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( bucketByFinishIdx( key ) ) ) );
 		}
-		return( recArray );
+		return( CFSecRamViews.of( bucketByFinishIdx( key ) ) );
 	}
 
-	@Override
-	public ICFSecSecSession[] readDerivedBySecProxyIdx( ICFSecAuthorization Authorization,
-		CFLibDbKeyHash256 SecProxyId )
+	/**
+	 *	Apply an action to each SecSession instance identified by the duplicate key FinishIdx.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	The action runs over the persistent index when that is enabled and
+	 *	indexes the key.  Otherwise, with the table lock enabled, it runs over a
+	 *	copy of the index bucket taken under the read lock, so the lock is not
+	 *	held while it runs; with the lock disabled it iterates the live bucket
+	 *	in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@param	Finish	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByFinishIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId,
+		LocalDateTime Finish,
+		Consumer< ? super ICFSecSecSession > action )
 	{
-		final String S_ProcName = "CFSecRamSecSession.readDerivedBySecProxyIdx";
-		CFSecBuffSecSessionBySecProxyIdxKey key = (CFSecBuffSecSessionBySecProxyIdxKey)schema.getFactorySecSession().newBySecProxyIdxKey();
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( pindex != null ) {
+			CFSecBuffSecSessionByFinishIdxKey key = probeFinishIdx.get();
+			key.setRequiredSecUserId( SecUserId );
+			key.setOptionalFinish( Finish );
+			if( isIndexedByFinishIdx( key ) ) {
+				pindex.forEachDuplicate( PIDX_FINISHIDX, key, action );
+				return;
+			}
+		}
+		viewByFinishIdx( Authorization,
+			SecUserId,
+			Finish ).forEach( action );
+	}
+
+	/**
+	 *	Stream the SecSession instances identified by the duplicate key FinishIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from the persistent index or, when the
+	 *	table lock is enabled, from a copy, so it tolerates concurrent
+	 *	writers; otherwise the table must not be modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@param	Finish	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSecSession > streamByFinishIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId,
+		LocalDateTime Finish )
+	{
+		return( viewByFinishIdx( Authorization,
+			SecUserId,
+			Finish ).stream() );
+	}
 
+	/**
+	 *	Get a read-only view of the SecSession instances identified by the duplicate key SecProxyIdx.
+	 *	<P>
+	 *	The view is drawn from the persistent index when that is enabled and
+	 *	indexes the key.  Otherwise, with the table lock enabled, it is a copy
+	 *	of the index bucket taken under the read lock; with the lock disabled it
+	 *	wraps the live bucket, which the table must not modify while the view is
+	 *	in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecProxyId	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSecSession > viewBySecProxyIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecProxyId )
+	{
+		CFSecBuffSecSessionBySecProxyIdxKey key = probeSecProxyIdx.get();
 		key.setOptionalSecProxyId( SecProxyId );
-		ICFSecSecSession[] recArray;
-		if( dictBySecProxyIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecProxyIdx
-				= dictBySecProxyIdx.get( key );
-			recArray = new ICFSecSecSession[ subdictSecProxyIdx.size() ];
-			Iterator< CFSecBuffSecSession > iter = subdictSecProxyIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( ( pindex != null ) && isIndexedBySecProxyIdx( key ) ) {
+			return( Collections.< ICFSecSecSession >unmodifiableList( pindex.getDuplicates( PIDX_SECPROXYIDX, key ) ) );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecProxyIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
-			dictBySecProxyIdx.put( key, subdictSecProxyIdx );
-			recArray = new ICFSecSecSession[0];
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( bucketBySecProxyIdx( key ) ) ) );
 		}
-		return( recArray );
+		return( CFSecRamViews.of( bucketBySecProxyIdx( key ) ) );
 	}
 
-	@Override
-	public ICFSecSecSession readDerivedByIdIdx( ICFSecAuthorization Authorization,
-		CFLibDbKeyHash256 SecSessionId )
+	/**
+	 *	Apply an action to each SecSession instance identified by the duplicate key SecProxyIdx.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	The action runs over the persistent index when that is enabled and
+	 *	indexes the key.  Otherwise, with the table lock enabled, it runs over a
+	 *	copy of the index bucket taken under the read lock, so the lock is not
+	 *	held while it runs; with the lock disabled it iterates the live bucket
+	 *	in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecProxyId	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachBySecProxyIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecProxyId,
+		Consumer< ? super ICFSecSecSession > action )
 	{
-		final String S_ProcName = "CFSecRamSecSession.readDerivedByIdIdx() ";
-		ICFSecSecSession buff;
-		if( dictByPKey.containsKey( SecSessionId ) ) {
-			buff = dictByPKey.get( SecSessionId );
-		}
-		else {
-			buff = null;
+		CFSecRamPersistentIndex< CFSecBuffSecSession > pindex = persistentIndex;
+		if( pindex != null ) {
+			CFSecBuffSecSessionBySecProxyIdxKey key = probeSecProxyIdx.get();
+			key.setOptionalSecProxyId( SecProxyId );
+			if( isIndexedBySecProxyIdx( key ) ) {
+				pindex.forEachDuplicate( PIDX_SECPROXYIDX, key, action );
+				return;
+			}
 		}
-		return( buff );
+		viewBySecProxyIdx( Authorization,
+			SecProxyId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the SecSession instances identified by the duplicate key SecProxyIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from the persistent index or, when the
+	 *	table lock is enabled, from a copy, so it tolerates concurrent
+	 *	writers; otherwise the table must not be modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecProxyId	The SecSession key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSecSession > streamBySecProxyIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecProxyId )
+	{
+		return( viewBySecProxyIdx( Authorization,
+			SecProxyId ).stream() );
 	}
 
 	@Override
@@ -427,20 +1897,43 @@ public class CFSecRamSecSessionTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecSecSession.CLASS_CODE.
+	 */
+	protected ICFSecSecSession[] filterRecs( ICFSecSecSession[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecSecSession buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecSession.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecSecSession[] recArray = new ICFSecSecSession[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecSecSession buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecSession.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecSecSession[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamSecSession.readAllRec";
-		ICFSecSecSession buff;
-		ArrayList<ICFSecSecSession> filteredList = new ArrayList<ICFSecSecSession>();
 		ICFSecSecSession[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecSession.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecSecSession[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	/**
@@ -448,6 +1941,8 @@ public class CFSecRamSecSessionTable
 	 *
 	 *	@param	Authorization	The session authorization information.
 	 *
+	 *	@param	priorSecSessionId	The SecSessionId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return All the specific SecSession instances in the database accessible for the Authorization.
 	 */
 	@Override
@@ -455,7 +1950,12 @@ public class CFSecRamSecSessionTable
 		CFLibDbKeyHash256 priorSecSessionId )
 	{
 		final String S_ProcName = "pageAllRec";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		ICFSecSecSession[] recArray = tableLock.read( () -> {
+			List< CFSecBuffSecSession > page = CFSecRamPager.page( dictByPKey, priorSecSessionId, pageSize );
+			return( page.toArray( new ICFSecSecSession[ page.size() ] ) );
+		} );
+		return( recArray );
 	}
 
 	@Override
@@ -478,17 +1978,12 @@ public class CFSecRamSecSessionTable
 		CFLibDbKeyHash256 SecUserId )
 	{
 		final String S_ProcName = "CFSecRamSecSession.readRecBySecUserIdx() ";
-		ICFSecSecSession buff;
-		ArrayList<ICFSecSecSession> filteredList = new ArrayList<ICFSecSecSession>();
 		ICFSecSecSession[] buffList = readDerivedBySecUserIdx( Authorization,
 			SecUserId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecSession.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSecSession)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSecSession[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -497,18 +1992,13 @@ public class CFSecRamSecSessionTable
 		String SecDevName )
 	{
 		final String S_ProcName = "CFSecRamSecSession.readRecBySecDevIdx() ";
-		ICFSecSecSession buff;
-		ArrayList<ICFSecSecSession> filteredList = new ArrayList<ICFSecSecSession>();
 		ICFSecSecSession[] buffList = readDerivedBySecDevIdx( Authorization,
 			SecUserId,
 			SecDevName );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecSession.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSecSession)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSecSession[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -534,18 +2024,13 @@ public class CFSecRamSecSessionTable
 		LocalDateTime Finish )
 	{
 		final String S_ProcName = "CFSecRamSecSession.readRecByFinishIdx() ";
-		ICFSecSecSession buff;
-		ArrayList<ICFSecSecSession> filteredList = new ArrayList<ICFSecSecSession>();
 		ICFSecSecSession[] buffList = readDerivedByFinishIdx( Authorization,
 			SecUserId,
 			Finish );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecSession.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSecSession)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSecSession[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -553,26 +2038,26 @@ public class CFSecRamSecSessionTable
 		CFLibDbKeyHash256 SecProxyId )
 	{
 		final String S_ProcName = "CFSecRamSecSession.readRecBySecProxyIdx() ";
-		ICFSecSecSession buff;
-		ArrayList<ICFSecSecSession> filteredList = new ArrayList<ICFSecSecSession>();
-		ICFSecSecSession[] buffList = readDerivedBySecProxyIdx( Authorization,
-			SecProxyId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecSession.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSecSession)buff );
-			}
+		ICFSecSecSession[] buffList = readDerivedBySecProxyIdx( Authorization,
+			SecProxyId );
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSecSession[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	/**
 	 *	Read a page array of the specific SecSession buffer instances identified by the duplicate key SecUserIdx.
+	 *	<P>
+	 *	While a session archive is attached, the user's archived sessions
+	 *	are paged in SecSessionId order along with the resident ones.
 	 *
 	 *	@param	Authorization	The session authorization information.
 	 *
 	 *	@param	SecUserId	The SecSession key attribute of the instance generating the id.
 	 *
+	 *	@param	priorSecSessionId	The SecSessionId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -583,7 +2068,14 @@ public class CFSecRamSecSessionTable
 		CFLibDbKeyHash256 priorSecSessionId )
 	{
 		final String S_ProcName = "pageRecBySecUserIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffSecSessionBySecUserIdxKey key = probeSecUserIdx.get();
+		key.setRequiredSecUserId( SecUserId );
+		ICFSecSecSession[] recArray = tableLock.read( () -> {
+			List< CFSecBuffSecSession > page = CFSecRamPager.page( dictBySecUserIdx.get( key ), priorSecSessionId, pageSize );
+			return( page.toArray( new ICFSecSecSession[ page.size() ] ) );
+		} );
+		return( pageWithArchived( SecUserId, priorSecSessionId, pageSize, recArray ) );
 	}
 
 	/**
@@ -595,6 +2087,8 @@ public class CFSecRamSecSessionTable
 	 *
 	 *	@param	SecDevName	The SecSession key attribute of the instance generating the id.
 	 *
+	 *	@param	priorSecSessionId	The SecSessionId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -606,7 +2100,15 @@ public class CFSecRamSecSessionTable
 		CFLibDbKeyHash256 priorSecSessionId )
 	{
 		final String S_ProcName = "pageRecBySecDevIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffSecSessionBySecDevIdxKey key = probeSecDevIdx.get();
+		key.setRequiredSecUserId( SecUserId );
+		key.setOptionalSecDevName( SecDevName );
+		ICFSecSecSession[] recArray = tableLock.read( () -> {
+			List< CFSecBuffSecSession > page = CFSecRamPager.page( dictBySecDevIdx.get( key ), priorSecSessionId, pageSize );
+			return( page.toArray( new ICFSecSecSession[ page.size() ] ) );
+		} );
+		return( recArray );
 	}
 
 	/**
@@ -618,6 +2120,8 @@ public class CFSecRamSecSessionTable
 	 *
 	 *	@param	Finish	The SecSession key attribute of the instance generating the id.
 	 *
+	 *	@param	priorSecSessionId	The SecSessionId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -629,7 +2133,15 @@ public class CFSecRamSecSessionTable
 		CFLibDbKeyHash256 priorSecSessionId )
 	{
 		final String S_ProcName = "pageRecByFinishIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffSecSessionByFinishIdxKey key = probeFinishIdx.get();
+		key.setRequiredSecUserId( SecUserId );
+		key.setOptionalFinish( Finish );
+		ICFSecSecSession[] recArray = tableLock.read( () -> {
+			List< CFSecBuffSecSession > page = CFSecRamPager.page( bucketByFinishIdx( key ), priorSecSessionId, pageSize );
+			return( page.toArray( new ICFSecSecSession[ page.size() ] ) );
+		} );
+		return( recArray );
 	}
 
 	/**
@@ -639,6 +2151,8 @@ public class CFSecRamSecSessionTable
 	 *
 	 *	@param	SecProxyId	The SecSession key attribute of the instance generating the id.
 	 *
+	 *	@param	priorSecSessionId	The SecSessionId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -649,7 +2163,14 @@ public class CFSecRamSecSessionTable
 		CFLibDbKeyHash256 priorSecSessionId )
 	{
 		final String S_ProcName = "pageRecBySecProxyIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffSecSessionBySecProxyIdxKey key = probeSecProxyIdx.get();
+		key.setOptionalSecProxyId( SecProxyId );
+		ICFSecSecSession[] recArray = tableLock.read( () -> {
+			List< CFSecBuffSecSession > page = CFSecRamPager.page( bucketBySecProxyIdx( key ), priorSecSessionId, pageSize );
+			return( page.toArray( new ICFSecSecSession[ page.size() ] ) );
+		} );
+		return( recArray );
 	}
 
 	public ICFSecSecSession updateSecSession( ICFSecAuthorization Authorization,
@@ -657,155 +2178,185 @@ public class CFSecRamSecSessionTable
 	{
 		CFSecBuffSecSession Buff = (CFSecBuffSecSession)ensureRec(iBuff);
 		CFLibDbKeyHash256 pkey = Buff.getPKey();
-		CFSecBuffSecSession existing = dictByPKey.get( pkey );
-		if( existing == null ) {
-			throw new CFLibStaleCacheDetectedException( getClass(),
-				"updateSecSession",
-				"Existing record not found",
-				"Existing record not found",
-				"SecSession",
-				"SecSession",
-				pkey );
-		}
-		if( existing.getRequiredRevision() != Buff.getRequiredRevision() ) {
-			throw new CFLibCollisionDetectedException( getClass(),
-				"updateSecSession",
-				pkey );
-		}
-		Buff.setRequiredRevision( Buff.getRequiredRevision() + 1 );
-		CFSecBuffSecSessionBySecUserIdxKey existingKeySecUserIdx = (CFSecBuffSecSessionBySecUserIdxKey)schema.getFactorySecSession().newBySecUserIdxKey();
-		existingKeySecUserIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecBuffSecSession existing = dictByPKey.get( pkey );
+			if( existing == null ) {
+				throw new CFLibStaleCacheDetectedException( getClass(),
+					"updateSecSession",
+					"Existing record not found",
+					"Existing record not found",
+					"SecSession",
+					"SecSession",
+					pkey );
+			}
+			if( existing.getRequiredRevision() != Buff.getRequiredRevision() ) {
+				throw new CFLibCollisionDetectedException( getClass(),
+					"updateSecSession",
+					pkey );
+			}
+			Buff.setRequiredRevision( Buff.getRequiredRevision() + 1 );
+			CFSecBuffSecSessionBySecUserIdxKey existingKeySecUserIdx = (CFSecBuffSecSessionBySecUserIdxKey)schema.getFactorySecSession().newBySecUserIdxKey();
+			existingKeySecUserIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
 
-		CFSecBuffSecSessionBySecUserIdxKey newKeySecUserIdx = (CFSecBuffSecSessionBySecUserIdxKey)schema.getFactorySecSession().newBySecUserIdxKey();
-		newKeySecUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+			CFSecBuffSecSessionBySecUserIdxKey newKeySecUserIdx = (CFSecBuffSecSessionBySecUserIdxKey)schema.getFactorySecSession().newBySecUserIdxKey();
+			newKeySecUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
 
-		CFSecBuffSecSessionBySecDevIdxKey existingKeySecDevIdx = (CFSecBuffSecSessionBySecDevIdxKey)schema.getFactorySecSession().newBySecDevIdxKey();
-		existingKeySecDevIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
-		existingKeySecDevIdx.setOptionalSecDevName( existing.getOptionalSecDevName() );
+			CFSecBuffSecSessionBySecDevIdxKey existingKeySecDevIdx = (CFSecBuffSecSessionBySecDevIdxKey)schema.getFactorySecSession().newBySecDevIdxKey();
+			existingKeySecDevIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
+			existingKeySecDevIdx.setOptionalSecDevName( existing.getOptionalSecDevName() );
 
-		CFSecBuffSecSessionBySecDevIdxKey newKeySecDevIdx = (CFSecBuffSecSessionBySecDevIdxKey)schema.getFactorySecSession().newBySecDevIdxKey();
-		newKeySecDevIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
-		newKeySecDevIdx.setOptionalSecDevName( Buff.getOptionalSecDevName() );
+			CFSecBuffSecSessionBySecDevIdxKey newKeySecDevIdx = (CFSecBuffSecSessionBySecDevIdxKey)schema.getFactorySecSession().newBySecDevIdxKey();
+			newKeySecDevIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+			newKeySecDevIdx.setOptionalSecDevName( Buff.getOptionalSecDevName() );
 
-		CFSecBuffSecSessionByStartIdxKey existingKeyStartIdx = (CFSecBuffSecSessionByStartIdxKey)schema.getFactorySecSession().newByStartIdxKey();
-		existingKeyStartIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
-		existingKeyStartIdx.setRequiredStart( existing.getRequiredStart() );
+			CFSecBuffSecSessionByStartIdxKey existingKeyStartIdx = (CFSecBuffSecSessionByStartIdxKey)schema.getFactorySecSession().newByStartIdxKey();
+			existingKeyStartIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
+			existingKeyStartIdx.setRequiredStart( existing.getRequiredStart() );
 
-		CFSecBuffSecSessionByStartIdxKey newKeyStartIdx = (CFSecBuffSecSessionByStartIdxKey)schema.getFactorySecSession().newByStartIdxKey();
-		newKeyStartIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
-		newKeyStartIdx.setRequiredStart( Buff.getRequiredStart() );
+			CFSecBuffSecSessionByStartIdxKey newKeyStartIdx = (CFSecBuffSecSessionByStartIdxKey)schema.getFactorySecSession().newByStartIdxKey();
+			newKeyStartIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+			newKeyStartIdx.setRequiredStart( Buff.getRequiredStart() );
 
-		CFSecBuffSecSessionByFinishIdxKey existingKeyFinishIdx = (CFSecBuffSecSessionByFinishIdxKey)schema.getFactorySecSession().newByFinishIdxKey();
-		existingKeyFinishIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
-		existingKeyFinishIdx.setOptionalFinish( existing.getOptionalFinish() );
+			CFSecBuffSecSessionByFinishIdxKey existingKeyFinishIdx = (CFSecBuffSecSessionByFinishIdxKey)schema.getFactorySecSession().newByFinishIdxKey();
+			existingKeyFinishIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
+			existingKeyFinishIdx.setOptionalFinish( existing.getOptionalFinish() );
 
-		CFSecBuffSecSessionByFinishIdxKey newKeyFinishIdx = (CFSecBuffSecSessionByFinishIdxKey)schema.getFactorySecSession().newByFinishIdxKey();
-		newKeyFinishIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
-		newKeyFinishIdx.setOptionalFinish( Buff.getOptionalFinish() );
+			CFSecBuffSecSessionByFinishIdxKey newKeyFinishIdx = (CFSecBuffSecSessionByFinishIdxKey)schema.getFactorySecSession().newByFinishIdxKey();
+			newKeyFinishIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+			newKeyFinishIdx.setOptionalFinish( Buff.getOptionalFinish() );
 
-		CFSecBuffSecSessionBySecProxyIdxKey existingKeySecProxyIdx = (CFSecBuffSecSessionBySecProxyIdxKey)schema.getFactorySecSession().newBySecProxyIdxKey();
-		existingKeySecProxyIdx.setOptionalSecProxyId( existing.getOptionalSecProxyId() );
+			CFSecBuffSecSessionBySecProxyIdxKey existingKeySecProxyIdx = (CFSecBuffSecSessionBySecProxyIdxKey)schema.getFactorySecSession().newBySecProxyIdxKey();
+			existingKeySecProxyIdx.setOptionalSecProxyId( existing.getOptionalSecProxyId() );
 
-		CFSecBuffSecSessionBySecProxyIdxKey newKeySecProxyIdx = (CFSecBuffSecSessionBySecProxyIdxKey)schema.getFactorySecSession().newBySecProxyIdxKey();
-		newKeySecProxyIdx.setOptionalSecProxyId( Buff.getOptionalSecProxyId() );
+			CFSecBuffSecSessionBySecProxyIdxKey newKeySecProxyIdx = (CFSecBuffSecSessionBySecProxyIdxKey)schema.getFactorySecSession().newBySecProxyIdxKey();
+			newKeySecProxyIdx.setOptionalSecProxyId( Buff.getOptionalSecProxyId() );
 
-		// Check unique indexes
+			// Check unique indexes
 
-		if( ! existingKeyStartIdx.equals( newKeyStartIdx ) ) {
-			if( dictByStartIdx.containsKey( newKeyStartIdx ) ) {
-				throw new CFLibUniqueIndexViolationException( getClass(),
-					"updateSecSession",
-					"SessionStartIdx",
-					"SessionStartIdx",
-					newKeyStartIdx );
+			if( ! existingKeyStartIdx.equals( newKeyStartIdx ) ) {
+				if( dictByStartIdx.containsKey( newKeyStartIdx ) ) {
+					throw new CFLibUniqueIndexViolationException( getClass(),
+						"updateSecSession",
+						"SessionStartIdx",
+						"SessionStartIdx",
+						newKeyStartIdx );
+				}
 			}
-		}
-
-		// Validate foreign keys
 
-		// Update is valid
+			// Validate foreign keys
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecSession > subdict;
+			// Update is valid
 
-		dictByPKey.remove( pkey );
-		dictByPKey.put( pkey, Buff );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdict;
 
-		subdict = dictBySecUserIdx.get( existingKeySecUserIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
-		}
-		if( dictBySecUserIdx.containsKey( newKeySecUserIdx ) ) {
-			subdict = dictBySecUserIdx.get( newKeySecUserIdx );
-		}
-		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
-			dictBySecUserIdx.put( newKeySecUserIdx, subdict );
-		}
-		subdict.put( pkey, Buff );
+			dictByPKey.put( pkey, Buff );
 
-		subdict = dictBySecDevIdx.get( existingKeySecDevIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
-		}
-		if( dictBySecDevIdx.containsKey( newKeySecDevIdx ) ) {
-			subdict = dictBySecDevIdx.get( newKeySecDevIdx );
-		}
-		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
-			dictBySecDevIdx.put( newKeySecDevIdx, subdict );
-		}
-		subdict.put( pkey, Buff );
+			if( ! existingKeySecUserIdx.equals( newKeySecUserIdx ) ) {
+				subdict = dictBySecUserIdx.get( existingKeySecUserIdx );
+				if( subdict != null ) {
+					subdict.remove( pkey );
+					if( subdict.isEmpty() ) {
+						dictBySecUserIdx.remove( existingKeySecUserIdx );
+					}
+				}
+			}
+			if( dictBySecUserIdx.containsKey( newKeySecUserIdx ) ) {
+				subdict = dictBySecUserIdx.get( newKeySecUserIdx );
+			}
+			else {
+				subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+				dictBySecUserIdx.put( newKeySecUserIdx, subdict );
+			}
+			subdict.put( pkey, Buff );
+
+			if( ! existingKeySecDevIdx.equals( newKeySecDevIdx ) ) {
+				subdict = dictBySecDevIdx.get( existingKeySecDevIdx );
+				if( subdict != null ) {
+					subdict.remove( pkey );
+					if( subdict.isEmpty() ) {
+						dictBySecDevIdx.remove( existingKeySecDevIdx );
+					}
+				}
+			}
+			if( dictBySecDevIdx.containsKey( newKeySecDevIdx ) ) {
+				subdict = dictBySecDevIdx.get( newKeySecDevIdx );
+			}
+			else {
+				subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+				dictBySecDevIdx.put( newKeySecDevIdx, subdict );
+			}
+			subdict.put( pkey, Buff );
 
-		dictByStartIdx.remove( existingKeyStartIdx );
-		dictByStartIdx.put( newKeyStartIdx, Buff );
+			if( ! existingKeyStartIdx.equals( newKeyStartIdx ) ) {
+				dictByStartIdx.remove( existingKeyStartIdx );
+			}
+			dictByStartIdx.put( newKeyStartIdx, Buff );
+
+			if( ! existingKeyFinishIdx.equals( newKeyFinishIdx ) ) {
+				subdict = dictByFinishIdx.get( existingKeyFinishIdx );
+				if( subdict != null ) {
+					subdict.remove( pkey );
+					if( subdict.isEmpty() ) {
+						dictByFinishIdx.remove( existingKeyFinishIdx );
+					}
+				}
+			}
+			if( isIndexedByFinishIdx( newKeyFinishIdx ) ) {
+				if( dictByFinishIdx.containsKey( newKeyFinishIdx ) ) {
+					subdict = dictByFinishIdx.get( newKeyFinishIdx );
+				}
+				else {
+					subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+					dictByFinishIdx.put( newKeyFinishIdx, subdict );
+				}
+				subdict.put( pkey, Buff );
+			}
 
-		subdict = dictByFinishIdx.get( existingKeyFinishIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
-		}
-		if( dictByFinishIdx.containsKey( newKeyFinishIdx ) ) {
-			subdict = dictByFinishIdx.get( newKeyFinishIdx );
-		}
-		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
-			dictByFinishIdx.put( newKeyFinishIdx, subdict );
-		}
-		subdict.put( pkey, Buff );
+			if( ! existingKeySecProxyIdx.equals( newKeySecProxyIdx ) ) {
+				subdict = dictBySecProxyIdx.get( existingKeySecProxyIdx );
+				if( subdict != null ) {
+					subdict.remove( pkey );
+					if( subdict.isEmpty() ) {
+						dictBySecProxyIdx.remove( existingKeySecProxyIdx );
+					}
+				}
+			}
+			if( dictBySecProxyIdx.containsKey( newKeySecProxyIdx ) ) {
+				subdict = dictBySecProxyIdx.get( newKeySecProxyIdx );
+			}
+			else {
+				subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
+				dictBySecProxyIdx.put( newKeySecProxyIdx, subdict );
+			}
+			subdict.put( pkey, Buff );
 
-		subdict = dictBySecProxyIdx.get( existingKeySecProxyIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+			CFSecRamTransaction.record( schema, existing, Buff );
+			applyPersistentIndex( existing, Buff );
+			applyTimeIndexes( existing, Buff );
+			applyExpiry( existing, Buff );
+			applyActiveSessions( existing, Buff );
+			applyFinishPartitions( existing, Buff );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
 		}
-		if( dictBySecProxyIdx.containsKey( newKeySecProxyIdx ) ) {
-			subdict = dictBySecProxyIdx.get( newKeySecProxyIdx );
-		}
-		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffSecSession >();
-			dictBySecProxyIdx.put( newKeySecProxyIdx, subdict );
+		finally {
+			tableLock.unlockWrite( stamp );
 		}
-		subdict.put( pkey, Buff );
-
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
-	@Override
-	public void deleteSecSession( ICFSecAuthorization Authorization,
-		ICFSecSecSession iBuff )
-	{
-		final String S_ProcName = "CFSecRamSecSessionTable.deleteSecSession() ";
-		CFSecBuffSecSession Buff = (CFSecBuffSecSession)ensureRec(iBuff);
-		int classCode;
-		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
-		CFSecBuffSecSession existing = dictByPKey.get( pkey );
-		if( existing == null ) {
-			return;
-		}
-		if( existing.getRequiredRevision() != Buff.getRequiredRevision() )
-		{
-			throw new CFLibCollisionDetectedException( getClass(),
-				"deleteSecSession",
-				pkey );
-		}
+	/**
+	 *	Remove a stored record from the primary key dictionary and every
+	 *	index.  The caller holds the write lock and has validated the delete.
+	 *
+	 *	@param	op	OP_DELETE, or OP_ARCHIVE for a record that was moved to the session archive.
+	 *
+	 *	@return	The log sequence number of the journalled removal.
+	 */
+	private long dropRec( CFSecBuffSecSession existing, byte op ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(existing.getPKey());
 		CFSecBuffSecSessionBySecUserIdxKey keySecUserIdx = (CFSecBuffSecSessionBySecUserIdxKey)schema.getFactorySecSession().newBySecUserIdxKey();
 		keySecUserIdx.setRequiredSecUserId( existing.getRequiredSecUserId() );
 
@@ -824,51 +2375,136 @@ public class CFSecRamSecSessionTable
 		CFSecBuffSecSessionBySecProxyIdxKey keySecProxyIdx = (CFSecBuffSecSessionBySecProxyIdxKey)schema.getFactorySecSession().newBySecProxyIdxKey();
 		keySecProxyIdx.setOptionalSecProxyId( existing.getOptionalSecProxyId() );
 
-		// Validate reverse foreign keys
-
-		// Delete is valid
-		Map< CFLibDbKeyHash256, CFSecBuffSecSession > subdict;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdict;
 
 		dictByPKey.remove( pkey );
 
 		subdict = dictBySecUserIdx.get( keySecUserIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictBySecUserIdx.remove( keySecUserIdx );
+			}
+		}
 
 		subdict = dictBySecDevIdx.get( keySecDevIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictBySecDevIdx.remove( keySecDevIdx );
+			}
+		}
 
 		dictByStartIdx.remove( keyStartIdx );
 
 		subdict = dictByFinishIdx.get( keyFinishIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByFinishIdx.remove( keyFinishIdx );
+			}
+		}
 
 		subdict = dictBySecProxyIdx.get( keySecProxyIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictBySecProxyIdx.remove( keySecProxyIdx );
+			}
+		}
+
+		CFSecRamTransaction.record( schema, existing, null );
+		applyPersistentIndex( existing, null );
+		applyTimeIndexes( existing, null );
+		applyExpiry( existing, null );
+		applyActiveSessions( existing, null );
+		applyFinishPartitions( existing, null );
+		return( CFSecRamWriteAheadLog.journal( schema, op, existing ) );
+	}
+
+	@Override
+	public void deleteSecSession( ICFSecAuthorization Authorization,
+		ICFSecSecSession iBuff )
+	{
+		final String S_ProcName = "CFSecRamSecSessionTable.deleteSecSession() ";
+		CFSecBuffSecSession Buff = (CFSecBuffSecSession)ensureRec(iBuff);
+		int classCode;
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecBuffSecSession existing = dictByPKey.get( pkey );
+			if( existing == null ) {
+				lsn = -1L;
+			}
+			else {
+				if( existing.getRequiredRevision() != Buff.getRequiredRevision() )
+				{
+					throw new CFLibCollisionDetectedException( getClass(),
+						"deleteSecSession",
+						pkey );
+				}
+				lsn = dropRec( existing, CFSecRamWriteAheadLog.OP_DELETE );
+			}
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		if( lsn < 0L ) {
+			lsn = dropArchived( Buff );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
 
+	/**
+	 *	Delete a session that only exists in the attached archive.  The
+	 *	revision is checked against the archived copy, and the delete is
+	 *	recorded and journalled like a table delete, so that a rollback
+	 *	restores the session to the table.
+	 *
+	 *	@return	The log sequence number of the journalled delete, or 0 if
+	 *		the session is not archived.
+	 */
+	private long dropArchived( CFSecBuffSecSession Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffSecSession archived = readArchived( pkey );
+		if( archived == null ) {
+			return( 0L );
+		}
+		if( archived.getRequiredRevision() != Buff.getRequiredRevision() )
+		{
+			throw new CFLibCollisionDetectedException( getClass(),
+				"deleteSecSession",
+				pkey );
+		}
+		if( ! removeArchived( pkey ) ) {
+			return( 0L );
+		}
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecRamTransaction.record( schema, archived, null );
+			return( CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, archived ) );
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
 	}
 	@Override
 	public void deleteSecSessionByIdIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffSecSession cur;
 		LinkedList<CFSecBuffSecSession> matchSet = new LinkedList<CFSecBuffSecSession>();
-		Iterator<CFSecBuffSecSession> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = tableLock.read( () -> dictByPKey.get( argKey ) );
+		if( cur == null ) {
+			cur = readArchived( argKey );
+		}
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffSecSession> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecSession)(schema.getTableSecSession().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecSessionId() ));
 			deleteSecSession( Authorization, cur );
 		}
 	}
@@ -887,24 +2523,26 @@ public class CFSecRamSecSessionTable
 		ICFSecSecSessionBySecUserIdxKey argKey )
 	{
 		CFSecBuffSecSession cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		final CFSecBuffSecSessionBySecUserIdxKey key;
+		if( argKey instanceof CFSecBuffSecSessionBySecUserIdxKey ) {
+			key = (CFSecBuffSecSessionBySecUserIdxKey)argKey;
 		}
-		LinkedList<CFSecBuffSecSession> matchSet = new LinkedList<CFSecBuffSecSession>();
-		Iterator<CFSecBuffSecSession> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
+		else {
+			key = (CFSecBuffSecSessionBySecUserIdxKey)schema.getFactorySecSession().newBySecUserIdxKey();
+			key.setRequiredSecUserId( argKey.getRequiredSecUserId() );
+		}
+		LinkedList<CFSecBuffSecSession> matchSet = tableLock.read( () -> {
+			LinkedList<CFSecBuffSecSession> matches = new LinkedList<CFSecBuffSecSession>();
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecUserIdx = dictBySecUserIdx.get( key );
+			if( subdictSecUserIdx != null ) {
+				matches.addAll( subdictSecUserIdx.values() );
 			}
-		}
+			return( matches );
+		} );
+		addArchived( matchSet, key.getRequiredSecUserId(), null, false );
 		Iterator<CFSecBuffSecSession> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecSession)(schema.getTableSecSession().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecSessionId() ));
 			deleteSecSession( Authorization, cur );
 		}
 	}
@@ -925,27 +2563,27 @@ public class CFSecRamSecSessionTable
 		ICFSecSecSessionBySecDevIdxKey argKey )
 	{
 		CFSecBuffSecSession cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( argKey.getOptionalSecDevName() != null ) {
-			anyNotNull = true;
+		final CFSecBuffSecSessionBySecDevIdxKey key;
+		if( argKey instanceof CFSecBuffSecSessionBySecDevIdxKey ) {
+			key = (CFSecBuffSecSessionBySecDevIdxKey)argKey;
 		}
-		if( ! anyNotNull ) {
-			return;
-		}
-		LinkedList<CFSecBuffSecSession> matchSet = new LinkedList<CFSecBuffSecSession>();
-		Iterator<CFSecBuffSecSession> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
+		else {
+			key = (CFSecBuffSecSessionBySecDevIdxKey)schema.getFactorySecSession().newBySecDevIdxKey();
+			key.setRequiredSecUserId( argKey.getRequiredSecUserId() );
+			key.setOptionalSecDevName( argKey.getOptionalSecDevName() );
+		}
+		LinkedList<CFSecBuffSecSession> matchSet = tableLock.read( () -> {
+			LinkedList<CFSecBuffSecSession> matches = new LinkedList<CFSecBuffSecSession>();
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecDevIdx = dictBySecDevIdx.get( key );
+			if( subdictSecDevIdx != null ) {
+				matches.addAll( subdictSecDevIdx.values() );
 			}
-		}
+			return( matches );
+		} );
+		addArchived( matchSet, key.getRequiredSecUserId(), key.getOptionalSecDevName(), true );
 		Iterator<CFSecBuffSecSession> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecSession)(schema.getTableSecSession().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecSessionId() ));
 			deleteSecSession( Authorization, cur );
 		}
 	}
@@ -966,25 +2604,23 @@ public class CFSecRamSecSessionTable
 		ICFSecSecSessionByStartIdxKey argKey )
 	{
 		CFSecBuffSecSession cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		final CFSecBuffSecSessionByStartIdxKey key;
+		if( argKey instanceof CFSecBuffSecSessionByStartIdxKey ) {
+			key = (CFSecBuffSecSessionByStartIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffSecSessionByStartIdxKey)schema.getFactorySecSession().newByStartIdxKey();
+			key.setRequiredSecUserId( argKey.getRequiredSecUserId() );
+			key.setRequiredStart( argKey.getRequiredStart() );
 		}
 		LinkedList<CFSecBuffSecSession> matchSet = new LinkedList<CFSecBuffSecSession>();
-		Iterator<CFSecBuffSecSession> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = tableLock.readOptimistic( () -> dictByStartIdx.get( key ) );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffSecSession> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecSession)(schema.getTableSecSession().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecSessionId() ));
 			deleteSecSession( Authorization, cur );
 		}
 	}
@@ -1005,27 +2641,26 @@ public class CFSecRamSecSessionTable
 		ICFSecSecSessionByFinishIdxKey argKey )
 	{
 		CFSecBuffSecSession cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( argKey.getOptionalFinish() != null ) {
-			anyNotNull = true;
-		}
-		if( ! anyNotNull ) {
-			return;
+		final CFSecBuffSecSessionByFinishIdxKey key;
+		if( argKey instanceof CFSecBuffSecSessionByFinishIdxKey ) {
+			key = (CFSecBuffSecSessionByFinishIdxKey)argKey;
 		}
-		LinkedList<CFSecBuffSecSession> matchSet = new LinkedList<CFSecBuffSecSession>();
-		Iterator<CFSecBuffSecSession> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
+		else {
+			key = (CFSecBuffSecSessionByFinishIdxKey)schema.getFactorySecSession().newByFinishIdxKey();
+			key.setRequiredSecUserId( argKey.getRequiredSecUserId() );
+			key.setOptionalFinish( argKey.getOptionalFinish() );
+		}
+		LinkedList<CFSecBuffSecSession> matchSet = tableLock.read( () -> {
+			LinkedList<CFSecBuffSecSession> matches = new LinkedList<CFSecBuffSecSession>();
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictFinishIdx = bucketByFinishIdx( key );
+			if( subdictFinishIdx != null ) {
+				matches.addAll( subdictFinishIdx.values() );
 			}
-		}
+			return( matches );
+		} );
 		Iterator<CFSecBuffSecSession> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecSession)(schema.getTableSecSession().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecSessionId() ));
 			deleteSecSession( Authorization, cur );
 		}
 	}
@@ -1044,27 +2679,311 @@ public class CFSecRamSecSessionTable
 		ICFSecSecSessionBySecProxyIdxKey argKey )
 	{
 		CFSecBuffSecSession cur;
-		boolean anyNotNull = false;
-		if( argKey.getOptionalSecProxyId() != null ) {
-			anyNotNull = true;
-		}
-		if( ! anyNotNull ) {
+		if( argKey.getOptionalSecProxyId() == null ) {
 			return;
 		}
-		LinkedList<CFSecBuffSecSession> matchSet = new LinkedList<CFSecBuffSecSession>();
-		Iterator<CFSecBuffSecSession> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		final CFSecBuffSecSessionBySecProxyIdxKey key;
+		if( argKey instanceof CFSecBuffSecSessionBySecProxyIdxKey ) {
+			key = (CFSecBuffSecSessionBySecProxyIdxKey)argKey;
 		}
+		else {
+			key = (CFSecBuffSecSessionBySecProxyIdxKey)schema.getFactorySecSession().newBySecProxyIdxKey();
+			key.setOptionalSecProxyId( argKey.getOptionalSecProxyId() );
+		}
+		LinkedList<CFSecBuffSecSession> matchSet = tableLock.read( () -> {
+			LinkedList<CFSecBuffSecSession> matches = new LinkedList<CFSecBuffSecSession>();
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecSession > subdictSecProxyIdx = bucketBySecProxyIdx( key );
+			if( subdictSecProxyIdx != null ) {
+				matches.addAll( subdictSecProxyIdx.values() );
+			}
+			return( matches );
+		} );
 		Iterator<CFSecBuffSecSession> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecSession)(schema.getTableSecSession().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecSessionId() ));
 			deleteSecSession( Authorization, cur );
 		}
 	}
+
+	/**
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The start of every non-empty Finish partition, in order, or
+	 *		an empty set when the table is not partitioned.
+	 */
+	public NavigableSet< LocalDateTime > getFinishPartitions( ICFSecAuthorization Authorization ) {
+		return( tableLock.read( () -> {
+			CFSecRamTimePartitions< CFLibDbKeyHash256, CFSecBuffSecSession > partitions = finishPartitions;
+			return( ( partitions == null ) ? new TreeSet< LocalDateTime >() : partitions.getPartitions() );
+		} ) );
+	}
+
+	/**
+	 *	Delete every session of one Finish partition.  The partition is
+	 *	detached whole and its sessions are removed from every index in a
+	 *	single pass under one write lock, with no per-row lookups.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	partition	Any timestamp within the partition to drop.
+	 *
+	 *	@return	The number of sessions deleted.
+	 */
+	public int dropFinishPartition( ICFSecAuthorization Authorization,
+		LocalDateTime partition )
+	{
+		return( dropFinishPartitions( ( partitions ) -> Collections.singletonList( partition ) ) );
+	}
+
+	/**
+	 *	Delete every session of the Finish partitions lying wholly before a
+	 *	cutoff, as a retention policy would.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	cutoff	The exclusive end of the retained history.
+	 *
+	 *	@return	The number of sessions deleted.
+	 */
+	public int dropFinishPartitionsBefore( ICFSecAuthorization Authorization,
+		LocalDateTime cutoff )
+	{
+		return( dropFinishPartitions( ( partitions ) -> partitions.getPartitionsBefore( cutoff ) ) );
+	}
+
+	private int dropFinishPartitions( Function< CFSecRamTimePartitions< CFLibDbKeyHash256, CFSecBuffSecSession >, List< LocalDateTime > > selector ) {
+		int dropped = 0;
+		long lsn = 0L;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecRamTimePartitions< CFLibDbKeyHash256, CFSecBuffSecSession > partitions = finishPartitions;
+			if( partitions == null ) {
+				throw new IllegalStateException( "The SecSession table is not partitioned by Finish" );
+			}
+			for( LocalDateTime start : selector.apply( partitions ) ) {
+				for( CFSecBuffSecSession existing : partitions.detach( start ) ) {
+					lsn = dropRec( existing, CFSecRamWriteAheadLog.OP_DELETE );
+					dropped++;
+				}
+			}
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
+		return( dropped );
+	}
+
+	/**
+	 *	Delete every session that finished before a cutoff.  The sessions
+	 *	are found through the Finish time index and removed from every
+	 *	dictionary directly, without a deleteSecSession() lookup per row.
+	 *	The write lock is released after each chunk, so no writer waits
+	 *	for more than one chunk.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	cutoff	The exclusive upper bound on Finish.
+	 *
+	 *	@param	chunkSize	The most sessions to delete under one hold of the write lock.
+	 *
+	 *	@return	The number of sessions deleted.
+	 */
+	public int purgeFinishedBefore( ICFSecAuthorization Authorization,
+		LocalDateTime cutoff,
+		int chunkSize )
+	{
+		checkPurgeArgs( "purgeFinishedBefore", 2, cutoff, chunkSize );
+		return( purgeFinished( null, cutoff, chunkSize, null ) );
+	}
+
+	/**
+	 *	Delete every session of one SecUser that finished before a cutoff,
+	 *	in chunks as purgeFinishedBefore() does.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The SecUser owning the sessions.
+	 *
+	 *	@param	cutoff	The exclusive upper bound on Finish.
+	 *
+	 *	@param	chunkSize	The most sessions to delete under one hold of the write lock.
+	 *
+	 *	@return	The number of sessions deleted.
+	 */
+	public int purgeBySecUserIdxFinishedBefore( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId,
+		LocalDateTime cutoff,
+		int chunkSize )
+	{
+		checkPurgeArgs( "purgeBySecUserIdxFinishedBefore", 3, cutoff, chunkSize );
+		return( purgeFinished( SecUserId, cutoff, chunkSize, null ) );
+	}
+
+	/**
+	 *	Delete every session that finished before a cutoff and belongs to a
+	 *	SecUser who is a member of one of the cluster's security groups, in
+	 *	chunks as purgeFinishedBefore() does.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The cluster whose members' sessions are deleted.
+	 *
+	 *	@param	cutoff	The exclusive upper bound on Finish.
+	 *
+	 *	@param	chunkSize	The most sessions to delete under one hold of the write lock.
+	 *
+	 *	@return	The number of sessions deleted.
+	 */
+	public int purgeByClusterIdxFinishedBefore( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId,
+		LocalDateTime cutoff,
+		int chunkSize )
+	{
+		checkPurgeArgs( "purgeByClusterIdxFinishedBefore", 3, cutoff, chunkSize );
+		// Resolve the members before taking the write lock, which must
+		// never be held while another table is called.
+		ICFSecSecGrpMemb[] membs = schema.getTableSecGrpMemb().readDerivedByClusterIdx( Authorization,
+			ClusterId );
+		Set< CFLibDbKeyHash256 > secUserIds = new LinkedHashSet< CFLibDbKeyHash256 >();
+		for( ICFSecSecGrpMemb memb : membs ) {
+			secUserIds.add( memb.getRequiredSecUserId() );
+		}
+		int purged = 0;
+		for( CFLibDbKeyHash256 secUserId : secUserIds ) {
+			purged += purgeFinished( secUserId, cutoff, chunkSize, null );
+		}
+		return( purged );
+	}
+
+	private void checkPurgeArgs( String methName,
+		int cutoffArg,
+		LocalDateTime cutoff,
+		int chunkSize )
+	{
+		if( cutoff == null ) {
+			throw new CFLibNullArgumentException( getClass(),
+				methName,
+				cutoffArg,
+				"cutoff" );
+		}
+		if( chunkSize <= 0 ) {
+			throw new CFLibArgumentUnderflowException( getClass(),
+				methName,
+				cutoffArg + 1,
+				"chunkSize",
+				chunkSize,
+				1 );
+		}
+	}
+
+	/**
+	 *	Migrate every session that finished before a cutoff to the attached
+	 *	session archive, in chunks as purgeFinishedBefore() does.  Each chunk
+	 *	is forced to the archive outside the write lock, and its sessions
+	 *	only leave the table if they are unchanged since they were selected.
+	 *	Migrated sessions are only reachable through readDerived(),
+	 *	readDerivedByIdIdx(), the SecUserIdx reads and the deletes by
+	 *	IdIdx, SecUserIdx and SecDevIdx.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	cutoff	The exclusive upper bound on Finish.
+	 *
+	 *	@param	chunkSize	The most sessions to archive and drop at a time.
+	 *
+	 *	@return	The number of sessions migrated.
+	 */
+	public int archiveFinishedBefore( ICFSecAuthorization Authorization,
+		LocalDateTime cutoff,
+		int chunkSize )
+	{
+		checkPurgeArgs( "archiveFinishedBefore", 2, cutoff, chunkSize );
+		CFSecRamSessionArchive archive = sessionArchive;
+		if( archive == null ) {
+			throw new IllegalStateException( "No session archive is attached" );
+		}
+		return( purgeFinished( null, cutoff, chunkSize, archive ) );
+	}
+
+	private int purgeFinished( CFLibDbKeyHash256 SecUserId,
+		LocalDateTime cutoff,
+		int chunkSize,
+		CFSecRamSessionArchive archive )
+	{
+		if( archive != null ) {
+			return( archiveFinished( cutoff, chunkSize, archive ) );
+		}
+		int purged = 0;
+		int chunk;
+		do {
+			chunk = 0;
+			long lsn = 0L;
+			long stamp = tableLock.writeLock();
+			try {
+				List< CFSecBuffSecSession > doomed = ( SecUserId == null )
+					? timeByFinish.range( null, cutoff, chunkSize )
+					: timeByFinish.range( SecUserId, null, cutoff, chunkSize );
+				for( CFSecBuffSecSession existing : doomed ) {
+					lsn = dropRec( existing, CFSecRamWriteAheadLog.OP_DELETE );
+					chunk++;
+				}
+			}
+			finally {
+				tableLock.unlockWrite( stamp );
+			}
+			CFSecRamWriteAheadLog.await( schema, lsn );
+			purged += chunk;
+		} while( chunk == chunkSize );
+		return( purged );
+	}
+
+	/**
+	 *	Archive finished sessions a chunk at a time.  The chunk is written and
+	 *	forced to the archive under a read lock hold that only selects it, so
+	 *	the write lock is held just long enough to drop the rows.  A session
+	 *	that was updated or deleted while its chunk was being archived stays
+	 *	as it is in the table, and its archived copy is tombstoned; if it is
+	 *	still finished before the cutoff, a later chunk archives it again.
+	 */
+	private int archiveFinished( LocalDateTime cutoff,
+		int chunkSize,
+		CFSecRamSessionArchive archive )
+	{
+		int archived = 0;
+		int selected;
+		do {
+			List< CFSecBuffSecSession > doomed = tableLock.read( () -> timeByFinish.range( null, cutoff, chunkSize ) );
+			selected = doomed.size();
+			try {
+				archive.append( doomed );
+			}
+			catch( IOException e ) {
+				throw new UncheckedIOException( e );
+			}
+			List< CFSecBuffSecSession > stale = new ArrayList< CFSecBuffSecSession >();
+			long lsn = 0L;
+			long stamp = tableLock.writeLock();
+			try {
+				for( CFSecBuffSecSession rec : doomed ) {
+					CFSecBuffSecSession existing = dictByPKey.get( (CFLibDbKeyHash256)(rec.getPKey()) );
+					if( ( existing != null ) && ( existing.getRequiredRevision() == rec.getRequiredRevision() ) ) {
+						lsn = dropRec( existing, CFSecRamWriteAheadLog.OP_ARCHIVE );
+						archived++;
+					}
+					else {
+						stale.add( rec );
+					}
+				}
+			}
+			finally {
+				tableLock.unlockWrite( stamp );
+			}
+			for( CFSecBuffSecSession rec : stale ) {
+				removeArchived( (CFLibDbKeyHash256)(rec.getPKey()) );
+			}
+			CFSecRamWriteAheadLog.await( schema, lsn );
+		} while( selected == chunkSize );
+		return( archived );
+	}
 }
@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,40 +48,74 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for SecUser.
  */
 public class CFSecRamSecUserTable
-	implements ICFSecSecUserTable
+	implements ICFSecSecUserTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecSecUser[] EMPTY_REC_ARRAY = new ICFSecSecUser[0];
+
+	// Positions of the indexes in the persistent index, which numbers the
+	// unique and the duplicate indexes separately.
+	private static final int PIDX_ULOGINIDX = 0;
+	private static final int PIDX_EMCONFIDX = 0;
+	private static final int PIDX_PWDRESETIDX = 1;
+	private static final int PIDX_DEFDEVIDX = 2;
+
 	private ICFSecSchema schema;
-	private Map< CFLibDbKeyHash256,
+	private NavigableMap< CFLibDbKeyHash256,
 				CFSecBuffSecUser > dictByPKey
-		= new HashMap< CFLibDbKeyHash256,
+		= new TreeMap< CFLibDbKeyHash256,
 				CFSecBuffSecUser >();
 	private Map< CFSecBuffSecUserByULoginIdxKey,
 			CFSecBuffSecUser > dictByULoginIdx
 		= new HashMap< CFSecBuffSecUserByULoginIdxKey,
 			CFSecBuffSecUser >();
 	private Map< CFSecBuffSecUserByEMConfIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecUser >> dictByEMConfIdx
 		= new HashMap< CFSecBuffSecUserByEMConfIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecUser >>();
 	private Map< CFSecBuffSecUserByPwdResetIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecUser >> dictByPwdResetIdx
 		= new HashMap< CFSecBuffSecUserByPwdResetIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecUser >>();
 	private Map< CFSecBuffSecUserByDefDevIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecUser >> dictByDefDevIdx
 		= new HashMap< CFSecBuffSecUserByDefDevIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffSecUser >>();
 
+	private final CFSecRamTableLock tableLock = new CFSecRamTableLock();
+
+	private volatile CFSecRamPersistentIndex< CFSecBuffSecUser > persistentIndex = null;
+
+	private final List< CFLibDbKeyHash256 > bulkPKeys = new ArrayList< CFLibDbKeyHash256 >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffSecUserByULoginIdxKey > probeULoginIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecUserByULoginIdxKey)schema.getFactorySecUser().newByULoginIdxKey() );
+	private final ThreadLocal< CFSecBuffSecUserByEMConfIdxKey > probeEMConfIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecUserByEMConfIdxKey)schema.getFactorySecUser().newByEMConfIdxKey() );
+	private final ThreadLocal< CFSecBuffSecUserByPwdResetIdxKey > probePwdResetIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecUserByPwdResetIdxKey)schema.getFactorySecUser().newByPwdResetIdxKey() );
+	private final ThreadLocal< CFSecBuffSecUserByDefDevIdxKey > probeDefDevIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSecUserByDefDevIdxKey)schema.getFactorySecUser().newByDefDevIdxKey() );
+
 	public CFSecRamSecUserTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
 
+	public CFSecRamTableLock getTableLock() {
+		return( tableLock );
+	}
+
 	public CFSecBuffSecUser ensureRec(ICFSecSecUser rec) {
 		if (rec == null) {
 			return( null );
@@ -95,11 +131,428 @@ public class CFSecRamSecUserTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffSecUser > recs ) {
+		long stamp = tableLock.writeLock();
+		try {
+			dictByPKey.clear();
+			for( CFSecBuffSecUser Buff : recs ) {
+				CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+				dictByPKey.put( pkey, Buff );
+			}
+			rebuildIndexes();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffSecUser > snapshotRecs() {
+		List< CFSecBuffSecUser > recs = tableLock.read( () -> new ArrayList< CFSecBuffSecUser >( dictByPKey.values() ) );
+		return( recs );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffSecUser lookupRec( Object pkey ) {
+		return( tableLock.read( () -> dictByPKey.get( pkey ) ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffSecUser before ) {
+		long lsn = 0L;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecBuffSecUser current;
+			if( before == null ) {
+				current = dictByPKey.remove( pkey );
+			}
+			else {
+				current = dictByPKey.put( (CFLibDbKeyHash256)pkey, before );
+			}
+			if( current != null ) {
+				unindexRec( current );
+			}
+			if( before != null ) {
+				indexRec( before );
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+			}
+			else if( current != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+			}
+			if( ( current != null ) || ( before != null ) ) {
+				applyPersistentIndex( current, before );
+			}
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffSecUser Buff ) {
+		CFSecBuffSecUserByULoginIdxKey keyULoginIdx = (CFSecBuffSecUserByULoginIdxKey)schema.getFactorySecUser().newByULoginIdxKey();
+		keyULoginIdx.setRequiredLoginId( Buff.getRequiredLoginId() );
+		dictByULoginIdx.put( keyULoginIdx, Buff );
+
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffSecUserByEMConfIdxKey keyEMConfIdx = (CFSecBuffSecUserByEMConfIdxKey)schema.getFactorySecUser().newByEMConfIdxKey();
+		keyEMConfIdx.setOptionalEMailConfirmUuid6( Buff.getOptionalEMailConfirmUuid6() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictEMConfIdx;
+		if( dictByEMConfIdx.containsKey( keyEMConfIdx ) ) {
+			subdictEMConfIdx = dictByEMConfIdx.get( keyEMConfIdx );
+		}
+		else {
+			subdictEMConfIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
+			dictByEMConfIdx.put( keyEMConfIdx, subdictEMConfIdx );
+		}
+		subdictEMConfIdx.put( pkey, Buff );
+
+		CFSecBuffSecUserByPwdResetIdxKey keyPwdResetIdx = (CFSecBuffSecUserByPwdResetIdxKey)schema.getFactorySecUser().newByPwdResetIdxKey();
+		keyPwdResetIdx.setOptionalPasswordResetUuid6( Buff.getOptionalPasswordResetUuid6() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictPwdResetIdx;
+		if( dictByPwdResetIdx.containsKey( keyPwdResetIdx ) ) {
+			subdictPwdResetIdx = dictByPwdResetIdx.get( keyPwdResetIdx );
+		}
+		else {
+			subdictPwdResetIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
+			dictByPwdResetIdx.put( keyPwdResetIdx, subdictPwdResetIdx );
+		}
+		subdictPwdResetIdx.put( pkey, Buff );
+
+		CFSecBuffSecUserByDefDevIdxKey keyDefDevIdx = (CFSecBuffSecUserByDefDevIdxKey)schema.getFactorySecUser().newByDefDevIdxKey();
+		keyDefDevIdx.setOptionalDfltDevUserId( Buff.getOptionalDfltDevUserId() );
+		keyDefDevIdx.setOptionalDfltDevName( Buff.getOptionalDfltDevName() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictDefDevIdx;
+		if( dictByDefDevIdx.containsKey( keyDefDevIdx ) ) {
+			subdictDefDevIdx = dictByDefDevIdx.get( keyDefDevIdx );
+		}
+		else {
+			subdictDefDevIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
+			dictByDefDevIdx.put( keyDefDevIdx, subdictDefDevIdx );
+		}
+		subdictDefDevIdx.put( pkey, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffSecUser Buff ) {
+		CFSecBuffSecUserByULoginIdxKey keyULoginIdx = (CFSecBuffSecUserByULoginIdxKey)schema.getFactorySecUser().newByULoginIdxKey();
+		keyULoginIdx.setRequiredLoginId( Buff.getRequiredLoginId() );
+		dictByULoginIdx.remove( keyULoginIdx );
+
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffSecUserByEMConfIdxKey keyEMConfIdx = (CFSecBuffSecUserByEMConfIdxKey)schema.getFactorySecUser().newByEMConfIdxKey();
+		keyEMConfIdx.setOptionalEMailConfirmUuid6( Buff.getOptionalEMailConfirmUuid6() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictEMConfIdx = dictByEMConfIdx.get( keyEMConfIdx );
+		if( subdictEMConfIdx != null ) {
+			subdictEMConfIdx.remove( pkey );
+			if( subdictEMConfIdx.isEmpty() ) {
+				dictByEMConfIdx.remove( keyEMConfIdx );
+			}
+		}
+
+		CFSecBuffSecUserByPwdResetIdxKey keyPwdResetIdx = (CFSecBuffSecUserByPwdResetIdxKey)schema.getFactorySecUser().newByPwdResetIdxKey();
+		keyPwdResetIdx.setOptionalPasswordResetUuid6( Buff.getOptionalPasswordResetUuid6() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictPwdResetIdx = dictByPwdResetIdx.get( keyPwdResetIdx );
+		if( subdictPwdResetIdx != null ) {
+			subdictPwdResetIdx.remove( pkey );
+			if( subdictPwdResetIdx.isEmpty() ) {
+				dictByPwdResetIdx.remove( keyPwdResetIdx );
+			}
+		}
+
+		CFSecBuffSecUserByDefDevIdxKey keyDefDevIdx = (CFSecBuffSecUserByDefDevIdxKey)schema.getFactorySecUser().newByDefDevIdxKey();
+		keyDefDevIdx.setOptionalDfltDevUserId( Buff.getOptionalDfltDevUserId() );
+		keyDefDevIdx.setOptionalDfltDevName( Buff.getOptionalDfltDevName() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictDefDevIdx = dictByDefDevIdx.get( keyDefDevIdx );
+		if( subdictDefDevIdx != null ) {
+			subdictDefDevIdx.remove( pkey );
+			if( subdictDefDevIdx.isEmpty() ) {
+				dictByDefDevIdx.remove( keyDefDevIdx );
+			}
+		}
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildULoginIdx,
+			this::rebuildEMConfIdx,
+			this::rebuildPwdResetIdx,
+			this::rebuildDefDevIdx,
+			this::rebuildPersistentIndex );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	public boolean isPersistentIndexEnabled() {
+		return( persistentIndex != null );
+	}
+
+	/**
+	 *	Enable or disable the persistent index.  While it is enabled, point
+	 *	reads, unique and duplicate index reads, and readAllDerived() are
+	 *	served from CFSecRamHamt tries published by the writers, with no
+	 *	reader-side locking at all.  Paged reads still use the dictionaries.
+	 *
+	 *	@param	value	True to maintain and read from the persistent index.
+	 */
+	public void setPersistentIndexEnabled( boolean value ) {
+		long stamp = tableLock.writeLock();
+		try {
+			if( ! value ) {
+				persistentIndex = null;
+			}
+			else if( persistentIndex == null ) {
+				CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = newPersistentIndex();
+				pindex.rebuild( dictByPKey.values() );
+				persistentIndex = pindex;
+			}
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
+	protected CFSecRamPersistentIndex< CFSecBuffSecUser > newPersistentIndex() {
+		return( new CFSecRamPersistentIndex< CFSecBuffSecUser >(
+			( Buff ) -> Buff.getPKey(),
+			Arrays.< Function< CFSecBuffSecUser, Object > >asList(
+				( Buff ) -> {
+					CFSecBuffSecUserByULoginIdxKey keyULoginIdx = (CFSecBuffSecUserByULoginIdxKey)schema.getFactorySecUser().newByULoginIdxKey();
+					keyULoginIdx.setRequiredLoginId( Buff.getRequiredLoginId() );
+					return( keyULoginIdx );
+				} ),
+			Arrays.< Function< CFSecBuffSecUser, Object > >asList(
+				( Buff ) -> {
+					CFSecBuffSecUserByEMConfIdxKey keyEMConfIdx = (CFSecBuffSecUserByEMConfIdxKey)schema.getFactorySecUser().newByEMConfIdxKey();
+					keyEMConfIdx.setOptionalEMailConfirmUuid6( Buff.getOptionalEMailConfirmUuid6() );
+					return( isIndexedByEMConfIdx( keyEMConfIdx ) ? keyEMConfIdx : null );
+				},
+				( Buff ) -> {
+					CFSecBuffSecUserByPwdResetIdxKey keyPwdResetIdx = (CFSecBuffSecUserByPwdResetIdxKey)schema.getFactorySecUser().newByPwdResetIdxKey();
+					keyPwdResetIdx.setOptionalPasswordResetUuid6( Buff.getOptionalPasswordResetUuid6() );
+					return( isIndexedByPwdResetIdx( keyPwdResetIdx ) ? keyPwdResetIdx : null );
+				},
+				( Buff ) -> {
+					CFSecBuffSecUserByDefDevIdxKey keyDefDevIdx = (CFSecBuffSecUserByDefDevIdxKey)schema.getFactorySecUser().newByDefDevIdxKey();
+					keyDefDevIdx.setOptionalDfltDevUserId( Buff.getOptionalDfltDevUserId() );
+					keyDefDevIdx.setOptionalDfltDevName( Buff.getOptionalDfltDevName() );
+					return( isIndexedByDefDevIdx( keyDefDevIdx ) ? keyDefDevIdx : null );
+				} ) ) );
+	}
+
+	protected void rebuildPersistentIndex() {
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( pindex != null ) {
+			pindex.rebuild( dictByPKey.values() );
+		}
+	}
+
+	private void applyPersistentIndex( CFSecBuffSecUser before, CFSecBuffSecUser after ) {
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( pindex != null ) {
+			pindex.apply( before, after );
+		}
+	}
+
+	protected void rebuildULoginIdx() {
+		dictByULoginIdx.clear();
+		for( CFSecBuffSecUser Buff : dictByPKey.values() ) {
+			CFSecBuffSecUserByULoginIdxKey keyULoginIdx = (CFSecBuffSecUserByULoginIdxKey)schema.getFactorySecUser().newByULoginIdxKey();
+			keyULoginIdx.setRequiredLoginId( Buff.getRequiredLoginId() );
+			dictByULoginIdx.put( keyULoginIdx, Buff );
+		}
+	}
+
+	/**
+	 *	EMConfIdx is sparse in the persistent index: users with no e-mail
+	 *	confirmation pending are left out of it, so creating and deleting them
+	 *	never copies one giant null-keyed bucket.  dictByEMConfIdx keeps them in
+	 *	its null bucket, ordered by SecUserId, which answers and pages a query
+	 *	for a null EMailConfirmUuid6 directly.
+	 */
+	private static boolean isIndexedByEMConfIdx( CFSecBuffSecUserByEMConfIdxKey key ) {
+		return( key.getOptionalEMailConfirmUuid6() != null );
+	}
+
+	/**
+	 *	@return	The dictByEMConfIdx bucket for the key, including the null-keyed bucket.
+	 */
+	private NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > bucketByEMConfIdx( CFSecBuffSecUserByEMConfIdxKey key ) {
+		return( dictByEMConfIdx.get( key ) );
+	}
+
+	protected void rebuildEMConfIdx() {
+		dictByEMConfIdx.clear();
+		for( CFSecBuffSecUser Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffSecUserByEMConfIdxKey keyEMConfIdx = (CFSecBuffSecUserByEMConfIdxKey)schema.getFactorySecUser().newByEMConfIdxKey();
+			keyEMConfIdx.setOptionalEMailConfirmUuid6( Buff.getOptionalEMailConfirmUuid6() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictEMConfIdx;
+			if( dictByEMConfIdx.containsKey( keyEMConfIdx ) ) {
+				subdictEMConfIdx = dictByEMConfIdx.get( keyEMConfIdx );
+			}
+			else {
+				subdictEMConfIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
+				dictByEMConfIdx.put( keyEMConfIdx, subdictEMConfIdx );
+			}
+			subdictEMConfIdx.put( pkey, Buff );
+		}
+	}
+
+	/**
+	 *	PwdResetIdx is sparse in the persistent index: users with no password
+	 *	reset outstanding are left out of it.  dictByPwdResetIdx keeps them in
+	 *	its null bucket, ordered by SecUserId, which answers and pages a query
+	 *	for a null PasswordResetUuid6 directly.
+	 */
+	private static boolean isIndexedByPwdResetIdx( CFSecBuffSecUserByPwdResetIdxKey key ) {
+		return( key.getOptionalPasswordResetUuid6() != null );
+	}
+
+	/**
+	 *	@return	The dictByPwdResetIdx bucket for the key, including the null-keyed bucket.
+	 */
+	private NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > bucketByPwdResetIdx( CFSecBuffSecUserByPwdResetIdxKey key ) {
+		return( dictByPwdResetIdx.get( key ) );
+	}
+
+	protected void rebuildPwdResetIdx() {
+		dictByPwdResetIdx.clear();
+		for( CFSecBuffSecUser Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffSecUserByPwdResetIdxKey keyPwdResetIdx = (CFSecBuffSecUserByPwdResetIdxKey)schema.getFactorySecUser().newByPwdResetIdxKey();
+			keyPwdResetIdx.setOptionalPasswordResetUuid6( Buff.getOptionalPasswordResetUuid6() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictPwdResetIdx;
+			if( dictByPwdResetIdx.containsKey( keyPwdResetIdx ) ) {
+				subdictPwdResetIdx = dictByPwdResetIdx.get( keyPwdResetIdx );
+			}
+			else {
+				subdictPwdResetIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
+				dictByPwdResetIdx.put( keyPwdResetIdx, subdictPwdResetIdx );
+			}
+			subdictPwdResetIdx.put( pkey, Buff );
+		}
+	}
+
+	/**
+	 *	DefDevIdx is sparse in the persistent index: users without a default
+	 *	device, whose DfltDevUserId and DfltDevName are both null, are left out
+	 *	of it.  dictByDefDevIdx keeps them in its null bucket, ordered by
+	 *	SecUserId, which answers and pages a query for that null key directly.
+	 */
+	private static boolean isIndexedByDefDevIdx( CFSecBuffSecUserByDefDevIdxKey key ) {
+		return( ( key.getOptionalDfltDevUserId() != null ) || ( key.getOptionalDfltDevName() != null ) );
+	}
+
+	/**
+	 *	@return	The dictByDefDevIdx bucket for the key, including the null-keyed bucket.
+	 */
+	private NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > bucketByDefDevIdx( CFSecBuffSecUserByDefDevIdxKey key ) {
+		return( dictByDefDevIdx.get( key ) );
+	}
+
+	protected void rebuildDefDevIdx() {
+		dictByDefDevIdx.clear();
+		for( CFSecBuffSecUser Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffSecUserByDefDevIdxKey keyDefDevIdx = (CFSecBuffSecUserByDefDevIdxKey)schema.getFactorySecUser().newByDefDevIdxKey();
+			keyDefDevIdx.setOptionalDfltDevUserId( Buff.getOptionalDfltDevUserId() );
+			keyDefDevIdx.setOptionalDfltDevName( Buff.getOptionalDfltDevName() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictDefDevIdx;
+			if( dictByDefDevIdx.containsKey( keyDefDevIdx ) ) {
+				subdictDefDevIdx = dictByDefDevIdx.get( keyDefDevIdx );
+			}
+			else {
+				subdictDefDevIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
+				dictByDefDevIdx.put( keyDefDevIdx, subdictDefDevIdx );
+			}
+			subdictDefDevIdx.put( pkey, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< String > duplicates = tableLock.read( () -> {
+			List< String > found = new ArrayList< String >();
+			for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+				CFSecBuffSecUser Buff = dictByPKey.get( pkey );
+				if( Buff == null ) {
+					continue;
+				}
+				CFSecBuffSecUserByULoginIdxKey keyULoginIdx = (CFSecBuffSecUserByULoginIdxKey)schema.getFactorySecUser().newByULoginIdxKey();
+				keyULoginIdx.setRequiredLoginId( Buff.getRequiredLoginId() );
+				if( dictByULoginIdx.get( keyULoginIdx ) != Buff ) {
+					found.add( "SecUser " + Buff.getPKey() + " duplicates the SecUserLoginIdx key " + keyULoginIdx );
+				}
+			}
+			return( found );
+		} );
+		violations.addAll( duplicates );
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		long stamp = tableLock.writeLock();
+		try {
+			for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+				CFSecBuffSecUser Buff = dictByPKey.remove( pkey );
+				if( Buff != null ) {
+					lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+				}
+			}
+			bulkPKeys.clear();
+			rebuildIndexes();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		long stamp = tableLock.writeLock();
+		try {
+			bulkPKeys.clear();
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+	}
+
 	@Override
 	public ICFSecSecUser createSecUser( ICFSecAuthorization Authorization,
 		ICFSecSecUser iBuff )
 	{
 		final String S_ProcName = "createSecUser";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffSecUser Buff = (CFSecBuffSecUser)ensureRec(iBuff);
 		CFLibDbKeyHash256 pkey;
@@ -118,57 +571,71 @@ public class CFSecRamSecUserTable
 		keyDefDevIdx.setOptionalDfltDevUserId( Buff.getOptionalDfltDevUserId() );
 		keyDefDevIdx.setOptionalDfltDevName( Buff.getOptionalDfltDevName() );
 
-		// Validate unique indexes
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			// Validate unique indexes
 
-		if( dictByPKey.containsKey( pkey ) ) {
-			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
-		}
+			if( dictByPKey.containsKey( pkey ) ) {
+				throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
+			}
 
-		if( dictByULoginIdx.containsKey( keyULoginIdx ) ) {
-			throw new CFLibUniqueIndexViolationException( getClass(),
-				S_ProcName,
-				"SecUserLoginIdx",
-				"SecUserLoginIdx",
-				keyULoginIdx );
-		}
+			if( ( ! bulkLoad ) && dictByULoginIdx.containsKey( keyULoginIdx ) ) {
+				throw new CFLibUniqueIndexViolationException( getClass(),
+					S_ProcName,
+					"SecUserLoginIdx",
+					"SecUserLoginIdx",
+					keyULoginIdx );
+			}
 
-		// Validate foreign keys
+			// Validate foreign keys
 
-		// Proceed with adding the new record
+			// Proceed with adding the new record
 
-		dictByPKey.put( pkey, Buff );
+			dictByPKey.put( pkey, Buff );
+			if( bulkLoad ) {
+				bulkPKeys.add( pkey );
+			}
 
-		dictByULoginIdx.put( keyULoginIdx, Buff );
+			dictByULoginIdx.putIfAbsent( keyULoginIdx, Buff );
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecUser > subdictEMConfIdx;
-		if( dictByEMConfIdx.containsKey( keyEMConfIdx ) ) {
-			subdictEMConfIdx = dictByEMConfIdx.get( keyEMConfIdx );
-		}
-		else {
-			subdictEMConfIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
-			dictByEMConfIdx.put( keyEMConfIdx, subdictEMConfIdx );
-		}
-		subdictEMConfIdx.put( pkey, Buff );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictEMConfIdx;
+			if( dictByEMConfIdx.containsKey( keyEMConfIdx ) ) {
+				subdictEMConfIdx = dictByEMConfIdx.get( keyEMConfIdx );
+			}
+			else {
+				subdictEMConfIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
+				dictByEMConfIdx.put( keyEMConfIdx, subdictEMConfIdx );
+			}
+			subdictEMConfIdx.put( pkey, Buff );
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecUser > subdictPwdResetIdx;
-		if( dictByPwdResetIdx.containsKey( keyPwdResetIdx ) ) {
-			subdictPwdResetIdx = dictByPwdResetIdx.get( keyPwdResetIdx );
-		}
-		else {
-			subdictPwdResetIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
-			dictByPwdResetIdx.put( keyPwdResetIdx, subdictPwdResetIdx );
-		}
-		subdictPwdResetIdx.put( pkey, Buff );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictPwdResetIdx;
+			if( dictByPwdResetIdx.containsKey( keyPwdResetIdx ) ) {
+				subdictPwdResetIdx = dictByPwdResetIdx.get( keyPwdResetIdx );
+			}
+			else {
+				subdictPwdResetIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
+				dictByPwdResetIdx.put( keyPwdResetIdx, subdictPwdResetIdx );
+			}
+			subdictPwdResetIdx.put( pkey, Buff );
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecUser > subdictDefDevIdx;
-		if( dictByDefDevIdx.containsKey( keyDefDevIdx ) ) {
-			subdictDefDevIdx = dictByDefDevIdx.get( keyDefDevIdx );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictDefDevIdx;
+			if( dictByDefDevIdx.containsKey( keyDefDevIdx ) ) {
+				subdictDefDevIdx = dictByDefDevIdx.get( keyDefDevIdx );
+			}
+			else {
+				subdictDefDevIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
+				dictByDefDevIdx.put( keyDefDevIdx, subdictDefDevIdx );
+			}
+			subdictDefDevIdx.put( pkey, Buff );
+			CFSecRamTransaction.record( schema, null, Buff );
+			applyPersistentIndex( null, Buff );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
 		}
-		else {
-			subdictDefDevIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
-			dictByDefDevIdx.put( keyDefDevIdx, subdictDefDevIdx );
+		finally {
+			tableLock.unlockWrite( stamp );
 		}
-		subdictDefDevIdx.put( pkey, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 
 		if (Buff == null) {
 			return( null );
@@ -195,12 +662,11 @@ public class CFSecRamSecUserTable
 		if( PKey == null ) {
 			return( null );
 		}
-		if( dictByPKey.containsKey( PKey ) ) {
-			buff = dictByPKey.get( PKey );
-		}
-		else {
-			buff = null;
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( pindex.get( PKey ) );
 		}
+		buff = tableLock.read( () -> dictByPKey.get( PKey ) );
 		return( buff );
 	}
 
@@ -210,144 +676,475 @@ public class CFSecRamSecUserTable
 	{
 		final String S_ProcName = "CFSecRamSecUser.lockDerived";
 		ICFSecSecUser buff;
-		if( dictByPKey.containsKey( PKey ) ) {
-			buff = dictByPKey.get( PKey );
-		}
-		else {
-			buff = null;
-		}
+		buff = tableLock.read( () -> dictByPKey.get( PKey ) );
 		return( buff );
 	}
 
 	@Override
 	public ICFSecSecUser[] readAllDerived( ICFSecAuthorization Authorization ) {
 		final String S_ProcName = "CFSecRamSecUser.readAllDerived";
-		ICFSecSecUser[] retList = new ICFSecSecUser[ dictByPKey.values().size() ];
-		Iterator< CFSecBuffSecUser > iter = dictByPKey.values().iterator();
-		int idx = 0;
-		while( iter.hasNext() ) {
-			retList[ idx++ ] = iter.next();
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( pindex.values().toArray( EMPTY_REC_ARRAY ) );
 		}
+		ICFSecSecUser[] retList = tableLock.read( () -> {
+			ICFSecSecUser[] arr = new ICFSecSecUser[ dictByPKey.size() ];
+			Iterator< CFSecBuffSecUser > iter = dictByPKey.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
 		return( retList );
 	}
 
-	@Override
-	public ICFSecSecUser readDerivedByULoginIdx( ICFSecAuthorization Authorization,
-		String LoginId )
+	@Override
+	public ICFSecSecUser readDerivedByULoginIdx( ICFSecAuthorization Authorization,
+		String LoginId )
+	{
+		final String S_ProcName = "CFSecRamSecUser.readDerivedByULoginIdx";
+		CFSecBuffSecUserByULoginIdxKey key = probeULoginIdx.get();
+
+		key.setRequiredLoginId( LoginId );
+		ICFSecSecUser buff;
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( pindex.getUnique( PIDX_ULOGINIDX, key ) );
+		}
+		buff = tableLock.readOptimistic( () -> dictByULoginIdx.get( key ) );
+		return( buff );
+	}
+
+	@Override
+	public ICFSecSecUser[] readDerivedByEMConfIdx( ICFSecAuthorization Authorization,
+		CFLibUuid6 EMailConfirmUuid6 )
+	{
+		final String S_ProcName = "CFSecRamSecUser.readDerivedByEMConfIdx";
+		CFSecBuffSecUserByEMConfIdxKey key = probeEMConfIdx.get();
+
+		key.setOptionalEMailConfirmUuid6( EMailConfirmUuid6 );
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( ( pindex != null ) && isIndexedByEMConfIdx( key ) ) {
+			return( pindex.getDuplicates( PIDX_EMCONFIDX, key ).toArray( EMPTY_REC_ARRAY ) );
+		}
+		ICFSecSecUser[] recArray = tableLock.read( () -> {
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictEMConfIdx
+				= bucketByEMConfIdx( key );
+			if( ( subdictEMConfIdx == null ) || subdictEMConfIdx.isEmpty() ) {
+				return( EMPTY_REC_ARRAY );
+			}
+			ICFSecSecUser[] arr = new ICFSecSecUser[ subdictEMConfIdx.size() ];
+			Iterator< CFSecBuffSecUser > iter = subdictEMConfIdx.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
+		return( recArray );
+	}
+
+	@Override
+	public ICFSecSecUser[] readDerivedByPwdResetIdx( ICFSecAuthorization Authorization,
+		CFLibUuid6 PasswordResetUuid6 )
+	{
+		final String S_ProcName = "CFSecRamSecUser.readDerivedByPwdResetIdx";
+		CFSecBuffSecUserByPwdResetIdxKey key = probePwdResetIdx.get();
+
+		key.setOptionalPasswordResetUuid6( PasswordResetUuid6 );
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( ( pindex != null ) && isIndexedByPwdResetIdx( key ) ) {
+			return( pindex.getDuplicates( PIDX_PWDRESETIDX, key ).toArray( EMPTY_REC_ARRAY ) );
+		}
+		ICFSecSecUser[] recArray = tableLock.read( () -> {
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictPwdResetIdx
+				= bucketByPwdResetIdx( key );
+			if( ( subdictPwdResetIdx == null ) || subdictPwdResetIdx.isEmpty() ) {
+				return( EMPTY_REC_ARRAY );
+			}
+			ICFSecSecUser[] arr = new ICFSecSecUser[ subdictPwdResetIdx.size() ];
+			Iterator< CFSecBuffSecUser > iter = subdictPwdResetIdx.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
+		return( recArray );
+	}
+
+	@Override
+	public ICFSecSecUser[] readDerivedByDefDevIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 DfltDevUserId,
+		String DfltDevName )
+	{
+		final String S_ProcName = "CFSecRamSecUser.readDerivedByDefDevIdx";
+		CFSecBuffSecUserByDefDevIdxKey key = probeDefDevIdx.get();
+
+		key.setOptionalDfltDevUserId( DfltDevUserId );
+		key.setOptionalDfltDevName( DfltDevName );
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( ( pindex != null ) && isIndexedByDefDevIdx( key ) ) {
+			return( pindex.getDuplicates( PIDX_DEFDEVIDX, key ).toArray( EMPTY_REC_ARRAY ) );
+		}
+		ICFSecSecUser[] recArray = tableLock.read( () -> {
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictDefDevIdx
+				= bucketByDefDevIdx( key );
+			if( ( subdictDefDevIdx == null ) || subdictDefDevIdx.isEmpty() ) {
+				return( EMPTY_REC_ARRAY );
+			}
+			ICFSecSecUser[] arr = new ICFSecSecUser[ subdictDefDevIdx.size() ];
+			Iterator< CFSecBuffSecUser > iter = subdictDefDevIdx.values().iterator();
+			int idx = 0;
+			while( iter.hasNext() ) {
+				arr[ idx++ ] = iter.next();
+			}
+			return( arr );
+		} );
+		return( recArray );
+	}
+
+	@Override
+	public ICFSecSecUser readDerivedByIdIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId )
+	{
+		final String S_ProcName = "CFSecRamSecUser.readDerivedByIdIdx() ";
+		ICFSecSecUser buff;
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( pindex.get( SecUserId ) );
+		}
+		buff = tableLock.read( () -> dictByPKey.get( SecUserId ) );
+		return( buff );
+	}
+
+	/**
+	 *	Get a read-only view of every SecUser instance in the table.
+	 *	<P>
+	 *	The view is drawn from the persistent index when that is enabled.
+	 *	Otherwise, with the table lock enabled, it is a copy of the table taken
+	 *	under the read lock; with the lock disabled it wraps the live
+	 *	dictionary, which the table must not modify while the view is in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecSecUser > viewAll( ICFSecAuthorization Authorization ) {
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( pindex != null ) {
+			return( Collections.< ICFSecSecUser >unmodifiableList( pindex.values() ) );
+		}
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( dictByPKey ) ) );
+		}
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every SecUser instance in the table.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	The action runs over the persistent index when that is enabled.
+	 *	Otherwise, with the table lock enabled, it runs over a copy of the table
+	 *	taken under the read lock, so the lock is not held while it runs; with
+	 *	the lock disabled it iterates the live dictionary in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecSecUser > action )
+	{
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( pindex != null ) {
+			pindex.forEachValue( action );
+			return;
+		}
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every SecUser instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from the persistent index or, when the
+	 *	table lock is enabled, from a copy, so it tolerates concurrent
+	 *	writers; otherwise the table must not be modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecSecUser > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the SecUser instances identified by the duplicate key EMConfIdx.
+	 *	<P>
+	 *	The view is drawn from the persistent index when that is enabled and
+	 *	indexes the key.  Otherwise, with the table lock enabled, it is a copy
+	 *	of the index bucket taken under the read lock; with the lock disabled it
+	 *	wraps the live bucket, which the table must not modify while the view is
+	 *	in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	EMailConfirmUuid6	The SecUser key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSecUser > viewByEMConfIdx( ICFSecAuthorization Authorization,
+		CFLibUuid6 EMailConfirmUuid6 )
+	{
+		CFSecBuffSecUserByEMConfIdxKey key = probeEMConfIdx.get();
+		key.setOptionalEMailConfirmUuid6( EMailConfirmUuid6 );
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( ( pindex != null ) && isIndexedByEMConfIdx( key ) ) {
+			return( Collections.< ICFSecSecUser >unmodifiableList( pindex.getDuplicates( PIDX_EMCONFIDX, key ) ) );
+		}
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( bucketByEMConfIdx( key ) ) ) );
+		}
+		return( CFSecRamViews.of( bucketByEMConfIdx( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each SecUser instance identified by the duplicate key EMConfIdx.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	The action runs over the persistent index when that is enabled and
+	 *	indexes the key.  Otherwise, with the table lock enabled, it runs over a
+	 *	copy of the index bucket taken under the read lock, so the lock is not
+	 *	held while it runs; with the lock disabled it iterates the live bucket
+	 *	in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	EMailConfirmUuid6	The SecUser key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByEMConfIdx( ICFSecAuthorization Authorization,
+		CFLibUuid6 EMailConfirmUuid6,
+		Consumer< ? super ICFSecSecUser > action )
+	{
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( pindex != null ) {
+			CFSecBuffSecUserByEMConfIdxKey key = probeEMConfIdx.get();
+			key.setOptionalEMailConfirmUuid6( EMailConfirmUuid6 );
+			if( isIndexedByEMConfIdx( key ) ) {
+				pindex.forEachDuplicate( PIDX_EMCONFIDX, key, action );
+				return;
+			}
+		}
+		viewByEMConfIdx( Authorization,
+			EMailConfirmUuid6 ).forEach( action );
+	}
+
+	/**
+	 *	Stream the SecUser instances identified by the duplicate key EMConfIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from the persistent index or, when the
+	 *	table lock is enabled, from a copy, so it tolerates concurrent
+	 *	writers; otherwise the table must not be modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	EMailConfirmUuid6	The SecUser key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSecUser > streamByEMConfIdx( ICFSecAuthorization Authorization,
+		CFLibUuid6 EMailConfirmUuid6 )
+	{
+		return( viewByEMConfIdx( Authorization,
+			EMailConfirmUuid6 ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the SecUser instances identified by the duplicate key PwdResetIdx.
+	 *	<P>
+	 *	The view is drawn from the persistent index when that is enabled and
+	 *	indexes the key.  Otherwise, with the table lock enabled, it is a copy
+	 *	of the index bucket taken under the read lock; with the lock disabled it
+	 *	wraps the live bucket, which the table must not modify while the view is
+	 *	in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	PasswordResetUuid6	The SecUser key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSecUser > viewByPwdResetIdx( ICFSecAuthorization Authorization,
+		CFLibUuid6 PasswordResetUuid6 )
 	{
-		final String S_ProcName = "CFSecRamSecUser.readDerivedByULoginIdx";
-		CFSecBuffSecUserByULoginIdxKey key = (CFSecBuffSecUserByULoginIdxKey)schema.getFactorySecUser().newByULoginIdxKey();
-
-		key.setRequiredLoginId( LoginId );
-		ICFSecSecUser buff;
-		if( dictByULoginIdx.containsKey( key ) ) {
-			buff = dictByULoginIdx.get( key );
+		CFSecBuffSecUserByPwdResetIdxKey key = probePwdResetIdx.get();
+		key.setOptionalPasswordResetUuid6( PasswordResetUuid6 );
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( ( pindex != null ) && isIndexedByPwdResetIdx( key ) ) {
+			return( Collections.< ICFSecSecUser >unmodifiableList( pindex.getDuplicates( PIDX_PWDRESETIDX, key ) ) );
 		}
-		else {
-			buff = null;
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( bucketByPwdResetIdx( key ) ) ) );
 		}
-		return( buff );
+		return( CFSecRamViews.of( bucketByPwdResetIdx( key ) ) );
 	}
 
-	@Override
-	public ICFSecSecUser[] readDerivedByEMConfIdx( ICFSecAuthorization Authorization,
-		CFLibUuid6 EMailConfirmUuid6 )
+	/**
+	 *	Apply an action to each SecUser instance identified by the duplicate key PwdResetIdx.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	The action runs over the persistent index when that is enabled and
+	 *	indexes the key.  Otherwise, with the table lock enabled, it runs over a
+	 *	copy of the index bucket taken under the read lock, so the lock is not
+	 *	held while it runs; with the lock disabled it iterates the live bucket
+	 *	in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	PasswordResetUuid6	The SecUser key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByPwdResetIdx( ICFSecAuthorization Authorization,
+		CFLibUuid6 PasswordResetUuid6,
+		Consumer< ? super ICFSecSecUser > action )
 	{
-		final String S_ProcName = "CFSecRamSecUser.readDerivedByEMConfIdx";
-		CFSecBuffSecUserByEMConfIdxKey key = (CFSecBuffSecUserByEMConfIdxKey)schema.getFactorySecUser().newByEMConfIdxKey();
-
-		key.setOptionalEMailConfirmUuid6( EMailConfirmUuid6 );
-		ICFSecSecUser[] recArray;
-		if( dictByEMConfIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffSecUser > subdictEMConfIdx
-				= dictByEMConfIdx.get( key );
-			recArray = new ICFSecSecUser[ subdictEMConfIdx.size() ];
-			Iterator< CFSecBuffSecUser > iter = subdictEMConfIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( pindex != null ) {
+			CFSecBuffSecUserByPwdResetIdxKey key = probePwdResetIdx.get();
+			key.setOptionalPasswordResetUuid6( PasswordResetUuid6 );
+			if( isIndexedByPwdResetIdx( key ) ) {
+				pindex.forEachDuplicate( PIDX_PWDRESETIDX, key, action );
+				return;
 			}
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffSecUser > subdictEMConfIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
-			dictByEMConfIdx.put( key, subdictEMConfIdx );
-			recArray = new ICFSecSecUser[0];
-		}
-		return( recArray );
+		viewByPwdResetIdx( Authorization,
+			PasswordResetUuid6 ).forEach( action );
 	}
 
-	@Override
-	public ICFSecSecUser[] readDerivedByPwdResetIdx( ICFSecAuthorization Authorization,
+	/**
+	 *	Stream the SecUser instances identified by the duplicate key PwdResetIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from the persistent index or, when the
+	 *	table lock is enabled, from a copy, so it tolerates concurrent
+	 *	writers; otherwise the table must not be modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	PasswordResetUuid6	The SecUser key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSecUser > streamByPwdResetIdx( ICFSecAuthorization Authorization,
 		CFLibUuid6 PasswordResetUuid6 )
 	{
-		final String S_ProcName = "CFSecRamSecUser.readDerivedByPwdResetIdx";
-		CFSecBuffSecUserByPwdResetIdxKey key = (CFSecBuffSecUserByPwdResetIdxKey)schema.getFactorySecUser().newByPwdResetIdxKey();
-
-		key.setOptionalPasswordResetUuid6( PasswordResetUuid6 );
-		ICFSecSecUser[] recArray;
-		if( dictByPwdResetIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffSecUser > subdictPwdResetIdx
-				= dictByPwdResetIdx.get( key );
-			recArray = new ICFSecSecUser[ subdictPwdResetIdx.size() ];
-			Iterator< CFSecBuffSecUser > iter = subdictPwdResetIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
-		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffSecUser > subdictPwdResetIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
-			dictByPwdResetIdx.put( key, subdictPwdResetIdx );
-			recArray = new ICFSecSecUser[0];
-		}
-		return( recArray );
+		return( viewByPwdResetIdx( Authorization,
+			PasswordResetUuid6 ).stream() );
 	}
 
-	@Override
-	public ICFSecSecUser[] readDerivedByDefDevIdx( ICFSecAuthorization Authorization,
+	/**
+	 *	Get a read-only view of the SecUser instances identified by the duplicate key DefDevIdx.
+	 *	<P>
+	 *	The view is drawn from the persistent index when that is enabled and
+	 *	indexes the key.  Otherwise, with the table lock enabled, it is a copy
+	 *	of the index bucket taken under the read lock; with the lock disabled it
+	 *	wraps the live bucket, which the table must not modify while the view is
+	 *	in use.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	DfltDevUserId	The SecUser key attribute of the instance generating the id.
+	 *
+	 *	@param	DfltDevName	The SecUser key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSecUser > viewByDefDevIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 DfltDevUserId,
 		String DfltDevName )
 	{
-		final String S_ProcName = "CFSecRamSecUser.readDerivedByDefDevIdx";
-		CFSecBuffSecUserByDefDevIdxKey key = (CFSecBuffSecUserByDefDevIdxKey)schema.getFactorySecUser().newByDefDevIdxKey();
-
+		CFSecBuffSecUserByDefDevIdxKey key = probeDefDevIdx.get();
 		key.setOptionalDfltDevUserId( DfltDevUserId );
 		key.setOptionalDfltDevName( DfltDevName );
-		ICFSecSecUser[] recArray;
-		if( dictByDefDevIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffSecUser > subdictDefDevIdx
-				= dictByDefDevIdx.get( key );
-			recArray = new ICFSecSecUser[ subdictDefDevIdx.size() ];
-			Iterator< CFSecBuffSecUser > iter = subdictDefDevIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( ( pindex != null ) && isIndexedByDefDevIdx( key ) ) {
+			return( Collections.< ICFSecSecUser >unmodifiableList( pindex.getDuplicates( PIDX_DEFDEVIDX, key ) ) );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffSecUser > subdictDefDevIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
-			dictByDefDevIdx.put( key, subdictDefDevIdx );
-			recArray = new ICFSecSecUser[0];
+		if( tableLock.isEnabled() ) {
+			return( tableLock.read( () -> CFSecRamViews.copyOf( bucketByDefDevIdx( key ) ) ) );
 		}
-		return( recArray );
+		return( CFSecRamViews.of( bucketByDefDevIdx( key ) ) );
 	}
 
-	@Override
-	public ICFSecSecUser readDerivedByIdIdx( ICFSecAuthorization Authorization,
-		CFLibDbKeyHash256 SecUserId )
+	/**
+	 *	Apply an action to each SecUser instance identified by the duplicate key DefDevIdx.
+	 *	The action must not modify this table.
+	 *	<P>
+	 *	The action runs over the persistent index when that is enabled and
+	 *	indexes the key.  Otherwise, with the table lock enabled, it runs over a
+	 *	copy of the index bucket taken under the read lock, so the lock is not
+	 *	held while it runs; with the lock disabled it iterates the live bucket
+	 *	in place.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	DfltDevUserId	The SecUser key attribute of the instance generating the id.
+	 *
+	 *	@param	DfltDevName	The SecUser key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByDefDevIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 DfltDevUserId,
+		String DfltDevName,
+		Consumer< ? super ICFSecSecUser > action )
 	{
-		final String S_ProcName = "CFSecRamSecUser.readDerivedByIdIdx() ";
-		ICFSecSecUser buff;
-		if( dictByPKey.containsKey( SecUserId ) ) {
-			buff = dictByPKey.get( SecUserId );
-		}
-		else {
-			buff = null;
+		CFSecRamPersistentIndex< CFSecBuffSecUser > pindex = persistentIndex;
+		if( pindex != null ) {
+			CFSecBuffSecUserByDefDevIdxKey key = probeDefDevIdx.get();
+			key.setOptionalDfltDevUserId( DfltDevUserId );
+			key.setOptionalDfltDevName( DfltDevName );
+			if( isIndexedByDefDevIdx( key ) ) {
+				pindex.forEachDuplicate( PIDX_DEFDEVIDX, key, action );
+				return;
+			}
 		}
-		return( buff );
+		viewByDefDevIdx( Authorization,
+			DfltDevUserId,
+			DfltDevName ).forEach( action );
+	}
+
+	/**
+	 *	Stream the SecUser instances identified by the duplicate key DefDevIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator, so it may be run
+	 *	in parallel.  It is drawn from the persistent index or, when the
+	 *	table lock is enabled, from a copy, so it tolerates concurrent
+	 *	writers; otherwise the table must not be modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	DfltDevUserId	The SecUser key attribute of the instance generating the id.
+	 *
+	 *	@param	DfltDevName	The SecUser key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSecUser > streamByDefDevIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 DfltDevUserId,
+		String DfltDevName )
+	{
+		return( viewByDefDevIdx( Authorization,
+			DfltDevUserId,
+			DfltDevName ).stream() );
 	}
 
 	@Override
@@ -374,20 +1171,43 @@ public class CFSecRamSecUserTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecSecUser.CLASS_CODE.
+	 */
+	protected ICFSecSecUser[] filterRecs( ICFSecSecUser[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecSecUser buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecUser.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecSecUser[] recArray = new ICFSecSecUser[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecSecUser buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecUser.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecSecUser[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamSecUser.readAllRec";
-		ICFSecSecUser buff;
-		ArrayList<ICFSecSecUser> filteredList = new ArrayList<ICFSecSecUser>();
 		ICFSecSecUser[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecUser.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecSecUser[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	/**
@@ -395,6 +1215,8 @@ public class CFSecRamSecUserTable
 	 *
 	 *	@param	Authorization	The session authorization information.
 	 *
+	 *	@param	priorSecUserId	The SecUserId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return All the specific SecUser instances in the database accessible for the Authorization.
 	 */
 	@Override
@@ -402,7 +1224,12 @@ public class CFSecRamSecUserTable
 		CFLibDbKeyHash256 priorSecUserId )
 	{
 		final String S_ProcName = "pageAllRec";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		ICFSecSecUser[] recArray = tableLock.read( () -> {
+			List< CFSecBuffSecUser > page = CFSecRamPager.page( dictByPKey, priorSecUserId, pageSize );
+			return( page.toArray( new ICFSecSecUser[ page.size() ] ) );
+		} );
+		return( recArray );
 	}
 
 	@Override
@@ -440,17 +1267,12 @@ public class CFSecRamSecUserTable
 		CFLibUuid6 EMailConfirmUuid6 )
 	{
 		final String S_ProcName = "CFSecRamSecUser.readRecByEMConfIdx() ";
-		ICFSecSecUser buff;
-		ArrayList<ICFSecSecUser> filteredList = new ArrayList<ICFSecSecUser>();
 		ICFSecSecUser[] buffList = readDerivedByEMConfIdx( Authorization,
 			EMailConfirmUuid6 );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecUser.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSecUser)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSecUser[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -458,17 +1280,12 @@ public class CFSecRamSecUserTable
 		CFLibUuid6 PasswordResetUuid6 )
 	{
 		final String S_ProcName = "CFSecRamSecUser.readRecByPwdResetIdx() ";
-		ICFSecSecUser buff;
-		ArrayList<ICFSecSecUser> filteredList = new ArrayList<ICFSecSecUser>();
 		ICFSecSecUser[] buffList = readDerivedByPwdResetIdx( Authorization,
 			PasswordResetUuid6 );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecUser.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSecUser)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSecUser[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -477,27 +1294,27 @@ public class CFSecRamSecUserTable
 		String DfltDevName )
 	{
 		final String S_ProcName = "CFSecRamSecUser.readRecByDefDevIdx() ";
-		ICFSecSecUser buff;
-		ArrayList<ICFSecSecUser> filteredList = new ArrayList<ICFSecSecUser>();
 		ICFSecSecUser[] buffList = readDerivedByDefDevIdx( Authorization,
 			DfltDevUserId,
 			DfltDevName );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSecUser.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSecUser)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSecUser[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	/**
 	 *	Read a page array of the specific SecUser buffer instances identified by the duplicate key EMConfIdx.
+	 *	<P>
+	 *	A null EMailConfirmUuid6 pages the null bucket of dictByEMConfIdx,
+	 *	so each page costs one O(log n) descent plus the page itself.
 	 *
 	 *	@param	Authorization	The session authorization information.
 	 *
 	 *	@param	EMailConfirmUuid6	The SecUser key attribute of the instance generating the id.
 	 *
+	 *	@param	priorSecUserId	The SecUserId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -508,16 +1325,28 @@ public class CFSecRamSecUserTable
 		CFLibDbKeyHash256 priorSecUserId )
 	{
 		final String S_ProcName = "pageRecByEMConfIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffSecUserByEMConfIdxKey key = probeEMConfIdx.get();
+		key.setOptionalEMailConfirmUuid6( EMailConfirmUuid6 );
+		ICFSecSecUser[] recArray = tableLock.read( () -> {
+			List< CFSecBuffSecUser > page = CFSecRamPager.page( bucketByEMConfIdx( key ), priorSecUserId, pageSize );
+			return( page.toArray( new ICFSecSecUser[ page.size() ] ) );
+		} );
+		return( recArray );
 	}
 
 	/**
 	 *	Read a page array of the specific SecUser buffer instances identified by the duplicate key PwdResetIdx.
+	 *	<P>
+	 *	A null PasswordResetUuid6 pages the null bucket of dictByPwdResetIdx,
+	 *	so each page costs one O(log n) descent plus the page itself.
 	 *
 	 *	@param	Authorization	The session authorization information.
 	 *
 	 *	@param	PasswordResetUuid6	The SecUser key attribute of the instance generating the id.
 	 *
+	 *	@param	priorSecUserId	The SecUserId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -528,11 +1357,21 @@ public class CFSecRamSecUserTable
 		CFLibDbKeyHash256 priorSecUserId )
 	{
 		final String S_ProcName = "pageRecByPwdResetIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffSecUserByPwdResetIdxKey key = probePwdResetIdx.get();
+		key.setOptionalPasswordResetUuid6( PasswordResetUuid6 );
+		ICFSecSecUser[] recArray = tableLock.read( () -> {
+			List< CFSecBuffSecUser > page = CFSecRamPager.page( bucketByPwdResetIdx( key ), priorSecUserId, pageSize );
+			return( page.toArray( new ICFSecSecUser[ page.size() ] ) );
+		} );
+		return( recArray );
 	}
 
 	/**
 	 *	Read a page array of the specific SecUser buffer instances identified by the duplicate key DefDevIdx.
+	 *	<P>
+	 *	A null DfltDevUserId and DfltDevName page the null bucket of dictByDefDevIdx,
+	 *	so each page costs one O(log n) descent plus the page itself.
 	 *
 	 *	@param	Authorization	The session authorization information.
 	 *
@@ -540,6 +1379,8 @@ public class CFSecRamSecUserTable
 	 *
 	 *	@param	DfltDevName	The SecUser key attribute of the instance generating the id.
 	 *
+	 *	@param	priorSecUserId	The SecUserId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -551,7 +1392,15 @@ public class CFSecRamSecUserTable
 		CFLibDbKeyHash256 priorSecUserId )
 	{
 		final String S_ProcName = "pageRecByDefDevIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffSecUserByDefDevIdxKey key = probeDefDevIdx.get();
+		key.setOptionalDfltDevUserId( DfltDevUserId );
+		key.setOptionalDfltDevName( DfltDevName );
+		ICFSecSecUser[] recArray = tableLock.read( () -> {
+			List< CFSecBuffSecUser > page = CFSecRamPager.page( bucketByDefDevIdx( key ), priorSecUserId, pageSize );
+			return( page.toArray( new ICFSecSecUser[ page.size() ] ) );
+		} );
+		return( recArray );
 	}
 
 	public ICFSecSecUser updateSecUser( ICFSecAuthorization Authorization,
@@ -559,123 +1408,160 @@ public class CFSecRamSecUserTable
 	{
 		CFSecBuffSecUser Buff = (CFSecBuffSecUser)ensureRec(iBuff);
 		CFLibDbKeyHash256 pkey = Buff.getPKey();
-		CFSecBuffSecUser existing = dictByPKey.get( pkey );
-		if( existing == null ) {
-			throw new CFLibStaleCacheDetectedException( getClass(),
-				"updateSecUser",
-				"Existing record not found",
-				"Existing record not found",
-				"SecUser",
-				"SecUser",
-				pkey );
-		}
-		if( existing.getRequiredRevision() != Buff.getRequiredRevision() ) {
-			throw new CFLibCollisionDetectedException( getClass(),
-				"updateSecUser",
-				pkey );
-		}
-		Buff.setRequiredRevision( Buff.getRequiredRevision() + 1 );
-		CFSecBuffSecUserByULoginIdxKey existingKeyULoginIdx = (CFSecBuffSecUserByULoginIdxKey)schema.getFactorySecUser().newByULoginIdxKey();
-		existingKeyULoginIdx.setRequiredLoginId( existing.getRequiredLoginId() );
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			CFSecBuffSecUser existing = dictByPKey.get( pkey );
+			if( existing == null ) {
+				throw new CFLibStaleCacheDetectedException( getClass(),
+					"updateSecUser",
+					"Existing record not found",
+					"Existing record not found",
+					"SecUser",
+					"SecUser",
+					pkey );
+			}
+			if( existing.getRequiredRevision() != Buff.getRequiredRevision() ) {
+				throw new CFLibCollisionDetectedException( getClass(),
+					"updateSecUser",
+					pkey );
+			}
+			Buff.setRequiredRevision( Buff.getRequiredRevision() + 1 );
+			CFSecBuffSecUserByULoginIdxKey existingKeyULoginIdx = (CFSecBuffSecUserByULoginIdxKey)schema.getFactorySecUser().newByULoginIdxKey();
+			existingKeyULoginIdx.setRequiredLoginId( existing.getRequiredLoginId() );
 
-		CFSecBuffSecUserByULoginIdxKey newKeyULoginIdx = (CFSecBuffSecUserByULoginIdxKey)schema.getFactorySecUser().newByULoginIdxKey();
-		newKeyULoginIdx.setRequiredLoginId( Buff.getRequiredLoginId() );
+			CFSecBuffSecUserByULoginIdxKey newKeyULoginIdx = (CFSecBuffSecUserByULoginIdxKey)schema.getFactorySecUser().newByULoginIdxKey();
+			newKeyULoginIdx.setRequiredLoginId( Buff.getRequiredLoginId() );
 
-		CFSecBuffSecUserByEMConfIdxKey existingKeyEMConfIdx = (CFSecBuffSecUserByEMConfIdxKey)schema.getFactorySecUser().newByEMConfIdxKey();
-		existingKeyEMConfIdx.setOptionalEMailConfirmUuid6( existing.getOptionalEMailConfirmUuid6() );
+			CFSecBuffSecUserByEMConfIdxKey existingKeyEMConfIdx = (CFSecBuffSecUserByEMConfIdxKey)schema.getFactorySecUser().newByEMConfIdxKey();
+			existingKeyEMConfIdx.setOptionalEMailConfirmUuid6( existing.getOptionalEMailConfirmUuid6() );
 
-		CFSecBuffSecUserByEMConfIdxKey newKeyEMConfIdx = (CFSecBuffSecUserByEMConfIdxKey)schema.getFactorySecUser().newByEMConfIdxKey();
-		newKeyEMConfIdx.setOptionalEMailConfirmUuid6( Buff.getOptionalEMailConfirmUuid6() );
+			CFSecBuffSecUserByEMConfIdxKey newKeyEMConfIdx = (CFSecBuffSecUserByEMConfIdxKey)schema.getFactorySecUser().newByEMConfIdxKey();
+			newKeyEMConfIdx.setOptionalEMailConfirmUuid6( Buff.getOptionalEMailConfirmUuid6() );
 
-		CFSecBuffSecUserByPwdResetIdxKey existingKeyPwdResetIdx = (CFSecBuffSecUserByPwdResetIdxKey)schema.getFactorySecUser().newByPwdResetIdxKey();
-		existingKeyPwdResetIdx.setOptionalPasswordResetUuid6( existing.getOptionalPasswordResetUuid6() );
+			CFSecBuffSecUserByPwdResetIdxKey existingKeyPwdResetIdx = (CFSecBuffSecUserByPwdResetIdxKey)schema.getFactorySecUser().newByPwdResetIdxKey();
+			existingKeyPwdResetIdx.setOptionalPasswordResetUuid6( existing.getOptionalPasswordResetUuid6() );
 
-		CFSecBuffSecUserByPwdResetIdxKey newKeyPwdResetIdx = (CFSecBuffSecUserByPwdResetIdxKey)schema.getFactorySecUser().newByPwdResetIdxKey();
-		newKeyPwdResetIdx.setOptionalPasswordResetUuid6( Buff.getOptionalPasswordResetUuid6() );
+			CFSecBuffSecUserByPwdResetIdxKey newKeyPwdResetIdx = (CFSecBuffSecUserByPwdResetIdxKey)schema.getFactorySecUser().newByPwdResetIdxKey();
+			newKeyPwdResetIdx.setOptionalPasswordResetUuid6( Buff.getOptionalPasswordResetUuid6() );
 
-		CFSecBuffSecUserByDefDevIdxKey existingKeyDefDevIdx = (CFSecBuffSecUserByDefDevIdxKey)schema.getFactorySecUser().newByDefDevIdxKey();
-		existingKeyDefDevIdx.setOptionalDfltDevUserId( existing.getOptionalDfltDevUserId() );
-		existingKeyDefDevIdx.setOptionalDfltDevName( existing.getOptionalDfltDevName() );
+			CFSecBuffSecUserByDefDevIdxKey existingKeyDefDevIdx = (CFSecBuffSecUserByDefDevIdxKey)schema.getFactorySecUser().newByDefDevIdxKey();
+			existingKeyDefDevIdx.setOptionalDfltDevUserId( existing.getOptionalDfltDevUserId() );
+			existingKeyDefDevIdx.setOptionalDfltDevName( existing.getOptionalDfltDevName() );
 
-		CFSecBuffSecUserByDefDevIdxKey newKeyDefDevIdx = (CFSecBuffSecUserByDefDevIdxKey)schema.getFactorySecUser().newByDefDevIdxKey();
-		newKeyDefDevIdx.setOptionalDfltDevUserId( Buff.getOptionalDfltDevUserId() );
-		newKeyDefDevIdx.setOptionalDfltDevName( Buff.getOptionalDfltDevName() );
+			CFSecBuffSecUserByDefDevIdxKey newKeyDefDevIdx = (CFSecBuffSecUserByDefDevIdxKey)schema.getFactorySecUser().newByDefDevIdxKey();
+			newKeyDefDevIdx.setOptionalDfltDevUserId( Buff.getOptionalDfltDevUserId() );
+			newKeyDefDevIdx.setOptionalDfltDevName( Buff.getOptionalDfltDevName() );
 
-		// Check unique indexes
+			// Check unique indexes
 
-		if( ! existingKeyULoginIdx.equals( newKeyULoginIdx ) ) {
-			if( dictByULoginIdx.containsKey( newKeyULoginIdx ) ) {
-				throw new CFLibUniqueIndexViolationException( getClass(),
-					"updateSecUser",
-					"SecUserLoginIdx",
-					"SecUserLoginIdx",
-					newKeyULoginIdx );
+			if( ! existingKeyULoginIdx.equals( newKeyULoginIdx ) ) {
+				if( dictByULoginIdx.containsKey( newKeyULoginIdx ) ) {
+					throw new CFLibUniqueIndexViolationException( getClass(),
+						"updateSecUser",
+						"SecUserLoginIdx",
+						"SecUserLoginIdx",
+						newKeyULoginIdx );
+				}
 			}
-		}
-
-		// Validate foreign keys
-
-		// Update is valid
 
-		Map< CFLibDbKeyHash256, CFSecBuffSecUser > subdict;
+			// Validate foreign keys
 
-		dictByPKey.remove( pkey );
-		dictByPKey.put( pkey, Buff );
+			// Update is valid
 
-		dictByULoginIdx.remove( existingKeyULoginIdx );
-		dictByULoginIdx.put( newKeyULoginIdx, Buff );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdict;
 
-		subdict = dictByEMConfIdx.get( existingKeyEMConfIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
-		}
-		if( dictByEMConfIdx.containsKey( newKeyEMConfIdx ) ) {
-			subdict = dictByEMConfIdx.get( newKeyEMConfIdx );
-		}
-		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
-			dictByEMConfIdx.put( newKeyEMConfIdx, subdict );
-		}
-		subdict.put( pkey, Buff );
+			dictByPKey.put( pkey, Buff );
 
-		subdict = dictByPwdResetIdx.get( existingKeyPwdResetIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
-		}
-		if( dictByPwdResetIdx.containsKey( newKeyPwdResetIdx ) ) {
-			subdict = dictByPwdResetIdx.get( newKeyPwdResetIdx );
-		}
-		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
-			dictByPwdResetIdx.put( newKeyPwdResetIdx, subdict );
-		}
-		subdict.put( pkey, Buff );
+			if( ! existingKeyULoginIdx.equals( newKeyULoginIdx ) ) {
+				dictByULoginIdx.remove( existingKeyULoginIdx );
+			}
+			dictByULoginIdx.put( newKeyULoginIdx, Buff );
+
+			if( ! existingKeyEMConfIdx.equals( newKeyEMConfIdx ) ) {
+				subdict = dictByEMConfIdx.get( existingKeyEMConfIdx );
+				if( subdict != null ) {
+					subdict.remove( pkey );
+					if( subdict.isEmpty() ) {
+						dictByEMConfIdx.remove( existingKeyEMConfIdx );
+					}
+				}
+			}
+			if( dictByEMConfIdx.containsKey( newKeyEMConfIdx ) ) {
+				subdict = dictByEMConfIdx.get( newKeyEMConfIdx );
+			}
+			else {
+				subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
+				dictByEMConfIdx.put( newKeyEMConfIdx, subdict );
+			}
+			subdict.put( pkey, Buff );
+
+			if( ! existingKeyPwdResetIdx.equals( newKeyPwdResetIdx ) ) {
+				subdict = dictByPwdResetIdx.get( existingKeyPwdResetIdx );
+				if( subdict != null ) {
+					subdict.remove( pkey );
+					if( subdict.isEmpty() ) {
+						dictByPwdResetIdx.remove( existingKeyPwdResetIdx );
+					}
+				}
+			}
+			if( dictByPwdResetIdx.containsKey( newKeyPwdResetIdx ) ) {
+				subdict = dictByPwdResetIdx.get( newKeyPwdResetIdx );
+			}
+			else {
+				subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
+				dictByPwdResetIdx.put( newKeyPwdResetIdx, subdict );
+			}
+			subdict.put( pkey, Buff );
+
+			if( ! existingKeyDefDevIdx.equals( newKeyDefDevIdx ) ) {
+				subdict = dictByDefDevIdx.get( existingKeyDefDevIdx );
+				if( subdict != null ) {
+					subdict.remove( pkey );
+					if( subdict.isEmpty() ) {
+						dictByDefDevIdx.remove( existingKeyDefDevIdx );
+					}
+				}
+			}
+			if( dictByDefDevIdx.containsKey( newKeyDefDevIdx ) ) {
+				subdict = dictByDefDevIdx.get( newKeyDefDevIdx );
+			}
+			else {
+				subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
+				dictByDefDevIdx.put( newKeyDefDevIdx, subdict );
+			}
+			subdict.put( pkey, Buff );
 
-		subdict = dictByDefDevIdx.get( existingKeyDefDevIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+			CFSecRamTransaction.record( schema, existing, Buff );
+			applyPersistentIndex( existing, Buff );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
 		}
-		if( dictByDefDevIdx.containsKey( newKeyDefDevIdx ) ) {
-			subdict = dictByDefDevIdx.get( newKeyDefDevIdx );
+		finally {
+			tableLock.unlockWrite( stamp );
 		}
-		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffSecUser >();
-			dictByDefDevIdx.put( newKeyDefDevIdx, subdict );
-		}
-		subdict.put( pkey, Buff );
-
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
 	@Override
 	public void deleteSecUser( ICFSecAuthorization Authorization,
 		ICFSecSecUser iBuff )
+	{
+		CFSecRamTransaction.atomically( schema, () -> deleteSecUserCascade( Authorization, iBuff ) );
+	}
+
+	/**
+	 *	Delete the SecUser and every row that depends on it.  deleteSecUser() runs
+	 *	this as one transaction so a failure partway through changes nothing.
+	 */
+	protected void deleteSecUserCascade( ICFSecAuthorization Authorization,
+		ICFSecSecUser iBuff )
 	{
 		final String S_ProcName = "CFSecRamSecUserTable.deleteSecUser() ";
 		CFSecBuffSecUser Buff = (CFSecBuffSecUser)ensureRec(iBuff);
 		int classCode;
 		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
-		CFSecBuffSecUser existing = dictByPKey.get( pkey );
+		CFSecBuffSecUser existing = tableLock.read( () -> dictByPKey.get( pkey ) );
 		if( existing == null ) {
 			return;
 		}
@@ -714,61 +1600,82 @@ public class CFSecRamSecUserTable
 						existing.getRequiredSecUserId() );
 					schema.getTableSecDevice().deleteSecDeviceByUserIdx( Authorization,
 						existing.getRequiredSecUserId() );
-		CFSecBuffSecUserByULoginIdxKey keyULoginIdx = (CFSecBuffSecUserByULoginIdxKey)schema.getFactorySecUser().newByULoginIdxKey();
-		keyULoginIdx.setRequiredLoginId( existing.getRequiredLoginId() );
-
-		CFSecBuffSecUserByEMConfIdxKey keyEMConfIdx = (CFSecBuffSecUserByEMConfIdxKey)schema.getFactorySecUser().newByEMConfIdxKey();
-		keyEMConfIdx.setOptionalEMailConfirmUuid6( existing.getOptionalEMailConfirmUuid6() );
+		// The cascades above re-enter this and other tables, so the own
+		// dictionaries are only locked once they have all completed.
+		long lsn;
+		long stamp = tableLock.writeLock();
+		try {
+			existing = dictByPKey.get( pkey );
+			if( existing == null ) {
+				return;
+			}
+			CFSecBuffSecUserByULoginIdxKey keyULoginIdx = (CFSecBuffSecUserByULoginIdxKey)schema.getFactorySecUser().newByULoginIdxKey();
+			keyULoginIdx.setRequiredLoginId( existing.getRequiredLoginId() );
 
-		CFSecBuffSecUserByPwdResetIdxKey keyPwdResetIdx = (CFSecBuffSecUserByPwdResetIdxKey)schema.getFactorySecUser().newByPwdResetIdxKey();
-		keyPwdResetIdx.setOptionalPasswordResetUuid6( existing.getOptionalPasswordResetUuid6() );
+			CFSecBuffSecUserByEMConfIdxKey keyEMConfIdx = (CFSecBuffSecUserByEMConfIdxKey)schema.getFactorySecUser().newByEMConfIdxKey();
+			keyEMConfIdx.setOptionalEMailConfirmUuid6( existing.getOptionalEMailConfirmUuid6() );
 
-		CFSecBuffSecUserByDefDevIdxKey keyDefDevIdx = (CFSecBuffSecUserByDefDevIdxKey)schema.getFactorySecUser().newByDefDevIdxKey();
-		keyDefDevIdx.setOptionalDfltDevUserId( existing.getOptionalDfltDevUserId() );
-		keyDefDevIdx.setOptionalDfltDevName( existing.getOptionalDfltDevName() );
+			CFSecBuffSecUserByPwdResetIdxKey keyPwdResetIdx = (CFSecBuffSecUserByPwdResetIdxKey)schema.getFactorySecUser().newByPwdResetIdxKey();
+			keyPwdResetIdx.setOptionalPasswordResetUuid6( existing.getOptionalPasswordResetUuid6() );
 
-		// Validate reverse foreign keys
+			CFSecBuffSecUserByDefDevIdxKey keyDefDevIdx = (CFSecBuffSecUserByDefDevIdxKey)schema.getFactorySecUser().newByDefDevIdxKey();
+			keyDefDevIdx.setOptionalDfltDevUserId( existing.getOptionalDfltDevUserId() );
+			keyDefDevIdx.setOptionalDfltDevName( existing.getOptionalDfltDevName() );
 
-		// Delete is valid
-		Map< CFLibDbKeyHash256, CFSecBuffSecUser > subdict;
+			// Validate reverse foreign keys
 
-		dictByPKey.remove( pkey );
+			// Delete is valid
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdict;
 
-		dictByULoginIdx.remove( keyULoginIdx );
+			dictByPKey.remove( pkey );
 
-		subdict = dictByEMConfIdx.get( keyEMConfIdx );
-		subdict.remove( pkey );
+			dictByULoginIdx.remove( keyULoginIdx );
 
-		subdict = dictByPwdResetIdx.get( keyPwdResetIdx );
-		subdict.remove( pkey );
+			subdict = dictByEMConfIdx.get( keyEMConfIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByEMConfIdx.remove( keyEMConfIdx );
+				}
+			}
 
-		subdict = dictByDefDevIdx.get( keyDefDevIdx );
-		subdict.remove( pkey );
+			subdict = dictByPwdResetIdx.get( keyPwdResetIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByPwdResetIdx.remove( keyPwdResetIdx );
+				}
+			}
 
+			subdict = dictByDefDevIdx.get( keyDefDevIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByDefDevIdx.remove( keyDefDevIdx );
+				}
+			}
+			CFSecRamTransaction.record( schema, existing, null );
+			applyPersistentIndex( existing, null );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		}
+		finally {
+			tableLock.unlockWrite( stamp );
+		}
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteSecUserByIdIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffSecUser cur;
 		LinkedList<CFSecBuffSecUser> matchSet = new LinkedList<CFSecBuffSecUser>();
-		Iterator<CFSecBuffSecUser> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = tableLock.read( () -> dictByPKey.get( argKey ) );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffSecUser> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecUser)(schema.getTableSecUser().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecUserId() ));
 			deleteSecUser( Authorization, cur );
 		}
 	}
@@ -787,24 +1694,22 @@ public class CFSecRamSecUserTable
 		ICFSecSecUserByULoginIdxKey argKey )
 	{
 		CFSecBuffSecUser cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		final CFSecBuffSecUserByULoginIdxKey key;
+		if( argKey instanceof CFSecBuffSecUserByULoginIdxKey ) {
+			key = (CFSecBuffSecUserByULoginIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffSecUserByULoginIdxKey)schema.getFactorySecUser().newByULoginIdxKey();
+			key.setRequiredLoginId( argKey.getRequiredLoginId() );
 		}
 		LinkedList<CFSecBuffSecUser> matchSet = new LinkedList<CFSecBuffSecUser>();
-		Iterator<CFSecBuffSecUser> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = tableLock.readOptimistic( () -> dictByULoginIdx.get( key ) );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffSecUser> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecUser)(schema.getTableSecUser().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecUserId() ));
 			deleteSecUser( Authorization, cur );
 		}
 	}
@@ -823,26 +1728,28 @@ public class CFSecRamSecUserTable
 		ICFSecSecUserByEMConfIdxKey argKey )
 	{
 		CFSecBuffSecUser cur;
-		boolean anyNotNull = false;
-		if( argKey.getOptionalEMailConfirmUuid6() != null ) {
-			anyNotNull = true;
-		}
-		if( ! anyNotNull ) {
+		if( argKey.getOptionalEMailConfirmUuid6() == null ) {
 			return;
 		}
-		LinkedList<CFSecBuffSecUser> matchSet = new LinkedList<CFSecBuffSecUser>();
-		Iterator<CFSecBuffSecUser> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		final CFSecBuffSecUserByEMConfIdxKey key;
+		if( argKey instanceof CFSecBuffSecUserByEMConfIdxKey ) {
+			key = (CFSecBuffSecUserByEMConfIdxKey)argKey;
 		}
+		else {
+			key = (CFSecBuffSecUserByEMConfIdxKey)schema.getFactorySecUser().newByEMConfIdxKey();
+			key.setOptionalEMailConfirmUuid6( argKey.getOptionalEMailConfirmUuid6() );
+		}
+		LinkedList<CFSecBuffSecUser> matchSet = tableLock.read( () -> {
+			LinkedList<CFSecBuffSecUser> matches = new LinkedList<CFSecBuffSecUser>();
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictEMConfIdx = bucketByEMConfIdx( key );
+			if( subdictEMConfIdx != null ) {
+				matches.addAll( subdictEMConfIdx.values() );
+			}
+			return( matches );
+		} );
 		Iterator<CFSecBuffSecUser> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecUser)(schema.getTableSecUser().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecUserId() ));
 			deleteSecUser( Authorization, cur );
 		}
 	}
@@ -861,26 +1768,28 @@ public class CFSecRamSecUserTable
 		ICFSecSecUserByPwdResetIdxKey argKey )
 	{
 		CFSecBuffSecUser cur;
-		boolean anyNotNull = false;
-		if( argKey.getOptionalPasswordResetUuid6() != null ) {
-			anyNotNull = true;
-		}
-		if( ! anyNotNull ) {
+		if( argKey.getOptionalPasswordResetUuid6() == null ) {
 			return;
 		}
-		LinkedList<CFSecBuffSecUser> matchSet = new LinkedList<CFSecBuffSecUser>();
-		Iterator<CFSecBuffSecUser> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		final CFSecBuffSecUserByPwdResetIdxKey key;
+		if( argKey instanceof CFSecBuffSecUserByPwdResetIdxKey ) {
+			key = (CFSecBuffSecUserByPwdResetIdxKey)argKey;
 		}
+		else {
+			key = (CFSecBuffSecUserByPwdResetIdxKey)schema.getFactorySecUser().newByPwdResetIdxKey();
+			key.setOptionalPasswordResetUuid6( argKey.getOptionalPasswordResetUuid6() );
+		}
+		LinkedList<CFSecBuffSecUser> matchSet = tableLock.read( () -> {
+			LinkedList<CFSecBuffSecUser> matches = new LinkedList<CFSecBuffSecUser>();
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictPwdResetIdx = bucketByPwdResetIdx( key );
+			if( subdictPwdResetIdx != null ) {
+				matches.addAll( subdictPwdResetIdx.values() );
+			}
+			return( matches );
+		} );
 		Iterator<CFSecBuffSecUser> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecUser)(schema.getTableSecUser().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecUserId() ));
 			deleteSecUser( Authorization, cur );
 		}
 	}
@@ -901,29 +1810,29 @@ public class CFSecRamSecUserTable
 		ICFSecSecUserByDefDevIdxKey argKey )
 	{
 		CFSecBuffSecUser cur;
-		boolean anyNotNull = false;
-		if( argKey.getOptionalDfltDevUserId() != null ) {
-			anyNotNull = true;
-		}
-		if( argKey.getOptionalDfltDevName() != null ) {
-			anyNotNull = true;
-		}
-		if( ! anyNotNull ) {
+		if( ( argKey.getOptionalDfltDevUserId() == null ) && ( argKey.getOptionalDfltDevName() == null ) ) {
 			return;
 		}
-		LinkedList<CFSecBuffSecUser> matchSet = new LinkedList<CFSecBuffSecUser>();
-		Iterator<CFSecBuffSecUser> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		final CFSecBuffSecUserByDefDevIdxKey key;
+		if( argKey instanceof CFSecBuffSecUserByDefDevIdxKey ) {
+			key = (CFSecBuffSecUserByDefDevIdxKey)argKey;
 		}
+		else {
+			key = (CFSecBuffSecUserByDefDevIdxKey)schema.getFactorySecUser().newByDefDevIdxKey();
+			key.setOptionalDfltDevUserId( argKey.getOptionalDfltDevUserId() );
+			key.setOptionalDfltDevName( argKey.getOptionalDfltDevName() );
+		}
+		LinkedList<CFSecBuffSecUser> matchSet = tableLock.read( () -> {
+			LinkedList<CFSecBuffSecUser> matches = new LinkedList<CFSecBuffSecUser>();
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffSecUser > subdictDefDevIdx = bucketByDefDevIdx( key );
+			if( subdictDefDevIdx != null ) {
+				matches.addAll( subdictDefDevIdx.values() );
+			}
+			return( matches );
+		} );
 		Iterator<CFSecBuffSecUser> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSecUser)(schema.getTableSecUser().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSecUserId() ));
 			deleteSecUser( Authorization, cur );
 		}
 	}
@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,30 +48,33 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for Service.
  */
 public class CFSecRamServiceTable
-	implements ICFSecServiceTable
+	implements ICFSecServiceTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecService[] EMPTY_REC_ARRAY = new ICFSecService[0];
+
 	private ICFSecSchema schema;
-	private Map< CFLibDbKeyHash256,
+	private NavigableMap< CFLibDbKeyHash256,
 				CFSecBuffService > dictByPKey
-		= new HashMap< CFLibDbKeyHash256,
+		= new TreeMap< CFLibDbKeyHash256,
 				CFSecBuffService >();
 	private Map< CFSecBuffServiceByClusterIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffService >> dictByClusterIdx
 		= new HashMap< CFSecBuffServiceByClusterIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffService >>();
 	private Map< CFSecBuffServiceByHostIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffService >> dictByHostIdx
 		= new HashMap< CFSecBuffServiceByHostIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffService >>();
 	private Map< CFSecBuffServiceByTypeIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffService >> dictByTypeIdx
 		= new HashMap< CFSecBuffServiceByTypeIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffService >>();
 	private Map< CFSecBuffServiceByUTypeIdxKey,
 			CFSecBuffService > dictByUTypeIdx
@@ -80,6 +85,24 @@ public class CFSecRamServiceTable
 		= new HashMap< CFSecBuffServiceByUHostPortIdxKey,
 			CFSecBuffService >();
 
+	private final List< CFLibDbKeyHash256 > bulkPKeys = new ArrayList< CFLibDbKeyHash256 >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffServiceByClusterIdxKey > probeClusterIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffServiceByClusterIdxKey)schema.getFactoryService().newByClusterIdxKey() );
+	private final ThreadLocal< CFSecBuffServiceByHostIdxKey > probeHostIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffServiceByHostIdxKey)schema.getFactoryService().newByHostIdxKey() );
+	private final ThreadLocal< CFSecBuffServiceByTypeIdxKey > probeTypeIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffServiceByTypeIdxKey)schema.getFactoryService().newByTypeIdxKey() );
+	private final ThreadLocal< CFSecBuffServiceByUTypeIdxKey > probeUTypeIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffServiceByUTypeIdxKey)schema.getFactoryService().newByUTypeIdxKey() );
+	private final ThreadLocal< CFSecBuffServiceByUHostPortIdxKey > probeUHostPortIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffServiceByUHostPortIdxKey)schema.getFactoryService().newByUHostPortIdxKey() );
+
 	public CFSecRamServiceTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
@@ -99,11 +122,321 @@ public class CFSecRamServiceTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffService > recs ) {
+		dictByPKey.clear();
+		for( CFSecBuffService Buff : recs ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			dictByPKey.put( pkey, Buff );
+		}
+		rebuildIndexes();
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffService > snapshotRecs() {
+		return( new ArrayList< CFSecBuffService >( dictByPKey.values() ) );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffService lookupRec( Object pkey ) {
+		return( dictByPKey.get( pkey ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffService before ) {
+		long lsn = 0L;
+		CFSecBuffService current;
+		if( before == null ) {
+			current = dictByPKey.remove( pkey );
+		}
+		else {
+			current = dictByPKey.put( (CFLibDbKeyHash256)pkey, before );
+		}
+		if( current != null ) {
+			unindexRec( current );
+		}
+		if( before != null ) {
+			indexRec( before );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+		}
+		else if( current != null ) {
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffService Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffServiceByClusterIdxKey keyClusterIdx = (CFSecBuffServiceByClusterIdxKey)schema.getFactoryService().newByClusterIdxKey();
+		keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictClusterIdx;
+		if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
+			subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+		}
+		else {
+			subdictClusterIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffService >();
+			dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
+		}
+		subdictClusterIdx.put( pkey, Buff );
+
+		CFSecBuffServiceByHostIdxKey keyHostIdx = (CFSecBuffServiceByHostIdxKey)schema.getFactoryService().newByHostIdxKey();
+		keyHostIdx.setRequiredHostNodeId( Buff.getRequiredHostNodeId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictHostIdx;
+		if( dictByHostIdx.containsKey( keyHostIdx ) ) {
+			subdictHostIdx = dictByHostIdx.get( keyHostIdx );
+		}
+		else {
+			subdictHostIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffService >();
+			dictByHostIdx.put( keyHostIdx, subdictHostIdx );
+		}
+		subdictHostIdx.put( pkey, Buff );
+
+		CFSecBuffServiceByTypeIdxKey keyTypeIdx = (CFSecBuffServiceByTypeIdxKey)schema.getFactoryService().newByTypeIdxKey();
+		keyTypeIdx.setRequiredServiceTypeId( Buff.getRequiredServiceTypeId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictTypeIdx;
+		if( dictByTypeIdx.containsKey( keyTypeIdx ) ) {
+			subdictTypeIdx = dictByTypeIdx.get( keyTypeIdx );
+		}
+		else {
+			subdictTypeIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffService >();
+			dictByTypeIdx.put( keyTypeIdx, subdictTypeIdx );
+		}
+		subdictTypeIdx.put( pkey, Buff );
+
+		CFSecBuffServiceByUTypeIdxKey keyUTypeIdx = (CFSecBuffServiceByUTypeIdxKey)schema.getFactoryService().newByUTypeIdxKey();
+		keyUTypeIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyUTypeIdx.setRequiredHostNodeId( Buff.getRequiredHostNodeId() );
+		keyUTypeIdx.setRequiredServiceTypeId( Buff.getRequiredServiceTypeId() );
+		dictByUTypeIdx.put( keyUTypeIdx, Buff );
+
+		CFSecBuffServiceByUHostPortIdxKey keyUHostPortIdx = (CFSecBuffServiceByUHostPortIdxKey)schema.getFactoryService().newByUHostPortIdxKey();
+		keyUHostPortIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyUHostPortIdx.setRequiredHostNodeId( Buff.getRequiredHostNodeId() );
+		keyUHostPortIdx.setRequiredHostPort( Buff.getRequiredHostPort() );
+		dictByUHostPortIdx.put( keyUHostPortIdx, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffService Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffServiceByClusterIdxKey keyClusterIdx = (CFSecBuffServiceByClusterIdxKey)schema.getFactoryService().newByClusterIdxKey();
+		keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+		if( subdictClusterIdx != null ) {
+			subdictClusterIdx.remove( pkey );
+			if( subdictClusterIdx.isEmpty() ) {
+				dictByClusterIdx.remove( keyClusterIdx );
+			}
+		}
+
+		CFSecBuffServiceByHostIdxKey keyHostIdx = (CFSecBuffServiceByHostIdxKey)schema.getFactoryService().newByHostIdxKey();
+		keyHostIdx.setRequiredHostNodeId( Buff.getRequiredHostNodeId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictHostIdx = dictByHostIdx.get( keyHostIdx );
+		if( subdictHostIdx != null ) {
+			subdictHostIdx.remove( pkey );
+			if( subdictHostIdx.isEmpty() ) {
+				dictByHostIdx.remove( keyHostIdx );
+			}
+		}
+
+		CFSecBuffServiceByTypeIdxKey keyTypeIdx = (CFSecBuffServiceByTypeIdxKey)schema.getFactoryService().newByTypeIdxKey();
+		keyTypeIdx.setRequiredServiceTypeId( Buff.getRequiredServiceTypeId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictTypeIdx = dictByTypeIdx.get( keyTypeIdx );
+		if( subdictTypeIdx != null ) {
+			subdictTypeIdx.remove( pkey );
+			if( subdictTypeIdx.isEmpty() ) {
+				dictByTypeIdx.remove( keyTypeIdx );
+			}
+		}
+
+		CFSecBuffServiceByUTypeIdxKey keyUTypeIdx = (CFSecBuffServiceByUTypeIdxKey)schema.getFactoryService().newByUTypeIdxKey();
+		keyUTypeIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyUTypeIdx.setRequiredHostNodeId( Buff.getRequiredHostNodeId() );
+		keyUTypeIdx.setRequiredServiceTypeId( Buff.getRequiredServiceTypeId() );
+		dictByUTypeIdx.remove( keyUTypeIdx );
+
+		CFSecBuffServiceByUHostPortIdxKey keyUHostPortIdx = (CFSecBuffServiceByUHostPortIdxKey)schema.getFactoryService().newByUHostPortIdxKey();
+		keyUHostPortIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyUHostPortIdx.setRequiredHostNodeId( Buff.getRequiredHostNodeId() );
+		keyUHostPortIdx.setRequiredHostPort( Buff.getRequiredHostPort() );
+		dictByUHostPortIdx.remove( keyUHostPortIdx );
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildClusterIdx,
+			this::rebuildHostIdx,
+			this::rebuildTypeIdx,
+			this::rebuildUTypeIdx,
+			this::rebuildUHostPortIdx );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	protected void rebuildClusterIdx() {
+		dictByClusterIdx.clear();
+		for( CFSecBuffService Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffServiceByClusterIdxKey keyClusterIdx = (CFSecBuffServiceByClusterIdxKey)schema.getFactoryService().newByClusterIdxKey();
+			keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictClusterIdx;
+			if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
+				subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+			}
+			else {
+				subdictClusterIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffService >();
+				dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
+			}
+			subdictClusterIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildHostIdx() {
+		dictByHostIdx.clear();
+		for( CFSecBuffService Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffServiceByHostIdxKey keyHostIdx = (CFSecBuffServiceByHostIdxKey)schema.getFactoryService().newByHostIdxKey();
+			keyHostIdx.setRequiredHostNodeId( Buff.getRequiredHostNodeId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictHostIdx;
+			if( dictByHostIdx.containsKey( keyHostIdx ) ) {
+				subdictHostIdx = dictByHostIdx.get( keyHostIdx );
+			}
+			else {
+				subdictHostIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffService >();
+				dictByHostIdx.put( keyHostIdx, subdictHostIdx );
+			}
+			subdictHostIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildTypeIdx() {
+		dictByTypeIdx.clear();
+		for( CFSecBuffService Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffServiceByTypeIdxKey keyTypeIdx = (CFSecBuffServiceByTypeIdxKey)schema.getFactoryService().newByTypeIdxKey();
+			keyTypeIdx.setRequiredServiceTypeId( Buff.getRequiredServiceTypeId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictTypeIdx;
+			if( dictByTypeIdx.containsKey( keyTypeIdx ) ) {
+				subdictTypeIdx = dictByTypeIdx.get( keyTypeIdx );
+			}
+			else {
+				subdictTypeIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffService >();
+				dictByTypeIdx.put( keyTypeIdx, subdictTypeIdx );
+			}
+			subdictTypeIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildUTypeIdx() {
+		dictByUTypeIdx.clear();
+		for( CFSecBuffService Buff : dictByPKey.values() ) {
+			CFSecBuffServiceByUTypeIdxKey keyUTypeIdx = (CFSecBuffServiceByUTypeIdxKey)schema.getFactoryService().newByUTypeIdxKey();
+			keyUTypeIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			keyUTypeIdx.setRequiredHostNodeId( Buff.getRequiredHostNodeId() );
+			keyUTypeIdx.setRequiredServiceTypeId( Buff.getRequiredServiceTypeId() );
+			dictByUTypeIdx.put( keyUTypeIdx, Buff );
+		}
+	}
+
+	protected void rebuildUHostPortIdx() {
+		dictByUHostPortIdx.clear();
+		for( CFSecBuffService Buff : dictByPKey.values() ) {
+			CFSecBuffServiceByUHostPortIdxKey keyUHostPortIdx = (CFSecBuffServiceByUHostPortIdxKey)schema.getFactoryService().newByUHostPortIdxKey();
+			keyUHostPortIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			keyUHostPortIdx.setRequiredHostNodeId( Buff.getRequiredHostNodeId() );
+			keyUHostPortIdx.setRequiredHostPort( Buff.getRequiredHostPort() );
+			dictByUHostPortIdx.put( keyUHostPortIdx, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< CFSecBuffService > staged = new ArrayList< CFSecBuffService >();
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffService Buff = dictByPKey.get( pkey );
+			if( Buff == null ) {
+				continue;
+			}
+			staged.add( Buff );
+			CFSecBuffServiceByUTypeIdxKey keyUTypeIdx = (CFSecBuffServiceByUTypeIdxKey)schema.getFactoryService().newByUTypeIdxKey();
+			keyUTypeIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			keyUTypeIdx.setRequiredHostNodeId( Buff.getRequiredHostNodeId() );
+			keyUTypeIdx.setRequiredServiceTypeId( Buff.getRequiredServiceTypeId() );
+			if( dictByUTypeIdx.get( keyUTypeIdx ) != Buff ) {
+				violations.add( "Service " + Buff.getPKey() + " duplicates the ServiceUTypeIdx key " + keyUTypeIdx );
+			}
+			CFSecBuffServiceByUHostPortIdxKey keyUHostPortIdx = (CFSecBuffServiceByUHostPortIdxKey)schema.getFactoryService().newByUHostPortIdxKey();
+			keyUHostPortIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			keyUHostPortIdx.setRequiredHostNodeId( Buff.getRequiredHostNodeId() );
+			keyUHostPortIdx.setRequiredHostPort( Buff.getRequiredHostPort() );
+			if( dictByUHostPortIdx.get( keyUHostPortIdx ) != Buff ) {
+				violations.add( "Service " + Buff.getPKey() + " duplicates the ServiceUHostPort key " + keyUHostPortIdx );
+			}
+		}
+
+		Map< CFLibDbKeyHash256, List< CFSecBuffService > > byServiceCluster = new HashMap< CFLibDbKeyHash256, List< CFSecBuffService > >();
+		for( CFSecBuffService Buff : staged ) {
+			byServiceCluster.computeIfAbsent( Buff.getRequiredClusterId(), ( k ) -> new ArrayList< CFSecBuffService >() ).add( Buff );
+		}
+		for( Map.Entry< CFLibDbKeyHash256, List< CFSecBuffService > > entry : byServiceCluster.entrySet() ) {
+			if( null == schema.getTableCluster().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffService Buff : entry.getValue() ) {
+					violations.add( "Service " + Buff.getPKey() + " references the missing Cluster " + entry.getKey() + " through ServiceCluster" );
+				}
+			}
+		}
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffService Buff = dictByPKey.remove( pkey );
+			if( Buff != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+			}
+		}
+		bulkPKeys.clear();
+		rebuildIndexes();
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		bulkPKeys.clear();
+	}
+
 	@Override
 	public ICFSecService createService( ICFSecAuthorization Authorization,
 		ICFSecService iBuff )
 	{
 		final String S_ProcName = "createService";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffService Buff = (CFSecBuffService)ensureRec(iBuff);
 		CFLibDbKeyHash256 pkey;
@@ -134,7 +467,7 @@ public class CFSecRamServiceTable
 			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
 		}
 
-		if( dictByUTypeIdx.containsKey( keyUTypeIdx ) ) {
+		if( ( ! bulkLoad ) && dictByUTypeIdx.containsKey( keyUTypeIdx ) ) {
 			throw new CFLibUniqueIndexViolationException( getClass(),
 				S_ProcName,
 				"ServiceUTypeIdx",
@@ -142,7 +475,7 @@ public class CFSecRamServiceTable
 				keyUTypeIdx );
 		}
 
-		if( dictByUHostPortIdx.containsKey( keyUHostPortIdx ) ) {
+		if( ( ! bulkLoad ) && dictByUHostPortIdx.containsKey( keyUHostPortIdx ) ) {
 			throw new CFLibUniqueIndexViolationException( getClass(),
 				S_ProcName,
 				"ServiceUHostPort",
@@ -155,7 +488,7 @@ public class CFSecRamServiceTable
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableCluster().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredClusterId() ) )
 				{
@@ -175,40 +508,47 @@ public class CFSecRamServiceTable
 		// Proceed with adding the new record
 
 		dictByPKey.put( pkey, Buff );
+		if( bulkLoad ) {
+			bulkPKeys.add( pkey );
+		}
 
-		Map< CFLibDbKeyHash256, CFSecBuffService > subdictClusterIdx;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictClusterIdx;
 		if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
 			subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
 		}
 		else {
-			subdictClusterIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffService >();
+			subdictClusterIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffService >();
 			dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
 		}
 		subdictClusterIdx.put( pkey, Buff );
 
-		Map< CFLibDbKeyHash256, CFSecBuffService > subdictHostIdx;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictHostIdx;
 		if( dictByHostIdx.containsKey( keyHostIdx ) ) {
 			subdictHostIdx = dictByHostIdx.get( keyHostIdx );
 		}
 		else {
-			subdictHostIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffService >();
+			subdictHostIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffService >();
 			dictByHostIdx.put( keyHostIdx, subdictHostIdx );
 		}
 		subdictHostIdx.put( pkey, Buff );
 
-		Map< CFLibDbKeyHash256, CFSecBuffService > subdictTypeIdx;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictTypeIdx;
 		if( dictByTypeIdx.containsKey( keyTypeIdx ) ) {
 			subdictTypeIdx = dictByTypeIdx.get( keyTypeIdx );
 		}
 		else {
-			subdictTypeIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffService >();
+			subdictTypeIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffService >();
 			dictByTypeIdx.put( keyTypeIdx, subdictTypeIdx );
 		}
 		subdictTypeIdx.put( pkey, Buff );
 
-		dictByUTypeIdx.put( keyUTypeIdx, Buff );
+		dictByUTypeIdx.putIfAbsent( keyUTypeIdx, Buff );
 
-		dictByUHostPortIdx.put( keyUHostPortIdx, Buff );
+		dictByUHostPortIdx.putIfAbsent( keyUHostPortIdx, Buff );
+
+		CFSecRamTransaction.record( schema, null, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 
 		if (Buff == null) {
 			return( null );
@@ -276,25 +616,19 @@ public class CFSecRamServiceTable
 		CFLibDbKeyHash256 ClusterId )
 	{
 		final String S_ProcName = "CFSecRamService.readDerivedByClusterIdx";
-		CFSecBuffServiceByClusterIdxKey key = (CFSecBuffServiceByClusterIdxKey)schema.getFactoryService().newByClusterIdxKey();
+		CFSecBuffServiceByClusterIdxKey key = probeClusterIdx.get();
 
 		key.setRequiredClusterId( ClusterId );
-		ICFSecService[] recArray;
-		if( dictByClusterIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffService > subdictClusterIdx
-				= dictByClusterIdx.get( key );
-			recArray = new ICFSecService[ subdictClusterIdx.size() ];
-			Iterator< CFSecBuffService > iter = subdictClusterIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictClusterIdx
+			= dictByClusterIdx.get( key );
+		if( ( subdictClusterIdx == null ) || subdictClusterIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffService > subdictClusterIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffService >();
-			dictByClusterIdx.put( key, subdictClusterIdx );
-			recArray = new ICFSecService[0];
+		ICFSecService[] recArray = new ICFSecService[ subdictClusterIdx.size() ];
+		Iterator< CFSecBuffService > iter = subdictClusterIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -304,25 +638,19 @@ public class CFSecRamServiceTable
 		CFLibDbKeyHash256 HostNodeId )
 	{
 		final String S_ProcName = "CFSecRamService.readDerivedByHostIdx";
-		CFSecBuffServiceByHostIdxKey key = (CFSecBuffServiceByHostIdxKey)schema.getFactoryService().newByHostIdxKey();
+		CFSecBuffServiceByHostIdxKey key = probeHostIdx.get();
 
 		key.setRequiredHostNodeId( HostNodeId );
-		ICFSecService[] recArray;
-		if( dictByHostIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffService > subdictHostIdx
-				= dictByHostIdx.get( key );
-			recArray = new ICFSecService[ subdictHostIdx.size() ];
-			Iterator< CFSecBuffService > iter = subdictHostIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictHostIdx
+			= dictByHostIdx.get( key );
+		if( ( subdictHostIdx == null ) || subdictHostIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffService > subdictHostIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffService >();
-			dictByHostIdx.put( key, subdictHostIdx );
-			recArray = new ICFSecService[0];
+		ICFSecService[] recArray = new ICFSecService[ subdictHostIdx.size() ];
+		Iterator< CFSecBuffService > iter = subdictHostIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -332,25 +660,19 @@ public class CFSecRamServiceTable
 		CFLibDbKeyHash256 ServiceTypeId )
 	{
 		final String S_ProcName = "CFSecRamService.readDerivedByTypeIdx";
-		CFSecBuffServiceByTypeIdxKey key = (CFSecBuffServiceByTypeIdxKey)schema.getFactoryService().newByTypeIdxKey();
+		CFSecBuffServiceByTypeIdxKey key = probeTypeIdx.get();
 
 		key.setRequiredServiceTypeId( ServiceTypeId );
-		ICFSecService[] recArray;
-		if( dictByTypeIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffService > subdictTypeIdx
-				= dictByTypeIdx.get( key );
-			recArray = new ICFSecService[ subdictTypeIdx.size() ];
-			Iterator< CFSecBuffService > iter = subdictTypeIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictTypeIdx
+			= dictByTypeIdx.get( key );
+		if( ( subdictTypeIdx == null ) || subdictTypeIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffService > subdictTypeIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffService >();
-			dictByTypeIdx.put( key, subdictTypeIdx );
-			recArray = new ICFSecService[0];
+		ICFSecService[] recArray = new ICFSecService[ subdictTypeIdx.size() ];
+		Iterator< CFSecBuffService > iter = subdictTypeIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -362,18 +684,13 @@ public class CFSecRamServiceTable
 		CFLibDbKeyHash256 ServiceTypeId )
 	{
 		final String S_ProcName = "CFSecRamService.readDerivedByUTypeIdx";
-		CFSecBuffServiceByUTypeIdxKey key = (CFSecBuffServiceByUTypeIdxKey)schema.getFactoryService().newByUTypeIdxKey();
+		CFSecBuffServiceByUTypeIdxKey key = probeUTypeIdx.get();
 
 		key.setRequiredClusterId( ClusterId );
 		key.setRequiredHostNodeId( HostNodeId );
 		key.setRequiredServiceTypeId( ServiceTypeId );
 		ICFSecService buff;
-		if( dictByUTypeIdx.containsKey( key ) ) {
-			buff = dictByUTypeIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByUTypeIdx.get( key );
 		return( buff );
 	}
 
@@ -384,18 +701,13 @@ public class CFSecRamServiceTable
 		short HostPort )
 	{
 		final String S_ProcName = "CFSecRamService.readDerivedByUHostPortIdx";
-		CFSecBuffServiceByUHostPortIdxKey key = (CFSecBuffServiceByUHostPortIdxKey)schema.getFactoryService().newByUHostPortIdxKey();
+		CFSecBuffServiceByUHostPortIdxKey key = probeUHostPortIdx.get();
 
 		key.setRequiredClusterId( ClusterId );
 		key.setRequiredHostNodeId( HostNodeId );
 		key.setRequiredHostPort( HostPort );
 		ICFSecService buff;
-		if( dictByUHostPortIdx.containsKey( key ) ) {
-			buff = dictByUHostPortIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByUHostPortIdx.get( key );
 		return( buff );
 	}
 
@@ -414,6 +726,215 @@ public class CFSecRamServiceTable
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every Service instance in the table,
+	 *	without copying the table into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecService > viewAll( ICFSecAuthorization Authorization ) {
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every Service instance in the table, iterating
+	 *	the table in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecService > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every Service instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecService > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the Service instances identified by the duplicate key ClusterIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The Service key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecService > viewByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId )
+	{
+		CFSecBuffServiceByClusterIdxKey key = probeClusterIdx.get();
+		key.setRequiredClusterId( ClusterId );
+		return( CFSecRamViews.of( dictByClusterIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each Service instance identified by the duplicate key ClusterIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The Service key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId,
+		Consumer< ? super ICFSecService > action )
+	{
+		viewByClusterIdx( Authorization,
+			ClusterId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the Service instances identified by the duplicate key ClusterIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The Service key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecService > streamByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId )
+	{
+		return( viewByClusterIdx( Authorization,
+			ClusterId ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the Service instances identified by the duplicate key HostIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	HostNodeId	The Service key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecService > viewByHostIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 HostNodeId )
+	{
+		CFSecBuffServiceByHostIdxKey key = probeHostIdx.get();
+		key.setRequiredHostNodeId( HostNodeId );
+		return( CFSecRamViews.of( dictByHostIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each Service instance identified by the duplicate key HostIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	HostNodeId	The Service key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByHostIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 HostNodeId,
+		Consumer< ? super ICFSecService > action )
+	{
+		viewByHostIdx( Authorization,
+			HostNodeId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the Service instances identified by the duplicate key HostIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	HostNodeId	The Service key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecService > streamByHostIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 HostNodeId )
+	{
+		return( viewByHostIdx( Authorization,
+			HostNodeId ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the Service instances identified by the duplicate key TypeIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ServiceTypeId	The Service key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecService > viewByTypeIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ServiceTypeId )
+	{
+		CFSecBuffServiceByTypeIdxKey key = probeTypeIdx.get();
+		key.setRequiredServiceTypeId( ServiceTypeId );
+		return( CFSecRamViews.of( dictByTypeIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each Service instance identified by the duplicate key TypeIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ServiceTypeId	The Service key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByTypeIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ServiceTypeId,
+		Consumer< ? super ICFSecService > action )
+	{
+		viewByTypeIdx( Authorization,
+			ServiceTypeId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the Service instances identified by the duplicate key TypeIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ServiceTypeId	The Service key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecService > streamByTypeIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ServiceTypeId )
+	{
+		return( viewByTypeIdx( Authorization,
+			ServiceTypeId ).stream() );
+	}
+
 	@Override
 	public ICFSecService readRec( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 PKey )
@@ -438,20 +959,43 @@ public class CFSecRamServiceTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecService.CLASS_CODE.
+	 */
+	protected ICFSecService[] filterRecs( ICFSecService[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecService buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecService.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecService[] recArray = new ICFSecService[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecService buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecService.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecService[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamService.readAllRec";
-		ICFSecService buff;
-		ArrayList<ICFSecService> filteredList = new ArrayList<ICFSecService>();
 		ICFSecService[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecService.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecService[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	/**
@@ -459,6 +1003,8 @@ public class CFSecRamServiceTable
 	 *
 	 *	@param	Authorization	The session authorization information.
 	 *
+	 *	@param	priorServiceId	The ServiceId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return All the specific Service instances in the database accessible for the Authorization.
 	 */
 	@Override
@@ -466,7 +1012,9 @@ public class CFSecRamServiceTable
 		CFLibDbKeyHash256 priorServiceId )
 	{
 		final String S_ProcName = "pageAllRec";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		List< CFSecBuffService > page = CFSecRamPager.page( dictByPKey, priorServiceId, pageSize );
+		return( page.toArray( new ICFSecService[ page.size() ] ) );
 	}
 
 	@Override
@@ -489,17 +1037,12 @@ public class CFSecRamServiceTable
 		CFLibDbKeyHash256 ClusterId )
 	{
 		final String S_ProcName = "CFSecRamService.readRecByClusterIdx() ";
-		ICFSecService buff;
-		ArrayList<ICFSecService> filteredList = new ArrayList<ICFSecService>();
 		ICFSecService[] buffList = readDerivedByClusterIdx( Authorization,
 			ClusterId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecService.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecService)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecService[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -507,17 +1050,12 @@ public class CFSecRamServiceTable
 		CFLibDbKeyHash256 HostNodeId )
 	{
 		final String S_ProcName = "CFSecRamService.readRecByHostIdx() ";
-		ICFSecService buff;
-		ArrayList<ICFSecService> filteredList = new ArrayList<ICFSecService>();
 		ICFSecService[] buffList = readDerivedByHostIdx( Authorization,
 			HostNodeId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecService.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecService)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecService[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -525,17 +1063,12 @@ public class CFSecRamServiceTable
 		CFLibDbKeyHash256 ServiceTypeId )
 	{
 		final String S_ProcName = "CFSecRamService.readRecByTypeIdx() ";
-		ICFSecService buff;
-		ArrayList<ICFSecService> filteredList = new ArrayList<ICFSecService>();
 		ICFSecService[] buffList = readDerivedByTypeIdx( Authorization,
 			ServiceTypeId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecService.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecService)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecService[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -583,6 +1116,8 @@ public class CFSecRamServiceTable
 	 *
 	 *	@param	ClusterId	The Service key attribute of the instance generating the id.
 	 *
+	 *	@param	priorServiceId	The ServiceId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -593,7 +1128,11 @@ public class CFSecRamServiceTable
 		CFLibDbKeyHash256 priorServiceId )
 	{
 		final String S_ProcName = "pageRecByClusterIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffServiceByClusterIdxKey key = probeClusterIdx.get();
+		key.setRequiredClusterId( ClusterId );
+		List< CFSecBuffService > page = CFSecRamPager.page( dictByClusterIdx.get( key ), priorServiceId, pageSize );
+		return( page.toArray( new ICFSecService[ page.size() ] ) );
 	}
 
 	/**
@@ -603,6 +1142,8 @@ public class CFSecRamServiceTable
 	 *
 	 *	@param	HostNodeId	The Service key attribute of the instance generating the id.
 	 *
+	 *	@param	priorServiceId	The ServiceId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -613,7 +1154,11 @@ public class CFSecRamServiceTable
 		CFLibDbKeyHash256 priorServiceId )
 	{
 		final String S_ProcName = "pageRecByHostIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffServiceByHostIdxKey key = probeHostIdx.get();
+		key.setRequiredHostNodeId( HostNodeId );
+		List< CFSecBuffService > page = CFSecRamPager.page( dictByHostIdx.get( key ), priorServiceId, pageSize );
+		return( page.toArray( new ICFSecService[ page.size() ] ) );
 	}
 
 	/**
@@ -623,6 +1168,8 @@ public class CFSecRamServiceTable
 	 *
 	 *	@param	ServiceTypeId	The Service key attribute of the instance generating the id.
 	 *
+	 *	@param	priorServiceId	The ServiceId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -633,7 +1180,11 @@ public class CFSecRamServiceTable
 		CFLibDbKeyHash256 priorServiceId )
 	{
 		final String S_ProcName = "pageRecByTypeIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffServiceByTypeIdxKey key = probeTypeIdx.get();
+		key.setRequiredServiceTypeId( ServiceTypeId );
+		List< CFSecBuffService > page = CFSecRamPager.page( dictByTypeIdx.get( key ), priorServiceId, pageSize );
+		return( page.toArray( new ICFSecService[ page.size() ] ) );
 	}
 
 	public ICFSecService updateService( ICFSecAuthorization Authorization,
@@ -741,56 +1292,77 @@ public class CFSecRamServiceTable
 
 		// Update is valid
 
-		Map< CFLibDbKeyHash256, CFSecBuffService > subdict;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdict;
 
-		dictByPKey.remove( pkey );
 		dictByPKey.put( pkey, Buff );
 
-		subdict = dictByClusterIdx.get( existingKeyClusterIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyClusterIdx.equals( newKeyClusterIdx ) ) {
+			subdict = dictByClusterIdx.get( existingKeyClusterIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByClusterIdx.remove( existingKeyClusterIdx );
+				}
+			}
 		}
 		if( dictByClusterIdx.containsKey( newKeyClusterIdx ) ) {
 			subdict = dictByClusterIdx.get( newKeyClusterIdx );
 		}
 		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffService >();
+			subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffService >();
 			dictByClusterIdx.put( newKeyClusterIdx, subdict );
 		}
 		subdict.put( pkey, Buff );
 
-		subdict = dictByHostIdx.get( existingKeyHostIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyHostIdx.equals( newKeyHostIdx ) ) {
+			subdict = dictByHostIdx.get( existingKeyHostIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByHostIdx.remove( existingKeyHostIdx );
+				}
+			}
 		}
 		if( dictByHostIdx.containsKey( newKeyHostIdx ) ) {
 			subdict = dictByHostIdx.get( newKeyHostIdx );
 		}
 		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffService >();
+			subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffService >();
 			dictByHostIdx.put( newKeyHostIdx, subdict );
 		}
 		subdict.put( pkey, Buff );
 
-		subdict = dictByTypeIdx.get( existingKeyTypeIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyTypeIdx.equals( newKeyTypeIdx ) ) {
+			subdict = dictByTypeIdx.get( existingKeyTypeIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByTypeIdx.remove( existingKeyTypeIdx );
+				}
+			}
 		}
 		if( dictByTypeIdx.containsKey( newKeyTypeIdx ) ) {
 			subdict = dictByTypeIdx.get( newKeyTypeIdx );
 		}
 		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffService >();
+			subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffService >();
 			dictByTypeIdx.put( newKeyTypeIdx, subdict );
 		}
 		subdict.put( pkey, Buff );
 
-		dictByUTypeIdx.remove( existingKeyUTypeIdx );
+		if( ! existingKeyUTypeIdx.equals( newKeyUTypeIdx ) ) {
+			dictByUTypeIdx.remove( existingKeyUTypeIdx );
+		}
 		dictByUTypeIdx.put( newKeyUTypeIdx, Buff );
 
-		dictByUHostPortIdx.remove( existingKeyUHostPortIdx );
+		if( ! existingKeyUHostPortIdx.equals( newKeyUHostPortIdx ) ) {
+			dictByUHostPortIdx.remove( existingKeyUHostPortIdx );
+		}
 		dictByUHostPortIdx.put( newKeyUHostPortIdx, Buff );
 
+		CFSecRamTransaction.record( schema, existing, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
@@ -834,47 +1406,55 @@ public class CFSecRamServiceTable
 		// Validate reverse foreign keys
 
 		// Delete is valid
-		Map< CFLibDbKeyHash256, CFSecBuffService > subdict;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdict;
 
 		dictByPKey.remove( pkey );
 
 		subdict = dictByClusterIdx.get( keyClusterIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByClusterIdx.remove( keyClusterIdx );
+			}
+		}
 
 		subdict = dictByHostIdx.get( keyHostIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByHostIdx.remove( keyHostIdx );
+			}
+		}
 
 		subdict = dictByTypeIdx.get( keyTypeIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByTypeIdx.remove( keyTypeIdx );
+			}
+		}
 
 		dictByUTypeIdx.remove( keyUTypeIdx );
 
 		dictByUHostPortIdx.remove( keyUHostPortIdx );
 
+		CFSecRamTransaction.record( schema, existing, null );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteServiceByIdIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffService cur;
 		LinkedList<CFSecBuffService> matchSet = new LinkedList<CFSecBuffService>();
-		Iterator<CFSecBuffService> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByPKey.get( argKey );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffService> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffService)(schema.getTableService().readDerivedByIdIdx( Authorization,
-				cur.getRequiredServiceId() ));
 			deleteService( Authorization, cur );
 		}
 	}
@@ -893,24 +1473,22 @@ public class CFSecRamServiceTable
 		ICFSecServiceByClusterIdxKey argKey )
 	{
 		CFSecBuffService cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffServiceByClusterIdxKey key;
+		if( argKey instanceof CFSecBuffServiceByClusterIdxKey ) {
+			key = (CFSecBuffServiceByClusterIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffServiceByClusterIdxKey)schema.getFactoryService().newByClusterIdxKey();
+			key.setRequiredClusterId( argKey.getRequiredClusterId() );
 		}
 		LinkedList<CFSecBuffService> matchSet = new LinkedList<CFSecBuffService>();
-		Iterator<CFSecBuffService> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictClusterIdx = dictByClusterIdx.get( key );
+		if( subdictClusterIdx != null ) {
+			matchSet.addAll( subdictClusterIdx.values() );
 		}
 		Iterator<CFSecBuffService> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffService)(schema.getTableService().readDerivedByIdIdx( Authorization,
-				cur.getRequiredServiceId() ));
 			deleteService( Authorization, cur );
 		}
 	}
@@ -929,24 +1507,22 @@ public class CFSecRamServiceTable
 		ICFSecServiceByHostIdxKey argKey )
 	{
 		CFSecBuffService cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffServiceByHostIdxKey key;
+		if( argKey instanceof CFSecBuffServiceByHostIdxKey ) {
+			key = (CFSecBuffServiceByHostIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffServiceByHostIdxKey)schema.getFactoryService().newByHostIdxKey();
+			key.setRequiredHostNodeId( argKey.getRequiredHostNodeId() );
 		}
 		LinkedList<CFSecBuffService> matchSet = new LinkedList<CFSecBuffService>();
-		Iterator<CFSecBuffService> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictHostIdx = dictByHostIdx.get( key );
+		if( subdictHostIdx != null ) {
+			matchSet.addAll( subdictHostIdx.values() );
 		}
 		Iterator<CFSecBuffService> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffService)(schema.getTableService().readDerivedByIdIdx( Authorization,
-				cur.getRequiredServiceId() ));
 			deleteService( Authorization, cur );
 		}
 	}
@@ -965,24 +1541,22 @@ public class CFSecRamServiceTable
 		ICFSecServiceByTypeIdxKey argKey )
 	{
 		CFSecBuffService cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffServiceByTypeIdxKey key;
+		if( argKey instanceof CFSecBuffServiceByTypeIdxKey ) {
+			key = (CFSecBuffServiceByTypeIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffServiceByTypeIdxKey)schema.getFactoryService().newByTypeIdxKey();
+			key.setRequiredServiceTypeId( argKey.getRequiredServiceTypeId() );
 		}
 		LinkedList<CFSecBuffService> matchSet = new LinkedList<CFSecBuffService>();
-		Iterator<CFSecBuffService> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffService > subdictTypeIdx = dictByTypeIdx.get( key );
+		if( subdictTypeIdx != null ) {
+			matchSet.addAll( subdictTypeIdx.values() );
 		}
 		Iterator<CFSecBuffService> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffService)(schema.getTableService().readDerivedByIdIdx( Authorization,
-				cur.getRequiredServiceId() ));
 			deleteService( Authorization, cur );
 		}
 	}
@@ -1005,26 +1579,24 @@ public class CFSecRamServiceTable
 		ICFSecServiceByUTypeIdxKey argKey )
 	{
 		CFSecBuffService cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffServiceByUTypeIdxKey key;
+		if( argKey instanceof CFSecBuffServiceByUTypeIdxKey ) {
+			key = (CFSecBuffServiceByUTypeIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffServiceByUTypeIdxKey)schema.getFactoryService().newByUTypeIdxKey();
+			key.setRequiredClusterId( argKey.getRequiredClusterId() );
+			key.setRequiredHostNodeId( argKey.getRequiredHostNodeId() );
+			key.setRequiredServiceTypeId( argKey.getRequiredServiceTypeId() );
 		}
 		LinkedList<CFSecBuffService> matchSet = new LinkedList<CFSecBuffService>();
-		Iterator<CFSecBuffService> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByUTypeIdx.get( key );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffService> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffService)(schema.getTableService().readDerivedByIdIdx( Authorization,
-				cur.getRequiredServiceId() ));
 			deleteService( Authorization, cur );
 		}
 	}
@@ -1047,26 +1619,24 @@ public class CFSecRamServiceTable
 		ICFSecServiceByUHostPortIdxKey argKey )
 	{
 		CFSecBuffService cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffServiceByUHostPortIdxKey key;
+		if( argKey instanceof CFSecBuffServiceByUHostPortIdxKey ) {
+			key = (CFSecBuffServiceByUHostPortIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffServiceByUHostPortIdxKey)schema.getFactoryService().newByUHostPortIdxKey();
+			key.setRequiredClusterId( argKey.getRequiredClusterId() );
+			key.setRequiredHostNodeId( argKey.getRequiredHostNodeId() );
+			key.setRequiredHostPort( argKey.getRequiredHostPort() );
 		}
 		LinkedList<CFSecBuffService> matchSet = new LinkedList<CFSecBuffService>();
-		Iterator<CFSecBuffService> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByUHostPortIdx.get( key );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffService> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffService)(schema.getTableService().readDerivedByIdIdx( Authorization,
-				cur.getRequiredServiceId() ));
 			deleteService( Authorization, cur );
 		}
 	}
@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,7 +48,8 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for ServiceType.
  */
 public class CFSecRamServiceTypeTable
-	implements ICFSecServiceTypeTable
+	implements ICFSecServiceTypeTable,
+		CFSecRamBulkLoadTable
 {
 	private ICFSecSchema schema;
 	private Map< CFLibDbKeyHash256,
@@ -58,6 +61,16 @@ public class CFSecRamServiceTypeTable
 		= new HashMap< CFSecBuffServiceTypeByUDescrIdxKey,
 			CFSecBuffServiceType >();
 
+	private final List< CFLibDbKeyHash256 > bulkPKeys = new ArrayList< CFLibDbKeyHash256 >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffServiceTypeByUDescrIdxKey > probeUDescrIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffServiceTypeByUDescrIdxKey)schema.getFactoryServiceType().newByUDescrIdxKey() );
+
 	public CFSecRamServiceTypeTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
@@ -77,11 +90,136 @@ public class CFSecRamServiceTypeTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffServiceType > recs ) {
+		dictByPKey.clear();
+		for( CFSecBuffServiceType Buff : recs ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			dictByPKey.put( pkey, Buff );
+		}
+		rebuildIndexes();
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffServiceType > snapshotRecs() {
+		return( new ArrayList< CFSecBuffServiceType >( dictByPKey.values() ) );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffServiceType lookupRec( Object pkey ) {
+		return( dictByPKey.get( pkey ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffServiceType before ) {
+		long lsn = 0L;
+		CFSecBuffServiceType current;
+		if( before == null ) {
+			current = dictByPKey.remove( pkey );
+		}
+		else {
+			current = dictByPKey.put( (CFLibDbKeyHash256)pkey, before );
+		}
+		if( current != null ) {
+			unindexRec( current );
+		}
+		if( before != null ) {
+			indexRec( before );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+		}
+		else if( current != null ) {
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffServiceType Buff ) {
+		CFSecBuffServiceTypeByUDescrIdxKey keyUDescrIdx = (CFSecBuffServiceTypeByUDescrIdxKey)schema.getFactoryServiceType().newByUDescrIdxKey();
+		keyUDescrIdx.setRequiredDescription( Buff.getRequiredDescription() );
+		dictByUDescrIdx.put( keyUDescrIdx, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffServiceType Buff ) {
+		CFSecBuffServiceTypeByUDescrIdxKey keyUDescrIdx = (CFSecBuffServiceTypeByUDescrIdxKey)schema.getFactoryServiceType().newByUDescrIdxKey();
+		keyUDescrIdx.setRequiredDescription( Buff.getRequiredDescription() );
+		dictByUDescrIdx.remove( keyUDescrIdx );
+	}
+
+	protected void rebuildIndexes() {
+		rebuildUDescrIdx();
+	}
+
+	protected void rebuildUDescrIdx() {
+		dictByUDescrIdx.clear();
+		for( CFSecBuffServiceType Buff : dictByPKey.values() ) {
+			CFSecBuffServiceTypeByUDescrIdxKey keyUDescrIdx = (CFSecBuffServiceTypeByUDescrIdxKey)schema.getFactoryServiceType().newByUDescrIdxKey();
+			keyUDescrIdx.setRequiredDescription( Buff.getRequiredDescription() );
+			dictByUDescrIdx.put( keyUDescrIdx, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffServiceType Buff = dictByPKey.get( pkey );
+			if( Buff == null ) {
+				continue;
+			}
+			CFSecBuffServiceTypeByUDescrIdxKey keyUDescrIdx = (CFSecBuffServiceTypeByUDescrIdxKey)schema.getFactoryServiceType().newByUDescrIdxKey();
+			keyUDescrIdx.setRequiredDescription( Buff.getRequiredDescription() );
+			if( dictByUDescrIdx.get( keyUDescrIdx ) != Buff ) {
+				violations.add( "ServiceType " + Buff.getPKey() + " duplicates the ServiceTypeUDescrIdx key " + keyUDescrIdx );
+			}
+		}
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffServiceType Buff = dictByPKey.remove( pkey );
+			if( Buff != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+			}
+		}
+		bulkPKeys.clear();
+		rebuildIndexes();
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		bulkPKeys.clear();
+	}
+
 	@Override
 	public ICFSecServiceType createServiceType( ICFSecAuthorization Authorization,
 		ICFSecServiceType iBuff )
 	{
 		final String S_ProcName = "createServiceType";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffServiceType Buff = (CFSecBuffServiceType)ensureRec(iBuff);
 		CFLibDbKeyHash256 pkey;
@@ -96,7 +234,7 @@ public class CFSecRamServiceTypeTable
 			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
 		}
 
-		if( dictByUDescrIdx.containsKey( keyUDescrIdx ) ) {
+		if( ( ! bulkLoad ) && dictByUDescrIdx.containsKey( keyUDescrIdx ) ) {
 			throw new CFLibUniqueIndexViolationException( getClass(),
 				S_ProcName,
 				"ServiceTypeUDescrIdx",
@@ -109,8 +247,15 @@ public class CFSecRamServiceTypeTable
 		// Proceed with adding the new record
 
 		dictByPKey.put( pkey, Buff );
+		if( bulkLoad ) {
+			bulkPKeys.add( pkey );
+		}
 
-		dictByUDescrIdx.put( keyUDescrIdx, Buff );
+		dictByUDescrIdx.putIfAbsent( keyUDescrIdx, Buff );
+
+		CFSecRamTransaction.record( schema, null, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 
 		if (Buff == null) {
 			return( null );
@@ -178,16 +323,11 @@ public class CFSecRamServiceTypeTable
 		String Description )
 	{
 		final String S_ProcName = "CFSecRamServiceType.readDerivedByUDescrIdx";
-		CFSecBuffServiceTypeByUDescrIdxKey key = (CFSecBuffServiceTypeByUDescrIdxKey)schema.getFactoryServiceType().newByUDescrIdxKey();
+		CFSecBuffServiceTypeByUDescrIdxKey key = probeUDescrIdx.get();
 
 		key.setRequiredDescription( Description );
 		ICFSecServiceType buff;
-		if( dictByUDescrIdx.containsKey( key ) ) {
-			buff = dictByUDescrIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByUDescrIdx.get( key );
 		return( buff );
 	}
 
@@ -206,6 +346,47 @@ public class CFSecRamServiceTypeTable
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every ServiceType instance in the table,
+	 *	without copying the table into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecServiceType > viewAll( ICFSecAuthorization Authorization ) {
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every ServiceType instance in the table, iterating
+	 *	the table in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecServiceType > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every ServiceType instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecServiceType > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
 	@Override
 	public ICFSecServiceType readRec( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 PKey )
@@ -230,20 +411,43 @@ public class CFSecRamServiceTypeTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecServiceType.CLASS_CODE.
+	 */
+	protected ICFSecServiceType[] filterRecs( ICFSecServiceType[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecServiceType buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecServiceType.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecServiceType[] recArray = new ICFSecServiceType[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecServiceType buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecServiceType.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecServiceType[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamServiceType.readAllRec";
-		ICFSecServiceType buff;
-		ArrayList<ICFSecServiceType> filteredList = new ArrayList<ICFSecServiceType>();
 		ICFSecServiceType[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecServiceType.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecServiceType[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -321,18 +525,32 @@ public class CFSecRamServiceTypeTable
 
 		Map< CFLibDbKeyHash256, CFSecBuffServiceType > subdict;
 
-		dictByPKey.remove( pkey );
 		dictByPKey.put( pkey, Buff );
 
-		dictByUDescrIdx.remove( existingKeyUDescrIdx );
+		if( ! existingKeyUDescrIdx.equals( newKeyUDescrIdx ) ) {
+			dictByUDescrIdx.remove( existingKeyUDescrIdx );
+		}
 		dictByUDescrIdx.put( newKeyUDescrIdx, Buff );
 
+		CFSecRamTransaction.record( schema, existing, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
 	@Override
 	public void deleteServiceType( ICFSecAuthorization Authorization,
 		ICFSecServiceType iBuff )
+	{
+		CFSecRamTransaction.atomically( schema, () -> deleteServiceTypeCascade( Authorization, iBuff ) );
+	}
+
+	/**
+	 *	Delete the ServiceType and every row that depends on it.  deleteServiceType() runs
+	 *	this as one transaction so a failure partway through changes nothing.
+	 */
+	protected void deleteServiceTypeCascade( ICFSecAuthorization Authorization,
+		ICFSecServiceType iBuff )
 	{
 		final String S_ProcName = "CFSecRamServiceTypeTable.deleteServiceType() ";
 		CFSecBuffServiceType Buff = (CFSecBuffServiceType)ensureRec(iBuff);
@@ -367,30 +585,23 @@ public class CFSecRamServiceTypeTable
 
 		dictByUDescrIdx.remove( keyUDescrIdx );
 
+		CFSecRamTransaction.record( schema, existing, null );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteServiceTypeByIdIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffServiceType cur;
 		LinkedList<CFSecBuffServiceType> matchSet = new LinkedList<CFSecBuffServiceType>();
-		Iterator<CFSecBuffServiceType> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByPKey.get( argKey );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffServiceType> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffServiceType)(schema.getTableServiceType().readDerivedByIdIdx( Authorization,
-				cur.getRequiredServiceTypeId() ));
 			deleteServiceType( Authorization, cur );
 		}
 	}
@@ -409,24 +620,22 @@ public class CFSecRamServiceTypeTable
 		ICFSecServiceTypeByUDescrIdxKey argKey )
 	{
 		CFSecBuffServiceType cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffServiceTypeByUDescrIdxKey key;
+		if( argKey instanceof CFSecBuffServiceTypeByUDescrIdxKey ) {
+			key = (CFSecBuffServiceTypeByUDescrIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffServiceTypeByUDescrIdxKey)schema.getFactoryServiceType().newByUDescrIdxKey();
+			key.setRequiredDescription( argKey.getRequiredDescription() );
 		}
 		LinkedList<CFSecBuffServiceType> matchSet = new LinkedList<CFSecBuffServiceType>();
-		Iterator<CFSecBuffServiceType> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByUDescrIdx.get( key );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffServiceType> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffServiceType)(schema.getTableServiceType().readDerivedByIdIdx( Authorization,
-				cur.getRequiredServiceTypeId() ));
 			deleteServiceType( Authorization, cur );
 		}
 	}
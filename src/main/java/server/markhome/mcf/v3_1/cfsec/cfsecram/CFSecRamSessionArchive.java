@@ -0,0 +1,585 @@
+
+// Description: Java 25 session archive for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+import java.util.zip.*;
+import server.markhome.mcf.v3_1.cflib.dbutil.*;
+
+import server.markhome.mcf.v3_1.cfsec.cfsec.buff.*;
+
+/*
+ *	CFSecRamSessionArchive is the cold tier of the SecSession table: an
+ *	append-only file of finished sessions which no longer occupy the heap.
+ *
+ *	After a header holding the field layout of CFSecBuffSecSession, each
+ *	record is framed as
+ *
+ *		[ int length ][ byte kind ][ key ][ user ][ int raw ][ payload ][ int crc32 ]
+ *
+ *	where key and user are the 32 bytes of the SecSessionId and SecUserId,
+ *	and the payload is the row image encoded by CFSecRamRecordCodec and
+ *	deflated from raw bytes.  A tombstone, appended when an archived session
+ *	is deleted, has only the kind and the key.  A torn record at the end of
+ *	the file, as left by a crash during an append, is truncated away when
+ *	the archive is opened.
+ *
+ *	The only state kept in memory is a Bloom filter and an open addressing
+ *	table of the SecSessionIds, holding the file offset of each record in
+ *	a flat long array, plus the offsets of the live records of each
+ *	SecUser.  The offsets of a deleted or re-archived session are pruned as
+ *	its tombstone or newer record is indexed, both on append and on open.
+ *	A lookup of a key that was never archived is answered by the Bloom
+ *	filter alone; any other costs one positional read of the file.
+ */
+public class CFSecRamSessionArchive
+	implements Closeable
+{
+	private static final int MAGIC = 0x43465341;
+	private static final int VERSION = 1;
+	private static final byte KIND_REC = 1;
+	private static final byte KIND_TOMBSTONE = 2;
+	private static final int KEY_LENGTH = 32;
+	private static final int MIN_BLOOM_KEYS = 1024;
+	private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+	private final Path path;
+	private final Supplier< CFSecBuffSecSession > newRec;
+	private FileChannel channel = null;
+	private long endOffset = 0L;
+	private final KeyIndex keyIndex = new KeyIndex();
+	private final Map< CFLibDbKeyHash256, Offsets > userIndex = new HashMap< CFLibDbKeyHash256, Offsets >();
+	private CFSecRamBloomFilter bloom = new CFSecRamBloomFilter( MIN_BLOOM_KEYS, BLOOM_FALSE_POSITIVE_RATE );
+	private int bloomKeys = MIN_BLOOM_KEYS;
+	private final Deflater deflater = new Deflater( Deflater.BEST_SPEED );
+	private final CRC32 crc = new CRC32();
+
+	/**
+	 *	Construct an archive over a file.  The file is not opened until
+	 *	open() is called.
+	 *
+	 *	@param	argPath	The archive file.
+	 *
+	 *	@param	argNewRec	Creates the empty buffers archived sessions are decoded into.
+	 */
+	public CFSecRamSessionArchive( Path argPath,
+		Supplier< CFSecBuffSecSession > argNewRec )
+	{
+		path = argPath;
+		newRec = argNewRec;
+	}
+
+	public Path getPath() {
+		return( path );
+	}
+
+	/**
+	 *	Open the archive and index the sessions it holds.  An archive file
+	 *	which does not exist yet is created empty.
+	 *
+	 *	@return	The number of sessions in the archive.
+	 */
+	public synchronized int open() throws IOException {
+		if( channel != null ) {
+			throw new IOException( "Session archive " + path + " is already open" );
+		}
+		byte[] header = header();
+		channel = FileChannel.open( path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE );
+		try {
+			if( channel.size() == 0L ) {
+				writeFully( header, 0L );
+				channel.force( true );
+				endOffset = header.length;
+				return( 0 );
+			}
+			DataInputStream in = new DataInputStream( new BufferedInputStream( Channels.newInputStream( channel ), 64 * 1024 ) );
+			byte[] existing = new byte[ header.length ];
+			try {
+				in.readFully( existing );
+			}
+			catch( EOFException e ) {
+				throw new IOException( path + " is not a CFSecRam session archive", e );
+			}
+			if( ! Arrays.equals( header, existing ) ) {
+				throw new IOException( path + " is not a session archive written by this build" );
+			}
+			long pos = header.length;
+			long size = channel.size();
+			byte[] body = new byte[ 1024 ];
+			while( true ) {
+				int len;
+				try {
+					len = in.readInt();
+					if( ( len < 1 + KEY_LENGTH ) || ( pos + 8 + len > size ) ) {
+						break;
+					}
+					if( body.length < len ) {
+						body = new byte[ Math.max( len, body.length * 2 ) ];
+					}
+					in.readFully( body, 0, len );
+					int expected = in.readInt();
+					crc.reset();
+					crc.update( body, 0, len );
+					if( (int)crc.getValue() != expected ) {
+						break;
+					}
+				}
+				catch( EOFException e ) {
+					break;
+				}
+				byte[] key = Arrays.copyOfRange( body, 1, 1 + KEY_LENGTH );
+				if( body[ 0 ] == KIND_REC ) {
+					byte[] user = Arrays.copyOfRange( body, 1 + KEY_LENGTH, 1 + 2 * KEY_LENGTH );
+					indexRec( key, new CFLibDbKeyHash256( user ), pos );
+				}
+				else {
+					unindexRec( key );
+				}
+				pos += 8 + len;
+			}
+			channel.truncate( pos );
+			endOffset = pos;
+			return( keyIndex.size() );
+		}
+		catch( IOException | RuntimeException e ) {
+			channel.close();
+			channel = null;
+			throw e;
+		}
+	}
+
+	/**
+	 *	@return	The number of sessions in the archive.
+	 */
+	public synchronized int size() {
+		return( keyIndex.size() );
+	}
+
+	/**
+	 *	Append finished sessions to the archive and force them to the disk.
+	 *
+	 *	@param	recs	The sessions to archive.
+	 */
+	public synchronized void append( Collection< CFSecBuffSecSession > recs ) throws IOException {
+		checkOpen();
+		if( recs.isEmpty() ) {
+			return;
+		}
+		ByteArrayOutputStream frames = new ByteArrayOutputStream( recs.size() * 256 );
+		DataOutputStream framesOut = new DataOutputStream( frames );
+		ByteArrayOutputStream raw = new ByteArrayOutputStream( 1024 );
+		DataOutputStream rawOut = new DataOutputStream( raw );
+		ByteArrayOutputStream body = new ByteArrayOutputStream( 1024 );
+		DataOutputStream bodyOut = new DataOutputStream( body );
+		byte[] deflated = new byte[ 1024 ];
+		long[] offsets = new long[ recs.size() ];
+		int idx = 0;
+		for( CFSecBuffSecSession rec : recs ) {
+			raw.reset();
+			CFSecRamRecordCodec.writeRec( rawOut, rec );
+			rawOut.flush();
+			deflater.reset();
+			deflater.setInput( raw.toByteArray(), 0, raw.size() );
+			deflater.finish();
+			int deflatedLen = 0;
+			while( ! deflater.finished() ) {
+				if( deflatedLen == deflated.length ) {
+					deflated = Arrays.copyOf( deflated, deflated.length * 2 );
+				}
+				deflatedLen += deflater.deflate( deflated, deflatedLen, deflated.length - deflatedLen );
+			}
+			body.reset();
+			bodyOut.writeByte( KIND_REC );
+			bodyOut.write( rec.getRequiredSecSessionId().getBytes() );
+			bodyOut.write( rec.getRequiredSecUserId().getBytes() );
+			bodyOut.writeInt( raw.size() );
+			bodyOut.write( deflated, 0, deflatedLen );
+			bodyOut.flush();
+			offsets[ idx++ ] = endOffset + frames.size();
+			writeFrame( framesOut, body );
+		}
+		framesOut.flush();
+		writeFully( frames.toByteArray(), endOffset );
+		channel.force( false );
+		endOffset += frames.size();
+		idx = 0;
+		for( CFSecBuffSecSession rec : recs ) {
+			indexRec( rec.getRequiredSecSessionId().getBytes(), rec.getRequiredSecUserId(), offsets[ idx++ ] );
+		}
+	}
+
+	/**
+	 *	Delete a session from the archive by appending a tombstone for it.
+	 *
+	 *	@param	pkey	The SecSessionId of the session.
+	 *
+	 *	@return	True if the session was archived.
+	 */
+	public synchronized boolean remove( CFLibDbKeyHash256 pkey ) throws IOException {
+		checkOpen();
+		byte[] key = pkey.getBytes();
+		if( ( ! bloom.mightContain( key ) ) || ( keyIndex.get( key ) < 0L ) ) {
+			return( false );
+		}
+		ByteArrayOutputStream body = new ByteArrayOutputStream( 1 + KEY_LENGTH );
+		body.write( KIND_TOMBSTONE );
+		body.write( key );
+		ByteArrayOutputStream frame = new ByteArrayOutputStream( 9 + KEY_LENGTH );
+		DataOutputStream frameOut = new DataOutputStream( frame );
+		writeFrame( frameOut, body );
+		frameOut.flush();
+		writeFully( frame.toByteArray(), endOffset );
+		channel.force( false );
+		endOffset += frame.size();
+		unindexRec( key );
+		return( true );
+	}
+
+	/**
+	 *	@param	pkey	The SecSessionId of the session.
+	 *
+	 *	@return	The archived session, or null if it is not in the archive.
+	 */
+	public CFSecBuffSecSession read( CFLibDbKeyHash256 pkey ) throws IOException {
+		byte[] key = pkey.getBytes();
+		long offset;
+		synchronized( this ) {
+			checkOpen();
+			if( ! bloom.mightContain( key ) ) {
+				return( null );
+			}
+			offset = keyIndex.get( key );
+		}
+		if( offset < 0L ) {
+			return( null );
+		}
+		return( readAt( offset ) );
+	}
+
+	/**
+	 *	@param	secUserId	The SecUserId owning the sessions.
+	 *
+	 *	@return	The archived sessions of the user, in the order they were archived.
+	 */
+	public List< CFSecBuffSecSession > readBySecUserId( CFLibDbKeyHash256 secUserId ) throws IOException {
+		long[] offsets;
+		synchronized( this ) {
+			checkOpen();
+			Offsets userOffsets = userIndex.get( secUserId );
+			if( userOffsets == null ) {
+				return( Collections.< CFSecBuffSecSession >emptyList() );
+			}
+			offsets = Arrays.copyOf( userOffsets.values, userOffsets.size );
+		}
+		ArrayList< CFSecBuffSecSession > recs = new ArrayList< CFSecBuffSecSession >( offsets.length );
+		for( long offset : offsets ) {
+			CFSecBuffSecSession rec = readAt( offset );
+			// Skip records since deleted or archived again
+			synchronized( this ) {
+				if( keyIndex.get( rec.getRequiredSecSessionId().getBytes() ) != offset ) {
+					continue;
+				}
+			}
+			recs.add( rec );
+		}
+		return( recs );
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if( channel != null ) {
+			channel.force( true );
+			channel.close();
+			channel = null;
+		}
+	}
+
+	private void checkOpen() {
+		if( channel == null ) {
+			throw new IllegalStateException( "Session archive " + path + " is not open" );
+		}
+	}
+
+	private byte[] header() throws IOException {
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream( header );
+		out.writeInt( MAGIC );
+		out.writeInt( VERSION );
+		CFSecRamRecordCodec.writeLayout( out, newRec.get().getClass() );
+		out.flush();
+		return( header.toByteArray() );
+	}
+
+	private void writeFrame( DataOutputStream out, ByteArrayOutputStream body ) throws IOException {
+		byte[] bytes = body.toByteArray();
+		crc.reset();
+		crc.update( bytes, 0, bytes.length );
+		out.writeInt( bytes.length );
+		out.write( bytes );
+		out.writeInt( (int)crc.getValue() );
+	}
+
+	private void indexRec( byte[] key, CFLibDbKeyHash256 secUserId, long offset ) throws IOException {
+		unindexRec( key );
+		keyIndex.put( key, offset );
+		Offsets userOffsets = userIndex.get( secUserId );
+		if( userOffsets == null ) {
+			userOffsets = new Offsets();
+			userIndex.put( secUserId, userOffsets );
+		}
+		userOffsets.add( offset );
+		if( keyIndex.size() > bloomKeys ) {
+			bloomKeys = keyIndex.size() * 2;
+			bloom = new CFSecRamBloomFilter( bloomKeys, BLOOM_FALSE_POSITIVE_RATE );
+			keyIndex.forEachKey( bloom::add );
+		}
+		else {
+			bloom.add( key );
+		}
+	}
+
+	/*
+	 *	Drop the current record of a key, if it has one, from the key index
+	 *	and from the offsets of its SecUser, which is read back from the record.
+	 */
+	private void unindexRec( byte[] key ) throws IOException {
+		long offset = keyIndex.get( key );
+		if( offset < 0L ) {
+			return;
+		}
+		keyIndex.remove( key );
+		ByteBuffer user = ByteBuffer.allocate( KEY_LENGTH );
+		readFully( channel, user, offset + 5 + KEY_LENGTH );
+		CFLibDbKeyHash256 secUserId = new CFLibDbKeyHash256( user.array() );
+		Offsets userOffsets = userIndex.get( secUserId );
+		if( ( userOffsets != null ) && userOffsets.remove( offset ) && ( userOffsets.size == 0 ) ) {
+			userIndex.remove( secUserId );
+		}
+	}
+
+	private CFSecBuffSecSession readAt( long offset ) throws IOException {
+		FileChannel readChannel;
+		synchronized( this ) {
+			checkOpen();
+			readChannel = channel;
+		}
+		ByteBuffer lenBuf = ByteBuffer.allocate( 4 );
+		readFully( readChannel, lenBuf, offset );
+		int len = lenBuf.getInt( 0 );
+		ByteBuffer frame = ByteBuffer.allocate( len + 4 );
+		readFully( readChannel, frame, offset + 4 );
+		byte[] body = frame.array();
+		CRC32 check = new CRC32();
+		check.update( body, 0, len );
+		if( ( (int)check.getValue() != frame.getInt( len ) ) || ( body[ 0 ] != KIND_REC ) ) {
+			throw new IOException( "Session archive " + path + " is corrupt at offset " + offset );
+		}
+		int rawLen = frame.getInt( 1 + 2 * KEY_LENGTH );
+		int payloadOff = 5 + 2 * KEY_LENGTH;
+		byte[] raw = new byte[ rawLen ];
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput( body, payloadOff, len - payloadOff );
+			int rawRead = 0;
+			while( rawRead < rawLen ) {
+				int n = inflater.inflate( raw, rawRead, rawLen - rawRead );
+				if( ( n == 0 ) && ( inflater.finished() || inflater.needsInput() ) ) {
+					throw new IOException( "Session archive " + path + " is corrupt at offset " + offset );
+				}
+				rawRead += n;
+			}
+		}
+		catch( DataFormatException e ) {
+			throw new IOException( "Session archive " + path + " is corrupt at offset " + offset, e );
+		}
+		finally {
+			inflater.end();
+		}
+		CFSecBuffSecSession rec = newRec.get();
+		CFSecRamRecordCodec.readRec( new DataInputStream( new ByteArrayInputStream( raw ) ), rec );
+		return( rec );
+	}
+
+	private static void readFully( FileChannel readChannel, ByteBuffer buf, long pos ) throws IOException {
+		while( buf.hasRemaining() ) {
+			int n = readChannel.read( buf, pos + buf.position() );
+			if( n < 0 ) {
+				throw new EOFException( "Unexpected end of session archive" );
+			}
+		}
+	}
+
+	private void writeFully( byte[] bytes, long pos ) throws IOException {
+		ByteBuffer buf = ByteBuffer.wrap( bytes );
+		while( buf.hasRemaining() ) {
+			channel.write( buf, pos + buf.position() );
+		}
+	}
+
+	/*
+	 *	The file offsets of the records of one SecUser.
+	 */
+	private static final class Offsets {
+		long[] values = new long[ 4 ];
+		int size = 0;
+
+		void add( long offset ) {
+			if( size == values.length ) {
+				values = Arrays.copyOf( values, size * 2 );
+			}
+			values[ size++ ] = offset;
+		}
+
+		boolean remove( long offset ) {
+			for( int idx = 0; idx < size; idx++ ) {
+				if( values[ idx ] == offset ) {
+					System.arraycopy( values, idx + 1, values, idx, size - idx - 1 );
+					size--;
+					return( true );
+				}
+			}
+			return( false );
+		}
+	}
+
+	/*
+	 *	An open addressing table from the 32 key bytes of a SecSessionId to
+	 *	the file offset of its record, held in two flat arrays.  An offset
+	 *	of zero marks an empty slot and DELETED a removed one; a real offset
+	 *	is never below the length of the file header.
+	 */
+	private static final class KeyIndex {
+		private static final long DELETED = -1L;
+
+		private byte[] keys = new byte[ 16 * KEY_LENGTH ];
+		private long[] offsets = new long[ 16 ];
+		private int size = 0;
+		private int used = 0;
+
+		int size() {
+			return( size );
+		}
+
+		long get( byte[] key ) {
+			int slot = find( key );
+			return( ( slot < 0 ) ? -1L : offsets[ slot ] );
+		}
+
+		void put( byte[] key, long offset ) {
+			if( ( used + 1 ) * 2 > offsets.length ) {
+				resize();
+			}
+			int mask = offsets.length - 1;
+			int slot = hash( key ) & mask;
+			int reuse = -1;
+			while( offsets[ slot ] != 0L ) {
+				if( offsets[ slot ] == DELETED ) {
+					if( reuse < 0 ) {
+						reuse = slot;
+					}
+				}
+				else if( keyEquals( slot, key ) ) {
+					offsets[ slot ] = offset;
+					return;
+				}
+				slot = ( slot + 1 ) & mask;
+			}
+			if( reuse >= 0 ) {
+				slot = reuse;
+			}
+			else {
+				used++;
+			}
+			System.arraycopy( key, 0, keys, slot * KEY_LENGTH, KEY_LENGTH );
+			offsets[ slot ] = offset;
+			size++;
+		}
+
+		void remove( byte[] key ) {
+			int slot = find( key );
+			if( slot >= 0 ) {
+				offsets[ slot ] = DELETED;
+				size--;
+			}
+		}
+
+		void forEachKey( Consumer< byte[] > action ) {
+			for( int slot = 0; slot < offsets.length; slot++ ) {
+				if( offsets[ slot ] > 0L ) {
+					action.accept( Arrays.copyOfRange( keys, slot * KEY_LENGTH, ( slot + 1 ) * KEY_LENGTH ) );
+				}
+			}
+		}
+
+		private int find( byte[] key ) {
+			int mask = offsets.length - 1;
+			int slot = hash( key ) & mask;
+			while( offsets[ slot ] != 0L ) {
+				if( ( offsets[ slot ] != DELETED ) && keyEquals( slot, key ) ) {
+					return( slot );
+				}
+				slot = ( slot + 1 ) & mask;
+			}
+			return( -1 );
+		}
+
+		private void resize() {
+			byte[] oldKeys = keys;
+			long[] oldOffsets = offsets;
+			int capacity = 16;
+			while( capacity < ( size + 1 ) * 4 ) {
+				capacity <<= 1;
+			}
+			keys = new byte[ capacity * KEY_LENGTH ];
+			offsets = new long[ capacity ];
+			size = 0;
+			used = 0;
+			for( int slot = 0; slot < oldOffsets.length; slot++ ) {
+				if( oldOffsets[ slot ] > 0L ) {
+					put( Arrays.copyOfRange( oldKeys, slot * KEY_LENGTH, ( slot + 1 ) * KEY_LENGTH ), oldOffsets[ slot ] );
+				}
+			}
+		}
+
+		private boolean keyEquals( int slot, byte[] key ) {
+			int base = slot * KEY_LENGTH;
+			return( Arrays.equals( keys, base, base + KEY_LENGTH, key, 0, KEY_LENGTH ) );
+		}
+
+		private static int hash( byte[] key ) {
+			int h = ( ( key[ 0 ] & 0xff ) << 24 ) | ( ( key[ 1 ] & 0xff ) << 16 ) | ( ( key[ 2 ] & 0xff ) << 8 ) | ( key[ 3 ] & 0xff );
+			return( h ^ ( h >>> 16 ) );
+		}
+	}
+}
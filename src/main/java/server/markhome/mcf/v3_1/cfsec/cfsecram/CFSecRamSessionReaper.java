@@ -0,0 +1,317 @@
+
+// Description: Java 25 session expiry reaper for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.io.*;
+import java.time.*;
+import java.util.*;
+import server.markhome.mcf.v3_1.cflib.*;
+import server.markhome.mcf.v3_1.cflib.dbutil.*;
+
+import server.markhome.mcf.v3_1.cfsec.cfsec.*;
+import server.markhome.mcf.v3_1.cfsec.cfsec.buff.*;
+
+/*
+ *	CFSecRamSessionReaper expires the open sessions of a CFSecRamSchema
+ *	that have been idle for longer than a timeout.
+ *
+ *	Every open session is scheduled on a CFSecRamTimingWheel for its Start
+ *	plus the timeout, and is rescheduled whenever touch() reports activity
+ *	on it.  The SecSession table keeps the wheel current as sessions are
+ *	created, updated and deleted, so the reaper never scans the table.  A
+ *	virtual thread advances the wheel once per tick and either closes the
+ *	expired sessions, by setting their Finish, or purges them.  They are
+ *	processed in transactions of up to batchSize sessions each, with each
+ *	session in its own savepoint, so a session that cannot be reaped is
+ *	counted as a failure and rescheduled without undoing the rest of its
+ *	batch.
+ */
+public class CFSecRamSessionReaper
+	implements Closeable
+{
+	public static final long DEFAULT_TICK_MILLIS = 1000L;
+	public static final int DEFAULT_BATCH_SIZE = 256;
+
+	private final CFSecRamSchema schema;
+	private final ICFSecAuthorization authorization;
+	private final long idleMillis;
+	private final boolean purge;
+	private final Clock clock;
+	private final int batchSize;
+	private final CFSecRamTimingWheel< CFLibDbKeyHash256 > wheel;
+	private volatile Thread thread = null;
+	private volatile boolean closed = false;
+	private volatile long reapedCount = 0L;
+	private volatile long failedCount = 0L;
+	private volatile RuntimeException lastFailure = null;
+
+	/**
+	 *	@param	argSchema	The schema whose sessions are expired.
+	 *
+	 *	@param	argAuthorization	The authorization used to close or purge sessions.
+	 *
+	 *	@param	idleTimeout	How long a session may stay idle before it expires.
+	 *
+	 *	@param	argPurge	True to delete expired sessions, false to close them.
+	 *
+	 *	@param	argClock	The clock used for deadlines and Finish stamps.
+	 *
+	 *	@param	tickMillis	How often the wheel is advanced.
+	 *
+	 *	@param	argBatchSize	The most sessions expired in one transaction.
+	 */
+	public CFSecRamSessionReaper( CFSecRamSchema argSchema,
+		ICFSecAuthorization argAuthorization,
+		Duration idleTimeout,
+		boolean argPurge,
+		Clock argClock,
+		long tickMillis,
+		int argBatchSize )
+	{
+		if( argBatchSize <= 0 ) {
+			throw new IllegalArgumentException( "Batch size must be positive" );
+		}
+		schema = argSchema;
+		authorization = argAuthorization;
+		idleMillis = idleTimeout.toMillis();
+		purge = argPurge;
+		clock = argClock;
+		batchSize = argBatchSize;
+		wheel = new CFSecRamTimingWheel< CFLibDbKeyHash256 >( tickMillis, clock.millis() );
+	}
+
+	public boolean isPurge() {
+		return( purge );
+	}
+
+	public long getIdleMillis() {
+		return( idleMillis );
+	}
+
+	/**
+	 *	@return	The number of sessions closed or purged so far.
+	 */
+	public long getReapedCount() {
+		return( reapedCount );
+	}
+
+	/**
+	 *	@return	The number of sessions that failed to close or purge, and of
+	 *		passes of the reaper thread that failed outright.
+	 */
+	public long getFailedCount() {
+		return( failedCount );
+	}
+
+	/**
+	 *	@return	The most recent failure counted by getFailedCount(), or null.
+	 */
+	public RuntimeException getLastFailure() {
+		return( lastFailure );
+	}
+
+	/**
+	 *	@return	The number of open sessions awaiting expiry.
+	 */
+	public synchronized int getScheduledCount() {
+		return( wheel.size() );
+	}
+
+	/**
+	 *	Start the virtual thread that advances the wheel.
+	 */
+	public synchronized void start() {
+		if( ( thread == null ) && ! closed ) {
+			thread = Thread.ofVirtual().name( "CFSecRamSessionReaper" ).start( this::run );
+		}
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		Thread running = thread;
+		if( running != null ) {
+			running.interrupt();
+		}
+	}
+
+	/**
+	 *	Report activity on a session, pushing its expiry back to a full
+	 *	timeout from now.  Sessions that are not open are ignored.
+	 *
+	 *	@param	pkey	The SecSessionId of the session.
+	 */
+	public synchronized void touch( CFLibDbKeyHash256 pkey ) {
+		if( wheel.isScheduled( pkey ) ) {
+			wheel.schedule( pkey, clock.millis() + idleMillis );
+		}
+	}
+
+	/**
+	 *	Reschedule every open session from its Start, discarding any other
+	 *	deadlines.  Called by the table whenever it rebuilds its indexes.
+	 */
+	public synchronized void reset( Collection< CFSecBuffSecSession > recs ) {
+		wheel.clear();
+		for( CFSecBuffSecSession Buff : recs ) {
+			if( Buff.getOptionalFinish() == null ) {
+				wheel.schedule( Buff.getRequiredSecSessionId(), deadlineOf( Buff ) );
+			}
+		}
+	}
+
+	/**
+	 *	Keep the wheel current with one change to the SecSession table.
+	 *
+	 *	@param	before	The row image replaced, or null for a create.
+	 *
+	 *	@param	after	The row image written, or null for a delete.
+	 */
+	public synchronized void sessionChanged( CFSecBuffSecSession before, CFSecBuffSecSession after ) {
+		if( ( after == null ) || ( after.getOptionalFinish() != null ) ) {
+			CFSecBuffSecSession gone = ( after == null ) ? before : after;
+			wheel.cancel( gone.getRequiredSecSessionId() );
+		}
+		else if( ( before == null )
+			|| ( before.getOptionalFinish() != null )
+			|| ! before.getRequiredStart().equals( after.getRequiredStart() ) )
+		{
+			wheel.schedule( after.getRequiredSecSessionId(), deadlineOf( after ) );
+		}
+	}
+
+	/**
+	 *	Advance the wheel to the current time and expire every session whose
+	 *	deadline has passed.  Normally called by the reaper thread.
+	 *
+	 *	@return	The number of sessions closed or purged.
+	 */
+	public int reapExpired() {
+		List< CFLibDbKeyHash256 > expired = new ArrayList< CFLibDbKeyHash256 >();
+		synchronized( this ) {
+			wheel.advance( clock.millis(), expired::add );
+		}
+		int reaped = 0;
+		for( int from = 0; from < expired.size(); from += batchSize ) {
+			List< CFLibDbKeyHash256 > batch = expired.subList( from, Math.min( from + batchSize, expired.size() ) );
+			int[] batchReaped = { 0 };
+			schema.runInTransaction( () -> {
+				for( CFLibDbKeyHash256 pkey : batch ) {
+					if( reapInSavepoint( pkey ) ) {
+						batchReaped[0]++;
+					}
+				}
+			} );
+			reaped += batchReaped[0];
+		}
+		reapedCount += reaped;
+		return( reaped );
+	}
+
+	/*
+	 *	Reap one session in a nested transaction.  If it fails its own changes
+	 *	are rolled back, the failure is recorded, and the session is retried
+	 *	after another full timeout.
+	 */
+	private boolean reapInSavepoint( CFLibDbKeyHash256 pkey ) {
+		schema.beginTransaction();
+		boolean reaped;
+		try {
+			reaped = reap( pkey );
+			schema.commitTransaction();
+		}
+		catch( RuntimeException e ) {
+			schema.rollbackTransaction();
+			recordFailure( e );
+			synchronized( this ) {
+				wheel.schedule( pkey, clock.millis() + idleMillis );
+			}
+			return( false );
+		}
+		return( reaped );
+	}
+
+	private synchronized void recordFailure( RuntimeException e ) {
+		failedCount++;
+		lastFailure = e;
+	}
+
+	private boolean reap( CFLibDbKeyHash256 pkey ) {
+		if( ! ( schema.getTableSecSession() instanceof CFSecRamSecSessionTable ) ) {
+			return( false );
+		}
+		CFSecRamSecSessionTable table = (CFSecRamSecSessionTable)schema.getTableSecSession();
+		CFSecBuffSecSession cur = table.lookupRec( pkey );
+		if( ( cur == null ) || ( cur.getOptionalFinish() != null ) ) {
+			return( false );
+		}
+		try {
+			if( purge ) {
+				table.deleteSecSession( authorization, cur );
+			}
+			else {
+				CFSecBuffSecSession finished = (CFSecBuffSecSession)(schema.getFactorySecSession().newRec());
+				finished.set( cur );
+				finished.setOptionalFinish( LocalDateTime.now( clock ) );
+				table.updateSecSession( authorization, finished );
+			}
+		}
+		catch( CFLibCollisionDetectedException e ) {
+			// Changed since it was read; try again on the next tick
+			synchronized( this ) {
+				wheel.schedule( pkey, clock.millis() );
+			}
+			return( false );
+		}
+		return( true );
+	}
+
+	private long deadlineOf( CFSecBuffSecSession Buff ) {
+		return( Buff.getRequiredStart().atZone( clock.getZone() ).toInstant().toEpochMilli() + idleMillis );
+	}
+
+	private void run() {
+		while( ! closed ) {
+			try {
+				Thread.sleep( wheel.getTickMillis() );
+			}
+			catch( InterruptedException e ) {
+				continue;
+			}
+			try {
+				reapExpired();
+			}
+			catch( RuntimeException e ) {
+				// The failed batch was rolled back, which put its sessions
+				// back on the wheel
+				recordFailure( e );
+			}
+		}
+	}
+}
@@ -0,0 +1,118 @@
+
+// Description: Java 25 short id generator for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/*
+ *	CFSecRamShortIdGenerator allocates the short primary keys of the
+ *	ISO reference tables safely from many threads.
+ *
+ *	Released ids are reused lowest first before the high water mark
+ *	advances, and the generator refuses to wrap past Short.MAX_VALUE
+ *	rather than silently handing out negative or duplicate ids.
+ */
+public class CFSecRamShortIdGenerator
+{
+	private final String idName;
+	private final AtomicInteger nextValue = new AtomicInteger( 1 );
+	private final ConcurrentSkipListSet< Short > freeIds = new ConcurrentSkipListSet< Short >();
+
+	public CFSecRamShortIdGenerator( String argIdName ) {
+		idName = argIdName;
+	}
+
+	public String getIdName() {
+		return( idName );
+	}
+
+	/**
+	 *	Allocate an id.
+	 *
+	 *	@return	The lowest released id, or the next never used id.
+	 *
+	 *	@throws	IllegalStateException when all the positive short ids are in use.
+	 */
+	public short next() {
+		Short reused = freeIds.pollFirst();
+		if( reused != null ) {
+			return( reused.shortValue() );
+		}
+		int value;
+		do {
+			value = nextValue.get();
+			if( value > Short.MAX_VALUE ) {
+				throw new IllegalStateException( "All " + Short.MAX_VALUE + " " + idName + " values are in use" );
+			}
+		} while( ! nextValue.compareAndSet( value, value + 1 ) );
+		return( (short)value );
+	}
+
+	/**
+	 *	Return an id whose row has been deleted so it can be allocated again.
+	 *	The delete must have committed: an id released while its delete can
+	 *	still be rolled back could be handed out before the row is restored.
+	 *
+	 *	@param	id	The id to release.  Ids never issued are ignored.
+	 */
+	public void release( short id ) {
+		if( ( id >= 1 ) && ( id < nextValue.get() ) ) {
+			freeIds.add( Short.valueOf( id ) );
+		}
+	}
+
+	/**
+	 *	Reseed the generator from the ids currently in use, for example after
+	 *	the table has been reloaded.  The high water mark moves past the largest
+	 *	id and every unused id below it becomes available for reuse.
+	 *	<P>
+	 *	Reseeding must not run concurrently with allocation.
+	 *
+	 *	@param	usedIds	The ids present in the table.
+	 */
+	public synchronized void reseed( Collection< Short > usedIds ) {
+		BitSet used = new BitSet( Short.MAX_VALUE + 1 );
+		int max = 0;
+		for( Short id : usedIds ) {
+			if( ( id != null ) && ( id.shortValue() >= 1 ) ) {
+				used.set( id.shortValue() );
+				if( id.shortValue() > max ) {
+					max = id.shortValue();
+				}
+			}
+		}
+		freeIds.clear();
+		for( int id = used.nextClearBit( 1 ); id < max; id = used.nextClearBit( id + 1 ) ) {
+			freeIds.add( Short.valueOf( (short)id ) );
+		}
+		nextValue.set( max + 1 );
+	}
+}
@@ -0,0 +1,166 @@
+
+// Description: Java 25 binary snapshots of the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/*
+ *	CFSecRamSnapshot writes and reads a compact binary image of every
+ *	table of a CFSecRamSchema.
+ *
+ *	The file holds a header with the field layout of every table,
+ *	followed by one section per table:
+ *
+ *		[ short table ][ int count ]( [ int length ][ payload ] )*
+ *
+ *	Snapshots are written to a temporary file which is then moved over
+ *	the target, so a crash never leaves a partial snapshot behind.  They
+ *	are read back through a memory-mapped FileChannel.  As soon as a
+ *	table's section has been decoded it is handed to the schema's restore
+ *	pool, so the tables are loaded, and their indexes rebuilt, in parallel
+ *	with each other and with the decoding of the following sections.
+ */
+public class CFSecRamSnapshot
+{
+	private static final int MAGIC = 0x43465353;
+	private static final int VERSION = 1;
+
+	private CFSecRamSnapshot() {
+	}
+
+	/**
+	 *	Write a snapshot of a schema.  No changes may be made to the schema
+	 *	while the snapshot is being written.
+	 *
+	 *	@param	schema	The schema to capture.
+	 *
+	 *	@param	path	The snapshot file to write.
+	 *
+	 *	@return	The number of records written.
+	 */
+	public static long write( CFSecRamSchema schema, Path path ) throws IOException {
+		List< CFSecRamTableBinding<?> > bindings = schema.getTableBindings();
+		Path dir = path.toAbsolutePath().getParent();
+		Path temp = Files.createTempFile( dir, path.getFileName().toString(), ".tmp" );
+		long count = 0L;
+		try {
+			try( FileChannel channel = FileChannel.open( temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING ) ) {
+				DataOutputStream out = new DataOutputStream( new BufferedOutputStream( Channels.newOutputStream( channel ), 256 * 1024 ) );
+				out.writeInt( MAGIC );
+				out.writeInt( VERSION );
+				out.writeShort( bindings.size() );
+				for( CFSecRamTableBinding<?> binding : bindings ) {
+					CFSecRamRecordCodec.writeLayout( out, binding.getBuffClass() );
+				}
+				ByteArrayOutputStream scratch = new ByteArrayOutputStream( 1024 );
+				DataOutputStream scratchOut = new DataOutputStream( scratch );
+				for( int tableIndex = 0; tableIndex < bindings.size(); tableIndex++ ) {
+					List<?> recs = bindings.get( tableIndex ).snapshotRecs();
+					out.writeShort( tableIndex );
+					out.writeInt( recs.size() );
+					for( Object rec : recs ) {
+						scratch.reset();
+						CFSecRamRecordCodec.writeRec( scratchOut, rec );
+						scratchOut.flush();
+						out.writeInt( scratch.size() );
+						scratch.writeTo( out );
+					}
+					count += recs.size();
+				}
+				out.flush();
+				channel.force( true );
+			}
+			Files.move( temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+		}
+		finally {
+			Files.deleteIfExists( temp );
+		}
+		return( count );
+	}
+
+	/**
+	 *	Replace the contents of a schema with a snapshot.  The schema must not
+	 *	be in use while the snapshot is being read.
+	 *
+	 *	@param	schema	The schema to load.
+	 *
+	 *	@param	path	The snapshot file to read.
+	 *
+	 *	@return	The number of records read.
+	 */
+	public static long read( CFSecRamSchema schema, Path path ) throws IOException {
+		List< CFSecRamTableBinding<?> > bindings = schema.getTableBindings();
+		ForkJoinPool pool = schema.getRestorePool();
+		ArrayList< ForkJoinTask<?> > restores = new ArrayList< ForkJoinTask<?> >();
+		long count = 0L;
+		try( FileChannel channel = FileChannel.open( path, StandardOpenOption.READ ) ) {
+			DataInputStream in = new DataInputStream( new CFSecRamMappedInputStream( channel ) );
+			if( in.readInt() != MAGIC ) {
+				throw new IOException( path + " is not a CFSecRam snapshot" );
+			}
+			int version = in.readInt();
+			if( version != VERSION ) {
+				throw new IOException( path + " has unsupported snapshot version " + version );
+			}
+			int tableCount = in.readShort();
+			if( tableCount != bindings.size() ) {
+				throw new IOException( path + " describes " + tableCount + " tables, expected " + bindings.size() );
+			}
+			for( CFSecRamTableBinding<?> binding : bindings ) {
+				CFSecRamRecordCodec.checkLayout( in, binding.getBuffClass() );
+			}
+			for( int idx = 0; idx < tableCount; idx++ ) {
+				int tableIndex = in.readShort();
+				if( ( tableIndex < 0 ) || ( tableIndex >= bindings.size() ) ) {
+					throw new IOException( path + " names unknown table " + tableIndex );
+				}
+				final CFSecRamTableBinding<?> binding = bindings.get( tableIndex );
+				int recCount = in.readInt();
+				final ArrayList< Object > recs = new ArrayList< Object >( recCount );
+				for( int recIdx = 0; recIdx < recCount; recIdx++ ) {
+					in.readInt();
+					Object rec = binding.newRec();
+					CFSecRamRecordCodec.readRec( in, rec );
+					recs.add( rec );
+				}
+				restores.add( pool.submit( () -> binding.restoreRecs( recs ) ) );
+				count += recCount;
+			}
+		}
+		finally {
+			CFSecRamForkJoin.joinAll( restores );
+		}
+		schema.reseedShortIdGenerators();
+		return( count );
+	}
+}
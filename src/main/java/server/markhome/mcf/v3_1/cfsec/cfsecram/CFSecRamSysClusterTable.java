@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,8 +48,11 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for SysCluster.
  */
 public class CFSecRamSysClusterTable
-	implements ICFSecSysClusterTable
+	implements ICFSecSysClusterTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecSysCluster[] EMPTY_REC_ARRAY = new ICFSecSysCluster[0];
+
 	private ICFSecSchema schema;
 	private Map< Integer,
 				CFSecBuffSysCluster > dictByPKey
@@ -60,6 +65,16 @@ public class CFSecRamSysClusterTable
 				Map< Integer,
 					CFSecBuffSysCluster >>();
 
+	private final List< Integer > bulkPKeys = new ArrayList< Integer >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffSysClusterByClusterIdxKey > probeClusterIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffSysClusterByClusterIdxKey)schema.getFactorySysCluster().newByClusterIdxKey() );
+
 	public CFSecRamSysClusterTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
@@ -79,11 +94,170 @@ public class CFSecRamSysClusterTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffSysCluster > recs ) {
+		dictByPKey.clear();
+		for( CFSecBuffSysCluster Buff : recs ) {
+			Integer pkey = (Integer)(Buff.getPKey());
+			dictByPKey.put( pkey, Buff );
+		}
+		rebuildIndexes();
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffSysCluster > snapshotRecs() {
+		return( new ArrayList< CFSecBuffSysCluster >( dictByPKey.values() ) );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffSysCluster lookupRec( Object pkey ) {
+		return( dictByPKey.get( pkey ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffSysCluster before ) {
+		long lsn = 0L;
+		CFSecBuffSysCluster current;
+		if( before == null ) {
+			current = dictByPKey.remove( pkey );
+		}
+		else {
+			current = dictByPKey.put( (Integer)pkey, before );
+		}
+		if( current != null ) {
+			unindexRec( current );
+		}
+		if( before != null ) {
+			indexRec( before );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+		}
+		else if( current != null ) {
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffSysCluster Buff ) {
+		Integer pkey = (Integer)(Buff.getPKey());
+		CFSecBuffSysClusterByClusterIdxKey keyClusterIdx = (CFSecBuffSysClusterByClusterIdxKey)schema.getFactorySysCluster().newByClusterIdxKey();
+		keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		Map< Integer, CFSecBuffSysCluster > subdictClusterIdx;
+		if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
+			subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+		}
+		else {
+			subdictClusterIdx = new HashMap< Integer, CFSecBuffSysCluster >();
+			dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
+		}
+		subdictClusterIdx.put( pkey, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffSysCluster Buff ) {
+		Integer pkey = (Integer)(Buff.getPKey());
+		CFSecBuffSysClusterByClusterIdxKey keyClusterIdx = (CFSecBuffSysClusterByClusterIdxKey)schema.getFactorySysCluster().newByClusterIdxKey();
+		keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		Map< Integer, CFSecBuffSysCluster > subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+		if( subdictClusterIdx != null ) {
+			subdictClusterIdx.remove( pkey );
+			if( subdictClusterIdx.isEmpty() ) {
+				dictByClusterIdx.remove( keyClusterIdx );
+			}
+		}
+	}
+
+	protected void rebuildIndexes() {
+		rebuildClusterIdx();
+	}
+
+	protected void rebuildClusterIdx() {
+		dictByClusterIdx.clear();
+		for( CFSecBuffSysCluster Buff : dictByPKey.values() ) {
+			Integer pkey = (Integer)(Buff.getPKey());
+			CFSecBuffSysClusterByClusterIdxKey keyClusterIdx = (CFSecBuffSysClusterByClusterIdxKey)schema.getFactorySysCluster().newByClusterIdxKey();
+			keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			Map< Integer, CFSecBuffSysCluster > subdictClusterIdx;
+			if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
+				subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+			}
+			else {
+				subdictClusterIdx = new HashMap< Integer, CFSecBuffSysCluster >();
+				dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
+			}
+			subdictClusterIdx.put( pkey, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< CFSecBuffSysCluster > staged = new ArrayList< CFSecBuffSysCluster >();
+		for( Integer pkey : bulkPKeys ) {
+			CFSecBuffSysCluster Buff = dictByPKey.get( pkey );
+			if( Buff == null ) {
+				continue;
+			}
+			staged.add( Buff );
+		}
+
+		Map< CFLibDbKeyHash256, List< CFSecBuffSysCluster > > bySysClusterCluster = new HashMap< CFLibDbKeyHash256, List< CFSecBuffSysCluster > >();
+		for( CFSecBuffSysCluster Buff : staged ) {
+			bySysClusterCluster.computeIfAbsent( Buff.getRequiredClusterId(), ( k ) -> new ArrayList< CFSecBuffSysCluster >() ).add( Buff );
+		}
+		for( Map.Entry< CFLibDbKeyHash256, List< CFSecBuffSysCluster > > entry : bySysClusterCluster.entrySet() ) {
+			if( null == schema.getTableCluster().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffSysCluster Buff : entry.getValue() ) {
+					violations.add( "SysCluster " + Buff.getPKey() + " references the missing Cluster " + entry.getKey() + " through SysClusterCluster" );
+				}
+			}
+		}
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		for( Integer pkey : bulkPKeys ) {
+			CFSecBuffSysCluster Buff = dictByPKey.remove( pkey );
+			if( Buff != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+			}
+		}
+		bulkPKeys.clear();
+		rebuildIndexes();
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		bulkPKeys.clear();
+	}
+
 	@Override
 	public ICFSecSysCluster createSysCluster( ICFSecAuthorization Authorization,
 		ICFSecSysCluster iBuff )
 	{
 		final String S_ProcName = "createSysCluster";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffSysCluster Buff = (CFSecBuffSysCluster)ensureRec(iBuff);
 		Integer pkey;
@@ -103,7 +277,7 @@ public class CFSecRamSysClusterTable
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableCluster().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredClusterId() ) )
 				{
@@ -123,6 +297,9 @@ public class CFSecRamSysClusterTable
 		// Proceed with adding the new record
 
 		dictByPKey.put( pkey, Buff );
+		if( bulkLoad ) {
+			bulkPKeys.add( pkey );
+		}
 
 		Map< Integer, CFSecBuffSysCluster > subdictClusterIdx;
 		if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
@@ -134,6 +311,10 @@ public class CFSecRamSysClusterTable
 		}
 		subdictClusterIdx.put( pkey, Buff );
 
+		CFSecRamTransaction.record( schema, null, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
+
 		if (Buff == null) {
 			return( null );
 		}
@@ -200,25 +381,19 @@ public class CFSecRamSysClusterTable
 		CFLibDbKeyHash256 ClusterId )
 	{
 		final String S_ProcName = "CFSecRamSysCluster.readDerivedByClusterIdx";
-		CFSecBuffSysClusterByClusterIdxKey key = (CFSecBuffSysClusterByClusterIdxKey)schema.getFactorySysCluster().newByClusterIdxKey();
+		CFSecBuffSysClusterByClusterIdxKey key = probeClusterIdx.get();
 
 		key.setRequiredClusterId( ClusterId );
-		ICFSecSysCluster[] recArray;
-		if( dictByClusterIdx.containsKey( key ) ) {
-			Map< Integer, CFSecBuffSysCluster > subdictClusterIdx
-				= dictByClusterIdx.get( key );
-			recArray = new ICFSecSysCluster[ subdictClusterIdx.size() ];
-			Iterator< CFSecBuffSysCluster > iter = subdictClusterIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		Map< Integer, CFSecBuffSysCluster > subdictClusterIdx
+			= dictByClusterIdx.get( key );
+		if( ( subdictClusterIdx == null ) || subdictClusterIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< Integer, CFSecBuffSysCluster > subdictClusterIdx
-				= new HashMap< Integer, CFSecBuffSysCluster >();
-			dictByClusterIdx.put( key, subdictClusterIdx );
-			recArray = new ICFSecSysCluster[0];
+		ICFSecSysCluster[] recArray = new ICFSecSysCluster[ subdictClusterIdx.size() ];
+		Iterator< CFSecBuffSysCluster > iter = subdictClusterIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -238,6 +413,103 @@ public class CFSecRamSysClusterTable
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every SysCluster instance in the table,
+	 *	without copying the table into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecSysCluster > viewAll( ICFSecAuthorization Authorization ) {
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every SysCluster instance in the table, iterating
+	 *	the table in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecSysCluster > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every SysCluster instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecSysCluster > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the SysCluster instances identified by the duplicate key ClusterIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The SysCluster key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecSysCluster > viewByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId )
+	{
+		CFSecBuffSysClusterByClusterIdxKey key = probeClusterIdx.get();
+		key.setRequiredClusterId( ClusterId );
+		return( CFSecRamViews.of( dictByClusterIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each SysCluster instance identified by the duplicate key ClusterIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The SysCluster key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId,
+		Consumer< ? super ICFSecSysCluster > action )
+	{
+		viewByClusterIdx( Authorization,
+			ClusterId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the SysCluster instances identified by the duplicate key ClusterIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The SysCluster key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecSysCluster > streamByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId )
+	{
+		return( viewByClusterIdx( Authorization,
+			ClusterId ).stream() );
+	}
+
 	@Override
 	public ICFSecSysCluster readRec( ICFSecAuthorization Authorization,
 		Integer PKey )
@@ -262,20 +534,43 @@ public class CFSecRamSysClusterTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecSysCluster.CLASS_CODE.
+	 */
+	protected ICFSecSysCluster[] filterRecs( ICFSecSysCluster[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecSysCluster buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSysCluster.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecSysCluster[] recArray = new ICFSecSysCluster[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecSysCluster buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSysCluster.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecSysCluster[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamSysCluster.readAllRec";
-		ICFSecSysCluster buff;
-		ArrayList<ICFSecSysCluster> filteredList = new ArrayList<ICFSecSysCluster>();
 		ICFSecSysCluster[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSysCluster.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecSysCluster[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -298,17 +593,12 @@ public class CFSecRamSysClusterTable
 		CFLibDbKeyHash256 ClusterId )
 	{
 		final String S_ProcName = "CFSecRamSysCluster.readRecByClusterIdx() ";
-		ICFSecSysCluster buff;
-		ArrayList<ICFSecSysCluster> filteredList = new ArrayList<ICFSecSysCluster>();
 		ICFSecSysCluster[] buffList = readDerivedByClusterIdx( Authorization,
 			ClusterId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecSysCluster.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecSysCluster)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecSysCluster[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	public ICFSecSysCluster updateSysCluster( ICFSecAuthorization Authorization,
@@ -366,12 +656,16 @@ public class CFSecRamSysClusterTable
 
 		Map< Integer, CFSecBuffSysCluster > subdict;
 
-		dictByPKey.remove( pkey );
 		dictByPKey.put( pkey, Buff );
 
-		subdict = dictByClusterIdx.get( existingKeyClusterIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyClusterIdx.equals( newKeyClusterIdx ) ) {
+			subdict = dictByClusterIdx.get( existingKeyClusterIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByClusterIdx.remove( existingKeyClusterIdx );
+				}
+			}
 		}
 		if( dictByClusterIdx.containsKey( newKeyClusterIdx ) ) {
 			subdict = dictByClusterIdx.get( newKeyClusterIdx );
@@ -382,6 +676,9 @@ public class CFSecRamSysClusterTable
 		}
 		subdict.put( pkey, Buff );
 
+		CFSecRamTransaction.record( schema, existing, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
@@ -414,32 +711,30 @@ public class CFSecRamSysClusterTable
 		dictByPKey.remove( pkey );
 
 		subdict = dictByClusterIdx.get( keyClusterIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByClusterIdx.remove( keyClusterIdx );
+			}
+		}
 
+		CFSecRamTransaction.record( schema, existing, null );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteSysClusterByIdIdx( ICFSecAuthorization Authorization,
 		Integer argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffSysCluster cur;
 		LinkedList<CFSecBuffSysCluster> matchSet = new LinkedList<CFSecBuffSysCluster>();
-		Iterator<CFSecBuffSysCluster> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByPKey.get( argKey );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffSysCluster> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSysCluster)(schema.getTableSysCluster().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSingletonId() ));
 			deleteSysCluster( Authorization, cur );
 		}
 	}
@@ -458,24 +753,22 @@ public class CFSecRamSysClusterTable
 		ICFSecSysClusterByClusterIdxKey argKey )
 	{
 		CFSecBuffSysCluster cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffSysClusterByClusterIdxKey key;
+		if( argKey instanceof CFSecBuffSysClusterByClusterIdxKey ) {
+			key = (CFSecBuffSysClusterByClusterIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffSysClusterByClusterIdxKey)schema.getFactorySysCluster().newByClusterIdxKey();
+			key.setRequiredClusterId( argKey.getRequiredClusterId() );
 		}
 		LinkedList<CFSecBuffSysCluster> matchSet = new LinkedList<CFSecBuffSysCluster>();
-		Iterator<CFSecBuffSysCluster> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		Map< Integer, CFSecBuffSysCluster > subdictClusterIdx = dictByClusterIdx.get( key );
+		if( subdictClusterIdx != null ) {
+			matchSet.addAll( subdictClusterIdx.values() );
 		}
 		Iterator<CFSecBuffSysCluster> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffSysCluster)(schema.getTableSysCluster().readDerivedByIdIdx( Authorization,
-				cur.getRequiredSingletonId() ));
 			deleteSysCluster( Authorization, cur );
 		}
 	}
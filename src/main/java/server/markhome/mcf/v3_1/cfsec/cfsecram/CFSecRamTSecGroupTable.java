@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,8 +48,11 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for TSecGroup.
  */
 public class CFSecRamTSecGroupTable
-	implements ICFSecTSecGroupTable
+	implements ICFSecTSecGroupTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecTSecGroup[] EMPTY_REC_ARRAY = new ICFSecTSecGroup[0];
+
 	private ICFSecSchema schema;
 	private Map< CFLibDbKeyHash256,
 				CFSecBuffTSecGroup > dictByPKey
@@ -70,6 +75,20 @@ public class CFSecRamTSecGroupTable
 		= new HashMap< CFSecBuffTSecGroupByUNameIdxKey,
 			CFSecBuffTSecGroup >();
 
+	private final List< CFLibDbKeyHash256 > bulkPKeys = new ArrayList< CFLibDbKeyHash256 >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffTSecGroupByTenantIdxKey > probeTenantIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffTSecGroupByTenantIdxKey)schema.getFactoryTSecGroup().newByTenantIdxKey() );
+	private final ThreadLocal< CFSecBuffTSecGroupByTenantVisIdxKey > probeTenantVisIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffTSecGroupByTenantVisIdxKey)schema.getFactoryTSecGroup().newByTenantVisIdxKey() );
+	private final ThreadLocal< CFSecBuffTSecGroupByUNameIdxKey > probeUNameIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffTSecGroupByUNameIdxKey)schema.getFactoryTSecGroup().newByUNameIdxKey() );
+
 	public CFSecRamTSecGroupTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
@@ -89,11 +108,248 @@ public class CFSecRamTSecGroupTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffTSecGroup > recs ) {
+		dictByPKey.clear();
+		for( CFSecBuffTSecGroup Buff : recs ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			dictByPKey.put( pkey, Buff );
+		}
+		rebuildIndexes();
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffTSecGroup > snapshotRecs() {
+		return( new ArrayList< CFSecBuffTSecGroup >( dictByPKey.values() ) );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffTSecGroup lookupRec( Object pkey ) {
+		return( dictByPKey.get( pkey ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffTSecGroup before ) {
+		long lsn = 0L;
+		CFSecBuffTSecGroup current;
+		if( before == null ) {
+			current = dictByPKey.remove( pkey );
+		}
+		else {
+			current = dictByPKey.put( (CFLibDbKeyHash256)pkey, before );
+		}
+		if( current != null ) {
+			unindexRec( current );
+		}
+		if( before != null ) {
+			indexRec( before );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+		}
+		else if( current != null ) {
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffTSecGroup Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffTSecGroupByTenantIdxKey keyTenantIdx = (CFSecBuffTSecGroupByTenantIdxKey)schema.getFactoryTSecGroup().newByTenantIdxKey();
+		keyTenantIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+		Map< CFLibDbKeyHash256, CFSecBuffTSecGroup > subdictTenantIdx;
+		if( dictByTenantIdx.containsKey( keyTenantIdx ) ) {
+			subdictTenantIdx = dictByTenantIdx.get( keyTenantIdx );
+		}
+		else {
+			subdictTenantIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGroup >();
+			dictByTenantIdx.put( keyTenantIdx, subdictTenantIdx );
+		}
+		subdictTenantIdx.put( pkey, Buff );
+
+		CFSecBuffTSecGroupByTenantVisIdxKey keyTenantVisIdx = (CFSecBuffTSecGroupByTenantVisIdxKey)schema.getFactoryTSecGroup().newByTenantVisIdxKey();
+		keyTenantVisIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+		keyTenantVisIdx.setRequiredIsVisible( Buff.getRequiredIsVisible() );
+		Map< CFLibDbKeyHash256, CFSecBuffTSecGroup > subdictTenantVisIdx;
+		if( dictByTenantVisIdx.containsKey( keyTenantVisIdx ) ) {
+			subdictTenantVisIdx = dictByTenantVisIdx.get( keyTenantVisIdx );
+		}
+		else {
+			subdictTenantVisIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGroup >();
+			dictByTenantVisIdx.put( keyTenantVisIdx, subdictTenantVisIdx );
+		}
+		subdictTenantVisIdx.put( pkey, Buff );
+
+		CFSecBuffTSecGroupByUNameIdxKey keyUNameIdx = (CFSecBuffTSecGroupByUNameIdxKey)schema.getFactoryTSecGroup().newByUNameIdxKey();
+		keyUNameIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+		keyUNameIdx.setRequiredName( Buff.getRequiredName() );
+		dictByUNameIdx.put( keyUNameIdx, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffTSecGroup Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffTSecGroupByTenantIdxKey keyTenantIdx = (CFSecBuffTSecGroupByTenantIdxKey)schema.getFactoryTSecGroup().newByTenantIdxKey();
+		keyTenantIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+		Map< CFLibDbKeyHash256, CFSecBuffTSecGroup > subdictTenantIdx = dictByTenantIdx.get( keyTenantIdx );
+		if( subdictTenantIdx != null ) {
+			subdictTenantIdx.remove( pkey );
+			if( subdictTenantIdx.isEmpty() ) {
+				dictByTenantIdx.remove( keyTenantIdx );
+			}
+		}
+
+		CFSecBuffTSecGroupByTenantVisIdxKey keyTenantVisIdx = (CFSecBuffTSecGroupByTenantVisIdxKey)schema.getFactoryTSecGroup().newByTenantVisIdxKey();
+		keyTenantVisIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+		keyTenantVisIdx.setRequiredIsVisible( Buff.getRequiredIsVisible() );
+		Map< CFLibDbKeyHash256, CFSecBuffTSecGroup > subdictTenantVisIdx = dictByTenantVisIdx.get( keyTenantVisIdx );
+		if( subdictTenantVisIdx != null ) {
+			subdictTenantVisIdx.remove( pkey );
+			if( subdictTenantVisIdx.isEmpty() ) {
+				dictByTenantVisIdx.remove( keyTenantVisIdx );
+			}
+		}
+
+		CFSecBuffTSecGroupByUNameIdxKey keyUNameIdx = (CFSecBuffTSecGroupByUNameIdxKey)schema.getFactoryTSecGroup().newByUNameIdxKey();
+		keyUNameIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+		keyUNameIdx.setRequiredName( Buff.getRequiredName() );
+		dictByUNameIdx.remove( keyUNameIdx );
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildTenantIdx,
+			this::rebuildTenantVisIdx,
+			this::rebuildUNameIdx );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	protected void rebuildTenantIdx() {
+		dictByTenantIdx.clear();
+		for( CFSecBuffTSecGroup Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffTSecGroupByTenantIdxKey keyTenantIdx = (CFSecBuffTSecGroupByTenantIdxKey)schema.getFactoryTSecGroup().newByTenantIdxKey();
+			keyTenantIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+			Map< CFLibDbKeyHash256, CFSecBuffTSecGroup > subdictTenantIdx;
+			if( dictByTenantIdx.containsKey( keyTenantIdx ) ) {
+				subdictTenantIdx = dictByTenantIdx.get( keyTenantIdx );
+			}
+			else {
+				subdictTenantIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGroup >();
+				dictByTenantIdx.put( keyTenantIdx, subdictTenantIdx );
+			}
+			subdictTenantIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildTenantVisIdx() {
+		dictByTenantVisIdx.clear();
+		for( CFSecBuffTSecGroup Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffTSecGroupByTenantVisIdxKey keyTenantVisIdx = (CFSecBuffTSecGroupByTenantVisIdxKey)schema.getFactoryTSecGroup().newByTenantVisIdxKey();
+			keyTenantVisIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+			keyTenantVisIdx.setRequiredIsVisible( Buff.getRequiredIsVisible() );
+			Map< CFLibDbKeyHash256, CFSecBuffTSecGroup > subdictTenantVisIdx;
+			if( dictByTenantVisIdx.containsKey( keyTenantVisIdx ) ) {
+				subdictTenantVisIdx = dictByTenantVisIdx.get( keyTenantVisIdx );
+			}
+			else {
+				subdictTenantVisIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGroup >();
+				dictByTenantVisIdx.put( keyTenantVisIdx, subdictTenantVisIdx );
+			}
+			subdictTenantVisIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildUNameIdx() {
+		dictByUNameIdx.clear();
+		for( CFSecBuffTSecGroup Buff : dictByPKey.values() ) {
+			CFSecBuffTSecGroupByUNameIdxKey keyUNameIdx = (CFSecBuffTSecGroupByUNameIdxKey)schema.getFactoryTSecGroup().newByUNameIdxKey();
+			keyUNameIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+			keyUNameIdx.setRequiredName( Buff.getRequiredName() );
+			dictByUNameIdx.put( keyUNameIdx, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< CFSecBuffTSecGroup > staged = new ArrayList< CFSecBuffTSecGroup >();
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffTSecGroup Buff = dictByPKey.get( pkey );
+			if( Buff == null ) {
+				continue;
+			}
+			staged.add( Buff );
+			CFSecBuffTSecGroupByUNameIdxKey keyUNameIdx = (CFSecBuffTSecGroupByUNameIdxKey)schema.getFactoryTSecGroup().newByUNameIdxKey();
+			keyUNameIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+			keyUNameIdx.setRequiredName( Buff.getRequiredName() );
+			if( dictByUNameIdx.get( keyUNameIdx ) != Buff ) {
+				violations.add( "TSecGroup " + Buff.getPKey() + " duplicates the TSecGroupUNameIdx key " + keyUNameIdx );
+			}
+		}
+
+		Map< CFLibDbKeyHash256, List< CFSecBuffTSecGroup > > byTSecGroupTenant = new HashMap< CFLibDbKeyHash256, List< CFSecBuffTSecGroup > >();
+		for( CFSecBuffTSecGroup Buff : staged ) {
+			byTSecGroupTenant.computeIfAbsent( Buff.getRequiredTenantId(), ( k ) -> new ArrayList< CFSecBuffTSecGroup >() ).add( Buff );
+		}
+		for( Map.Entry< CFLibDbKeyHash256, List< CFSecBuffTSecGroup > > entry : byTSecGroupTenant.entrySet() ) {
+			if( null == schema.getTableTenant().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffTSecGroup Buff : entry.getValue() ) {
+					violations.add( "TSecGroup " + Buff.getPKey() + " references the missing Tenant " + entry.getKey() + " through TSecGroupTenant" );
+				}
+			}
+		}
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffTSecGroup Buff = dictByPKey.remove( pkey );
+			if( Buff != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+			}
+		}
+		bulkPKeys.clear();
+		rebuildIndexes();
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		bulkPKeys.clear();
+	}
+
 	@Override
 	public ICFSecTSecGroup createTSecGroup( ICFSecAuthorization Authorization,
 		ICFSecTSecGroup iBuff )
 	{
 		final String S_ProcName = "createTSecGroup";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffTSecGroup Buff = (CFSecBuffTSecGroup)ensureRec(iBuff);
 		CFLibDbKeyHash256 pkey;
@@ -116,7 +372,7 @@ public class CFSecRamTSecGroupTable
 			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
 		}
 
-		if( dictByUNameIdx.containsKey( keyUNameIdx ) ) {
+		if( ( ! bulkLoad ) && dictByUNameIdx.containsKey( keyUNameIdx ) ) {
 			throw new CFLibUniqueIndexViolationException( getClass(),
 				S_ProcName,
 				"TSecGroupUNameIdx",
@@ -129,7 +385,7 @@ public class CFSecRamTSecGroupTable
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableTenant().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredTenantId() ) )
 				{
@@ -149,6 +405,9 @@ public class CFSecRamTSecGroupTable
 		// Proceed with adding the new record
 
 		dictByPKey.put( pkey, Buff );
+		if( bulkLoad ) {
+			bulkPKeys.add( pkey );
+		}
 
 		Map< CFLibDbKeyHash256, CFSecBuffTSecGroup > subdictTenantIdx;
 		if( dictByTenantIdx.containsKey( keyTenantIdx ) ) {
@@ -170,7 +429,11 @@ public class CFSecRamTSecGroupTable
 		}
 		subdictTenantVisIdx.put( pkey, Buff );
 
-		dictByUNameIdx.put( keyUNameIdx, Buff );
+		dictByUNameIdx.putIfAbsent( keyUNameIdx, Buff );
+
+		CFSecRamTransaction.record( schema, null, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 
 		if (Buff == null) {
 			return( null );
@@ -238,25 +501,19 @@ public class CFSecRamTSecGroupTable
 		CFLibDbKeyHash256 TenantId )
 	{
 		final String S_ProcName = "CFSecRamTSecGroup.readDerivedByTenantIdx";
-		CFSecBuffTSecGroupByTenantIdxKey key = (CFSecBuffTSecGroupByTenantIdxKey)schema.getFactoryTSecGroup().newByTenantIdxKey();
+		CFSecBuffTSecGroupByTenantIdxKey key = probeTenantIdx.get();
 
 		key.setRequiredTenantId( TenantId );
-		ICFSecTSecGroup[] recArray;
-		if( dictByTenantIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffTSecGroup > subdictTenantIdx
-				= dictByTenantIdx.get( key );
-			recArray = new ICFSecTSecGroup[ subdictTenantIdx.size() ];
-			Iterator< CFSecBuffTSecGroup > iter = subdictTenantIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		Map< CFLibDbKeyHash256, CFSecBuffTSecGroup > subdictTenantIdx
+			= dictByTenantIdx.get( key );
+		if( ( subdictTenantIdx == null ) || subdictTenantIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffTSecGroup > subdictTenantIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGroup >();
-			dictByTenantIdx.put( key, subdictTenantIdx );
-			recArray = new ICFSecTSecGroup[0];
+		ICFSecTSecGroup[] recArray = new ICFSecTSecGroup[ subdictTenantIdx.size() ];
+		Iterator< CFSecBuffTSecGroup > iter = subdictTenantIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -267,26 +524,20 @@ public class CFSecRamTSecGroupTable
 		boolean IsVisible )
 	{
 		final String S_ProcName = "CFSecRamTSecGroup.readDerivedByTenantVisIdx";
-		CFSecBuffTSecGroupByTenantVisIdxKey key = (CFSecBuffTSecGroupByTenantVisIdxKey)schema.getFactoryTSecGroup().newByTenantVisIdxKey();
+		CFSecBuffTSecGroupByTenantVisIdxKey key = probeTenantVisIdx.get();
 
 		key.setRequiredTenantId( TenantId );
 		key.setRequiredIsVisible( IsVisible );
-		ICFSecTSecGroup[] recArray;
-		if( dictByTenantVisIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffTSecGroup > subdictTenantVisIdx
-				= dictByTenantVisIdx.get( key );
-			recArray = new ICFSecTSecGroup[ subdictTenantVisIdx.size() ];
-			Iterator< CFSecBuffTSecGroup > iter = subdictTenantVisIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		Map< CFLibDbKeyHash256, CFSecBuffTSecGroup > subdictTenantVisIdx
+			= dictByTenantVisIdx.get( key );
+		if( ( subdictTenantVisIdx == null ) || subdictTenantVisIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffTSecGroup > subdictTenantVisIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGroup >();
-			dictByTenantVisIdx.put( key, subdictTenantVisIdx );
-			recArray = new ICFSecTSecGroup[0];
+		ICFSecTSecGroup[] recArray = new ICFSecTSecGroup[ subdictTenantVisIdx.size() ];
+		Iterator< CFSecBuffTSecGroup > iter = subdictTenantVisIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -297,17 +548,12 @@ public class CFSecRamTSecGroupTable
 		String Name )
 	{
 		final String S_ProcName = "CFSecRamTSecGroup.readDerivedByUNameIdx";
-		CFSecBuffTSecGroupByUNameIdxKey key = (CFSecBuffTSecGroupByUNameIdxKey)schema.getFactoryTSecGroup().newByUNameIdxKey();
+		CFSecBuffTSecGroupByUNameIdxKey key = probeUNameIdx.get();
 
 		key.setRequiredTenantId( TenantId );
 		key.setRequiredName( Name );
 		ICFSecTSecGroup buff;
-		if( dictByUNameIdx.containsKey( key ) ) {
-			buff = dictByUNameIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByUNameIdx.get( key );
 		return( buff );
 	}
 
@@ -326,6 +572,171 @@ public class CFSecRamTSecGroupTable
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every TSecGroup instance in the table,
+	 *	without copying the table into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecTSecGroup > viewAll( ICFSecAuthorization Authorization ) {
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every TSecGroup instance in the table, iterating
+	 *	the table in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecTSecGroup > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every TSecGroup instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecTSecGroup > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the TSecGroup instances identified by the duplicate key TenantIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TenantId	The TSecGroup key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecTSecGroup > viewByTenantIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TenantId )
+	{
+		CFSecBuffTSecGroupByTenantIdxKey key = probeTenantIdx.get();
+		key.setRequiredTenantId( TenantId );
+		return( CFSecRamViews.of( dictByTenantIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each TSecGroup instance identified by the duplicate key TenantIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TenantId	The TSecGroup key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByTenantIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TenantId,
+		Consumer< ? super ICFSecTSecGroup > action )
+	{
+		viewByTenantIdx( Authorization,
+			TenantId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the TSecGroup instances identified by the duplicate key TenantIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TenantId	The TSecGroup key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecTSecGroup > streamByTenantIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TenantId )
+	{
+		return( viewByTenantIdx( Authorization,
+			TenantId ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the TSecGroup instances identified by the duplicate key TenantVisIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TenantId	The TSecGroup key attribute of the instance generating the id.
+	 *
+	 *	@param	IsVisible	The TSecGroup key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecTSecGroup > viewByTenantVisIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TenantId,
+		boolean IsVisible )
+	{
+		CFSecBuffTSecGroupByTenantVisIdxKey key = probeTenantVisIdx.get();
+		key.setRequiredTenantId( TenantId );
+		key.setRequiredIsVisible( IsVisible );
+		return( CFSecRamViews.of( dictByTenantVisIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each TSecGroup instance identified by the duplicate key TenantVisIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TenantId	The TSecGroup key attribute of the instance generating the id.
+	 *
+	 *	@param	IsVisible	The TSecGroup key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByTenantVisIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TenantId,
+		boolean IsVisible,
+		Consumer< ? super ICFSecTSecGroup > action )
+	{
+		viewByTenantVisIdx( Authorization,
+			TenantId,
+			IsVisible ).forEach( action );
+	}
+
+	/**
+	 *	Stream the TSecGroup instances identified by the duplicate key TenantVisIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TenantId	The TSecGroup key attribute of the instance generating the id.
+	 *
+	 *	@param	IsVisible	The TSecGroup key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecTSecGroup > streamByTenantVisIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TenantId,
+		boolean IsVisible )
+	{
+		return( viewByTenantVisIdx( Authorization,
+			TenantId,
+			IsVisible ).stream() );
+	}
+
 	@Override
 	public ICFSecTSecGroup readRec( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 PKey )
@@ -350,20 +761,43 @@ public class CFSecRamTSecGroupTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecTSecGroup.CLASS_CODE.
+	 */
+	protected ICFSecTSecGroup[] filterRecs( ICFSecTSecGroup[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecTSecGroup buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGroup.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecTSecGroup[] recArray = new ICFSecTSecGroup[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecTSecGroup buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGroup.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecTSecGroup[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamTSecGroup.readAllRec";
-		ICFSecTSecGroup buff;
-		ArrayList<ICFSecTSecGroup> filteredList = new ArrayList<ICFSecTSecGroup>();
 		ICFSecTSecGroup[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGroup.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecTSecGroup[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -386,17 +820,12 @@ public class CFSecRamTSecGroupTable
 		CFLibDbKeyHash256 TenantId )
 	{
 		final String S_ProcName = "CFSecRamTSecGroup.readRecByTenantIdx() ";
-		ICFSecTSecGroup buff;
-		ArrayList<ICFSecTSecGroup> filteredList = new ArrayList<ICFSecTSecGroup>();
 		ICFSecTSecGroup[] buffList = readDerivedByTenantIdx( Authorization,
 			TenantId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGroup.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecTSecGroup)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecTSecGroup[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -405,18 +834,13 @@ public class CFSecRamTSecGroupTable
 		boolean IsVisible )
 	{
 		final String S_ProcName = "CFSecRamTSecGroup.readRecByTenantVisIdx() ";
-		ICFSecTSecGroup buff;
-		ArrayList<ICFSecTSecGroup> filteredList = new ArrayList<ICFSecTSecGroup>();
 		ICFSecTSecGroup[] buffList = readDerivedByTenantVisIdx( Authorization,
 			TenantId,
 			IsVisible );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGroup.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecTSecGroup)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecTSecGroup[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -517,12 +941,16 @@ public class CFSecRamTSecGroupTable
 
 		Map< CFLibDbKeyHash256, CFSecBuffTSecGroup > subdict;
 
-		dictByPKey.remove( pkey );
 		dictByPKey.put( pkey, Buff );
 
-		subdict = dictByTenantIdx.get( existingKeyTenantIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyTenantIdx.equals( newKeyTenantIdx ) ) {
+			subdict = dictByTenantIdx.get( existingKeyTenantIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByTenantIdx.remove( existingKeyTenantIdx );
+				}
+			}
 		}
 		if( dictByTenantIdx.containsKey( newKeyTenantIdx ) ) {
 			subdict = dictByTenantIdx.get( newKeyTenantIdx );
@@ -533,9 +961,14 @@ public class CFSecRamTSecGroupTable
 		}
 		subdict.put( pkey, Buff );
 
-		subdict = dictByTenantVisIdx.get( existingKeyTenantVisIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyTenantVisIdx.equals( newKeyTenantVisIdx ) ) {
+			subdict = dictByTenantVisIdx.get( existingKeyTenantVisIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByTenantVisIdx.remove( existingKeyTenantVisIdx );
+				}
+			}
 		}
 		if( dictByTenantVisIdx.containsKey( newKeyTenantVisIdx ) ) {
 			subdict = dictByTenantVisIdx.get( newKeyTenantVisIdx );
@@ -546,15 +979,30 @@ public class CFSecRamTSecGroupTable
 		}
 		subdict.put( pkey, Buff );
 
-		dictByUNameIdx.remove( existingKeyUNameIdx );
+		if( ! existingKeyUNameIdx.equals( newKeyUNameIdx ) ) {
+			dictByUNameIdx.remove( existingKeyUNameIdx );
+		}
 		dictByUNameIdx.put( newKeyUNameIdx, Buff );
 
+		CFSecRamTransaction.record( schema, existing, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
 	@Override
 	public void deleteTSecGroup( ICFSecAuthorization Authorization,
 		ICFSecTSecGroup iBuff )
+	{
+		CFSecRamTransaction.atomically( schema, () -> deleteTSecGroupCascade( Authorization, iBuff ) );
+	}
+
+	/**
+	 *	Delete the TSecGroup and every row that depends on it.  deleteTSecGroup() runs
+	 *	this as one transaction so a failure partway through changes nothing.
+	 */
+	protected void deleteTSecGroupCascade( ICFSecAuthorization Authorization,
+		ICFSecTSecGroup iBuff )
 	{
 		final String S_ProcName = "CFSecRamTSecGroupTable.deleteTSecGroup() ";
 		CFSecBuffTSecGroup Buff = (CFSecBuffTSecGroup)ensureRec(iBuff);
@@ -595,37 +1043,40 @@ public class CFSecRamTSecGroupTable
 		dictByPKey.remove( pkey );
 
 		subdict = dictByTenantIdx.get( keyTenantIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByTenantIdx.remove( keyTenantIdx );
+			}
+		}
 
 		subdict = dictByTenantVisIdx.get( keyTenantVisIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByTenantVisIdx.remove( keyTenantVisIdx );
+			}
+		}
 
 		dictByUNameIdx.remove( keyUNameIdx );
 
+		CFSecRamTransaction.record( schema, existing, null );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteTSecGroupByIdIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffTSecGroup cur;
 		LinkedList<CFSecBuffTSecGroup> matchSet = new LinkedList<CFSecBuffTSecGroup>();
-		Iterator<CFSecBuffTSecGroup> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByPKey.get( argKey );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffTSecGroup> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTSecGroup)(schema.getTableTSecGroup().readDerivedByIdIdx( Authorization,
-				cur.getRequiredTSecGroupId() ));
 			deleteTSecGroup( Authorization, cur );
 		}
 	}
@@ -644,24 +1095,22 @@ public class CFSecRamTSecGroupTable
 		ICFSecTSecGroupByTenantIdxKey argKey )
 	{
 		CFSecBuffTSecGroup cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffTSecGroupByTenantIdxKey key;
+		if( argKey instanceof CFSecBuffTSecGroupByTenantIdxKey ) {
+			key = (CFSecBuffTSecGroupByTenantIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffTSecGroupByTenantIdxKey)schema.getFactoryTSecGroup().newByTenantIdxKey();
+			key.setRequiredTenantId( argKey.getRequiredTenantId() );
 		}
 		LinkedList<CFSecBuffTSecGroup> matchSet = new LinkedList<CFSecBuffTSecGroup>();
-		Iterator<CFSecBuffTSecGroup> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		Map< CFLibDbKeyHash256, CFSecBuffTSecGroup > subdictTenantIdx = dictByTenantIdx.get( key );
+		if( subdictTenantIdx != null ) {
+			matchSet.addAll( subdictTenantIdx.values() );
 		}
 		Iterator<CFSecBuffTSecGroup> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTSecGroup)(schema.getTableTSecGroup().readDerivedByIdIdx( Authorization,
-				cur.getRequiredTSecGroupId() ));
 			deleteTSecGroup( Authorization, cur );
 		}
 	}
@@ -682,25 +1131,23 @@ public class CFSecRamTSecGroupTable
 		ICFSecTSecGroupByTenantVisIdxKey argKey )
 	{
 		CFSecBuffTSecGroup cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffTSecGroupByTenantVisIdxKey key;
+		if( argKey instanceof CFSecBuffTSecGroupByTenantVisIdxKey ) {
+			key = (CFSecBuffTSecGroupByTenantVisIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffTSecGroupByTenantVisIdxKey)schema.getFactoryTSecGroup().newByTenantVisIdxKey();
+			key.setRequiredTenantId( argKey.getRequiredTenantId() );
+			key.setRequiredIsVisible( argKey.getRequiredIsVisible() );
 		}
 		LinkedList<CFSecBuffTSecGroup> matchSet = new LinkedList<CFSecBuffTSecGroup>();
-		Iterator<CFSecBuffTSecGroup> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		Map< CFLibDbKeyHash256, CFSecBuffTSecGroup > subdictTenantVisIdx = dictByTenantVisIdx.get( key );
+		if( subdictTenantVisIdx != null ) {
+			matchSet.addAll( subdictTenantVisIdx.values() );
 		}
 		Iterator<CFSecBuffTSecGroup> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTSecGroup)(schema.getTableTSecGroup().readDerivedByIdIdx( Authorization,
-				cur.getRequiredTSecGroupId() ));
 			deleteTSecGroup( Authorization, cur );
 		}
 	}
@@ -721,25 +1168,23 @@ public class CFSecRamTSecGroupTable
 		ICFSecTSecGroupByUNameIdxKey argKey )
 	{
 		CFSecBuffTSecGroup cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffTSecGroupByUNameIdxKey key;
+		if( argKey instanceof CFSecBuffTSecGroupByUNameIdxKey ) {
+			key = (CFSecBuffTSecGroupByUNameIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffTSecGroupByUNameIdxKey)schema.getFactoryTSecGroup().newByUNameIdxKey();
+			key.setRequiredTenantId( argKey.getRequiredTenantId() );
+			key.setRequiredName( argKey.getRequiredName() );
 		}
 		LinkedList<CFSecBuffTSecGroup> matchSet = new LinkedList<CFSecBuffTSecGroup>();
-		Iterator<CFSecBuffTSecGroup> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByUNameIdx.get( key );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffTSecGroup> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTSecGroup)(schema.getTableTSecGroup().readDerivedByIdIdx( Authorization,
-				cur.getRequiredTSecGroupId() ));
 			deleteTSecGroup( Authorization, cur );
 		}
 	}
@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,36 +48,55 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for TSecGrpInc.
  */
 public class CFSecRamTSecGrpIncTable
-	implements ICFSecTSecGrpIncTable
+	implements ICFSecTSecGrpIncTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecTSecGrpInc[] EMPTY_REC_ARRAY = new ICFSecTSecGrpInc[0];
+
 	private ICFSecSchema schema;
-	private Map< CFLibDbKeyHash256,
+	private NavigableMap< CFLibDbKeyHash256,
 				CFSecBuffTSecGrpInc > dictByPKey
-		= new HashMap< CFLibDbKeyHash256,
+		= new TreeMap< CFLibDbKeyHash256,
 				CFSecBuffTSecGrpInc >();
 	private Map< CFSecBuffTSecGrpIncByTenantIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffTSecGrpInc >> dictByTenantIdx
 		= new HashMap< CFSecBuffTSecGrpIncByTenantIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffTSecGrpInc >>();
 	private Map< CFSecBuffTSecGrpIncByGroupIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffTSecGrpInc >> dictByGroupIdx
 		= new HashMap< CFSecBuffTSecGrpIncByGroupIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffTSecGrpInc >>();
 	private Map< CFSecBuffTSecGrpIncByIncludeIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffTSecGrpInc >> dictByIncludeIdx
 		= new HashMap< CFSecBuffTSecGrpIncByIncludeIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffTSecGrpInc >>();
 	private Map< CFSecBuffTSecGrpIncByUIncludeIdxKey,
 			CFSecBuffTSecGrpInc > dictByUIncludeIdx
 		= new HashMap< CFSecBuffTSecGrpIncByUIncludeIdxKey,
 			CFSecBuffTSecGrpInc >();
 
+	private final List< CFLibDbKeyHash256 > bulkPKeys = new ArrayList< CFLibDbKeyHash256 >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffTSecGrpIncByTenantIdxKey > probeTenantIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffTSecGrpIncByTenantIdxKey)schema.getFactoryTSecGrpInc().newByTenantIdxKey() );
+	private final ThreadLocal< CFSecBuffTSecGrpIncByGroupIdxKey > probeGroupIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffTSecGrpIncByGroupIdxKey)schema.getFactoryTSecGrpInc().newByGroupIdxKey() );
+	private final ThreadLocal< CFSecBuffTSecGrpIncByIncludeIdxKey > probeIncludeIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffTSecGrpIncByIncludeIdxKey)schema.getFactoryTSecGrpInc().newByIncludeIdxKey() );
+	private final ThreadLocal< CFSecBuffTSecGrpIncByUIncludeIdxKey > probeUIncludeIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffTSecGrpIncByUIncludeIdxKey)schema.getFactoryTSecGrpInc().newByUIncludeIdxKey() );
+
 	public CFSecRamTSecGrpIncTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
@@ -95,11 +116,302 @@ public class CFSecRamTSecGrpIncTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffTSecGrpInc > recs ) {
+		dictByPKey.clear();
+		for( CFSecBuffTSecGrpInc Buff : recs ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			dictByPKey.put( pkey, Buff );
+		}
+		rebuildIndexes();
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffTSecGrpInc > snapshotRecs() {
+		return( new ArrayList< CFSecBuffTSecGrpInc >( dictByPKey.values() ) );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffTSecGrpInc lookupRec( Object pkey ) {
+		return( dictByPKey.get( pkey ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffTSecGrpInc before ) {
+		long lsn = 0L;
+		CFSecBuffTSecGrpInc current;
+		if( before == null ) {
+			current = dictByPKey.remove( pkey );
+		}
+		else {
+			current = dictByPKey.put( (CFLibDbKeyHash256)pkey, before );
+		}
+		if( current != null ) {
+			unindexRec( current );
+		}
+		if( before != null ) {
+			indexRec( before );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+		}
+		else if( current != null ) {
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffTSecGrpInc Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffTSecGrpIncByTenantIdxKey keyTenantIdx = (CFSecBuffTSecGrpIncByTenantIdxKey)schema.getFactoryTSecGrpInc().newByTenantIdxKey();
+		keyTenantIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictTenantIdx;
+		if( dictByTenantIdx.containsKey( keyTenantIdx ) ) {
+			subdictTenantIdx = dictByTenantIdx.get( keyTenantIdx );
+		}
+		else {
+			subdictTenantIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
+			dictByTenantIdx.put( keyTenantIdx, subdictTenantIdx );
+		}
+		subdictTenantIdx.put( pkey, Buff );
+
+		CFSecBuffTSecGrpIncByGroupIdxKey keyGroupIdx = (CFSecBuffTSecGrpIncByGroupIdxKey)schema.getFactoryTSecGrpInc().newByGroupIdxKey();
+		keyGroupIdx.setRequiredTSecGroupId( Buff.getRequiredTSecGroupId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictGroupIdx;
+		if( dictByGroupIdx.containsKey( keyGroupIdx ) ) {
+			subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
+		}
+		else {
+			subdictGroupIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
+			dictByGroupIdx.put( keyGroupIdx, subdictGroupIdx );
+		}
+		subdictGroupIdx.put( pkey, Buff );
+
+		CFSecBuffTSecGrpIncByIncludeIdxKey keyIncludeIdx = (CFSecBuffTSecGrpIncByIncludeIdxKey)schema.getFactoryTSecGrpInc().newByIncludeIdxKey();
+		keyIncludeIdx.setRequiredIncludeGroupId( Buff.getRequiredIncludeGroupId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictIncludeIdx;
+		if( dictByIncludeIdx.containsKey( keyIncludeIdx ) ) {
+			subdictIncludeIdx = dictByIncludeIdx.get( keyIncludeIdx );
+		}
+		else {
+			subdictIncludeIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
+			dictByIncludeIdx.put( keyIncludeIdx, subdictIncludeIdx );
+		}
+		subdictIncludeIdx.put( pkey, Buff );
+
+		CFSecBuffTSecGrpIncByUIncludeIdxKey keyUIncludeIdx = (CFSecBuffTSecGrpIncByUIncludeIdxKey)schema.getFactoryTSecGrpInc().newByUIncludeIdxKey();
+		keyUIncludeIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+		keyUIncludeIdx.setRequiredTSecGroupId( Buff.getRequiredTSecGroupId() );
+		keyUIncludeIdx.setRequiredIncludeGroupId( Buff.getRequiredIncludeGroupId() );
+		dictByUIncludeIdx.put( keyUIncludeIdx, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffTSecGrpInc Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffTSecGrpIncByTenantIdxKey keyTenantIdx = (CFSecBuffTSecGrpIncByTenantIdxKey)schema.getFactoryTSecGrpInc().newByTenantIdxKey();
+		keyTenantIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictTenantIdx = dictByTenantIdx.get( keyTenantIdx );
+		if( subdictTenantIdx != null ) {
+			subdictTenantIdx.remove( pkey );
+			if( subdictTenantIdx.isEmpty() ) {
+				dictByTenantIdx.remove( keyTenantIdx );
+			}
+		}
+
+		CFSecBuffTSecGrpIncByGroupIdxKey keyGroupIdx = (CFSecBuffTSecGrpIncByGroupIdxKey)schema.getFactoryTSecGrpInc().newByGroupIdxKey();
+		keyGroupIdx.setRequiredTSecGroupId( Buff.getRequiredTSecGroupId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
+		if( subdictGroupIdx != null ) {
+			subdictGroupIdx.remove( pkey );
+			if( subdictGroupIdx.isEmpty() ) {
+				dictByGroupIdx.remove( keyGroupIdx );
+			}
+		}
+
+		CFSecBuffTSecGrpIncByIncludeIdxKey keyIncludeIdx = (CFSecBuffTSecGrpIncByIncludeIdxKey)schema.getFactoryTSecGrpInc().newByIncludeIdxKey();
+		keyIncludeIdx.setRequiredIncludeGroupId( Buff.getRequiredIncludeGroupId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictIncludeIdx = dictByIncludeIdx.get( keyIncludeIdx );
+		if( subdictIncludeIdx != null ) {
+			subdictIncludeIdx.remove( pkey );
+			if( subdictIncludeIdx.isEmpty() ) {
+				dictByIncludeIdx.remove( keyIncludeIdx );
+			}
+		}
+
+		CFSecBuffTSecGrpIncByUIncludeIdxKey keyUIncludeIdx = (CFSecBuffTSecGrpIncByUIncludeIdxKey)schema.getFactoryTSecGrpInc().newByUIncludeIdxKey();
+		keyUIncludeIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+		keyUIncludeIdx.setRequiredTSecGroupId( Buff.getRequiredTSecGroupId() );
+		keyUIncludeIdx.setRequiredIncludeGroupId( Buff.getRequiredIncludeGroupId() );
+		dictByUIncludeIdx.remove( keyUIncludeIdx );
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildTenantIdx,
+			this::rebuildGroupIdx,
+			this::rebuildIncludeIdx,
+			this::rebuildUIncludeIdx );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	protected void rebuildTenantIdx() {
+		dictByTenantIdx.clear();
+		for( CFSecBuffTSecGrpInc Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffTSecGrpIncByTenantIdxKey keyTenantIdx = (CFSecBuffTSecGrpIncByTenantIdxKey)schema.getFactoryTSecGrpInc().newByTenantIdxKey();
+			keyTenantIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictTenantIdx;
+			if( dictByTenantIdx.containsKey( keyTenantIdx ) ) {
+				subdictTenantIdx = dictByTenantIdx.get( keyTenantIdx );
+			}
+			else {
+				subdictTenantIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
+				dictByTenantIdx.put( keyTenantIdx, subdictTenantIdx );
+			}
+			subdictTenantIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildGroupIdx() {
+		dictByGroupIdx.clear();
+		for( CFSecBuffTSecGrpInc Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffTSecGrpIncByGroupIdxKey keyGroupIdx = (CFSecBuffTSecGrpIncByGroupIdxKey)schema.getFactoryTSecGrpInc().newByGroupIdxKey();
+			keyGroupIdx.setRequiredTSecGroupId( Buff.getRequiredTSecGroupId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictGroupIdx;
+			if( dictByGroupIdx.containsKey( keyGroupIdx ) ) {
+				subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
+			}
+			else {
+				subdictGroupIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
+				dictByGroupIdx.put( keyGroupIdx, subdictGroupIdx );
+			}
+			subdictGroupIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildIncludeIdx() {
+		dictByIncludeIdx.clear();
+		for( CFSecBuffTSecGrpInc Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffTSecGrpIncByIncludeIdxKey keyIncludeIdx = (CFSecBuffTSecGrpIncByIncludeIdxKey)schema.getFactoryTSecGrpInc().newByIncludeIdxKey();
+			keyIncludeIdx.setRequiredIncludeGroupId( Buff.getRequiredIncludeGroupId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictIncludeIdx;
+			if( dictByIncludeIdx.containsKey( keyIncludeIdx ) ) {
+				subdictIncludeIdx = dictByIncludeIdx.get( keyIncludeIdx );
+			}
+			else {
+				subdictIncludeIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
+				dictByIncludeIdx.put( keyIncludeIdx, subdictIncludeIdx );
+			}
+			subdictIncludeIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildUIncludeIdx() {
+		dictByUIncludeIdx.clear();
+		for( CFSecBuffTSecGrpInc Buff : dictByPKey.values() ) {
+			CFSecBuffTSecGrpIncByUIncludeIdxKey keyUIncludeIdx = (CFSecBuffTSecGrpIncByUIncludeIdxKey)schema.getFactoryTSecGrpInc().newByUIncludeIdxKey();
+			keyUIncludeIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+			keyUIncludeIdx.setRequiredTSecGroupId( Buff.getRequiredTSecGroupId() );
+			keyUIncludeIdx.setRequiredIncludeGroupId( Buff.getRequiredIncludeGroupId() );
+			dictByUIncludeIdx.put( keyUIncludeIdx, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< CFSecBuffTSecGrpInc > staged = new ArrayList< CFSecBuffTSecGrpInc >();
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffTSecGrpInc Buff = dictByPKey.get( pkey );
+			if( Buff == null ) {
+				continue;
+			}
+			staged.add( Buff );
+			CFSecBuffTSecGrpIncByUIncludeIdxKey keyUIncludeIdx = (CFSecBuffTSecGrpIncByUIncludeIdxKey)schema.getFactoryTSecGrpInc().newByUIncludeIdxKey();
+			keyUIncludeIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+			keyUIncludeIdx.setRequiredTSecGroupId( Buff.getRequiredTSecGroupId() );
+			keyUIncludeIdx.setRequiredIncludeGroupId( Buff.getRequiredIncludeGroupId() );
+			if( dictByUIncludeIdx.get( keyUIncludeIdx ) != Buff ) {
+				violations.add( "TSecGrpInc " + Buff.getPKey() + " duplicates the TSecGrpIncUIncludeIdx key " + keyUIncludeIdx );
+			}
+		}
+
+		Map< CFLibDbKeyHash256, List< CFSecBuffTSecGrpInc > > byTSecGrpIncTenant = new HashMap< CFLibDbKeyHash256, List< CFSecBuffTSecGrpInc > >();
+		for( CFSecBuffTSecGrpInc Buff : staged ) {
+			byTSecGrpIncTenant.computeIfAbsent( Buff.getRequiredTenantId(), ( k ) -> new ArrayList< CFSecBuffTSecGrpInc >() ).add( Buff );
+		}
+		for( Map.Entry< CFLibDbKeyHash256, List< CFSecBuffTSecGrpInc > > entry : byTSecGrpIncTenant.entrySet() ) {
+			if( null == schema.getTableTenant().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffTSecGrpInc Buff : entry.getValue() ) {
+					violations.add( "TSecGrpInc " + Buff.getPKey() + " references the missing Tenant " + entry.getKey() + " through TSecGrpIncTenant" );
+				}
+			}
+		}
+
+		Map< CFLibDbKeyHash256, List< CFSecBuffTSecGrpInc > > byTSecGrpIncGroup = new HashMap< CFLibDbKeyHash256, List< CFSecBuffTSecGrpInc > >();
+		for( CFSecBuffTSecGrpInc Buff : staged ) {
+			byTSecGrpIncGroup.computeIfAbsent( Buff.getRequiredTSecGroupId(), ( k ) -> new ArrayList< CFSecBuffTSecGrpInc >() ).add( Buff );
+		}
+		for( Map.Entry< CFLibDbKeyHash256, List< CFSecBuffTSecGrpInc > > entry : byTSecGrpIncGroup.entrySet() ) {
+			if( null == schema.getTableTSecGroup().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffTSecGrpInc Buff : entry.getValue() ) {
+					violations.add( "TSecGrpInc " + Buff.getPKey() + " references the missing TSecGroup " + entry.getKey() + " through TSecGrpIncGroup" );
+				}
+			}
+		}
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffTSecGrpInc Buff = dictByPKey.remove( pkey );
+			if( Buff != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+			}
+		}
+		bulkPKeys.clear();
+		rebuildIndexes();
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		bulkPKeys.clear();
+	}
+
 	@Override
 	public ICFSecTSecGrpInc createTSecGrpInc( ICFSecAuthorization Authorization,
 		ICFSecTSecGrpInc iBuff )
 	{
 		final String S_ProcName = "createTSecGrpInc";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffTSecGrpInc Buff = (CFSecBuffTSecGrpInc)ensureRec(iBuff);
 		CFLibDbKeyHash256 pkey;
@@ -125,7 +437,7 @@ public class CFSecRamTSecGrpIncTable
 			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
 		}
 
-		if( dictByUIncludeIdx.containsKey( keyUIncludeIdx ) ) {
+		if( ( ! bulkLoad ) && dictByUIncludeIdx.containsKey( keyUIncludeIdx ) ) {
 			throw new CFLibUniqueIndexViolationException( getClass(),
 				S_ProcName,
 				"TSecGrpIncUIncludeIdx",
@@ -138,7 +450,7 @@ public class CFSecRamTSecGrpIncTable
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableTenant().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredTenantId() ) )
 				{
@@ -158,7 +470,7 @@ public class CFSecRamTSecGrpIncTable
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableTSecGroup().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredTSecGroupId() ) )
 				{
@@ -178,38 +490,45 @@ public class CFSecRamTSecGrpIncTable
 		// Proceed with adding the new record
 
 		dictByPKey.put( pkey, Buff );
+		if( bulkLoad ) {
+			bulkPKeys.add( pkey );
+		}
 
-		Map< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictTenantIdx;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictTenantIdx;
 		if( dictByTenantIdx.containsKey( keyTenantIdx ) ) {
 			subdictTenantIdx = dictByTenantIdx.get( keyTenantIdx );
 		}
 		else {
-			subdictTenantIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
+			subdictTenantIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
 			dictByTenantIdx.put( keyTenantIdx, subdictTenantIdx );
 		}
 		subdictTenantIdx.put( pkey, Buff );
 
-		Map< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictGroupIdx;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictGroupIdx;
 		if( dictByGroupIdx.containsKey( keyGroupIdx ) ) {
 			subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
 		}
 		else {
-			subdictGroupIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
+			subdictGroupIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
 			dictByGroupIdx.put( keyGroupIdx, subdictGroupIdx );
 		}
 		subdictGroupIdx.put( pkey, Buff );
 
-		Map< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictIncludeIdx;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictIncludeIdx;
 		if( dictByIncludeIdx.containsKey( keyIncludeIdx ) ) {
 			subdictIncludeIdx = dictByIncludeIdx.get( keyIncludeIdx );
 		}
 		else {
-			subdictIncludeIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
+			subdictIncludeIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
 			dictByIncludeIdx.put( keyIncludeIdx, subdictIncludeIdx );
 		}
 		subdictIncludeIdx.put( pkey, Buff );
 
-		dictByUIncludeIdx.put( keyUIncludeIdx, Buff );
+		dictByUIncludeIdx.putIfAbsent( keyUIncludeIdx, Buff );
+
+		CFSecRamTransaction.record( schema, null, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 
 		if (Buff == null) {
 			return( null );
@@ -277,25 +596,19 @@ public class CFSecRamTSecGrpIncTable
 		CFLibDbKeyHash256 TenantId )
 	{
 		final String S_ProcName = "CFSecRamTSecGrpInc.readDerivedByTenantIdx";
-		CFSecBuffTSecGrpIncByTenantIdxKey key = (CFSecBuffTSecGrpIncByTenantIdxKey)schema.getFactoryTSecGrpInc().newByTenantIdxKey();
+		CFSecBuffTSecGrpIncByTenantIdxKey key = probeTenantIdx.get();
 
 		key.setRequiredTenantId( TenantId );
-		ICFSecTSecGrpInc[] recArray;
-		if( dictByTenantIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictTenantIdx
-				= dictByTenantIdx.get( key );
-			recArray = new ICFSecTSecGrpInc[ subdictTenantIdx.size() ];
-			Iterator< CFSecBuffTSecGrpInc > iter = subdictTenantIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictTenantIdx
+			= dictByTenantIdx.get( key );
+		if( ( subdictTenantIdx == null ) || subdictTenantIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictTenantIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
-			dictByTenantIdx.put( key, subdictTenantIdx );
-			recArray = new ICFSecTSecGrpInc[0];
+		ICFSecTSecGrpInc[] recArray = new ICFSecTSecGrpInc[ subdictTenantIdx.size() ];
+		Iterator< CFSecBuffTSecGrpInc > iter = subdictTenantIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -305,25 +618,19 @@ public class CFSecRamTSecGrpIncTable
 		CFLibDbKeyHash256 TSecGroupId )
 	{
 		final String S_ProcName = "CFSecRamTSecGrpInc.readDerivedByGroupIdx";
-		CFSecBuffTSecGrpIncByGroupIdxKey key = (CFSecBuffTSecGrpIncByGroupIdxKey)schema.getFactoryTSecGrpInc().newByGroupIdxKey();
+		CFSecBuffTSecGrpIncByGroupIdxKey key = probeGroupIdx.get();
 
 		key.setRequiredTSecGroupId( TSecGroupId );
-		ICFSecTSecGrpInc[] recArray;
-		if( dictByGroupIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictGroupIdx
-				= dictByGroupIdx.get( key );
-			recArray = new ICFSecTSecGrpInc[ subdictGroupIdx.size() ];
-			Iterator< CFSecBuffTSecGrpInc > iter = subdictGroupIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictGroupIdx
+			= dictByGroupIdx.get( key );
+		if( ( subdictGroupIdx == null ) || subdictGroupIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictGroupIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
-			dictByGroupIdx.put( key, subdictGroupIdx );
-			recArray = new ICFSecTSecGrpInc[0];
+		ICFSecTSecGrpInc[] recArray = new ICFSecTSecGrpInc[ subdictGroupIdx.size() ];
+		Iterator< CFSecBuffTSecGrpInc > iter = subdictGroupIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -333,25 +640,19 @@ public class CFSecRamTSecGrpIncTable
 		CFLibDbKeyHash256 IncludeGroupId )
 	{
 		final String S_ProcName = "CFSecRamTSecGrpInc.readDerivedByIncludeIdx";
-		CFSecBuffTSecGrpIncByIncludeIdxKey key = (CFSecBuffTSecGrpIncByIncludeIdxKey)schema.getFactoryTSecGrpInc().newByIncludeIdxKey();
+		CFSecBuffTSecGrpIncByIncludeIdxKey key = probeIncludeIdx.get();
 
 		key.setRequiredIncludeGroupId( IncludeGroupId );
-		ICFSecTSecGrpInc[] recArray;
-		if( dictByIncludeIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictIncludeIdx
-				= dictByIncludeIdx.get( key );
-			recArray = new ICFSecTSecGrpInc[ subdictIncludeIdx.size() ];
-			Iterator< CFSecBuffTSecGrpInc > iter = subdictIncludeIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictIncludeIdx
+			= dictByIncludeIdx.get( key );
+		if( ( subdictIncludeIdx == null ) || subdictIncludeIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictIncludeIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
-			dictByIncludeIdx.put( key, subdictIncludeIdx );
-			recArray = new ICFSecTSecGrpInc[0];
+		ICFSecTSecGrpInc[] recArray = new ICFSecTSecGrpInc[ subdictIncludeIdx.size() ];
+		Iterator< CFSecBuffTSecGrpInc > iter = subdictIncludeIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -363,18 +664,13 @@ public class CFSecRamTSecGrpIncTable
 		CFLibDbKeyHash256 IncludeGroupId )
 	{
 		final String S_ProcName = "CFSecRamTSecGrpInc.readDerivedByUIncludeIdx";
-		CFSecBuffTSecGrpIncByUIncludeIdxKey key = (CFSecBuffTSecGrpIncByUIncludeIdxKey)schema.getFactoryTSecGrpInc().newByUIncludeIdxKey();
+		CFSecBuffTSecGrpIncByUIncludeIdxKey key = probeUIncludeIdx.get();
 
 		key.setRequiredTenantId( TenantId );
 		key.setRequiredTSecGroupId( TSecGroupId );
 		key.setRequiredIncludeGroupId( IncludeGroupId );
 		ICFSecTSecGrpInc buff;
-		if( dictByUIncludeIdx.containsKey( key ) ) {
-			buff = dictByUIncludeIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByUIncludeIdx.get( key );
 		return( buff );
 	}
 
@@ -393,6 +689,215 @@ public class CFSecRamTSecGrpIncTable
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every TSecGrpInc instance in the table,
+	 *	without copying the table into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecTSecGrpInc > viewAll( ICFSecAuthorization Authorization ) {
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every TSecGrpInc instance in the table, iterating
+	 *	the table in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecTSecGrpInc > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every TSecGrpInc instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecTSecGrpInc > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the TSecGrpInc instances identified by the duplicate key TenantIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TenantId	The TSecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecTSecGrpInc > viewByTenantIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TenantId )
+	{
+		CFSecBuffTSecGrpIncByTenantIdxKey key = probeTenantIdx.get();
+		key.setRequiredTenantId( TenantId );
+		return( CFSecRamViews.of( dictByTenantIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each TSecGrpInc instance identified by the duplicate key TenantIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TenantId	The TSecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByTenantIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TenantId,
+		Consumer< ? super ICFSecTSecGrpInc > action )
+	{
+		viewByTenantIdx( Authorization,
+			TenantId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the TSecGrpInc instances identified by the duplicate key TenantIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TenantId	The TSecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecTSecGrpInc > streamByTenantIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TenantId )
+	{
+		return( viewByTenantIdx( Authorization,
+			TenantId ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the TSecGrpInc instances identified by the duplicate key GroupIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TSecGroupId	The TSecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecTSecGrpInc > viewByGroupIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TSecGroupId )
+	{
+		CFSecBuffTSecGrpIncByGroupIdxKey key = probeGroupIdx.get();
+		key.setRequiredTSecGroupId( TSecGroupId );
+		return( CFSecRamViews.of( dictByGroupIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each TSecGrpInc instance identified by the duplicate key GroupIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TSecGroupId	The TSecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByGroupIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TSecGroupId,
+		Consumer< ? super ICFSecTSecGrpInc > action )
+	{
+		viewByGroupIdx( Authorization,
+			TSecGroupId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the TSecGrpInc instances identified by the duplicate key GroupIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TSecGroupId	The TSecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecTSecGrpInc > streamByGroupIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TSecGroupId )
+	{
+		return( viewByGroupIdx( Authorization,
+			TSecGroupId ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the TSecGrpInc instances identified by the duplicate key IncludeIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	IncludeGroupId	The TSecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecTSecGrpInc > viewByIncludeIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 IncludeGroupId )
+	{
+		CFSecBuffTSecGrpIncByIncludeIdxKey key = probeIncludeIdx.get();
+		key.setRequiredIncludeGroupId( IncludeGroupId );
+		return( CFSecRamViews.of( dictByIncludeIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each TSecGrpInc instance identified by the duplicate key IncludeIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	IncludeGroupId	The TSecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByIncludeIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 IncludeGroupId,
+		Consumer< ? super ICFSecTSecGrpInc > action )
+	{
+		viewByIncludeIdx( Authorization,
+			IncludeGroupId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the TSecGrpInc instances identified by the duplicate key IncludeIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	IncludeGroupId	The TSecGrpInc key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecTSecGrpInc > streamByIncludeIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 IncludeGroupId )
+	{
+		return( viewByIncludeIdx( Authorization,
+			IncludeGroupId ).stream() );
+	}
+
 	@Override
 	public ICFSecTSecGrpInc readRec( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 PKey )
@@ -417,20 +922,43 @@ public class CFSecRamTSecGrpIncTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecTSecGrpInc.CLASS_CODE.
+	 */
+	protected ICFSecTSecGrpInc[] filterRecs( ICFSecTSecGrpInc[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecTSecGrpInc buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGrpInc.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecTSecGrpInc[] recArray = new ICFSecTSecGrpInc[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecTSecGrpInc buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGrpInc.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecTSecGrpInc[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamTSecGrpInc.readAllRec";
-		ICFSecTSecGrpInc buff;
-		ArrayList<ICFSecTSecGrpInc> filteredList = new ArrayList<ICFSecTSecGrpInc>();
 		ICFSecTSecGrpInc[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGrpInc.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecTSecGrpInc[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	/**
@@ -438,6 +966,8 @@ public class CFSecRamTSecGrpIncTable
 	 *
 	 *	@param	Authorization	The session authorization information.
 	 *
+	 *	@param	priorTSecGrpIncId	The TSecGrpIncId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return All the specific TSecGrpInc instances in the database accessible for the Authorization.
 	 */
 	@Override
@@ -445,7 +975,9 @@ public class CFSecRamTSecGrpIncTable
 		CFLibDbKeyHash256 priorTSecGrpIncId )
 	{
 		final String S_ProcName = "pageAllRec";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		List< CFSecBuffTSecGrpInc > page = CFSecRamPager.page( dictByPKey, priorTSecGrpIncId, pageSize );
+		return( page.toArray( new ICFSecTSecGrpInc[ page.size() ] ) );
 	}
 
 	@Override
@@ -468,17 +1000,12 @@ public class CFSecRamTSecGrpIncTable
 		CFLibDbKeyHash256 TenantId )
 	{
 		final String S_ProcName = "CFSecRamTSecGrpInc.readRecByTenantIdx() ";
-		ICFSecTSecGrpInc buff;
-		ArrayList<ICFSecTSecGrpInc> filteredList = new ArrayList<ICFSecTSecGrpInc>();
 		ICFSecTSecGrpInc[] buffList = readDerivedByTenantIdx( Authorization,
 			TenantId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGrpInc.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecTSecGrpInc)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecTSecGrpInc[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -486,17 +1013,12 @@ public class CFSecRamTSecGrpIncTable
 		CFLibDbKeyHash256 TSecGroupId )
 	{
 		final String S_ProcName = "CFSecRamTSecGrpInc.readRecByGroupIdx() ";
-		ICFSecTSecGrpInc buff;
-		ArrayList<ICFSecTSecGrpInc> filteredList = new ArrayList<ICFSecTSecGrpInc>();
 		ICFSecTSecGrpInc[] buffList = readDerivedByGroupIdx( Authorization,
 			TSecGroupId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGrpInc.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecTSecGrpInc)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecTSecGrpInc[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -504,17 +1026,12 @@ public class CFSecRamTSecGrpIncTable
 		CFLibDbKeyHash256 IncludeGroupId )
 	{
 		final String S_ProcName = "CFSecRamTSecGrpInc.readRecByIncludeIdx() ";
-		ICFSecTSecGrpInc buff;
-		ArrayList<ICFSecTSecGrpInc> filteredList = new ArrayList<ICFSecTSecGrpInc>();
 		ICFSecTSecGrpInc[] buffList = readDerivedByIncludeIdx( Authorization,
 			IncludeGroupId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGrpInc.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecTSecGrpInc)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecTSecGrpInc[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -543,6 +1060,8 @@ public class CFSecRamTSecGrpIncTable
 	 *
 	 *	@param	TenantId	The TSecGrpInc key attribute of the instance generating the id.
 	 *
+	 *	@param	priorTSecGrpIncId	The TSecGrpIncId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -553,7 +1072,11 @@ public class CFSecRamTSecGrpIncTable
 		CFLibDbKeyHash256 priorTSecGrpIncId )
 	{
 		final String S_ProcName = "pageRecByTenantIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffTSecGrpIncByTenantIdxKey key = probeTenantIdx.get();
+		key.setRequiredTenantId( TenantId );
+		List< CFSecBuffTSecGrpInc > page = CFSecRamPager.page( dictByTenantIdx.get( key ), priorTSecGrpIncId, pageSize );
+		return( page.toArray( new ICFSecTSecGrpInc[ page.size() ] ) );
 	}
 
 	/**
@@ -563,6 +1086,8 @@ public class CFSecRamTSecGrpIncTable
 	 *
 	 *	@param	TSecGroupId	The TSecGrpInc key attribute of the instance generating the id.
 	 *
+	 *	@param	priorTSecGrpIncId	The TSecGrpIncId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -573,7 +1098,11 @@ public class CFSecRamTSecGrpIncTable
 		CFLibDbKeyHash256 priorTSecGrpIncId )
 	{
 		final String S_ProcName = "pageRecByGroupIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffTSecGrpIncByGroupIdxKey key = probeGroupIdx.get();
+		key.setRequiredTSecGroupId( TSecGroupId );
+		List< CFSecBuffTSecGrpInc > page = CFSecRamPager.page( dictByGroupIdx.get( key ), priorTSecGrpIncId, pageSize );
+		return( page.toArray( new ICFSecTSecGrpInc[ page.size() ] ) );
 	}
 
 	/**
@@ -583,6 +1112,8 @@ public class CFSecRamTSecGrpIncTable
 	 *
 	 *	@param	IncludeGroupId	The TSecGrpInc key attribute of the instance generating the id.
 	 *
+	 *	@param	priorTSecGrpIncId	The TSecGrpIncId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -593,7 +1124,11 @@ public class CFSecRamTSecGrpIncTable
 		CFLibDbKeyHash256 priorTSecGrpIncId )
 	{
 		final String S_ProcName = "pageRecByIncludeIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffTSecGrpIncByIncludeIdxKey key = probeIncludeIdx.get();
+		key.setRequiredIncludeGroupId( IncludeGroupId );
+		List< CFSecBuffTSecGrpInc > page = CFSecRamPager.page( dictByIncludeIdx.get( key ), priorTSecGrpIncId, pageSize );
+		return( page.toArray( new ICFSecTSecGrpInc[ page.size() ] ) );
 	}
 
 	public ICFSecTSecGrpInc updateTSecGrpInc( ICFSecAuthorization Authorization,
@@ -701,53 +1236,72 @@ public class CFSecRamTSecGrpIncTable
 
 		// Update is valid
 
-		Map< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdict;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdict;
 
-		dictByPKey.remove( pkey );
 		dictByPKey.put( pkey, Buff );
 
-		subdict = dictByTenantIdx.get( existingKeyTenantIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyTenantIdx.equals( newKeyTenantIdx ) ) {
+			subdict = dictByTenantIdx.get( existingKeyTenantIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByTenantIdx.remove( existingKeyTenantIdx );
+				}
+			}
 		}
 		if( dictByTenantIdx.containsKey( newKeyTenantIdx ) ) {
 			subdict = dictByTenantIdx.get( newKeyTenantIdx );
 		}
 		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
+			subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
 			dictByTenantIdx.put( newKeyTenantIdx, subdict );
 		}
 		subdict.put( pkey, Buff );
 
-		subdict = dictByGroupIdx.get( existingKeyGroupIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyGroupIdx.equals( newKeyGroupIdx ) ) {
+			subdict = dictByGroupIdx.get( existingKeyGroupIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByGroupIdx.remove( existingKeyGroupIdx );
+				}
+			}
 		}
 		if( dictByGroupIdx.containsKey( newKeyGroupIdx ) ) {
 			subdict = dictByGroupIdx.get( newKeyGroupIdx );
 		}
 		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
+			subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
 			dictByGroupIdx.put( newKeyGroupIdx, subdict );
 		}
 		subdict.put( pkey, Buff );
 
-		subdict = dictByIncludeIdx.get( existingKeyIncludeIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyIncludeIdx.equals( newKeyIncludeIdx ) ) {
+			subdict = dictByIncludeIdx.get( existingKeyIncludeIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByIncludeIdx.remove( existingKeyIncludeIdx );
+				}
+			}
 		}
 		if( dictByIncludeIdx.containsKey( newKeyIncludeIdx ) ) {
 			subdict = dictByIncludeIdx.get( newKeyIncludeIdx );
 		}
 		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
+			subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc >();
 			dictByIncludeIdx.put( newKeyIncludeIdx, subdict );
 		}
 		subdict.put( pkey, Buff );
 
-		dictByUIncludeIdx.remove( existingKeyUIncludeIdx );
+		if( ! existingKeyUIncludeIdx.equals( newKeyUIncludeIdx ) ) {
+			dictByUIncludeIdx.remove( existingKeyUIncludeIdx );
+		}
 		dictByUIncludeIdx.put( newKeyUIncludeIdx, Buff );
 
+		CFSecRamTransaction.record( schema, existing, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
@@ -786,45 +1340,53 @@ public class CFSecRamTSecGrpIncTable
 		// Validate reverse foreign keys
 
 		// Delete is valid
-		Map< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdict;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdict;
 
 		dictByPKey.remove( pkey );
 
 		subdict = dictByTenantIdx.get( keyTenantIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByTenantIdx.remove( keyTenantIdx );
+			}
+		}
 
 		subdict = dictByGroupIdx.get( keyGroupIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByGroupIdx.remove( keyGroupIdx );
+			}
+		}
 
 		subdict = dictByIncludeIdx.get( keyIncludeIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByIncludeIdx.remove( keyIncludeIdx );
+			}
+		}
 
 		dictByUIncludeIdx.remove( keyUIncludeIdx );
 
+		CFSecRamTransaction.record( schema, existing, null );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteTSecGrpIncByIdIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffTSecGrpInc cur;
 		LinkedList<CFSecBuffTSecGrpInc> matchSet = new LinkedList<CFSecBuffTSecGrpInc>();
-		Iterator<CFSecBuffTSecGrpInc> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByPKey.get( argKey );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffTSecGrpInc> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTSecGrpInc)(schema.getTableTSecGrpInc().readDerivedByIdIdx( Authorization,
-				cur.getRequiredTSecGrpIncId() ));
 			deleteTSecGrpInc( Authorization, cur );
 		}
 	}
@@ -843,24 +1405,22 @@ public class CFSecRamTSecGrpIncTable
 		ICFSecTSecGrpIncByTenantIdxKey argKey )
 	{
 		CFSecBuffTSecGrpInc cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffTSecGrpIncByTenantIdxKey key;
+		if( argKey instanceof CFSecBuffTSecGrpIncByTenantIdxKey ) {
+			key = (CFSecBuffTSecGrpIncByTenantIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffTSecGrpIncByTenantIdxKey)schema.getFactoryTSecGrpInc().newByTenantIdxKey();
+			key.setRequiredTenantId( argKey.getRequiredTenantId() );
 		}
 		LinkedList<CFSecBuffTSecGrpInc> matchSet = new LinkedList<CFSecBuffTSecGrpInc>();
-		Iterator<CFSecBuffTSecGrpInc> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictTenantIdx = dictByTenantIdx.get( key );
+		if( subdictTenantIdx != null ) {
+			matchSet.addAll( subdictTenantIdx.values() );
 		}
 		Iterator<CFSecBuffTSecGrpInc> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTSecGrpInc)(schema.getTableTSecGrpInc().readDerivedByIdIdx( Authorization,
-				cur.getRequiredTSecGrpIncId() ));
 			deleteTSecGrpInc( Authorization, cur );
 		}
 	}
@@ -879,24 +1439,22 @@ public class CFSecRamTSecGrpIncTable
 		ICFSecTSecGrpIncByGroupIdxKey argKey )
 	{
 		CFSecBuffTSecGrpInc cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffTSecGrpIncByGroupIdxKey key;
+		if( argKey instanceof CFSecBuffTSecGrpIncByGroupIdxKey ) {
+			key = (CFSecBuffTSecGrpIncByGroupIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffTSecGrpIncByGroupIdxKey)schema.getFactoryTSecGrpInc().newByGroupIdxKey();
+			key.setRequiredTSecGroupId( argKey.getRequiredTSecGroupId() );
 		}
 		LinkedList<CFSecBuffTSecGrpInc> matchSet = new LinkedList<CFSecBuffTSecGrpInc>();
-		Iterator<CFSecBuffTSecGrpInc> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictGroupIdx = dictByGroupIdx.get( key );
+		if( subdictGroupIdx != null ) {
+			matchSet.addAll( subdictGroupIdx.values() );
 		}
 		Iterator<CFSecBuffTSecGrpInc> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTSecGrpInc)(schema.getTableTSecGrpInc().readDerivedByIdIdx( Authorization,
-				cur.getRequiredTSecGrpIncId() ));
 			deleteTSecGrpInc( Authorization, cur );
 		}
 	}
@@ -915,24 +1473,22 @@ public class CFSecRamTSecGrpIncTable
 		ICFSecTSecGrpIncByIncludeIdxKey argKey )
 	{
 		CFSecBuffTSecGrpInc cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffTSecGrpIncByIncludeIdxKey key;
+		if( argKey instanceof CFSecBuffTSecGrpIncByIncludeIdxKey ) {
+			key = (CFSecBuffTSecGrpIncByIncludeIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffTSecGrpIncByIncludeIdxKey)schema.getFactoryTSecGrpInc().newByIncludeIdxKey();
+			key.setRequiredIncludeGroupId( argKey.getRequiredIncludeGroupId() );
 		}
 		LinkedList<CFSecBuffTSecGrpInc> matchSet = new LinkedList<CFSecBuffTSecGrpInc>();
-		Iterator<CFSecBuffTSecGrpInc> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpInc > subdictIncludeIdx = dictByIncludeIdx.get( key );
+		if( subdictIncludeIdx != null ) {
+			matchSet.addAll( subdictIncludeIdx.values() );
 		}
 		Iterator<CFSecBuffTSecGrpInc> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTSecGrpInc)(schema.getTableTSecGrpInc().readDerivedByIdIdx( Authorization,
-				cur.getRequiredTSecGrpIncId() ));
 			deleteTSecGrpInc( Authorization, cur );
 		}
 	}
@@ -955,26 +1511,24 @@ public class CFSecRamTSecGrpIncTable
 		ICFSecTSecGrpIncByUIncludeIdxKey argKey )
 	{
 		CFSecBuffTSecGrpInc cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffTSecGrpIncByUIncludeIdxKey key;
+		if( argKey instanceof CFSecBuffTSecGrpIncByUIncludeIdxKey ) {
+			key = (CFSecBuffTSecGrpIncByUIncludeIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffTSecGrpIncByUIncludeIdxKey)schema.getFactoryTSecGrpInc().newByUIncludeIdxKey();
+			key.setRequiredTenantId( argKey.getRequiredTenantId() );
+			key.setRequiredTSecGroupId( argKey.getRequiredTSecGroupId() );
+			key.setRequiredIncludeGroupId( argKey.getRequiredIncludeGroupId() );
 		}
 		LinkedList<CFSecBuffTSecGrpInc> matchSet = new LinkedList<CFSecBuffTSecGrpInc>();
-		Iterator<CFSecBuffTSecGrpInc> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByUIncludeIdx.get( key );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffTSecGrpInc> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTSecGrpInc)(schema.getTableTSecGrpInc().readDerivedByIdIdx( Authorization,
-				cur.getRequiredTSecGrpIncId() ));
 			deleteTSecGrpInc( Authorization, cur );
 		}
 	}
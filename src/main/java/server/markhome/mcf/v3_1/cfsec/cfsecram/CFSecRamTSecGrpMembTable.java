@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,36 +48,55 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for TSecGrpMemb.
  */
 public class CFSecRamTSecGrpMembTable
-	implements ICFSecTSecGrpMembTable
+	implements ICFSecTSecGrpMembTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecTSecGrpMemb[] EMPTY_REC_ARRAY = new ICFSecTSecGrpMemb[0];
+
 	private ICFSecSchema schema;
-	private Map< CFLibDbKeyHash256,
+	private NavigableMap< CFLibDbKeyHash256,
 				CFSecBuffTSecGrpMemb > dictByPKey
-		= new HashMap< CFLibDbKeyHash256,
+		= new TreeMap< CFLibDbKeyHash256,
 				CFSecBuffTSecGrpMemb >();
 	private Map< CFSecBuffTSecGrpMembByTenantIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffTSecGrpMemb >> dictByTenantIdx
 		= new HashMap< CFSecBuffTSecGrpMembByTenantIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffTSecGrpMemb >>();
 	private Map< CFSecBuffTSecGrpMembByGroupIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffTSecGrpMemb >> dictByGroupIdx
 		= new HashMap< CFSecBuffTSecGrpMembByGroupIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffTSecGrpMemb >>();
 	private Map< CFSecBuffTSecGrpMembByUserIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffTSecGrpMemb >> dictByUserIdx
 		= new HashMap< CFSecBuffTSecGrpMembByUserIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffTSecGrpMemb >>();
 	private Map< CFSecBuffTSecGrpMembByUUserIdxKey,
 			CFSecBuffTSecGrpMemb > dictByUUserIdx
 		= new HashMap< CFSecBuffTSecGrpMembByUUserIdxKey,
 			CFSecBuffTSecGrpMemb >();
 
+	private final List< CFLibDbKeyHash256 > bulkPKeys = new ArrayList< CFLibDbKeyHash256 >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffTSecGrpMembByTenantIdxKey > probeTenantIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffTSecGrpMembByTenantIdxKey)schema.getFactoryTSecGrpMemb().newByTenantIdxKey() );
+	private final ThreadLocal< CFSecBuffTSecGrpMembByGroupIdxKey > probeGroupIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffTSecGrpMembByGroupIdxKey)schema.getFactoryTSecGrpMemb().newByGroupIdxKey() );
+	private final ThreadLocal< CFSecBuffTSecGrpMembByUserIdxKey > probeUserIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffTSecGrpMembByUserIdxKey)schema.getFactoryTSecGrpMemb().newByUserIdxKey() );
+	private final ThreadLocal< CFSecBuffTSecGrpMembByUUserIdxKey > probeUUserIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffTSecGrpMembByUUserIdxKey)schema.getFactoryTSecGrpMemb().newByUUserIdxKey() );
+
 	public CFSecRamTSecGrpMembTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
@@ -95,11 +116,302 @@ public class CFSecRamTSecGrpMembTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffTSecGrpMemb > recs ) {
+		dictByPKey.clear();
+		for( CFSecBuffTSecGrpMemb Buff : recs ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			dictByPKey.put( pkey, Buff );
+		}
+		rebuildIndexes();
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffTSecGrpMemb > snapshotRecs() {
+		return( new ArrayList< CFSecBuffTSecGrpMemb >( dictByPKey.values() ) );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffTSecGrpMemb lookupRec( Object pkey ) {
+		return( dictByPKey.get( pkey ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffTSecGrpMemb before ) {
+		long lsn = 0L;
+		CFSecBuffTSecGrpMemb current;
+		if( before == null ) {
+			current = dictByPKey.remove( pkey );
+		}
+		else {
+			current = dictByPKey.put( (CFLibDbKeyHash256)pkey, before );
+		}
+		if( current != null ) {
+			unindexRec( current );
+		}
+		if( before != null ) {
+			indexRec( before );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+		}
+		else if( current != null ) {
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffTSecGrpMemb Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffTSecGrpMembByTenantIdxKey keyTenantIdx = (CFSecBuffTSecGrpMembByTenantIdxKey)schema.getFactoryTSecGrpMemb().newByTenantIdxKey();
+		keyTenantIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictTenantIdx;
+		if( dictByTenantIdx.containsKey( keyTenantIdx ) ) {
+			subdictTenantIdx = dictByTenantIdx.get( keyTenantIdx );
+		}
+		else {
+			subdictTenantIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
+			dictByTenantIdx.put( keyTenantIdx, subdictTenantIdx );
+		}
+		subdictTenantIdx.put( pkey, Buff );
+
+		CFSecBuffTSecGrpMembByGroupIdxKey keyGroupIdx = (CFSecBuffTSecGrpMembByGroupIdxKey)schema.getFactoryTSecGrpMemb().newByGroupIdxKey();
+		keyGroupIdx.setRequiredTSecGroupId( Buff.getRequiredTSecGroupId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictGroupIdx;
+		if( dictByGroupIdx.containsKey( keyGroupIdx ) ) {
+			subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
+		}
+		else {
+			subdictGroupIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
+			dictByGroupIdx.put( keyGroupIdx, subdictGroupIdx );
+		}
+		subdictGroupIdx.put( pkey, Buff );
+
+		CFSecBuffTSecGrpMembByUserIdxKey keyUserIdx = (CFSecBuffTSecGrpMembByUserIdxKey)schema.getFactoryTSecGrpMemb().newByUserIdxKey();
+		keyUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictUserIdx;
+		if( dictByUserIdx.containsKey( keyUserIdx ) ) {
+			subdictUserIdx = dictByUserIdx.get( keyUserIdx );
+		}
+		else {
+			subdictUserIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
+			dictByUserIdx.put( keyUserIdx, subdictUserIdx );
+		}
+		subdictUserIdx.put( pkey, Buff );
+
+		CFSecBuffTSecGrpMembByUUserIdxKey keyUUserIdx = (CFSecBuffTSecGrpMembByUUserIdxKey)schema.getFactoryTSecGrpMemb().newByUUserIdxKey();
+		keyUUserIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+		keyUUserIdx.setRequiredTSecGroupId( Buff.getRequiredTSecGroupId() );
+		keyUUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		dictByUUserIdx.put( keyUUserIdx, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffTSecGrpMemb Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffTSecGrpMembByTenantIdxKey keyTenantIdx = (CFSecBuffTSecGrpMembByTenantIdxKey)schema.getFactoryTSecGrpMemb().newByTenantIdxKey();
+		keyTenantIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictTenantIdx = dictByTenantIdx.get( keyTenantIdx );
+		if( subdictTenantIdx != null ) {
+			subdictTenantIdx.remove( pkey );
+			if( subdictTenantIdx.isEmpty() ) {
+				dictByTenantIdx.remove( keyTenantIdx );
+			}
+		}
+
+		CFSecBuffTSecGrpMembByGroupIdxKey keyGroupIdx = (CFSecBuffTSecGrpMembByGroupIdxKey)schema.getFactoryTSecGrpMemb().newByGroupIdxKey();
+		keyGroupIdx.setRequiredTSecGroupId( Buff.getRequiredTSecGroupId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
+		if( subdictGroupIdx != null ) {
+			subdictGroupIdx.remove( pkey );
+			if( subdictGroupIdx.isEmpty() ) {
+				dictByGroupIdx.remove( keyGroupIdx );
+			}
+		}
+
+		CFSecBuffTSecGrpMembByUserIdxKey keyUserIdx = (CFSecBuffTSecGrpMembByUserIdxKey)schema.getFactoryTSecGrpMemb().newByUserIdxKey();
+		keyUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictUserIdx = dictByUserIdx.get( keyUserIdx );
+		if( subdictUserIdx != null ) {
+			subdictUserIdx.remove( pkey );
+			if( subdictUserIdx.isEmpty() ) {
+				dictByUserIdx.remove( keyUserIdx );
+			}
+		}
+
+		CFSecBuffTSecGrpMembByUUserIdxKey keyUUserIdx = (CFSecBuffTSecGrpMembByUUserIdxKey)schema.getFactoryTSecGrpMemb().newByUUserIdxKey();
+		keyUUserIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+		keyUUserIdx.setRequiredTSecGroupId( Buff.getRequiredTSecGroupId() );
+		keyUUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+		dictByUUserIdx.remove( keyUUserIdx );
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildTenantIdx,
+			this::rebuildGroupIdx,
+			this::rebuildUserIdx,
+			this::rebuildUUserIdx );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	protected void rebuildTenantIdx() {
+		dictByTenantIdx.clear();
+		for( CFSecBuffTSecGrpMemb Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffTSecGrpMembByTenantIdxKey keyTenantIdx = (CFSecBuffTSecGrpMembByTenantIdxKey)schema.getFactoryTSecGrpMemb().newByTenantIdxKey();
+			keyTenantIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictTenantIdx;
+			if( dictByTenantIdx.containsKey( keyTenantIdx ) ) {
+				subdictTenantIdx = dictByTenantIdx.get( keyTenantIdx );
+			}
+			else {
+				subdictTenantIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
+				dictByTenantIdx.put( keyTenantIdx, subdictTenantIdx );
+			}
+			subdictTenantIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildGroupIdx() {
+		dictByGroupIdx.clear();
+		for( CFSecBuffTSecGrpMemb Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffTSecGrpMembByGroupIdxKey keyGroupIdx = (CFSecBuffTSecGrpMembByGroupIdxKey)schema.getFactoryTSecGrpMemb().newByGroupIdxKey();
+			keyGroupIdx.setRequiredTSecGroupId( Buff.getRequiredTSecGroupId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictGroupIdx;
+			if( dictByGroupIdx.containsKey( keyGroupIdx ) ) {
+				subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
+			}
+			else {
+				subdictGroupIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
+				dictByGroupIdx.put( keyGroupIdx, subdictGroupIdx );
+			}
+			subdictGroupIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildUserIdx() {
+		dictByUserIdx.clear();
+		for( CFSecBuffTSecGrpMemb Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffTSecGrpMembByUserIdxKey keyUserIdx = (CFSecBuffTSecGrpMembByUserIdxKey)schema.getFactoryTSecGrpMemb().newByUserIdxKey();
+			keyUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictUserIdx;
+			if( dictByUserIdx.containsKey( keyUserIdx ) ) {
+				subdictUserIdx = dictByUserIdx.get( keyUserIdx );
+			}
+			else {
+				subdictUserIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
+				dictByUserIdx.put( keyUserIdx, subdictUserIdx );
+			}
+			subdictUserIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildUUserIdx() {
+		dictByUUserIdx.clear();
+		for( CFSecBuffTSecGrpMemb Buff : dictByPKey.values() ) {
+			CFSecBuffTSecGrpMembByUUserIdxKey keyUUserIdx = (CFSecBuffTSecGrpMembByUUserIdxKey)schema.getFactoryTSecGrpMemb().newByUUserIdxKey();
+			keyUUserIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+			keyUUserIdx.setRequiredTSecGroupId( Buff.getRequiredTSecGroupId() );
+			keyUUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+			dictByUUserIdx.put( keyUUserIdx, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< CFSecBuffTSecGrpMemb > staged = new ArrayList< CFSecBuffTSecGrpMemb >();
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffTSecGrpMemb Buff = dictByPKey.get( pkey );
+			if( Buff == null ) {
+				continue;
+			}
+			staged.add( Buff );
+			CFSecBuffTSecGrpMembByUUserIdxKey keyUUserIdx = (CFSecBuffTSecGrpMembByUUserIdxKey)schema.getFactoryTSecGrpMemb().newByUUserIdxKey();
+			keyUUserIdx.setRequiredTenantId( Buff.getRequiredTenantId() );
+			keyUUserIdx.setRequiredTSecGroupId( Buff.getRequiredTSecGroupId() );
+			keyUUserIdx.setRequiredSecUserId( Buff.getRequiredSecUserId() );
+			if( dictByUUserIdx.get( keyUUserIdx ) != Buff ) {
+				violations.add( "TSecGrpMemb " + Buff.getPKey() + " duplicates the TSecGrpMembUUserIdx key " + keyUUserIdx );
+			}
+		}
+
+		Map< CFLibDbKeyHash256, List< CFSecBuffTSecGrpMemb > > byTSecGrpMembTenant = new HashMap< CFLibDbKeyHash256, List< CFSecBuffTSecGrpMemb > >();
+		for( CFSecBuffTSecGrpMemb Buff : staged ) {
+			byTSecGrpMembTenant.computeIfAbsent( Buff.getRequiredTenantId(), ( k ) -> new ArrayList< CFSecBuffTSecGrpMemb >() ).add( Buff );
+		}
+		for( Map.Entry< CFLibDbKeyHash256, List< CFSecBuffTSecGrpMemb > > entry : byTSecGrpMembTenant.entrySet() ) {
+			if( null == schema.getTableTenant().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffTSecGrpMemb Buff : entry.getValue() ) {
+					violations.add( "TSecGrpMemb " + Buff.getPKey() + " references the missing Tenant " + entry.getKey() + " through TSecGrpMembTenant" );
+				}
+			}
+		}
+
+		Map< CFLibDbKeyHash256, List< CFSecBuffTSecGrpMemb > > byTSecGrpMembGroup = new HashMap< CFLibDbKeyHash256, List< CFSecBuffTSecGrpMemb > >();
+		for( CFSecBuffTSecGrpMemb Buff : staged ) {
+			byTSecGrpMembGroup.computeIfAbsent( Buff.getRequiredTSecGroupId(), ( k ) -> new ArrayList< CFSecBuffTSecGrpMemb >() ).add( Buff );
+		}
+		for( Map.Entry< CFLibDbKeyHash256, List< CFSecBuffTSecGrpMemb > > entry : byTSecGrpMembGroup.entrySet() ) {
+			if( null == schema.getTableTSecGroup().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffTSecGrpMemb Buff : entry.getValue() ) {
+					violations.add( "TSecGrpMemb " + Buff.getPKey() + " references the missing TSecGroup " + entry.getKey() + " through TSecGrpMembGroup" );
+				}
+			}
+		}
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffTSecGrpMemb Buff = dictByPKey.remove( pkey );
+			if( Buff != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+			}
+		}
+		bulkPKeys.clear();
+		rebuildIndexes();
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		bulkPKeys.clear();
+	}
+
 	@Override
 	public ICFSecTSecGrpMemb createTSecGrpMemb( ICFSecAuthorization Authorization,
 		ICFSecTSecGrpMemb iBuff )
 	{
 		final String S_ProcName = "createTSecGrpMemb";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffTSecGrpMemb Buff = (CFSecBuffTSecGrpMemb)ensureRec(iBuff);
 		CFLibDbKeyHash256 pkey;
@@ -125,7 +437,7 @@ public class CFSecRamTSecGrpMembTable
 			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
 		}
 
-		if( dictByUUserIdx.containsKey( keyUUserIdx ) ) {
+		if( ( ! bulkLoad ) && dictByUUserIdx.containsKey( keyUUserIdx ) ) {
 			throw new CFLibUniqueIndexViolationException( getClass(),
 				S_ProcName,
 				"TSecGrpMembUUserIdx",
@@ -138,7 +450,7 @@ public class CFSecRamTSecGrpMembTable
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableTenant().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredTenantId() ) )
 				{
@@ -158,7 +470,7 @@ public class CFSecRamTSecGrpMembTable
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableTSecGroup().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredTSecGroupId() ) )
 				{
@@ -178,38 +490,45 @@ public class CFSecRamTSecGrpMembTable
 		// Proceed with adding the new record
 
 		dictByPKey.put( pkey, Buff );
+		if( bulkLoad ) {
+			bulkPKeys.add( pkey );
+		}
 
-		Map< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictTenantIdx;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictTenantIdx;
 		if( dictByTenantIdx.containsKey( keyTenantIdx ) ) {
 			subdictTenantIdx = dictByTenantIdx.get( keyTenantIdx );
 		}
 		else {
-			subdictTenantIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
+			subdictTenantIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
 			dictByTenantIdx.put( keyTenantIdx, subdictTenantIdx );
 		}
 		subdictTenantIdx.put( pkey, Buff );
 
-		Map< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictGroupIdx;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictGroupIdx;
 		if( dictByGroupIdx.containsKey( keyGroupIdx ) ) {
 			subdictGroupIdx = dictByGroupIdx.get( keyGroupIdx );
 		}
 		else {
-			subdictGroupIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
+			subdictGroupIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
 			dictByGroupIdx.put( keyGroupIdx, subdictGroupIdx );
 		}
 		subdictGroupIdx.put( pkey, Buff );
 
-		Map< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictUserIdx;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictUserIdx;
 		if( dictByUserIdx.containsKey( keyUserIdx ) ) {
 			subdictUserIdx = dictByUserIdx.get( keyUserIdx );
 		}
 		else {
-			subdictUserIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
+			subdictUserIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
 			dictByUserIdx.put( keyUserIdx, subdictUserIdx );
 		}
 		subdictUserIdx.put( pkey, Buff );
 
-		dictByUUserIdx.put( keyUUserIdx, Buff );
+		dictByUUserIdx.putIfAbsent( keyUUserIdx, Buff );
+
+		CFSecRamTransaction.record( schema, null, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 
 		if (Buff == null) {
 			return( null );
@@ -277,25 +596,19 @@ public class CFSecRamTSecGrpMembTable
 		CFLibDbKeyHash256 TenantId )
 	{
 		final String S_ProcName = "CFSecRamTSecGrpMemb.readDerivedByTenantIdx";
-		CFSecBuffTSecGrpMembByTenantIdxKey key = (CFSecBuffTSecGrpMembByTenantIdxKey)schema.getFactoryTSecGrpMemb().newByTenantIdxKey();
+		CFSecBuffTSecGrpMembByTenantIdxKey key = probeTenantIdx.get();
 
 		key.setRequiredTenantId( TenantId );
-		ICFSecTSecGrpMemb[] recArray;
-		if( dictByTenantIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictTenantIdx
-				= dictByTenantIdx.get( key );
-			recArray = new ICFSecTSecGrpMemb[ subdictTenantIdx.size() ];
-			Iterator< CFSecBuffTSecGrpMemb > iter = subdictTenantIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictTenantIdx
+			= dictByTenantIdx.get( key );
+		if( ( subdictTenantIdx == null ) || subdictTenantIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictTenantIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
-			dictByTenantIdx.put( key, subdictTenantIdx );
-			recArray = new ICFSecTSecGrpMemb[0];
+		ICFSecTSecGrpMemb[] recArray = new ICFSecTSecGrpMemb[ subdictTenantIdx.size() ];
+		Iterator< CFSecBuffTSecGrpMemb > iter = subdictTenantIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -305,25 +618,19 @@ public class CFSecRamTSecGrpMembTable
 		CFLibDbKeyHash256 TSecGroupId )
 	{
 		final String S_ProcName = "CFSecRamTSecGrpMemb.readDerivedByGroupIdx";
-		CFSecBuffTSecGrpMembByGroupIdxKey key = (CFSecBuffTSecGrpMembByGroupIdxKey)schema.getFactoryTSecGrpMemb().newByGroupIdxKey();
+		CFSecBuffTSecGrpMembByGroupIdxKey key = probeGroupIdx.get();
 
 		key.setRequiredTSecGroupId( TSecGroupId );
-		ICFSecTSecGrpMemb[] recArray;
-		if( dictByGroupIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictGroupIdx
-				= dictByGroupIdx.get( key );
-			recArray = new ICFSecTSecGrpMemb[ subdictGroupIdx.size() ];
-			Iterator< CFSecBuffTSecGrpMemb > iter = subdictGroupIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictGroupIdx
+			= dictByGroupIdx.get( key );
+		if( ( subdictGroupIdx == null ) || subdictGroupIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictGroupIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
-			dictByGroupIdx.put( key, subdictGroupIdx );
-			recArray = new ICFSecTSecGrpMemb[0];
+		ICFSecTSecGrpMemb[] recArray = new ICFSecTSecGrpMemb[ subdictGroupIdx.size() ];
+		Iterator< CFSecBuffTSecGrpMemb > iter = subdictGroupIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -333,25 +640,19 @@ public class CFSecRamTSecGrpMembTable
 		CFLibDbKeyHash256 SecUserId )
 	{
 		final String S_ProcName = "CFSecRamTSecGrpMemb.readDerivedByUserIdx";
-		CFSecBuffTSecGrpMembByUserIdxKey key = (CFSecBuffTSecGrpMembByUserIdxKey)schema.getFactoryTSecGrpMemb().newByUserIdxKey();
+		CFSecBuffTSecGrpMembByUserIdxKey key = probeUserIdx.get();
 
 		key.setRequiredSecUserId( SecUserId );
-		ICFSecTSecGrpMemb[] recArray;
-		if( dictByUserIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictUserIdx
-				= dictByUserIdx.get( key );
-			recArray = new ICFSecTSecGrpMemb[ subdictUserIdx.size() ];
-			Iterator< CFSecBuffTSecGrpMemb > iter = subdictUserIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictUserIdx
+			= dictByUserIdx.get( key );
+		if( ( subdictUserIdx == null ) || subdictUserIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictUserIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
-			dictByUserIdx.put( key, subdictUserIdx );
-			recArray = new ICFSecTSecGrpMemb[0];
+		ICFSecTSecGrpMemb[] recArray = new ICFSecTSecGrpMemb[ subdictUserIdx.size() ];
+		Iterator< CFSecBuffTSecGrpMemb > iter = subdictUserIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -363,18 +664,13 @@ public class CFSecRamTSecGrpMembTable
 		CFLibDbKeyHash256 SecUserId )
 	{
 		final String S_ProcName = "CFSecRamTSecGrpMemb.readDerivedByUUserIdx";
-		CFSecBuffTSecGrpMembByUUserIdxKey key = (CFSecBuffTSecGrpMembByUUserIdxKey)schema.getFactoryTSecGrpMemb().newByUUserIdxKey();
+		CFSecBuffTSecGrpMembByUUserIdxKey key = probeUUserIdx.get();
 
 		key.setRequiredTenantId( TenantId );
 		key.setRequiredTSecGroupId( TSecGroupId );
 		key.setRequiredSecUserId( SecUserId );
 		ICFSecTSecGrpMemb buff;
-		if( dictByUUserIdx.containsKey( key ) ) {
-			buff = dictByUUserIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByUUserIdx.get( key );
 		return( buff );
 	}
 
@@ -393,6 +689,215 @@ public class CFSecRamTSecGrpMembTable
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every TSecGrpMemb instance in the table,
+	 *	without copying the table into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecTSecGrpMemb > viewAll( ICFSecAuthorization Authorization ) {
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every TSecGrpMemb instance in the table, iterating
+	 *	the table in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecTSecGrpMemb > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every TSecGrpMemb instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecTSecGrpMemb > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the TSecGrpMemb instances identified by the duplicate key TenantIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TenantId	The TSecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecTSecGrpMemb > viewByTenantIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TenantId )
+	{
+		CFSecBuffTSecGrpMembByTenantIdxKey key = probeTenantIdx.get();
+		key.setRequiredTenantId( TenantId );
+		return( CFSecRamViews.of( dictByTenantIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each TSecGrpMemb instance identified by the duplicate key TenantIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TenantId	The TSecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByTenantIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TenantId,
+		Consumer< ? super ICFSecTSecGrpMemb > action )
+	{
+		viewByTenantIdx( Authorization,
+			TenantId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the TSecGrpMemb instances identified by the duplicate key TenantIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TenantId	The TSecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecTSecGrpMemb > streamByTenantIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TenantId )
+	{
+		return( viewByTenantIdx( Authorization,
+			TenantId ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the TSecGrpMemb instances identified by the duplicate key GroupIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TSecGroupId	The TSecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecTSecGrpMemb > viewByGroupIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TSecGroupId )
+	{
+		CFSecBuffTSecGrpMembByGroupIdxKey key = probeGroupIdx.get();
+		key.setRequiredTSecGroupId( TSecGroupId );
+		return( CFSecRamViews.of( dictByGroupIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each TSecGrpMemb instance identified by the duplicate key GroupIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TSecGroupId	The TSecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByGroupIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TSecGroupId,
+		Consumer< ? super ICFSecTSecGrpMemb > action )
+	{
+		viewByGroupIdx( Authorization,
+			TSecGroupId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the TSecGrpMemb instances identified by the duplicate key GroupIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	TSecGroupId	The TSecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecTSecGrpMemb > streamByGroupIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 TSecGroupId )
+	{
+		return( viewByGroupIdx( Authorization,
+			TSecGroupId ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the TSecGrpMemb instances identified by the duplicate key UserIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The TSecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecTSecGrpMemb > viewByUserIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId )
+	{
+		CFSecBuffTSecGrpMembByUserIdxKey key = probeUserIdx.get();
+		key.setRequiredSecUserId( SecUserId );
+		return( CFSecRamViews.of( dictByUserIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each TSecGrpMemb instance identified by the duplicate key UserIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The TSecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByUserIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId,
+		Consumer< ? super ICFSecTSecGrpMemb > action )
+	{
+		viewByUserIdx( Authorization,
+			SecUserId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the TSecGrpMemb instances identified by the duplicate key UserIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	SecUserId	The TSecGrpMemb key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecTSecGrpMemb > streamByUserIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 SecUserId )
+	{
+		return( viewByUserIdx( Authorization,
+			SecUserId ).stream() );
+	}
+
 	@Override
 	public ICFSecTSecGrpMemb readRec( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 PKey )
@@ -417,20 +922,43 @@ public class CFSecRamTSecGrpMembTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecTSecGrpMemb.CLASS_CODE.
+	 */
+	protected ICFSecTSecGrpMemb[] filterRecs( ICFSecTSecGrpMemb[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecTSecGrpMemb buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGrpMemb.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecTSecGrpMemb[] recArray = new ICFSecTSecGrpMemb[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecTSecGrpMemb buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGrpMemb.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecTSecGrpMemb[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamTSecGrpMemb.readAllRec";
-		ICFSecTSecGrpMemb buff;
-		ArrayList<ICFSecTSecGrpMemb> filteredList = new ArrayList<ICFSecTSecGrpMemb>();
 		ICFSecTSecGrpMemb[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGrpMemb.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecTSecGrpMemb[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	/**
@@ -438,6 +966,8 @@ public class CFSecRamTSecGrpMembTable
 	 *
 	 *	@param	Authorization	The session authorization information.
 	 *
+	 *	@param	priorTSecGrpMembId	The TSecGrpMembId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return All the specific TSecGrpMemb instances in the database accessible for the Authorization.
 	 */
 	@Override
@@ -445,7 +975,9 @@ public class CFSecRamTSecGrpMembTable
 		CFLibDbKeyHash256 priorTSecGrpMembId )
 	{
 		final String S_ProcName = "pageAllRec";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		List< CFSecBuffTSecGrpMemb > page = CFSecRamPager.page( dictByPKey, priorTSecGrpMembId, pageSize );
+		return( page.toArray( new ICFSecTSecGrpMemb[ page.size() ] ) );
 	}
 
 	@Override
@@ -468,17 +1000,12 @@ public class CFSecRamTSecGrpMembTable
 		CFLibDbKeyHash256 TenantId )
 	{
 		final String S_ProcName = "CFSecRamTSecGrpMemb.readRecByTenantIdx() ";
-		ICFSecTSecGrpMemb buff;
-		ArrayList<ICFSecTSecGrpMemb> filteredList = new ArrayList<ICFSecTSecGrpMemb>();
 		ICFSecTSecGrpMemb[] buffList = readDerivedByTenantIdx( Authorization,
 			TenantId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGrpMemb.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecTSecGrpMemb)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecTSecGrpMemb[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -486,17 +1013,12 @@ public class CFSecRamTSecGrpMembTable
 		CFLibDbKeyHash256 TSecGroupId )
 	{
 		final String S_ProcName = "CFSecRamTSecGrpMemb.readRecByGroupIdx() ";
-		ICFSecTSecGrpMemb buff;
-		ArrayList<ICFSecTSecGrpMemb> filteredList = new ArrayList<ICFSecTSecGrpMemb>();
 		ICFSecTSecGrpMemb[] buffList = readDerivedByGroupIdx( Authorization,
 			TSecGroupId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGrpMemb.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecTSecGrpMemb)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecTSecGrpMemb[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -504,17 +1026,12 @@ public class CFSecRamTSecGrpMembTable
 		CFLibDbKeyHash256 SecUserId )
 	{
 		final String S_ProcName = "CFSecRamTSecGrpMemb.readRecByUserIdx() ";
-		ICFSecTSecGrpMemb buff;
-		ArrayList<ICFSecTSecGrpMemb> filteredList = new ArrayList<ICFSecTSecGrpMemb>();
 		ICFSecTSecGrpMemb[] buffList = readDerivedByUserIdx( Authorization,
 			SecUserId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTSecGrpMemb.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecTSecGrpMemb)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecTSecGrpMemb[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -543,6 +1060,8 @@ public class CFSecRamTSecGrpMembTable
 	 *
 	 *	@param	TenantId	The TSecGrpMemb key attribute of the instance generating the id.
 	 *
+	 *	@param	priorTSecGrpMembId	The TSecGrpMembId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -553,7 +1072,11 @@ public class CFSecRamTSecGrpMembTable
 		CFLibDbKeyHash256 priorTSecGrpMembId )
 	{
 		final String S_ProcName = "pageRecByTenantIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffTSecGrpMembByTenantIdxKey key = probeTenantIdx.get();
+		key.setRequiredTenantId( TenantId );
+		List< CFSecBuffTSecGrpMemb > page = CFSecRamPager.page( dictByTenantIdx.get( key ), priorTSecGrpMembId, pageSize );
+		return( page.toArray( new ICFSecTSecGrpMemb[ page.size() ] ) );
 	}
 
 	/**
@@ -563,6 +1086,8 @@ public class CFSecRamTSecGrpMembTable
 	 *
 	 *	@param	TSecGroupId	The TSecGrpMemb key attribute of the instance generating the id.
 	 *
+	 *	@param	priorTSecGrpMembId	The TSecGrpMembId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -573,7 +1098,11 @@ public class CFSecRamTSecGrpMembTable
 		CFLibDbKeyHash256 priorTSecGrpMembId )
 	{
 		final String S_ProcName = "pageRecByGroupIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffTSecGrpMembByGroupIdxKey key = probeGroupIdx.get();
+		key.setRequiredTSecGroupId( TSecGroupId );
+		List< CFSecBuffTSecGrpMemb > page = CFSecRamPager.page( dictByGroupIdx.get( key ), priorTSecGrpMembId, pageSize );
+		return( page.toArray( new ICFSecTSecGrpMemb[ page.size() ] ) );
 	}
 
 	/**
@@ -583,6 +1112,8 @@ public class CFSecRamTSecGrpMembTable
 	 *
 	 *	@param	SecUserId	The TSecGrpMemb key attribute of the instance generating the id.
 	 *
+	 *	@param	priorTSecGrpMembId	The TSecGrpMembId of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -593,7 +1124,11 @@ public class CFSecRamTSecGrpMembTable
 		CFLibDbKeyHash256 priorTSecGrpMembId )
 	{
 		final String S_ProcName = "pageRecByUserIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffTSecGrpMembByUserIdxKey key = probeUserIdx.get();
+		key.setRequiredSecUserId( SecUserId );
+		List< CFSecBuffTSecGrpMemb > page = CFSecRamPager.page( dictByUserIdx.get( key ), priorTSecGrpMembId, pageSize );
+		return( page.toArray( new ICFSecTSecGrpMemb[ page.size() ] ) );
 	}
 
 	public ICFSecTSecGrpMemb updateTSecGrpMemb( ICFSecAuthorization Authorization,
@@ -701,53 +1236,72 @@ public class CFSecRamTSecGrpMembTable
 
 		// Update is valid
 
-		Map< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdict;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdict;
 
-		dictByPKey.remove( pkey );
 		dictByPKey.put( pkey, Buff );
 
-		subdict = dictByTenantIdx.get( existingKeyTenantIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyTenantIdx.equals( newKeyTenantIdx ) ) {
+			subdict = dictByTenantIdx.get( existingKeyTenantIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByTenantIdx.remove( existingKeyTenantIdx );
+				}
+			}
 		}
 		if( dictByTenantIdx.containsKey( newKeyTenantIdx ) ) {
 			subdict = dictByTenantIdx.get( newKeyTenantIdx );
 		}
 		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
+			subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
 			dictByTenantIdx.put( newKeyTenantIdx, subdict );
 		}
 		subdict.put( pkey, Buff );
 
-		subdict = dictByGroupIdx.get( existingKeyGroupIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyGroupIdx.equals( newKeyGroupIdx ) ) {
+			subdict = dictByGroupIdx.get( existingKeyGroupIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByGroupIdx.remove( existingKeyGroupIdx );
+				}
+			}
 		}
 		if( dictByGroupIdx.containsKey( newKeyGroupIdx ) ) {
 			subdict = dictByGroupIdx.get( newKeyGroupIdx );
 		}
 		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
+			subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
 			dictByGroupIdx.put( newKeyGroupIdx, subdict );
 		}
 		subdict.put( pkey, Buff );
 
-		subdict = dictByUserIdx.get( existingKeyUserIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyUserIdx.equals( newKeyUserIdx ) ) {
+			subdict = dictByUserIdx.get( existingKeyUserIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByUserIdx.remove( existingKeyUserIdx );
+				}
+			}
 		}
 		if( dictByUserIdx.containsKey( newKeyUserIdx ) ) {
 			subdict = dictByUserIdx.get( newKeyUserIdx );
 		}
 		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
+			subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb >();
 			dictByUserIdx.put( newKeyUserIdx, subdict );
 		}
 		subdict.put( pkey, Buff );
 
-		dictByUUserIdx.remove( existingKeyUUserIdx );
+		if( ! existingKeyUUserIdx.equals( newKeyUUserIdx ) ) {
+			dictByUUserIdx.remove( existingKeyUUserIdx );
+		}
 		dictByUUserIdx.put( newKeyUUserIdx, Buff );
 
+		CFSecRamTransaction.record( schema, existing, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
@@ -786,45 +1340,53 @@ public class CFSecRamTSecGrpMembTable
 		// Validate reverse foreign keys
 
 		// Delete is valid
-		Map< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdict;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdict;
 
 		dictByPKey.remove( pkey );
 
 		subdict = dictByTenantIdx.get( keyTenantIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByTenantIdx.remove( keyTenantIdx );
+			}
+		}
 
 		subdict = dictByGroupIdx.get( keyGroupIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByGroupIdx.remove( keyGroupIdx );
+			}
+		}
 
 		subdict = dictByUserIdx.get( keyUserIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByUserIdx.remove( keyUserIdx );
+			}
+		}
 
 		dictByUUserIdx.remove( keyUUserIdx );
 
+		CFSecRamTransaction.record( schema, existing, null );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteTSecGrpMembByIdIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffTSecGrpMemb cur;
 		LinkedList<CFSecBuffTSecGrpMemb> matchSet = new LinkedList<CFSecBuffTSecGrpMemb>();
-		Iterator<CFSecBuffTSecGrpMemb> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByPKey.get( argKey );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffTSecGrpMemb> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTSecGrpMemb)(schema.getTableTSecGrpMemb().readDerivedByIdIdx( Authorization,
-				cur.getRequiredTSecGrpMembId() ));
 			deleteTSecGrpMemb( Authorization, cur );
 		}
 	}
@@ -843,24 +1405,22 @@ public class CFSecRamTSecGrpMembTable
 		ICFSecTSecGrpMembByTenantIdxKey argKey )
 	{
 		CFSecBuffTSecGrpMemb cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffTSecGrpMembByTenantIdxKey key;
+		if( argKey instanceof CFSecBuffTSecGrpMembByTenantIdxKey ) {
+			key = (CFSecBuffTSecGrpMembByTenantIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffTSecGrpMembByTenantIdxKey)schema.getFactoryTSecGrpMemb().newByTenantIdxKey();
+			key.setRequiredTenantId( argKey.getRequiredTenantId() );
 		}
 		LinkedList<CFSecBuffTSecGrpMemb> matchSet = new LinkedList<CFSecBuffTSecGrpMemb>();
-		Iterator<CFSecBuffTSecGrpMemb> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictTenantIdx = dictByTenantIdx.get( key );
+		if( subdictTenantIdx != null ) {
+			matchSet.addAll( subdictTenantIdx.values() );
 		}
 		Iterator<CFSecBuffTSecGrpMemb> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTSecGrpMemb)(schema.getTableTSecGrpMemb().readDerivedByIdIdx( Authorization,
-				cur.getRequiredTSecGrpMembId() ));
 			deleteTSecGrpMemb( Authorization, cur );
 		}
 	}
@@ -879,24 +1439,22 @@ public class CFSecRamTSecGrpMembTable
 		ICFSecTSecGrpMembByGroupIdxKey argKey )
 	{
 		CFSecBuffTSecGrpMemb cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffTSecGrpMembByGroupIdxKey key;
+		if( argKey instanceof CFSecBuffTSecGrpMembByGroupIdxKey ) {
+			key = (CFSecBuffTSecGrpMembByGroupIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffTSecGrpMembByGroupIdxKey)schema.getFactoryTSecGrpMemb().newByGroupIdxKey();
+			key.setRequiredTSecGroupId( argKey.getRequiredTSecGroupId() );
 		}
 		LinkedList<CFSecBuffTSecGrpMemb> matchSet = new LinkedList<CFSecBuffTSecGrpMemb>();
-		Iterator<CFSecBuffTSecGrpMemb> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictGroupIdx = dictByGroupIdx.get( key );
+		if( subdictGroupIdx != null ) {
+			matchSet.addAll( subdictGroupIdx.values() );
 		}
 		Iterator<CFSecBuffTSecGrpMemb> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTSecGrpMemb)(schema.getTableTSecGrpMemb().readDerivedByIdIdx( Authorization,
-				cur.getRequiredTSecGrpMembId() ));
 			deleteTSecGrpMemb( Authorization, cur );
 		}
 	}
@@ -915,24 +1473,22 @@ public class CFSecRamTSecGrpMembTable
 		ICFSecTSecGrpMembByUserIdxKey argKey )
 	{
 		CFSecBuffTSecGrpMemb cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffTSecGrpMembByUserIdxKey key;
+		if( argKey instanceof CFSecBuffTSecGrpMembByUserIdxKey ) {
+			key = (CFSecBuffTSecGrpMembByUserIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffTSecGrpMembByUserIdxKey)schema.getFactoryTSecGrpMemb().newByUserIdxKey();
+			key.setRequiredSecUserId( argKey.getRequiredSecUserId() );
 		}
 		LinkedList<CFSecBuffTSecGrpMemb> matchSet = new LinkedList<CFSecBuffTSecGrpMemb>();
-		Iterator<CFSecBuffTSecGrpMemb> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTSecGrpMemb > subdictUserIdx = dictByUserIdx.get( key );
+		if( subdictUserIdx != null ) {
+			matchSet.addAll( subdictUserIdx.values() );
 		}
 		Iterator<CFSecBuffTSecGrpMemb> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTSecGrpMemb)(schema.getTableTSecGrpMemb().readDerivedByIdIdx( Authorization,
-				cur.getRequiredTSecGrpMembId() ));
 			deleteTSecGrpMemb( Authorization, cur );
 		}
 	}
@@ -955,26 +1511,24 @@ public class CFSecRamTSecGrpMembTable
 		ICFSecTSecGrpMembByUUserIdxKey argKey )
 	{
 		CFSecBuffTSecGrpMemb cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffTSecGrpMembByUUserIdxKey key;
+		if( argKey instanceof CFSecBuffTSecGrpMembByUUserIdxKey ) {
+			key = (CFSecBuffTSecGrpMembByUUserIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffTSecGrpMembByUUserIdxKey)schema.getFactoryTSecGrpMemb().newByUUserIdxKey();
+			key.setRequiredTenantId( argKey.getRequiredTenantId() );
+			key.setRequiredTSecGroupId( argKey.getRequiredTSecGroupId() );
+			key.setRequiredSecUserId( argKey.getRequiredSecUserId() );
 		}
 		LinkedList<CFSecBuffTSecGrpMemb> matchSet = new LinkedList<CFSecBuffTSecGrpMemb>();
-		Iterator<CFSecBuffTSecGrpMemb> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByUUserIdx.get( key );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffTSecGrpMemb> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTSecGrpMemb)(schema.getTableTSecGrpMemb().readDerivedByIdIdx( Authorization,
-				cur.getRequiredTSecGrpMembId() ));
 			deleteTSecGrpMemb( Authorization, cur );
 		}
 	}
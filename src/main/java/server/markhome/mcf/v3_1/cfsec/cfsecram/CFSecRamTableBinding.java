@@ -0,0 +1,124 @@
+
+// Description: Java 25 table binding for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+import java.util.function.*;
+
+/*
+ *	CFSecRamTableBinding ties one CFSecRam table to the persistence
+ *	machinery of the schema: it creates empty records of the table's
+ *	buffer class, extracts their primary keys, looks records up by
+ *	primary key, moves whole table images in and out of the table, and
+ *	puts back single rows when a transaction is rolled back.
+ *
+ *	Binding a table verifies that its buffer class can be encoded by
+ *	CFSecRamRecordCodec, so an unsupported property type is reported
+ *	when the schema is constructed rather than at the first write.
+ */
+public class CFSecRamTableBinding< B >
+{
+	private final String tableName;
+	private final Supplier< B > recFactory;
+	private final Function< B, Object > pkeyOf;
+	private final Supplier< List< B > > snapshotter;
+	private final Consumer< Collection< B > > restorer;
+	private final Function< Object, B > lookup;
+	private final ToLongBiFunction< Object, B > undoer;
+	private final Class<?> buffClass;
+
+	public CFSecRamTableBinding( String argTableName,
+		Supplier< B > argRecFactory,
+		Function< B, Object > argPKeyOf,
+		Supplier< List< B > > argSnapshotter,
+		Consumer< Collection< B > > argRestorer,
+		Function< Object, B > argLookup,
+		ToLongBiFunction< Object, B > argUndoer )
+	{
+		tableName = argTableName;
+		recFactory = argRecFactory;
+		pkeyOf = argPKeyOf;
+		snapshotter = argSnapshotter;
+		restorer = argRestorer;
+		lookup = argLookup;
+		undoer = argUndoer;
+		buffClass = recFactory.get().getClass();
+		CFSecRamRecordCodec.checkClass( buffClass );
+	}
+
+	public String getTableName() {
+		return( tableName );
+	}
+
+	public Class<?> getBuffClass() {
+		return( buffClass );
+	}
+
+	public B newRec() {
+		return( recFactory.get() );
+	}
+
+	@SuppressWarnings("unchecked")
+	public Object getPKey( Object rec ) {
+		return( pkeyOf.apply( (B)rec ) );
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< B > snapshotRecs() {
+		return( snapshotter.get() );
+	}
+
+	/**
+	 *	Replace the contents of the table with the specified records.
+	 */
+	@SuppressWarnings("unchecked")
+	public void restoreRecs( Collection<?> recs ) {
+		restorer.accept( (Collection< B >)recs );
+	}
+
+	/**
+	 *	@return	The record currently stored under the primary key, or null if there is none.
+	 */
+	public B lookupRec( Object pkey ) {
+		return( lookup.apply( pkey ) );
+	}
+
+	/**
+	 *	Put back the image a rolled back change replaced, or remove the row
+	 *	if the change created it.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	@SuppressWarnings("unchecked")
+	public long undoRec( Object pkey, Object before ) {
+		return( undoer.applyAsLong( pkey, (B)before ) );
+	}
+}
@@ -0,0 +1,146 @@
+
+// Description: Java 25 table lock for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.concurrent.locks.*;
+import java.util.function.*;
+
+/*
+ *	CFSecRamTableLock guards the dictionaries of one CFSecRam table
+ *	when the schema runs in concurrent mode.
+ *
+ *	Reads take a shared read lock, so concurrent readers never block one
+ *	another and only wait for a writer.  Reads that consist of a single
+ *	get() on a HashMap may use readOptimistic() instead, which validates
+ *	the value it loaded and only falls back to the read lock when a writer
+ *	intervened.  A traversal of a dictionary, or any lookup in a TreeMap,
+ *	must use read(): a HashMap or TreeMap walked while it is restructured
+ *	can loop without end.  Writes take the exclusive lock.  When the lock
+ *	is disabled (the default, single threaded mode) every operation runs
+ *	directly with no locking overhead beyond a volatile read.
+ *
+ *	The lock is not reentrant.  Callers must never invoke another
+ *	table, nor any public method of their own table, while holding
+ *	the write stamp.
+ */
+public class CFSecRamTableLock
+{
+	private final StampedLock lock = new StampedLock();
+	private volatile boolean enabled = false;
+
+	public CFSecRamTableLock() {
+	}
+
+	public boolean isEnabled() {
+		return( enabled );
+	}
+
+	public void setEnabled( boolean value ) {
+		enabled = value;
+	}
+
+	/**
+	 *	Evaluate a reader against the table dictionaries under the shared read lock.
+	 *	<P>
+	 *	The reader must not modify any dictionary.
+	 *
+	 *	@param	reader	The read-only evaluation to perform.
+	 *
+	 *	@return	The value produced by the reader.
+	 */
+	public <T> T read( Supplier<T> reader ) {
+		if( ! enabled ) {
+			return( reader.get() );
+		}
+		long stamp = lock.readLock();
+		try {
+			return( reader.get() );
+		}
+		finally {
+			lock.unlockRead( stamp );
+		}
+	}
+
+	/**
+	 *	Evaluate a single dictionary load optimistically.
+	 *	<P>
+	 *	The reader must perform exactly one get() on a HashMap and return the
+	 *	value it loaded without traversing it further.  The value is only
+	 *	returned when no writer intervened; otherwise the reader is re-run
+	 *	under the shared read lock.  Any RuntimeException it throws during an
+	 *	invalidated attempt is discarded.
+	 *
+	 *	@param	reader	The single load to perform.
+	 *
+	 *	@return	The value produced by the reader.
+	 */
+	public <T> T readOptimistic( Supplier<T> reader ) {
+		if( ! enabled ) {
+			return( reader.get() );
+		}
+		long stamp = lock.tryOptimisticRead();
+		if( stamp != 0L ) {
+			try {
+				T result = reader.get();
+				if( lock.validate( stamp ) ) {
+					return( result );
+				}
+			}
+			catch( RuntimeException e ) {
+				if( lock.validate( stamp ) ) {
+					throw e;
+				}
+			}
+		}
+		return( read( reader ) );
+	}
+
+	/**
+	 *	Acquire the exclusive write lock.
+	 *
+	 *	@return	The stamp to pass to unlockWrite(), or 0 when the lock is disabled.
+	 */
+	public long writeLock() {
+		if( ! enabled ) {
+			return( 0L );
+		}
+		return( lock.writeLock() );
+	}
+
+	/**
+	 *	Release a stamp obtained from writeLock().
+	 *
+	 *	@param	stamp	The stamp returned by writeLock().
+	 */
+	public void unlockWrite( long stamp ) {
+		if( stamp != 0L ) {
+			lock.unlockWrite( stamp );
+		}
+	}
+}
@@ -33,6 +33,8 @@ import java.sql.*;
 import java.text.*;
 import java.time.*;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 import org.apache.commons.codec.binary.Base64;
 import server.markhome.mcf.v3_1.cflib.*;
 import server.markhome.mcf.v3_1.cflib.dbutil.*;
@@ -46,24 +48,39 @@ import server.markhome.mcf.v3_1.cfsec.cfsecobj.*;
  *	for Tenant.
  */
 public class CFSecRamTenantTable
-	implements ICFSecTenantTable
+	implements ICFSecTenantTable,
+		CFSecRamBulkLoadTable
 {
+	private static final ICFSecTenant[] EMPTY_REC_ARRAY = new ICFSecTenant[0];
+
 	private ICFSecSchema schema;
-	private Map< CFLibDbKeyHash256,
+	private NavigableMap< CFLibDbKeyHash256,
 				CFSecBuffTenant > dictByPKey
-		= new HashMap< CFLibDbKeyHash256,
+		= new TreeMap< CFLibDbKeyHash256,
 				CFSecBuffTenant >();
 	private Map< CFSecBuffTenantByClusterIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffTenant >> dictByClusterIdx
 		= new HashMap< CFSecBuffTenantByClusterIdxKey,
-				Map< CFLibDbKeyHash256,
+				NavigableMap< CFLibDbKeyHash256,
 					CFSecBuffTenant >>();
 	private Map< CFSecBuffTenantByUNameIdxKey,
 			CFSecBuffTenant > dictByUNameIdx
 		= new HashMap< CFSecBuffTenantByUNameIdxKey,
 			CFSecBuffTenant >();
 
+	private final List< CFLibDbKeyHash256 > bulkPKeys = new ArrayList< CFLibDbKeyHash256 >();
+
+	/*
+	 *	Thread confined keys for probing the index dictionaries.  Every
+	 *	lookup on a thread overwrites its probe key, so a probe key must
+	 *	only be used for the duration of one lookup and never be stored.
+	 */
+	private final ThreadLocal< CFSecBuffTenantByClusterIdxKey > probeClusterIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffTenantByClusterIdxKey)schema.getFactoryTenant().newByClusterIdxKey() );
+	private final ThreadLocal< CFSecBuffTenantByUNameIdxKey > probeUNameIdx
+		= ThreadLocal.withInitial( () -> (CFSecBuffTenantByUNameIdxKey)schema.getFactoryTenant().newByUNameIdxKey() );
+
 	public CFSecRamTenantTable( ICFSecSchema argSchema ) {
 		schema = argSchema;
 	}
@@ -83,11 +100,204 @@ public class CFSecRamTenantTable
 		}
 	}
 
+	/**
+	 *	Replace the contents of the table with previously captured records,
+	 *	rebuilding every index.  No validation is performed, so the records
+	 *	must form a consistent image such as one produced by snapshotRecs().
+	 *
+	 *	@param	recs	The records to restore.
+	 */
+	public void restoreRecs( Collection< CFSecBuffTenant > recs ) {
+		dictByPKey.clear();
+		for( CFSecBuffTenant Buff : recs ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			dictByPKey.put( pkey, Buff );
+		}
+		rebuildIndexes();
+	}
+
+	/**
+	 *	@return	A point in time copy of the records held by the table.
+	 */
+	public List< CFSecBuffTenant > snapshotRecs() {
+		return( new ArrayList< CFSecBuffTenant >( dictByPKey.values() ) );
+	}
+
+	/**
+	 *	@return	The record stored under the primary key, or null if there is none.
+	 */
+	public CFSecBuffTenant lookupRec( Object pkey ) {
+		return( dictByPKey.get( pkey ) );
+	}
+
+	/**
+	 *	Put back the image that a rolled back change replaced, unindexing the
+	 *	current row and indexing the image in place, so the other rows of the
+	 *	table are left as they are.
+	 *
+	 *	@param	pkey	The primary key of the changed row.
+	 *
+	 *	@param	before	The image to put back, or null if the change created the row.
+	 *
+	 *	@return	The log sequence number of the compensating change, or 0.
+	 */
+	public long undoRec( Object pkey, CFSecBuffTenant before ) {
+		long lsn = 0L;
+		CFSecBuffTenant current;
+		if( before == null ) {
+			current = dictByPKey.remove( pkey );
+		}
+		else {
+			current = dictByPKey.put( (CFLibDbKeyHash256)pkey, before );
+		}
+		if( current != null ) {
+			unindexRec( current );
+		}
+		if( before != null ) {
+			indexRec( before );
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, before );
+		}
+		else if( current != null ) {
+			lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, current );
+		}
+		return( lsn );
+	}
+
+	protected void indexRec( CFSecBuffTenant Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffTenantByClusterIdxKey keyClusterIdx = (CFSecBuffTenantByClusterIdxKey)schema.getFactoryTenant().newByClusterIdxKey();
+		keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTenant > subdictClusterIdx;
+		if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
+			subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+		}
+		else {
+			subdictClusterIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTenant >();
+			dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
+		}
+		subdictClusterIdx.put( pkey, Buff );
+
+		CFSecBuffTenantByUNameIdxKey keyUNameIdx = (CFSecBuffTenantByUNameIdxKey)schema.getFactoryTenant().newByUNameIdxKey();
+		keyUNameIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyUNameIdx.setRequiredTenantName( Buff.getRequiredTenantName() );
+		dictByUNameIdx.put( keyUNameIdx, Buff );
+	}
+
+	protected void unindexRec( CFSecBuffTenant Buff ) {
+		CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+		CFSecBuffTenantByClusterIdxKey keyClusterIdx = (CFSecBuffTenantByClusterIdxKey)schema.getFactoryTenant().newByClusterIdxKey();
+		keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTenant > subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+		if( subdictClusterIdx != null ) {
+			subdictClusterIdx.remove( pkey );
+			if( subdictClusterIdx.isEmpty() ) {
+				dictByClusterIdx.remove( keyClusterIdx );
+			}
+		}
+
+		CFSecBuffTenantByUNameIdxKey keyUNameIdx = (CFSecBuffTenantByUNameIdxKey)schema.getFactoryTenant().newByUNameIdxKey();
+		keyUNameIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+		keyUNameIdx.setRequiredTenantName( Buff.getRequiredTenantName() );
+		dictByUNameIdx.remove( keyUNameIdx );
+	}
+
+	/**
+	 *	Rebuild every index from the primary key dictionary.  The indexes are
+	 *	independent of each other, so they are rebuilt as parallel tasks when
+	 *	this runs on a fork/join worker.
+	 */
+	protected void rebuildIndexes() {
+		List< Runnable > rebuilders = Arrays.asList(
+			this::rebuildClusterIdx,
+			this::rebuildUNameIdx );
+		CFSecRamForkJoin.runAll( rebuilders );
+	}
+
+	protected void rebuildClusterIdx() {
+		dictByClusterIdx.clear();
+		for( CFSecBuffTenant Buff : dictByPKey.values() ) {
+			CFLibDbKeyHash256 pkey = (CFLibDbKeyHash256)(Buff.getPKey());
+			CFSecBuffTenantByClusterIdxKey keyClusterIdx = (CFSecBuffTenantByClusterIdxKey)schema.getFactoryTenant().newByClusterIdxKey();
+			keyClusterIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			NavigableMap< CFLibDbKeyHash256, CFSecBuffTenant > subdictClusterIdx;
+			if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
+				subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
+			}
+			else {
+				subdictClusterIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTenant >();
+				dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
+			}
+			subdictClusterIdx.put( pkey, Buff );
+		}
+	}
+
+	protected void rebuildUNameIdx() {
+		dictByUNameIdx.clear();
+		for( CFSecBuffTenant Buff : dictByPKey.values() ) {
+			CFSecBuffTenantByUNameIdxKey keyUNameIdx = (CFSecBuffTenantByUNameIdxKey)schema.getFactoryTenant().newByUNameIdxKey();
+			keyUNameIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			keyUNameIdx.setRequiredTenantName( Buff.getRequiredTenantName() );
+			dictByUNameIdx.put( keyUNameIdx, Buff );
+		}
+	}
+
+	@Override
+	public void collectBulkLoadViolations( ICFSecAuthorization Authorization,
+		List< String > violations )
+	{
+		List< CFSecBuffTenant > staged = new ArrayList< CFSecBuffTenant >();
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffTenant Buff = dictByPKey.get( pkey );
+			if( Buff == null ) {
+				continue;
+			}
+			staged.add( Buff );
+			CFSecBuffTenantByUNameIdxKey keyUNameIdx = (CFSecBuffTenantByUNameIdxKey)schema.getFactoryTenant().newByUNameIdxKey();
+			keyUNameIdx.setRequiredClusterId( Buff.getRequiredClusterId() );
+			keyUNameIdx.setRequiredTenantName( Buff.getRequiredTenantName() );
+			if( dictByUNameIdx.get( keyUNameIdx ) != Buff ) {
+				violations.add( "Tenant " + Buff.getPKey() + " duplicates the TenantUNameIdx key " + keyUNameIdx );
+			}
+		}
+
+		Map< CFLibDbKeyHash256, List< CFSecBuffTenant > > byTenantCluster = new HashMap< CFLibDbKeyHash256, List< CFSecBuffTenant > >();
+		for( CFSecBuffTenant Buff : staged ) {
+			byTenantCluster.computeIfAbsent( Buff.getRequiredClusterId(), ( k ) -> new ArrayList< CFSecBuffTenant >() ).add( Buff );
+		}
+		for( Map.Entry< CFLibDbKeyHash256, List< CFSecBuffTenant > > entry : byTenantCluster.entrySet() ) {
+			if( null == schema.getTableCluster().readDerivedByIdIdx( Authorization, entry.getKey() ) ) {
+				for( CFSecBuffTenant Buff : entry.getValue() ) {
+					violations.add( "Tenant " + Buff.getPKey() + " references the missing Cluster " + entry.getKey() + " through TenantCluster" );
+				}
+			}
+		}
+	}
+
+	@Override
+	public void discardBulkLoad() {
+		long lsn = 0L;
+		for( CFLibDbKeyHash256 pkey : bulkPKeys ) {
+			CFSecBuffTenant Buff = dictByPKey.remove( pkey );
+			if( Buff != null ) {
+				lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+			}
+		}
+		bulkPKeys.clear();
+		rebuildIndexes();
+		CFSecRamWriteAheadLog.await( schema, lsn );
+	}
+
+	@Override
+	public void endBulkLoad() {
+		bulkPKeys.clear();
+	}
+
 	@Override
 	public ICFSecTenant createTenant( ICFSecAuthorization Authorization,
 		ICFSecTenant iBuff )
 	{
 		final String S_ProcName = "createTenant";
+		final boolean bulkLoad = CFSecRamSchema.isBulkLoading( schema );
 		
 		CFSecBuffTenant Buff = (CFSecBuffTenant)ensureRec(iBuff);
 		CFLibDbKeyHash256 pkey;
@@ -106,7 +316,7 @@ public class CFSecRamTenantTable
 			throw new CFLibPrimaryKeyNotNewException( getClass(), S_ProcName, pkey );
 		}
 
-		if( dictByUNameIdx.containsKey( keyUNameIdx ) ) {
+		if( ( ! bulkLoad ) && dictByUNameIdx.containsKey( keyUNameIdx ) ) {
 			throw new CFLibUniqueIndexViolationException( getClass(),
 				S_ProcName,
 				"TenantUNameIdx",
@@ -119,7 +329,7 @@ public class CFSecRamTenantTable
 		{
 			boolean allNull = true;
 			allNull = false;
-			if( ! allNull ) {
+			if( ( ! allNull ) && ( ! bulkLoad ) ) {
 				if( null == schema.getTableCluster().readDerivedByIdIdx( Authorization,
 						Buff.getRequiredClusterId() ) )
 				{
@@ -139,18 +349,25 @@ public class CFSecRamTenantTable
 		// Proceed with adding the new record
 
 		dictByPKey.put( pkey, Buff );
+		if( bulkLoad ) {
+			bulkPKeys.add( pkey );
+		}
 
-		Map< CFLibDbKeyHash256, CFSecBuffTenant > subdictClusterIdx;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTenant > subdictClusterIdx;
 		if( dictByClusterIdx.containsKey( keyClusterIdx ) ) {
 			subdictClusterIdx = dictByClusterIdx.get( keyClusterIdx );
 		}
 		else {
-			subdictClusterIdx = new HashMap< CFLibDbKeyHash256, CFSecBuffTenant >();
+			subdictClusterIdx = new TreeMap< CFLibDbKeyHash256, CFSecBuffTenant >();
 			dictByClusterIdx.put( keyClusterIdx, subdictClusterIdx );
 		}
 		subdictClusterIdx.put( pkey, Buff );
 
-		dictByUNameIdx.put( keyUNameIdx, Buff );
+		dictByUNameIdx.putIfAbsent( keyUNameIdx, Buff );
+
+		CFSecRamTransaction.record( schema, null, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_CREATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 
 		if (Buff == null) {
 			return( null );
@@ -218,25 +435,19 @@ public class CFSecRamTenantTable
 		CFLibDbKeyHash256 ClusterId )
 	{
 		final String S_ProcName = "CFSecRamTenant.readDerivedByClusterIdx";
-		CFSecBuffTenantByClusterIdxKey key = (CFSecBuffTenantByClusterIdxKey)schema.getFactoryTenant().newByClusterIdxKey();
+		CFSecBuffTenantByClusterIdxKey key = probeClusterIdx.get();
 
 		key.setRequiredClusterId( ClusterId );
-		ICFSecTenant[] recArray;
-		if( dictByClusterIdx.containsKey( key ) ) {
-			Map< CFLibDbKeyHash256, CFSecBuffTenant > subdictClusterIdx
-				= dictByClusterIdx.get( key );
-			recArray = new ICFSecTenant[ subdictClusterIdx.size() ];
-			Iterator< CFSecBuffTenant > iter = subdictClusterIdx.values().iterator();
-			int idx = 0;
-			while( iter.hasNext() ) {
-				recArray[ idx++ ] = iter.next();
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTenant > subdictClusterIdx
+			= dictByClusterIdx.get( key );
+		if( ( subdictClusterIdx == null ) || subdictClusterIdx.isEmpty() ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		else {
-			Map< CFLibDbKeyHash256, CFSecBuffTenant > subdictClusterIdx
-				= new HashMap< CFLibDbKeyHash256, CFSecBuffTenant >();
-			dictByClusterIdx.put( key, subdictClusterIdx );
-			recArray = new ICFSecTenant[0];
+		ICFSecTenant[] recArray = new ICFSecTenant[ subdictClusterIdx.size() ];
+		Iterator< CFSecBuffTenant > iter = subdictClusterIdx.values().iterator();
+		int idx = 0;
+		while( iter.hasNext() ) {
+			recArray[ idx++ ] = iter.next();
 		}
 		return( recArray );
 	}
@@ -247,17 +458,12 @@ public class CFSecRamTenantTable
 		String TenantName )
 	{
 		final String S_ProcName = "CFSecRamTenant.readDerivedByUNameIdx";
-		CFSecBuffTenantByUNameIdxKey key = (CFSecBuffTenantByUNameIdxKey)schema.getFactoryTenant().newByUNameIdxKey();
+		CFSecBuffTenantByUNameIdxKey key = probeUNameIdx.get();
 
 		key.setRequiredClusterId( ClusterId );
 		key.setRequiredTenantName( TenantName );
 		ICFSecTenant buff;
-		if( dictByUNameIdx.containsKey( key ) ) {
-			buff = dictByUNameIdx.get( key );
-		}
-		else {
-			buff = null;
-		}
+		buff = dictByUNameIdx.get( key );
 		return( buff );
 	}
 
@@ -276,6 +482,103 @@ public class CFSecRamTenantTable
 		return( buff );
 	}
 
+	/**
+	 *	Get a read-only view of every Tenant instance in the table,
+	 *	without copying the table into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The view of the derived instances.
+	 */
+	public Collection< ICFSecTenant > viewAll( ICFSecAuthorization Authorization ) {
+		return( CFSecRamViews.of( dictByPKey ) );
+	}
+
+	/**
+	 *	Apply an action to every Tenant instance in the table, iterating
+	 *	the table in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachAll( ICFSecAuthorization Authorization,
+		Consumer< ? super ICFSecTenant > action )
+	{
+		viewAll( Authorization ).forEach( action );
+	}
+
+	/**
+	 *	Stream every Tenant instance in the table.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@return	The stream of derived instances.
+	 */
+	public Stream< ICFSecTenant > stream( ICFSecAuthorization Authorization ) {
+		return( viewAll( Authorization ).stream() );
+	}
+
+	/**
+	 *	Get a read-only view of the Tenant instances identified by the duplicate key ClusterIdx,
+	 *	without copying the index bucket into an array.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The Tenant key attribute of the instance generating the id.
+	 *
+	 *	@return	The view of the derived instances for the specified key, potentially empty.
+	 */
+	public Collection< ICFSecTenant > viewByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId )
+	{
+		CFSecBuffTenantByClusterIdxKey key = probeClusterIdx.get();
+		key.setRequiredClusterId( ClusterId );
+		return( CFSecRamViews.of( dictByClusterIdx.get( key ) ) );
+	}
+
+	/**
+	 *	Apply an action to each Tenant instance identified by the duplicate key ClusterIdx,
+	 *	iterating the index bucket in place.  The action must not modify this table.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The Tenant key attribute of the instance generating the id.
+	 *
+	 *	@param	action	The action to apply to each derived instance.
+	 */
+	public void forEachByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId,
+		Consumer< ? super ICFSecTenant > action )
+	{
+		viewByClusterIdx( Authorization,
+			ClusterId ).forEach( action );
+	}
+
+	/**
+	 *	Stream the Tenant instances identified by the duplicate key ClusterIdx.
+	 *	<P>
+	 *	The stream is backed by a splittable Spliterator over the
+	 *	dictionary, so it may be run in parallel.  The table must not be
+	 *	modified while it runs.
+	 *
+	 *	@param	Authorization	The session authorization information.
+	 *
+	 *	@param	ClusterId	The Tenant key attribute of the instance generating the id.
+	 *
+	 *	@return	The stream of derived instances for the specified key, potentially empty.
+	 */
+	public Stream< ICFSecTenant > streamByClusterIdx( ICFSecAuthorization Authorization,
+		CFLibDbKeyHash256 ClusterId )
+	{
+		return( viewByClusterIdx( Authorization,
+			ClusterId ).stream() );
+	}
+
 	@Override
 	public ICFSecTenant readRec( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 PKey )
@@ -300,20 +603,43 @@ public class CFSecRamTenantTable
 		return( buff );
 	}
 
+	/**
+	 *	Filter derived instances down to those of exactly this class.  The
+	 *	array itself is returned when every element qualifies, so the usual
+	 *	case costs no second copy.
+	 *
+	 *	@param	buffList	The derived instances to filter.
+	 *
+	 *	@return	The instances whose class code is ICFSecTenant.CLASS_CODE.
+	 */
+	protected ICFSecTenant[] filterRecs( ICFSecTenant[] buffList ) {
+		int count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecTenant buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTenant.CLASS_CODE ) ) {
+				count ++;
+			}
+		}
+		if( count == buffList.length ) {
+			return( buffList );
+		}
+		ICFSecTenant[] recArray = new ICFSecTenant[ count ];
+		count = 0;
+		for( int idx = 0; idx < buffList.length; idx ++ ) {
+			ICFSecTenant buff = buffList[idx];
+			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTenant.CLASS_CODE ) ) {
+				recArray[ count ++ ] = buff;
+			}
+		}
+		return( recArray );
+	}
+
 	@Override
 	public ICFSecTenant[] readAllRec( ICFSecAuthorization Authorization )
 	{
 		final String S_ProcName = "CFSecRamTenant.readAllRec";
-		ICFSecTenant buff;
-		ArrayList<ICFSecTenant> filteredList = new ArrayList<ICFSecTenant>();
 		ICFSecTenant[] buffList = readAllDerived( Authorization );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTenant.CLASS_CODE ) ) {
-				filteredList.add( buff );
-			}
-		}
-		return( filteredList.toArray( new ICFSecTenant[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	/**
@@ -321,6 +647,8 @@ public class CFSecRamTenantTable
 	 *
 	 *	@param	Authorization	The session authorization information.
 	 *
+	 *	@param	priorId	The Id of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return All the specific Tenant instances in the database accessible for the Authorization.
 	 */
 	@Override
@@ -328,7 +656,9 @@ public class CFSecRamTenantTable
 		CFLibDbKeyHash256 priorId )
 	{
 		final String S_ProcName = "pageAllRec";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		List< CFSecBuffTenant > page = CFSecRamPager.page( dictByPKey, priorId, pageSize );
+		return( page.toArray( new ICFSecTenant[ page.size() ] ) );
 	}
 
 	@Override
@@ -351,17 +681,12 @@ public class CFSecRamTenantTable
 		CFLibDbKeyHash256 ClusterId )
 	{
 		final String S_ProcName = "CFSecRamTenant.readRecByClusterIdx() ";
-		ICFSecTenant buff;
-		ArrayList<ICFSecTenant> filteredList = new ArrayList<ICFSecTenant>();
 		ICFSecTenant[] buffList = readDerivedByClusterIdx( Authorization,
 			ClusterId );
-		for( int idx = 0; idx < buffList.length; idx ++ ) {
-			buff = buffList[idx];
-			if( ( buff != null ) && ( buff.getClassCode() == ICFSecTenant.CLASS_CODE ) ) {
-				filteredList.add( (ICFSecTenant)buff );
-			}
+		if( buffList.length == 0 ) {
+			return( EMPTY_REC_ARRAY );
 		}
-		return( filteredList.toArray( new ICFSecTenant[0] ) );
+		return( filterRecs( buffList ) );
 	}
 
 	@Override
@@ -388,6 +713,8 @@ public class CFSecRamTenantTable
 	 *
 	 *	@param	ClusterId	The Tenant key attribute of the instance generating the id.
 	 *
+	 *	@param	priorId	The Id of the last instance on the previous page, or null to read the first page.
+	 *
 	 *	@return An array of derived buffer instances for the specified key, potentially with 0 elements in the set.
 	 *
 	 *	@throws	CFLibNotSupportedException thrown by client-side implementations.
@@ -398,7 +725,11 @@ public class CFSecRamTenantTable
 		CFLibDbKeyHash256 priorId )
 	{
 		final String S_ProcName = "pageRecByClusterIdx";
-		throw new CFLibNotImplementedYetException( getClass(), S_ProcName );
+		final int pageSize = CFSecRamPager.getPageSize( schema );
+		CFSecBuffTenantByClusterIdxKey key = probeClusterIdx.get();
+		key.setRequiredClusterId( ClusterId );
+		List< CFSecBuffTenant > page = CFSecRamPager.page( dictByClusterIdx.get( key ), priorId, pageSize );
+		return( page.toArray( new ICFSecTenant[ page.size() ] ) );
 	}
 
 	public ICFSecTenant updateTenant( ICFSecAuthorization Authorization,
@@ -472,33 +803,52 @@ public class CFSecRamTenantTable
 
 		// Update is valid
 
-		Map< CFLibDbKeyHash256, CFSecBuffTenant > subdict;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTenant > subdict;
 
-		dictByPKey.remove( pkey );
 		dictByPKey.put( pkey, Buff );
 
-		subdict = dictByClusterIdx.get( existingKeyClusterIdx );
-		if( subdict != null ) {
-			subdict.remove( pkey );
+		if( ! existingKeyClusterIdx.equals( newKeyClusterIdx ) ) {
+			subdict = dictByClusterIdx.get( existingKeyClusterIdx );
+			if( subdict != null ) {
+				subdict.remove( pkey );
+				if( subdict.isEmpty() ) {
+					dictByClusterIdx.remove( existingKeyClusterIdx );
+				}
+			}
 		}
 		if( dictByClusterIdx.containsKey( newKeyClusterIdx ) ) {
 			subdict = dictByClusterIdx.get( newKeyClusterIdx );
 		}
 		else {
-			subdict = new HashMap< CFLibDbKeyHash256, CFSecBuffTenant >();
+			subdict = new TreeMap< CFLibDbKeyHash256, CFSecBuffTenant >();
 			dictByClusterIdx.put( newKeyClusterIdx, subdict );
 		}
 		subdict.put( pkey, Buff );
 
-		dictByUNameIdx.remove( existingKeyUNameIdx );
+		if( ! existingKeyUNameIdx.equals( newKeyUNameIdx ) ) {
+			dictByUNameIdx.remove( existingKeyUNameIdx );
+		}
 		dictByUNameIdx.put( newKeyUNameIdx, Buff );
 
+		CFSecRamTransaction.record( schema, existing, Buff );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_UPDATE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 		return(Buff);
 	}
 
 	@Override
 	public void deleteTenant( ICFSecAuthorization Authorization,
 		ICFSecTenant iBuff )
+	{
+		CFSecRamTransaction.atomically( schema, () -> deleteTenantCascade( Authorization, iBuff ) );
+	}
+
+	/**
+	 *	Delete the Tenant and every row that depends on it.  deleteTenant() runs
+	 *	this as one transaction so a failure partway through changes nothing.
+	 */
+	protected void deleteTenantCascade( ICFSecAuthorization Authorization,
+		ICFSecTenant iBuff )
 	{
 		final String S_ProcName = "CFSecRamTenantTable.deleteTenant() ";
 		CFSecBuffTenant Buff = (CFSecBuffTenant)ensureRec(iBuff);
@@ -550,39 +900,37 @@ public class CFSecRamTenantTable
 		// Validate reverse foreign keys
 
 		// Delete is valid
-		Map< CFLibDbKeyHash256, CFSecBuffTenant > subdict;
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTenant > subdict;
 
 		dictByPKey.remove( pkey );
 
 		subdict = dictByClusterIdx.get( keyClusterIdx );
-		subdict.remove( pkey );
+		if( subdict != null ) {
+			subdict.remove( pkey );
+			if( subdict.isEmpty() ) {
+				dictByClusterIdx.remove( keyClusterIdx );
+			}
+		}
 
 		dictByUNameIdx.remove( keyUNameIdx );
 
+		CFSecRamTransaction.record( schema, existing, null );
+		long lsn = CFSecRamWriteAheadLog.journal( schema, CFSecRamWriteAheadLog.OP_DELETE, Buff );
+		CFSecRamWriteAheadLog.await( schema, lsn );
 	}
 	@Override
 	public void deleteTenantByIdIdx( ICFSecAuthorization Authorization,
 		CFLibDbKeyHash256 argKey )
 	{
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
-		}
 		CFSecBuffTenant cur;
 		LinkedList<CFSecBuffTenant> matchSet = new LinkedList<CFSecBuffTenant>();
-		Iterator<CFSecBuffTenant> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByPKey.get( argKey );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffTenant> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTenant)(schema.getTableTenant().readDerivedByIdIdx( Authorization,
-				cur.getRequiredId() ));
 			deleteTenant( Authorization, cur );
 		}
 	}
@@ -601,24 +949,22 @@ public class CFSecRamTenantTable
 		ICFSecTenantByClusterIdxKey argKey )
 	{
 		CFSecBuffTenant cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffTenantByClusterIdxKey key;
+		if( argKey instanceof CFSecBuffTenantByClusterIdxKey ) {
+			key = (CFSecBuffTenantByClusterIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffTenantByClusterIdxKey)schema.getFactoryTenant().newByClusterIdxKey();
+			key.setRequiredClusterId( argKey.getRequiredClusterId() );
 		}
 		LinkedList<CFSecBuffTenant> matchSet = new LinkedList<CFSecBuffTenant>();
-		Iterator<CFSecBuffTenant> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		NavigableMap< CFLibDbKeyHash256, CFSecBuffTenant > subdictClusterIdx = dictByClusterIdx.get( key );
+		if( subdictClusterIdx != null ) {
+			matchSet.addAll( subdictClusterIdx.values() );
 		}
 		Iterator<CFSecBuffTenant> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTenant)(schema.getTableTenant().readDerivedByIdIdx( Authorization,
-				cur.getRequiredId() ));
 			deleteTenant( Authorization, cur );
 		}
 	}
@@ -639,25 +985,23 @@ public class CFSecRamTenantTable
 		ICFSecTenantByUNameIdxKey argKey )
 	{
 		CFSecBuffTenant cur;
-		boolean anyNotNull = false;
-		anyNotNull = true;
-		anyNotNull = true;
-		if( ! anyNotNull ) {
-			return;
+		CFSecBuffTenantByUNameIdxKey key;
+		if( argKey instanceof CFSecBuffTenantByUNameIdxKey ) {
+			key = (CFSecBuffTenantByUNameIdxKey)argKey;
+		}
+		else {
+			key = (CFSecBuffTenantByUNameIdxKey)schema.getFactoryTenant().newByUNameIdxKey();
+			key.setRequiredClusterId( argKey.getRequiredClusterId() );
+			key.setRequiredTenantName( argKey.getRequiredTenantName() );
 		}
 		LinkedList<CFSecBuffTenant> matchSet = new LinkedList<CFSecBuffTenant>();
-		Iterator<CFSecBuffTenant> values = dictByPKey.values().iterator();
-		while( values.hasNext() ) {
-			cur = values.next();
-			if( argKey.equals( cur ) ) {
-				matchSet.add( cur );
-			}
+		cur = dictByUNameIdx.get( key );
+		if( cur != null ) {
+			matchSet.add( cur );
 		}
 		Iterator<CFSecBuffTenant> iterMatch = matchSet.iterator();
 		while( iterMatch.hasNext() ) {
 			cur = iterMatch.next();
-			cur = (CFSecBuffTenant)(schema.getTableTenant().readDerivedByIdIdx( Authorization,
-				cur.getRequiredId() ));
 			deleteTenant( Authorization, cur );
 		}
 	}
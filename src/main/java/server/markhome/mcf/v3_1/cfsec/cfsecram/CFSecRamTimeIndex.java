@@ -0,0 +1,228 @@
+
+// Description: Java 25 time ordered index for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.time.*;
+import java.util.*;
+
+/*
+ *	CFSecRamTimeIndex orders the records of a CFSecRam table by one of
+ *	their timestamp columns, both globally and within the group each
+ *	record belongs to, such as the user owning a session.
+ *
+ *	Records sharing a timestamp are kept in primary key order, so a range
+ *	query costs one O(log n) descent plus the records it returns.  Records
+ *	whose timestamp is null are not indexed.  The index is not thread safe;
+ *	the owning table guards it with its own lock.
+ *
+ *	@param	G	The group key type.
+ *	@param	P	The primary key type.
+ *	@param	B	The record type.
+ */
+public class CFSecRamTimeIndex< G, P, B >
+{
+	private final NavigableMap< LocalDateTime, NavigableMap< P, B > > global
+		= new TreeMap< LocalDateTime, NavigableMap< P, B > >();
+	private final Map< G, NavigableMap< LocalDateTime, NavigableMap< P, B > > > byGroup
+		= new HashMap< G, NavigableMap< LocalDateTime, NavigableMap< P, B > > >();
+
+	public CFSecRamTimeIndex() {
+	}
+
+	public void clear() {
+		global.clear();
+		byGroup.clear();
+	}
+
+	/**
+	 *	@return	The number of distinct timestamps indexed.
+	 */
+	public int getTimeCount() {
+		return( global.size() );
+	}
+
+	public void add( G group, LocalDateTime time, P pkey, B rec ) {
+		if( time == null ) {
+			return;
+		}
+		put( global, time, pkey, rec );
+		NavigableMap< LocalDateTime, NavigableMap< P, B > > groupTimes = byGroup.get( group );
+		if( groupTimes == null ) {
+			groupTimes = new TreeMap< LocalDateTime, NavigableMap< P, B > >();
+			byGroup.put( group, groupTimes );
+		}
+		put( groupTimes, time, pkey, rec );
+	}
+
+	public void remove( G group, LocalDateTime time, P pkey ) {
+		if( time == null ) {
+			return;
+		}
+		take( global, time, pkey );
+		NavigableMap< LocalDateTime, NavigableMap< P, B > > groupTimes = byGroup.get( group );
+		if( groupTimes != null ) {
+			take( groupTimes, time, pkey );
+			if( groupTimes.isEmpty() ) {
+				byGroup.remove( group );
+			}
+		}
+	}
+
+	/**
+	 *	Move a record from its old group and timestamp to its new ones.  When
+	 *	neither changed the stored record is replaced in place.
+	 */
+	public void move( G oldGroup, LocalDateTime oldTime, G newGroup, LocalDateTime newTime, P pkey, B rec ) {
+		if( Objects.equals( oldGroup, newGroup ) && Objects.equals( oldTime, newTime ) ) {
+			if( newTime != null ) {
+				global.get( newTime ).put( pkey, rec );
+				byGroup.get( newGroup ).get( newTime ).put( pkey, rec );
+			}
+			return;
+		}
+		remove( oldGroup, oldTime, pkey );
+		add( newGroup, newTime, pkey, rec );
+	}
+
+	/**
+	 *	Collect the records whose timestamp lies within a half-open range.
+	 *
+	 *	@param	from	The inclusive lower bound, or null for no lower bound.
+	 *
+	 *	@param	to	The exclusive upper bound, or null for no upper bound.
+	 *
+	 *	@return	The records in timestamp order, possibly empty.
+	 */
+	public List< B > range( LocalDateTime from, LocalDateTime to ) {
+		return( collect( global, from, to, Integer.MAX_VALUE ) );
+	}
+
+	/**
+	 *	Collect at most limit of the earliest records whose timestamp lies
+	 *	within a half-open range, without visiting the rest of the range.
+	 *
+	 *	@param	from	The inclusive lower bound, or null for no lower bound.
+	 *
+	 *	@param	to	The exclusive upper bound, or null for no upper bound.
+	 *
+	 *	@param	limit	The maximum number of records to collect.
+	 *
+	 *	@return	The records in timestamp order, possibly empty.
+	 */
+	public List< B > range( LocalDateTime from, LocalDateTime to, int limit ) {
+		return( collect( global, from, to, limit ) );
+	}
+
+	/**
+	 *	Collect the records of one group whose timestamp lies within a
+	 *	half-open range.
+	 *
+	 *	@param	group	The group to collect from.
+	 *
+	 *	@param	from	The inclusive lower bound, or null for no lower bound.
+	 *
+	 *	@param	to	The exclusive upper bound, or null for no upper bound.
+	 *
+	 *	@return	The records in timestamp order, possibly empty.
+	 */
+	public List< B > range( G group, LocalDateTime from, LocalDateTime to ) {
+		return( collect( byGroup.get( group ), from, to, Integer.MAX_VALUE ) );
+	}
+
+	/**
+	 *	Collect at most limit of the earliest records of one group whose
+	 *	timestamp lies within a half-open range.
+	 *
+	 *	@param	group	The group to collect from.
+	 *
+	 *	@param	from	The inclusive lower bound, or null for no lower bound.
+	 *
+	 *	@param	to	The exclusive upper bound, or null for no upper bound.
+	 *
+	 *	@param	limit	The maximum number of records to collect.
+	 *
+	 *	@return	The records in timestamp order, possibly empty.
+	 */
+	public List< B > range( G group, LocalDateTime from, LocalDateTime to, int limit ) {
+		return( collect( byGroup.get( group ), from, to, limit ) );
+	}
+
+	private void put( NavigableMap< LocalDateTime, NavigableMap< P, B > > times, LocalDateTime time, P pkey, B rec ) {
+		NavigableMap< P, B > bucket = times.get( time );
+		if( bucket == null ) {
+			bucket = new TreeMap< P, B >();
+			times.put( time, bucket );
+		}
+		bucket.put( pkey, rec );
+	}
+
+	private void take( NavigableMap< LocalDateTime, NavigableMap< P, B > > times, LocalDateTime time, P pkey ) {
+		NavigableMap< P, B > bucket = times.get( time );
+		if( bucket != null ) {
+			bucket.remove( pkey );
+			if( bucket.isEmpty() ) {
+				times.remove( time );
+			}
+		}
+	}
+
+	private List< B > collect( NavigableMap< LocalDateTime, NavigableMap< P, B > > times, LocalDateTime from, LocalDateTime to, int limit ) {
+		if( ( times == null ) || times.isEmpty() ) {
+			return( Collections.< B >emptyList() );
+		}
+		NavigableMap< LocalDateTime, NavigableMap< P, B > > window;
+		if( from == null ) {
+			if( to == null ) {
+				window = times;
+			}
+			else {
+				window = times.headMap( to, false );
+			}
+		}
+		else if( to == null ) {
+			window = times.tailMap( from, true );
+		}
+		else if( from.isBefore( to ) ) {
+			window = times.subMap( from, true, to, false );
+		}
+		else {
+			return( Collections.< B >emptyList() );
+		}
+		ArrayList< B > recs = new ArrayList< B >();
+		for( NavigableMap< P, B > bucket : window.values() ) {
+			for( B rec : bucket.values() ) {
+				if( recs.size() >= limit ) {
+					return( recs );
+				}
+				recs.add( rec );
+			}
+		}
+		return( recs );
+	}
+}
@@ -0,0 +1,149 @@
+
+// Description: Java 25 time partitions for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.time.*;
+import java.time.temporal.*;
+import java.util.*;
+
+/*
+ *	CFSecRamTimePartitions groups the records of a CFSecRam table into
+ *	partitions by one of their timestamp columns, truncated to a day or an
+ *	hour, so retention can detach a whole partition at once instead of
+ *	searching for its records.
+ *
+ *	Records whose timestamp is null belong to no partition.  The partitions
+ *	are not thread safe; the owning table guards them with its own lock.
+ *
+ *	@param	P	The primary key type.
+ *	@param	B	The record type.
+ */
+public class CFSecRamTimePartitions< P, B >
+{
+	private final ChronoUnit unit;
+	private final NavigableMap< LocalDateTime, Map< P, B > > partitions
+		= new TreeMap< LocalDateTime, Map< P, B > >();
+
+	/**
+	 *	@param	argUnit	The width of a partition, ChronoUnit.DAYS or ChronoUnit.HOURS.
+	 */
+	public CFSecRamTimePartitions( ChronoUnit argUnit ) {
+		if( ( argUnit != ChronoUnit.DAYS ) && ( argUnit != ChronoUnit.HOURS ) ) {
+			throw new IllegalArgumentException( "Partitions must span a day or an hour, not " + argUnit );
+		}
+		unit = argUnit;
+	}
+
+	public ChronoUnit getUnit() {
+		return( unit );
+	}
+
+	/**
+	 *	@return	The start of the partition holding a timestamp.
+	 */
+	public LocalDateTime partitionOf( LocalDateTime time ) {
+		return( time.truncatedTo( unit ) );
+	}
+
+	public void clear() {
+		partitions.clear();
+	}
+
+	public void add( LocalDateTime time, P pkey, B rec ) {
+		if( time == null ) {
+			return;
+		}
+		LocalDateTime start = partitionOf( time );
+		Map< P, B > partition = partitions.get( start );
+		if( partition == null ) {
+			partition = new HashMap< P, B >();
+			partitions.put( start, partition );
+		}
+		partition.put( pkey, rec );
+	}
+
+	public void remove( LocalDateTime time, P pkey ) {
+		if( time == null ) {
+			return;
+		}
+		LocalDateTime start = partitionOf( time );
+		Map< P, B > partition = partitions.get( start );
+		if( partition != null ) {
+			partition.remove( pkey );
+			if( partition.isEmpty() ) {
+				partitions.remove( start );
+			}
+		}
+	}
+
+	public void move( LocalDateTime oldTime, LocalDateTime newTime, P pkey, B rec ) {
+		remove( oldTime, pkey );
+		add( newTime, pkey, rec );
+	}
+
+	/**
+	 *	@return	A copy of the start of every non-empty partition, in order.
+	 */
+	public NavigableSet< LocalDateTime > getPartitions() {
+		return( new TreeSet< LocalDateTime >( partitions.navigableKeySet() ) );
+	}
+
+	public int getPartitionSize( LocalDateTime start ) {
+		Map< P, B > partition = partitions.get( partitionOf( start ) );
+		return( ( partition == null ) ? 0 : partition.size() );
+	}
+
+	/**
+	 *	@return	The start of every partition lying wholly before the cutoff, in order.
+	 */
+	public List< LocalDateTime > getPartitionsBefore( LocalDateTime cutoff ) {
+		ArrayList< LocalDateTime > starts = new ArrayList< LocalDateTime >();
+		for( LocalDateTime start : partitions.headMap( cutoff, false ).navigableKeySet() ) {
+			if( ! start.plus( 1, unit ).isAfter( cutoff ) ) {
+				starts.add( start );
+			}
+		}
+		return( starts );
+	}
+
+	/**
+	 *	Remove a whole partition.
+	 *
+	 *	@param	start	Any timestamp within the partition.
+	 *
+	 *	@return	The records the partition held, possibly empty.
+	 */
+	public Collection< B > detach( LocalDateTime start ) {
+		Map< P, B > partition = partitions.remove( partitionOf( start ) );
+		if( partition == null ) {
+			return( Collections.< B >emptyList() );
+		}
+		return( partition.values() );
+	}
+}
@@ -0,0 +1,200 @@
+
+// Description: Java 25 hierarchical timing wheel for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+import java.util.function.*;
+
+/*
+ *	CFSecRamTimingWheel schedules keys against deadlines on a hierarchical
+ *	timing wheel of four levels of 64 slots each.
+ *
+ *	A key lands in the finest level whose span covers its deadline, and is
+ *	cascaded down a level each time the wheel reaches the slot holding it.
+ *	Scheduling and cancelling a key cost O(1), and advancing the wheel costs
+ *	one step per elapsed tick plus the keys cascaded or expired, so neither
+ *	depends on how many keys are waiting.  Deadlines beyond the span of the
+ *	top level are parked in its last slot and re-placed when they cascade.
+ *	The wheel is not thread safe.
+ *
+ *	@param	K	The key type.
+ */
+public class CFSecRamTimingWheel< K >
+{
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+	private static final int LEVELS = 4;
+
+	private static final class Entry {
+		final long deadlineTick;
+		int level;
+		int slot;
+
+		Entry( long argDeadlineTick ) {
+			deadlineTick = argDeadlineTick;
+		}
+	}
+
+	private final long tickMillis;
+	private final Map< K, Entry > entries = new HashMap< K, Entry >();
+	private final List< List< Set< K > > > wheels;
+	private long currentTick;
+
+	/**
+	 *	@param	argTickMillis	The resolution of the wheel in milliseconds.
+	 *
+	 *	@param	nowMillis	The current time in milliseconds.
+	 */
+	public CFSecRamTimingWheel( long argTickMillis, long nowMillis ) {
+		if( argTickMillis <= 0L ) {
+			throw new IllegalArgumentException( "Tick must be positive" );
+		}
+		tickMillis = argTickMillis;
+		currentTick = nowMillis / tickMillis;
+		wheels = new ArrayList< List< Set< K > > >( LEVELS );
+		for( int level = 0; level < LEVELS; level++ ) {
+			List< Set< K > > wheel = new ArrayList< Set< K > >( SLOTS );
+			for( int slot = 0; slot < SLOTS; slot++ ) {
+				wheel.add( new HashSet< K >() );
+			}
+			wheels.add( wheel );
+		}
+	}
+
+	public long getTickMillis() {
+		return( tickMillis );
+	}
+
+	public int size() {
+		return( entries.size() );
+	}
+
+	public boolean isScheduled( K key ) {
+		return( entries.containsKey( key ) );
+	}
+
+	/**
+	 *	Schedule a key, replacing any deadline it already had.  A deadline
+	 *	that has already passed expires on the next tick.
+	 *
+	 *	@param	key	The key to schedule.
+	 *
+	 *	@param	deadlineMillis	The deadline in milliseconds.
+	 */
+	public void schedule( K key, long deadlineMillis ) {
+		cancel( key );
+		Entry entry = new Entry( Math.max( deadlineMillis / tickMillis, currentTick + 1 ) );
+		entries.put( key, entry );
+		place( key, entry );
+	}
+
+	/**
+	 *	@return	True if the key was scheduled.
+	 */
+	public boolean cancel( K key ) {
+		Entry entry = entries.remove( key );
+		if( entry == null ) {
+			return( false );
+		}
+		wheels.get( entry.level ).get( entry.slot ).remove( key );
+		return( true );
+	}
+
+	public void clear() {
+		entries.clear();
+		for( List< Set< K > > wheel : wheels ) {
+			for( Set< K > slot : wheel ) {
+				slot.clear();
+			}
+		}
+	}
+
+	/**
+	 *	Advance the wheel to the current time, handing every key whose
+	 *	deadline has been reached to a consumer.  The expired keys are no
+	 *	longer scheduled when the consumer sees them.
+	 *
+	 *	@param	nowMillis	The current time in milliseconds.
+	 *
+	 *	@param	expired	Receives each expired key.
+	 */
+	public void advance( long nowMillis, Consumer< K > expired ) {
+		long targetTick = nowMillis / tickMillis;
+		if( entries.isEmpty() ) {
+			currentTick = Math.max( currentTick, targetTick );
+			return;
+		}
+		while( currentTick < targetTick ) {
+			currentTick++;
+			for( int level = 1; level < LEVELS; level++ ) {
+				if( ( currentTick & ( ( 1L << ( SLOT_BITS * level ) ) - 1L ) ) != 0L ) {
+					break;
+				}
+				cascade( level, (int)( ( currentTick >>> ( SLOT_BITS * level ) ) & SLOT_MASK ) );
+			}
+			Set< K > due = wheels.get( 0 ).get( (int)( currentTick & SLOT_MASK ) );
+			if( ! due.isEmpty() ) {
+				List< K > keys = new ArrayList< K >( due );
+				due.clear();
+				for( K key : keys ) {
+					entries.remove( key );
+					expired.accept( key );
+				}
+			}
+		}
+	}
+
+	private void cascade( int level, int slot ) {
+		Set< K > keys = wheels.get( level ).get( slot );
+		if( keys.isEmpty() ) {
+			return;
+		}
+		List< K > moving = new ArrayList< K >( keys );
+		keys.clear();
+		for( K key : moving ) {
+			place( key, entries.get( key ) );
+		}
+	}
+
+	private void place( K key, Entry entry ) {
+		long deadlineTick = Math.max( entry.deadlineTick, currentTick );
+		long delta = deadlineTick - currentTick;
+		int level = 0;
+		while( ( level < LEVELS - 1 ) && ( delta >= ( 1L << ( SLOT_BITS * ( level + 1 ) ) ) ) ) {
+			level++;
+		}
+		if( delta >= ( 1L << ( SLOT_BITS * LEVELS ) ) ) {
+			deadlineTick = currentTick + ( 1L << ( SLOT_BITS * LEVELS ) ) - 1L;
+		}
+		entry.level = level;
+		entry.slot = (int)( ( deadlineTick >>> ( SLOT_BITS * level ) ) & SLOT_MASK );
+		wheels.get( level ).get( entry.slot ).add( key );
+	}
+}
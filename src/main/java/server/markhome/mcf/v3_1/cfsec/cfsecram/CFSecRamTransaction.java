@@ -0,0 +1,175 @@
+
+// Description: Java 25 undo log transaction for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+import server.markhome.mcf.v3_1.cfsec.cfsec.*;
+
+/*
+ *	CFSecRamTransaction is the undo log of the transaction a thread has
+ *	open on a CFSecRamSchema.
+ *
+ *	Every create, update and delete made by the thread records the table,
+ *	the primary key and the row image it replaced, or null for a create.
+ *	Rollback walks the log backwards to work out the original image of
+ *	each touched row and restores the touched tables from those images.
+ *	Nested transactions are savepoints in the log of the outermost one.
+ *
+ *	Writers outside any transaction pay one volatile read to learn that no
+ *	log is open.
+ */
+public class CFSecRamTransaction
+{
+	/**
+	 *	One entry of the undo log.
+	 */
+	public static class Change {
+		private final int tableIndex;
+		private final Object pkey;
+		private final Object before;
+		private final Object after;
+		private final CFSecRamVersionStore.Version version;
+
+		public Change( int argTableIndex,
+			Object argPKey,
+			Object argBefore,
+			Object argAfter,
+			CFSecRamVersionStore.Version argVersion )
+		{
+			tableIndex = argTableIndex;
+			pkey = argPKey;
+			before = argBefore;
+			after = argAfter;
+			version = argVersion;
+		}
+
+		public int getTableIndex() {
+			return( tableIndex );
+		}
+
+		public Object getPKey() {
+			return( pkey );
+		}
+
+		/**
+		 *	@return	The row image replaced by the change, or null if it created the row.
+		 */
+		public Object getBefore() {
+			return( before );
+		}
+
+		/**
+		 *	@return	The row image written by the change, or null if it deleted the row.
+		 */
+		public Object getAfter() {
+			return( after );
+		}
+
+		/**
+		 *	@return	The pending version published when the change commits or
+		 *		is rolled back, or null if snapshot reads were not enabled.
+		 */
+		public CFSecRamVersionStore.Version getVersion() {
+			return( version );
+		}
+	}
+
+	private final ArrayList< Change > changes = new ArrayList< Change >();
+	private final ArrayDeque< Integer > savepoints = new ArrayDeque< Integer >();
+
+	public CFSecRamTransaction() {
+	}
+
+	public void add( Change change ) {
+		changes.add( change );
+	}
+
+	public List< Change > getChanges() {
+		return( Collections.unmodifiableList( changes ) );
+	}
+
+	/**
+	 *	@return	The number of transactions nested inside the outermost one.
+	 */
+	public int getDepth() {
+		return( savepoints.size() );
+	}
+
+	public void pushSavepoint() {
+		savepoints.push( changes.size() );
+	}
+
+	/**
+	 *	Forget the innermost savepoint, keeping its changes in the enclosing transaction.
+	 */
+	public void releaseSavepoint() {
+		savepoints.pop();
+	}
+
+	/**
+	 *	Remove the changes made since the innermost savepoint, or since the
+	 *	transaction began if there is none, and forget that savepoint.
+	 *
+	 *	@return	The removed changes, most recent first.
+	 */
+	public List< Change > popChanges() {
+		int mark = savepoints.isEmpty() ? 0 : savepoints.pop();
+		ArrayList< Change > undone = new ArrayList< Change >( changes.size() - mark );
+		for( int idx = changes.size() - 1; idx >= mark; idx-- ) {
+			undone.add( changes.remove( idx ) );
+		}
+		return( undone );
+	}
+
+	/**
+	 *	Record a change for the transaction open on the calling thread, if any.
+	 *
+	 *	@param	before	The row image replaced, or null for a create.
+	 *
+	 *	@param	after	The row image written, or null for a delete.
+	 */
+	public static void record( ICFSecSchema schema, Object before, Object after ) {
+		if( schema instanceof CFSecRamSchema ) {
+			((CFSecRamSchema)schema).recordChange( before, after );
+		}
+	}
+
+	/**
+	 *	Run an action as one transaction, nested in the caller's transaction if
+	 *	there is one, so it either completes or leaves no change behind.
+	 */
+	public static void atomically( ICFSecSchema schema, Runnable action ) {
+		if( schema instanceof CFSecRamSchema ) {
+			((CFSecRamSchema)schema).runInTransaction( action );
+		}
+		else {
+			action.run();
+		}
+	}
+}
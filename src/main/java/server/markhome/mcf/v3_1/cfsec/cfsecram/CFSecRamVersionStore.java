@@ -0,0 +1,284 @@
+
+// Description: Java 25 version store for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/*
+ *	CFSecRamVersionStore keeps the superseded row images that read views
+ *	need to see a CFSecRamSchema as it was when they were opened.
+ *
+ *	The tables only ever hold the newest image of each row.  Every change
+ *	is stamped with a number from a global commit sequence; a change made
+ *	outside a transaction is stamped at once, while the changes of a
+ *	transaction stay pending until it commits or rolls back and are then
+ *	stamped together.  A view opened at sequence S sees a row as it was by
+ *	taking its current image and undoing, newest first, every change whose
+ *	stamp is above S.
+ *
+ *	The versions of each table are kept in a skip list ordered by primary
+ *	key and then by the order the changes were made, so the versions of one
+ *	row are found without scanning the others and no lock is shared by the
+ *	writers of different tables.  Stamps are drawn from one counter and
+ *	become visible to new views strictly in order, once every version they
+ *	stamp carries them.
+ *
+ *	Versions whose stamp is not above the sequence of any open view can no
+ *	longer be undone by anyone.  A background thread drops them, and changes
+ *	committed while no view is open are not kept at all.
+ */
+public class CFSecRamVersionStore
+	implements Closeable
+{
+	public static final long PENDING = Long.MAX_VALUE;
+	public static final long DEFAULT_RECLAIM_MILLIS = 1000L;
+
+	/**
+	 *	The image of a row before one change, and the stamp of that change.
+	 */
+	public static class Version {
+		private final Object pkey;
+		private final Object before;
+		private final long change;
+		private volatile long seq;
+
+		Version( Object argPKey, Object argBefore, long argChange, long argSeq ) {
+			pkey = argPKey;
+			before = argBefore;
+			change = argChange;
+			seq = argSeq;
+		}
+
+		public Object getPKey() {
+			return( pkey );
+		}
+
+		/**
+		 *	@return	The row image before the change, or null if the change created the row.
+		 */
+		public Object getBefore() {
+			return( before );
+		}
+
+		/**
+		 *	@return	The commit sequence number of the change, or PENDING.
+		 */
+		public long getCommitSeq() {
+			return( seq );
+		}
+	}
+
+	/*
+	 *	Orders versions by primary key, then by change.  The key classes do
+	 *	not share a natural order, so keys are ordered by hash code first and
+	 *	only colliding keys fall back on their natural or string order.
+	 */
+	@SuppressWarnings("unchecked")
+	private static final Comparator< Version > VERSION_ORDER = ( left, right ) -> {
+		Object lhs = left.pkey;
+		Object rhs = right.pkey;
+		int cmp = Integer.compare( lhs.hashCode(), rhs.hashCode() );
+		if( ( cmp == 0 ) && ! lhs.equals( rhs ) ) {
+			if( lhs instanceof Comparable ) {
+				cmp = ((Comparable< Object >)lhs).compareTo( rhs );
+			}
+			else {
+				cmp = lhs.toString().compareTo( rhs.toString() );
+			}
+		}
+		if( cmp == 0 ) {
+			cmp = Long.compare( left.change, right.change );
+		}
+		return( cmp );
+	};
+
+	private final ArrayList< ConcurrentSkipListSet< Version > > versionsByTable;
+	private final ConcurrentSkipListMap< Long, Integer > openViews = new ConcurrentSkipListMap< Long, Integer >();
+	private final ScheduledExecutorService reclaimer;
+	private final AtomicLong changeSeq = new AtomicLong();
+	private final AtomicLong issuedSeq = new AtomicLong();
+	private final AtomicLong commitSeq = new AtomicLong();
+
+	public CFSecRamVersionStore( int tableCount, long reclaimMillis ) {
+		versionsByTable = new ArrayList< ConcurrentSkipListSet< Version > >( tableCount );
+		for( int idx = 0; idx < tableCount; idx++ ) {
+			versionsByTable.add( new ConcurrentSkipListSet< Version >( VERSION_ORDER ) );
+		}
+		reclaimer = Executors.newSingleThreadScheduledExecutor( ( task ) -> {
+			Thread thread = new Thread( task, "CFSecRamVersionStore reclaimer" );
+			thread.setDaemon( true );
+			return( thread );
+		} );
+		reclaimer.scheduleWithFixedDelay( this::reclaim, reclaimMillis, reclaimMillis, TimeUnit.MILLISECONDS );
+	}
+
+	/**
+	 *	@return	The newest commit sequence number visible to new views.
+	 */
+	public long getCommitSeq() {
+		return( commitSeq.get() );
+	}
+
+	/**
+	 *	Record a change made outside any transaction, committing it at once.
+	 *	Called while the table is still locked against readers, so no view can
+	 *	see the new image before its version is in place.
+	 */
+	public void addCommitted( int tableIndex, Object pkey, Object before ) {
+		long seq = issuedSeq.incrementAndGet();
+		Version version = new Version( pkey, before, changeSeq.incrementAndGet(), PENDING );
+		versionsByTable.get( tableIndex ).add( version );
+		version.seq = seq;
+		makeVisible( seq );
+		if( openViews.isEmpty() ) {
+			versionsByTable.get( tableIndex ).remove( version );
+		}
+	}
+
+	/**
+	 *	Record a change made inside a transaction.  It stays invisible to
+	 *	every view until it is published.
+	 *
+	 *	@return	The pending version, to be passed to publish().
+	 */
+	public Version addPending( int tableIndex, Object pkey, Object before ) {
+		Version version = new Version( pkey, before, changeSeq.incrementAndGet(), PENDING );
+		versionsByTable.get( tableIndex ).add( version );
+		return( version );
+	}
+
+	/**
+	 *	Stamp a group of pending versions with one new commit sequence number.
+	 *	Views opened from then on see all of the changes or, once a rollback
+	 *	has put the rows back, none of them.
+	 */
+	public void publish( Collection< Version > pending ) {
+		if( pending.isEmpty() ) {
+			return;
+		}
+		long seq = issuedSeq.incrementAndGet();
+		for( Version version : pending ) {
+			version.seq = seq;
+		}
+		makeVisible( seq );
+	}
+
+	/*
+	 *	Advance the visible commit sequence to a stamp once every earlier stamp
+	 *	is visible.  A stamp is only made visible after all its versions carry
+	 *	it, so a view never sees part of a commit.
+	 */
+	private void makeVisible( long seq ) {
+		while( ! commitSeq.compareAndSet( seq - 1, seq ) ) {
+			Thread.yield();
+		}
+	}
+
+	/**
+	 *	Register a view of the current commit sequence.
+	 *
+	 *	@return	The sequence the view reads at.
+	 */
+	public long openView() {
+		while( true ) {
+			long seq = commitSeq.get();
+			openViews.merge( seq, 1, Integer::sum );
+			if( commitSeq.get() == seq ) {
+				return( seq );
+			}
+			closeView( seq );
+		}
+	}
+
+	public void closeView( long seq ) {
+		openViews.computeIfPresent( seq, ( key, count ) -> ( count > 1 ) ? count - 1 : null );
+	}
+
+	/**
+	 *	@return	The versions of a table stamped above the sequence, or still
+	 *		pending, ordered by primary key and, for each row, in the order
+	 *		its changes were made.
+	 */
+	public List< Version > getInvisibleVersions( int tableIndex, long seq ) {
+		ArrayList< Version > invisible = new ArrayList< Version >();
+		for( Version version : versionsByTable.get( tableIndex ) ) {
+			if( version.seq > seq ) {
+				invisible.add( version );
+			}
+		}
+		return( invisible );
+	}
+
+	/**
+	 *	@return	The oldest version of a row stamped above the sequence, or still
+	 *		pending, or null if the row has not changed since then.
+	 */
+	public Version getOldestInvisibleVersion( int tableIndex, Object pkey, long seq ) {
+		Version from = new Version( pkey, null, Long.MIN_VALUE, PENDING );
+		Version to = new Version( pkey, null, Long.MAX_VALUE, PENDING );
+		for( Version version : versionsByTable.get( tableIndex ).subSet( from, true, to, true ) ) {
+			if( version.seq > seq ) {
+				return( version );
+			}
+		}
+		return( null );
+	}
+
+	/**
+	 *	Drop the versions that no open view, nor any view opened later, can need.
+	 *
+	 *	@return	The number of versions dropped.
+	 */
+	public int reclaim() {
+		long horizon = commitSeq.get();
+		Map.Entry< Long, Integer > oldest = openViews.firstEntry();
+		if( ( oldest != null ) && ( oldest.getKey() < horizon ) ) {
+			horizon = oldest.getKey();
+		}
+		int dropped = 0;
+		for( ConcurrentSkipListSet< Version > versions : versionsByTable ) {
+			Iterator< Version > iter = versions.iterator();
+			while( iter.hasNext() ) {
+				if( iter.next().seq <= horizon ) {
+					iter.remove();
+					dropped++;
+				}
+			}
+		}
+		return( dropped );
+	}
+
+	@Override
+	public void close() {
+		reclaimer.shutdownNow();
+	}
+}
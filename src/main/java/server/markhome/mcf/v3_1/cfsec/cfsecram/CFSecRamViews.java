@@ -0,0 +1,72 @@
+
+// Description: Java 25 result views for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+
+/*
+ *	CFSecRamViews builds the read-only result views returned by the
+ *	viewBy methods of the CFSecRam tables.
+ *
+ *	A view wraps the index bucket itself, so iterating it costs no
+ *	intermediate array.  It is live: it reflects later changes to the
+ *	bucket, and iterating it while the table is modified fails with a
+ *	ConcurrentModificationException.  Tables running with their lock
+ *	enabled use copyOf() instead, because a live bucket cannot be
+ *	iterated safely alongside concurrent writers.
+ */
+public class CFSecRamViews
+{
+	private CFSecRamViews() {
+	}
+
+	/**
+	 *	@param	bucket	The index bucket or dictionary to view, which may be null.
+	 *
+	 *	@return	A read-only live view of the values of the bucket.
+	 */
+	public static < R > Collection< R > of( Map< ?, ? extends R > bucket ) {
+		if( bucket == null ) {
+			return( Collections.< R >emptyList() );
+		}
+		return( Collections.< R >unmodifiableCollection( bucket.values() ) );
+	}
+
+	/**
+	 *	@param	bucket	The index bucket or dictionary to copy, which may be null.
+	 *
+	 *	@return	A read-only copy of the values of the bucket.
+	 */
+	public static < R > Collection< R > copyOf( Map< ?, ? extends R > bucket ) {
+		if( ( bucket == null ) || bucket.isEmpty() ) {
+			return( Collections.< R >emptyList() );
+		}
+		return( Collections.< R >unmodifiableList( new ArrayList< R >( bucket.values() ) ) );
+	}
+}
@@ -0,0 +1,419 @@
+
+// Description: Java 25 write-ahead log for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.locks.*;
+import java.util.zip.*;
+import server.markhome.mcf.v3_1.cfsec.cfsec.*;
+
+/*
+ *	CFSecRamWriteAheadLog is an append-only journal of the creates,
+ *	updates, deletes and archivals applied to a CFSecRamSchema.
+ *
+ *	Each record is framed as
+ *
+ *		[ int length ][ byte op ][ short table ][ payload ][ int crc32 ]
+ *
+ *	where the payload is the row image encoded by CFSecRamRecordCodec.
+ *	The file starts with a header holding the field layout of every
+ *	table, so a log written by an incompatible build is refused rather
+ *	than misread.  A torn record at the end of the file, as left by a
+ *	crash during a write, ends the replay and is truncated away.
+ *
+ *	Writers append their record while they hold their table's lock, so
+ *	the log order of the changes to one row matches the order in which
+ *	they were applied, and then wait for durability after releasing it.
+ *	The wait uses group commit: the first waiter becomes the leader,
+ *	optionally lingers for the group commit delay so that concurrent
+ *	writers can join, and then writes and forces everything appended so
+ *	far with a single system call while the others wait for it.
+ */
+public class CFSecRamWriteAheadLog
+	implements Closeable
+{
+	public static final byte OP_CREATE = 1;
+	public static final byte OP_UPDATE = 2;
+	public static final byte OP_DELETE = 3;
+	/** A row that left the table for an archive which holds it durably in its own file. */
+	public static final byte OP_ARCHIVE = 4;
+
+	/**
+	 *	How long a writer waits for its record to reach the disk.
+	 */
+	public enum Durability {
+		/** Records are handed to the operating system but never forced. */
+		NONE,
+		/** Records are forced in groups, lingering for the group commit delay to gather more writers. */
+		GROUP,
+		/** Records are forced as soon as their writer commits. */
+		ALWAYS
+	}
+
+	/**
+	 *	The receiver of the records read back by replay().
+	 */
+	public interface ReplayHandler {
+		void replay( byte op, int tableIndex, DataInput payload ) throws IOException;
+	}
+
+	private static final int MAGIC = 0x43465357;
+	private static final int VERSION = 1;
+
+	private final Path path;
+	private final Durability durability;
+	private final long groupCommitNanos;
+	private final List< Class<?> > layouts;
+	private FileChannel channel = null;
+
+	private final ByteArrayOutputStream pending = new ByteArrayOutputStream( 64 * 1024 );
+	private final DataOutputStream pendingOut = new DataOutputStream( pending );
+	private final ByteArrayOutputStream scratch = new ByteArrayOutputStream( 1024 );
+	private final DataOutputStream scratchOut = new DataOutputStream( scratch );
+	private final CRC32 crc = new CRC32();
+	private long appendedLsn = 0L;
+	private long durableLsn = 0L;
+	private boolean flushing = false;
+	private IOException failure = null;
+
+	/**
+	 *	Construct a log over a file.  The file is not opened until replay()
+	 *	or reset() is called.
+	 *
+	 *	@param	argPath	The log file.
+	 *
+	 *	@param	argDurability	How commits wait for the disk.
+	 *
+	 *	@param	argGroupCommitMicros	How long a GROUP leader lingers before forcing.
+	 *
+	 *	@param	argLayouts	The buffer classes of the tables, in table index order.
+	 */
+	public CFSecRamWriteAheadLog( Path argPath,
+		Durability argDurability,
+		long argGroupCommitMicros,
+		List< Class<?> > argLayouts )
+	{
+		path = argPath;
+		durability = ( argDurability == null ) ? Durability.GROUP : argDurability;
+		groupCommitNanos = Math.max( 0L, argGroupCommitMicros ) * 1000L;
+		layouts = new ArrayList< Class<?> >( argLayouts );
+	}
+
+	public Path getPath() {
+		return( path );
+	}
+
+	public Durability getDurability() {
+		return( durability );
+	}
+
+	/**
+	 *	Open the log and feed every intact record it holds to a handler.
+	 *	A log file which does not exist yet is created empty.
+	 *
+	 *	@return	The number of records replayed.
+	 */
+	public synchronized long replay( ReplayHandler handler ) throws IOException {
+		if( channel != null ) {
+			throw new IOException( "Write-ahead log " + path + " is already open" );
+		}
+		if( ( ! Files.exists( path ) ) || ( Files.size( path ) == 0L ) ) {
+			reset();
+			return( 0L );
+		}
+		channel = FileChannel.open( path, StandardOpenOption.READ, StandardOpenOption.WRITE );
+		DataInputStream in = new DataInputStream( new BufferedInputStream( Channels.newInputStream( channel ), 64 * 1024 ) );
+		long pos = readHeader( in );
+		long count = 0L;
+		byte[] payload = new byte[ 1024 ];
+		while( true ) {
+			int len;
+			byte op;
+			int tableIndex;
+			try {
+				len = in.readInt();
+				if( ( len < 0 ) || ( pos + 11 + len > channel.size() ) ) {
+					break;
+				}
+				op = in.readByte();
+				tableIndex = in.readShort();
+				if( payload.length < len ) {
+					payload = new byte[ Math.max( len, payload.length * 2 ) ];
+				}
+				in.readFully( payload, 0, len );
+				int expected = in.readInt();
+				crc.reset();
+				crc.update( op );
+				crc.update( tableIndex >>> 8 );
+				crc.update( tableIndex );
+				crc.update( payload, 0, len );
+				if( (int)crc.getValue() != expected ) {
+					break;
+				}
+			}
+			catch( EOFException e ) {
+				break;
+			}
+			if( ( tableIndex < 0 ) || ( tableIndex >= layouts.size() ) ) {
+				throw new IOException( "Write-ahead log " + path + " names unknown table " + tableIndex );
+			}
+			handler.replay( op, tableIndex, new DataInputStream( new ByteArrayInputStream( payload, 0, len ) ) );
+			pos += 11 + len;
+			count++;
+		}
+		channel.truncate( pos );
+		channel.position( pos );
+		return( count );
+	}
+
+	/**
+	 *	Discard the contents of the log, leaving just its header.  Used once
+	 *	the state the log describes has been captured by a snapshot, so no
+	 *	changes may be made to the schema while the log is being reset.
+	 */
+	public void reset() throws IOException {
+		long upTo = awaitIdle();
+		try {
+			if( channel == null ) {
+				channel = FileChannel.open( path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE );
+			}
+			ByteArrayOutputStream header = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream( header );
+			out.writeInt( MAGIC );
+			out.writeInt( VERSION );
+			out.writeShort( layouts.size() );
+			for( Class<?> layout : layouts ) {
+				CFSecRamRecordCodec.writeLayout( out, layout );
+			}
+			out.flush();
+			channel.truncate( 0L );
+			channel.position( 0L );
+			writeFully( header.toByteArray() );
+			channel.force( true );
+		}
+		finally {
+			synchronized( this ) {
+				durableLsn = upTo;
+				flushing = false;
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 *	Append a record to the in-memory tail of the log.
+	 *
+	 *	@return	The log sequence number to pass to await().
+	 */
+	public synchronized long append( byte op, int tableIndex, Object rec ) {
+		if( channel == null ) {
+			throw new IllegalStateException( "Write-ahead log " + path + " is not open" );
+		}
+		try {
+			scratch.reset();
+			CFSecRamRecordCodec.writeRec( scratchOut, rec );
+			scratchOut.flush();
+			crc.reset();
+			crc.update( op );
+			crc.update( tableIndex >>> 8 );
+			crc.update( tableIndex );
+			crc.update( scratch.toByteArray(), 0, scratch.size() );
+			pendingOut.writeInt( scratch.size() );
+			pendingOut.writeByte( op );
+			pendingOut.writeShort( tableIndex );
+			scratch.writeTo( pendingOut );
+			pendingOut.writeInt( (int)crc.getValue() );
+		}
+		catch( IOException e ) {
+			throw new UncheckedIOException( e );
+		}
+		appendedLsn++;
+		return( appendedLsn );
+	}
+
+	/**
+	 *	Wait until a record appended by append() is as durable as the log's
+	 *	Durability setting requires.
+	 *
+	 *	@param	lsn	The log sequence number returned by append().
+	 */
+	public void await( long lsn ) {
+		synchronized( this ) {
+			while( true ) {
+				if( failure != null ) {
+					throw new UncheckedIOException( failure );
+				}
+				if( durableLsn >= lsn ) {
+					return;
+				}
+				if( ! flushing ) {
+					flushing = true;
+					break;
+				}
+				try {
+					wait();
+				}
+				catch( InterruptedException e ) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException( "Interrupted waiting for the write-ahead log", e );
+				}
+			}
+		}
+		long upTo = 0L;
+		try {
+			if( ( durability == Durability.GROUP ) && ( groupCommitNanos > 0L ) ) {
+				LockSupport.parkNanos( groupCommitNanos );
+			}
+			byte[] bytes;
+			synchronized( this ) {
+				bytes = pending.toByteArray();
+				pending.reset();
+				upTo = appendedLsn;
+			}
+			writeFully( bytes );
+			if( durability != Durability.NONE ) {
+				channel.force( false );
+			}
+		}
+		catch( IOException e ) {
+			synchronized( this ) {
+				failure = e;
+			}
+			throw new UncheckedIOException( e );
+		}
+		finally {
+			synchronized( this ) {
+				if( failure == null ) {
+					durableLsn = Math.max( durableLsn, upTo );
+				}
+				flushing = false;
+				notifyAll();
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		long lsn;
+		synchronized( this ) {
+			lsn = appendedLsn;
+		}
+		if( channel != null ) {
+			await( lsn );
+			channel.force( true );
+			channel.close();
+			channel = null;
+		}
+	}
+
+	private long awaitIdle() {
+		synchronized( this ) {
+			while( flushing ) {
+				try {
+					wait();
+				}
+				catch( InterruptedException e ) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException( "Interrupted waiting for the write-ahead log", e );
+				}
+			}
+			flushing = true;
+			pending.reset();
+			return( appendedLsn );
+		}
+	}
+
+	private long readHeader( DataInputStream in ) throws IOException {
+		if( in.readInt() != MAGIC ) {
+			throw new IOException( path + " is not a CFSecRam write-ahead log" );
+		}
+		int version = in.readInt();
+		if( version != VERSION ) {
+			throw new IOException( path + " has unsupported write-ahead log version " + version );
+		}
+		int count = in.readShort();
+		if( count != layouts.size() ) {
+			throw new IOException( path + " describes " + count + " tables, expected " + layouts.size() );
+		}
+		CountingDataOutput sizer = new CountingDataOutput();
+		sizer.writeInt( MAGIC );
+		sizer.writeInt( VERSION );
+		sizer.writeShort( count );
+		for( Class<?> layout : layouts ) {
+			CFSecRamRecordCodec.checkLayout( in, layout );
+			CFSecRamRecordCodec.writeLayout( sizer, layout );
+		}
+		return( sizer.size() );
+	}
+
+	private void writeFully( byte[] bytes ) throws IOException {
+		ByteBuffer buf = ByteBuffer.wrap( bytes );
+		while( buf.hasRemaining() ) {
+			channel.write( buf );
+		}
+	}
+
+	/*
+	 *	Measures the size of the header as it would be written.
+	 */
+	private static class CountingDataOutput
+		extends DataOutputStream
+	{
+		CountingDataOutput() {
+			super( OutputStream.nullOutputStream() );
+		}
+	}
+
+	/**
+	 *	Append a change made to a table of a CFSecRamSchema to the schema's
+	 *	write-ahead log, if it has one.
+	 *
+	 *	@return	The log sequence number to pass to await( ICFSecSchema, long ),
+	 *		or 0 when the schema is not logging.
+	 */
+	public static long journal( ICFSecSchema schema, byte op, Object rec ) {
+		if( schema instanceof CFSecRamSchema ) {
+			return( ((CFSecRamSchema)schema).journalRec( op, rec ) );
+		}
+		return( 0L );
+	}
+
+	/**
+	 *	Wait for a change appended by journal() to become durable.
+	 */
+	public static void await( ICFSecSchema schema, long lsn ) {
+		if( ( lsn > 0L ) && ( schema instanceof CFSecRamSchema ) ) {
+			((CFSecRamSchema)schema).awaitJournal( lsn );
+		}
+	}
+}
@@ -0,0 +1,126 @@
+
+// Description: Java 25 bulk load tests for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import server.markhome.mcf.v3_1.cfsec.cfsec.*;
+import server.markhome.mcf.v3_1.cfsec.cfsec.buff.*;
+
+/*
+ *	Tests for the deferred checks of bulk load mode.  Rows that pass are
+ *	kept, while a duplicate unique key or a missing parent is reported by
+ *	endBulkLoad(), which then discards every row of the load and leaves the
+ *	rows that existed before it.
+ */
+public class CFSecRamBulkLoadTest
+{
+	private CFSecRamSchema schema;
+
+	@BeforeEach
+	public void setUp() {
+		schema = new CFSecRamSchema();
+	}
+
+	@Test
+	public void cleanLoadIsKept() {
+		schema.beginBulkLoad();
+		assertTrue( schema.isBulkLoadMode() );
+		createCcy( "AAA", "Alpha" );
+		createCcy( "BBB", "Beta" );
+		createCcy( "CCC", "Gamma" );
+		assertEquals( List.of(), schema.endBulkLoad( null ) );
+		assertFalse( schema.isBulkLoadMode() );
+		assertEquals( 3, schema.getTableISOCcy().readAllDerived( null ).length );
+		assertEquals( "Beta", schema.getTableISOCcy().readDerivedByCcyCdIdx( null, "BBB" ).getRequiredName() );
+	}
+
+	@Test
+	public void duplicateKeysAreReportedAndTheLoadDiscarded() {
+		ICFSecISOCcy kept = createCcy( "AAA", "Alpha" );
+		schema.beginBulkLoad();
+		createCcy( "BBB", "Beta" );
+		createCcy( "AAA", "Another alpha" );
+		createCcy( "CCC", "Beta" );
+		List< String > violations = schema.endBulkLoad( null );
+		assertEquals( 2, violations.size(), violations.toString() );
+		assertTrue( violations.stream().anyMatch( ( msg ) -> msg.contains( "ISOCcyCodeIdx" ) ), violations.toString() );
+		assertTrue( violations.stream().anyMatch( ( msg ) -> msg.contains( "ISOCcyNameIdx" ) ), violations.toString() );
+		assertFalse( schema.isBulkLoadMode() );
+		ICFSecISOCcy[] remaining = schema.getTableISOCcy().readAllDerived( null );
+		assertEquals( 1, remaining.length );
+		assertEquals( kept.getRequiredISOCcyId(), remaining[0].getRequiredISOCcyId() );
+		assertEquals( "Alpha", schema.getTableISOCcy().readDerivedByCcyCdIdx( null, "AAA" ).getRequiredName() );
+		assertNull( schema.getTableISOCcy().readDerivedByCcyCdIdx( null, "BBB" ) );
+	}
+
+	@Test
+	public void missingParentsAreReported() {
+		schema.beginBulkLoad();
+		ICFSecISOCcy ccy = createCcy( "AAA", "Alpha" );
+		CFSecBuffISOCtryCcy ctryCcy = (CFSecBuffISOCtryCcy)schema.getFactoryISOCtryCcy().newRec();
+		ctryCcy.setRequiredContainerCtry( (short)999 );
+		ctryCcy.setRequiredParentCcy( ccy.getRequiredISOCcyId() );
+		schema.getTableISOCtryCcy().createISOCtryCcy( null, ctryCcy );
+		List< String > violations = schema.endBulkLoad( null );
+		assertEquals( 1, violations.size(), violations.toString() );
+		assertTrue( violations.get( 0 ).contains( "missing ISOCtry 999" ), violations.get( 0 ) );
+		assertEquals( 0, schema.getTableISOCcy().readAllDerived( null ).length );
+		assertEquals( 0, schema.getTableISOCtryCcy().readAllDerived( null ).length );
+	}
+
+	@Test
+	public void abortDiscardsTheLoad() {
+		createCcy( "AAA", "Alpha" );
+		schema.beginBulkLoad();
+		createCcy( "BBB", "Beta" );
+		schema.abortBulkLoad();
+		assertFalse( schema.isBulkLoadMode() );
+		assertEquals( 1, schema.getTableISOCcy().readAllDerived( null ).length );
+		assertNull( schema.getTableISOCcy().readDerivedByCcyCdIdx( null, "BBB" ) );
+	}
+
+	@Test
+	public void bulkLoadsDoNotNest() {
+		assertThrows( IllegalStateException.class, () -> schema.endBulkLoad( null ) );
+		schema.beginBulkLoad();
+		assertThrows( IllegalStateException.class, () -> schema.beginBulkLoad() );
+		schema.abortBulkLoad();
+		assertThrows( IllegalStateException.class, () -> schema.abortBulkLoad() );
+	}
+
+	private ICFSecISOCcy createCcy( String isoCode, String name ) {
+		ICFSecISOCcy rec = schema.getFactoryISOCcy().newRec();
+		rec.setRequiredISOCode( isoCode );
+		rec.setRequiredName( name );
+		return( schema.getTableISOCcy().createISOCcy( null, rec ) );
+	}
+}
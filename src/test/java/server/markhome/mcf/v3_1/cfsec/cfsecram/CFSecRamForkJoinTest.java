@@ -0,0 +1,125 @@
+
+// Description: Java 25 parallel restore tests for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *	Tests for CFSecRamForkJoin, which runs the table restores and index
+ *	rebuilds of a snapshot load.  Steps forked from a pool worker must all
+ *	run, spread over the pool's workers, and joinAll() must wait for every
+ *	task before it reports the first failure.
+ */
+public class CFSecRamForkJoinTest
+{
+	private static final int STEP_COUNT = 64;
+
+	@Test
+	public void stepsRunOnCallerOutsideAPool() {
+		Thread caller = Thread.currentThread();
+		AtomicInteger ran = new AtomicInteger();
+		ArrayList< Runnable > steps = new ArrayList< Runnable >();
+		for( int idx = 0; idx < STEP_COUNT; idx++ ) {
+			steps.add( () -> {
+				assertSame( caller, Thread.currentThread() );
+				ran.incrementAndGet();
+			} );
+		}
+		CFSecRamForkJoin.runAll( steps );
+		assertEquals( STEP_COUNT, ran.get() );
+	}
+
+	@Test
+	public void stepsAreForkedInsideAPool() throws Exception {
+		int workers = Math.max( 2, Runtime.getRuntime().availableProcessors() );
+		ForkJoinPool pool = new ForkJoinPool( workers );
+		try {
+			AtomicInteger ran = new AtomicInteger();
+			Set< Thread > threads = ConcurrentHashMap.newKeySet();
+			CountDownLatch together = new CountDownLatch( 2 );
+			ArrayList< Runnable > steps = new ArrayList< Runnable >();
+			for( int idx = 0; idx < STEP_COUNT; idx++ ) {
+				steps.add( () -> {
+					threads.add( Thread.currentThread() );
+					together.countDown();
+					try {
+						together.await( 50L, TimeUnit.MILLISECONDS );
+					}
+					catch( InterruptedException e ) {
+						Thread.currentThread().interrupt();
+					}
+					ran.incrementAndGet();
+				} );
+			}
+			pool.submit( () -> CFSecRamForkJoin.runAll( steps ) ).get( 30L, TimeUnit.SECONDS );
+			assertEquals( STEP_COUNT, ran.get() );
+			assertTrue( threads.size() > 1, () -> "All steps ran on " + threads );
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void joinAllWaitsForEveryTaskThenRethrows() {
+		ForkJoinPool pool = new ForkJoinPool( 2 );
+		try {
+			AtomicInteger finished = new AtomicInteger();
+			ArrayList< ForkJoinTask<?> > tasks = new ArrayList< ForkJoinTask<?> >();
+			tasks.add( pool.submit( () -> {
+				throw new IllegalStateException( "first" );
+			} ) );
+			for( int idx = 0; idx < 8; idx++ ) {
+				tasks.add( pool.submit( () -> {
+					try {
+						Thread.sleep( 20L );
+					}
+					catch( InterruptedException e ) {
+						Thread.currentThread().interrupt();
+					}
+					finished.incrementAndGet();
+				} ) );
+			}
+			IllegalStateException thrown = assertThrows( IllegalStateException.class, () -> CFSecRamForkJoin.joinAll( tasks ) );
+			// join() may rethrow a copy of the failure that wraps the original
+			assertTrue( thrown.getMessage().endsWith( "first" ), thrown.getMessage() );
+			assertEquals( 8, finished.get() );
+			for( ForkJoinTask<?> task : tasks ) {
+				assertTrue( task.isDone() );
+			}
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+}
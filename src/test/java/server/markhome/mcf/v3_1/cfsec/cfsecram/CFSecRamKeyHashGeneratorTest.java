@@ -0,0 +1,109 @@
+
+// Description: Java 25 key hash generator tests for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import server.markhome.mcf.v3_1.cflib.dbutil.*;
+
+/*
+ *	Uniqueness tests for CFSecRamKeyHashGenerator.  Many threads draw ids
+ *	from one generator at once, each crossing several block boundaries, and
+ *	every id issued must be distinct from every other.
+ */
+public class CFSecRamKeyHashGeneratorTest
+{
+	private static final int IDS_PER_THREAD = 5 * CFSecRamKeyHashGenerator.BLOCK_SIZE + 17;
+
+	@Test
+	public void idsAreUniqueAcrossThreads() throws Exception {
+		CFSecRamKeyHashGenerator generator = new CFSecRamKeyHashGenerator( 7L, 1000L );
+		int threads = Math.max( 4, 2 * Runtime.getRuntime().availableProcessors() );
+		ExecutorService pool = Executors.newFixedThreadPool( threads );
+		try {
+			CountDownLatch start = new CountDownLatch( 1 );
+			ArrayList< Future< List< CFLibDbKeyHash256 > > > futures = new ArrayList< Future< List< CFLibDbKeyHash256 > > >();
+			for( int idx = 0; idx < threads; idx++ ) {
+				futures.add( pool.submit( () -> {
+					ArrayList< CFLibDbKeyHash256 > ids = new ArrayList< CFLibDbKeyHash256 >( IDS_PER_THREAD );
+					start.await();
+					for( int count = 0; count < IDS_PER_THREAD; count++ ) {
+						ids.add( generator.next() );
+					}
+					return( ids );
+				} ) );
+			}
+			start.countDown();
+			HashSet< CFLibDbKeyHash256 > seen = new HashSet< CFLibDbKeyHash256 >();
+			for( Future< List< CFLibDbKeyHash256 > > future : futures ) {
+				for( CFLibDbKeyHash256 id : future.get( 60L, TimeUnit.SECONDS ) ) {
+					assertTrue( seen.add( id ), () -> "Duplicate id " + id );
+				}
+			}
+			assertEquals( (long)threads * IDS_PER_THREAD, seen.size() );
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void idsCarryNodeAndEpoch() {
+		CFSecRamKeyHashGenerator generator = new CFSecRamKeyHashGenerator( 0x0102030405060708L, 0x1112131415161718L );
+		byte[] first = generator.next().getBytes();
+		byte[] second = generator.next().getBytes();
+		assertEquals( 32, first.length );
+		assertArrayEquals( Arrays.copyOfRange( first, 8, 24 ), Arrays.copyOfRange( second, 8, 24 ) );
+		assertEquals( 0x0102030405060708L, readLong( first, 8 ) );
+		assertEquals( 0x1112131415161718L, readLong( first, 16 ) );
+		assertEquals( readLong( first, 24 ) + 1L, readLong( second, 24 ) );
+	}
+
+	@Test
+	public void generatorsWithDifferentNodesDoNotCollide() {
+		CFSecRamKeyHashGenerator left = new CFSecRamKeyHashGenerator( 1L, 1000L );
+		CFSecRamKeyHashGenerator right = new CFSecRamKeyHashGenerator( 2L, 1000L );
+		HashSet< CFLibDbKeyHash256 > seen = new HashSet< CFLibDbKeyHash256 >();
+		for( int count = 0; count < 4 * CFSecRamKeyHashGenerator.BLOCK_SIZE; count++ ) {
+			assertTrue( seen.add( left.next() ) );
+			assertTrue( seen.add( right.next() ) );
+		}
+	}
+
+	private static long readLong( byte[] bytes, int offset ) {
+		long value = 0L;
+		for( int idx = 0; idx < 8; idx++ ) {
+			value = ( value << 8 ) | ( bytes[ offset + idx ] & 0xffL );
+		}
+		return( value );
+	}
+}
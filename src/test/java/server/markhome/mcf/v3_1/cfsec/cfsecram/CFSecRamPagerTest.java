@@ -0,0 +1,170 @@
+
+// Description: Java 25 keyset pager tests for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *	Boundary tests for CFSecRamPager.  Pages are walked from the first key
+ *	to past the last, and rows are inserted and deleted around the cursor
+ *	between pages to check that no surviving row is skipped or repeated.
+ */
+public class CFSecRamPagerTest
+{
+	private static final int PAGE_SIZE = 10;
+
+	private final TreeMap< Integer, String > dict = new TreeMap< Integer, String >();
+
+	@BeforeEach
+	public void setUp() {
+		for( int key = 0; key < 35; key++ ) {
+			dict.put( key * 2, "v" + ( key * 2 ) );
+		}
+	}
+
+	@Test
+	public void emptyInputsGiveEmptyPages() {
+		assertTrue( CFSecRamPager.page( null, null, PAGE_SIZE ).isEmpty() );
+		assertTrue( CFSecRamPager.page( new TreeMap< Integer, String >(), null, PAGE_SIZE ).isEmpty() );
+		assertTrue( CFSecRamPager.page( dict, null, 0 ).isEmpty() );
+		assertTrue( CFSecRamPager.page( dict, null, -1 ).isEmpty() );
+	}
+
+	@Test
+	public void pagesCoverEveryRowOnce() {
+		List< String > walked = new ArrayList< String >();
+		List< Integer > sizes = new ArrayList< Integer >();
+		Integer prior = null;
+		while( true ) {
+			List< String > page = CFSecRamPager.page( dict, prior, PAGE_SIZE );
+			if( page.isEmpty() ) {
+				break;
+			}
+			sizes.add( page.size() );
+			walked.addAll( page );
+			prior = keyOf( page.get( page.size() - 1 ) );
+		}
+		assertEquals( List.of( 10, 10, 10, 5 ), sizes );
+		assertEquals( new ArrayList< String >( dict.values() ), walked );
+	}
+
+	@Test
+	public void priorKeyIsExclusive() {
+		List< String > page = CFSecRamPager.page( dict, 10, 3 );
+		assertEquals( List.of( "v12", "v14", "v16" ), page );
+	}
+
+	@Test
+	public void priorKeyNeedNotBePresent() {
+		assertEquals( List.of( "v12", "v14" ), CFSecRamPager.page( dict, 11, 2 ) );
+		assertEquals( List.of( "v0" ), CFSecRamPager.page( dict, -5, 1 ) );
+	}
+
+	@Test
+	public void priorKeyAtOrPastTheEndGivesEmptyPage() {
+		assertTrue( CFSecRamPager.page( dict, dict.lastKey(), PAGE_SIZE ).isEmpty() );
+		assertTrue( CFSecRamPager.page( dict, dict.lastKey() + 1, PAGE_SIZE ).isEmpty() );
+	}
+
+	@Test
+	public void exactMultipleEndsWithEmptyPage() {
+		TreeMap< Integer, String > exact = new TreeMap< Integer, String >( dict.headMap( 40 ) );
+		assertEquals( 20, exact.size() );
+		List< String > second = CFSecRamPager.page( exact, 18, PAGE_SIZE );
+		assertEquals( PAGE_SIZE, second.size() );
+		assertTrue( CFSecRamPager.page( exact, keyOf( second.get( PAGE_SIZE - 1 ) ), PAGE_SIZE ).isEmpty() );
+	}
+
+	@Test
+	public void writesBetweenPagesNeitherSkipNorRepeat() {
+		Set< Integer > survivors = new TreeSet< Integer >( dict.keySet() );
+		Set< Integer > seen = new HashSet< Integer >();
+		Integer prior = null;
+		int round = 0;
+		while( true ) {
+			List< String > page = CFSecRamPager.page( dict, prior, PAGE_SIZE );
+			if( page.isEmpty() ) {
+				break;
+			}
+			for( String value : page ) {
+				assertTrue( seen.add( keyOf( value ) ), "Repeated " + value );
+			}
+			prior = keyOf( page.get( page.size() - 1 ) );
+			// Delete the cursor row itself, insert before it, and delete a row after it
+			dict.remove( prior );
+			survivors.remove( prior );
+			dict.put( prior - 1, "v" + ( prior - 1 ) );
+			Integer next = dict.higherKey( prior );
+			if( next != null ) {
+				dict.remove( next );
+				survivors.remove( next );
+			}
+			round++;
+		}
+		assertTrue( round > 1 );
+		for( Integer key : survivors ) {
+			assertTrue( seen.contains( key ), "Skipped " + key );
+		}
+	}
+
+	@Test
+	public void nullBucketPageDescendsOnce() {
+		// Mirror a sparse secondary index whose null bucket holds most rows
+		final int[] compares = new int[ 1 ];
+		Comparator< Integer > counting = ( a, b ) -> {
+			compares[ 0 ]++;
+			return( a.compareTo( b ) );
+		};
+		Map< String, TreeMap< Integer, String > > dictByIdx = new HashMap< String, TreeMap< Integer, String > >();
+		TreeMap< Integer, String > nullBucket = new TreeMap< Integer, String >( counting );
+		dictByIdx.put( null, nullBucket );
+		TreeMap< Integer, String > keyed = new TreeMap< Integer, String >();
+		dictByIdx.put( "k", keyed );
+		for( int key = 0; key < 100000; key++ ) {
+			if( ( key % 1000 ) == 0 ) {
+				keyed.put( key, "v" + key );
+			}
+			else {
+				nullBucket.put( key, "v" + key );
+			}
+		}
+		compares[ 0 ] = 0;
+		List< String > page = CFSecRamPager.page( dictByIdx.get( null ), 50000, PAGE_SIZE );
+		assertEquals( List.of( "v50001", "v50002", "v50003", "v50004", "v50005",
+			"v50006", "v50007", "v50008", "v50009", "v50010" ), page );
+		// One O(log n) descent; iterating the page compares nothing
+		assertTrue( compares[ 0 ] <= 40, "Compared " + compares[ 0 ] + " keys" );
+	}
+
+	private static Integer keyOf( String value ) {
+		return( Integer.valueOf( value.substring( 1 ) ) );
+	}
+}
@@ -0,0 +1,304 @@
+
+// Description: Java 25 session archive tests for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+import java.util.stream.*;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import server.markhome.mcf.v3_1.cflib.dbutil.*;
+import server.markhome.mcf.v3_1.cfsec.cfsec.*;
+import server.markhome.mcf.v3_1.cfsec.cfsec.buff.*;
+
+/*
+ *	Reopen tests for CFSecRamSessionArchive.  Sessions are archived,
+ *	re-archived and tombstoned, and the archive is closed and reopened, after
+ *	which reads by SecSessionId and by SecUserId must see exactly the live
+ *	records, with no trace of a tombstoned or superseded one.  Sessions are
+ *	also archived out of a SecSession table, whose SecUserIdx reads must
+ *	still return them, both directly and after the write-ahead log has been
+ *	replayed into a fresh schema.
+ */
+public class CFSecRamSessionArchiveTest
+{
+	private static final int SESSION_COUNT = 400;
+	private static final int USER_COUNT = 8;
+	private static final LocalDateTime EPOCH = LocalDateTime.of( 2026, 1, 1, 0, 0 );
+
+	private Path dir;
+	private Path path;
+	private Path wal;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory( "cfsecramarchive" );
+		path = dir.resolve( "sessions.archive" );
+		wal = dir.resolve( "sessions.wal" );
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists( path );
+		Files.deleteIfExists( wal );
+		Files.deleteIfExists( dir );
+	}
+
+	@Test
+	public void reopenSeesOnlyLiveRecords() throws IOException {
+		Map< CFLibDbKeyHash256, String > live = new HashMap< CFLibDbKeyHash256, String >();
+		CFSecRamSessionArchive archive = open();
+		ArrayList< CFSecBuffSecSession > recs = new ArrayList< CFSecBuffSecSession >();
+		for( int idx = 0; idx < SESSION_COUNT; idx++ ) {
+			recs.add( session( idx, "device" ) );
+			live.put( sessionId( idx ), "device" );
+		}
+		archive.append( recs );
+		recs.clear();
+		for( int idx = 0; idx < SESSION_COUNT; idx += 10 ) {
+			recs.add( session( idx, "moved" ) );
+			live.put( sessionId( idx ), "moved" );
+		}
+		archive.append( recs );
+		for( int idx = 0; idx < SESSION_COUNT; idx++ ) {
+			if( ( idx % USER_COUNT == 0 ) || ( idx % 7 == 3 ) ) {
+				assertTrue( archive.remove( sessionId( idx ) ) );
+				live.remove( sessionId( idx ) );
+			}
+		}
+		assertFalse( archive.remove( sessionId( 0 ) ) );
+		assertFalse( archive.remove( sessionId( SESSION_COUNT ) ) );
+		assertLive( archive, live );
+		archive.close();
+
+		archive = open();
+		assertEquals( live.size(), archive.size() );
+		assertLive( archive, live );
+		assertTrue( archive.readBySecUserId( userId( 0 ) ).isEmpty() );
+
+		for( int idx = 1; idx < SESSION_COUNT; idx += 2 ) {
+			if( live.remove( sessionId( idx ) ) != null ) {
+				assertTrue( archive.remove( sessionId( idx ) ) );
+			}
+		}
+		archive.close();
+
+		archive = open();
+		assertEquals( live.size(), archive.size() );
+		assertLive( archive, live );
+		archive.close();
+	}
+
+	@Test
+	public void tornTailIsDroppedOnReopen() throws IOException {
+		CFSecRamSessionArchive archive = open();
+		archive.append( List.of( session( 0, "device" ), session( 1, "device" ) ) );
+		archive.close();
+		long intact = Files.size( path );
+		archive = open();
+		archive.append( List.of( session( 2, "device" ) ) );
+		archive.remove( sessionId( 0 ) );
+		archive.close();
+		try( FileChannel channel = FileChannel.open( path, StandardOpenOption.WRITE ) ) {
+			channel.truncate( intact + 7 );
+		}
+		archive = open();
+		assertEquals( 2, archive.size() );
+		assertNotNull( archive.read( sessionId( 0 ) ) );
+		assertNull( archive.read( sessionId( 2 ) ) );
+		assertEquals( intact, Files.size( path ) );
+		archive.close();
+	}
+
+	@Test
+	public void secUserIdxReadsIncludeArchivedSessions() throws IOException {
+		CFSecRamSchema schema = new CFSecRamSchema();
+		schema.setPageSize( 4 );
+		CFSecRamSecSessionTable table = (CFSecRamSecSessionTable)schema.getTableSecSession();
+		Set< CFLibDbKeyHash256 > expected = createSessions( schema, 10 );
+		CFSecRamSessionArchive archive = open();
+		table.setSessionArchive( archive );
+		assertEquals( 5, table.archiveFinishedBefore( null, EPOCH.plusMinutes( 35 ), 2 ) );
+		assertEquals( 5, table.readAllDerived( null ).length );
+
+		assertEquals( expected, idsOf( Arrays.asList( table.readDerivedBySecUserIdx( null, userId( 0 ) ) ) ) );
+		assertEquals( expected, idsOf( table.viewBySecUserIdx( null, userId( 0 ) ) ) );
+		assertEquals( expected, idsOf( table.streamBySecUserIdx( null, userId( 0 ) ).collect( Collectors.toList() ) ) );
+		List< ICFSecSecSession > visited = new ArrayList< ICFSecSecSession >();
+		table.forEachBySecUserIdx( null, userId( 0 ), visited::add );
+		assertEquals( expected, idsOf( visited ) );
+
+		// Pages interleave resident and archived sessions in SecSessionId order
+		List< CFLibDbKeyHash256 > paged = new ArrayList< CFLibDbKeyHash256 >();
+		CFLibDbKeyHash256 prior = null;
+		while( true ) {
+			ICFSecSecSession[] page = table.pageRecBySecUserIdx( null, userId( 0 ), prior );
+			if( page.length == 0 ) {
+				break;
+			}
+			assertTrue( page.length <= 4 );
+			for( ICFSecSecSession rec : page ) {
+				paged.add( rec.getRequiredSecSessionId() );
+			}
+			prior = page[ page.length - 1 ].getRequiredSecSessionId();
+		}
+		assertEquals( new ArrayList< CFLibDbKeyHash256 >( new TreeSet< CFLibDbKeyHash256 >( expected ) ), paged );
+
+		table.setSessionArchive( null );
+		archive.close();
+	}
+
+	@Test
+	public void archivedSessionsSurviveLogReplay() throws IOException {
+		CFSecRamSchema schema = new CFSecRamSchema();
+		schema.openWriteAheadLog( wal, CFSecRamWriteAheadLog.Durability.NONE, 0L );
+		CFSecRamSecSessionTable table = (CFSecRamSecSessionTable)schema.getTableSecSession();
+		Set< CFLibDbKeyHash256 > expected = createSessions( schema, 10 );
+		CFSecRamSessionArchive archive = open();
+		table.setSessionArchive( archive );
+		assertEquals( 5, table.archiveFinishedBefore( null, EPOCH.plusMinutes( 35 ), 2 ) );
+		schema.closeWriteAheadLog();
+		table.setSessionArchive( null );
+		archive.close();
+
+		// Recover into a fresh schema with the archive attached while the log replays
+		schema = new CFSecRamSchema();
+		table = (CFSecRamSecSessionTable)schema.getTableSecSession();
+		archive = open();
+		table.setSessionArchive( archive );
+		assertEquals( 15L, schema.openWriteAheadLog( wal, CFSecRamWriteAheadLog.Durability.NONE, 0L ) );
+		assertEquals( 5, table.readAllDerived( null ).length );
+		assertEquals( 5, archive.size() );
+		for( CFLibDbKeyHash256 id : expected ) {
+			assertNotNull( table.readDerived( null, id ), "Session " + id );
+		}
+		assertEquals( expected, idsOf( Arrays.asList( table.readDerivedBySecUserIdx( null, userId( 0 ) ) ) ) );
+
+		schema.closeWriteAheadLog();
+		table.setSessionArchive( null );
+		archive.close();
+	}
+
+	private static Set< CFLibDbKeyHash256 > createSessions( CFSecRamSchema schema, int count ) {
+		Set< CFLibDbKeyHash256 > ids = new HashSet< CFLibDbKeyHash256 >();
+		for( int idx = 0; idx < count; idx++ ) {
+			ICFSecSecSession rec = schema.getFactorySecSession().newRec();
+			rec.setRequiredSecUserId( userId( 0 ) );
+			rec.setRequiredStart( EPOCH.plusMinutes( idx ) );
+			rec.setOptionalFinish( EPOCH.plusMinutes( idx + 30 ) );
+			rec = schema.getTableSecSession().createSecSession( null, rec );
+			ids.add( rec.getRequiredSecSessionId() );
+		}
+		return( ids );
+	}
+
+	private static Set< CFLibDbKeyHash256 > idsOf( Collection< ICFSecSecSession > recs ) {
+		Set< CFLibDbKeyHash256 > ids = new HashSet< CFLibDbKeyHash256 >();
+		for( ICFSecSecSession rec : recs ) {
+			assertTrue( ids.add( rec.getRequiredSecSessionId() ), "Duplicate session " + rec.getRequiredSecSessionId() );
+		}
+		return( ids );
+	}
+
+	private void assertLive( CFSecRamSessionArchive archive, Map< CFLibDbKeyHash256, String > live ) throws IOException {
+		for( int idx = 0; idx <= SESSION_COUNT; idx++ ) {
+			CFSecBuffSecSession rec = archive.read( sessionId( idx ) );
+			String device = live.get( sessionId( idx ) );
+			if( device == null ) {
+				assertNull( rec, "Session " + idx );
+			}
+			else {
+				assertNotNull( rec, "Session " + idx );
+				assertEquals( device, rec.getOptionalSecDevName() );
+				assertEquals( userId( idx % USER_COUNT ), rec.getRequiredSecUserId() );
+			}
+		}
+		for( int user = 0; user < USER_COUNT; user++ ) {
+			HashSet< CFLibDbKeyHash256 > expected = new HashSet< CFLibDbKeyHash256 >();
+			for( CFLibDbKeyHash256 key : live.keySet() ) {
+				if( userOf( key ) == user ) {
+					expected.add( key );
+				}
+			}
+			List< CFSecBuffSecSession > recs = archive.readBySecUserId( userId( user ) );
+			HashSet< CFLibDbKeyHash256 > found = new HashSet< CFLibDbKeyHash256 >();
+			for( CFSecBuffSecSession rec : recs ) {
+				assertTrue( found.add( rec.getRequiredSecSessionId() ), "Duplicate session for user " + user );
+				assertEquals( live.get( rec.getRequiredSecSessionId() ), rec.getOptionalSecDevName() );
+			}
+			assertEquals( expected, found, "User " + user );
+		}
+	}
+
+	private CFSecRamSessionArchive open() throws IOException {
+		CFSecRamSessionArchive archive = new CFSecRamSessionArchive( path, CFSecBuffSecSession::new );
+		archive.open();
+		return( archive );
+	}
+
+	private static CFSecBuffSecSession session( int idx, String device ) {
+		CFSecBuffSecSession rec = new CFSecBuffSecSession();
+		rec.setRequiredSecSessionId( sessionId( idx ) );
+		rec.setRequiredSecUserId( userId( idx % USER_COUNT ) );
+		rec.setOptionalSecDevName( device );
+		rec.setRequiredStart( EPOCH.plusMinutes( idx ) );
+		rec.setOptionalFinish( EPOCH.plusMinutes( idx + 30 ) );
+		return( rec );
+	}
+
+	private static CFLibDbKeyHash256 sessionId( int idx ) {
+		return( key( 1, idx ) );
+	}
+
+	private static CFLibDbKeyHash256 userId( int user ) {
+		return( key( 2, user ) );
+	}
+
+	private static int userOf( CFLibDbKeyHash256 sessionId ) {
+		byte[] bytes = sessionId.getBytes();
+		return( ( ( ( bytes[30] & 0xff ) << 8 ) | ( bytes[31] & 0xff ) ) % USER_COUNT );
+	}
+
+	private static CFLibDbKeyHash256 key( int kind, int idx ) {
+		byte[] bytes = new byte[32];
+		bytes[0] = (byte)kind;
+		// Spread the keys over the whole hash so the key index and Bloom filter are exercised
+		long mixed = ( idx + 1 ) * 0x9e3779b97f4a7c15L;
+		for( int pos = 1; pos < 9; pos++ ) {
+			bytes[ pos ] = (byte)( mixed >>> ( 8 * ( pos - 1 ) ) );
+		}
+		bytes[30] = (byte)( idx >>> 8 );
+		bytes[31] = (byte)idx;
+		return( new CFLibDbKeyHash256( bytes ) );
+	}
+}
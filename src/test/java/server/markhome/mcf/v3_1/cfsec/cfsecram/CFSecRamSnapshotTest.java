@@ -0,0 +1,141 @@
+
+// Description: Java 25 snapshot tests for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import server.markhome.mcf.v3_1.cfsec.cfsec.*;
+
+/*
+ *	Round trip tests for CFSecRamSnapshot.  A schema is populated, written
+ *	to a snapshot and read back into a fresh schema, which must then hold
+ *	the same rows, answer index probes, and go on issuing fresh ids.
+ */
+public class CFSecRamSnapshotTest
+{
+	private static final int CCY_COUNT = 200;
+
+	private Path dir;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory( "cfsecramsnap" );
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		try( Stream< Path > files = Files.list( dir ) ) {
+			for( Path file : files.collect( Collectors.toList() ) ) {
+				Files.delete( file );
+			}
+		}
+		Files.delete( dir );
+	}
+
+	@Test
+	public void snapshotRoundTrips() throws IOException {
+		CFSecRamSchema source = new CFSecRamSchema();
+		for( int idx = 0; idx < CCY_COUNT; idx++ ) {
+			createCcy( source, code( idx ), "Currency " + idx );
+		}
+		Path path = dir.resolve( "schema.snap" );
+		assertEquals( (long)CCY_COUNT, source.writeSnapshot( path ) );
+		try( Stream< Path > files = Files.list( dir ) ) {
+			assertEquals( List.of( path ), files.collect( Collectors.toList() ) );
+		}
+
+		CFSecRamSchema target = new CFSecRamSchema();
+		assertEquals( (long)CCY_COUNT, target.readSnapshot( path ) );
+		assertEquals( describe( source ), describe( target ) );
+		for( int idx = 0; idx < CCY_COUNT; idx++ ) {
+			ICFSecISOCcy byCode = target.getTableISOCcy().readDerivedByCcyCdIdx( null, code( idx ) );
+			assertNotNull( byCode, code( idx ) );
+			assertEquals( "Currency " + idx, byCode.getRequiredName() );
+			assertNotNull( target.getTableISOCcy().readDerivedByCcyNmIdx( null, "Currency " + idx ) );
+		}
+
+		Set< Short > ids = new HashSet< Short >();
+		for( ICFSecISOCcy rec : target.getTableISOCcy().readAllDerived( null ) ) {
+			ids.add( rec.getRequiredISOCcyId() );
+		}
+		ICFSecISOCcy created = createCcy( target, "ZZY", "Fresh currency" );
+		assertFalse( ids.contains( created.getRequiredISOCcyId() ), "Reused id " + created.getRequiredISOCcyId() );
+	}
+
+	@Test
+	public void readingReplacesExistingRows() throws IOException {
+		CFSecRamSchema source = new CFSecRamSchema();
+		createCcy( source, "AAA", "Kept" );
+		Path path = dir.resolve( "schema.snap" );
+		source.writeSnapshot( path );
+
+		CFSecRamSchema target = new CFSecRamSchema();
+		createCcy( target, "BBB", "Replaced" );
+		target.readSnapshot( path );
+		assertEquals( describe( source ), describe( target ) );
+		assertNull( target.getTableISOCcy().readDerivedByCcyCdIdx( null, "BBB" ) );
+	}
+
+	@Test
+	public void foreignFileIsRefused() throws IOException {
+		Path path = dir.resolve( "foreign.snap" );
+		Files.write( path, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 } );
+		CFSecRamSchema target = new CFSecRamSchema();
+		assertThrows( IOException.class, () -> target.readSnapshot( path ) );
+	}
+
+	private static ICFSecISOCcy createCcy( CFSecRamSchema schema, String isoCode, String name ) {
+		ICFSecISOCcy rec = schema.getFactoryISOCcy().newRec();
+		rec.setRequiredISOCode( isoCode );
+		rec.setRequiredName( name );
+		return( schema.getTableISOCcy().createISOCcy( null, rec ) );
+	}
+
+	private static SortedMap< String, String > describe( CFSecRamSchema schema ) {
+		TreeMap< String, String > rows = new TreeMap< String, String >();
+		for( ICFSecISOCcy rec : schema.getTableISOCcy().readAllDerived( null ) ) {
+			rows.put( rec.getRequiredISOCode(), rec.getRequiredISOCcyId() + "/" + rec.getRequiredName() + "/" + rec.getRequiredRevision() );
+		}
+		return( rows );
+	}
+
+	private static String code( int idx ) {
+		char[] letters = new char[3];
+		for( int pos = 2; pos >= 0; pos-- ) {
+			letters[ pos ] = (char)( 'A' + ( idx % 26 ) );
+			idx /= 26;
+		}
+		return( new String( letters ) );
+	}
+}
@@ -0,0 +1,148 @@
+
+// Description: Java 25 table lock tests for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *	Stress tests for CFSecRamTableLock.  Readers traverse a TreeMap under
+ *	read() and load single HashMap entries with readOptimistic() while a
+ *	writer keeps restructuring both maps.  Read throughput is a benchmark
+ *	concern and is not measured by the unit suite.
+ */
+public class CFSecRamTableLockTest
+{
+	private static final int KEY_COUNT = 4096;
+	private static final int PROBE_COUNT = 256;
+	private static final long TOTAL = 1000L * KEY_COUNT;
+	private static final long RUN_MILLIS = 400L;
+
+	private final CFSecRamTableLock tableLock = new CFSecRamTableLock();
+	private final TreeMap< Integer, Long > tree = new TreeMap< Integer, Long >();
+	private final HashMap< Integer, Integer > hash = new HashMap< Integer, Integer >();
+
+	@BeforeEach
+	public void setUp() {
+		tableLock.setEnabled( true );
+		for( int key = 0; key < KEY_COUNT; key++ ) {
+			tree.put( key, 1000L );
+			hash.put( key, key );
+		}
+	}
+
+	@Test
+	public void readersSeeConsistentDictionaries() throws Exception {
+		long reads = runReaders( Math.max( 2, Runtime.getRuntime().availableProcessors() ) );
+		assertTrue( reads > 0L );
+	}
+
+	/*
+	 *	Run the readers alongside one writer for RUN_MILLIS and return the
+	 *	number of reads they made.  The writer moves value between tree entries
+	 *	and re-inserts hash entries, so the sum of the whole tree is constant,
+	 *	every hash key is always mapped to itself, and both maps are resized
+	 *	or rebalanced throughout.
+	 */
+	private long runReaders( int threads ) throws Exception {
+		AtomicBoolean running = new AtomicBoolean( true );
+		AtomicLong reads = new AtomicLong();
+		ConcurrentLinkedQueue< String > failures = new ConcurrentLinkedQueue< String >();
+		ExecutorService pool = Executors.newFixedThreadPool( threads + 1 );
+		try {
+			ArrayList< Future<?> > futures = new ArrayList< Future<?> >();
+			futures.add( pool.submit( () -> {
+				Random random = new Random( 42L );
+				while( running.get() ) {
+					int from = random.nextInt( KEY_COUNT );
+					int to = random.nextInt( KEY_COUNT );
+					int churn = KEY_COUNT + random.nextInt( KEY_COUNT );
+					long stamp = tableLock.writeLock();
+					try {
+						tree.put( from, tree.get( from ) - 1L );
+						tree.put( to, tree.get( to ) + 1L );
+						Long removed = tree.remove( churn );
+						if( removed == null ) {
+							tree.put( churn, 0L );
+						}
+						else {
+							tree.put( to, tree.get( to ) + removed );
+						}
+						hash.remove( from );
+						hash.put( from, from );
+					}
+					finally {
+						tableLock.unlockWrite( stamp );
+					}
+				}
+			} ) );
+			for( int idx = 0; idx < threads; idx++ ) {
+				final int seed = idx;
+				futures.add( pool.submit( () -> {
+					Random random = new Random( seed );
+					long count = 0L;
+					while( running.get() ) {
+						long sum = tableLock.read( () -> {
+							long acc = 0L;
+							for( long value : tree.values() ) {
+								acc += value;
+							}
+							return( acc );
+						} );
+						if( sum != TOTAL ) {
+							failures.add( "Tree sum " + sum + " != " + TOTAL );
+						}
+						for( int probe = 0; probe < PROBE_COUNT; probe++ ) {
+							int key = random.nextInt( KEY_COUNT );
+							Integer value = tableLock.readOptimistic( () -> hash.get( key ) );
+							if( ( value == null ) || ( value.intValue() != key ) ) {
+								failures.add( "Hash key " + key + " mapped to " + value );
+							}
+						}
+						count += 1 + PROBE_COUNT;
+					}
+					reads.addAndGet( count );
+				} ) );
+			}
+			Thread.sleep( RUN_MILLIS );
+			running.set( false );
+			for( Future<?> future : futures ) {
+				future.get( 30L, TimeUnit.SECONDS );
+			}
+			assertTrue( failures.isEmpty(), () -> failures.size() + " inconsistent reads, first: " + failures.peek() );
+			return( reads.get() );
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+}
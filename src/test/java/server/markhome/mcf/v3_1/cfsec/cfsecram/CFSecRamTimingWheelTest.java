@@ -0,0 +1,153 @@
+
+// Description: Java 25 timing wheel tests for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *	Expiry tests for CFSecRamTimingWheel.  Keys are scheduled, rescheduled
+ *	and cancelled at random against deadlines spread over every level of the
+ *	wheel and beyond its span, and each key must expire on the first advance
+ *	that reaches its deadline tick, never before it and never twice.
+ */
+public class CFSecRamTimingWheelTest
+{
+	private static final long TICK = 10L;
+	private static final long START = 1_000_000L;
+
+	@Test
+	public void keysExpireOnTheirDeadlineTick() {
+		CFSecRamTimingWheel< String > wheel = new CFSecRamTimingWheel< String >( TICK, START );
+		List< String > expired = new ArrayList< String >();
+		wheel.schedule( "a", START + 5 * TICK );
+		wheel.schedule( "b", START + 5 * TICK + TICK - 1 );
+		wheel.schedule( "c", START + 64 * TICK );
+		wheel.schedule( "d", START + 4096 * TICK + 3 * TICK );
+		assertEquals( 4, wheel.size() );
+		wheel.advance( START + 5 * TICK - 1, expired::add );
+		assertTrue( expired.isEmpty(), expired.toString() );
+		wheel.advance( START + 5 * TICK, expired::add );
+		assertEquals( Set.of( "a", "b" ), new HashSet< String >( expired ) );
+		expired.clear();
+		wheel.advance( START + 64 * TICK - 1, expired::add );
+		assertTrue( expired.isEmpty(), expired.toString() );
+		wheel.advance( START + 64 * TICK, expired::add );
+		assertEquals( List.of( "c" ), expired );
+		expired.clear();
+		wheel.advance( START + 4099 * TICK - 1, expired::add );
+		assertTrue( expired.isEmpty(), expired.toString() );
+		wheel.advance( START + 4099 * TICK, expired::add );
+		assertEquals( List.of( "d" ), expired );
+		assertEquals( 0, wheel.size() );
+	}
+
+	@Test
+	public void pastDeadlinesExpireOnTheNextTick() {
+		CFSecRamTimingWheel< String > wheel = new CFSecRamTimingWheel< String >( TICK, START );
+		List< String > expired = new ArrayList< String >();
+		wheel.schedule( "late", START - 1000L );
+		wheel.advance( START, expired::add );
+		assertTrue( expired.isEmpty() );
+		wheel.advance( START + TICK, expired::add );
+		assertEquals( List.of( "late" ), expired );
+	}
+
+	@Test
+	public void cancelAndRescheduleReplaceTheDeadline() {
+		CFSecRamTimingWheel< String > wheel = new CFSecRamTimingWheel< String >( TICK, START );
+		List< String > expired = new ArrayList< String >();
+		wheel.schedule( "moved", START + 10 * TICK );
+		wheel.schedule( "gone", START + 10 * TICK );
+		wheel.schedule( "moved", START + 200 * TICK );
+		assertTrue( wheel.cancel( "gone" ) );
+		assertFalse( wheel.cancel( "gone" ) );
+		assertFalse( wheel.isScheduled( "gone" ) );
+		wheel.advance( START + 199 * TICK, expired::add );
+		assertTrue( expired.isEmpty(), expired.toString() );
+		assertTrue( wheel.isScheduled( "moved" ) );
+		wheel.advance( START + 200 * TICK, expired::add );
+		assertEquals( List.of( "moved" ), expired );
+		assertFalse( wheel.isScheduled( "moved" ) );
+	}
+
+	@Test
+	public void randomScheduleMatchesAReferenceModel() {
+		Random random = new Random( 20L );
+		long now = START;
+		CFSecRamTimingWheel< Integer > wheel = new CFSecRamTimingWheel< Integer >( TICK, now );
+		HashMap< Integer, Long > dueTicks = new HashMap< Integer, Long >();
+		long[] spans = { 64L, 4096L, 262144L, 16777216L, 40000000L };
+		for( int round = 0; round < 2000; round++ ) {
+			int key = random.nextInt( 500 );
+			int action = random.nextInt( 10 );
+			if( action < 6 ) {
+				long span = spans[ random.nextInt( spans.length ) ];
+				long deadline = now + (long)( random.nextDouble() * span * TICK );
+				wheel.schedule( key, deadline );
+				dueTicks.put( key, Math.max( deadline / TICK, now / TICK + 1 ) );
+			}
+			else if( action < 7 ) {
+				assertEquals( dueTicks.remove( key ) != null, wheel.cancel( key ) );
+			}
+			else {
+				long next = now + (long)( random.nextDouble() * 300 * TICK );
+				advance( wheel, dueTicks, next );
+				now = next;
+			}
+			assertEquals( dueTicks.size(), wheel.size() );
+		}
+		while( ! dueTicks.isEmpty() ) {
+			long next = Collections.min( dueTicks.values() ) * TICK + random.nextInt( (int)TICK );
+			advance( wheel, dueTicks, next );
+		}
+		assertEquals( 0, wheel.size() );
+	}
+
+	private static void advance( CFSecRamTimingWheel< Integer > wheel,
+		Map< Integer, Long > dueTicks,
+		long nowMillis )
+	{
+		long nowTick = nowMillis / TICK;
+		Set< Integer > expected = new HashSet< Integer >();
+		for( Map.Entry< Integer, Long > entry : dueTicks.entrySet() ) {
+			if( entry.getValue() <= nowTick ) {
+				expected.add( entry.getKey() );
+			}
+		}
+		Set< Integer > expired = new HashSet< Integer >();
+		wheel.advance( nowMillis, ( key ) -> {
+			assertTrue( expired.add( key ), () -> "Key " + key + " expired twice" );
+			assertFalse( wheel.isScheduled( key ) );
+		} );
+		assertEquals( expected, expired );
+		dueTicks.keySet().removeAll( expired );
+	}
+}
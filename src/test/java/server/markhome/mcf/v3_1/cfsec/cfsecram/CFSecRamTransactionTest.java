@@ -0,0 +1,162 @@
+
+// Description: Java 25 transaction rollback tests for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import server.markhome.mcf.v3_1.cfsec.cfsec.*;
+import server.markhome.mcf.v3_1.cfsec.cfsec.buff.*;
+
+/*
+ *	Rollback tests for the transactions of CFSecRamSchema.  Deleting an
+ *	ISOCcy cascades to its ISOCtryCcy rows; the ISOCtryCcy table is made to
+ *	fail partway through that cascade, and every row the cascade had already
+ *	deleted must be back, and reachable through its indexes, afterwards.
+ */
+public class CFSecRamTransactionTest
+{
+	/*
+	 *	An ISOCtryCcy table whose deletes fail once failAfter of them have
+	 *	succeeded.
+	 */
+	public static class FailingISOCtryCcyTable
+		extends CFSecRamISOCtryCcyTable
+	{
+		int failAfter = Integer.MAX_VALUE;
+		int deleted = 0;
+
+		public FailingISOCtryCcyTable( ICFSecSchema argSchema ) {
+			super( argSchema );
+		}
+
+		@Override
+		public void deleteISOCtryCcy( ICFSecAuthorization Authorization,
+			ICFSecISOCtryCcy iBuff )
+		{
+			if( deleted >= failAfter ) {
+				throw new IllegalStateException( "Injected failure after " + deleted + " deletes" );
+			}
+			super.deleteISOCtryCcy( Authorization, iBuff );
+			deleted++;
+		}
+	}
+
+	public static class FailingSchema
+		extends CFSecRamSchema
+	{
+		public FailingSchema() {
+			super();
+			tableISOCtryCcy = new FailingISOCtryCcyTable( this );
+		}
+	}
+
+	private FailingSchema schema;
+	private FailingISOCtryCcyTable ctryCcyTable;
+	private ICFSecISOCcy ccy;
+
+	@BeforeEach
+	public void setUp() {
+		schema = new FailingSchema();
+		ctryCcyTable = (FailingISOCtryCcyTable)schema.getTableISOCtryCcy();
+		ccy = createCcy( "AAA", "Alpha" );
+		for( int idx = 0; idx < 3; idx++ ) {
+			ICFSecISOCtry ctry = schema.getFactoryISOCtry().newRec();
+			ctry.setRequiredISOCode( "C" + idx );
+			ctry.setRequiredName( "Country " + idx );
+			ctry = schema.getTableISOCtry().createISOCtry( null, ctry );
+			CFSecBuffISOCtryCcy ctryCcy = (CFSecBuffISOCtryCcy)schema.getFactoryISOCtryCcy().newRec();
+			ctryCcy.setRequiredContainerCtry( ctry.getRequiredISOCtryId() );
+			ctryCcy.setRequiredParentCcy( ccy.getRequiredISOCcyId() );
+			ctryCcyTable.createISOCtryCcy( null, ctryCcy );
+		}
+	}
+
+	@Test
+	public void failedCascadeLeavesNoChange() {
+		ctryCcyTable.failAfter = 2;
+		assertThrows( IllegalStateException.class, () -> schema.getTableISOCcy().deleteISOCcy( null, ccy ) );
+		assertEquals( 2, ctryCcyTable.deleted );
+		assertFalse( schema.isInTransaction() );
+		assertIntact();
+
+		ctryCcyTable.failAfter = Integer.MAX_VALUE;
+		schema.getTableISOCcy().deleteISOCcy( null, ccy );
+		assertNull( schema.getTableISOCcy().readDerived( null, ccy.getRequiredISOCcyId() ) );
+		assertEquals( 0, ctryCcyTable.readAllDerived( null ).length );
+	}
+
+	@Test
+	public void failedCascadeOnlyUndoesItsSavepoint() {
+		schema.beginTransaction();
+		ICFSecISOCcy other = createCcy( "BBB", "Beta" );
+		ctryCcyTable.failAfter = 1;
+		assertThrows( IllegalStateException.class, () -> schema.getTableISOCcy().deleteISOCcy( null, ccy ) );
+		assertTrue( schema.isInTransaction() );
+		assertIntact();
+		assertNotNull( schema.getTableISOCcy().readDerivedByCcyCdIdx( null, "BBB" ) );
+
+		schema.rollbackTransaction();
+		assertFalse( schema.isInTransaction() );
+		assertNull( schema.getTableISOCcy().readDerived( null, other.getRequiredISOCcyId() ) );
+		assertNull( schema.getTableISOCcy().readDerivedByCcyCdIdx( null, "BBB" ) );
+		assertIntact();
+	}
+
+	@Test
+	public void rolledBackUpdateRestoresIndexes() {
+		schema.beginTransaction();
+		CFSecBuffISOCcy changed = (CFSecBuffISOCcy)schema.getFactoryISOCcy().newRec();
+		changed.set( (CFSecBuffISOCcy)ccy );
+		changed.setRequiredISOCode( "ZZZ" );
+		schema.getTableISOCcy().updateISOCcy( null, changed );
+		assertNotNull( schema.getTableISOCcy().readDerivedByCcyCdIdx( null, "ZZZ" ) );
+		schema.rollbackTransaction();
+		assertNull( schema.getTableISOCcy().readDerivedByCcyCdIdx( null, "ZZZ" ) );
+		assertIntact();
+	}
+
+	private void assertIntact() {
+		ICFSecISOCcy restored = schema.getTableISOCcy().readDerived( null, ccy.getRequiredISOCcyId() );
+		assertNotNull( restored );
+		assertEquals( ccy.getRequiredRevision(), restored.getRequiredRevision() );
+		assertSame( restored, schema.getTableISOCcy().readDerivedByCcyCdIdx( null, "AAA" ) );
+		assertSame( restored, schema.getTableISOCcy().readDerivedByCcyNmIdx( null, "Alpha" ) );
+		assertEquals( 3, ctryCcyTable.readAllDerived( null ).length );
+		assertEquals( 3, ctryCcyTable.readDerivedByCcyIdx( null, ccy.getRequiredISOCcyId() ).length );
+	}
+
+	private ICFSecISOCcy createCcy( String isoCode, String name ) {
+		ICFSecISOCcy rec = schema.getFactoryISOCcy().newRec();
+		rec.setRequiredISOCode( isoCode );
+		rec.setRequiredName( name );
+		return( schema.getTableISOCcy().createISOCcy( null, rec ) );
+	}
+}
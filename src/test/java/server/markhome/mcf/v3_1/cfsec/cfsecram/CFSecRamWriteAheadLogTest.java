@@ -0,0 +1,219 @@
+
+// Description: Java 25 write-ahead log tests for the in-memory RAM CFSec schema.
+
+/*
+ *	server.markhome.mcf.CFSec
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow
+ *
+ *	Mark's Code Fractal 3.1 CFSec - Security Services
+ *
+ *	Copyright (c) 2016-2026 Mark Stephen Sobkow mark.sobkow@gmail.com
+ *
+ *	These files are part of Mark's Code Fractal CFSec.
+ *
+ *	Licensed under the Apache License, Version 2.0 (the "License");
+ *	you may not use this file except in compliance with the License.
+ *	You may obtain a copy of the License at
+ *
+ *	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *	Unless required by applicable law or agreed to in writing, software
+ *	distributed under the License is distributed on an "AS IS" BASIS,
+ *	WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *	See the License for the specific language governing permissions and
+ *	limitations under the License.
+ *
+ */
+package server.markhome.mcf.v3_1.cfsec.cfsecram;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.time.*;
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ *	Replay tests for CFSecRamWriteAheadLog.  A log is written and closed,
+ *	its last record is torn or corrupted the way a crash mid-write leaves
+ *	it, and replay must return every intact record, truncate the damaged
+ *	tail, and accept new appends after it.
+ */
+public class CFSecRamWriteAheadLogTest
+{
+	private static final int ROW_COUNT = 50;
+
+	public static class Row {
+		private long id;
+		private String name;
+		private LocalDateTime stamp;
+
+		public long getId() {
+			return( id );
+		}
+
+		public void setId( long value ) {
+			id = value;
+		}
+
+		public String getName() {
+			return( name );
+		}
+
+		public void setName( String value ) {
+			name = value;
+		}
+
+		public LocalDateTime getStamp() {
+			return( stamp );
+		}
+
+		public void setStamp( LocalDateTime value ) {
+			stamp = value;
+		}
+	}
+
+	public static class OtherRow {
+		private int id;
+
+		public int getId() {
+			return( id );
+		}
+
+		public void setId( int value ) {
+			id = value;
+		}
+	}
+
+	private Path dir;
+	private Path path;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory( "cfsecramwal" );
+		path = dir.resolve( "test.wal" );
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists( path );
+		Files.deleteIfExists( dir );
+	}
+
+	@Test
+	public void replayReturnsEveryRecord() throws IOException {
+		writeRows( 0, ROW_COUNT );
+		List< Row > rows = replayRows();
+		assertEquals( ROW_COUNT, rows.size() );
+		for( int idx = 0; idx < ROW_COUNT; idx++ ) {
+			assertEquals( (long)idx, rows.get( idx ).getId() );
+			assertEquals( "row" + idx, rows.get( idx ).getName() );
+			assertEquals( LocalDateTime.of( 2026, 1, 1, 0, 0 ).plusSeconds( idx ), rows.get( idx ).getStamp() );
+		}
+	}
+
+	@Test
+	public void tornTailIsDroppedAndTruncated() throws IOException {
+		writeRows( 0, ROW_COUNT );
+		long intact = Files.size( path );
+		writeRows( ROW_COUNT, 1 );
+		long full = Files.size( path );
+		assertTrue( full > intact );
+		for( long torn = intact + 1; torn < full; torn++ ) {
+			truncate( torn );
+			assertEquals( ROW_COUNT, replayRows().size(), "Torn at " + torn );
+			assertEquals( intact, Files.size( path ) );
+			writeRows( ROW_COUNT, 1 );
+			assertEquals( full, Files.size( path ) );
+		}
+		assertEquals( ROW_COUNT + 1, replayRows().size() );
+	}
+
+	@Test
+	public void corruptTailIsDropped() throws IOException {
+		writeRows( 0, ROW_COUNT );
+		long intact = Files.size( path );
+		writeRows( ROW_COUNT, 1 );
+		long full = Files.size( path );
+		try( FileChannel channel = FileChannel.open( path, StandardOpenOption.READ, StandardOpenOption.WRITE ) ) {
+			ByteBuffer last = ByteBuffer.allocate( 1 );
+			channel.read( last, full - 1 );
+			last.put( 0, (byte)( last.get( 0 ) ^ 0x5a ) );
+			last.rewind();
+			channel.write( last, full - 1 );
+		}
+		assertEquals( ROW_COUNT, replayRows().size() );
+		assertEquals( intact, Files.size( path ) );
+	}
+
+	@Test
+	public void emptyTailAfterHeaderReplaysNothing() throws IOException {
+		writeRows( 0, 0 );
+		long header = Files.size( path );
+		assertTrue( header > 0L );
+		writeRows( 0, 1 );
+		truncate( header + 3 );
+		assertEquals( 0, replayRows().size() );
+		assertEquals( header, Files.size( path ) );
+	}
+
+	@Test
+	public void mismatchedLayoutIsRefused() throws IOException {
+		writeRows( 0, 1 );
+		CFSecRamWriteAheadLog log = new CFSecRamWriteAheadLog( path,
+			CFSecRamWriteAheadLog.Durability.ALWAYS,
+			0L,
+			List.of( OtherRow.class ) );
+		assertThrows( IOException.class, () -> log.replay( ( op, tableIndex, payload ) -> {} ) );
+	}
+
+	/*
+	 *	Open the log, replaying whatever it holds, append count rows starting
+	 *	at first, and close it.
+	 */
+	private void writeRows( int first, int count ) throws IOException {
+		CFSecRamWriteAheadLog log = newLog();
+		log.replay( ( op, tableIndex, payload ) -> {} );
+		long lsn = 0L;
+		for( int idx = first; idx < first + count; idx++ ) {
+			Row row = new Row();
+			row.setId( idx );
+			row.setName( "row" + idx );
+			row.setStamp( LocalDateTime.of( 2026, 1, 1, 0, 0 ).plusSeconds( idx ) );
+			lsn = log.append( CFSecRamWriteAheadLog.OP_CREATE, 0, row );
+		}
+		log.await( lsn );
+		log.close();
+	}
+
+	private List< Row > replayRows() throws IOException {
+		ArrayList< Row > rows = new ArrayList< Row >();
+		CFSecRamWriteAheadLog log = newLog();
+		log.replay( ( op, tableIndex, payload ) -> {
+			assertEquals( (long)CFSecRamWriteAheadLog.OP_CREATE, (long)op );
+			assertEquals( 0L, (long)tableIndex );
+			Row row = new Row();
+			CFSecRamRecordCodec.readRec( payload, row );
+			rows.add( row );
+		} );
+		log.close();
+		return( rows );
+	}
+
+	private CFSecRamWriteAheadLog newLog() {
+		return( new CFSecRamWriteAheadLog( path,
+			CFSecRamWriteAheadLog.Durability.ALWAYS,
+			0L,
+			List.of( Row.class ) ) );
+	}
+
+	private void truncate( long size ) throws IOException {
+		try( FileChannel channel = FileChannel.open( path, StandardOpenOption.WRITE ) ) {
+			channel.truncate( size );
+		}
+	}
+}